@@ -201,6 +201,20 @@ public class AxonServerConfiguration {
      */
     private int maxGrpcBufferedMessages = 500;
 
+    /**
+     * The maximum number of events an event stream reads ahead from the messages received from Axon Server, while the
+     * event processor handles the events read earlier. Reading ahead releases flow control permits early, allowing
+     * Axon Server to keep sending events while the event processor is busy. Defaults to 0, meaning events are not read
+     * ahead.
+     */
+    private int eventPrefetch = 0;
+
+    /**
+     * The maximum total size in bytes of the serialized events an event stream reads ahead. Only applies when {@link
+     * #eventPrefetch} is positive. Defaults to 0, meaning the events read ahead are only limited by their number.
+     */
+    private long eventPrefetchBytes = 0;
+
     /**
      * It represents the fixed value of load factor sent to Axon Server for any command's subscription if no specific
      * implementation of CommandLoadFactorProvider is configured. The default value is 100.
@@ -468,6 +482,22 @@ public void setMaxGrpcBufferedMessages(int maxGrpcBufferedMessages) {
         this.maxGrpcBufferedMessages = maxGrpcBufferedMessages;
     }
 
+    public int getEventPrefetch() {
+        return eventPrefetch;
+    }
+
+    public void setEventPrefetch(int eventPrefetch) {
+        this.eventPrefetch = eventPrefetch;
+    }
+
+    public long getEventPrefetchBytes() {
+        return eventPrefetchBytes;
+    }
+
+    public void setEventPrefetchBytes(long eventPrefetchBytes) {
+        this.eventPrefetchBytes = eventPrefetchBytes;
+    }
+
     public int getCommandLoadFactor() {
         return commandLoadFactor;
     }
@@ -744,6 +774,12 @@ public Builder snapshotPrefetch(int snapshotPrefetch) {
             return this;
         }
 
+        public Builder eventPrefetch(int eventPrefetch, long eventPrefetchBytes) {
+            instance.eventPrefetch = eventPrefetch;
+            instance.eventPrefetchBytes = eventPrefetchBytes;
+            return this;
+        }
+
         public Builder commandLoadFactor(int commandLoadFactor) {
             instance.commandLoadFactor = commandLoadFactor;
             return this;
@@ -507,7 +507,12 @@ public TrackingEventStream openStream(TrackingToken trackingToken) {
                                                           configuration.isForceReadFromLeader()
                                                   );
 
-            return new EventBuffer(stream, upcasterChain, eventSerializer, configuration.isDisableEventBlacklisting());
+            return new EventBuffer(stream,
+                                   upcasterChain,
+                                   eventSerializer,
+                                   configuration.isDisableEventBlacklisting(),
+                                   configuration.getEventPrefetch(),
+                                   configuration.getEventPrefetchBytes());
         }
 
         public QueryResultStream query(String query, boolean liveUpdates) {
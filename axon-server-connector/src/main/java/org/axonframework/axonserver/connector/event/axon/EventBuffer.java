@@ -36,6 +36,8 @@
 import org.slf4j.LoggerFactory;
 
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.Spliterator;
@@ -52,6 +54,11 @@
  * Client-side buffer of messages received from the server. Once consumed from this buffer, the client is notified of a
  * permit being consumed, potentially triggering a permit refresh, if flow control is enabled.
  * <p>
+ * Optionally, the buffer reads ahead on the messages received from the server, bounded by a number of events and the
+ * total size of their serialized form. Events read ahead are taken as soon as they are received, even while the
+ * consumer is handling earlier events. This releases the corresponding permits early, allowing the server to keep
+ * sending events while the consumer is busy.
+ * <p>
  * This class is intended for internal use. Be cautious.
  *
  * @author Marc Gathier
@@ -68,12 +75,18 @@ public class EventBuffer implements TrackingEventStream {
     private final Iterator<TrackedEventMessage<?>> eventStream;
     private final Serializer serializer;
     private final boolean disableEventBlacklisting;
+    private final int prefetchEvents;
+    private final long prefetchBytes;
 
     private TrackedEventMessage<?> peekEvent;
 
     private final ReentrantLock lock = new ReentrantLock();
     private final Condition dataAvailable = lock.newCondition();
 
+    private final ReentrantLock prefetchLock = new ReentrantLock();
+    private final Deque<EventWithToken> prefetched = new ArrayDeque<>();
+    private long prefetchedBytes;
+
     /**
      * Initializes an Event Buffer, passing messages through given {@code upcasterChain} and deserializing events using
      * given {@code serializer}.
@@ -87,14 +100,41 @@ public EventBuffer(EventStream delegate,
                        EventUpcaster upcasterChain,
                        Serializer serializer,
                        boolean disableEventBlacklisting) {
+        this(delegate, upcasterChain, serializer, disableEventBlacklisting, 0, 0);
+    }
+
+    /**
+     * Initializes an Event Buffer, passing messages through given {@code upcasterChain} and deserializing events using
+     * given {@code serializer}. Up to {@code prefetchEvents} events, with a combined serialized size of up to {@code
+     * prefetchBytes}, are read ahead from the given {@code delegate}.
+     *
+     * @param delegate                 the {@link EventStream} to delegate operations to
+     * @param upcasterChain            the upcasterChain to translate serialized representations before deserializing
+     * @param serializer               the serializer capable of deserializing incoming messages
+     * @param disableEventBlacklisting specifying whether events should or should not be included in the buffer
+     * @param prefetchEvents           the maximum number of events to read ahead, or {@code 0} to disable reading ahead
+     * @param prefetchBytes            the maximum combined size in bytes of the serialized events to read ahead, or
+     *                                 {@code 0} to only limit the number of events read ahead
+     */
+    public EventBuffer(EventStream delegate,
+                       EventUpcaster upcasterChain,
+                       Serializer serializer,
+                       boolean disableEventBlacklisting,
+                       int prefetchEvents,
+                       long prefetchBytes) {
         this.delegate = delegate;
         this.serializer = serializer;
         this.disableEventBlacklisting = disableEventBlacklisting;
+        this.prefetchEvents = prefetchEvents;
+        this.prefetchBytes = prefetchBytes;
         this.eventStream = EventUtils.upcastAndDeserializeTrackedEvents(
                 StreamSupport.stream(new SimpleSpliterator<>(this::poll), false), serializer, upcasterChain
         ).iterator();
 
         delegate.onAvailable(() -> {
+            if (prefetchEvents > 0) {
+                prefetch();
+            }
             lock.lock();
             try {
                 dataAvailable.signalAll();
@@ -105,10 +145,45 @@ public EventBuffer(EventStream delegate,
     }
 
     private TrackedEventData<byte[]> poll() {
-        EventWithToken eventWithToken = delegate.nextIfAvailable();
+        EventWithToken eventWithToken = prefetchEvents > 0 ? pollPrefetched() : delegate.nextIfAvailable();
         return eventWithToken == null ? null : convert(eventWithToken);
     }
 
+    private EventWithToken pollPrefetched() {
+        prefetchLock.lock();
+        try {
+            fillPrefetchBuffer();
+            EventWithToken eventWithToken = prefetched.poll();
+            if (eventWithToken != null) {
+                prefetchedBytes -= eventWithToken.getSerializedSize();
+                fillPrefetchBuffer();
+            }
+            return eventWithToken;
+        } finally {
+            prefetchLock.unlock();
+        }
+    }
+
+    private void prefetch() {
+        prefetchLock.lock();
+        try {
+            fillPrefetchBuffer();
+        } finally {
+            prefetchLock.unlock();
+        }
+    }
+
+    private void fillPrefetchBuffer() {
+        while (prefetched.size() < prefetchEvents && (prefetchBytes <= 0 || prefetchedBytes < prefetchBytes)) {
+            EventWithToken eventWithToken = delegate.nextIfAvailable();
+            if (eventWithToken == null) {
+                return;
+            }
+            prefetched.add(eventWithToken);
+            prefetchedBytes += eventWithToken.getSerializedSize();
+        }
+    }
+
     private TrackedEventData<byte[]> convert(EventWithToken eventWithToken) {
         TrackingToken trackingToken = new GlobalSequenceTrackingToken(eventWithToken.getToken());
         return new TrackedDomainEventData<>(trackingToken, new GrpcBackedDomainEventData(eventWithToken.getEvent()));
@@ -17,6 +17,7 @@
 package org.axonframework.axonserver.connector.event.axon;
 
 import com.google.protobuf.ByteString;
+import io.axoniq.axonserver.connector.event.EventStream;
 import io.axoniq.axonserver.connector.event.impl.BufferedEventStream;
 import io.axoniq.axonserver.grpc.SerializedObject;
 import io.axoniq.axonserver.grpc.event.Event;
@@ -33,6 +34,7 @@
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
+import org.mockito.ArgumentCaptor;
 import org.mockito.stubbing.Answer;
 
 import java.util.UUID;
@@ -41,11 +43,13 @@
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -133,6 +137,58 @@ void testHasNextAvailableThrowsAxonServerExceptionWhenStreamFailed() {
         assertThrows(AxonServerException.class, () -> testSubject.hasNextAvailable(0, TimeUnit.SECONDS));
     }
 
+    @Test
+    @Timeout(value = 450, unit = TimeUnit.MILLISECONDS)
+    void testPrefetchingBufferReturnsEventsInOrder() {
+        eventStream = new BufferedEventStream(0, 100, 1, false);
+        //noinspection unchecked
+        eventStream.beforeStart(mock(ClientCallStreamObserver.class));
+        testSubject = new EventBuffer(eventStream, stubUpcaster, SERIALIZER, false, 10, 0);
+
+        eventStream.onNext(eventWithToken(1L));
+        eventStream.onNext(eventWithToken(2L));
+        eventStream.onNext(eventWithToken(3L));
+
+        // all events have been read ahead, leaving none in the underlying stream
+        assertNull(eventStream.nextIfAvailable());
+        for (long expectedToken = 1; expectedToken <= 3; expectedToken++) {
+            assertTrue(testSubject.hasNextAvailable());
+            assertEquals(new GlobalSequenceTrackingToken(expectedToken), testSubject.nextAvailable().trackingToken());
+        }
+        assertFalse(testSubject.hasNextAvailable());
+    }
+
+    @Test
+    void testPrefetchingIsBoundedByNumberOfEvents() {
+        EventStream mockStream = mock(EventStream.class);
+        when(mockStream.nextIfAvailable()).thenReturn(eventWithToken(1L), eventWithToken(2L), eventWithToken(3L));
+        testSubject = new EventBuffer(mockStream, stubUpcaster, SERIALIZER, false, 2, 0);
+        ArgumentCaptor<Runnable> onAvailableCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(mockStream).onAvailable(onAvailableCaptor.capture());
+
+        onAvailableCaptor.getValue().run();
+
+        verify(mockStream, times(2)).nextIfAvailable();
+    }
+
+    @Test
+    void testPrefetchingIsBoundedBySerializedSize() {
+        EventStream mockStream = mock(EventStream.class);
+        when(mockStream.nextIfAvailable()).thenReturn(eventWithToken(1L), eventWithToken(2L), eventWithToken(3L));
+        long sizeOfTwoEvents = 2L * eventWithToken(1L).getSerializedSize();
+        testSubject = new EventBuffer(mockStream, stubUpcaster, SERIALIZER, false, 10, sizeOfTwoEvents);
+        ArgumentCaptor<Runnable> onAvailableCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(mockStream).onAvailable(onAvailableCaptor.capture());
+
+        onAvailableCaptor.getValue().run();
+
+        verify(mockStream, times(2)).nextIfAvailable();
+    }
+
+    private static EventWithToken eventWithToken(long token) {
+        return TEST_EVENT_WITH_TOKEN.toBuilder().setToken(token).build();
+    }
+
     private static class TestException extends Exception {
 
         private static final long serialVersionUID = 5181730247751626376L;
@@ -457,6 +457,7 @@ protected Snapshotter defaultSnapshotter(Configuration config) {
                                    .repositoryProvider(config::repository)
                                    .parameterResolverFactory(config.parameterResolverFactory())
                                    .handlerDefinition(retrieveHandlerDefinition(config, aggregateConfigurations))
+                                   .serializer(config.eventSerializer())
                                    .build();
     }
 
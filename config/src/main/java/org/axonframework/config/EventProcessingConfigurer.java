@@ -29,6 +29,7 @@
 import org.axonframework.eventhandling.TrackingEventProcessorConfiguration;
 import org.axonframework.eventhandling.async.SequencingPolicy;
 import org.axonframework.eventhandling.async.SequentialPerAggregatePolicy;
+import org.axonframework.eventhandling.pooled.PooledStreamingEventProcessor;
 import org.axonframework.eventhandling.tokenstore.TokenStore;
 import org.axonframework.messaging.Message;
 import org.axonframework.messaging.MessageHandlerInterceptor;
@@ -189,6 +190,50 @@ EventProcessingConfigurer registerTrackingEventProcessor(String name,
                                                              Function<Configuration, StreamableMessageSource<TrackedEventMessage<?>>> source,
                                                              Function<Configuration, TrackingEventProcessorConfiguration> processorConfiguration);
 
+    /**
+     * Registers a {@link PooledStreamingEventProcessor} with given {@code name} within this Configurer. The
+     * processor reads from the default {@link StreamableMessageSource}, as configured through {@link
+     * #configureDefaultStreamableMessageSource(Function)}.
+     *
+     * @param name a {@link String} specifying the name of the {@link PooledStreamingEventProcessor} being registered
+     * @return the current {@link EventProcessingConfigurer} instance, for fluent interfacing
+     */
+    EventProcessingConfigurer registerPooledStreamingEventProcessor(String name);
+
+    /**
+     * Registers a {@link PooledStreamingEventProcessor} with given {@code name} and {@code source} within this
+     * Configurer.
+     *
+     * @param name   a {@link String} specifying the name of the {@link PooledStreamingEventProcessor} being
+     *               registered
+     * @param source a {@link Function} that builds a {@link StreamableMessageSource}
+     * @return the current {@link EventProcessingConfigurer} instance, for fluent interfacing
+     */
+    default EventProcessingConfigurer registerPooledStreamingEventProcessor(
+            String name,
+            Function<Configuration, StreamableMessageSource<TrackedEventMessage<?>>> source
+    ) {
+        return registerPooledStreamingEventProcessor(name, source, PooledStreamingProcessorConfiguration.noOp());
+    }
+
+    /**
+     * Registers a {@link PooledStreamingEventProcessor} with given {@code name}, {@code source} and {@code
+     * processorConfiguration} within this Configurer. The {@code processorConfiguration} is applied to the {@link
+     * PooledStreamingEventProcessor.Builder} after all the defaults of this Configurer have been set, allowing it to
+     * override any of them.
+     *
+     * @param name                   a {@link String} specifying the name of the {@link PooledStreamingEventProcessor}
+     *                               being registered
+     * @param source                 a {@link Function} that builds a {@link StreamableMessageSource}
+     * @param processorConfiguration a {@link PooledStreamingProcessorConfiguration} customizing the processor
+     * @return the current {@link EventProcessingConfigurer} instance, for fluent interfacing
+     */
+    EventProcessingConfigurer registerPooledStreamingEventProcessor(
+            String name,
+            Function<Configuration, StreamableMessageSource<TrackedEventMessage<?>>> source,
+            PooledStreamingProcessorConfiguration processorConfiguration
+    );
+
     /**
      * Registers a factory that builds the default {@link EventProcessor}. This is the {@link EventProcessorBuilder} to
      * be used when there is no specific builder for given processor name.
@@ -248,6 +293,18 @@ EventProcessingConfigurer registerTokenStore(String processorName,
      */
     EventProcessingConfigurer usingTrackingEventProcessors();
 
+    /**
+     * Defaults Event Processors builders to use {@link PooledStreamingEventProcessor}, reading from the default {@link
+     * StreamableMessageSource}.
+     * <p>
+     * The default behavior depends on the EventBus available in the Configuration. If the Event Bus is a
+     * {@link StreamableMessageSource}, processors are Tracking by default. This method must be used to force the use
+     * of Pooled Streaming Processors, unless specifically overridden for individual processors.
+     *
+     * @return the current {@link EventProcessingConfigurer} instance, for fluent interfacing
+     */
+    EventProcessingConfigurer usingPooledStreamingEventProcessors();
+
     /**
      * Registers a {@link org.axonframework.eventhandling.SubscribingEventProcessor} with given {@code name} within this
      * Configurer.
@@ -553,4 +610,33 @@ interface EventProcessorBuilder {
          */
         EventProcessor build(String name, Configuration configuration, EventHandlerInvoker eventHandlerInvoker);
     }
+
+    /**
+     * Contract defining the customization of a {@link PooledStreamingEventProcessor.Builder}, which is invoked after
+     * the Configurer has set its defaults on the builder.
+     */
+    @FunctionalInterface
+    interface PooledStreamingProcessorConfiguration extends BiFunction<Configuration,
+            PooledStreamingEventProcessor.Builder, PooledStreamingEventProcessor.Builder> {
+
+        /**
+         * Returns a {@link PooledStreamingProcessorConfiguration} which leaves the builder untouched.
+         *
+         * @return a {@link PooledStreamingProcessorConfiguration} which leaves the builder untouched
+         */
+        static PooledStreamingProcessorConfiguration noOp() {
+            return (config, builder) -> builder;
+        }
+
+        /**
+         * Returns a {@link PooledStreamingProcessorConfiguration} which applies this customization, followed by the
+         * given {@code other} customization.
+         *
+         * @param other the customization to apply after this one
+         * @return a {@link PooledStreamingProcessorConfiguration} applying both customizations
+         */
+        default PooledStreamingProcessorConfiguration andThen(PooledStreamingProcessorConfiguration other) {
+            return (config, builder) -> other.apply(config, this.apply(config, builder));
+        }
+    }
 }
@@ -35,6 +35,7 @@
 import org.axonframework.eventhandling.TrackingEventProcessorConfiguration;
 import org.axonframework.eventhandling.async.SequencingPolicy;
 import org.axonframework.eventhandling.async.SequentialPerAggregatePolicy;
+import org.axonframework.eventhandling.pooled.PooledStreamingEventProcessor;
 import org.axonframework.eventhandling.tokenstore.TokenStore;
 import org.axonframework.eventhandling.tokenstore.inmemory.InMemoryTokenStore;
 import org.axonframework.messaging.Message;
@@ -510,6 +511,26 @@ public EventProcessingConfigurer registerTrackingEventProcessor(String name,
         return this;
     }
 
+    @Override
+    public EventProcessingConfigurer registerPooledStreamingEventProcessor(String name) {
+        registerEventProcessor(name, (n, c, ehi) -> pooledStreamingEventProcessor(
+                n, ehi, c, defaultStreamableSource.get(), PooledStreamingProcessorConfiguration.noOp()
+        ));
+        return this;
+    }
+
+    @Override
+    public EventProcessingConfigurer registerPooledStreamingEventProcessor(
+            String name,
+            Function<Configuration, StreamableMessageSource<TrackedEventMessage<?>>> source,
+            PooledStreamingProcessorConfiguration processorConfiguration
+    ) {
+        registerEventProcessor(name, (n, c, ehi) -> pooledStreamingEventProcessor(
+                n, ehi, c, source.apply(c), processorConfiguration
+        ));
+        return this;
+    }
+
     @Override
     public EventProcessingConfigurer registerEventProcessorFactory(
             EventProcessorBuilder eventProcessorBuilder) {
@@ -557,6 +578,15 @@ name, eventHandlerInvoker, trackingEventProcessorConfig(name), defaultStreamable
         return this;
     }
 
+    @Override
+    public EventProcessingConfigurer usingPooledStreamingEventProcessors() {
+        this.defaultEventProcessorBuilder = (name, conf, eventHandlerInvoker) -> pooledStreamingEventProcessor(
+                name, eventHandlerInvoker, conf, defaultStreamableSource.get(),
+                PooledStreamingProcessorConfiguration.noOp()
+        );
+        return this;
+    }
+
     @Override
     public EventProcessingConfigurer registerSubscribingEventProcessor(String name,
                                                                        Function<Configuration, SubscribableMessageSource<? extends EventMessage<?>>> messageSource) {
@@ -750,6 +780,26 @@ private TrackingEventProcessor trackingEventProcessor(String name,
                                      .build();
     }
 
+    private PooledStreamingEventProcessor pooledStreamingEventProcessor(
+            String name,
+            EventHandlerInvoker eventHandlerInvoker,
+            Configuration config,
+            StreamableMessageSource<TrackedEventMessage<?>> source,
+            PooledStreamingProcessorConfiguration processorConfiguration
+    ) {
+        PooledStreamingEventProcessor.Builder builder =
+                PooledStreamingEventProcessor.builder()
+                                             .name(name)
+                                             .eventHandlerInvoker(eventHandlerInvoker)
+                                             .rollbackConfiguration(rollbackConfiguration(name))
+                                             .errorHandler(errorHandler(name))
+                                             .messageMonitor(messageMonitor(PooledStreamingEventProcessor.class, name))
+                                             .messageSource(source)
+                                             .tokenStore(tokenStore(name))
+                                             .transactionManager(transactionManager(name));
+        return processorConfiguration.apply(config, builder).build();
+    }
+
     /**
      * Gets the package name from the class of the given object.
      * <p>
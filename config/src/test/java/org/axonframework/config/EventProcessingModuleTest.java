@@ -38,6 +38,7 @@
 import org.axonframework.eventhandling.TrackingToken;
 import org.axonframework.eventhandling.async.FullConcurrencyPolicy;
 import org.axonframework.eventhandling.async.SequentialPolicy;
+import org.axonframework.eventhandling.pooled.PooledStreamingEventProcessor;
 import org.axonframework.eventhandling.tokenstore.inmemory.InMemoryTokenStore;
 import org.axonframework.eventsourcing.eventstore.inmemory.InMemoryEventStorageEngine;
 import org.axonframework.lifecycle.LifecycleHandlerInvocationException;
@@ -455,6 +456,49 @@ void testTrackingProcessorsUsesSpecificSource(
         assertEquals(mock2, processor.get().getMessageSource());
     }
 
+    @Test
+    void testPooledStreamingProcessorsUsesConfiguredDefaultStreamableMessageSource(
+            @Mock StreamableMessageSource<TrackedEventMessage<?>> mock) {
+        configurer.eventProcessing().configureDefaultStreamableMessageSource(c -> mock);
+        configurer.eventProcessing().usingPooledStreamingEventProcessors();
+        configurer.registerEventHandler(c -> new TrackingEventHandler());
+
+        Configuration config = configurer.start();
+        try {
+            Optional<PooledStreamingEventProcessor> processor =
+                    config.eventProcessingConfiguration()
+                          .eventProcessor("tracking", PooledStreamingEventProcessor.class);
+            assertTrue(processor.isPresent());
+            assertEquals(mock, processor.get().getMessageSource());
+        } finally {
+            config.shutdown();
+        }
+    }
+
+    @Test
+    void testPooledStreamingProcessorsUsesSpecificSourceAndCustomization(
+            @Mock StreamableMessageSource<TrackedEventMessage<?>> mock,
+            @Mock StreamableMessageSource<TrackedEventMessage<?>> mock2) {
+        configurer.eventProcessing()
+                  .configureDefaultStreamableMessageSource(c -> mock)
+                  .registerPooledStreamingEventProcessor(
+                          "tracking", c -> mock2, (c, builder) -> builder.maxClaimedSegments(4)
+                  )
+                  .registerEventHandler(c -> new TrackingEventHandler());
+
+        Configuration config = configurer.start();
+        try {
+            Optional<PooledStreamingEventProcessor> processor =
+                    config.eventProcessingConfiguration()
+                          .eventProcessor("tracking", PooledStreamingEventProcessor.class);
+            assertTrue(processor.isPresent());
+            assertEquals(mock2, processor.get().getMessageSource());
+            assertEquals(4, processor.get().maxCapacity());
+        } finally {
+            config.shutdown();
+        }
+    }
+
     @Test
     void testSubscribingProcessorsUsesConfiguredDefaultSubscribableMessageSource(
             @Mock SubscribableMessageSource<EventMessage<?>> mock) {
@@ -66,6 +66,8 @@ public class CommandHandlerInvoker implements EventHandler<CommandHandlingEntry>
     private final Map<Class<?>, DisruptorRepository> repositories = new ConcurrentHashMap<>();
     private final Cache cache;
     private final int segmentId;
+    private final int firstLevelCacheSize;
+    private final FirstLevelCacheStatistics firstLevelCacheStatistics;
 
     /**
      * Returns the Repository instance for Aggregate with given {@code typeIdentifier} used by the
@@ -92,8 +94,35 @@ public static <T> DisruptorRepository<T> getRepository(Class<?> type) {
      * @param segmentId The id of the segment this invoker should handle
      */
     public CommandHandlerInvoker(Cache cache, int segmentId) {
+        this(cache, segmentId, 0);
+    }
+
+    /**
+     * Create an aggregate invoker instance for the given {@code segment} and {@code cache}, keeping at most {@code
+     * firstLevelCacheSize} aggregates per repository in its first level cache. When the size is {@code 0}, the first
+     * level cache keeps weak references to the aggregates instead, leaving their eviction to the garbage collector.
+     *
+     * @param cache               The cache temporarily storing aggregate instances
+     * @param segmentId           The id of the segment this invoker should handle
+     * @param firstLevelCacheSize The maximum number of aggregates kept in the first level cache of each repository, or
+     *                            {@code 0} to keep weak references to them
+     */
+    public CommandHandlerInvoker(Cache cache, int segmentId, int firstLevelCacheSize) {
+        this(cache, segmentId, firstLevelCacheSize, new FirstLevelCacheStatistics());
+    }
+
+    /**
+     * Create an aggregate invoker instance counting the hits, misses and evictions of its first level caches in the
+     * given {@code firstLevelCacheStatistics}, which may be shared by several invokers.
+     */
+    CommandHandlerInvoker(Cache cache,
+                          int segmentId,
+                          int firstLevelCacheSize,
+                          FirstLevelCacheStatistics firstLevelCacheStatistics) {
         this.cache = cache;
         this.segmentId = segmentId;
+        this.firstLevelCacheSize = firstLevelCacheSize;
+        this.firstLevelCacheStatistics = firstLevelCacheStatistics;
     }
 
     @Override
@@ -166,7 +195,9 @@ public <T> Repository<T> createRepository(EventStore eventStore,
                         parameterResolverFactory,
                         handlerDefinition,
                         snapshotTriggerDefinition,
-                        repositoryProvider
+                        repositoryProvider,
+                        firstLevelCacheSize,
+                        firstLevelCacheStatistics
                 ));
     }
 
@@ -198,7 +229,8 @@ public void onShutdown() {
         private final RepositoryProvider repositoryProvider;
         private final SnapshotTriggerDefinition snapshotTriggerDefinition;
         private final AggregateFactory<T> aggregateFactory;
-        private final FirstLevelCache<T> firstLevelCache = new FirstLevelCache<>();
+        private final FirstLevelCache<T> firstLevelCache;
+        private final FirstLevelCacheStatistics firstLevelCacheStatistics;
         private final Cache cache;
         private final AggregateModel<T> model;
 
@@ -207,7 +239,9 @@ private DisruptorRepository(AggregateFactory<T> aggregateFactory,
                                     EventStore eventStore,
                                     ParameterResolverFactory parameterResolverFactory,
                                     SnapshotTriggerDefinition snapshotTriggerDefinition,
-                                    RepositoryProvider repositoryProvider) {
+                                    RepositoryProvider repositoryProvider,
+                                    int firstLevelCacheSize,
+                                    FirstLevelCacheStatistics firstLevelCacheStatistics) {
             this.aggregateFactory = aggregateFactory;
             this.cache = cache;
             this.eventStore = eventStore;
@@ -215,13 +249,18 @@ private DisruptorRepository(AggregateFactory<T> aggregateFactory,
             this.model = AnnotatedAggregateMetaModelFactory.inspectAggregate(aggregateFactory.getAggregateType(),
                                                                              parameterResolverFactory);
             this.repositoryProvider = repositoryProvider;
+            this.firstLevelCache = new FirstLevelCache<>(firstLevelCacheSize, this::reportEviction);
+            this.firstLevelCacheStatistics = firstLevelCacheStatistics;
+            firstLevelCacheStatistics.register(firstLevelCache);
         }
 
         private DisruptorRepository(AggregateFactory<T> aggregateFactory, Cache cache, EventStore eventStore,
                                     ParameterResolverFactory parameterResolverFactory,
                                     HandlerDefinition handlerDefinition,
                                     SnapshotTriggerDefinition snapshotTriggerDefinition,
-                                    RepositoryProvider repositoryProvider) {
+                                    RepositoryProvider repositoryProvider,
+                                    int firstLevelCacheSize,
+                                    FirstLevelCacheStatistics firstLevelCacheStatistics) {
             this.aggregateFactory = aggregateFactory;
             this.cache = cache;
             this.eventStore = eventStore;
@@ -230,6 +269,9 @@ private DisruptorRepository(AggregateFactory<T> aggregateFactory, Cache cache, E
                                                                              parameterResolverFactory,
                                                                              handlerDefinition);
             this.repositoryProvider = repositoryProvider;
+            this.firstLevelCache = new FirstLevelCache<>(firstLevelCacheSize, this::reportEviction);
+            this.firstLevelCacheStatistics = firstLevelCacheStatistics;
+            firstLevelCacheStatistics.register(firstLevelCache);
         }
 
         @Override
@@ -248,7 +290,10 @@ public Aggregate<T> load(String aggregateIdentifier, Long expectedVersion) {
         public Aggregate<T> load(String aggregateIdentifier) {
             ((CommandHandlingEntry) CurrentUnitOfWork.get()).registerAggregateIdentifier(aggregateIdentifier);
             EventSourcedAggregate<T> aggregateRoot = firstLevelCache.get(aggregateIdentifier);
-            if (aggregateRoot == null) {
+            if (aggregateRoot != null) {
+                firstLevelCacheStatistics.reportHit();
+            } else {
+                firstLevelCacheStatistics.reportMiss();
                 Object cachedItem = cache.get(aggregateIdentifier);
                 if (AggregateCacheEntry.class.isInstance(cachedItem)) {
                     EventSourcedAggregate<T> cachedAggregate = ((AggregateCacheEntry<T>) cachedItem).recreateAggregate(
@@ -309,6 +354,11 @@ public Aggregate<T> loadOrCreate(String aggregateIdentifier, Callable<T> factory
             }
         }
 
+        private void reportEviction(String aggregateIdentifier) {
+            logger.debug("Aggregate {} evicted from first level cache.", aggregateIdentifier);
+            firstLevelCacheStatistics.reportEviction();
+        }
+
         private void removeFromCache(String aggregateIdentifier) {
             EventSourcedAggregate<T> removed = firstLevelCache.remove(aggregateIdentifier);
             if (removed != null) {
@@ -25,6 +25,7 @@
 import org.axonframework.commandhandling.callbacks.NoOpCallback;
 import org.axonframework.common.*;
 import org.axonframework.common.caching.Cache;
+import org.axonframework.common.caching.CacheStatistics;
 import org.axonframework.common.caching.NoCache;
 import org.axonframework.common.transaction.TransactionManager;
 import org.axonframework.eventsourcing.AggregateFactory;
@@ -133,6 +134,7 @@ public class DisruptorCommandBus implements CommandBus {
     private final CommandHandlerInvoker[] commandHandlerInvokers;
     private final DuplicateCommandHandlerResolver duplicateCommandHandlerResolver;
     private final CommandCallback<Object, Object> defaultCommandCallback;
+    private final FirstLevelCacheStatistics firstLevelCacheStatistics = new FirstLevelCacheStatistics();
 
     private volatile boolean started = true;
     private volatile boolean disruptorShutDown = false;
@@ -146,6 +148,7 @@ public class DisruptorCommandBus implements CommandBus {
      * <li>The {@code coolingDownPeriod} defaults to {@code 1000}.</li>
      * <li>The {@link CommandTargetResolver} defaults to an {@link AnnotationCommandTargetResolver}.</li>
      * <li>The {@code publisherThreadCount} defaults to {@code 1}.</li>
+     * <li>The {@code groupCommitSize} defaults to {@code 1}.</li>
      * <li>The {@link MessageMonitor} defaults to {@link NoOpMessageMonitor#INSTANCE}.</li>
      * <li>The {@link RollbackConfiguration} defaults to {@link RollbackConfigurationType#UNCHECKED_EXCEPTIONS}.</li>
      * <li>The {@code bufferSize} defaults to {@code 4096}.</li>
@@ -153,6 +156,7 @@ public class DisruptorCommandBus implements CommandBus {
      * <li>The {@link WaitStrategy} defaults to a {@link BlockingWaitStrategy}.</li>
      * <li>The {@code invokerThreadCount} defaults to {@code 1}.</li>
      * <li>The {@link Cache} defaults to {@link NoCache#INSTANCE}.</li>
+     * <li>The {@code firstLevelCacheSize} defaults to {@code 0}, keeping weak references to cached aggregates.</li>
      * <li>The {@link DuplicateCommandHandlerResolver} defaults to {@link DuplicateCommandHandlerResolution#logAndOverride()}.</li>
      * </ul>
      * The (2) Threads required for command execution are created immediately. Additional threads are used to invoke
@@ -160,11 +164,12 @@ public class DisruptorCommandBus implements CommandBus {
      * be specified by providing an {@link Executor}.
      * <p>
      * The {@link CommandTargetResolver}, {@link MessageMonitor}, {@link RollbackConfiguration}, {@link ProducerType},
-     * {@link WaitStrategy} and {@link Cache} are a <b>hard requirements</b>. Thus setting them to {@code null} will
-     * result in an {@link AxonConfigurationException}.
-     * Additionally, the {@code coolingDownPeriod}, {@code publisherThreadCount}, {@code bufferSize} and
-     * {@code invokerThreadCount} have a positive number constraint, thus will also result in an
-     * AxonConfigurationException if set otherwise.
+     * {@link WaitStrategy} and {@link Cache} are a <b>hard requirements</b>. Thus
+     * setting them to {@code null} will result in an {@link AxonConfigurationException}.
+     * Additionally, the {@code coolingDownPeriod}, {@code publisherThreadCount}, {@code groupCommitSize},
+     * {@code bufferSize} and {@code invokerThreadCount} have a positive number constraint, and the
+     * {@code firstLevelCacheSize} may not be negative, thus will also result in an AxonConfigurationException if set
+     * otherwise.
      *
      * @return a Builder to be able to create a {@link DisruptorCommandBus}
      */
@@ -179,9 +184,10 @@ public static Builder builder() {
      * <p>
      * Will assert that the {@link CommandTargetResolver}, {@link MessageMonitor}, {@link RollbackConfiguration},
      * {@link ProducerType}, {@link WaitStrategy} and {@link Cache} are not {@code null}. Additional verification is
-     * done on the the {@code coolingDownPeriod}, {@code publisherThreadCount}, {@code bufferSize} and
-     * {@code invokerThreadCount} to check whether they are positive numbers. If any of these checks fails, an
-     * {@link AxonConfigurationException} will be thrown.
+     * done on the the {@code coolingDownPeriod}, {@code publisherThreadCount}, {@code groupCommitSize}, {@code
+     * bufferSize} and {@code invokerThreadCount} to check whether they are positive numbers, and on the {@code
+     * firstLevelCacheSize} to check it is not negative. If any of these checks fails, an {@link
+     * AxonConfigurationException} will be thrown.
      *
      * @param builder the {@link Builder} used to instantiate a {@link DisruptorCommandBus} instance
      */
@@ -209,7 +215,8 @@ protected DisruptorCommandBus(Builder builder) {
         EventPublisher[] publishers = initializePublisherThreads(builder.publisherThreadCount,
                                                                  executor,
                                                                  builder.transactionManager,
-                                                                 builder.rollbackConfiguration);
+                                                                 builder.rollbackConfiguration,
+                                                                 builder.groupCommitSize);
         publisherCount = publishers.length;
         messageMonitor = builder.messageMonitor;
         duplicateCommandHandlerResolver = builder.duplicateCommandHandlerResolver;
@@ -220,7 +227,9 @@ protected DisruptorCommandBus(Builder builder) {
                                     builder.producerType,
                                     builder.waitStrategy);
         // Configure invoker Threads
-        commandHandlerInvokers = initializeInvokerThreads(builder.invokerThreadCount, builder.cache);
+        commandHandlerInvokers = initializeInvokerThreads(builder.invokerThreadCount,
+                                                          builder.cache,
+                                                          builder.firstLevelCacheSize);
 
         disruptor.setDefaultExceptionHandler(new ExceptionHandler());
         disruptor.handleEventsWith(commandHandlerInvokers).then(publishers);
@@ -230,15 +239,21 @@ protected DisruptorCommandBus(Builder builder) {
     private EventPublisher[] initializePublisherThreads(int publisherThreadCount,
                                                         Executor executor,
                                                         TransactionManager transactionManager,
-                                                        RollbackConfiguration rollbackConfiguration) {
+                                                        RollbackConfiguration rollbackConfiguration,
+                                                        int groupCommitSize) {
         EventPublisher[] publishers = new EventPublisher[publisherThreadCount];
-        Arrays.setAll(publishers, t -> new EventPublisher(executor, transactionManager, rollbackConfiguration, t));
+        Arrays.setAll(publishers, t -> new EventPublisher(
+                executor, transactionManager, rollbackConfiguration, t, groupCommitSize
+        ));
         return publishers;
     }
 
-    private CommandHandlerInvoker[] initializeInvokerThreads(int invokerThreadCount, Cache cache) {
+    private CommandHandlerInvoker[] initializeInvokerThreads(int invokerThreadCount,
+                                                             Cache cache,
+                                                             int firstLevelCacheSize) {
         CommandHandlerInvoker[] invokers = new CommandHandlerInvoker[invokerThreadCount];
-        Arrays.setAll(invokers, t -> new CommandHandlerInvoker(cache, t));
+        Arrays.setAll(invokers,
+                      t -> new CommandHandlerInvoker(cache, t, firstLevelCacheSize, firstLevelCacheStatistics));
         return invokers;
     }
 
@@ -508,6 +523,18 @@ public Registration subscribe(String commandName, MessageHandler<? super Command
         return () -> commandHandlers.remove(commandName, handler);
     }
 
+    /**
+     * Returns the number of hits, misses, evictions and entries of the first level caches of all invoker threads
+     * combined. An eviction only occurs when the first level cache is bounded through {@link
+     * Builder#firstLevelCacheSize(int)}. The statistics may be reported as metrics, for example through the {@code
+     * registerCache} method of the {@code GlobalMetricRegistry}.
+     *
+     * @return the {@link CacheStatistics} of the first level caches
+     */
+    public CacheStatistics firstLevelCacheStatistics() {
+        return firstLevelCacheStatistics;
+    }
+
     /**
      * Shuts down the command bus. It no longer accepts new commands, and finishes processing commands that have
      * already been published. This method <b>will not</b> shut down any executor that has been provided as part of the
@@ -573,6 +600,7 @@ public void onResult(CommandMessage<?> commandMessage, CommandResultMessage<?> c
      * <li>The {@code coolingDownPeriod} defaults to {@code 1000}.</li>
      * <li>The {@link CommandTargetResolver} defaults to an {@link AnnotationCommandTargetResolver}.</li>
      * <li>The {@code publisherThreadCount} defaults to {@code 1}.</li>
+     * <li>The {@code groupCommitSize} defaults to {@code 1}.</li>
      * <li>The {@link MessageMonitor} defaults to {@link NoOpMessageMonitor#INSTANCE}.</li>
      * <li>The {@link RollbackConfiguration} defaults to {@link RollbackConfigurationType#UNCHECKED_EXCEPTIONS}.</li>
      * <li>The {@code bufferSize} defaults to {@code 4096}.</li>
@@ -580,6 +608,7 @@ public void onResult(CommandMessage<?> commandMessage, CommandResultMessage<?> c
      * <li>The {@link WaitStrategy} defaults to a {@link BlockingWaitStrategy}.</li>
      * <li>The {@code invokerThreadCount} defaults to {@code 1}.</li>
      * <li>The {@link Cache} defaults to {@link NoCache#INSTANCE}.</li>
+     * <li>The {@code firstLevelCacheSize} defaults to {@code 0}, keeping weak references to cached aggregates.</li>
      * <li>The {@link DuplicateCommandHandlerResolver} defaults to {@link DuplicateCommandHandlerResolution#logAndOverride()}.</li>
      * </ul>
      * The (2) Threads required for command execution are created immediately. Additional threads are used to invoke
@@ -587,11 +616,12 @@ public void onResult(CommandMessage<?> commandMessage, CommandResultMessage<?> c
      * be specified by providing an {@link Executor}.
      * <p>
      * The {@link CommandTargetResolver}, {@link MessageMonitor}, {@link RollbackConfiguration}, {@link ProducerType},
-     * {@link WaitStrategy} and {@link Cache} are a <b>hard requirements</b>. Thus setting them to {@code null} will
-     * result in an {@link AxonConfigurationException}.
-     * Additionally, the {@code coolingDownPeriod}, {@code publisherThreadCount}, {@code bufferSize} and
-     * {@code invokerThreadCount} have a positive number constraint, thus will also result in an
-     * AxonConfigurationException if set otherwise.
+     * {@link WaitStrategy} and {@link Cache} are a <b>hard requirements</b>. Thus
+     * setting them to {@code null} will result in an {@link AxonConfigurationException}.
+     * Additionally, the {@code coolingDownPeriod}, {@code publisherThreadCount}, {@code groupCommitSize},
+     * {@code bufferSize} and {@code invokerThreadCount} have a positive number constraint, and the
+     * {@code firstLevelCacheSize} may not be negative, thus will also result in an AxonConfigurationException if set
+     * otherwise.
      */
     public static class Builder {
 
@@ -608,6 +638,7 @@ public static class Builder {
         private long coolingDownPeriod = 1000;
         private CommandTargetResolver commandTargetResolver = AnnotationCommandTargetResolver.builder().build();
         private int publisherThreadCount = 1;
+        private int groupCommitSize = 1;
         private MessageMonitor<? super CommandMessage<?>> messageMonitor = NoOpMessageMonitor.INSTANCE;
         private TransactionManager transactionManager;
         private RollbackConfiguration rollbackConfiguration = RollbackConfigurationType.UNCHECKED_EXCEPTIONS;
@@ -616,6 +647,7 @@ public static class Builder {
         private WaitStrategy waitStrategy = new BlockingWaitStrategy();
         private int invokerThreadCount = 1;
         private Cache cache = NoCache.INSTANCE;
+        private int firstLevelCacheSize = 0;
         private DuplicateCommandHandlerResolver duplicateCommandHandlerResolver = DuplicateCommandHandlerResolution.logAndOverride();
         private CommandCallback<Object, Object> defaultCommandCallback = FailureLoggingCommandCallback.INSTANCE;
 
@@ -754,6 +786,26 @@ public Builder publisherThreadCount(int publisherThreadCount) {
             return this;
         }
 
+        /**
+         * Sets the maximum number of commands of which the generated Events are stored and published in a single
+         * transaction. Defaults to {@code 1}, committing each command in its own transaction.
+         * <p/>
+         * With a larger value, each publisher Thread groups the consecutive commands that are available on the ring
+         * buffer, without waiting for more commands to arrive, and commits these in a single transaction. The result
+         * of each command is reported once that transaction has been committed. If committing one of the commands
+         * fails, the commands committed along with it in the same transaction fail as well, and their aggregates are
+         * blacklisted until their state has been recovered. Only takes effect when a {@link TransactionManager} has
+         * been configured.
+         *
+         * @param groupCommitSize the maximum number of commands to commit in a single transaction as an {@code int}
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder groupCommitSize(int groupCommitSize) {
+            assertGroupCommitSize(groupCommitSize);
+            this.groupCommitSize = groupCommitSize;
+            return this;
+        }
+
         /**
          * Sets the {@link MessageMonitor} of generic type {@link CommandMessage} used the to monitor the command bus.
          * Defaults to a {@link NoOpMessageMonitor}.
@@ -880,6 +932,25 @@ public Builder cache(Cache cache) {
             return this;
         }
 
+        /**
+         * Sets the maximum number of aggregates each repository keeps in the first level cache of an invoker thread.
+         * Once this number is exceeded, the least recently used aggregate is evicted. An evicted aggregate remains
+         * available while commands which modified it are still being published. As each invoker thread owns its
+         * first level cache, no synchronization is required to maintain it.
+         * <p/>
+         * Defaults to {@code 0}, which makes the first level cache keep weak references to the aggregates, leaving
+         * their eviction to the garbage collector.
+         *
+         * @param firstLevelCacheSize the maximum number of aggregates kept in the first level cache of each
+         *                            repository, or {@code 0} to keep weak references to them
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder firstLevelCacheSize(int firstLevelCacheSize) {
+            assertFirstLevelCacheSize(firstLevelCacheSize);
+            this.firstLevelCacheSize = firstLevelCacheSize;
+            return this;
+        }
+
         /**
          * Sets the {@link DuplicateCommandHandlerResolver} used to resolves the road to take when a duplicate command
          * handler is subscribed. Defaults to {@link DuplicateCommandHandlerResolution#logAndOverride() Log and Override}.
@@ -927,8 +998,10 @@ public DisruptorCommandBus build() {
         protected void validate() {
             assertCoolingDownPeriod(coolingDownPeriod);
             assertPublisherThreadCount(publisherThreadCount);
+            assertGroupCommitSize(groupCommitSize);
             assertBufferSize(bufferSize);
             assertInvokerThreadCount(invokerThreadCount);
+            assertFirstLevelCacheSize(firstLevelCacheSize);
         }
 
         private void assertCoolingDownPeriod(long coolingDownPeriod) {
@@ -944,9 +1017,17 @@ private void assertPublisherThreadCount(int publisherThreadCount) {
             assertThat(publisherThreadCount, count -> count > 0, "The publisher thread count must at least be 1");
         }
 
+        private void assertGroupCommitSize(int groupCommitSize) {
+            assertThat(groupCommitSize, size -> size > 0, "The group commit size must at least be 1");
+        }
+
         private void assertInvokerThreadCount(int invokerThreadCount) {
             assertThat(invokerThreadCount, count -> count > 0, "The invoker thread count must be at least 1");
         }
+
+        private void assertFirstLevelCacheSize(int firstLevelCacheSize) {
+            assertThat(firstLevelCacheSize, size -> size >= 0, "The first level cache size may not be negative");
+        }
     }
 
     private class DisruptorRepository<T> implements Repository<T> {
@@ -16,6 +16,7 @@
 
 package org.axonframework.disruptor.commandhandling;
 
+import org.axonframework.common.Assert;
 import org.axonframework.messaging.Message;
 import org.axonframework.messaging.ResultMessage;
 import org.axonframework.messaging.unitofwork.*;
@@ -71,6 +72,65 @@ public void resume() {
         CurrentUnitOfWork.set(this);
     }
 
+    /**
+     * Commits this Unit of Work as part of a transaction it shares with other Units of Work. Only the prepare commit
+     * and commit phases are executed, after which this Unit of Work is detached from the current thread. Once the
+     * shared transaction has been committed, the commit is to be completed through {@link #completeCommit()}. If the
+     * shared transaction fails instead, this Unit of Work is to be rolled back through {@link #failCommit(Throwable)}.
+     * <p>
+     * If the prepare commit or commit phase fails, this Unit of Work is rolled back and closed right away, after which
+     * the exception is rethrown.
+     */
+    public void commitInSharedTransaction() {
+        Assert.state(phase() == Phase.STARTED,
+                     () -> String.format("The UnitOfWork is in an incompatible phase: %s", phase()));
+        Assert.state(isCurrent(), () -> "The UnitOfWork is not the current Unit of Work");
+        try {
+            changePhase(Phase.PREPARE_COMMIT, Phase.COMMIT);
+        } catch (Exception e) {
+            setRollbackCause(e);
+            changePhase(Phase.ROLLBACK, Phase.CLEANUP, Phase.CLOSED);
+            throw e;
+        } finally {
+            CurrentUnitOfWork.clear(this);
+        }
+    }
+
+    /**
+     * Completes a commit started through {@link #commitInSharedTransaction()}, once the shared transaction has been
+     * committed. Executes the after commit and cleanup phases, with this Unit of Work attached to the current thread.
+     */
+    public void completeCommit() {
+        Assert.state(phase() == Phase.COMMIT,
+                     () -> String.format("The UnitOfWork is in an incompatible phase: %s", phase()));
+        resume();
+        try {
+            changePhase(Phase.AFTER_COMMIT);
+        } finally {
+            try {
+                changePhase(Phase.CLEANUP, Phase.CLOSED);
+            } finally {
+                CurrentUnitOfWork.clear(this);
+            }
+        }
+    }
+
+    /**
+     * Fails a commit started through {@link #commitInSharedTransaction()}, when the shared transaction failed to
+     * commit. This Unit of Work is attached to the current thread again and rolled back with the given {@code cause}.
+     * <p>
+     * The commit is not retried, as the handlers of the prepare commit and commit phases, such as those publishing the
+     * staged events to subscribers, have already been invoked.
+     *
+     * @param cause the cause of the failure of the shared transaction
+     */
+    public void failCommit(Throwable cause) {
+        Assert.state(phase() == Phase.COMMIT,
+                     () -> String.format("The UnitOfWork is in an incompatible phase: %s", phase()));
+        resume();
+        rollback(cause);
+    }
+
     @Override
     public Optional<UnitOfWork<?>> parent() {
         return Optional.empty();
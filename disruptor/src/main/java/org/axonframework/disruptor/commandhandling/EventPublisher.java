@@ -20,13 +20,16 @@
 import org.axonframework.commandhandling.CommandCallback;
 import org.axonframework.commandhandling.CommandMessage;
 import org.axonframework.commandhandling.CommandResultMessage;
+import org.axonframework.common.transaction.Transaction;
 import org.axonframework.common.transaction.TransactionManager;
 import org.axonframework.messaging.unitofwork.RollbackConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Executor;
 
@@ -35,6 +38,10 @@
 
 /**
  * Component of the DisruptorCommandBus that stores and publishes events generated by the command's execution.
+ * <p>
+ * When configured with a group commit size larger than {@code 1}, consecutive entries that are available on the ring
+ * buffer are committed in a single transaction, up to the given number of entries per transaction. The result of each
+ * command is reported once the outcome of the shared transaction is known.
  *
  * @author Allard Buijze
  * @since 2.0
@@ -48,6 +55,8 @@ public class EventPublisher implements EventHandler<CommandHandlingEntry> {
     private final int segmentId;
     private final Set<Object> blackListedAggregates = new HashSet<>();
     private final TransactionManager transactionManager;
+    private final int groupCommitSize;
+    private final List<CommandHandlingEntry> pendingEntries = new ArrayList<>();
 
     /**
      * Initializes the EventPublisher to publish Events to the given {@code eventStore} and {@code eventBus}
@@ -61,25 +70,165 @@ public class EventPublisher implements EventHandler<CommandHandlingEntry> {
      */
     public EventPublisher(Executor executor, TransactionManager transactionManager,
                           RollbackConfiguration rollbackConfiguration, int segmentId) {
+        this(executor, transactionManager, rollbackConfiguration, segmentId, 1);
+    }
+
+    /**
+     * Initializes the EventPublisher to publish Events to the given {@code eventStore} and {@code eventBus}
+     * for aggregate of given {@code aggregateType}, committing up to {@code groupCommitSize} commands in a single
+     * transaction.
+     * <p>
+     * Entries are only grouped when a {@code transactionManager} is given. A group never waits for entries that are
+     * not yet available on the ring buffer. If committing one of the commands in a group fails, the shared transaction
+     * is rolled back and that command fails, as do the commands committed as part of the shared transaction before it.
+     * Their aggregates are blacklisted, as their state reflects events that have not been stored. The remaining
+     * commands of the group are committed in a new shared transaction.
+     *
+     * @param executor              The executor which schedules response reporting
+     * @param transactionManager    The transaction manager that manages the transaction around event storage and
+     *                              publication
+     * @param rollbackConfiguration The configuration that indicates which exceptions should result in a UnitOfWork
+     * @param segmentId             The ID of the segment this publisher should handle
+     * @param groupCommitSize       The maximum number of commands to commit in a single transaction
+     */
+    public EventPublisher(Executor executor, TransactionManager transactionManager,
+                          RollbackConfiguration rollbackConfiguration, int segmentId, int groupCommitSize) {
         this.executor = executor;
         this.transactionManager = transactionManager;
         this.rollbackConfiguration = rollbackConfiguration;
         this.segmentId = segmentId;
+        this.groupCommitSize = transactionManager == null ? 1 : groupCommitSize;
     }
 
     @Override
     public void onEvent(CommandHandlingEntry entry, long sequence, boolean endOfBatch) {
         if (entry.isRecoverEntry()) {
+            // pending entries were published before the recovery, and must be checked against the current blacklist
+            publishPendingEntries();
             recoverAggregate(entry);
         } else if (entry.getPublisherId() == segmentId) {
+            if (groupCommitSize > 1) {
+                pendingEntries.add(entry);
+                if (pendingEntries.size() >= groupCommitSize) {
+                    publishPendingEntries();
+                }
+            } else {
+                publish(entry);
+            }
+        }
+        if (endOfBatch) {
+            publishPendingEntries();
+        }
+    }
+
+    private void publish(CommandHandlingEntry entry) {
+        entry.resume();
+        String aggregateIdentifier = entry.getAggregateIdentifier();
+        if (aggregateIdentifier != null && blackListedAggregates.contains(aggregateIdentifier)) {
+            rejectExecution(entry, aggregateIdentifier).run();
+        } else {
+            processPublication(entry, entry, aggregateIdentifier);
+        }
+    }
+
+    private void publishPendingEntries() {
+        int next = 0;
+        while (next < pendingEntries.size()) {
+            next = publishInSharedTransaction(next);
+        }
+        pendingEntries.clear();
+    }
+
+    /**
+     * Publishes the pending entries, starting at the given {@code fromIndex}, in a single transaction. Stops at the
+     * first entry that fails to commit, returning the index of the first entry that has not been published. The
+     * results of the entries are reported once the outcome of the transaction is known. When the transaction fails,
+     * the entries that were committed as part of it fail as well. They are not committed again, as their events have
+     * already been handed to the handlers of the commit phases, such as subscribing event processors.
+     */
+    private int publishInSharedTransaction(int fromIndex) {
+        Transaction transaction;
+        try {
+            transaction = transactionManager.startTransaction();
+        } catch (Exception e) {
+            logger.warn("Failed to start a transaction shared by several commands. Publishing them one by one.", e);
+            pendingEntries.subList(fromIndex, pendingEntries.size()).forEach(this::publish);
+            return pendingEntries.size();
+        }
+
+        List<CommandHandlingEntry> committedEntries = new ArrayList<>();
+        List<Runnable> deferredResults = new ArrayList<>();
+        Throwable failure = null;
+        int index = fromIndex;
+        while (failure == null && index < pendingEntries.size()) {
+            CommandHandlingEntry entry = pendingEntries.get(index++);
             entry.resume();
             String aggregateIdentifier = entry.getAggregateIdentifier();
             if (aggregateIdentifier != null && blackListedAggregates.contains(aggregateIdentifier)) {
-                rejectExecution(entry, aggregateIdentifier);
-            } else {
-                processPublication(entry, entry, aggregateIdentifier);
+                deferredResults.add(rejectExecution(entry, aggregateIdentifier));
+                continue;
+            }
+            invokeInterceptorChain(entry);
+            Throwable exceptionResult = entry.getResult()
+                                             .optionalExceptionResult()
+                                             .orElse(null);
+            if (exceptionResult != null && rollbackConfiguration.rollBackOn(exceptionResult)) {
+                Throwable rollbackResult = performRollback(entry, aggregateIdentifier, exceptionResult);
+                deferredResults.add(() -> reportResult(entry, rollbackResult));
+                continue;
+            }
+            try {
+                entry.commitInSharedTransaction();
+                committedEntries.add(entry);
+            } catch (Exception e) {
+                failure = e;
+                Throwable commitResult = blacklistOnFailure(entry, aggregateIdentifier, e);
+                deferredResults.add(() -> reportResult(entry, commitResult));
+            }
+        }
+
+        failure = completeTransaction(transaction, failure);
+        if (failure == null) {
+            committedEntries.forEach(this::completeCommit);
+        } else if (!committedEntries.isEmpty()) {
+            logger.warn("The transaction shared by several commands failed. Failing all of them.", failure);
+            for (CommandHandlingEntry entry : committedEntries) {
+                entry.failCommit(failure);
+                reportResult(entry, blacklistOnFailure(entry, entry.getAggregateIdentifier(), failure));
+            }
+        }
+        deferredResults.forEach(Runnable::run);
+        return index;
+    }
+
+    private void completeCommit(CommandHandlingEntry entry) {
+        try {
+            entry.completeCommit();
+            reportResult(entry, entry.getResult().optionalExceptionResult().orElse(null));
+        } catch (Exception e) {
+            reportResult(entry, blacklistOnFailure(entry, entry.getAggregateIdentifier(), e));
+        }
+    }
+
+    /**
+     * Commits the given {@code transaction}, or rolls it back if a {@code failure} occurred while committing one of
+     * the entries sharing it. Returns the failure of the transaction, if any.
+     */
+    private Throwable completeTransaction(Transaction transaction, Throwable failure) {
+        if (failure == null) {
+            try {
+                transaction.commit();
+                return null;
+            } catch (Exception e) {
+                return e;
             }
         }
+        try {
+            transaction.rollback();
+        } catch (Exception e) {
+            logger.warn("Failed to roll back the transaction shared by several commands.", e);
+        }
+        return failure;
     }
 
     private void recoverAggregate(CommandHandlingEntry entry) {
@@ -89,18 +238,23 @@ private void recoverAggregate(CommandHandlingEntry entry) {
         }
     }
 
+    /**
+     * Rejects the given {@code entry}, as its aggregate has been blacklisted, returning the task reporting the
+     * rejection to the entry's callback.
+     */
     @SuppressWarnings("unchecked")
-    private void rejectExecution(CommandHandlingEntry entry, String aggregateIdentifier) {
-        executor.execute(new ReportResultTask(entry.getMessage(), entry.getCallback(), asCommandResultMessage(
+    private Runnable rejectExecution(CommandHandlingEntry entry, String aggregateIdentifier) {
+        ReportResultTask reportTask = new ReportResultTask(entry.getMessage(), entry.getCallback(), asCommandResultMessage(
                 new AggregateStateCorruptedException(
                         aggregateIdentifier,
                         format("Aggregate %s has been blacklisted and will be ignored until its state has been recovered.",
                                aggregateIdentifier)
-                ))));
+                )));
 
         entry.getResult()
              .optionalExceptionResult()
              .ifPresent(entry::rollback);
+        return () -> executor.execute(reportTask);
     }
 
     @SuppressWarnings("unchecked")
@@ -119,6 +273,11 @@ private void processPublication(CommandHandlingEntry entry,
         } else {
             phaseExceptionResult = performCommit(unitOfWork, exceptionResult, aggregateIdentifier);
         }
+        reportResult(entry, phaseExceptionResult);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void reportResult(CommandHandlingEntry entry, Throwable phaseExceptionResult) {
         if (entry.getCallback().hasDelegate()) {
             if (phaseExceptionResult == null) {
                 executor.execute(new ReportResultTask(
@@ -166,15 +325,20 @@ private Throwable performCommit(DisruptorUnitOfWork unitOfWork,
                 // probably the transaction failed. Unit of Work needs to be rolled back.
                 unitOfWork.rollback(e);
             }
-            if (aggregateIdentifier != null) {
-                return notifyBlacklisted(unitOfWork, aggregateIdentifier, e);
-            } else {
-                return e;
-            }
+            return blacklistOnFailure(unitOfWork, aggregateIdentifier, e);
         }
         return exceptionResult;
     }
 
+    private Throwable blacklistOnFailure(DisruptorUnitOfWork unitOfWork, String aggregateIdentifier,
+                                        Throwable cause) {
+        if (aggregateIdentifier != null) {
+            return notifyBlacklisted(unitOfWork, aggregateIdentifier, cause);
+        } else {
+            return cause;
+        }
+    }
+
     private Throwable notifyBlacklisted(DisruptorUnitOfWork unitOfWork, String aggregateIdentifier,
                                         Throwable cause) {
         blackListedAggregates.add(aggregateIdentifier);
@@ -21,9 +21,11 @@
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Works as an in-memory cache to keep a weak reference to the cached object,
@@ -39,6 +41,13 @@
  * map automatically.
  * <p>
  * This implementation is heavily inspired by http://www.java2s.com/Code/Java/Collections-Data-Structure/WeakValueHashMap.htm
+ * <p>
+ * Alternatively, the cache can be bounded to a maximum number of entries. In that case, the least recently used
+ * values are additionally referenced strongly, up to the maximum size. Once that size is exceeded, the strong reference
+ * to the least recently used value is dropped, making it eligible for garbage collection regardless of memory
+ * pressure. An evicted value remains available through its weak reference for as long as it is referenced elsewhere,
+ * for example by a command whose events have not been published yet. A bounded cache is not thread safe, and must
+ * only be used by the thread owning it.
  *
  * @param <T> the type of the aggregate root
  * @author Premanand Chandrasekaran
@@ -46,8 +55,9 @@
  */
 class FirstLevelCache<T> {
 
-    private Map<String, WeakValue> delegate;
-    private ReferenceQueue<EventSourcedAggregate<T>> queue;
+    private final Map<String, WeakValue> delegate;
+    private final ReferenceQueue<EventSourcedAggregate<T>> queue;
+    private final Map<String, EventSourcedAggregate<T>> recentlyUsed;
 
     /**
      * Creates a FirstLevelCache with a desired initial capacity.
@@ -57,6 +67,7 @@
     private FirstLevelCache(int capacity) {
         delegate = new ConcurrentHashMap<>(capacity);
         queue = new ReferenceQueue<>();
+        recentlyUsed = null;
     }
 
     /**
@@ -66,6 +77,34 @@ private FirstLevelCache(int capacity) {
         this(1);
     }
 
+    /**
+     * Creates a FirstLevelCache keeping strong references to at most {@code maxSize} of the least recently used
+     * entries. The given {@code evictionListener} is invoked with the key of each entry of which the strong reference
+     * is dropped. A {@code maxSize} of {@code 0} creates a FirstLevelCache keeping only weak references to its values.
+     *
+     * @param maxSize          the maximum number of entries to keep strong references to, or {@code 0} to keep weak
+     *                         references only
+     * @param evictionListener the listener to notify of the key of each evicted entry
+     */
+    FirstLevelCache(int maxSize, Consumer<String> evictionListener) {
+        delegate = new ConcurrentHashMap<>(1);
+        queue = new ReferenceQueue<>();
+        if (maxSize > 0) {
+            recentlyUsed = new LinkedHashMap<String, EventSourcedAggregate<T>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, EventSourcedAggregate<T>> eldest) {
+                    if (size() > maxSize) {
+                        evictionListener.accept(eldest.getKey());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        } else {
+            recentlyUsed = null;
+        }
+    }
+
     /**
      * Puts the given {@code value} in the cache under given {@code key}
      *
@@ -75,8 +114,10 @@ private FirstLevelCache(int capacity) {
      */
     public EventSourcedAggregate<T> put(String key, EventSourcedAggregate<T> value) {
         processQueue();
-        WeakValue valueRef = new WeakValue(key, value, queue);
-        return getReferenceValue(delegate.put(key, valueRef));
+        if (recentlyUsed != null) {
+            recentlyUsed.put(key, value);
+        }
+        return getReferenceValue(delegate.put(key, new WeakValue(key, value, queue)));
     }
 
     /**
@@ -87,7 +128,11 @@ public EventSourcedAggregate<T> put(String key, EventSourcedAggregate<T> value)
      */
     public EventSourcedAggregate<T> get(Object key) {
         processQueue();
-        return getReferenceValue(delegate.get(key));
+        EventSourcedAggregate<T> value = getReferenceValue(delegate.get(key));
+        if (value != null && recentlyUsed != null) {
+            recentlyUsed.put((String) key, value);
+        }
+        return value;
     }
 
     /**
@@ -97,6 +142,9 @@ public EventSourcedAggregate<T> get(Object key) {
      * @return the entry stored, or {@code null} if no entry was known for this key
      */
     public EventSourcedAggregate<T> remove(Object key) {
+        if (recentlyUsed != null) {
+            recentlyUsed.remove(key);
+        }
         return getReferenceValue(delegate.remove(key));
     }
 
@@ -108,7 +156,7 @@ private EventSourcedAggregate<T> getReferenceValue(WeakValue valueRef) {
     private void processQueue() {
         WeakValue valueRef;
         while ((valueRef = (WeakValue) queue.poll()) != null) {
-            delegate.remove(valueRef.getKey());
+            delegate.remove(valueRef.getKey(), valueRef);
         }
     }
 
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2010-2018. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.disruptor.commandhandling;
+
+import org.axonframework.common.caching.CacheStatistics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the hits, misses and evictions of the first level caches of the {@link CommandHandlerInvoker}s. Each invoker
+ * thread updates the counters of its own lookups, while the counters may be read from any thread. The size is the
+ * combined number of entries of all {@link #register(FirstLevelCache) registered} first level caches.
+ *
+ * @since 4.5
+ */
+class FirstLevelCacheStatistics implements CacheStatistics {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final List<FirstLevelCache<?>> caches = new CopyOnWriteArrayList<>();
+
+    void register(FirstLevelCache<?> cache) {
+        caches.add(cache);
+    }
+
+    void reportHit() {
+        hits.increment();
+    }
+
+    void reportMiss() {
+        misses.increment();
+    }
+
+    void reportEviction() {
+        evictions.increment();
+    }
+
+    @Override
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long missCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (FirstLevelCache<?> cache : caches) {
+            size += cache.size();
+        }
+        return size;
+    }
+}
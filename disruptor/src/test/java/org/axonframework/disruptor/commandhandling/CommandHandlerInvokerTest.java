@@ -44,7 +44,9 @@
 import java.io.Serializable;
 import java.lang.reflect.Parameter;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
@@ -146,6 +148,39 @@ void testLoadFromRepositoryLoadsFromCache() throws Exception {
         verify(mockEventStore, never()).readEvents(eq(aggregateIdentifier));
     }
 
+    @Test
+    void testFirstLevelCacheStatisticsAreCounted() throws Exception {
+        FirstLevelCacheStatistics statistics = new FirstLevelCacheStatistics();
+        testSubject = new CommandHandlerInvoker(mockCache, 0, 1, statistics);
+        final Repository<StubAggregate> repository = testSubject
+                .createRepository(mockEventStore, new GenericAggregateFactory<>(StubAggregate.class),
+                                  snapshotTriggerDefinition,
+                                  ClasspathParameterResolverFactory.forClass(StubAggregate.class));
+        when(mockEventStore.readEvents(any())).thenAnswer(invocationOnMock -> {
+            String identifier = invocationOnMock.getArgument(0);
+            return DomainEventStream.of(new GenericDomainEventMessage<>("StubAggregate", identifier, 0, identifier));
+        });
+        Iterator<String> loadedAggregates = Arrays.asList("aggregate1", "aggregate2", "aggregate2").iterator();
+        when(mockCommandHandler.handle(eq(mockCommandMessage)))
+                .thenAnswer(invocationOnMock -> repository.load(loadedAggregates.next()));
+
+        for (int i = 0; i < 3; i++) {
+            commandHandlingEntry.reset(mockCommandMessage, mockCommandHandler, 0, 0, null,
+                                       Collections.emptyList(),
+                                       Collections.emptyList());
+            testSubject.onEvent(commandHandlingEntry, i, true);
+            assertFalse(commandHandlingEntry.getResult().isExceptional());
+        }
+
+        assertEquals(1, statistics.hitCount());
+        assertEquals(2, statistics.missCount());
+        assertEquals(1, statistics.evictionCount());
+        // the evicted aggregate remains cached until it is garbage collected
+        assertTrue(statistics.size() >= 1);
+        verify(mockEventStore).readEvents("aggregate1");
+        verify(mockEventStore).readEvents("aggregate2");
+    }
+
     @Test
     void testAddToRepositoryAddsInCache() throws Exception {
         final Repository<StubAggregate> repository = testSubject
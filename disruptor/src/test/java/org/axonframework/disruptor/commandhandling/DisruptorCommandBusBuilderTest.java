@@ -28,8 +28,18 @@ void testSetIllegalPublisherThreadCount() {
         assertThrows(AxonConfigurationException.class, () -> DisruptorCommandBus.builder().publisherThreadCount(0));
     }
 
+    @Test
+    void testSetIllegalGroupCommitSize() {
+        assertThrows(AxonConfigurationException.class, () -> DisruptorCommandBus.builder().groupCommitSize(0));
+    }
+
     @Test
     void testSetIllegalInvokerThreadCount() {
         assertThrows(AxonConfigurationException.class, () -> DisruptorCommandBus.builder().invokerThreadCount(0));
     }
+
+    @Test
+    void testSetIllegalFirstLevelCacheSize() {
+        assertThrows(AxonConfigurationException.class, () -> DisruptorCommandBus.builder().firstLevelCacheSize(-1));
+    }
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.disruptor.commandhandling;
+
+import com.lmax.disruptor.RingBuffer;
+import org.axonframework.commandhandling.CommandCallback;
+import org.axonframework.commandhandling.CommandResultMessage;
+import org.axonframework.commandhandling.GenericCommandMessage;
+import org.axonframework.common.transaction.Transaction;
+import org.axonframework.common.transaction.TransactionManager;
+import org.axonframework.messaging.unitofwork.RollbackConfigurationType;
+import org.junit.jupiter.api.*;
+import org.mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.axonframework.commandhandling.GenericCommandResultMessage.asCommandResultMessage;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link EventPublisher}.
+ */
+class EventPublisherTest {
+
+    private TransactionManager mockTransactionManager;
+    private Transaction mockTransaction;
+    private CommandCallback<Object, Object> mockCallback;
+    private RingBuffer<CommandHandlingEntry> ringBuffer;
+    private List<String> storedCommands;
+
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    void setUp() {
+        mockTransaction = mock(Transaction.class);
+        mockTransactionManager = mock(TransactionManager.class);
+        when(mockTransactionManager.startTransaction()).thenReturn(mockTransaction);
+        mockCallback = mock(CommandCallback.class);
+        ringBuffer = RingBuffer.createMultiProducer(CommandHandlingEntry::new, 8);
+        storedCommands = new ArrayList<>();
+    }
+
+    @Test
+    void testEachCommandIsCommittedInItsOwnTransactionByDefault() throws Exception {
+        EventPublisher testSubject = new EventPublisher(
+                Runnable::run, mockTransactionManager, RollbackConfigurationType.UNCHECKED_EXCEPTIONS, 0
+        );
+
+        publish(testSubject, entry("cmd1", false), entry("cmd2", false), entry("cmd3", false));
+
+        assertEquals(asList("cmd1", "cmd2", "cmd3"), storedCommands);
+        verify(mockTransactionManager, times(3)).startTransaction();
+        verify(mockTransaction, times(3)).commit();
+        verify(mockCallback, times(3)).onResult(any(), argThat(result -> !result.isExceptional()));
+    }
+
+    @Test
+    void testAvailableCommandsAreCommittedInSingleTransaction() throws Exception {
+        EventPublisher testSubject = new EventPublisher(
+                Runnable::run, mockTransactionManager, RollbackConfigurationType.UNCHECKED_EXCEPTIONS, 0, 10
+        );
+
+        publish(testSubject, entry("cmd1", false), entry("cmd2", false), entry("cmd3", false));
+
+        assertEquals(asList("cmd1", "cmd2", "cmd3"), storedCommands);
+        InOrder inOrder = inOrder(mockTransaction, mockCallback);
+        inOrder.verify(mockTransaction).commit();
+        inOrder.verify(mockCallback, times(3)).onResult(any(), argThat(result -> !result.isExceptional()));
+        verify(mockTransactionManager, times(1)).startTransaction();
+        verifyNoMoreInteractions(mockTransaction);
+    }
+
+    @Test
+    void testGroupIsLimitedToGroupCommitSize() throws Exception {
+        EventPublisher testSubject = new EventPublisher(
+                Runnable::run, mockTransactionManager, RollbackConfigurationType.UNCHECKED_EXCEPTIONS, 0, 2
+        );
+
+        publish(testSubject, entry("cmd1", false), entry("cmd2", false), entry("cmd3", false));
+
+        verify(mockTransactionManager, times(2)).startTransaction();
+        verify(mockTransaction, times(2)).commit();
+        verify(mockCallback, times(3)).onResult(any(), argThat(result -> !result.isExceptional()));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testFailingCommandRollsBackSharedTransactionAndFailsEarlierCommands() throws Exception {
+        EventPublisher testSubject = new EventPublisher(
+                Runnable::run, mockTransactionManager, RollbackConfigurationType.UNCHECKED_EXCEPTIONS, 0, 10
+        );
+
+        publish(testSubject, entry("cmd1", false), entry("cmd2", true), entry("cmd3", false));
+
+        // the events of the first command are not stored again, after the shared transaction has been rolled back
+        assertEquals(asList("cmd1", "cmd3"), storedCommands);
+        verify(mockTransactionManager, times(2)).startTransaction();
+        verify(mockTransaction).rollback();
+        verify(mockTransaction).commit();
+        // the aggregates of the failing command and the command sharing its transaction are recovered
+        assertEquals(2, publishedRecoveryEntries());
+        ArgumentCaptor<CommandResultMessage<?>> resultCaptor = ArgumentCaptor.forClass(CommandResultMessage.class);
+        verify(mockCallback, times(3)).onResult(any(), resultCaptor.capture());
+        assertEquals(2, resultCaptor.getAllValues().stream().filter(CommandResultMessage::isExceptional).count());
+    }
+
+    @Test
+    void testCommandsFailWithoutBeingCommittedAgainWhenSharedTransactionFailsToCommit() throws Exception {
+        doThrow(new IllegalStateException("Unable to commit")).when(mockTransaction).commit();
+        EventPublisher testSubject = new EventPublisher(
+                Runnable::run, mockTransactionManager, RollbackConfigurationType.UNCHECKED_EXCEPTIONS, 0, 10
+        );
+        CommandHandlingEntry first = entry("cmd1", false);
+        List<String> committed = new ArrayList<>();
+        List<String> rolledBack = new ArrayList<>();
+        first.resume();
+        first.onCommit(u -> committed.add("cmd1"));
+        first.onRollback(u -> rolledBack.add("cmd1"));
+        first.pause();
+
+        publish(testSubject, first, entry("cmd2", false));
+
+        assertEquals(asList("cmd1", "cmd2"), storedCommands);
+        assertEquals(Collections.singletonList("cmd1"), committed);
+        assertEquals(Collections.singletonList("cmd1"), rolledBack);
+        verify(mockTransactionManager).startTransaction();
+        verify(mockTransaction).commit();
+        assertEquals(2, publishedRecoveryEntries());
+        verify(mockCallback, times(2)).onResult(any(), argThat(CommandResultMessage::isExceptional));
+    }
+
+    @Test
+    void testCommandsAreCommittedIndividuallyWithoutTransactionManager() throws Exception {
+        EventPublisher testSubject = new EventPublisher(
+                Runnable::run, null, RollbackConfigurationType.UNCHECKED_EXCEPTIONS, 0, 10
+        );
+        CommandHandlingEntry first = entry("cmd1", false);
+
+        testSubject.onEvent(first, 0, false);
+
+        assertEquals(Collections.singletonList("cmd1"), storedCommands);
+        verify(mockCallback).onResult(any(), argThat(result -> !result.isExceptional()));
+    }
+
+    private void publish(EventPublisher testSubject, CommandHandlingEntry... entries) throws Exception {
+        for (int i = 0; i < entries.length; i++) {
+            testSubject.onEvent(entries[i], i, i == entries.length - 1);
+        }
+    }
+
+    private long publishedRecoveryEntries() {
+        return ringBuffer.getCursor() + 1;
+    }
+
+    private CommandHandlingEntry entry(String command, boolean failToStore) {
+        CommandHandlingEntry entry = new CommandHandlingEntry();
+        entry.reset(new GenericCommandMessage<>(command), message -> null, 0, 0,
+                    new BlacklistDetectingCallback<>(mockCallback, ringBuffer, (c, r) -> {
+                    }, true),
+                    Collections.emptyList(), Collections.emptyList());
+        entry.start();
+        entry.registerAggregateIdentifier("aggregate-" + command);
+        entry.setResult(asCommandResultMessage(command));
+        entry.onPrepareCommit(u -> {
+            if (failToStore) {
+                throw new IllegalStateException("Unable to store events of " + command);
+            }
+            storedCommands.add(command);
+        });
+        entry.pause();
+        return entry;
+    }
+}
@@ -4,10 +4,14 @@
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.stream.IntStream;
 
 import static java.lang.Thread.sleep;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.mock;
 
@@ -66,6 +70,70 @@ void shouldClearWeakValues() throws Exception {
         assertEquals(0, myCache.size());
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    void shouldEvictLeastRecentlyUsedEntryWhenBounded() {
+        List<String> evictedKeys = new ArrayList<>();
+        FirstLevelCache<MyAggregate> boundedCache = new FirstLevelCache<>(2, evictedKeys::add);
+        EventSourcedAggregate<MyAggregate> first = mock(EventSourcedAggregate.class);
+        boundedCache.put("key-1", first);
+        boundedCache.put("key-2", mock(EventSourcedAggregate.class));
+        boundedCache.get("key-1");
+
+        boundedCache.put("key-3", mock(EventSourcedAggregate.class));
+
+        assertEquals(Collections.singletonList("key-2"), evictedKeys);
+        assertSame(first, boundedCache.get("key-1"));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void shouldKeepEvictedEntryWhileReferencedElsewhere() {
+        FirstLevelCache<MyAggregate> boundedCache = new FirstLevelCache<>(1, key -> {
+        });
+        EventSourcedAggregate<MyAggregate> inFlight = mock(EventSourcedAggregate.class);
+        boundedCache.put("key-1", inFlight);
+
+        boundedCache.put("key-2", mock(EventSourcedAggregate.class));
+
+        assertSame(inFlight, boundedCache.get("key-1"));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void shouldClearEvictedEntriesWhenBounded() throws Exception {
+        FirstLevelCache<MyAggregate> boundedCache = new FirstLevelCache<>(10, key -> {
+        });
+
+        IntStream.range(0, 200)
+                 .mapToObj(i -> "key-" + i)
+                 .forEach(key -> boundedCache.put(key, mock(EventSourcedAggregate.class)));
+
+        int i = 0;
+        while (i < 10 && boundedCache.size() > 10) {
+            System.gc();
+            sleep(50);
+            i++;
+        }
+        assertEquals(10, boundedCache.size());
+        assertNull(boundedCache.get("key-0"));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void shouldKeepStrongReferencesWhenBounded() throws Exception {
+        FirstLevelCache<MyAggregate> boundedCache = new FirstLevelCache<>(200, key -> {
+        });
+
+        IntStream.range(0, 200)
+                 .mapToObj(i -> "key-" + i)
+                 .forEach(key -> boundedCache.put(key, mock(EventSourcedAggregate.class)));
+        System.gc();
+        sleep(50);
+
+        assertEquals(200, boundedCache.size());
+    }
+
     static class MyAggregate {
 
     }
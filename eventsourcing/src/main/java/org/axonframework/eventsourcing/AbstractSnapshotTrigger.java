@@ -9,6 +9,11 @@
 /**
  * Abstract implementation of the {@link org.axonframework.eventsourcing.SnapshotTrigger} that schedules snapshots on
  * the Unit of Work. Actual logic when to schedule a snapshot should be provided by a subclass.
+ * <p>
+ * The {@link Snapshotter} is provided with the number of events since the last snapshot, through
+ * {@link Snapshotter#scheduleSnapshot(Class, String, long)}. Once initialized and attached to an aggregate, the
+ * aggregate itself is provided instead, through {@link Snapshotter#scheduleSnapshot(Class, EventSourcedAggregate,
+ * long)}.
  *
  * @author Yvonne Ceelie
  * @since 4.4.4
@@ -19,6 +24,8 @@ public abstract class AbstractSnapshotTrigger implements SnapshotTrigger, Serial
     private transient Snapshotter snapshotter;
     private Class<?> aggregateType;
     private boolean initialized;
+    private long eventsSinceLastSnapshot;
+    private transient EventSourcedAggregate<?> aggregate;
 
     /**
      * Instantiate a {@link AbstractSnapshotTrigger} based on the {@link Snapshotter} and aggregateType {@link Class<?>}.
@@ -34,9 +41,13 @@ protected AbstractSnapshotTrigger(Snapshotter snapshotter, Class<?> aggregateTyp
 
     @Override
     public void eventHandled(EventMessage<?> msg) {
-        if (msg instanceof DomainEventMessage && exceedsThreshold()) {
-            prepareSnapshotScheduling((DomainEventMessage<?>) msg);
-            reset();
+        if (msg instanceof DomainEventMessage) {
+            eventsSinceLastSnapshot++;
+            if (exceedsThreshold()) {
+                prepareSnapshotScheduling((DomainEventMessage<?>) msg, eventsSinceLastSnapshot);
+                eventsSinceLastSnapshot = 0;
+                reset();
+            }
         }
     }
 
@@ -45,22 +56,44 @@ public void initializationFinished() {
         initialized = true;
     }
 
-    private void prepareSnapshotScheduling(DomainEventMessage<?> eventMessage) {
-        if (CurrentUnitOfWork.isStarted()) {
+    @Override
+    public void attachTo(EventSourcedAggregate<?> aggregate) {
+        this.aggregate = aggregate;
+    }
+
+    private void prepareSnapshotScheduling(DomainEventMessage<?> eventMessage, long eventCount) {
+        if (initialized && aggregate != null) {
+            // the aggregate's state is up to date, so the snapshotter may use it rather than replaying events
+            EventSourcedAggregate<?> currentAggregate = aggregate;
+            if (CurrentUnitOfWork.isStarted()) {
+                Thread handlingThread = Thread.currentThread();
+                CurrentUnitOfWork.get().onPrepareCommit(u -> {
+                    // only the thread handling the aggregate may access its state, which the DisruptorCommandBus
+                    // does not guarantee for the thread committing the Unit of Work
+                    if (Thread.currentThread() == handlingThread) {
+                        snapshotter.scheduleSnapshot(aggregateType, currentAggregate, eventCount);
+                    } else {
+                        scheduleSnapshot(eventMessage, eventCount);
+                    }
+                });
+            } else {
+                snapshotter.scheduleSnapshot(aggregateType, currentAggregate, eventCount);
+            }
+        } else if (CurrentUnitOfWork.isStarted()) {
             if (initialized) {
                 CurrentUnitOfWork.get().onPrepareCommit(
-                        u -> scheduleSnapshot(eventMessage));
+                        u -> scheduleSnapshot(eventMessage, eventCount));
             } else {
                 CurrentUnitOfWork.get().onCleanup(
-                        u -> scheduleSnapshot(eventMessage));
+                        u -> scheduleSnapshot(eventMessage, eventCount));
             }
         } else {
-            scheduleSnapshot(eventMessage);
+            scheduleSnapshot(eventMessage, eventCount);
         }
     }
 
-    private void scheduleSnapshot(DomainEventMessage<?> eventMessage) {
-        snapshotter.scheduleSnapshot(aggregateType, eventMessage.getAggregateIdentifier());
+    private void scheduleSnapshot(DomainEventMessage<?> eventMessage, long eventCount) {
+        snapshotter.scheduleSnapshot(aggregateType, eventMessage.getAggregateIdentifier(), eventCount);
     }
 
     /**
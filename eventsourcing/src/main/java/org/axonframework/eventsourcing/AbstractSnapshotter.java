@@ -18,6 +18,7 @@
 
 import org.axonframework.common.AxonConfigurationException;
 import org.axonframework.common.DirectExecutor;
+import org.axonframework.common.Registration;
 import org.axonframework.common.transaction.NoTransactionManager;
 import org.axonframework.common.transaction.TransactionManager;
 import org.axonframework.eventhandling.DomainEventMessage;
@@ -29,17 +30,33 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 import static org.axonframework.common.BuilderUtils.assertNonNull;
+import static org.axonframework.common.BuilderUtils.assertPositive;
+import static org.axonframework.common.BuilderUtils.assertStrictPositive;
 
 /**
  * Abstract implementation of the {@link org.axonframework.eventsourcing.Snapshotter} that uses a task executor to
  * creates snapshots. Actual snapshot creation logic should be provided by a subclass.
+ * <p>
+ * By default, every snapshot request is handed to the executor directly. If a queue capacity is configured, requests
+ * are placed in a bounded queue instead, in which requests for the same aggregate are coalesced. Queued requests are
+ * taken in order of the number of events applied to their aggregate since its last snapshot, by a bounded number of
+ * workers running on the executor. Each worker creates and stores a batch of snapshots within a single transaction.
  *
  * @author Allard Buijze
  * @since 0.6
@@ -54,6 +71,8 @@ public abstract class AbstractSnapshotter implements Snapshotter {
     private final Executor executor;
     private final TransactionManager transactionManager;
     private final Set<AggregateTypeId> snapshotsInProgress = ConcurrentHashMap.newKeySet();
+    private final List<SnapshotListener> snapshotListeners = new CopyOnWriteArrayList<>();
+    private final SnapshotQueue snapshotQueue;
 
     /**
      * Instantiate a {@link AbstractSnapshotter} based on the fields contained in the {@link Builder}.
@@ -68,19 +87,58 @@ protected AbstractSnapshotter(Builder builder) {
         this.eventStore = builder.eventStore;
         this.executor = builder.executor;
         this.transactionManager = builder.transactionManager;
+        this.snapshotQueue = builder.queueCapacity > 0
+                ? new SnapshotQueue(builder.queueCapacity, builder.maxConcurrentSnapshots, builder.batchSize)
+                : null;
     }
 
     @Override
     public void scheduleSnapshot(Class<?> aggregateType, String aggregateIdentifier) {
+        scheduleSnapshot(aggregateType, aggregateIdentifier, 0);
+    }
+
+    @Override
+    public void scheduleSnapshot(Class<?> aggregateType, String aggregateIdentifier, long eventsSinceLastSnapshot) {
+        afterCommit(() -> doScheduleSnapshot(new AggregateTypeId(aggregateType, aggregateIdentifier),
+                                             eventsSinceLastSnapshot,
+                                             () -> createSnapshotterTask(aggregateType, aggregateIdentifier)));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The task creating the snapshot is obtained through {@link #createSnapshotterTask(Class, EventSourcedAggregate)}
+     * once the active Unit of Work has been committed, and only if the snapshot request is accepted. As only the thread
+     * handling the aggregate may safely access its state, the task is obtained through {@link
+     * #createSnapshotterTask(Class, String)} instead if the Unit of Work is committed by another thread.
+     */
+    @Override
+    public void scheduleSnapshot(Class<?> aggregateType, EventSourcedAggregate<?> aggregate,
+                                 long eventsSinceLastSnapshot) {
+        if (aggregate.isDeleted()) {
+            return;
+        }
+        String aggregateIdentifier = aggregate.identifierAsString();
+        AggregateTypeId typeAndId = new AggregateTypeId(aggregateType, aggregateIdentifier);
+        Thread handlingThread = Thread.currentThread();
+        afterCommit(() -> doScheduleSnapshot(
+                typeAndId, eventsSinceLastSnapshot,
+                () -> Thread.currentThread() == handlingThread
+                        ? createSnapshotterTask(aggregateType, aggregate)
+                        : createSnapshotterTask(aggregateType, aggregateIdentifier)
+        ));
+    }
+
+    private void afterCommit(Runnable task) {
         if (CurrentUnitOfWork.isStarted() && CurrentUnitOfWork.get().phase().isBefore(UnitOfWork.Phase.COMMIT)) {
-            CurrentUnitOfWork.get().afterCommit(u -> doScheduleSnapshot(aggregateType, aggregateIdentifier));
+            CurrentUnitOfWork.get().afterCommit(u -> task.run());
         } else {
-            doScheduleSnapshot(aggregateType, aggregateIdentifier);
+            task.run();
         }
     }
 
-    private void doScheduleSnapshot(Class<?> aggregateType, String aggregateIdentifier) {
-        AggregateTypeId typeAndId = new AggregateTypeId(aggregateType, aggregateIdentifier);
+    private void doScheduleSnapshot(AggregateTypeId typeAndId, long eventsSinceLastSnapshot,
+                                    Supplier<Runnable> taskSupplier) {
         if (CurrentUnitOfWork.isStarted()) {
             Set<AggregateTypeId> scheduledSnapshotMap =
                     CurrentUnitOfWork.get()
@@ -90,11 +148,15 @@ private void doScheduleSnapshot(Class<?> aggregateType, String aggregateIdentifi
                 return;
             }
         }
-        if (snapshotsInProgress.add(typeAndId)) {
+        if (snapshotQueue != null) {
+            snapshotQueue.offer(typeAndId, eventsSinceLastSnapshot, taskSupplier);
+        } else if (snapshotsInProgress.add(typeAndId)) {
             try {
+                Runnable task = taskSupplier.get();
                 executor.execute(
-                        silently(() -> transactionManager.executeInTransaction(createSnapshotterTask(aggregateType, aggregateIdentifier)))
-                                .andFinally(() -> snapshotsInProgress.remove(typeAndId)));
+                        silently(() -> transactionManager.executeInTransaction(
+                                () -> createAndStoreSnapshot(typeAndId, task)
+                        )).andFinally(() -> snapshotsInProgress.remove(typeAndId)));
             } catch (Exception e) {
                 snapshotsInProgress.remove(typeAndId);
                 throw e;
@@ -106,6 +168,38 @@ private SilentTask silently(Runnable r) {
         return new SilentTask(r);
     }
 
+    private void createAndStoreSnapshot(AggregateTypeId typeAndId, Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        if (!snapshotListeners.isEmpty()) {
+            Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            snapshotListeners.forEach(listener -> listener.onSnapshotCreated(
+                    typeAndId.aggregateType, typeAndId.aggregateIdentifier, duration
+            ));
+        }
+    }
+
+    /**
+     * Registers the given {@code snapshotListener}, which is notified of the duration of each snapshot creation.
+     *
+     * @param snapshotListener the {@link SnapshotListener} to notify of created snapshots
+     * @return a handle to unregister the {@code snapshotListener}
+     */
+    public Registration registerSnapshotListener(SnapshotListener snapshotListener) {
+        snapshotListeners.add(snapshotListener);
+        return () -> snapshotListeners.remove(snapshotListener);
+    }
+
+    /**
+     * Returns the number of snapshot requests waiting in the queue of this snapshotter. Always returns {@code 0} if no
+     * queue capacity has been configured, as requests are then handed to the {@link Executor} directly.
+     *
+     * @return the number of snapshot requests waiting in the queue of this snapshotter
+     */
+    public int getQueueDepth() {
+        return snapshotQueue != null ? snapshotQueue.size() : 0;
+    }
+
     /**
      * Creates an instance of a task that contains the actual snapshot creation logic.
      *
@@ -118,6 +212,23 @@ protected Runnable createSnapshotterTask(Class<?> aggregateType, String aggregat
         return new CreateSnapshotTask(aggregateType, aggregateIdentifier);
     }
 
+    /**
+     * Creates an instance of a task that creates a snapshot of the given {@code aggregate}, of which the changes have
+     * been committed. This method is only invoked on the thread handling the aggregate, once the snapshot request has
+     * been accepted, whereas the returned task may be executed at a later moment, on any thread. Implementations using
+     * the state of the aggregate should therefore capture that state when creating the task.
+     * <p>
+     * Defaults to {@link #createSnapshotterTask(Class, String)}, which reads the aggregate's events from the Event
+     * Store.
+     *
+     * @param aggregateType The type of the aggregate to create a snapshot for
+     * @param aggregate     The committed aggregate to create a snapshot for
+     * @return the task containing snapshot creation logic
+     */
+    protected Runnable createSnapshotterTask(Class<?> aggregateType, EventSourcedAggregate<?> aggregate) {
+        return createSnapshotterTask(aggregateType, aggregate.identifierAsString());
+    }
+
     /**
      * Creates a snapshot event for an aggregate of which passed events are available in the given {@code eventStream}.
      * May return {@code null} to indicate a snapshot event is not necessary or appropriate for the given event stream.
@@ -188,6 +299,9 @@ public abstract static class Builder {
         private EventStore eventStore;
         private Executor executor = DirectExecutor.INSTANCE;
         private TransactionManager transactionManager = NoTransactionManager.INSTANCE;
+        private int queueCapacity = 0;
+        private int maxConcurrentSnapshots = 1;
+        private int batchSize = 1;
 
         /**
          * Sets the {@link EventStore} instance which this {@link AbstractSnapshotter} implementation will store
@@ -230,6 +344,53 @@ public Builder transactionManager(TransactionManager transactionManager) {
             return this;
         }
 
+        /**
+         * Sets the maximum number of snapshot requests waiting to be processed. When set, requests are queued and
+         * coalesced per aggregate, and handled in order of the number of events applied since the aggregate's last
+         * snapshot. When the queue is full, the request for the aggregate with the fewest new events is discarded.
+         * Requests for an aggregate of which a snapshot is being created are discarded as well. Defaults to
+         * {@code 0}, meaning requests are handed to the {@link Executor} directly.
+         * <p>
+         * The queue is best combined with an asynchronous {@link Executor}, as otherwise queued requests are processed
+         * by the thread scheduling them.
+         *
+         * @param queueCapacity the maximum number of snapshot requests waiting to be processed
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder queueCapacity(int queueCapacity) {
+            assertPositive(queueCapacity, "The queue capacity should be a non-negative number");
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of workers concurrently processing queued snapshot requests on the {@link
+         * Executor}. Only applies when a {@link #queueCapacity(int)} has been set. Defaults to {@code 1}.
+         *
+         * @param maxConcurrentSnapshots the maximum number of workers concurrently processing queued snapshot requests
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder maxConcurrentSnapshots(int maxConcurrentSnapshots) {
+            assertStrictPositive(maxConcurrentSnapshots,
+                                 "The maximum number of concurrent snapshots should be positive");
+            this.maxConcurrentSnapshots = maxConcurrentSnapshots;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of queued snapshots a worker creates and stores within a single transaction. Only
+         * applies when a {@link #queueCapacity(int)} has been set. If storing a batch fails, each snapshot of that
+         * batch is retried in a transaction of its own. Defaults to {@code 1}.
+         *
+         * @param batchSize the maximum number of snapshots created and stored within a single transaction
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder batchSize(int batchSize) {
+            assertStrictPositive(batchSize, "The batch size should be positive");
+            this.batchSize = batchSize;
+            return this;
+        }
+
         /**
          * Validates whether the fields contained in this Builder are set accordingly.
          *
@@ -241,6 +402,159 @@ protected void validate() throws AxonConfigurationException {
         }
     }
 
+    /**
+     * Listener notified of the snapshots created by an {@link AbstractSnapshotter}.
+     */
+    @FunctionalInterface
+    public interface SnapshotListener {
+
+        /**
+         * Invoked when a snapshot has been created and stored for the aggregate of given {@code aggregateType} and
+         * {@code aggregateIdentifier}.
+         *
+         * @param aggregateType       the type of the aggregate a snapshot has been created for
+         * @param aggregateIdentifier the identifier of the aggregate a snapshot has been created for
+         * @param duration            the time it took to create and store the snapshot
+         */
+        void onSnapshotCreated(Class<?> aggregateType, String aggregateIdentifier, Duration duration);
+    }
+
+    private final class SnapshotQueue {
+
+        private final Map<AggregateTypeId, SnapshotRequest> pending = new HashMap<>();
+        private final TreeSet<SnapshotRequest> ordered = new TreeSet<>(
+                Comparator.comparingLong((SnapshotRequest request) -> request.eventCount).reversed()
+                          .thenComparingLong(request -> request.sequence)
+        );
+        private final int capacity;
+        private final int maxWorkers;
+        private final int batchSize;
+        private int activeWorkers;
+        private long sequence;
+
+        private SnapshotQueue(int capacity, int maxWorkers, int batchSize) {
+            this.capacity = capacity;
+            this.maxWorkers = maxWorkers;
+            this.batchSize = batchSize;
+        }
+
+        private void offer(AggregateTypeId typeAndId, long eventCount, Supplier<Runnable> taskSupplier) {
+            synchronized (this) {
+                if (snapshotsInProgress.contains(typeAndId)) {
+                    return;
+                }
+                SnapshotRequest request = pending.get(typeAndId);
+                if (request != null) {
+                    ordered.remove(request);
+                    request.eventCount += eventCount;
+                    request.task = taskSupplier.get();
+                    ordered.add(request);
+                    return;
+                }
+                if (pending.size() >= capacity) {
+                    SnapshotRequest lowest = ordered.last();
+                    if (lowest.eventCount >= eventCount) {
+                        logger.debug("Snapshot queue is full. Discarding snapshot request for aggregate [{}].",
+                                     typeAndId.aggregateIdentifier);
+                        return;
+                    }
+                    ordered.pollLast();
+                    pending.remove(lowest.typeAndId);
+                    logger.debug("Snapshot queue is full. Discarding snapshot request for aggregate [{}].",
+                                 lowest.typeAndId.aggregateIdentifier);
+                }
+                request = new SnapshotRequest(typeAndId, eventCount, taskSupplier.get(), sequence++);
+                pending.put(typeAndId, request);
+                ordered.add(request);
+                if (activeWorkers >= maxWorkers) {
+                    return;
+                }
+                activeWorkers++;
+            }
+            try {
+                executor.execute(this::processQueue);
+            } catch (Exception e) {
+                synchronized (this) {
+                    activeWorkers--;
+                    if (activeWorkers == 0 && !pending.isEmpty()) {
+                        // no worker is left to pick up the queued requests, so they would never be processed
+                        logger.warn("Executor rejected the snapshot worker. Discarding {} queued snapshot requests.",
+                                    pending.size());
+                        pending.clear();
+                        ordered.clear();
+                    }
+                }
+                throw e;
+            }
+        }
+
+        private synchronized int size() {
+            return pending.size();
+        }
+
+        private synchronized List<SnapshotRequest> nextBatch() {
+            List<SnapshotRequest> batch = new ArrayList<>(Math.min(batchSize, ordered.size()));
+            while (batch.size() < batchSize && !ordered.isEmpty()) {
+                SnapshotRequest request = ordered.pollFirst();
+                pending.remove(request.typeAndId);
+                snapshotsInProgress.add(request.typeAndId);
+                batch.add(request);
+            }
+            if (batch.isEmpty()) {
+                activeWorkers--;
+            }
+            return batch;
+        }
+
+        private void processQueue() {
+            List<SnapshotRequest> batch;
+            while (!(batch = nextBatch()).isEmpty()) {
+                try {
+                    if (batch.size() == 1) {
+                        processIndividually(batch.get(0));
+                    } else {
+                        processBatch(batch);
+                    }
+                } finally {
+                    batch.forEach(request -> snapshotsInProgress.remove(request.typeAndId));
+                }
+            }
+        }
+
+        private void processBatch(List<SnapshotRequest> batch) {
+            try {
+                transactionManager.executeInTransaction(
+                        () -> batch.forEach(request -> createAndStoreSnapshot(request.typeAndId, request.task))
+                );
+            } catch (Exception e) {
+                logger.info("Storing a batch of {} snapshots failed. Retrying each snapshot individually.",
+                            batch.size());
+                batch.forEach(this::processIndividually);
+            }
+        }
+
+        private void processIndividually(SnapshotRequest request) {
+            silently(() -> transactionManager.executeInTransaction(
+                    () -> createAndStoreSnapshot(request.typeAndId, request.task)
+            )).run();
+        }
+    }
+
+    private static final class SnapshotRequest {
+
+        private final AggregateTypeId typeAndId;
+        private final long sequence;
+        private long eventCount;
+        private Runnable task;
+
+        private SnapshotRequest(AggregateTypeId typeAndId, long eventCount, Runnable task, long sequence) {
+            this.typeAndId = typeAndId;
+            this.eventCount = eventCount;
+            this.task = task;
+            this.sequence = sequence;
+        }
+    }
+
     private static class SilentTask implements Runnable {
 
         private final Runnable snapshotterTask;
@@ -32,6 +32,8 @@
 import org.axonframework.messaging.annotation.ClasspathParameterResolverFactory;
 import org.axonframework.messaging.annotation.HandlerDefinition;
 import org.axonframework.messaging.annotation.ParameterResolverFactory;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.xml.XStreamSerializer;
 
 import java.util.Arrays;
 import java.util.List;
@@ -46,6 +48,12 @@
  * Implementation of a snapshotter that uses the actual aggregate and its state to create a snapshot event. The
  * motivation is that an aggregate always contains all relevant state. Therefore, storing the aggregate itself inside
  * an event should capture all necessary information.
+ * <p>
+ * When a snapshot is scheduled for an aggregate of which the changes are being committed, the snapshot is created from
+ * the state of that aggregate instance, rather than by replaying its events in a new instance. The state is captured
+ * using the configured {@link Serializer} on the thread handling the aggregate, once the snapshot request has been
+ * accepted, so that the snapshot may be stored asynchronously while the aggregate itself is used to handle subsequent
+ * commands.
  *
  * @author Allard Buijze
  * @since 0.6
@@ -56,6 +64,7 @@ public class AggregateSnapshotter extends AbstractSnapshotter {
     private final RepositoryProvider repositoryProvider;
     private final ParameterResolverFactory parameterResolverFactory;
     private final HandlerDefinition handlerDefinition;
+    private final Serializer serializer;
 
     private final Map<Class, AggregateModel> aggregateModels = new ConcurrentHashMap<>();
 
@@ -73,6 +82,7 @@ protected AggregateSnapshotter(Builder builder) {
         this.repositoryProvider = builder.repositoryProvider;
         this.parameterResolverFactory = builder.buildParameterResolverFactory();
         this.handlerDefinition = builder.buildHandlerDefinition();
+        this.serializer = builder.serializer.get();
     }
 
     /**
@@ -124,6 +134,37 @@ protected DomainEventMessage createSnapshot(Class<?> aggregateType,
                                                aggregate.getAggregateRoot());
     }
 
+    /**
+     * Creates a task storing a snapshot of the current state of the given {@code aggregate}. The state is serialized
+     * immediately, and deserialized when the task is executed. The {@link AggregateFactory} registered for the given
+     * {@code aggregateType} creates the aggregate root of the snapshot from the deserialized state, just like it would
+     * when the aggregate is loaded from that snapshot. This avoids reading and replaying the events of the aggregate
+     * altogether.
+     * <p>
+     * If no {@link AggregateFactory} is known for the given {@code aggregateType}, the task created by {@link
+     * #createSnapshotterTask(Class, String)} is returned instead.
+     *
+     * @param aggregateType The type of the aggregate to create a snapshot for
+     * @param aggregate     The committed aggregate to create a snapshot for
+     * @return the task storing a snapshot of the current state of the given {@code aggregate}
+     */
+    @Override
+    protected Runnable createSnapshotterTask(Class<?> aggregateType, EventSourcedAggregate<?> aggregate) {
+        AggregateFactory<?> aggregateFactory = getAggregateFactory(aggregateType);
+        if (aggregateFactory == null) {
+            return createSnapshotterTask(aggregateType, aggregate.identifierAsString());
+        }
+        SnapshotCacheEntry state = SnapshotCacheEntry.of(aggregate, serializer);
+        return () -> {
+            DomainEventMessage<?> snapshot = state.toSnapshot(serializer);
+            Object aggregateRoot = aggregateFactory.createAggregateRoot(snapshot.getAggregateIdentifier(), snapshot);
+            getEventStore().storeSnapshot(new GenericDomainEventMessage<>(snapshot.getType(),
+                                                                          snapshot.getAggregateIdentifier(),
+                                                                          snapshot.getSequenceNumber(),
+                                                                          aggregateRoot));
+        };
+    }
+
     /**
      * Returns the AggregateFactory registered for the given {@code aggregateType}, or {@code null} if no such
      * AggregateFactory is known.
@@ -170,6 +211,7 @@ public static class Builder extends AbstractSnapshotter.Builder {
         private RepositoryProvider repositoryProvider;
         private ParameterResolverFactory parameterResolverFactory;
         private HandlerDefinition handlerDefinition;
+        private Supplier<Serializer> serializer = XStreamSerializer::defaultSerializer;
 
         @Override
         public Builder eventStore(EventStore eventStore) {
@@ -189,6 +231,24 @@ public Builder transactionManager(TransactionManager transactionManager) {
             return this;
         }
 
+        @Override
+        public Builder queueCapacity(int queueCapacity) {
+            super.queueCapacity(queueCapacity);
+            return this;
+        }
+
+        @Override
+        public Builder maxConcurrentSnapshots(int maxConcurrentSnapshots) {
+            super.maxConcurrentSnapshots(maxConcurrentSnapshots);
+            return this;
+        }
+
+        @Override
+        public Builder batchSize(int batchSize) {
+            super.batchSize(batchSize);
+            return this;
+        }
+
         /**
          * Sets the {@code aggregateFactories} supported by this snapshotter. The {@link AggregateFactory} instances are
          * used to create the relevant Aggregate Root instance, which represent the snapshots.
@@ -255,6 +315,22 @@ public Builder handlerDefinition(HandlerDefinition handlerDefinition) {
             return this;
         }
 
+        /**
+         * Sets the {@link Serializer} used to capture the state of committed aggregates a snapshot is scheduled for.
+         * The serialized state only lives until the snapshot has been created, hence the serializer only needs to be
+         * able to deserialize the aggregate root within the same application. Typically the serializer of the events
+         * is used, as it is able to serialize the aggregates as well. Defaults to a {@link XStreamSerializer}.
+         *
+         * @param serializer the {@link Serializer} used to capture the state of committed aggregates a snapshot is
+         *                   scheduled for
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder serializer(Serializer serializer) {
+            assertNonNull(serializer, "Serializer may not be null");
+            this.serializer = () -> serializer;
+            return this;
+        }
+
         /**
          * Initializes a {@link AggregateSnapshotter} as specified through this Builder.
          *
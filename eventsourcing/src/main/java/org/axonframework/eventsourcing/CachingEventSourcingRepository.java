@@ -92,6 +92,34 @@ protected void doDeleteWithLock(EventSourcedAggregate<T> aggregate) {
         cache.put(aggregate.identifierAsString(), new AggregateCacheEntry<>(aggregate));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation returns {@code true} if the cache does not hold an entry for the aggregate yet.
+     */
+    @Override
+    protected boolean requiresPreloading(String aggregateIdentifier) {
+        return !cache.containsKey(aggregateIdentifier);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * As aggregates are loaded from this cache without reading any events, the aggregate is only stored if no events
+     * have been appended to it since its events were read, as verified through {@link
+     * EventStore#lastSequenceNumberFor(String)}.
+     */
+    @Override
+    protected void cachePreloadedAggregate(EventSourcedAggregate<T> aggregate) {
+        String aggregateIdentifier = aggregate.identifierAsString();
+        if (eventStore.lastSequenceNumberFor(aggregateIdentifier)
+                      .map(lastSequenceNumber -> lastSequenceNumber.equals(aggregate.version()))
+                      .orElse(false)) {
+            cache.put(aggregateIdentifier, new AggregateCacheEntry<>(aggregate));
+        }
+        super.cachePreloadedAggregate(aggregate);
+    }
+
     /**
      * Perform the actual loading of an aggregate. The necessary locks have been obtained. If the aggregate is
      * available in the cache, it is returned from there. Otherwise the underlying persistence logic is called to
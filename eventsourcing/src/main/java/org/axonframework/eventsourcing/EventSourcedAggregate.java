@@ -188,6 +188,7 @@ protected EventSourcedAggregate(T aggregateRoot, AggregateModel<T> model, EventB
         super(aggregateRoot, model, eventBus);
         this.initSequence();
         this.snapshotTrigger = snapshotTrigger;
+        snapshotTrigger.attachTo(this);
     }
 
     /**
@@ -205,6 +206,7 @@ protected EventSourcedAggregate(T aggregateRoot, AggregateModel<T> model, EventB
         super(aggregateRoot, model, eventBus, repositoryProvider);
         this.initSequence();
         this.snapshotTrigger = snapshotTrigger;
+        snapshotTrigger.attachTo(this);
     }
 
     /**
@@ -220,6 +222,7 @@ protected EventSourcedAggregate(AggregateModel<T> model, EventBus eventBus, Snap
         super(model, eventBus);
         this.initSequence();
         this.snapshotTrigger = snapshotTrigger;
+        snapshotTrigger.attachTo(this);
     }
 
     /**
@@ -237,6 +240,7 @@ protected EventSourcedAggregate(AggregateModel<T> model, EventBus eventBus, Repo
         super(model, eventBus, repositoryProvider);
         this.initSequence();
         this.snapshotTrigger = snapshotTrigger;
+        snapshotTrigger.attachTo(this);
     }
 
     @Override
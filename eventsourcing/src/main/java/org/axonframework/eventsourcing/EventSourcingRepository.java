@@ -17,6 +17,7 @@
 package org.axonframework.eventsourcing;
 
 import org.axonframework.common.caching.Cache;
+import org.axonframework.common.lock.Lock;
 import org.axonframework.common.lock.LockFactory;
 import org.axonframework.eventhandling.DomainEventMessage;
 import org.axonframework.eventsourcing.conflictresolution.ConflictResolution;
@@ -33,9 +34,16 @@
 import org.axonframework.modelling.command.Repository;
 import org.axonframework.modelling.command.RepositoryProvider;
 import org.axonframework.modelling.command.inspection.AggregateModel;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.xml.XStreamSerializer;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static org.axonframework.common.BuilderUtils.assertNonNull;
 
@@ -56,6 +64,8 @@
     private final AggregateFactory<T> aggregateFactory;
     private final RepositoryProvider repositoryProvider;
     private final Predicate<? super DomainEventMessage<?>> eventStreamFilter;
+    private final Cache snapshotCache;
+    private final Serializer snapshotCacheSerializer;
 
     /**
      * Instantiate a {@link EventSourcingRepository} based on the fields contained in the {@link Builder}.
@@ -82,6 +92,8 @@ protected EventSourcingRepository(Builder<T> builder) {
         this.snapshotTriggerDefinition = builder.snapshotTriggerDefinition;
         this.repositoryProvider = builder.repositoryProvider;
         this.eventStreamFilter = builder.eventStreamFilter;
+        this.snapshotCache = builder.snapshotCache;
+        this.snapshotCacheSerializer = snapshotCache != null ? builder.snapshotCacheSerializer.get() : null;
     }
 
     /**
@@ -110,6 +122,11 @@ public static <T> Builder<T> builder(Class<T> aggregateType) {
 
     /**
      * Perform the actual loading of an aggregate. The necessary locks have been obtained.
+     * <p>
+     * If a snapshot cache has been configured, the cached state of the aggregate is used as the starting point, and
+     * only the events following the cached version are read through {@link #readEvents(String, long)}. Once the Unit
+     * of Work commits, the cache is updated if the aggregate has been changed, or events had to be applied on top of
+     * the cached state.
      *
      * @param aggregateIdentifier the identifier of the aggregate to load
      * @param expectedVersion     The expected version of the loaded aggregate
@@ -121,7 +138,10 @@ public static <T> Builder<T> builder(Class<T> aggregateType) {
     @Override
     protected EventSourcedAggregate<T> doLoadWithLock(String aggregateIdentifier, Long expectedVersion) {
         SnapshotTrigger trigger = snapshotTriggerDefinition.prepareTrigger(aggregateFactory.getAggregateType());
-        DomainEventStream eventStream = readEvents(aggregateIdentifier);
+        SnapshotCacheEntry cachedState = cachedState(aggregateIdentifier);
+        DomainEventStream eventStream = cachedState != null
+                ? readEvents(aggregateIdentifier, cachedState)
+                : readEvents(aggregateIdentifier);
         if (!eventStream.hasNext()) {
             throw new AggregateNotFoundException(aggregateIdentifier, "The aggregate was not found in the event store");
         }
@@ -132,12 +152,132 @@ protected EventSourcedAggregate<T> doLoadWithLock(String aggregateIdentifier, Lo
         if (aggregate.isDeleted()) {
             throw new AggregateDeletedException(aggregateIdentifier);
         }
+        if (snapshotCache != null) {
+            Long cachedVersion = cachedState != null ? cachedState.getVersion() : null;
+            CurrentUnitOfWork.get().afterCommit(uow -> updateSnapshotCache(aggregate, cachedVersion));
+        }
         return aggregate;
     }
 
+    private SnapshotCacheEntry cachedState(String aggregateIdentifier) {
+        if (snapshotCache == null) {
+            return null;
+        }
+        Object cachedState = snapshotCache.get(snapshotCacheKey(aggregateIdentifier));
+        // entries of other aggregate types are ignored, as these cannot be used to initialize this aggregate type
+        return cachedState instanceof SnapshotCacheEntry
+                && aggregateModel().type().equals(((SnapshotCacheEntry) cachedState).getType())
+                ? (SnapshotCacheEntry) cachedState
+                : null;
+    }
+
+    /**
+     * Updates the snapshot cache with the state of the given {@code aggregate} after the Unit of Work it was loaded in
+     * has been committed. As the aggregate is still locked at that moment, its state is serialized once, including
+     * the changes made while handling the command.
+     */
+    private void updateSnapshotCache(EventSourcedAggregate<T> aggregate, Long cachedVersion) {
+        String key = snapshotCacheKey(aggregate.identifierAsString());
+        if (aggregate.isDeleted()) {
+            snapshotCache.remove(key);
+        } else if (!Objects.equals(cachedVersion, aggregate.version())) {
+            snapshotCache.put(key, SnapshotCacheEntry.of(aggregate, snapshotCacheSerializer));
+        }
+    }
+
+    private String snapshotCacheKey(String aggregateIdentifier) {
+        return SnapshotCacheEntry.cacheKey(aggregateModel().type(), aggregateIdentifier);
+    }
+
+    /**
+     * Loads the aggregates with given {@code aggregateIdentifiers} in bulk, and stores them in the cache of this
+     * repository, so that the commands targeting these aggregates no longer need to read their events one aggregate
+     * at a time. This is useful ahead of handling a (large) number of commands targeting different aggregates.
+     * <p>
+     * The events of all aggregates that are not present in the cache yet are read through a single invocation of
+     * {@link EventStore#readEventStreams(Collection)}. Note that {@link #readEvents(String)} is not invoked
+     * for preloaded aggregates. Aggregates that do not exist or that have been deleted are ignored.
+     * <p>
+     * The events are read without locking the aggregates. Each preloaded aggregate is only cached while holding its
+     * lock, if the cache holds no entry for it yet. Events appended to the aggregate after its events were read are
+     * applied once it is loaded, as the events following the cached version are always read from the event store.
+     * Preloading has no effect if this repository is not configured with a cache.
+     *
+     * @param aggregateIdentifiers the identifiers of the aggregates to preload
+     */
+    public void preload(Collection<String> aggregateIdentifiers) {
+        List<String> identifiers = aggregateIdentifiers.stream()
+                                                       .distinct()
+                                                       .filter(this::requiresPreloading)
+                                                       .collect(Collectors.toList());
+        if (identifiers.isEmpty()) {
+            return;
+        }
+        eventStore.readEventStreams(identifiers).forEach((aggregateIdentifier, stream) -> {
+            DomainEventStream eventStream = eventStreamFilter != null ? stream.filter(eventStreamFilter) : stream;
+            if (!eventStream.hasNext()) {
+                return;
+            }
+            SnapshotTrigger trigger = snapshotTriggerDefinition.prepareTrigger(aggregateFactory.getAggregateType());
+            EventSourcedAggregate<T> aggregate = EventSourcedAggregate
+                    .initialize(aggregateFactory.createAggregateRoot(aggregateIdentifier, eventStream.peek()),
+                                aggregateModel(), eventStore, repositoryProvider, trigger);
+            aggregate.initializeState(eventStream);
+            if (!aggregate.isDeleted()) {
+                cachePreloadedAggregateWithLock(aggregate);
+            }
+        });
+    }
+
+    private void cachePreloadedAggregateWithLock(EventSourcedAggregate<T> aggregate) {
+        String aggregateIdentifier = aggregate.identifierAsString();
+        Lock lock = lockFactory().obtainLock(aggregateIdentifier);
+        try {
+            if (requiresPreloading(aggregateIdentifier)) {
+                cachePreloadedAggregate(aggregate);
+            }
+        } finally {
+            lock.release();
+        }
+    }
+
+    /**
+     * Indicates whether the aggregate with given {@code aggregateIdentifier} should be read as part of a {@link
+     * #preload(Collection) preload}. This implementation returns {@code true} if a snapshot cache is configured which
+     * does not hold an entry for the aggregate yet.
+     *
+     * @param aggregateIdentifier the identifier of the aggregate to preload
+     * @return {@code true} if the aggregate should be read from the event store, {@code false} otherwise
+     */
+    protected boolean requiresPreloading(String aggregateIdentifier) {
+        return snapshotCache != null && !snapshotCache.containsKey(snapshotCacheKey(aggregateIdentifier));
+    }
+
+    /**
+     * Stores the given {@code aggregate}, which has been loaded as part of a {@link #preload(Collection) preload}, in
+     * the cache of this repository. The lock of the aggregate is held while this method is invoked, and the cache has
+     * been verified not to hold an entry for the aggregate.
+     *
+     * @param aggregate the preloaded aggregate
+     */
+    protected void cachePreloadedAggregate(EventSourcedAggregate<T> aggregate) {
+        if (snapshotCache != null) {
+            snapshotCache.put(snapshotCacheKey(aggregate.identifierAsString()),
+                              SnapshotCacheEntry.of(aggregate, snapshotCacheSerializer));
+        }
+    }
+
+    private DomainEventStream readEvents(String aggregateIdentifier, SnapshotCacheEntry cachedState) {
+        return DomainEventStream.concat(DomainEventStream.of(cachedState.toSnapshot(snapshotCacheSerializer)),
+                                        readEvents(aggregateIdentifier, cachedState.getVersion() + 1));
+    }
+
     /**
      * Reads the events for the given aggregateIdentifier from the eventStore. this method may be overridden to
      * add pre or postprocessing to the loading of an event stream
+     * <p>
+     * When a snapshot cache is configured, aggregates found in it are loaded through {@link #readEvents(String, long)}
+     * instead, so pre or postprocessing added by overriding this method should be added to that method as well.
      *
      * @param aggregateIdentifier the identifier of the aggregate to load
      * @return the domain event stream for the given aggregateIdentifier, with {@link #eventStreamFilter} applied if
@@ -148,6 +288,25 @@ protected DomainEventStream readEvents(String aggregateIdentifier) {
         return eventStreamFilter != null ? fullStream.filter(eventStreamFilter) : fullStream;
     }
 
+    /**
+     * Reads the events for the given aggregateIdentifier from the eventStore, starting at the given {@code
+     * firstSequenceNumber}. Used to read the events following the state found in the snapshot cache. This method may
+     * be overridden to add pre or postprocessing to the loading of an event stream.
+     * <p>
+     * This method only reads the events following the cached state, so the events preceding it are not read again.
+     * Processing which requires the full event stream of an aggregate is therefore incompatible with the snapshot
+     * cache.
+     *
+     * @param aggregateIdentifier the identifier of the aggregate to load
+     * @param firstSequenceNumber the sequence number of the first event to read
+     * @return the domain event stream for the given aggregateIdentifier starting at the given {@code
+     *         firstSequenceNumber}, with {@link #eventStreamFilter} applied if one was configured
+     */
+    protected DomainEventStream readEvents(String aggregateIdentifier, long firstSequenceNumber) {
+        DomainEventStream tail = eventStore.readEvents(aggregateIdentifier, firstSequenceNumber);
+        return eventStreamFilter != null ? tail.filter(eventStreamFilter) : tail;
+    }
+
     @Override
     protected void validateOnLoad(Aggregate<T> aggregate, Long expectedVersion) {
         if (expectedVersion != null && expectedVersion < aggregate.version()) {
@@ -218,6 +377,8 @@ public AggregateFactory<T> getAggregateFactory() {
         protected RepositoryProvider repositoryProvider;
         protected Cache cache;
         protected Predicate<? super DomainEventMessage<?>> eventStreamFilter;
+        private Cache snapshotCache;
+        private Supplier<Serializer> snapshotCacheSerializer = XStreamSerializer::defaultSerializer;
 
         /**
          * Creates a builder for a Repository for given {@code aggregateType}.
@@ -319,6 +480,39 @@ public Builder<T> cache(Cache cache) {
             return this;
         }
 
+        /**
+         * Sets the {@link Cache} used as a second-level cache holding the serialized state of Aggregates, keyed by
+         * Aggregate type and identifier. On load, the cached state is used as a snapshot and only the events
+         * following the cached version are read from the {@link EventStore}. As entries contain serialized state
+         * rather than Aggregate instances, the same Cache may be shared by several repository instances. Defaults to
+         * {@code null}, meaning no snapshot cache is used.
+         * <p>
+         * Cached aggregates are loaded through {@link EventSourcingRepository#readEvents(String, long)} rather than
+         * {@link EventSourcingRepository#readEvents(String)}. Subclasses processing the full event stream of an
+         * Aggregate by overriding the latter should not be configured with a snapshot cache.
+         *
+         * @param snapshotCache a {@link Cache} holding the serialized state of Aggregates
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder<T> snapshotCache(Cache snapshotCache) {
+            this.snapshotCache = snapshotCache;
+            return this;
+        }
+
+        /**
+         * Sets the {@link Serializer} used to serialize the Aggregate state stored in the {@link
+         * #snapshotCache(Cache) snapshot cache}. Defaults to a {@link XStreamSerializer}.
+         *
+         * @param snapshotCacheSerializer the {@link Serializer} used to serialize the Aggregate state stored in the
+         *                                snapshot cache
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder<T> snapshotCacheSerializer(Serializer snapshotCacheSerializer) {
+            assertNonNull(snapshotCacheSerializer, "The snapshot cache Serializer may not be null");
+            this.snapshotCacheSerializer = () -> snapshotCacheSerializer;
+            return this;
+        }
+
         /**
          * Sets the {@link Predicate} used to filter events when reading from the EventStore. By default, all
          * events with the Aggregate identifier passed to {@link EventSourcingRepository#readEvents(String)} are
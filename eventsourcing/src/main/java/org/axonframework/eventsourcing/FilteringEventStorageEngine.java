@@ -27,6 +27,7 @@
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -69,6 +70,12 @@ public void appendEvents(List<? extends EventMessage<?>> events) {
         delegate.appendEvents(events.stream().filter(filter).collect(Collectors.toList()));
     }
 
+    @Override
+    public void appendEvents(List<? extends EventMessage<?>> events,
+                             Consumer<List<? extends TrackedEventMessage<?>>> appendedEventsCallback) {
+        delegate.appendEvents(events.stream().filter(filter).collect(Collectors.toList()), appendedEventsCallback);
+    }
+
     @Override
     public void storeSnapshot(DomainEventMessage<?> snapshot) {
         delegate.storeSnapshot(snapshot);
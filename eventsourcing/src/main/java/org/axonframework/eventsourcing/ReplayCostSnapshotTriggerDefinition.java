@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventsourcing;
+
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.eventhandling.DomainEventMessage;
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.monitoring.MessageMonitor;
+import org.axonframework.monitoring.NoOpMessageMonitor;
+import org.axonframework.serialization.Serializer;
+
+import java.time.Clock;
+
+import static org.axonframework.common.BuilderUtils.assertNonNull;
+import static org.axonframework.common.BuilderUtils.assertStrictPositive;
+
+/**
+ * A Snapshotter trigger mechanism which decides when to trigger the creation of a snapshot based on the cost of
+ * replaying the events of an Aggregate. A snapshot is triggered when either the cumulative serialized size of the
+ * events applied since the last snapshot exceeds the {@code replayedBytesThreshold}, or when event sourcing the
+ * Aggregate took longer than the {@code loadTimeMillisThreshold}. Aggregates with large payloads are thus snapshotted
+ * after fewer events than Aggregates publishing many small events.
+ * <p>
+ * The statistics of a trigger are derived from the events replayed since the last snapshot, rather than being kept in
+ * the trigger only. They are therefore restored whenever an Aggregate is loaded, also after it has been evicted from a
+ * cache or after the application has been restarted.
+ * <p>
+ * The size of an event is determined by serializing its payload and meta data with the configured {@link Serializer}.
+ * This should be the serializer of the event storage engine, so that the serialized form of replayed events can be
+ * reused rather than the event being serialized again.
+ * <p>
+ * Each time an Aggregate is event sourced, the configured {@link MessageMonitor} is notified with the first event of
+ * the replayed stream, and the load is reported as successful once the Aggregate has been initialized. The monitor may
+ * use the {@link DomainEventMessage#getType() type} of that event to report load statistics per Aggregate type.
+ *
+ * @since 4.5
+ */
+public class ReplayCostSnapshotTriggerDefinition implements SnapshotTriggerDefinition {
+
+    private final Snapshotter snapshotter;
+    private final Serializer serializer;
+    private final long replayedBytesThreshold;
+    private final long loadTimeMillisThreshold;
+    private final MessageMonitor<? super DomainEventMessage<?>> messageMonitor;
+    private final Clock clock;
+
+    /**
+     * Instantiate a {@link ReplayCostSnapshotTriggerDefinition} based on the fields contained in the {@link Builder}.
+     * <p>
+     * Will assert that the {@link Snapshotter} and {@link Serializer} are not {@code null}, and will throw an {@link
+     * AxonConfigurationException} if either of them is {@code null}.
+     *
+     * @param builder the {@link Builder} used to instantiate a {@link ReplayCostSnapshotTriggerDefinition} instance
+     */
+    protected ReplayCostSnapshotTriggerDefinition(Builder builder) {
+        builder.validate();
+        this.snapshotter = builder.snapshotter;
+        this.serializer = builder.serializer;
+        this.replayedBytesThreshold = builder.replayedBytesThreshold;
+        this.loadTimeMillisThreshold = builder.loadTimeMillisThreshold;
+        this.messageMonitor = builder.messageMonitor;
+        this.clock = builder.clock;
+    }
+
+    /**
+     * Instantiate a Builder to be able to create a {@link ReplayCostSnapshotTriggerDefinition}.
+     * <p>
+     * The {@code replayedBytesThreshold} defaults to 1 MiB, the {@code loadTimeMillisThreshold} defaults to 1000
+     * milliseconds, the {@link MessageMonitor} defaults to a {@link NoOpMessageMonitor} and the {@link Clock} defaults
+     * to {@link Clock#systemUTC()}. The {@link Snapshotter} and {@link Serializer} are <b>hard requirements</b> and as
+     * such should be provided.
+     *
+     * @return a Builder to be able to create a {@link ReplayCostSnapshotTriggerDefinition}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public SnapshotTrigger prepareTrigger(Class<?> aggregateType) {
+        return new ReplayCostSnapshotTrigger(this, aggregateType);
+    }
+
+    @Override
+    public SnapshotTrigger reconfigure(Class<?> aggregateType, SnapshotTrigger trigger) {
+        if (trigger instanceof ReplayCostSnapshotTrigger) {
+            ((ReplayCostSnapshotTrigger) trigger).configure(this);
+            return trigger;
+        }
+        return new ReplayCostSnapshotTrigger(this, aggregateType);
+    }
+
+    /**
+     * Builder class to instantiate a {@link ReplayCostSnapshotTriggerDefinition}.
+     * <p>
+     * The {@code replayedBytesThreshold} defaults to 1 MiB, the {@code loadTimeMillisThreshold} defaults to 1000
+     * milliseconds, the {@link MessageMonitor} defaults to a {@link NoOpMessageMonitor} and the {@link Clock} defaults
+     * to {@link Clock#systemUTC()}. The {@link Snapshotter} and {@link Serializer} are <b>hard requirements</b> and as
+     * such should be provided.
+     */
+    public static class Builder {
+
+        private Snapshotter snapshotter;
+        private Serializer serializer;
+        private long replayedBytesThreshold = 1024 * 1024;
+        private long loadTimeMillisThreshold = 1000;
+        private MessageMonitor<? super DomainEventMessage<?>> messageMonitor = NoOpMessageMonitor.INSTANCE;
+        private Clock clock = Clock.systemUTC();
+
+        /**
+         * Sets the {@link Snapshotter} to notify when a snapshot needs to be taken.
+         *
+         * @param snapshotter the {@link Snapshotter} to notify when a snapshot needs to be taken
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder snapshotter(Snapshotter snapshotter) {
+            assertNonNull(snapshotter, "Snapshotter may not be null");
+            this.snapshotter = snapshotter;
+            return this;
+        }
+
+        /**
+         * Sets the {@link Serializer} used to determine the serialized size of events. This should be the serializer
+         * used by the event storage engine to store events.
+         *
+         * @param serializer the {@link Serializer} used to determine the serialized size of events
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder serializer(Serializer serializer) {
+            assertNonNull(serializer, "Serializer may not be null");
+            this.serializer = serializer;
+            return this;
+        }
+
+        /**
+         * Sets the cumulative serialized size in bytes of the events applied since the last snapshot, beyond which a
+         * snapshot is triggered. Defaults to 1 MiB.
+         *
+         * @param replayedBytesThreshold the number of bytes applied since the last snapshot that triggers a snapshot
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder replayedBytesThreshold(long replayedBytesThreshold) {
+            assertStrictPositive(replayedBytesThreshold, "The replayed bytes threshold should be positive");
+            this.replayedBytesThreshold = replayedBytesThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the time in milliseconds event sourcing an Aggregate may take, beyond which a snapshot is triggered.
+         * Defaults to 1000 milliseconds.
+         *
+         * @param loadTimeMillisThreshold the maximum time in milliseconds event sourcing an Aggregate may take
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder loadTimeMillisThreshold(long loadTimeMillisThreshold) {
+            assertStrictPositive(loadTimeMillisThreshold, "The load time threshold should be positive");
+            this.loadTimeMillisThreshold = loadTimeMillisThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the {@link MessageMonitor} notified each time an Aggregate is event sourced. The monitor is invoked
+         * with the first event of the replayed stream and notified of success once the Aggregate has been
+         * initialized. Defaults to a {@link NoOpMessageMonitor}.
+         *
+         * @param messageMonitor the {@link MessageMonitor} notified each time an Aggregate is event sourced
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder messageMonitor(MessageMonitor<? super DomainEventMessage<?>> messageMonitor) {
+            assertNonNull(messageMonitor, "MessageMonitor may not be null");
+            this.messageMonitor = messageMonitor;
+            return this;
+        }
+
+        /**
+         * Sets the {@link Clock} used to measure the time it takes to event source an Aggregate. Defaults to {@link
+         * Clock#systemUTC()}.
+         *
+         * @param clock the {@link Clock} used to measure the time it takes to event source an Aggregate
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder clock(Clock clock) {
+            assertNonNull(clock, "Clock may not be null");
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Initializes a {@link ReplayCostSnapshotTriggerDefinition} as specified through this Builder.
+         *
+         * @return a {@link ReplayCostSnapshotTriggerDefinition} as specified through this Builder
+         */
+        public ReplayCostSnapshotTriggerDefinition build() {
+            return new ReplayCostSnapshotTriggerDefinition(this);
+        }
+
+        /**
+         * Validates whether the fields contained in this Builder are set accordingly.
+         *
+         * @throws AxonConfigurationException if one field is asserted to be incorrect according to the Builder's
+         *                                    specifications
+         */
+        protected void validate() throws AxonConfigurationException {
+            assertNonNull(snapshotter, "The Snapshotter is a hard requirement and should be provided");
+            assertNonNull(serializer, "The Serializer is a hard requirement and should be provided");
+        }
+    }
+
+    private static class ReplayCostSnapshotTrigger extends AbstractSnapshotTrigger {
+
+        private static final long serialVersionUID = -3817312345907351423L;
+
+        private final Class<?> aggregateType;
+        private final long replayedBytesThreshold;
+        private final long loadTimeMillisThreshold;
+        private transient Serializer serializer;
+        private transient MessageMonitor<? super DomainEventMessage<?>> messageMonitor;
+        private transient Clock clock;
+        private transient MessageMonitor.MonitorCallback loadCallback;
+        private transient EventSourcedAggregate<?> aggregate;
+        private long loadStartMillis = -1;
+        private boolean loaded;
+        private long replayedBytes;
+        private long loadTimeMillis;
+
+        private ReplayCostSnapshotTrigger(ReplayCostSnapshotTriggerDefinition definition, Class<?> aggregateType) {
+            super(definition.snapshotter, aggregateType);
+            this.aggregateType = aggregateType;
+            this.replayedBytesThreshold = definition.replayedBytesThreshold;
+            this.loadTimeMillisThreshold = definition.loadTimeMillisThreshold;
+            configure(definition);
+        }
+
+        private void configure(ReplayCostSnapshotTriggerDefinition definition) {
+            setSnapshotter(definition.snapshotter);
+            this.serializer = definition.serializer;
+            this.messageMonitor = definition.messageMonitor;
+            this.clock = definition.clock;
+        }
+
+        @Override
+        public void attachTo(EventSourcedAggregate<?> aggregate) {
+            super.attachTo(aggregate);
+            this.aggregate = aggregate;
+        }
+
+        @Override
+        public void eventHandled(EventMessage<?> msg) {
+            if (msg instanceof DomainEventMessage) {
+                if (isReplaying()) {
+                    if (loadStartMillis < 0) {
+                        loadStartMillis = clock.millis();
+                        loadCallback = messageMonitor.onMessageIngested((DomainEventMessage<?>) msg);
+                    }
+                    if (aggregateType.isAssignableFrom(msg.getPayloadType())) {
+                        // the payload is the aggregate itself, so this is the snapshot the aggregate is loaded from
+                        replayedBytes = 0;
+                        return;
+                    }
+                }
+                replayedBytes += msg.serializePayload(serializer, byte[].class).getData().length
+                        + msg.serializeMetaData(serializer, byte[].class).getData().length;
+            }
+            super.eventHandled(msg);
+        }
+
+        private boolean isReplaying() {
+            // events applied by a new aggregate are live, even though the aggregate is never initialized
+            return aggregate != null ? !aggregate.getIsLive() : !loaded;
+        }
+
+        @Override
+        public void initializationFinished() {
+            if (loadStartMillis >= 0) {
+                loadTimeMillis = clock.millis() - loadStartMillis;
+                loadStartMillis = -1;
+            }
+            loaded = true;
+            if (loadCallback != null) {
+                loadCallback.reportSuccess();
+                loadCallback = null;
+            }
+            super.initializationFinished();
+        }
+
+        @Override
+        protected boolean exceedsThreshold() {
+            long currentLoadTime = loadStartMillis >= 0 ? clock.millis() - loadStartMillis : loadTimeMillis;
+            return replayedBytes > replayedBytesThreshold || currentLoadTime > loadTimeMillisThreshold;
+        }
+
+        @Override
+        protected void reset() {
+            replayedBytes = 0;
+            loadTimeMillis = 0;
+            if (loadStartMillis >= 0) {
+                loadStartMillis = clock.millis();
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventsourcing;
+
+import org.axonframework.eventhandling.DomainEventMessage;
+import org.axonframework.eventhandling.GenericDomainEventMessage;
+import org.axonframework.serialization.SerializedObject;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.SimpleSerializedObject;
+
+import java.io.Serializable;
+
+/**
+ * Entry of the second-level snapshot cache of an {@link EventSourcingRepository}. It holds the serialized state of an
+ * Aggregate at a given version, which is the equivalent of a snapshot of that Aggregate. As the state is kept in its
+ * serialized form, entries may be shared by several repository instances, without these sharing the Aggregate
+ * instance itself.
+ *
+ * @since 4.5
+ */
+public class SnapshotCacheEntry implements Serializable {
+
+    private static final long serialVersionUID = 4657216624335620817L;
+
+    private final String type;
+    private final String aggregateIdentifier;
+    private final long version;
+    private final byte[] state;
+    private final String stateType;
+    private final String stateRevision;
+
+    /**
+     * Creates a {@link SnapshotCacheEntry} holding the state of the given {@code aggregate}, serialized using the
+     * given {@code serializer}.
+     *
+     * @param aggregate  the Aggregate to cache the state of
+     * @param serializer the {@link Serializer} used to serialize the state of the given {@code aggregate}
+     * @return a {@link SnapshotCacheEntry} holding the serialized state of the given {@code aggregate}
+     */
+    public static SnapshotCacheEntry of(EventSourcedAggregate<?> aggregate, Serializer serializer) {
+        SerializedObject<byte[]> state = serializer.serialize(aggregate.getAggregateRoot(), byte[].class);
+        return new SnapshotCacheEntry(aggregate.type(),
+                                      aggregate.identifierAsString(),
+                                      aggregate.version(),
+                                      state.getData(),
+                                      state.getType().getName(),
+                                      state.getType().getRevision());
+    }
+
+    /**
+     * Returns the key under which the {@link SnapshotCacheEntry} of the Aggregate with given {@code type} and {@code
+     * aggregateIdentifier} is stored. Including the type prevents Aggregates of different types, sharing an
+     * identifier, from replacing each other's entries in a shared cache.
+     *
+     * @param type                the type of the Aggregate
+     * @param aggregateIdentifier the identifier of the Aggregate
+     * @return the key of the {@link SnapshotCacheEntry} of the Aggregate
+     */
+    public static String cacheKey(String type, String aggregateIdentifier) {
+        return type + "#" + aggregateIdentifier;
+    }
+
+    private SnapshotCacheEntry(String type, String aggregateIdentifier, long version,
+                               byte[] state, String stateType, String stateRevision) {
+        this.type = type;
+        this.aggregateIdentifier = aggregateIdentifier;
+        this.version = version;
+        this.state = state;
+        this.stateType = stateType;
+        this.stateRevision = stateRevision;
+    }
+
+    /**
+     * Returns the type of the Aggregate of which the state is cached.
+     *
+     * @return the type of the Aggregate of which the state is cached
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Returns the version of the Aggregate at the moment its state was cached. Only events with a higher sequence
+     * number need to be applied to bring the Aggregate up to date.
+     *
+     * @return the version of the Aggregate at the moment its state was cached
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Deserializes the cached state into a snapshot event, which may be used as the first event in the stream the
+     * Aggregate is initialized with. Every invocation returns a new Aggregate instance as the payload of the snapshot.
+     *
+     * @param serializer the {@link Serializer} used to deserialize the cached state
+     * @return a {@link DomainEventMessage} containing the cached state of the Aggregate as its payload
+     */
+    public DomainEventMessage<?> toSnapshot(Serializer serializer) {
+        Object aggregateRoot =
+                serializer.deserialize(new SimpleSerializedObject<>(state, byte[].class, stateType, stateRevision));
+        return new GenericDomainEventMessage<>(type, aggregateIdentifier, version, aggregateRoot);
+    }
+}
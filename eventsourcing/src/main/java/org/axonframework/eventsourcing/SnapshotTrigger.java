@@ -47,4 +47,16 @@ public interface SnapshotTrigger {
      * of {@link #eventHandled(EventMessage)} involves an event being applied on "current state".
      */
     void initializationFinished();
+
+    /**
+     * Invoked when the trigger is assigned to the given {@code aggregate}, which happens each time an aggregate instance
+     * is created or reconstructed. Triggers may hand the aggregate to the {@link Snapshotter}, allowing a snapshot to be
+     * created from the aggregate's current state rather than from its events.
+     * <p>
+     * Defaults to a no-op.
+     *
+     * @param aggregate the aggregate instance monitored by this trigger
+     */
+    default void attachTo(EventSourcedAggregate<?> aggregate) {
+    }
 }
@@ -34,4 +34,37 @@ public interface Snapshotter {
      * @param aggregateIdentifier The identifier of the aggregate to take the snapshot for
      */
     void scheduleSnapshot(Class<?> aggregateType, String aggregateIdentifier);
+
+    /**
+     * Schedules snapshot taking for an aggregate with given {@code aggregateIdentifier}, providing the number of
+     * events applied to the aggregate since its last snapshot. Implementations may use this number to prioritize
+     * snapshots of aggregates which are most expensive to load.
+     * <p>
+     * Defaults to {@link #scheduleSnapshot(Class, String)}, ignoring the given {@code eventsSinceLastSnapshot}.
+     *
+     * @param aggregateType           the type of the aggregate to take the snapshot for
+     * @param aggregateIdentifier     The identifier of the aggregate to take the snapshot for
+     * @param eventsSinceLastSnapshot the number of events applied to the aggregate since its last snapshot
+     */
+    default void scheduleSnapshot(Class<?> aggregateType, String aggregateIdentifier, long eventsSinceLastSnapshot) {
+        scheduleSnapshot(aggregateType, aggregateIdentifier);
+    }
+
+    /**
+     * Schedules snapshot taking for the given {@code aggregate}, of which the changes are being committed.
+     * Implementations may use the current state of the given {@code aggregate} to create the snapshot, instead of
+     * reading its events from the Event Store. Only the thread handling the aggregate may access its state, and only
+     * until the Unit of Work has been committed. Any state needed to create the snapshot should therefore be captured
+     * on the thread invoking this method, before the active Unit of Work is cleaned up.
+     * <p>
+     * Defaults to {@link #scheduleSnapshot(Class, String, long)}, ignoring the state of the given {@code aggregate}.
+     *
+     * @param aggregateType           the type of the aggregate to take the snapshot for
+     * @param aggregate               the committed aggregate to take the snapshot for
+     * @param eventsSinceLastSnapshot the number of events applied to the aggregate since its last snapshot
+     */
+    default void scheduleSnapshot(Class<?> aggregateType, EventSourcedAggregate<?> aggregate,
+                                  long eventsSinceLastSnapshot) {
+        scheduleSnapshot(aggregateType, aggregate.identifierAsString(), eventsSinceLastSnapshot);
+    }
 }
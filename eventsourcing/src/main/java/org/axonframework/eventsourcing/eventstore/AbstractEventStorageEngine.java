@@ -32,7 +32,12 @@
 import org.axonframework.serialization.upcasting.event.NoOpEventUpcaster;
 import org.axonframework.serialization.xml.XStreamSerializer;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -96,6 +101,39 @@ public Optional<DomainEventMessage<?>> readSnapshot(String aggregateIdentifier)
                 .map(event -> (DomainEventMessage<?>) event);
     }
 
+    @Override
+    public Map<String, DomainEventStream> readEventStreams(Map<String, Long> firstSequenceNumbers) {
+        Map<String, List<DomainEventData<?>>> eventData = new LinkedHashMap<>();
+        firstSequenceNumbers.keySet().forEach(identifier -> eventData.put(identifier, new ArrayList<>()));
+        readEventDataForAggregates(firstSequenceNumbers).forEach(entry -> {
+            List<DomainEventData<?>> aggregateEventData = eventData.get(entry.getAggregateIdentifier());
+            if (aggregateEventData != null
+                    && entry.getSequenceNumber() >= firstSequenceNumbers.get(entry.getAggregateIdentifier())) {
+                aggregateEventData.add(entry);
+            }
+        });
+        Map<String, DomainEventStream> eventStreams = new LinkedHashMap<>();
+        eventData.forEach((identifier, entries) -> eventStreams.put(
+                identifier, upcastAndDeserializeDomainEvents(entries.stream(), getEventSerializer(), upcasterChain)
+        ));
+        return eventStreams;
+    }
+
+    @Override
+    public Map<String, DomainEventMessage<?>> readSnapshots(Collection<String> aggregateIdentifiers) {
+        Map<String, DomainEventMessage<?>> snapshots = new HashMap<>();
+        readSnapshotDataForAggregates(aggregateIdentifiers)
+                .filter(snapshot -> !snapshots.containsKey(snapshot.getAggregateIdentifier()))
+                .filter(snapshotFilter::allow)
+                .forEach(snapshot -> upcastAndDeserializeDomainEvents(Stream.of(snapshot),
+                                                                      getSnapshotSerializer(),
+                                                                      upcasterChain)
+                        .asStream()
+                        .findFirst()
+                        .ifPresent(event -> snapshots.put(snapshot.getAggregateIdentifier(), event)));
+        return snapshots;
+    }
+
     @Override
     public void appendEvents(List<? extends EventMessage<?>> events) {
         appendEvents(events, getEventSerializer());
@@ -222,6 +260,42 @@ protected abstract Stream<? extends TrackedEventData<?>> readEventData(TrackingT
      */
     protected abstract Stream<? extends DomainEventData<?>> readSnapshotData(String aggregateIdentifier);
 
+    /**
+     * Returns a {@link Stream} of serialized event data entries for all aggregates in the given {@code
+     * firstSequenceNumbers}. The events of each aggregate should be ordered by aggregate sequence number. Entries with
+     * a sequence number lower than the one mapped to their aggregate identifier are ignored by the caller, allowing
+     * implementations to use a single lower bound for all aggregates they fetch events for.
+     * <p>
+     * By default this method invokes {@link #readEventData(String, long)} for each of the aggregates. Storage engines
+     * are encouraged to override this method to fetch the events of several aggregates at once.
+     *
+     * @param firstSequenceNumbers a map of aggregate identifiers to the sequence number of the first expected event
+     *                             entry of that aggregate
+     * @return a Stream of serialized event entries for the given aggregates
+     */
+    protected Stream<? extends DomainEventData<?>> readEventDataForAggregates(Map<String, Long> firstSequenceNumbers) {
+        return firstSequenceNumbers.entrySet()
+                                   .stream()
+                                   .flatMap(entry -> readEventData(entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Returns a stream of serialized snapshot entries for the aggregates with given {@code aggregateIdentifiers}. The
+     * snapshots of each aggregate should be returned in descending order of their sequence number, as the first
+     * snapshot of an aggregate that is allowed by the snapshot filter is used.
+     * <p>
+     * By default this method invokes {@link #readSnapshotData(String)} for each of the given identifiers. Storage
+     * engines are encouraged to override this method to fetch the snapshots of several aggregates at once.
+     *
+     * @param aggregateIdentifiers The identifiers of the aggregates to fetch snapshots for
+     * @return A stream of serialized snapshots of the given aggregates
+     */
+    protected Stream<? extends DomainEventData<?>> readSnapshotDataForAggregates(
+            Collection<String> aggregateIdentifiers
+    ) {
+        return aggregateIdentifiers.stream().flatMap(this::readSnapshotData);
+    }
+
     /**
      * Get the serializer used by this storage engine when storing and retrieving snapshots.
      *
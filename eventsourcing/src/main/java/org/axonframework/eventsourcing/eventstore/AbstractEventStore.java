@@ -27,7 +27,11 @@
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -60,10 +64,20 @@ protected AbstractEventStore(Builder builder) {
 
     @Override
     protected void prepareCommit(List<? extends EventMessage<?>> events) {
-        storageEngine.appendEvents(events);
+        appendEvents(events);
         super.prepareCommit(events);
     }
 
+    /**
+     * Appends the given {@code events} to the {@link EventStorageEngine} while the Unit of Work root is preparing for
+     * commit. The default implementation passes the events to {@link EventStorageEngine#appendEvents(List)}.
+     *
+     * @param events Events to be appended to the storage engine
+     */
+    protected void appendEvents(List<? extends EventMessage<?>> events) {
+        storageEngine.appendEvents(events);
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -92,6 +106,57 @@ public DomainEventStream readEvents(String aggregateIdentifier) {
         return DomainEventStream.concat(eventStream, DomainEventStream.of(domainEventMessages));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation reads the snapshots of all given aggregates through a single invocation of {@link
+     * EventStorageEngine#readSnapshots(Collection)}, after which the remaining events of all aggregates are read
+     * through a single invocation of {@link EventStorageEngine#readEventStreams(Map)}. If the snapshots cannot be read
+     * in bulk, they are read one aggregate at a time instead.
+     */
+    @Override
+    public Map<String, DomainEventStream> readEventStreams(Collection<String> aggregateIdentifiers) {
+        Map<String, DomainEventMessage<?>> snapshots;
+        try {
+            snapshots = storageEngine.readSnapshots(aggregateIdentifiers);
+        } catch (Exception | LinkageError e) {
+            logger.warn("Error reading snapshots in bulk. Reading snapshots per aggregate instead.", e);
+            Map<String, DomainEventMessage<?>> aggregateSnapshots = new HashMap<>();
+            for (String aggregateIdentifier : aggregateIdentifiers) {
+                Optional<DomainEventMessage<?>> optionalSnapshot;
+                try {
+                    optionalSnapshot = storageEngine.readSnapshot(aggregateIdentifier);
+                } catch (Exception | LinkageError ex) {
+                    optionalSnapshot = handleSnapshotReadingError(aggregateIdentifier, ex);
+                }
+                optionalSnapshot.ifPresent(snapshot -> aggregateSnapshots.put(aggregateIdentifier, snapshot));
+            }
+            snapshots = aggregateSnapshots;
+        }
+
+        Map<String, Long> firstSequenceNumbers = new LinkedHashMap<>();
+        for (String aggregateIdentifier : aggregateIdentifiers) {
+            DomainEventMessage<?> snapshot = snapshots.get(aggregateIdentifier);
+            firstSequenceNumbers.put(aggregateIdentifier, snapshot == null ? 0L : snapshot.getSequenceNumber() + 1);
+        }
+        Map<String, DomainEventStream> storedEventStreams = storageEngine.readEventStreams(firstSequenceNumbers);
+
+        Map<String, DomainEventStream> eventStreams = new LinkedHashMap<>();
+        for (String aggregateIdentifier : firstSequenceNumbers.keySet()) {
+            DomainEventMessage<?> snapshot = snapshots.get(aggregateIdentifier);
+            DomainEventStream eventStream = storedEventStreams.getOrDefault(aggregateIdentifier,
+                                                                            DomainEventStream.empty());
+            if (snapshot != null) {
+                eventStream = DomainEventStream.concat(DomainEventStream.of(snapshot), eventStream);
+            }
+            Stream<? extends DomainEventMessage<?>> domainEventMessages =
+                    stagedDomainEventMessages(aggregateIdentifier);
+            eventStreams.put(aggregateIdentifier,
+                             DomainEventStream.concat(eventStream, DomainEventStream.of(domainEventMessages)));
+        }
+        return eventStreams;
+    }
+
     /**
      * Invoked when an error ({@link Exception} or {@link LinkageError}) occurs while attempting to read a snapshot
      * event. This method can be overridden to change the default behavior, which is to log the exception (warn level)
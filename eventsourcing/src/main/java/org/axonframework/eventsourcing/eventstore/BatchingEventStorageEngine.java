@@ -25,13 +25,17 @@
 import org.axonframework.serialization.Serializer;
 import org.axonframework.serialization.upcasting.event.EventUpcaster;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Spliterators;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -92,6 +96,26 @@ protected BatchingEventStorageEngine(Builder builder) {
     protected abstract List<? extends DomainEventData<?>> fetchDomainEvents(String aggregateIdentifier,
                                                                             long firstSequenceNumber, int batchSize);
 
+    /**
+     * Returns the events published by the aggregates in the given {@code firstSequenceNumbers}. The map contains at
+     * most {@link #batchSize()} entries. Implementations are expected to fetch the events of these aggregates in a
+     * single query, starting at the sequence number mapped to each aggregate identifier. Returned events with a lower
+     * sequence number are ignored.
+     * <p/>
+     * The events of each aggregate in the returned list should be ordered by sequence number. Events of one aggregate
+     * may be interleaved with those of another. Unlike {@link #fetchDomainEvents(String, long, int)}, this method
+     * should return all (remaining) events of the given aggregates.
+     * <p/>
+     * By default this method invokes {@link #readEventData(String, long)} for each of the given aggregates.
+     *
+     * @param firstSequenceNumbers a map of aggregate identifiers to the sequence number of the first expected event
+     *                             entry of that aggregate
+     * @return the serialized event entries of the given aggregates
+     */
+    protected List<? extends DomainEventData<?>> fetchDomainEvents(Map<String, Long> firstSequenceNumbers) {
+        return super.readEventDataForAggregates(firstSequenceNumbers).collect(Collectors.toList());
+    }
+
     /**
      * Specifies whether the {@link #readEventData(String, long)} should proceed fetching events for an aggregate until
      * an empty batch is returned. Defaults to {@code false}, as Aggregate event batches typically do not have gaps in
@@ -113,6 +137,29 @@ protected Stream<? extends DomainEventData<?>> readEventData(String identifier,
         return StreamSupport.stream(spliterator, false);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation partitions the given aggregates in groups of {@link #batchSize()} aggregates, and fetches
+     * the events of every group through a single invocation of {@link #fetchDomainEvents(Map)}.
+     */
+    @Override
+    protected Stream<? extends DomainEventData<?>> readEventDataForAggregates(Map<String, Long> firstSequenceNumbers) {
+        List<Map<String, Long>> batches = new ArrayList<>();
+        Map<String, Long> batch = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : firstSequenceNumbers.entrySet()) {
+            if (batch.size() == batchSize) {
+                batches.add(batch);
+                batch = new LinkedHashMap<>();
+            }
+            batch.put(entry.getKey(), entry.getValue());
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches.stream().flatMap(aggregateBatch -> fetchDomainEvents(aggregateBatch).stream());
+    }
+
     /**
      * {@inheritDoc}
      * <p>
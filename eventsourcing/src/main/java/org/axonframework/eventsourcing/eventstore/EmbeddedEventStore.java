@@ -20,19 +20,27 @@
 import org.axonframework.common.AxonThreadFactory;
 import org.axonframework.common.io.IOUtils;
 import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventhandling.GapAwareTrackingToken;
 import org.axonframework.eventhandling.TrackedEventMessage;
 import org.axonframework.eventhandling.TrackingEventStream;
 import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.messaging.unitofwork.CurrentUnitOfWork;
 import org.axonframework.monitoring.MessageMonitor;
 import org.axonframework.monitoring.NoOpMessageMonitor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -42,11 +50,14 @@
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
 import java.util.stream.Stream;
 import javax.annotation.PreDestroy;
 
 import static java.util.stream.Collectors.toList;
 import static org.axonframework.common.BuilderUtils.assertNonNull;
+import static org.axonframework.common.BuilderUtils.assertThat;
+import static org.axonframework.eventhandling.EventUtils.asTrackedEventMessage;
 
 /**
  * Implementation of an {@link EventStore} that stores and fetches events using an {@link EventStorageEngine}. If
@@ -56,15 +67,21 @@
  * needs to read from the storage engine individually the embedded event store contains a cache of the most recent
  * events. This cache is shared between the streams of various event processors. So, assuming an event processor
  * processes events fast enough and is not far behind the head of the event log it will not need a private connection to
- * the underlying data store. The size of the cache (in number of events) is configurable. This 'event consumption
- * optimization' might in some scenarios not be desirable, as it will spin up additional threads and perform some
- * locking operations. Hence it is switchable by using the {@link Builder#optimizeEventConsumption(boolean)} upon
- * creation. Additionally, this can also be turned off by providing a system property with key {@code
- * optimize-event-consumption}.
+ * the underlying data store. The size of the cache is configurable in number of events, as well as in (estimated)
+ * bytes. This 'event consumption optimization' might in some scenarios not be desirable, as it will spin up additional
+ * threads and perform some locking operations. Hence it is switchable by using the {@link
+ * Builder#optimizeEventConsumption(boolean)} upon creation. Additionally, this can also be turned off by providing a
+ * system property with key {@code optimize-event-consumption}.
  * <p>
  * The embedded event store automatically fetches new events from the store if there is at least one registered tracking
  * event processor present. It will do so after new events are committed to the store, as well as periodically as events
  * may have been committed by other nodes or applications. This periodic fetch delay is configurable.
+ * <p>
+ * Optionally, events committed through the embedded event store can be {@link Builder#pushCommittedEvents(boolean)
+ * pushed} into the cache directly, instead of being read back from the storage engine. This requires a storage engine
+ * which reports the tracking tokens of the events it appends. The cache falls back to reading from the storage engine
+ * whenever a pushed event does not directly follow the newest cached event, for instance because another node or
+ * application appended events in the meantime.
  *
  * @author Rene de Waele
  * @since 3.0
@@ -75,6 +92,8 @@ public class EmbeddedEventStore extends AbstractEventStore {
 
     private static final ThreadGroup THREAD_GROUP = new ThreadGroup(EmbeddedEventStore.class.getSimpleName());
     private static final String OPTIMIZE_EVENT_CONSUMPTION_SYSTEM_PROPERTY = "optimize-event-consumption";
+    private static final int DEFAULT_NOTIFICATION_INTERVAL = 100;
+    private static final long DEFAULT_EVENT_SIZE_ESTIMATE = 1024;
 
     private final Lock consumerLock = new ReentrantLock();
     private final Condition consumableEventsCondition = consumerLock.newCondition();
@@ -83,9 +102,12 @@ public class EmbeddedEventStore extends AbstractEventStore {
     private final long cleanupDelayMillis;
     private final ThreadFactory threadFactory;
     private final boolean optimizeEventConsumption;
+    private final int prefetchedEvents;
     private final ScheduledExecutorService cleanupService;
     private final AtomicBoolean producerStarted = new AtomicBoolean();
-    private volatile Node oldest;
+    private final TailingEventCache cache;
+    private final boolean pushCommittedEvents;
+    private final String appendedEventsKey = this + "_APPENDED_EVENTS";
 
     /**
      * Instantiate a {@link EmbeddedEventStore} based on the fields contained in the {@link Builder}.
@@ -99,9 +121,16 @@ protected EmbeddedEventStore(Builder builder) {
         super(builder);
         this.threadFactory = builder.threadFactory;
         this.optimizeEventConsumption = builder.optimizeEventConsumption;
+        this.prefetchedEvents = builder.prefetchedEvents;
+        this.pushCommittedEvents = builder.pushCommittedEvents;
         cleanupService = Executors.newScheduledThreadPool(1, this.threadFactory);
+        cache = new TailingEventCache(builder.cachedEvents, builder.cachedBytes, builder.eventSizeEstimator);
         TimeUnit timeUnit = builder.timeUnit;
-        producer = new EventProducer(timeUnit.toNanos(builder.fetchDelay), builder.cachedEvents);
+        EventStorageEngine storageEngine = storageEngine();
+        int notificationInterval = storageEngine instanceof BatchingEventStorageEngine
+                ? ((BatchingEventStorageEngine) storageEngine).batchSize()
+                : DEFAULT_NOTIFICATION_INTERVAL;
+        producer = new EventProducer(timeUnit.toNanos(builder.fetchDelay), notificationInterval);
         cleanupDelayMillis = timeUnit.toMillis(builder.cleanupDelay);
     }
 
@@ -118,6 +147,11 @@ protected EmbeddedEventStore(Builder builder) {
      * <li>The {@link ThreadFactory} is defaulted to {@link AxonThreadFactory} with {@link ThreadGroup} {@link
      * EmbeddedEventStore#THREAD_GROUP}.</li>
      * <li>The {@code optimizeEventConsumption} is defaulted to {@code true}.</li>
+     * <li>The {@code prefetchedEvents} is defaulted to {@code 0}, meaning private streams do not read ahead.</li>
+     * <li>The {@code cachedBytes} is defaulted to {@link Long#MAX_VALUE}, bounding the cache by number of events
+     * only.</li>
+     * <li>The {@code eventSizeEstimator} is defaulted to a function estimating every event at {@code 1024} bytes.</li>
+     * <li>The {@code pushCommittedEvents} is defaulted to {@code false}.</li>
      * </ul>
      * The {@link EventStorageEngine} is a <b>hard requirement</b> and as such should be provided.
      *
@@ -152,59 +186,65 @@ private void ensureProducerStarted() {
         }
     }
 
+    @Override
+    protected void appendEvents(List<? extends EventMessage<?>> events) {
+        if (!pushCommittedEvents || !optimizeEventConsumption) {
+            super.appendEvents(events);
+        } else if (CurrentUnitOfWork.isStarted()) {
+            // the appended events may only be pushed to the cache once the Unit of Work has been committed
+            storageEngine().appendEvents(events, appendedEvents -> {
+                List<TrackedEventMessage<?>> uncommittedEvents = CurrentUnitOfWork.get().root().getOrComputeResource(
+                        appendedEventsKey, key -> new ArrayList<>()
+                );
+                uncommittedEvents.addAll(appendedEvents);
+            });
+        } else {
+            List<TrackedEventMessage<?>> appendedEvents = new ArrayList<>();
+            storageEngine().appendEvents(events, appendedEvents::addAll);
+            producer.push(appendedEvents);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
     @Override
     protected void afterCommit(List<? extends EventMessage<?>> events) {
-        producer.fetchIfWaiting();
+        if (!pushCommittedEvents || !optimizeEventConsumption) {
+            producer.fetchIfWaiting();
+        } else if (CurrentUnitOfWork.isStarted()) {
+            Map<String, Object> resources = CurrentUnitOfWork.get().root().resources();
+            List<TrackedEventMessage<?>> appendedEvents =
+                    (List<TrackedEventMessage<?>>) resources.remove(appendedEventsKey);
+            producer.push(appendedEvents == null ? Collections.emptyList() : appendedEvents);
+        }
+        // without a Unit of Work, the appended events have been pushed to the cache while appending them
     }
 
     @Override
     public TrackingEventStream openStream(TrackingToken trackingToken) {
-        Node node = findNode(trackingToken);
-        EventConsumer eventConsumer;
-        if (node != null && optimizeEventConsumption) {
-            eventConsumer = new EventConsumer(node);
+        long index = cache.indexOf(trackingToken);
+        EventConsumer eventConsumer = new EventConsumer(trackingToken);
+        if (index >= 0 && optimizeEventConsumption) {
+            eventConsumer.lastIndex = index;
             tailingConsumers.add(eventConsumer);
-        } else {
-            eventConsumer = new EventConsumer(trackingToken);
         }
         return eventConsumer;
     }
 
-    private Node findNode(TrackingToken trackingToken) {
-        Node node = oldest;
-        while (node != null && !node.event.trackingToken().equals(trackingToken)) {
-            node = node.next;
-        }
-        return node;
-    }
-
-    private static class Node {
-
-        private final long index;
-        private final TrackingToken previousToken;
-        private final TrackedEventMessage<?> event;
-        private volatile Node next;
-
-        private Node(long index, TrackingToken previousToken, TrackedEventMessage<?> event) {
-            this.index = index;
-            this.previousToken = previousToken;
-            this.event = event;
-        }
-    }
-
     private class EventProducer implements AutoCloseable {
 
         private final Lock lock = new ReentrantLock();
         private final Condition dataAvailableCondition = lock.newCondition();
         private final long fetchDelayNanos;
-        private final int cachedEvents;
+        private final int notificationInterval;
+        private final Queue<List<? extends TrackedEventMessage<?>>> pushedEvents = new ConcurrentLinkedQueue<>();
         private volatile boolean shouldFetch, closed;
         private Stream<? extends TrackedEventMessage<?>> eventStream;
-        private Node newest;
+        private TailingEventCache.Entry newest;
+        private int unnotifiedEvents;
 
-        private EventProducer(long fetchDelayNanos, int cachedEvents) {
+        private EventProducer(long fetchDelayNanos, int notificationInterval) {
             this.fetchDelayNanos = fetchDelayNanos;
-            this.cachedEvents = cachedEvents;
+            this.notificationInterval = notificationInterval;
         }
 
         private void run() throws InterruptedException {
@@ -225,7 +265,7 @@ private void run() throws InterruptedException {
         private void waitForData() throws InterruptedException {
             lock.lock();
             try {
-                if (!shouldFetch) {
+                if (!shouldFetch && pushedEvents.isEmpty()) {
                     dataAvailableCondition.awaitNanos(fetchDelayNanos);
                 }
             } finally {
@@ -243,28 +283,103 @@ private void fetchIfWaiting() {
             }
         }
 
+        private void push(List<? extends TrackedEventMessage<?>> appendedEvents) {
+            // if the storage engine did not report the appended events, they need to be read from storage
+            if (appendedEvents.isEmpty() || !producerStarted.get() || tailingConsumers.isEmpty()) {
+                fetchIfWaiting();
+                return;
+            }
+            pushedEvents.add(appendedEvents);
+            // pushed events do not require a fetch, as they are appended before any events are read from storage
+            lock.lock();
+            try {
+                dataAvailableCondition.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
         private boolean fetchData() {
-            Node currentNewest = newest;
+            TailingEventCache.Entry currentNewest = newest;
+            boolean readFromStorage = false;
             if (!tailingConsumers.isEmpty()) {
                 try {
-                    eventStream = storageEngine().readEvents(lastToken(), true);
-                    eventStream.forEach(event -> {
-                        Node node = new Node(nextIndex(), lastToken(), event);
-                        if (newest != null) {
-                            newest.next = node;
-                        }
-                        newest = node;
-                        if (oldest == null) {
-                            oldest = node;
-                        }
-                        notifyConsumers();
-                        trimCache();
-                    });
+                    if (!appendPushedEvents()) {
+                        readFromStorage = true;
+                        eventStream = storageEngine().readEvents(lastToken(), true);
+                        eventStream.forEach(this::append);
+                    }
                 } catch (Exception e) {
                     logger.error("Failed to read events from the underlying event storage", e);
+                } finally {
+                    if (unnotifiedEvents > 0) {
+                        notifyConsumers();
+                    }
                 }
+            } else {
+                pushedEvents.clear();
+            }
+            // pushed events are complete, so there is no need to check the storage engine for more events right away
+            return readFromStorage && !Objects.equals(newest, currentNewest);
+        }
+
+        /**
+         * Appends the events pushed after being committed to the cache. Returns {@code false} if no events have been
+         * pushed, or if a pushed event does not directly follow the newest cached event. In that case the remaining
+         * pushed events are discarded, and events should be read from the storage engine instead.
+         */
+        private boolean appendPushedEvents() {
+            if (pushedEvents.isEmpty()) {
+                return false;
+            }
+            List<? extends TrackedEventMessage<?>> events;
+            while ((events = pushedEvents.poll()) != null) {
+                for (TrackedEventMessage<?> event : events) {
+                    TrackingToken lastToken = lastToken();
+                    if (lastToken != null && lastToken.covers(event.trackingToken())) {
+                        // the event has been read from the storage engine already
+                        continue;
+                    }
+                    if (!directlyFollows(event.trackingToken(), lastToken)) {
+                        pushedEvents.clear();
+                        return false;
+                    }
+                    append(rebase(event, lastToken));
+                }
+            }
+            return true;
+        }
+
+        private boolean directlyFollows(TrackingToken token, TrackingToken previousToken) {
+            if (token == null || previousToken == null || !token.covers(previousToken)) {
+                return false;
+            }
+            OptionalLong position = token.position();
+            OptionalLong previousPosition = previousToken.position();
+            return position.isPresent() && previousPosition.isPresent()
+                    && position.getAsLong() == previousPosition.getAsLong() + 1;
+        }
+
+        /**
+         * Returns the given pushed {@code event} with a token advanced from the {@code lastToken}. The storage engine
+         * creates the token of a pushed event from its own index only, which would drop the gaps of the newest cached
+         * event that are still to be filled by concurrent transactions.
+         */
+        private TrackedEventMessage<?> rebase(TrackedEventMessage<?> event, TrackingToken lastToken) {
+            if (!(lastToken instanceof GapAwareTrackingToken)
+                    || !(event.trackingToken() instanceof GapAwareTrackingToken)) {
+                return event;
+            }
+            long index = ((GapAwareTrackingToken) event.trackingToken()).getIndex();
+            return asTrackedEventMessage(event, ((GapAwareTrackingToken) lastToken).advanceTo(index, Integer.MAX_VALUE));
+        }
+
+        private void append(TrackedEventMessage<?> event) {
+            newest = cache.append(lastToken(), event);
+            // consumers are woken up once per batch, rather than once per event
+            if (++unnotifiedEvents >= notificationInterval) {
+                notifyConsumers();
             }
-            return !Objects.equals(newest, currentNewest);
         }
 
         private TrackingToken lastToken() {
@@ -276,11 +391,8 @@ private TrackingToken lastToken() {
             }
         }
 
-        private long nextIndex() {
-            return newest == null ? 0 : newest.index + 1;
-        }
-
         private void notifyConsumers() {
+            unnotifiedEvents = 0;
             consumerLock.lock();
             try {
                 consumableEventsCondition.signalAll();
@@ -289,14 +401,6 @@ private void notifyConsumers() {
             }
         }
 
-        private void trimCache() {
-            Node last = oldest;
-            while (newest != null && last != null && newest.index - last.index >= cachedEvents) {
-                last = last.next;
-            }
-            oldest = last;
-        }
-
         @Override
         public void close() {
             closed = true;
@@ -311,14 +415,9 @@ private class EventConsumer implements TrackingEventStream {
         private Stream<? extends TrackedEventMessage<?>> privateStream;
         private Iterator<? extends TrackedEventMessage<?>> privateIterator;
         private volatile TrackingToken lastToken;
-        private volatile Node lastNode;
+        private volatile long lastIndex = -1;
         private TrackedEventMessage<?> peekedEvent;
 
-        private EventConsumer(Node lastNode) {
-            this(lastNode.event.trackingToken());
-            this.lastNode = lastNode;
-        }
-
         private EventConsumer(TrackingToken startToken) {
             this.lastToken = startToken;
         }
@@ -357,32 +456,38 @@ private TrackedEventMessage<?> peek(int timeout, TimeUnit timeUnit) throws Inter
         }
 
         private boolean behindGlobalCache() {
-            return oldest != null && (this.lastNode != null ? this.lastNode.index < oldest.index : nextNode() == null);
+            if (cache.isEmpty()) {
+                return false;
+            }
+            long currentIndex = this.lastIndex;
+            return currentIndex >= 0 ? currentIndex < cache.oldestIndex() : nextEntry() == null;
         }
 
         private void stopTailingGlobalStream() {
             tailingConsumers.remove(this);
-            this.lastNode = null; //makes old nodes garbage collectible
+            this.lastIndex = -1;
         }
 
         private TrackedEventMessage<?> peekGlobalStream(int timeout, TimeUnit timeUnit) throws InterruptedException {
-            Node nextNode;
-            if ((nextNode = nextNode()) == null && timeout > 0) {
+            TailingEventCache.Entry nextEntry;
+            if ((nextEntry = nextEntry()) == null && timeout > 0) {
                 consumerLock.lock();
                 try {
-                    if (consumableEventsCondition.await(timeout, timeUnit)) {
-                        nextNode = nextNode();
+                    // check again while holding the lock, as the producer may have notified in the meantime
+                    nextEntry = nextEntry();
+                    if (nextEntry == null && consumableEventsCondition.await(timeout, timeUnit)) {
+                        nextEntry = nextEntry();
                     }
                 } finally {
                     consumerLock.unlock();
                 }
             }
-            if (nextNode != null) {
+            if (nextEntry != null) {
                 if (tailingConsumers.contains(this)) {
-                    lastNode = nextNode;
+                    lastIndex = nextEntry.index;
                 }
-                lastToken = nextNode.event.trackingToken();
-                return nextNode.event;
+                lastToken = nextEntry.event.trackingToken();
+                return nextEntry.event;
             } else {
                 return null;
             }
@@ -393,6 +498,9 @@ private TrackedEventMessage<?> peekPrivateStream(boolean allowSwitchToTailingCon
                                                          TimeUnit timeUnit) throws InterruptedException {
             if (privateIterator == null) {
                 privateStream = storageEngine().readEvents(lastToken, false);
+                if (prefetchedEvents > 0) {
+                    privateStream = PrefetchingIterator.prefetch(privateStream, prefetchedEvents, threadFactory);
+                }
                 privateIterator = privateStream.iterator();
             }
             if (privateIterator.hasNext()) {
@@ -401,7 +509,7 @@ private TrackedEventMessage<?> peekPrivateStream(boolean allowSwitchToTailingCon
                 return nextEvent;
             } else if (allowSwitchToTailingConsumer) {
                 closePrivateStream();
-                lastNode = findNode(lastToken);
+                lastIndex = cache.indexOf(lastToken);
                 tailingConsumers.add(this);
                 ensureProducerStarted();
                 return timeout > 0 ? peek(timeout, timeUnit) : null;
@@ -420,16 +528,10 @@ private TrackedEventMessage<?> peekPrivateStream(boolean allowSwitchToTailingCon
             }
         }
 
-        private Node nextNode() {
-            Node node = lastNode;
-            if (node != null) {
-                return node.next;
-            }
-            node = oldest;
-            while (node != null && !Objects.equals(node.previousToken, lastToken)) {
-                node = node.next;
-            }
-            return node;
+        private TailingEventCache.Entry nextEntry() {
+            long currentIndex = lastIndex;
+            long nextIndex = currentIndex >= 0 ? currentIndex + 1 : cache.indexAfter(lastToken);
+            return nextIndex < 0 ? null : cache.get(nextIndex);
         }
 
         private TrackingToken lastToken() {
@@ -455,8 +557,8 @@ private class Cleaner implements Runnable {
 
         @Override
         public void run() {
-            Node oldestCachedNode = oldest;
-            if (oldestCachedNode == null || oldestCachedNode.previousToken == null) {
+            TailingEventCache.Entry oldestCachedEntry = cache.oldest();
+            if (oldestCachedEntry == null || oldestCachedEntry.previousToken == null) {
                 return;
             }
             tailingConsumers.stream().filter(EventConsumer::behindGlobalCache).forEach(consumer -> {
@@ -480,6 +582,11 @@ public void run() {
      * <li>The {@link ThreadFactory} is defaulted to {@link AxonThreadFactory} with {@link ThreadGroup} {@link
      * EmbeddedEventStore#THREAD_GROUP}.</li>
      * <li>The {@code optimizeEventConsumption} is defaulted to {@code true}.</li>
+     * <li>The {@code prefetchedEvents} is defaulted to {@code 0}, meaning private streams do not read ahead.</li>
+     * <li>The {@code cachedBytes} is defaulted to {@link Long#MAX_VALUE}, bounding the cache by number of events
+     * only.</li>
+     * <li>The {@code eventSizeEstimator} is defaulted to a function estimating every event at {@code 1024} bytes.</li>
+     * <li>The {@code pushCommittedEvents} is defaulted to {@code false}.</li>
      * </ul>
      * The {@link EventStorageEngine} is a <b>hard requirement</b> and as such should be provided.
      */
@@ -488,9 +595,14 @@ public static class Builder extends AbstractEventStore.Builder {
         private int cachedEvents = 10000;
         private long fetchDelay = 1000L;
         private long cleanupDelay = 10000L;
+        private boolean pushCommittedEvents = false;
         private TimeUnit timeUnit = TimeUnit.MILLISECONDS;
         private ThreadFactory threadFactory = new AxonThreadFactory(THREAD_GROUP);
         private boolean optimizeEventConsumption = fetchEventConsumptionSystemPropertyOrDefault();
+        private int prefetchedEvents = 0;
+        private long cachedBytes = Long.MAX_VALUE;
+        private ToLongFunction<? super TrackedEventMessage<?>> eventSizeEstimator =
+                event -> DEFAULT_EVENT_SIZE_ESTIMATE;
 
         // Default to optimize event consumption of no property has been set
         private static boolean fetchEventConsumptionSystemPropertyOrDefault() {
@@ -526,6 +638,38 @@ public Builder cachedEvents(int cachedEvents) {
             return this;
         }
 
+        /**
+         * Sets the maximum estimated size in bytes of the events in the cache that is shared between the streams of
+         * tracking event processors. The oldest events are evicted from the cache once either this size or the {@link
+         * #cachedEvents(int) cachedEvents} is exceeded. The size of each event is estimated through the {@link
+         * #eventSizeEstimator(ToLongFunction) eventSizeEstimator}. Defaults to {@link Long#MAX_VALUE}, bounding the
+         * cache by the number of events only.
+         *
+         * @param cachedBytes a {@code long} specifying the maximum estimated size in bytes of the events in the cache
+         *                    that is shared between the streams of tracking event processors
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder cachedBytes(long cachedBytes) {
+            assertThat(cachedBytes, it -> it > 0, "The cached bytes should be a positive number");
+            this.cachedBytes = cachedBytes;
+            return this;
+        }
+
+        /**
+         * Sets the function estimating the size in bytes an event takes up in the cache that is shared between the
+         * streams of tracking event processors, used to bound the cache to the {@link #cachedBytes(long) cachedBytes}.
+         * Defaults to a function estimating every event at {@code 1024} bytes.
+         *
+         * @param eventSizeEstimator a {@link ToLongFunction} estimating the size in bytes an event takes up in the
+         *                           cache
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder eventSizeEstimator(ToLongFunction<? super TrackedEventMessage<?>> eventSizeEstimator) {
+            assertNonNull(eventSizeEstimator, "The event size estimator may not be null");
+            this.eventSizeEstimator = eventSizeEstimator;
+            return this;
+        }
+
         /**
          * Sets the time to wait before fetching new events from the backing storage engine while tracking after a
          * previous stream was fetched and read. Note that this only applies to situations in which no events from the
@@ -608,6 +752,43 @@ public Builder optimizeEventConsumption(boolean optimizeEventConsumption) {
             return this;
         }
 
+        /**
+         * Sets the maximum number of events a private stream reads ahead from the {@link EventStorageEngine}. Private
+         * streams are used by tracking event processors that are not tailing the head of the event store, for example
+         * during a replay. When set to a positive value, a separate thread keeps fetching the next events from the
+         * storage engine while the event processor handles the events fetched earlier, up to the given number of
+         * events per stream. Defaults to {@code 0}, meaning events are read on the thread of the event processor.
+         *
+         * @param prefetchedEvents an {@code int} specifying the maximum number of events read ahead per private
+         *                         stream, or {@code 0} to disable reading ahead
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder prefetchedEvents(int prefetchedEvents) {
+            assertThat(prefetchedEvents, it -> it >= 0, "The prefetched events should be zero or a positive integer");
+            this.prefetchedEvents = prefetchedEvents;
+            return this;
+        }
+
+        /**
+         * Sets whether events committed through this event store are pushed into the cache that is shared between the
+         * streams of tracking event processors, rather than being read back from the {@link EventStorageEngine}. Only
+         * applies if the storage engine reports the tracking tokens of the events it appends, through {@link
+         * EventStorageEngine#appendEvents(List, java.util.function.Consumer)}, and if {@link
+         * #optimizeEventConsumption(boolean) optimizeEventConsumption} is enabled. The JDBC and JPA storage engines
+         * do not report these tokens, as the tokens of their events depend on the gaps in the database assigned global
+         * indices. Events are still read from the storage engine if a pushed event does not directly follow the newest
+         * cached event, as well as periodically to pick up events committed by other nodes or applications. Defaults
+         * to {@code false}.
+         *
+         * @param pushCommittedEvents a {@code boolean} defining whether committed events are pushed into the cache
+         *                            shared between the streams of tracking event processors
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder pushCommittedEvents(boolean pushCommittedEvents) {
+            this.pushCommittedEvents = pushCommittedEvents;
+            return this;
+        }
+
         /**
          * Initializes a {@link EmbeddedEventStore} as specified through this Builder.
          *
@@ -22,8 +22,13 @@
 import org.axonframework.eventhandling.TrackingToken;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
@@ -60,6 +65,24 @@ default void appendEvents(EventMessage<?>... events) {
      */
     void appendEvents(List<? extends EventMessage<?>> events);
 
+    /**
+     * Append a list of events to the event storage, passing the appended events together with their {@link
+     * TrackingToken tracking tokens} to the given {@code appendedEventsCallback} once they have been stored. Events
+     * will be appended in the order that they are offered in. If the storage engine takes part in a transaction, the
+     * callback may be invoked before that transaction is committed.
+     * <p>
+     * Storage engines which cannot tell the tokens of the events they append do not invoke the callback at all. By
+     * default this method invokes {@link #appendEvents(List)}, without invoking the callback.
+     *
+     * @param events                 Events to append to the event storage
+     * @param appendedEventsCallback Callback receiving the appended events with their tracking tokens, in the order
+     *                               they are offered in
+     */
+    default void appendEvents(List<? extends EventMessage<?>> events,
+                              Consumer<List<? extends TrackedEventMessage<?>>> appendedEventsCallback) {
+        appendEvents(events);
+    }
+
     /**
      * Store an event that contains a snapshot of an aggregate. If the event storage already contains a snapshot for the
      * same aggregate, then it will be replaced with the given snapshot.
@@ -122,6 +145,43 @@ default DomainEventStream readEvents(String aggregateIdentifier) {
      */
     Optional<DomainEventMessage<?>> readSnapshot(String aggregateIdentifier);
 
+    /**
+     * Get a {@link DomainEventStream} for each of the aggregates in the given {@code firstSequenceNumbers}, containing
+     * the events of that aggregate starting with the first event having a sequence number that is equal or larger
+     * than the sequence number mapped to its identifier. Storage engines backed by a database are expected to fetch
+     * the events of several aggregates in a single query, rather than querying the database for each aggregate.
+     * <p>
+     * By default this method invokes {@link #readEvents(String, long)} for every entry in the given map.
+     *
+     * @param firstSequenceNumbers a map of aggregate identifiers to the expected sequence number of the first event in
+     *                             the stream of that aggregate
+     * @return a map containing a non-blocking DomainEventStream for each of the given aggregate identifiers
+     */
+    default Map<String, DomainEventStream> readEventStreams(Map<String, Long> firstSequenceNumbers) {
+        Map<String, DomainEventStream> eventStreams = new LinkedHashMap<>();
+        firstSequenceNumbers.forEach((aggregateIdentifier, firstSequenceNumber) -> eventStreams.put(
+                aggregateIdentifier, readEvents(aggregateIdentifier, firstSequenceNumber)
+        ));
+        return eventStreams;
+    }
+
+    /**
+     * Try to load a snapshot event for each of the aggregates with given {@code aggregateIdentifiers}. Aggregates for
+     * which the storage engine has no snapshot event are not contained in the returned map.
+     * <p>
+     * By default this method invokes {@link #readSnapshot(String)} for each of the given identifiers.
+     *
+     * @param aggregateIdentifiers The identifiers of the aggregates
+     * @return a map of aggregate identifiers to the snapshot of that aggregate
+     */
+    default Map<String, DomainEventMessage<?>> readSnapshots(Collection<String> aggregateIdentifiers) {
+        Map<String, DomainEventMessage<?>> snapshots = new HashMap<>();
+        aggregateIdentifiers.forEach(aggregateIdentifier -> readSnapshot(aggregateIdentifier).ifPresent(
+                snapshot -> snapshots.put(aggregateIdentifier, snapshot)
+        ));
+        return snapshots;
+    }
+
     /**
      * Returns the last known sequence number for the given {@code aggregateIdentifier}.
      * <p>
@@ -23,6 +23,9 @@
 import org.axonframework.eventhandling.TrackingToken;
 import org.axonframework.messaging.StreamableMessageSource;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -68,6 +71,27 @@ default DomainEventStream readEvents(String aggregateIdentifier, long firstSeque
                     wholeStream::getLastSequenceNumber);
     }
 
+    /**
+     * Open an event stream for each of the aggregates with given {@code aggregateIdentifiers}, containing all domain
+     * events belonging to that aggregate. Implementations are expected to read the events of these aggregates in bulk,
+     * which makes this method suitable to load a large number of aggregates at once.
+     * <p>
+     * The returned streams are <em>finite</em>, ending with the last known event of the aggregate. If the event store
+     * holds no events of a given aggregate an empty stream is returned for it.
+     * <p>
+     * The default implementation invokes {@link #readEvents(String)} for each of the given identifiers.
+     *
+     * @param aggregateIdentifiers the identifiers of the aggregates whose events to fetch
+     * @return a map of aggregate identifiers to a stream of all currently stored events of that aggregate
+     */
+    default Map<String, DomainEventStream> readEventStreams(Collection<String> aggregateIdentifiers) {
+        Map<String, DomainEventStream> eventStreams = new LinkedHashMap<>();
+        aggregateIdentifiers.forEach(
+                aggregateIdentifier -> eventStreams.put(aggregateIdentifier, readEvents(aggregateIdentifier))
+        );
+        return eventStreams;
+    }
+
     /**
      * Stores the given (temporary) {@code snapshot} event. This snapshot replaces the segment of the event stream
      * identified by the {@code snapshot}'s {@link DomainEventMessage#getAggregateIdentifier() Aggregate Identifier} up
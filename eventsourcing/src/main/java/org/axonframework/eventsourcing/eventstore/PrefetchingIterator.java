@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventsourcing.eventstore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link Iterator} implementation which reads ahead on a given source {@link Stream} using a separate thread. Up to
+ * {@code capacity} elements are buffered, allowing the consumer of this iterator to process elements while the next
+ * ones are being read from the source.
+ * <p>
+ * A single prefetching thread is used for the lifetime of this iterator. When it reaches the end of the source, it
+ * waits until the consumer finds more elements available in the source (which is possible for sources that are not
+ * fully materialized) and resumes prefetching. Exceptions thrown by the source are rethrown to the consumer once all
+ * elements fetched before the exception have been consumed. If the prefetching thread is interrupted, the consumer
+ * is notified with an {@link EventStoreException} and this iterator is closed.
+ * <p>
+ * The source stream is closed and the prefetching thread is stopped when this iterator is {@link #close() closed}. If
+ * the prefetching thread is busy reading from the source at that time, the source is closed by the prefetching thread
+ * as soon as it finishes reading.
+ *
+ * @param <T> the type of element produced by this iterator
+ * @since 4.5
+ */
+class PrefetchingIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrefetchingIterator.class);
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final Stream<? extends T> source;
+    private final Iterator<? extends T> sourceIterator;
+    private final BlockingQueue<T> buffer;
+    private final ThreadFactory threadFactory;
+
+    private boolean started;
+    private volatile boolean prefetching;
+    private volatile boolean closed;
+    private volatile RuntimeException error;
+    private boolean sourceClosed;
+    private T next;
+
+    /**
+     * Returns a {@link Stream} producing the elements of the given {@code source}, reading up to {@code capacity}
+     * elements ahead using a thread created by the given {@code threadFactory}. Closing the returned stream closes the
+     * given {@code source} and stops the prefetching thread.
+     *
+     * @param source        the {@link Stream} to read elements from
+     * @param capacity      the maximum number of elements to read ahead
+     * @param threadFactory the {@link ThreadFactory} used to create the prefetching thread
+     * @param <T>           the type of element produced by the stream
+     * @return a {@link Stream} reading ahead on the given {@code source}
+     */
+    static <T> Stream<T> prefetch(Stream<? extends T> source, int capacity, ThreadFactory threadFactory) {
+        PrefetchingIterator<T> iterator = new PrefetchingIterator<>(source, capacity, threadFactory);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                            .onClose(iterator::close);
+    }
+
+    /**
+     * Initialize a {@link PrefetchingIterator} reading up to {@code capacity} elements ahead on the given {@code
+     * source}. The prefetching thread is started on the first invocation of {@link #hasNext()} or {@link #next()}.
+     *
+     * @param source        the {@link Stream} to read elements from
+     * @param capacity      the maximum number of elements to read ahead
+     * @param threadFactory the {@link ThreadFactory} used to create the prefetching thread
+     */
+    PrefetchingIterator(Stream<? extends T> source, int capacity, ThreadFactory threadFactory) {
+        this.source = source;
+        this.sourceIterator = source.iterator();
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.threadFactory = threadFactory;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (!started && !closed) {
+            started = true;
+            prefetching = true;
+            threadFactory.newThread(this::prefetchLoop).start();
+        }
+        try {
+            while ((next = buffer.poll()) == null) {
+                if (!prefetching) {
+                    // the prefetcher may have added a last element just before pausing
+                    next = buffer.poll();
+                    if (next != null) {
+                        return true;
+                    }
+                    RuntimeException cause = error;
+                    if (cause != null) {
+                        error = null;
+                        throw cause;
+                    }
+                    if (closed || !sourceIterator.hasNext()) {
+                        return false;
+                    }
+                    resumePrefetching();
+                }
+                next = buffer.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (next != null) {
+                    return true;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EventStoreException("Thread was interrupted while waiting for prefetched elements", e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T result = next;
+        next = null;
+        return result;
+    }
+
+    private void prefetchLoop() {
+        try {
+            while (!closed) {
+                try {
+                    while (!closed && sourceIterator.hasNext()) {
+                        T element = sourceIterator.next();
+                        while (!buffer.offer(element, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                            if (closed) {
+                                return;
+                            }
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    error = e;
+                }
+                awaitResume();
+            }
+        } catch (InterruptedException e) {
+            logger.debug("Prefetching thread was interrupted. Closing the prefetching iterator.");
+            error = new EventStoreException("Prefetching thread was interrupted", e);
+            closed = true;
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (this) {
+                if (closed) {
+                    closeSource();
+                }
+                prefetching = false;
+            }
+        }
+    }
+
+    private synchronized void awaitResume() throws InterruptedException {
+        prefetching = false;
+        while (!prefetching && !closed) {
+            wait();
+        }
+    }
+
+    private synchronized void resumePrefetching() {
+        prefetching = true;
+        notifyAll();
+    }
+
+    /**
+     * Closes this iterator and the underlying source {@link Stream}, stopping the prefetching thread. Elements that
+     * have been read ahead are discarded.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            buffer.clear();
+            notifyAll();
+            if (!prefetching) {
+                closeSource();
+            }
+        }
+    }
+
+    private void closeSource() {
+        if (!sourceClosed) {
+            sourceClosed = true;
+            source.close();
+        }
+    }
+}
@@ -72,6 +72,12 @@ public void appendEvents(List<? extends EventMessage<?>> events) {
         activeStorage.appendEvents(events);
     }
 
+    @Override
+    public void appendEvents(List<? extends EventMessage<?>> events,
+                             Consumer<List<? extends TrackedEventMessage<?>>> appendedEventsCallback) {
+        activeStorage.appendEvents(events, appendedEventsCallback);
+    }
+
     @Override
     public void storeSnapshot(DomainEventMessage<?> snapshot) {
         activeStorage.storeSnapshot(snapshot);
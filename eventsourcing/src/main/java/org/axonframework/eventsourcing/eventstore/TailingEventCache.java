@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventsourcing.eventstore;
+
+import org.axonframework.eventhandling.TrackedEventMessage;
+import org.axonframework.eventhandling.TrackingToken;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.ToLongFunction;
+
+/**
+ * Cache of the most recent events of an event store, shared by the streams tailing the head of the event store.
+ * <p>
+ * Events are stored in a ring buffer, where each event is assigned a consecutive index. The ring buffer starts small
+ * and doubles in size as more events are cached, up to the maximum number of events. Once the cache holds the maximum
+ * number of events, or the estimated size of the cached events exceeds the maximum number of bytes, the oldest events
+ * are evicted. A cache with a maximum of {@code 0} events does not retain any events. The index of a cached event can
+ * be looked up by its {@link TrackingToken} in constant time, allowing streams to find their position in the cache
+ * without walking it.
+ * <p>
+ * Events are {@link #append(TrackingToken, TrackedEventMessage) appended} by a single producer thread, while any
+ * number of consumer threads may read the cache concurrently.
+ *
+ * @since 4.5
+ */
+final class TailingEventCache {
+
+    private static final int INITIAL_SLOTS = 64;
+
+    private final int capacity;
+    private final long maxBytes;
+    private final ToLongFunction<? super TrackedEventMessage<?>> eventSizeEstimator;
+    private volatile AtomicReferenceArray<Entry> entries;
+    private final Map<TrackingToken, Long> indexByToken = new ConcurrentHashMap<>();
+
+    private volatile long oldestIndex = 0;
+    private volatile long newestIndex = -1;
+    private long cachedBytes;
+
+    /**
+     * Instantiate a {@link TailingEventCache} holding up to the given {@code maxEvents}, whose estimated size does not
+     * exceed the given {@code maxBytes}.
+     *
+     * @param maxEvents          the maximum number of events in the cache
+     * @param maxBytes           the maximum estimated size in bytes of the events in the cache
+     * @param eventSizeEstimator function estimating the size in bytes of an event
+     */
+    TailingEventCache(int maxEvents,
+                      long maxBytes,
+                      ToLongFunction<? super TrackedEventMessage<?>> eventSizeEstimator) {
+        this.capacity = Math.max(0, maxEvents);
+        this.maxBytes = maxBytes;
+        this.eventSizeEstimator = eventSizeEstimator;
+        this.entries = new AtomicReferenceArray<>(Math.max(1, Math.min(capacity, INITIAL_SLOTS)));
+    }
+
+    /**
+     * Appends the given {@code event} to the cache, evicting the oldest events if the cache would otherwise exceed its
+     * bounds. The newest event is never evicted, even if its estimated size exceeds the maximum number of bytes by
+     * itself, unless the cache may not hold any events at all. May only be invoked by a single thread.
+     *
+     * @param previousToken the token of the event preceding the given {@code event} in the event store
+     * @param event         the event to append
+     * @return the appended {@link Entry}
+     */
+    Entry append(TrackingToken previousToken, TrackedEventMessage<?> event) {
+        long index = newestIndex + 1;
+        if (capacity == 0) {
+            oldestIndex = index + 1;
+            newestIndex = index;
+            return new Entry(index, previousToken, event, 0);
+        }
+        long size = eventSizeEstimator.applyAsLong(event);
+        while (oldestIndex < index && (index - oldestIndex >= capacity || cachedBytes + size > maxBytes)) {
+            evictOldest();
+        }
+        AtomicReferenceArray<Entry> currentEntries = entries;
+        if (index - oldestIndex >= currentEntries.length()) {
+            currentEntries = grow(currentEntries);
+        }
+        Entry entry = new Entry(index, previousToken, event, size);
+        currentEntries.set(slot(currentEntries, index), entry);
+        if (event.trackingToken() != null) {
+            indexByToken.put(event.trackingToken(), index);
+        }
+        cachedBytes += size;
+        newestIndex = index;
+        return entry;
+    }
+
+    /**
+     * Replaces the given {@code currentEntries} by a ring buffer of double the size, capped at the capacity of this
+     * cache. The cached entries are copied before the new ring buffer is published, so readers find each cached entry
+     * in either ring buffer.
+     */
+    private AtomicReferenceArray<Entry> grow(AtomicReferenceArray<Entry> currentEntries) {
+        int newLength = (int) Math.min(capacity, 2L * currentEntries.length());
+        AtomicReferenceArray<Entry> newEntries = new AtomicReferenceArray<>(newLength);
+        for (long index = oldestIndex; index <= newestIndex; index++) {
+            newEntries.set(slot(newEntries, index), currentEntries.get(slot(currentEntries, index)));
+        }
+        entries = newEntries;
+        return newEntries;
+    }
+
+    private void evictOldest() {
+        long index = oldestIndex;
+        AtomicReferenceArray<Entry> currentEntries = entries;
+        Entry oldest = currentEntries.get(slot(currentEntries, index));
+        if (oldest.event.trackingToken() != null) {
+            indexByToken.remove(oldest.event.trackingToken(), index);
+        }
+        cachedBytes -= oldest.size;
+        oldestIndex = index + 1;
+    }
+
+    /**
+     * Returns the cached {@link Entry} with the given {@code index}, or {@code null} if no such entry is cached (yet).
+     *
+     * @param index the index of the entry to return
+     * @return the {@link Entry} with the given {@code index}, or {@code null} if it is not cached
+     */
+    Entry get(long index) {
+        if (index < 0 || index > newestIndex || index < oldestIndex) {
+            return null;
+        }
+        AtomicReferenceArray<Entry> currentEntries = entries;
+        Entry entry = currentEntries.get(slot(currentEntries, index));
+        // the entry may have been overwritten by a newer entry since checking the bounds
+        return entry != null && entry.index == index ? entry : null;
+    }
+
+    /**
+     * Returns the index of the cached event with the given {@code trackingToken}, or {@code -1} if no such event is
+     * cached.
+     *
+     * @param trackingToken the token of the event to find
+     * @return the index of the cached event with the given token, or {@code -1}
+     */
+    long indexOf(TrackingToken trackingToken) {
+        Long index = trackingToken == null ? null : indexByToken.get(trackingToken);
+        return index == null || get(index) == null ? -1 : index;
+    }
+
+    /**
+     * Returns the index of the cached event following the event with the given {@code trackingToken}, or {@code -1} if
+     * the position of the given token in the cache is unknown. The returned index may not be cached yet, if the event
+     * with the given token is the newest event in the cache.
+     *
+     * @param trackingToken the token of the event preceding the event to find. May be {@code null}
+     * @return the index of the event following the event with the given token, or {@code -1}
+     */
+    long indexAfter(TrackingToken trackingToken) {
+        long index = indexOf(trackingToken);
+        if (index >= 0) {
+            return index + 1;
+        }
+        Entry oldest = oldest();
+        return oldest != null && Objects.equals(oldest.previousToken, trackingToken) ? oldest.index : -1;
+    }
+
+    /**
+     * Returns the oldest cached {@link Entry}, or {@code null} if the cache is empty.
+     *
+     * @return the oldest cached {@link Entry}, or {@code null} if the cache is empty
+     */
+    Entry oldest() {
+        Entry oldest;
+        do {
+            oldest = get(oldestIndex);
+        } while (oldest == null && !isEmpty());
+        return oldest;
+    }
+
+    /**
+     * Returns the index of the oldest cached event. If the cache is empty, this is the index the next appended event
+     * will get.
+     *
+     * @return the index of the oldest cached event
+     */
+    long oldestIndex() {
+        return oldestIndex;
+    }
+
+    /**
+     * Returns the index of the newest cached event, or {@code -1} if no event has been appended yet.
+     *
+     * @return the index of the newest cached event, or {@code -1} if no event has been appended yet
+     */
+    long newestIndex() {
+        return newestIndex;
+    }
+
+    /**
+     * Indicates whether the cache contains any events.
+     *
+     * @return {@code true} if the cache contains no events, {@code false} otherwise
+     */
+    boolean isEmpty() {
+        return newestIndex < oldestIndex;
+    }
+
+    private static int slot(AtomicReferenceArray<Entry> entries, long index) {
+        return (int) (index % entries.length());
+    }
+
+    /**
+     * An event in the {@link TailingEventCache}, together with its index and the token of the event preceding it.
+     */
+    static final class Entry {
+
+        final long index;
+        final TrackingToken previousToken;
+        final TrackedEventMessage<?> event;
+        final long size;
+
+        private Entry(long index, TrackingToken previousToken, TrackedEventMessage<?> event, long size) {
+            this.index = index;
+            this.previousToken = previousToken;
+            this.event = event;
+            this.size = size;
+        }
+    }
+}
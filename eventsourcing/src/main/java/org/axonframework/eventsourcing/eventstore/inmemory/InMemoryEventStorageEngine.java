@@ -78,23 +78,34 @@ public InMemoryEventStorageEngine(long offset) {
 
     @Override
     public void appendEvents(List<? extends EventMessage<?>> events) {
+        appendEvents(events, appendedEvents -> {
+        });
+    }
+
+    @Override
+    public void appendEvents(List<? extends EventMessage<?>> events,
+                             Consumer<List<? extends TrackedEventMessage<?>>> appendedEventsCallback) {
         if (CurrentUnitOfWork.isStarted()) {
-            CurrentUnitOfWork.get().onPrepareCommit(uow -> storeEvents(events));
+            CurrentUnitOfWork.get().onPrepareCommit(uow -> appendedEventsCallback.accept(storeEvents(events)));
         } else {
-            storeEvents(events);
+            appendedEventsCallback.accept(storeEvents(events));
         }
     }
 
-    private void storeEvents(List<? extends EventMessage<?>> events) {
+    private List<? extends TrackedEventMessage<?>> storeEvents(List<? extends EventMessage<?>> events) {
         synchronized (this.events) {
             GlobalSequenceTrackingToken trackingToken = nextTrackingToken();
-            this.events.putAll(
+            List<? extends TrackedEventMessage<?>> trackedEvents =
                     IntStream.range(0, events.size())
                              .mapToObj(i -> asTrackedEventMessage(
                                      (EventMessage<?>) events.get(i), trackingToken.offsetBy(i)
                              ))
-                             .collect(Collectors.toMap(TrackedEventMessage::trackingToken, Function.identity()))
+                             .collect(Collectors.toList());
+            this.events.putAll(
+                    trackedEvents.stream()
+                                 .collect(Collectors.toMap(TrackedEventMessage::trackingToken, Function.identity()))
             );
+            return trackedEvents;
         }
     }
 
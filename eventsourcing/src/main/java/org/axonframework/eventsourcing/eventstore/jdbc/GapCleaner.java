@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventsourcing.eventstore.jdbc;
+
+import org.axonframework.eventhandling.GapAwareTrackingToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Component which cleans timed out gaps from {@link GapAwareTrackingToken}s on behalf of all event streams opened on
+ * a single storage engine.
+ * <p>
+ * Streams {@link #register(Collection) register} the gaps of their tokens. On a fixed interval, the gaps registered
+ * since the previous verification are verified using the given {@code timedOutGapsResolver}. Streams registering the
+ * same gaps share a single verification. Gaps registered by different streams are verified separately, so that the
+ * range of events between a lagging stream and a stream at the head is never read, and a filled gap of one stream does
+ * not prevent the gaps of other streams from timing out. The gaps reported as timed out are remembered until the next
+ * verification, allowing each stream to {@link #clean(GapAwareTrackingToken) clean} its token without querying the
+ * storage itself.
+ * <p>
+ * Verification is scheduled once the first gaps are registered.
+ *
+ * @since 4.5
+ */
+class GapCleaner {
+
+    private static final Logger logger = LoggerFactory.getLogger(GapCleaner.class);
+
+    private final Function<SortedSet<Long>, SortedSet<Long>> timedOutGapsResolver;
+    private final ScheduledExecutorService executorService;
+    private final long cleaningIntervalMillis;
+    private final Set<SortedSet<Long>> registeredGaps = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile SortedSet<Long> timedOutGaps = Collections.emptySortedSet();
+
+    /**
+     * Instantiate a {@link GapCleaner} verifying registered gaps every {@code cleaningIntervalMillis} on the given
+     * {@code executorService}.
+     *
+     * @param timedOutGapsResolver   function returning the subset of the given gaps which have timed out
+     * @param executorService        the {@link ScheduledExecutorService} to verify the registered gaps on
+     * @param cleaningIntervalMillis the interval in milliseconds between verifications of the registered gaps
+     */
+    GapCleaner(Function<SortedSet<Long>, SortedSet<Long>> timedOutGapsResolver,
+               ScheduledExecutorService executorService,
+               long cleaningIntervalMillis) {
+        this.timedOutGapsResolver = timedOutGapsResolver;
+        this.executorService = executorService;
+        this.cleaningIntervalMillis = cleaningIntervalMillis;
+    }
+
+    /**
+     * Registers the given {@code gaps} to be verified during the next scheduled verification. The gaps are verified
+     * together, separately from the gaps registered by other streams.
+     *
+     * @param gaps the gaps of a {@link GapAwareTrackingToken} to verify
+     */
+    void register(Collection<Long> gaps) {
+        if (gaps.isEmpty()) {
+            return;
+        }
+        registeredGaps.add(new TreeSet<>(gaps));
+        if (started.compareAndSet(false, true)) {
+            executorService.scheduleWithFixedDelay(
+                    this::verifyRegisteredGaps, cleaningIntervalMillis, cleaningIntervalMillis, TimeUnit.MILLISECONDS
+            );
+        }
+    }
+
+    /**
+     * Returns a {@link GapAwareTrackingToken} without the gaps of the given {@code token} which have been found to be
+     * timed out during the last verification. Only the lowest gaps are removed, up to the first gap which has not been
+     * found to be timed out, in line with {@link GapAwareTrackingToken#withGapsTruncatedAt(long)}.
+     *
+     * @param token the token to remove timed out gaps from. May be {@code null}
+     * @return a {@link GapAwareTrackingToken} without the lowest timed out gaps of the given {@code token}
+     */
+    GapAwareTrackingToken clean(GapAwareTrackingToken token) {
+        SortedSet<Long> knownTimedOutGaps = timedOutGaps;
+        if (token == null || knownTimedOutGaps.isEmpty() || !token.hasGaps()) {
+            return token;
+        }
+        long truncationIndex = token.getIndex() + 1;
+        for (Long gap : token.getGaps()) {
+            if (!knownTimedOutGaps.contains(gap)) {
+                truncationIndex = gap;
+                break;
+            }
+        }
+        return token.withGapsTruncatedAt(truncationIndex);
+    }
+
+    /**
+     * Verifies the gaps registered since the previous verification, invoking the {@code timedOutGapsResolver} once for
+     * each distinct set of registered gaps. The timed out gaps found replace those found during the previous
+     * verification. Gaps which could not be verified are registered again, to be retried on the next verification.
+     */
+    void verifyRegisteredGaps() {
+        SortedSet<Long> verifiedTimedOutGaps = new TreeSet<>();
+        for (SortedSet<Long> gaps : registeredGaps) {
+            registeredGaps.remove(gaps);
+            try {
+                verifiedTimedOutGaps.addAll(timedOutGapsResolver.apply(gaps));
+            } catch (Exception e) {
+                logger.warn("Failed to verify [{}] gaps for timeouts. Will retry on the next verification.",
+                            gaps.size(), e);
+                registeredGaps.add(gaps);
+            }
+        }
+        timedOutGaps = Collections.unmodifiableSortedSet(verifiedTimedOutGaps);
+    }
+
+    /**
+     * Stops verifying registered gaps.
+     */
+    void shutDown() {
+        executorService.shutdownNow();
+    }
+}
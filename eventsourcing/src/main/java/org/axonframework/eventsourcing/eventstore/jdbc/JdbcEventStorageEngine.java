@@ -17,6 +17,7 @@
 package org.axonframework.eventsourcing.eventstore.jdbc;
 
 import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.common.AxonThreadFactory;
 import org.axonframework.common.DateTimeUtils;
 import org.axonframework.common.jdbc.ConnectionProvider;
 import org.axonframework.common.jdbc.JdbcUtils;
@@ -30,6 +31,7 @@
 import org.axonframework.eventhandling.GenericEventMessage;
 import org.axonframework.eventhandling.TrackedDomainEventData;
 import org.axonframework.eventhandling.TrackedEventData;
+import org.axonframework.eventhandling.TrackedEventMessage;
 import org.axonframework.eventhandling.TrackingToken;
 import org.axonframework.eventsourcing.eventstore.BatchingEventStorageEngine;
 import org.axonframework.eventsourcing.eventstore.EventStoreException;
@@ -43,9 +45,12 @@
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.FetchTrackedEventsStatementBuilder;
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.JdbcEventStorageEngineStatements;
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.LastSequenceNumberForStatementBuilder;
+import org.axonframework.eventsourcing.eventstore.jdbc.statements.MultiRowAppendEventsStatementBuilder;
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.ReadEventDataForAggregateStatementBuilder;
+import org.axonframework.eventsourcing.eventstore.jdbc.statements.ReadEventDataForAggregatesStatementBuilder;
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.ReadEventDataWithGapsStatementBuilder;
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.ReadEventDataWithoutGapsStatementBuilder;
+import org.axonframework.eventsourcing.eventstore.jdbc.statements.ReadSnapshotDataForAggregatesStatementBuilder;
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.ReadSnapshotDataStatementBuilder;
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.TimestampWriter;
 import org.axonframework.eventsourcing.snapshotting.SnapshotFilter;
@@ -64,15 +69,25 @@
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.annotation.PreDestroy;
 
 import static java.lang.String.format;
 import static org.axonframework.common.Assert.isTrue;
@@ -80,6 +95,7 @@
 import static org.axonframework.common.BuilderUtils.assertThat;
 import static org.axonframework.common.DateTimeUtils.formatInstant;
 import static org.axonframework.common.jdbc.JdbcUtils.*;
+import static org.axonframework.eventhandling.EventUtils.asTrackedEventMessage;
 
 /**
  * EventStorageEngine implementation that uses JDBC to store and fetch events.
@@ -99,6 +115,8 @@ public class JdbcEventStorageEngine extends BatchingEventStorageEngine {
     private static final int DEFAULT_GAP_TIMEOUT = 60000;
     private static final int DEFAULT_GAP_CLEANING_THRESHOLD = 250;
     private static final boolean DEFAULT_EXTENDED_GAP_CHECK_ENABLED = true;
+    private static final int DEFAULT_STREAMING_CURSOR_LIFETIME = 300000;
+    private static final ThreadGroup THREAD_GROUP = new ThreadGroup(JdbcEventStorageEngine.class.getSimpleName());
 
     private final ConnectionProvider connectionProvider;
     private final TransactionManager transactionManager;
@@ -109,6 +127,9 @@ public class JdbcEventStorageEngine extends BatchingEventStorageEngine {
     private final boolean extendedGapCheckEnabled;
     private int gapTimeout;
     private int gapCleaningThreshold;
+    private final GapCleaner gapCleaner;
+    private final int streamingFetchSize;
+    private final long streamingCursorLifetime;
 
     private final CreateTokenAtStatementBuilder createTokenAt;
     private final AppendEventsStatementBuilder appendEvents;
@@ -121,6 +142,8 @@ public class JdbcEventStorageEngine extends BatchingEventStorageEngine {
     private final CleanGapsStatementBuilder cleanGaps;
     private final ReadEventDataForAggregateStatementBuilder readEventDataForAggregate;
     private final ReadSnapshotDataStatementBuilder readSnapshotData;
+    private final ReadEventDataForAggregatesStatementBuilder readEventDataForAggregates;
+    private final ReadSnapshotDataForAggregatesStatementBuilder readSnapshotDataForAggregates;
     private final ReadEventDataWithoutGapsStatementBuilder readEventDataWithoutGaps;
     private final ReadEventDataWithGapsStatementBuilder readEventDataWithGaps;
 
@@ -143,6 +166,13 @@ protected JdbcEventStorageEngine(Builder builder) {
         this.gapTimeout = builder.gapTimeout;
         this.gapCleaningThreshold = builder.gapCleaningThreshold;
         this.extendedGapCheckEnabled = builder.extendedGapCheckEnabled;
+        this.streamingFetchSize = builder.streamingFetchSize;
+        this.streamingCursorLifetime = builder.streamingCursorLifetime;
+        this.gapCleaner = builder.gapCleaningInterval > 0
+                ? new GapCleaner(this::findTimedOutGaps,
+                                 Executors.newSingleThreadScheduledExecutor(new AxonThreadFactory(THREAD_GROUP)),
+                                 builder.gapCleaningInterval)
+                : null;
         this.createTokenAt = builder.createTokenAt;
         this.appendEvents = builder.appendEvents;
         this.lastSequenceNumberFor = builder.lastSequenceNumberFor;
@@ -154,6 +184,8 @@ protected JdbcEventStorageEngine(Builder builder) {
         this.cleanGaps = builder.cleanGaps;
         this.readEventDataForAggregate = builder.readEventDataForAggregate;
         this.readSnapshotData = builder.readSnapshotData;
+        this.readEventDataForAggregates = builder.readEventDataForAggregates;
+        this.readSnapshotDataForAggregates = builder.readSnapshotDataForAggregates;
         this.readEventDataWithoutGaps = builder.readEventDataWithoutGaps;
         this.readEventDataWithGaps = builder.readEventDataWithGaps;
     }
@@ -176,6 +208,10 @@ protected JdbcEventStorageEngine(Builder builder) {
      * <li>The {@code gapTimeout} defaults to an integer of size {@code 60000} (1 minute).</li>
      * <li>The {@code gapCleaningThreshold} defaults to an integer of size {@code 250}.</li>
      * <li>The {@code extendedGapCheckEnabled} defaults to {@code true}.</li>
+     * <li>The {@code gapCleaningInterval} defaults to {@code 0}, cleaning gaps on each fetch instead of on a shared
+     * schedule.</li>
+     * <li>The {@code streamingFetchSize} defaults to {@code 0}, reading tracked events in batches only.</li>
+     * <li>The {@code streamingCursorLifetime} defaults to an integer of size {@code 300000} (5 minutes).</li>
      * <li>The {@code createTokenAt} defaults to {@link JdbcEventStorageEngineStatements#createTokenAt}.</li>
      * <li>The {@code appendEvents} defaults to {@link JdbcEventStorageEngineStatements#appendEvents}.</li>
      * <li>The {@code lastSequenceNumberFor} defaults to {@link JdbcEventStorageEngineStatements#lastSequenceNumberFor}.</li>
@@ -187,6 +223,8 @@ protected JdbcEventStorageEngine(Builder builder) {
      * <li>The {@code cleanGaps} defaults to {@link JdbcEventStorageEngineStatements#cleanGaps}.</li>
      * <li>The {@code readEventDataForAggregate} defaults to {@link JdbcEventStorageEngineStatements#readEventDataForAggregate}.</li>
      * <li>The {@code readSnapshotData} defaults to {@link JdbcEventStorageEngineStatements#readSnapshotData}.</li>
+     * <li>The {@code readEventDataForAggregates} defaults to {@link JdbcEventStorageEngineStatements#readEventDataForAggregates}.</li>
+     * <li>The {@code readSnapshotDataForAggregates} defaults to {@link JdbcEventStorageEngineStatements#readSnapshotDataForAggregates}.</li>
      * <li>The {@code readEventDataWithoutGaps} defaults to {@link JdbcEventStorageEngineStatements#readEventDataWithoutGaps}.</li>
      * <li>The {@code readEventDataWithGaps} defaults to {@link JdbcEventStorageEngineStatements#readEventDataWithGaps}.</li>
      * </ul>
@@ -340,6 +378,33 @@ protected PreparedStatement readSnapshotData(Connection connection, String ident
         return readSnapshotData.build(connection, schema, identifier);
     }
 
+    /**
+     * Creates a statement to be used at {@link JdbcEventStorageEngine#fetchDomainEvents(Map)}.
+     *
+     * @param connection           The connection to the database.
+     * @param firstSequenceNumbers The identifiers of the aggregates, mapped to the sequence number of the first
+     *                             entry to return for that aggregate.
+     * @return The newly created {@link PreparedStatement}.
+     * @throws SQLException when an exception occurs while creating the prepared statement.
+     */
+    protected PreparedStatement readEventData(Connection connection, Map<String, Long> firstSequenceNumbers)
+            throws SQLException {
+        return readEventDataForAggregates.build(connection, schema, firstSequenceNumbers);
+    }
+
+    /**
+     * Creates a statement to be used at {@link JdbcEventStorageEngine#readSnapshotDataForAggregates(Collection)}.
+     *
+     * @param connection  The connection to the database.
+     * @param identifiers The identifiers of the aggregates.
+     * @return The newly created {@link PreparedStatement}.
+     * @throws SQLException when an exception occurs while creating the prepared statement.
+     */
+    protected PreparedStatement readSnapshotData(Connection connection, Collection<String> identifiers)
+            throws SQLException {
+        return readSnapshotDataForAggregates.build(connection, schema, identifiers);
+    }
+
     /**
      * Creates a statement to be used at {@link JdbcEventStorageEngine#fetchTrackedEvents(TrackingToken, int)}
      *
@@ -384,14 +449,85 @@ public void createSchema(EventTableFactory schemaFactory) {
 
     @Override
     protected void appendEvents(List<? extends EventMessage<?>> events, Serializer serializer) {
+        appendEvents(events, serializer, globalIndices -> {
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The tokens of the appended events are based on the global indices generated by the database, which are only
+     * available if the {@link AppendEventsStatementBuilder} requests the generated keys. If they are not available,
+     * the callback is not invoked.
+     */
+    @Override
+    public void appendEvents(List<? extends EventMessage<?>> events,
+                             Consumer<List<? extends TrackedEventMessage<?>>> appendedEventsCallback) {
         if (events.isEmpty()) {
             return;
         }
-        transactionManager.executeInTransaction(
-                () -> executeBatch(
-                        getConnection(),
-                        connection -> appendEvents(connection, events, serializer),
-                        e -> handlePersistenceException(e, events.get(0))));
+        List<Long> globalIndices = new ArrayList<>(events.size());
+        appendEvents(events, getEventSerializer(), globalIndices::addAll);
+        if (globalIndices.size() == events.size()) {
+            GapAwareTrackingToken token = null;
+            List<TrackedEventMessage<?>> appendedEvents = new ArrayList<>(events.size());
+            for (int i = 0; i < events.size(); i++) {
+                long globalIndex = globalIndices.get(i);
+                if (token != null && globalIndex <= token.getIndex()) {
+                    logger.debug("The generated keys of the appended events are not in insertion order. "
+                                         + "Not reporting the appended events.");
+                    return;
+                }
+                token = token == null
+                        ? GapAwareTrackingToken.newInstance(globalIndex, Collections.emptySortedSet())
+                        : token.advanceTo(globalIndex, maxGapOffset);
+                appendedEvents.add(asTrackedEventMessage(events.get(i), token));
+            }
+            appendedEventsCallback.accept(appendedEvents);
+        }
+    }
+
+    private void appendEvents(List<? extends EventMessage<?>> events,
+                              Serializer serializer,
+                              Consumer<List<Long>> globalIndicesConsumer) {
+        if (events.isEmpty()) {
+            return;
+        }
+        int maxEventsPerStatement = appendEvents.maxEventsPerStatement();
+        transactionManager.executeInTransaction(() -> {
+            for (int start = 0; start < events.size(); start += maxEventsPerStatement) {
+                List<? extends EventMessage<?>> part =
+                        events.subList(start, start + Math.min(events.size() - start, maxEventsPerStatement));
+                Connection connection = getConnection();
+                try {
+                    PreparedStatement statement = appendEvents(connection, part, serializer);
+                    try {
+                        statement.executeBatch();
+                        globalIndicesConsumer.accept(readGeneratedGlobalIndices(statement));
+                    } finally {
+                        closeQuietly(statement);
+                    }
+                } catch (SQLException e) {
+                    handlePersistenceException(e, part.get(0));
+                } finally {
+                    closeQuietly(connection);
+                }
+            }
+        });
+    }
+
+    private List<Long> readGeneratedGlobalIndices(PreparedStatement statement) {
+        // not all drivers and statements provide the generated keys, in which case the indices remain unknown
+        try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+            List<Long> globalIndices = new ArrayList<>();
+            while (generatedKeys != null && generatedKeys.next()) {
+                globalIndices.add(generatedKeys.getLong(schema.globalIndexColumn()));
+            }
+            return globalIndices;
+        } catch (SQLException e) {
+            logger.debug("Unable to read the global indices generated for the appended events", e);
+            return Collections.emptyList();
+        }
     }
 
     @Override
@@ -479,6 +615,19 @@ protected List<? extends DomainEventData<?>> fetchDomainEvents(String aggregateI
                 ));
     }
 
+    @Override
+    protected List<? extends DomainEventData<?>> fetchDomainEvents(Map<String, Long> firstSequenceNumbers) {
+        return transactionManager.fetchInTransaction(
+                () -> executeQuery(
+                        getConnection(),
+                        connection -> readEventData(connection, firstSequenceNumbers),
+                        JdbcUtils.listResults(this::getDomainEventData),
+                        e -> new EventStoreException(
+                                format("Failed to read events for aggregates %s", firstSequenceNumbers.keySet()), e
+                        )
+                ));
+    }
+
     @Override
     protected boolean fetchForAggregateUntilEmpty() {
         return true;
@@ -491,7 +640,13 @@ protected List<? extends TrackedEventData<?>> fetchTrackedEvents(TrackingToken l
         List<TrackedEventData<?>> trackedEventData = transactionManager.fetchInTransaction(() -> {
             // If there are many gaps, it worthwhile checking if it is possible to clean them up.
             GapAwareTrackingToken cleanedToken;
-            if (lastToken != null && ((GapAwareTrackingToken) lastToken).getGaps().size() > gapCleaningThreshold) {
+            if (gapCleaner != null) {
+                cleanedToken = gapCleaner.clean((GapAwareTrackingToken) lastToken);
+                if (cleanedToken != null && cleanedToken.getGaps().size() > gapCleaningThreshold) {
+                    gapCleaner.register(cleanedToken.getGaps());
+                }
+            } else if (lastToken != null
+                    && ((GapAwareTrackingToken) lastToken).getGaps().size() > gapCleaningThreshold) {
                 cleanedToken = cleanGaps(lastToken);
             } else {
                 cleanedToken = (GapAwareTrackingToken) lastToken;
@@ -537,12 +692,29 @@ private List<TrackedEventData<?>> executeEventDataQuery(GapAwareTrackingToken cl
     }
 
     private GapAwareTrackingToken cleanGaps(TrackingToken lastToken) {
-        SortedSet<Long> gaps = ((GapAwareTrackingToken) lastToken).getGaps();
+        GapAwareTrackingToken token = (GapAwareTrackingToken) lastToken;
+        return token.withGapsTruncatedAt(findGapTruncationIndex(token.getGaps()));
+    }
+
+    /**
+     * Returns the subset of the given {@code gaps} which have timed out, using a single query. Invoked by the {@link
+     * GapCleaner} for the gaps of a single stream, so that the query only covers the range of that stream's gaps.
+     */
+    private SortedSet<Long> findTimedOutGaps(SortedSet<Long> gaps) {
+        return transactionManager.fetchInTransaction(() -> gaps.headSet(findGapTruncationIndex(gaps)));
+    }
+
+    /**
+     * Returns the index below which all of the given {@code gaps} are considered timed out. A gap has timed out if it
+     * has not been filled while an event with a higher index is older than the gap timeout. If none of the gaps has
+     * timed out, the first gap is returned.
+     */
+    private long findGapTruncationIndex(SortedSet<Long> gaps) {
         return executeQuery(
                 getConnection(),
                 connection -> cleanGaps(connection, gaps),
                 resultSet -> {
-                    GapAwareTrackingToken cleanToken = (GapAwareTrackingToken) lastToken;
+                    long truncationIndex = gaps.first();
                     while (resultSet.next()) {
                         try {
                             long sequenceNumber = resultSet.getLong(schema.globalIndexColumn());
@@ -555,7 +727,7 @@ private GapAwareTrackingToken cleanGaps(TrackingToken lastToken) {
                                 break;
                             }
                             if (gaps.contains(sequenceNumber - 1)) {
-                                cleanToken = cleanToken.withGapsTruncatedAt(sequenceNumber);
+                                truncationIndex = sequenceNumber;
                             }
                         } catch (DateTimeParseException e) {
                             logger.info("Unable to parse timestamp to clean old gaps. "
@@ -563,10 +735,28 @@ private GapAwareTrackingToken cleanGaps(TrackingToken lastToken) {
                             break;
                         }
                     }
-                    return cleanToken;
+                    return truncationIndex;
                 },
-                e -> new EventStoreException(format("Failed to read events from token [%s]", lastToken),
-                                             e));
+                e -> new EventStoreException(format("Failed to verify gaps [%s] for timeouts", gaps), e));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If a {@link Builder#streamingFetchSize(int) streamingFetchSize} has been configured and the given {@code
+     * trackingToken} contains no gaps, events are read through a single streaming cursor instead of a query per batch,
+     * until the stream reaches an event within the gap timeout. From there on, events are read in batches.
+     */
+    @Override
+    protected Stream<? extends TrackedEventData<?>> readEventData(TrackingToken trackingToken, boolean mayBlock) {
+        if (streamingFetchSize <= 0) {
+            return super.readEventData(trackingToken, mayBlock);
+        }
+        isTrue(trackingToken == null || trackingToken instanceof GapAwareTrackingToken,
+               () -> "Unsupported token format: " + trackingToken);
+        StreamingCursorSpliterator spliterator =
+                new StreamingCursorSpliterator((GapAwareTrackingToken) trackingToken, mayBlock);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
     }
 
     @Override
@@ -582,6 +772,27 @@ protected Stream<? extends DomainEventData<?>> readSnapshotData(String aggregate
         });
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation reads the snapshots of at most {@link #batchSize()} aggregates per query.
+     */
+    @Override
+    protected Stream<? extends DomainEventData<?>> readSnapshotDataForAggregates(
+            Collection<String> aggregateIdentifiers
+    ) {
+        List<String> identifiers = new ArrayList<>(aggregateIdentifiers);
+        return IntStream.iterate(0, i -> i + batchSize())
+                        .limit((identifiers.size() + batchSize() - 1) / batchSize())
+                        .mapToObj(i -> identifiers.subList(i, Math.min(identifiers.size(), i + batchSize())))
+                        .flatMap(batch -> transactionManager.fetchInTransaction(() -> executeQuery(
+                                getConnection(),
+                                connection -> readSnapshotData(connection, batch),
+                                JdbcUtils.listResults(this::getSnapshotData),
+                                e -> new EventStoreException(format("Error reading aggregate snapshots %s", batch), e)
+                        )).stream());
+    }
+
     /**
      * Creates a statement to read all tracked event entries stored.
      *
@@ -825,6 +1036,17 @@ public void setGapCleaningThreshold(int gapCleaningThreshold) {
         this.gapCleaningThreshold = gapCleaningThreshold;
     }
 
+    /**
+     * Method to invoke when the application shuts down. This stops the scheduled verification of gaps, if a {@link
+     * Builder#gapCleaningInterval(int) gapCleaningInterval} has been configured.
+     */
+    @PreDestroy
+    public void shutDown() {
+        if (gapCleaner != null) {
+            gapCleaner.shutDown();
+        }
+    }
+
     /**
      * Builder class to instantiate a {@link JdbcEventStorageEngine}.
      * <p>
@@ -843,6 +1065,10 @@ public void setGapCleaningThreshold(int gapCleaningThreshold) {
      * <li>The {@code gapTimeout} defaults to an integer of size {@code 60000} (1 minute).</li>
      * <li>The {@code gapCleaningThreshold} defaults to an integer of size {@code 250}.</li>
      * <li>The {@code extendedGapCheckEnabled} defaults to {@code true}.</li>
+     * <li>The {@code gapCleaningInterval} defaults to {@code 0}, cleaning gaps on each fetch instead of on a shared
+     * schedule.</li>
+     * <li>The {@code streamingFetchSize} defaults to {@code 0}, reading tracked events in batches only.</li>
+     * <li>The {@code streamingCursorLifetime} defaults to an integer of size {@code 300000} (5 minutes).</li>
      * <li>The {@code createTokenAt} defaults to {@link JdbcEventStorageEngineStatements#createTokenAt}.</li>
      * <li>The {@code appendEvents} defaults to {@link JdbcEventStorageEngineStatements#appendEvents}.</li>
      * <li>The {@code lastSequenceNumberFor} defaults to {@link JdbcEventStorageEngineStatements#lastSequenceNumberFor}.</li>
@@ -854,6 +1080,8 @@ public void setGapCleaningThreshold(int gapCleaningThreshold) {
      * <li>The {@code cleanGaps} defaults to {@link JdbcEventStorageEngineStatements#cleanGaps}.</li>
      * <li>The {@code readEventDataForAggregate} defaults to {@link JdbcEventStorageEngineStatements#readEventDataForAggregate}.</li>
      * <li>The {@code readSnapshotData} defaults to {@link JdbcEventStorageEngineStatements#readSnapshotData}.</li>
+     * <li>The {@code readEventDataForAggregates} defaults to {@link JdbcEventStorageEngineStatements#readEventDataForAggregates}.</li>
+     * <li>The {@code readSnapshotDataForAggregates} defaults to {@link JdbcEventStorageEngineStatements#readSnapshotDataForAggregates}.</li>
      * <li>The {@code readEventDataWithoutGaps} defaults to {@link JdbcEventStorageEngineStatements#readEventDataWithoutGaps}.</li>
      * <li>The {@code readEventDataWithGaps} defaults to {@link JdbcEventStorageEngineStatements#readEventDataWithGaps}.</li>
      * </ul>
@@ -872,6 +1100,9 @@ public static class Builder extends BatchingEventStorageEngine.Builder {
         private int gapTimeout = DEFAULT_GAP_TIMEOUT;
         private int gapCleaningThreshold = DEFAULT_GAP_CLEANING_THRESHOLD;
         private boolean extendedGapCheckEnabled = DEFAULT_EXTENDED_GAP_CHECK_ENABLED;
+        private int gapCleaningInterval = 0;
+        private int streamingFetchSize = 0;
+        private int streamingCursorLifetime = DEFAULT_STREAMING_CURSOR_LIFETIME;
 
         private CreateTokenAtStatementBuilder createTokenAt = JdbcEventStorageEngineStatements::createTokenAt;
         private AppendEventsStatementBuilder appendEvents = JdbcEventStorageEngineStatements::appendEvents;
@@ -884,6 +1115,8 @@ public static class Builder extends BatchingEventStorageEngine.Builder {
         private CleanGapsStatementBuilder cleanGaps = JdbcEventStorageEngineStatements::cleanGaps;
         private ReadEventDataForAggregateStatementBuilder readEventDataForAggregate = JdbcEventStorageEngineStatements::readEventDataForAggregate;
         private ReadSnapshotDataStatementBuilder readSnapshotData = JdbcEventStorageEngineStatements::readSnapshotData;
+        private ReadEventDataForAggregatesStatementBuilder readEventDataForAggregates = JdbcEventStorageEngineStatements::readEventDataForAggregates;
+        private ReadSnapshotDataForAggregatesStatementBuilder readSnapshotDataForAggregates = JdbcEventStorageEngineStatements::readSnapshotDataForAggregates;
         private ReadEventDataWithoutGapsStatementBuilder readEventDataWithoutGaps = JdbcEventStorageEngineStatements::readEventDataWithoutGaps;
         private ReadEventDataWithGapsStatementBuilder readEventDataWithGaps = JdbcEventStorageEngineStatements::readEventDataWithGaps;
 
@@ -903,6 +1136,10 @@ public Builder createTokenAt(CreateTokenAtStatementBuilder createTokenAt) {
          * Set the PreparedStatement to be used on {@link JdbcEventStorageEngine#appendEvents(Connection, List,
          * Serializer)} en}. Defaults to {@link JdbcEventStorageEngineStatements#appendEvents(Connection, EventSchema,
          * Class, List, Serializer, TimestampWriter)}.
+         * <p>
+         * To insert multiple events with a single multi-row statement instead, use one of the dialect specific {@link
+         * MultiRowAppendEventsStatementBuilder} instances, like {@link
+         * MultiRowAppendEventsStatementBuilder#forPostgreSql()}.
          *
          * @return the current Builder instance, for fluent interfacing
          */
@@ -1024,6 +1261,36 @@ public Builder readSnapshotData(ReadSnapshotDataStatementBuilder readSnapshotDat
             return this;
         }
 
+        /**
+         * Set the PreparedStatement to be used on {@link JdbcEventStorageEngine#readEventData(Connection, Map)}.
+         * Defaults to {@link JdbcEventStorageEngineStatements#readEventDataForAggregates(Connection, EventSchema,
+         * Map)}
+         *
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder readEventDataForAggregates(
+                ReadEventDataForAggregatesStatementBuilder readEventDataForAggregates
+        ) {
+            assertNonNull(readEventDataForAggregates, "readEventDataForAggregates may not be null");
+            this.readEventDataForAggregates = readEventDataForAggregates;
+            return this;
+        }
+
+        /**
+         * Set the PreparedStatement to be used on {@link JdbcEventStorageEngine#readSnapshotData(Connection,
+         * Collection)}. Defaults to {@link JdbcEventStorageEngineStatements#readSnapshotDataForAggregates(Connection,
+         * EventSchema, Collection)}
+         *
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder readSnapshotDataForAggregates(
+                ReadSnapshotDataForAggregatesStatementBuilder readSnapshotDataForAggregates
+        ) {
+            assertNonNull(readSnapshotDataForAggregates, "readSnapshotDataForAggregates may not be null");
+            this.readSnapshotDataForAggregates = readSnapshotDataForAggregates;
+            return this;
+        }
+
         /**
          * Set the PreparedStatement to be used on {@link JdbcEventStorageEngine#readEventDataWithoutGaps(Connection,
          * long, int)}. Defaults to {@link JdbcEventStorageEngineStatements#readEventDataWithoutGaps(Connection,
@@ -1243,6 +1510,75 @@ public Builder extendedGapCheckEnabled(boolean extendedGapCheckEnabled) {
             return this;
         }
 
+        /**
+         * Sets the interval in milliseconds at which the gaps of the tokens of all event streams opened on this engine
+         * are verified for timeouts, using a single query for all streams. When set, the gaps of a token exceeding the
+         * {@link #gapCleaningThreshold(int) gapCleaningThreshold} are registered with a gap cleaner shared by all
+         * streams, instead of being verified by each stream individually while fetching events. Streams remove the
+         * gaps found to be timed out from their tokens on their next fetch. The {@link #gapTimeout(int) gapTimeout}
+         * still determines whether a gap has timed out.
+         * <p>
+         * Defaults to {@code 0}, which verifies the gaps of each stream individually on every fetch exceeding the
+         * {@code gapCleaningThreshold}. When set, the engine should be {@link JdbcEventStorageEngine#shutDown() shut
+         * down} to stop the scheduled verification.
+         *
+         * @param gapCleaningInterval an {@code int} specifying the interval in milliseconds between verifications of
+         *                            the gaps of all event streams, or {@code 0} to verify gaps per stream
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder gapCleaningInterval(int gapCleaningInterval) {
+            assertThat(gapCleaningInterval,
+                       interval -> interval >= 0,
+                       "The gapCleaningInterval must be a positive number or zero");
+            this.gapCleaningInterval = gapCleaningInterval;
+            return this;
+        }
+
+        /**
+         * Enables reading tracked events through a streaming cursor, fetching the given {@code streamingFetchSize}
+         * number of rows per round trip. Catching up event streams then keep a single forward-only, read-only {@link
+         * ResultSet} open, instead of executing a query for each batch of {@link #batchSize(int) batchSize} events.
+         * <p>
+         * Streaming is only used while a stream reads events older than the {@link #gapTimeout(int) gapTimeout}, as
+         * gaps can only be filled in for recent events. Once a stream reaches an event within the gap timeout, or the
+         * token it continues from contains gaps, events are read in batches as usual. Streaming resumes once the
+         * stream reads an event older than the gap timeout with a token without gaps. The cursor holds on to its
+         * database connection, and is closed once the stream is closed.
+         * <p>
+         * Note that some drivers, like PostgreSQL's, only stream rows when auto-commit is disabled. The connection of
+         * the cursor is switched to manual commit for as long as the cursor is open. Defaults to {@code 0}, which
+         * disables streaming.
+         *
+         * @param streamingFetchSize an {@code int} specifying the number of rows to fetch per round trip of a
+         *                           streaming cursor, or {@code 0} to read events in batches only
+         * @return the current Builder instance, for fluent interfacing
+         * @see #streamingCursorLifetime(int)
+         */
+        public Builder streamingFetchSize(int streamingFetchSize) {
+            assertThat(streamingFetchSize,
+                       fetchSize -> fetchSize >= 0,
+                       "The streamingFetchSize must be a positive number or zero");
+            this.streamingFetchSize = streamingFetchSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of time in milliseconds a streaming cursor is kept open. Once passed, the cursor is
+         * closed and a new cursor is opened from the last event read, limiting the time a database snapshot and
+         * connection are held by a single query. Only used if a {@link #streamingFetchSize(int) streamingFetchSize}
+         * has been configured. Defaults to an integer of {@code 300000} ({@link
+         * JdbcEventStorageEngine#DEFAULT_STREAMING_CURSOR_LIFETIME}), thus 5 minutes.
+         *
+         * @param streamingCursorLifetime an {@code int} specifying the maximum time in milliseconds a streaming cursor
+         *                                is kept open
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder streamingCursorLifetime(int streamingCursorLifetime) {
+            assertPositive(streamingCursorLifetime, "streamingCursorLifetime");
+            this.streamingCursorLifetime = streamingCursorLifetime;
+            return this;
+        }
+
         private void assertPositive(int num, final String numberDescription) {
             assertThat(num, number -> number > 0, "The " + numberDescription + " must be a positive number");
         }
@@ -1269,4 +1605,131 @@ protected void validate() throws AxonConfigurationException {
             assertNonNull(transactionManager, "The TransactionManager is a hard requirement and should be provided");
         }
     }
+
+    /**
+     * {@link Spliterator} reading tracked events through a streaming cursor while the events read are older than the
+     * gap timeout, after which it continues reading events in batches from the last token read. While reading in
+     * batches, streaming is resumed as soon as an event older than the gap timeout is read with a token that no longer
+     * contains gaps, for example because the gaps of the token have been cleaned.
+     */
+    private class StreamingCursorSpliterator extends Spliterators.AbstractSpliterator<TrackedEventData<?>> {
+
+        private final boolean mayBlock;
+
+        private GapAwareTrackingToken lastToken;
+        private boolean streaming = true;
+        private Connection connection;
+        private boolean restoreAutoCommit;
+        private PreparedStatement statement;
+        private ResultSet resultSet;
+        private long cursorDeadline;
+        private Spliterator<? extends TrackedEventData<?>> batchSpliterator;
+
+        private StreamingCursorSpliterator(GapAwareTrackingToken lastToken, boolean mayBlock) {
+            super(Long.MAX_VALUE, NONNULL | ORDERED | DISTINCT | CONCURRENT);
+            this.lastToken = lastToken;
+            this.mayBlock = mayBlock;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super TrackedEventData<?>> action) {
+            if (streaming) {
+                TrackedEventData<?> next = nextFromCursor();
+                if (next != null) {
+                    action.accept(next);
+                    return true;
+                }
+            }
+            if (batchSpliterator == null) {
+                batchSpliterator = JdbcEventStorageEngine.super.readEventData(lastToken, mayBlock).spliterator();
+            }
+            return batchSpliterator.tryAdvance(next -> {
+                lastToken = (GapAwareTrackingToken) next.trackingToken();
+                if (!lastToken.hasGaps() && !next.getTimestamp().isAfter(gapTimeoutFrame())) {
+                    resumeStreaming();
+                }
+                action.accept(next);
+            });
+        }
+
+        private TrackedEventData<?> nextFromCursor() {
+            try {
+                if (resultSet != null && System.nanoTime() - cursorDeadline > 0) {
+                    closeCursor();
+                }
+                if (resultSet == null) {
+                    if (lastToken != null && lastToken.hasGaps()) {
+                        streaming = false;
+                        return null;
+                    }
+                    openCursor();
+                }
+                if (!resultSet.next()) {
+                    stopStreaming();
+                    return null;
+                }
+                // events older than the gap timeout truncate the gaps of the token, so skipped indices that are
+                // already timed out are never recorded as gaps while streaming
+                TrackedEventData<?> next = getTrackedEventData(resultSet, lastToken);
+                lastToken = (GapAwareTrackingToken) next.trackingToken();
+                if (next.getTimestamp().isAfter(gapTimeoutFrame())) {
+                    // gaps may still be filled in for recent events, which the cursor would not notice
+                    stopStreaming();
+                }
+                return next;
+            } catch (SQLException e) {
+                stopStreaming();
+                throw new EventStoreException(format("Failed to stream events from token [%s]", lastToken), e);
+            }
+        }
+
+        private void openCursor() throws SQLException {
+            long globalIndex = lastToken == null ? -1 : lastToken.getIndex();
+            connection = getConnection();
+            try {
+                restoreAutoCommit = connection.getAutoCommit();
+                if (restoreAutoCommit) {
+                    connection.setAutoCommit(false);
+                }
+                statement = readEventDataWithoutGaps(connection, globalIndex, Integer.MAX_VALUE);
+                statement.setFetchSize(streamingFetchSize);
+                resultSet = statement.executeQuery();
+                cursorDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(streamingCursorLifetime);
+            } catch (SQLException e) {
+                closeCursor();
+                throw e;
+            }
+        }
+
+        private void stopStreaming() {
+            streaming = false;
+            closeCursor();
+        }
+
+        private void resumeStreaming() {
+            streaming = true;
+            batchSpliterator = null;
+        }
+
+        private void closeCursor() {
+            closeQuietly(resultSet);
+            closeQuietly(statement);
+            if (connection != null && restoreAutoCommit) {
+                try {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    logger.debug("Failed to restore auto-commit on connection of streaming cursor", e);
+                }
+            }
+            closeQuietly(connection);
+            resultSet = null;
+            statement = null;
+            connection = null;
+        }
+
+        private void close() {
+            closeCursor();
+        }
+    }
 }
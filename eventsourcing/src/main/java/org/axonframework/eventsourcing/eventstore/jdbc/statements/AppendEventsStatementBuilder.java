@@ -38,6 +38,11 @@ public interface AppendEventsStatementBuilder {
 
     /**
      * Build a statement to be used at {@link JdbcEventStorageEngine#appendEvents(List, Serializer)}
+     * <p>
+     * When the statement is prepared to return the {@link EventSchema#globalIndexColumn()} as generated key, the engine
+     * reads the global indices assigned to the events from the generated keys, to report the appended events with
+     * their tracking tokens. Otherwise, the appended events are read back from storage by streams tailing the event
+     * store.
      *
      * @param connection      The connection to the database.
      * @param schema          The EventSchema to be used.
@@ -54,4 +59,15 @@ PreparedStatement build(Connection connection,
                             List<? extends EventMessage<?>> events,
                             Serializer serializer,
                             TimestampWriter timestampWriter) throws SQLException;
+
+    /**
+     * Returns the maximum number of events this builder can insert with a single statement. Appends of more events are
+     * split up by the {@link JdbcEventStorageEngine}, building a statement for each part. Defaults to {@link
+     * Integer#MAX_VALUE}, appending all events with a single statement.
+     *
+     * @return the maximum number of events to pass to a single {@link #build} invocation
+     */
+    default int maxEventsPerStatement() {
+        return Integer.MAX_VALUE;
+    }
 }
@@ -22,6 +22,7 @@
 import org.axonframework.eventhandling.TrackingToken;
 import org.axonframework.eventsourcing.eventstore.jdbc.EventSchema;
 import org.axonframework.eventsourcing.eventstore.jdbc.JdbcEventStorageEngine;
+import org.axonframework.messaging.MetaData;
 import org.axonframework.serialization.SerializedObject;
 import org.axonframework.serialization.Serializer;
 
@@ -29,8 +30,11 @@
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.SortedSet;
 
 import static org.axonframework.common.DateTimeUtils.formatInstant;
@@ -82,6 +86,9 @@ public static PreparedStatement createTokenAt(Connection connection, EventSchema
      * <p/>
      * <b>NOTE:</b> each "?" is a domain event field from {@link EventSchema#domainEventFields()} and should
      * <b>always</b> be present for the PreparedStatement to work.
+     * <p/>
+     * The statement requests the {@link EventSchema#globalIndexColumn()} generated by the database, which the {@link
+     * JdbcEventStorageEngine} uses to report the global indices of the appended events.
      *
      * @param connection      The connection to the database.
      * @param schema          The EventSchema to be used.
@@ -101,25 +108,55 @@ public static PreparedStatement appendEvents(Connection connection,
             throws SQLException {
         final String sql = "INSERT INTO " + schema.domainEventTable() + " (" + schema.domainEventFields()
                 + ") VALUES (?,?,?,?,?,?,?,?,?)";
-        PreparedStatement statement = connection.prepareStatement(sql);
-        for (EventMessage eventMessage : events) {
-            DomainEventMessage<?> event = asDomainEventMessage(eventMessage);
-            SerializedObject<?> payload = event.serializePayload(serializer, dataType);
-            SerializedObject<?> metaData = event.serializeMetaData(serializer, dataType);
-            statement.setString(1, event.getIdentifier());
-            statement.setString(2, event.getAggregateIdentifier());
-            statement.setLong(3, event.getSequenceNumber());
-            statement.setString(4, event.getType());
-            timestampWriter.writeTimestamp(statement, 5, event.getTimestamp());
-            statement.setString(6, payload.getType().getName());
-            statement.setString(7, payload.getType().getRevision());
-            statement.setObject(8, payload.getData());
-            statement.setObject(9, metaData.getData());
+        PreparedStatement statement = connection.prepareStatement(sql, new String[]{schema.globalIndexColumn()});
+        Map<MetaData, SerializedObject<?>> serializedMetaData = new HashMap<>();
+        for (EventMessage<?> eventMessage : events) {
+            setDomainEventFields(statement, 0, eventMessage, dataType, serializer, timestampWriter, serializedMetaData);
             statement.addBatch();
         }
         return statement;
     }
 
+    /**
+     * Sets the {@link EventSchema#domainEventFields()} of the given {@code eventMessage} as the parameters following
+     * the given {@code offset} on the given {@code statement}, in the order of the domain event fields.
+     * <p>
+     * Events of a single append commonly share the same {@link MetaData}, like the correlation data of the command
+     * which applied them. The {@link MetaData} is therefore only serialized if the given {@code serializedMetaData}
+     * does not contain an equal {@link MetaData} instance yet, after which the result is added to it.
+     *
+     * @param statement       The statement to set the parameters on.
+     * @param offset          The number of parameters preceding the fields of the given event.
+     * @param eventMessage    The event to set the fields of.
+     * @param dataType        The serialized type of the payload and metadata.
+     * @param serializer      The serializer for the payload and metadata.
+     * @param timestampWriter    Writer responsible for writing timestamp in the correct format for the given database.
+     * @param serializedMetaData The metadata serialized for preceding events of the same append.
+     * @throws SQLException when an exception occurs while setting the parameters.
+     */
+    static void setDomainEventFields(PreparedStatement statement,
+                                     int offset,
+                                     EventMessage<?> eventMessage,
+                                     Class<?> dataType,
+                                     Serializer serializer,
+                                     TimestampWriter timestampWriter,
+                                     Map<MetaData, SerializedObject<?>> serializedMetaData) throws SQLException {
+        DomainEventMessage<?> event = asDomainEventMessage(eventMessage);
+        SerializedObject<?> payload = event.serializePayload(serializer, dataType);
+        SerializedObject<?> metaData = serializedMetaData.computeIfAbsent(
+                event.getMetaData(), m -> event.serializeMetaData(serializer, dataType)
+        );
+        statement.setString(offset + 1, event.getIdentifier());
+        statement.setString(offset + 2, event.getAggregateIdentifier());
+        statement.setLong(offset + 3, event.getSequenceNumber());
+        statement.setString(offset + 4, event.getType());
+        timestampWriter.writeTimestamp(statement, offset + 5, event.getTimestamp());
+        statement.setString(offset + 6, payload.getType().getName());
+        statement.setString(offset + 7, payload.getType().getRevision());
+        statement.setObject(offset + 8, payload.getData());
+        statement.setObject(offset + 9, metaData.getData());
+    }
+
     /**
      * Set the PreparedStatement to be used on {@link JdbcEventStorageEngine#lastSequenceNumberFor(String)}. Defaults
      * to:
@@ -331,6 +368,42 @@ public static PreparedStatement readEventDataForAggregate(Connection connection,
         return statement;
     }
 
+    /**
+     * Set the PreparedStatement to be used on {@link JdbcEventStorageEngine#fetchDomainEvents(Map)}. Defaults to:
+     * <p/>
+     * {@code "SELECT [trackedEventFields] FROM [domainEventTable] WHERE ([aggregateIdentifierColumn] = ?1 AND
+     * [sequenceNumberColumn] >= ?2) OR ... OR ([aggregateIdentifierColumn] = ?2n-1 AND [sequenceNumberColumn] >= ?2n)
+     * ORDER BY [sequenceNumberColumn] ASC" }
+     * <p/>
+     * <b>NOTE:</b> "?1" to "?2n" are the pairs of identifier and first sequence number in the firstSequenceNumbers
+     * parameter from {@link JdbcEventStorageEngine#fetchDomainEvents(Map)} and they should <b>always</b> be present
+     * for the PreparedStatement to work.
+     *
+     * @param connection           The connection to the database.
+     * @param schema               The EventSchema to be used
+     * @param firstSequenceNumbers The identifiers of the aggregates, mapped to the sequence number of the first
+     *                             entry to return for that aggregate.
+     * @return The newly created {@link PreparedStatement}.
+     * @throws SQLException when an exception occurs while creating the prepared statement.
+     */
+    public static PreparedStatement readEventDataForAggregates(Connection connection, EventSchema schema,
+                                                               Map<String, Long> firstSequenceNumbers)
+            throws SQLException {
+        String aggregateCondition = "(" + schema.aggregateIdentifierColumn() + " = ? AND "
+                + schema.sequenceNumberColumn() + " >= ?)";
+        final String sql =
+                "SELECT " + schema.trackedEventFields() + " FROM " + schema.domainEventTable() + " WHERE "
+                        + String.join(" OR ", Collections.nCopies(firstSequenceNumbers.size(), aggregateCondition))
+                        + " ORDER BY " + schema.sequenceNumberColumn() + " ASC";
+        PreparedStatement statement = connection.prepareStatement(sql);
+        int index = 1;
+        for (Map.Entry<String, Long> firstSequenceNumber : firstSequenceNumbers.entrySet()) {
+            statement.setString(index++, firstSequenceNumber.getKey());
+            statement.setLong(index++, firstSequenceNumber.getValue());
+        }
+        return statement;
+    }
+
     /**
      * Set the PreparedStatement to be used on {@link JdbcEventStorageEngine#readSnapshotData(String)}. Defaults to:
      * <p/>
@@ -357,6 +430,39 @@ public static PreparedStatement readSnapshotData(Connection connection, EventSch
         return statement;
     }
 
+    /**
+     * Set the PreparedStatement to be used on {@link JdbcEventStorageEngine#readSnapshotDataForAggregates(Collection)}.
+     * Defaults to:
+     * <p/>
+     * {@code "SELECT [domainEventFields] FROM [snapshotTable] WHERE [aggregateIdentifierColumn] IN (?1, ..., ?n) ORDER
+     * BY [sequenceNumberColumn] DESC" }
+     * <p/>
+     * <b>NOTE:</b> "?1" to "?n" are the identifiers parameter from {@link
+     * JdbcEventStorageEngine#readSnapshotDataForAggregates(Collection)} and should <b>always</b> be present for the
+     * PreparedStatement to work.
+     *
+     * @param connection  The connection to the database.
+     * @param schema      The EventSchema to be used
+     * @param identifiers The identifiers of the aggregates.
+     * @return The newly created {@link PreparedStatement}.
+     * @throws SQLException when an exception occurs while creating the prepared statement.
+     */
+    public static PreparedStatement readSnapshotDataForAggregates(Connection connection, EventSchema schema,
+                                                                  Collection<String> identifiers)
+            throws SQLException {
+        final String sql = "SELECT "
+                + schema.domainEventFields() + " FROM " + schema.snapshotTable() + " WHERE "
+                + schema.aggregateIdentifierColumn() + " IN ("
+                + String.join(",", Collections.nCopies(identifiers.size(), "?")) + ") ORDER BY "
+                + schema.sequenceNumberColumn() + " DESC";
+        PreparedStatement statement = connection.prepareStatement(sql);
+        int index = 1;
+        for (String identifier : identifiers) {
+            statement.setString(index++, identifier);
+        }
+        return statement;
+    }
+
     /**
      * Set the PreparedStatement to be used on {@link JdbcEventStorageEngine#fetchTrackedEvents(TrackingToken, int)}
      * when there is no gaps on the {@link GapAwareTrackingToken}. Defaults to:
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventsourcing.eventstore.jdbc.statements;
+
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventsourcing.eventstore.jdbc.EventSchema;
+import org.axonframework.eventsourcing.eventstore.jdbc.JdbcEventStorageEngine;
+import org.axonframework.messaging.MetaData;
+import org.axonframework.serialization.SerializedObject;
+import org.axonframework.serialization.Serializer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.axonframework.common.BuilderUtils.assertNonNull;
+import static org.axonframework.common.BuilderUtils.assertStrictPositive;
+import static org.axonframework.eventsourcing.eventstore.jdbc.statements.JdbcEventStorageEngineStatements.setDomainEventFields;
+
+/**
+ * {@link AppendEventsStatementBuilder} which inserts all given events with a single multi-row statement, instead of
+ * adding a batch entry per event. Many JDBC drivers execute every batch entry as a separate statement unless specific
+ * rewrite flags are set, making the time to append events grow with the number of events applied by an aggregate.
+ * <p>
+ * The number of events per statement is bounded by {@link #maxEventsPerStatement()}, to stay within the maximum number
+ * of bind parameters of the database. The {@link JdbcEventStorageEngine} splits up appends of more events into
+ * multiple statements. Equal {@link MetaData} of the events in a statement is only serialized once. Use the instance
+ * matching the database in use:
+ * <ul>
+ * <li>{@link #forPostgreSql()}, {@link #forMySql()} and {@link #forHsqlDb()} use a multi-row {@code VALUES}
+ * clause:<br/>{@code "INSERT INTO [domainEventTable] ([domainEventFields]) VALUES (?,?,?,?,?,?,?,?,?),
+ * (?,?,?,?,?,?,?,?,?)"}</li>
+ * <li>{@link #forOracle()} uses a multi-table insert:<br/>{@code "INSERT ALL INTO [domainEventTable]
+ * ([domainEventFields]) VALUES (?,?,?,?,?,?,?,?,?) INTO [domainEventTable] ([domainEventFields]) VALUES
+ * (?,?,?,?,?,?,?,?,?) SELECT 1 FROM DUAL"}</li>
+ * </ul>
+ * <b>NOTE:</b> each "?" is a domain event field from {@link EventSchema#domainEventFields()} and should
+ * <b>always</b> be present for the PreparedStatement to work.
+ *
+ * @since 4.5
+ */
+public class MultiRowAppendEventsStatementBuilder implements AppendEventsStatementBuilder {
+
+    private static final int FIELDS_PER_EVENT = 9;
+    private static final int DEFAULT_MAX_EVENTS_PER_STATEMENT = 1000;
+    // Oracle does not allow more than 999 columns in a multi-table insert
+    private static final int ORACLE_MAX_EVENTS_PER_STATEMENT = 999 / FIELDS_PER_EVENT;
+
+    private final Syntax syntax;
+    private final int maxEventsPerStatement;
+
+    /**
+     * Returns a {@link MultiRowAppendEventsStatementBuilder} for PostgreSQL, inserting up to {@code 1000} events per
+     * statement.
+     *
+     * @return a {@link MultiRowAppendEventsStatementBuilder} for PostgreSQL
+     */
+    public static MultiRowAppendEventsStatementBuilder forPostgreSql() {
+        return new MultiRowAppendEventsStatementBuilder(Syntax.MULTI_ROW_VALUES, DEFAULT_MAX_EVENTS_PER_STATEMENT);
+    }
+
+    /**
+     * Returns a {@link MultiRowAppendEventsStatementBuilder} for MySQL, inserting up to {@code 1000} events per
+     * statement.
+     *
+     * @return a {@link MultiRowAppendEventsStatementBuilder} for MySQL
+     */
+    public static MultiRowAppendEventsStatementBuilder forMySql() {
+        return new MultiRowAppendEventsStatementBuilder(Syntax.MULTI_ROW_VALUES, DEFAULT_MAX_EVENTS_PER_STATEMENT);
+    }
+
+    /**
+     * Returns a {@link MultiRowAppendEventsStatementBuilder} for HSQLDB, inserting up to {@code 1000} events per
+     * statement.
+     *
+     * @return a {@link MultiRowAppendEventsStatementBuilder} for HSQLDB
+     */
+    public static MultiRowAppendEventsStatementBuilder forHsqlDb() {
+        return new MultiRowAppendEventsStatementBuilder(Syntax.MULTI_ROW_VALUES, DEFAULT_MAX_EVENTS_PER_STATEMENT);
+    }
+
+    /**
+     * Returns a {@link MultiRowAppendEventsStatementBuilder} for Oracle, inserting up to {@code 111} events per
+     * statement as Oracle limits the number of columns in a multi-table insert to {@code 999}.
+     *
+     * @return a {@link MultiRowAppendEventsStatementBuilder} for Oracle
+     */
+    public static MultiRowAppendEventsStatementBuilder forOracle() {
+        return new MultiRowAppendEventsStatementBuilder(Syntax.INSERT_ALL, ORACLE_MAX_EVENTS_PER_STATEMENT);
+    }
+
+    /**
+     * Instantiate a {@link MultiRowAppendEventsStatementBuilder} using the given {@code syntax}, inserting up to the
+     * given {@code maxEventsPerStatement} events per statement. The {@code maxEventsPerStatement} times the nine
+     * domain event fields should not exceed the maximum number of bind parameters of the database.
+     *
+     * @param syntax                the {@link Syntax} of the multi-row insert
+     * @param maxEventsPerStatement the maximum number of events to insert with a single statement
+     */
+    public MultiRowAppendEventsStatementBuilder(Syntax syntax, int maxEventsPerStatement) {
+        assertNonNull(syntax, "The syntax may not be null");
+        assertStrictPositive(maxEventsPerStatement, "The maxEventsPerStatement should be a larger than 0");
+        this.syntax = syntax;
+        this.maxEventsPerStatement = maxEventsPerStatement;
+    }
+
+    @Override
+    public PreparedStatement build(Connection connection,
+                                   EventSchema schema,
+                                   Class<?> dataType,
+                                   List<? extends EventMessage<?>> events,
+                                   Serializer serializer,
+                                   TimestampWriter timestampWriter) throws SQLException {
+        String sql = syntax.insertSql(schema, events.size());
+        PreparedStatement statement = syntax.returnsGeneratedKeys
+                ? connection.prepareStatement(sql, new String[]{schema.globalIndexColumn()})
+                : connection.prepareStatement(sql);
+        Map<MetaData, SerializedObject<?>> serializedMetaData = new HashMap<>();
+        int offset = 0;
+        for (EventMessage<?> event : events) {
+            setDomainEventFields(statement, offset, event, dataType, serializer, timestampWriter, serializedMetaData);
+            offset += FIELDS_PER_EVENT;
+        }
+        statement.addBatch();
+        return statement;
+    }
+
+    @Override
+    public int maxEventsPerStatement() {
+        return maxEventsPerStatement;
+    }
+
+    /**
+     * The syntax used to insert multiple rows with a single statement.
+     */
+    public enum Syntax {
+
+        /**
+         * Inserts rows using a single {@code INSERT INTO ... VALUES} statement with a row constructor per event, as
+         * supported by PostgreSQL, MySQL and HSQLDB among others.
+         */
+        MULTI_ROW_VALUES(true) {
+            @Override
+            String insertSql(EventSchema schema, int numberOfEvents) {
+                StringBuilder sql = new StringBuilder("INSERT INTO ").append(schema.domainEventTable())
+                                                                     .append(" (")
+                                                                     .append(schema.domainEventFields())
+                                                                     .append(") VALUES ");
+                for (int i = 0; i < numberOfEvents; i++) {
+                    sql.append(i == 0 ? "" : ",").append(ROW_PARAMETERS);
+                }
+                return sql.toString();
+            }
+        },
+
+        /**
+         * Inserts rows using a single {@code INSERT ALL INTO ... SELECT 1 FROM DUAL} statement with an {@code INTO}
+         * clause per event, as supported by Oracle. The keys generated by such a statement cannot be retrieved, so the
+         * global indices of the appended events remain unknown to the storage engine.
+         */
+        INSERT_ALL(false) {
+            @Override
+            String insertSql(EventSchema schema, int numberOfEvents) {
+                String into = " INTO " + schema.domainEventTable()
+                        + " (" + schema.domainEventFields() + ") VALUES " + ROW_PARAMETERS;
+                StringBuilder sql = new StringBuilder("INSERT ALL");
+                for (int i = 0; i < numberOfEvents; i++) {
+                    sql.append(into);
+                }
+                return sql.append(" SELECT 1 FROM DUAL").toString();
+            }
+        };
+
+        private static final String ROW_PARAMETERS = "(?,?,?,?,?,?,?,?,?)";
+
+        private final boolean returnsGeneratedKeys;
+
+        Syntax(boolean returnsGeneratedKeys) {
+            this.returnsGeneratedKeys = returnsGeneratedKeys;
+        }
+
+        abstract String insertSql(EventSchema schema, int numberOfEvents);
+    }
+}
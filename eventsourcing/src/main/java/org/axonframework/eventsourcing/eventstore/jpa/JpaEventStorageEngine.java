@@ -30,6 +30,7 @@
 import org.axonframework.eventhandling.GenericEventMessage;
 import org.axonframework.eventhandling.TrackedDomainEventData;
 import org.axonframework.eventhandling.TrackedEventData;
+import org.axonframework.eventhandling.TrackedEventMessage;
 import org.axonframework.eventhandling.TrackingToken;
 import org.axonframework.eventsourcing.eventstore.BatchingEventStorageEngine;
 import org.axonframework.eventsourcing.snapshotting.SnapshotFilter;
@@ -43,15 +44,21 @@
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.TreeSet;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import javax.sql.DataSource;
 
@@ -59,6 +66,7 @@
 import static org.axonframework.common.BuilderUtils.assertThat;
 import static org.axonframework.common.DateTimeUtils.formatInstant;
 import static org.axonframework.eventhandling.EventUtils.asDomainEventMessage;
+import static org.axonframework.eventhandling.EventUtils.asTrackedEventMessage;
 
 /**
  * EventStorageEngine implementation that uses JPA to store and fetch events.
@@ -255,6 +263,31 @@ protected List<? extends DomainEventData<?>> fetchDomainEvents(String aggregateI
                         .getResultList());
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    protected List<? extends DomainEventData<?>> fetchDomainEvents(Map<String, Long> firstSequenceNumbers) {
+        List<String> aggregateConditions = new ArrayList<>();
+        for (int i = 0; i < firstSequenceNumbers.size(); i++) {
+            aggregateConditions.add("(e.aggregateIdentifier = :id" + i + " AND e.sequenceNumber >= :seq" + i + ")");
+        }
+        return transactionManager.fetchInTransaction(() -> {
+            Query query = entityManager().createQuery(
+                    "SELECT new org.axonframework.eventhandling.GenericDomainEventEntry(" +
+                            "e.type, e.aggregateIdentifier, e.sequenceNumber, e.eventIdentifier, e.timeStamp, "
+                            + "e.payloadType, e.payloadRevision, e.payload, e.metaData) FROM "
+                            + domainEventEntryEntityName() + " e WHERE " + String.join(" OR ", aggregateConditions)
+                            + " ORDER BY e.sequenceNumber ASC"
+            );
+            int i = 0;
+            for (Map.Entry<String, Long> firstSequenceNumber : firstSequenceNumbers.entrySet()) {
+                query.setParameter("id" + i, firstSequenceNumber.getKey())
+                     .setParameter("seq" + i, firstSequenceNumber.getValue());
+                i++;
+            }
+            return query.getResultList();
+        });
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     protected Stream<? extends DomainEventData<?>> readSnapshotData(String aggregateIdentifier) {
@@ -274,16 +307,57 @@ protected Stream<? extends DomainEventData<?>> readSnapshotData(String aggregate
         );
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation reads the snapshots of at most {@link #batchSize()} aggregates per query.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Stream<? extends DomainEventData<?>> readSnapshotDataForAggregates(
+            Collection<String> aggregateIdentifiers
+    ) {
+        List<String> identifiers = new ArrayList<>(aggregateIdentifiers);
+        return IntStream.iterate(0, i -> i + batchSize())
+                        .limit((identifiers.size() + batchSize() - 1) / batchSize())
+                        .mapToObj(i -> identifiers.subList(i, Math.min(identifiers.size(), i + batchSize())))
+                        .flatMap(batch -> transactionManager.fetchInTransaction(
+                                () -> (List<DomainEventData<?>>) entityManager()
+                                        .createQuery(
+                                                "SELECT new org.axonframework.eventhandling.GenericDomainEventEntry("
+                                                        + "e.type, e.aggregateIdentifier, e.sequenceNumber, "
+                                                        + "e.eventIdentifier, e.timeStamp, e.payloadType, "
+                                                        + "e.payloadRevision, e.payload, e.metaData) "
+                                                        + "FROM " + snapshotEventEntryEntityName() + " e "
+                                                        + "WHERE e.aggregateIdentifier IN :ids "
+                                                        + "ORDER BY e.sequenceNumber DESC"
+                                        )
+                                        .setParameter("ids", batch)
+                                        .getResultList()
+                        ).stream());
+    }
+
     @Override
     protected void appendEvents(List<? extends EventMessage<?>> events, Serializer serializer) {
+        appendEvents(events, serializer, explicitFlush, entity -> {
+        });
+    }
+
+    private void appendEvents(List<? extends EventMessage<?>> events,
+                              Serializer serializer,
+                              boolean flush,
+                              Consumer<Object> persistedEntityConsumer) {
         if (events.isEmpty()) {
             return;
         }
 
         transactionManager.executeInTransaction(() -> {
             try {
-                events.stream().map(event -> createEventEntity(event, serializer)).forEach(entityManager()::persist);
-                if (explicitFlush) {
+                events.stream()
+                      .map(event -> createEventEntity(event, serializer))
+                      .peek(persistedEntityConsumer)
+                      .forEach(entityManager()::persist);
+                if (flush) {
                     entityManager().flush();
                 }
             } catch (Exception e) {
@@ -292,6 +366,41 @@ protected void appendEvents(List<? extends EventMessage<?>> events, Serializer s
         });
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The entities are flushed to obtain the global indices the database assigned to them, from which the tokens of
+     * the appended events are created. If an entity does not provide its global index as identifier, the callback is
+     * not invoked.
+     */
+    @Override
+    public void appendEvents(List<? extends EventMessage<?>> events,
+                             Consumer<List<? extends TrackedEventMessage<?>>> appendedEventsCallback) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        List<Object> entities = new ArrayList<>(events.size());
+        appendEvents(events, getEventSerializer(), true, entities::add);
+
+        PersistenceUnitUtil persistenceUnitUtil = entityManager().getEntityManagerFactory().getPersistenceUnitUtil();
+        GapAwareTrackingToken token = null;
+        List<TrackedEventMessage<?>> appendedEvents = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            Object globalIndex = persistenceUnitUtil.getIdentifier(entities.get(i));
+            if (!(globalIndex instanceof Long) || (token != null && (Long) globalIndex <= token.getIndex())) {
+                logger.debug("The global indices of the appended events are unavailable or not in insertion order. "
+                                     + "Not reporting the appended events.");
+                return;
+            }
+            token = token == null
+                    ? GapAwareTrackingToken.newInstance((Long) globalIndex, Collections.emptySortedSet())
+                    : token.advanceTo((Long) globalIndex, maxGapOffset);
+            appendedEvents.add(asTrackedEventMessage(events.get(i), token));
+        }
+        appendedEventsCallback.accept(appendedEvents);
+    }
+
     @Override
     protected void storeSnapshot(DomainEventMessage<?> snapshot, Serializer serializer) {
         try {
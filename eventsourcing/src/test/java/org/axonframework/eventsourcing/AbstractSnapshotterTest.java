@@ -37,17 +37,22 @@
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.time.Duration;
 import java.util.LinkedList;
 import java.util.Queue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.axonframework.eventsourcing.utils.EventStoreTestUtils.createEvent;
 import static org.axonframework.eventsourcing.utils.EventStoreTestUtils.createEvents;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.argThat;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.isA;
 import static org.mockito.Mockito.mock;
@@ -214,6 +219,139 @@ void testScheduleSnapshot_AcceptedWhenOtherSnapshotIsScheduled() {
         assertEquals(1, executor.size());
     }
 
+    @Test
+    void testQueuedSnapshotRequestsAreCoalescedAndOrderedByNumberOfEvents() {
+        StubExecutor executor = new StubExecutor();
+        testSubject = TestSnapshotter.builder().eventStore(mockEventStore).executor(executor).queueCapacity(10).build();
+        when(mockEventStore.readEvents(anyString())).thenAnswer(i -> DomainEventStream.of(createEvents(2)));
+
+        testSubject.scheduleSnapshot(Object.class, "id1", 2);
+        testSubject.scheduleSnapshot(Object.class, "id2", 5);
+        testSubject.scheduleSnapshot(Object.class, "id1", 4);
+        testSubject.scheduleSnapshot(Object.class, "id3", 1);
+
+        assertEquals(3, testSubject.getQueueDepth());
+        assertEquals(1, executor.size());
+        executor.executeNext();
+
+        assertEquals(0, testSubject.getQueueDepth());
+        InOrder inOrder = inOrder(mockEventStore);
+        inOrder.verify(mockEventStore).storeSnapshot(argThat(event("id1", 1)));
+        inOrder.verify(mockEventStore).storeSnapshot(argThat(event("id2", 1)));
+        inOrder.verify(mockEventStore).storeSnapshot(argThat(event("id3", 1)));
+    }
+
+    @Test
+    void testFullSnapshotQueueDiscardsRequestWithFewestEvents() {
+        StubExecutor executor = new StubExecutor();
+        testSubject = TestSnapshotter.builder().eventStore(mockEventStore).executor(executor).queueCapacity(2).build();
+        when(mockEventStore.readEvents(anyString())).thenAnswer(i -> DomainEventStream.of(createEvents(2)));
+
+        testSubject.scheduleSnapshot(Object.class, "id1", 1);
+        testSubject.scheduleSnapshot(Object.class, "id2", 5);
+        testSubject.scheduleSnapshot(Object.class, "id3", 3);
+        testSubject.scheduleSnapshot(Object.class, "id4", 0);
+
+        assertEquals(2, testSubject.getQueueDepth());
+        executor.executeNext();
+
+        verify(mockEventStore).storeSnapshot(argThat(event("id2", 1)));
+        verify(mockEventStore).storeSnapshot(argThat(event("id3", 1)));
+        verify(mockEventStore, never()).storeSnapshot(argThat(event("id1", 1)));
+        verify(mockEventStore, never()).storeSnapshot(argThat(event("id4", 1)));
+    }
+
+    @Test
+    void testQueuedSnapshotRequestIsDiscardedWhileSnapshotOfAggregateIsInProgress() {
+        StubExecutor executor = new StubExecutor();
+        testSubject = TestSnapshotter.builder().eventStore(mockEventStore).executor(executor).queueCapacity(10).build();
+        when(mockEventStore.readEvents("id1")).thenAnswer(i -> {
+            testSubject.scheduleSnapshot(Object.class, "id1", 3);
+            return DomainEventStream.of(createEvents(2));
+        });
+
+        testSubject.scheduleSnapshot(Object.class, "id1", 2);
+        executor.executeNext();
+
+        assertEquals(0, testSubject.getQueueDepth());
+        assertEquals(0, executor.size());
+        verify(mockEventStore).storeSnapshot(argThat(event("id1", 1)));
+    }
+
+    @Test
+    void testQueuedSnapshotRequestsAreDiscardedWhenExecutorRejectsWorker() {
+        testSubject = TestSnapshotter.builder()
+                                     .eventStore(mockEventStore)
+                                     .executor(task -> {
+                                         throw new RejectedExecutionException("Executor is full");
+                                     })
+                                     .queueCapacity(10)
+                                     .build();
+
+        assertThrows(RejectedExecutionException.class, () -> testSubject.scheduleSnapshot(Object.class, "id1", 2));
+
+        assertEquals(0, testSubject.getQueueDepth());
+        verify(mockEventStore, never()).readEvents(anyString());
+    }
+
+    @Test
+    void testQueuedSnapshotsAreStoredInBatches() {
+        Transaction mockTransaction = mock(Transaction.class);
+        TransactionManager txManager = spy(new StubTransactionManager(mockTransaction));
+        StubExecutor executor = new StubExecutor();
+        testSubject = TestSnapshotter.builder()
+                                     .eventStore(mockEventStore)
+                                     .executor(executor)
+                                     .transactionManager(txManager)
+                                     .queueCapacity(10)
+                                     .batchSize(2)
+                                     .build();
+        when(mockEventStore.readEvents(anyString())).thenAnswer(i -> DomainEventStream.of(createEvents(2)));
+
+        testSubject.scheduleSnapshot(Object.class, "id1", 3);
+        testSubject.scheduleSnapshot(Object.class, "id2", 2);
+        testSubject.scheduleSnapshot(Object.class, "id3", 1);
+        executor.executeNext();
+
+        verify(mockEventStore, times(3)).storeSnapshot(isA(DomainEventMessage.class));
+        verify(txManager, times(2)).startTransaction();
+        verify(mockTransaction, times(2)).commit();
+    }
+
+    @Test
+    void testSnapshotBatchIsRetriedIndividuallyWhenStoringFails() {
+        StubExecutor executor = new StubExecutor();
+        testSubject = TestSnapshotter.builder()
+                                     .eventStore(mockEventStore)
+                                     .executor(executor)
+                                     .queueCapacity(10)
+                                     .batchSize(2)
+                                     .build();
+        when(mockEventStore.readEvents(anyString())).thenAnswer(i -> DomainEventStream.of(createEvents(2)));
+        doThrow(new IllegalStateException("Mock")).doNothing()
+                                                    .when(mockEventStore).storeSnapshot(isA(DomainEventMessage.class));
+
+        testSubject.scheduleSnapshot(Object.class, "id1", 2);
+        testSubject.scheduleSnapshot(Object.class, "id2", 1);
+        executor.executeNext();
+
+        verify(mockEventStore, times(2)).storeSnapshot(argThat(event("id1", 1)));
+        verify(mockEventStore).storeSnapshot(argThat(event("id2", 1)));
+    }
+
+    @Test
+    void testSnapshotListenerIsNotifiedOfCreatedSnapshots() {
+        AbstractSnapshotter.SnapshotListener listener = mock(AbstractSnapshotter.SnapshotListener.class);
+        testSubject.registerSnapshotListener(listener);
+        String aggregateIdentifier = "aggregateIdentifier";
+        when(mockEventStore.readEvents(aggregateIdentifier))
+                .thenReturn(DomainEventStream.of(createEvents(2)));
+
+        testSubject.scheduleSnapshot(Object.class, aggregateIdentifier);
+
+        verify(listener).onSnapshotCreated(eq(Object.class), eq(aggregateIdentifier), isA(Duration.class));
+    }
+
     private ArgumentMatcher<DomainEventMessage> event(final Object aggregateIdentifier, final long i) {
         return x -> aggregateIdentifier.equals(x.getAggregateIdentifier())
                 && x.getSequenceNumber() == i;
@@ -280,6 +418,18 @@ public Builder transactionManager(TransactionManager transactionManager) {
                 return this;
             }
 
+            @Override
+            public Builder queueCapacity(int queueCapacity) {
+                super.queueCapacity(queueCapacity);
+                return this;
+            }
+
+            @Override
+            public Builder batchSize(int batchSize) {
+                super.batchSize(batchSize);
+                return this;
+            }
+
             private TestSnapshotter build() {
                 return new TestSnapshotter(this);
             }
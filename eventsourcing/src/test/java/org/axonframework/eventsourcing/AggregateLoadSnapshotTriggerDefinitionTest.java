@@ -16,6 +16,8 @@
 
 package org.axonframework.eventsourcing;
 
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -91,12 +93,12 @@ void testSnapshotterTriggeredOnUnitOfWorkCleanup() {
 
         trigger.eventHandled(msg);
 
-        verify(mockSnapshotter, never()).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier);
+        verify(mockSnapshotter, never()).scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong());
         CurrentUnitOfWork.get()
                          .onCommit(uow -> verify(mockSnapshotter, never())
-                                 .scheduleSnapshot(aggregate.rootType(), aggregateIdentifier));
+                                 .scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong()));
         CurrentUnitOfWork.commit();
-        verify(mockSnapshotter).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier);
+        verify(mockSnapshotter).scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong());
     }
 
     @Test
@@ -110,9 +112,9 @@ void testSnapshotterTriggeredOnUnitOfWorkCommit() {
         trigger.initializationFinished();
         trigger.eventHandled(msg);
 
-        verify(mockSnapshotter, never()).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier);
+        verify(mockSnapshotter, never()).scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong());
         CurrentUnitOfWork.commit();
-        verify(mockSnapshotter).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier);
+        verify(mockSnapshotter).scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong());
     }
 
     @Test
@@ -126,9 +128,9 @@ void testSnapshotterIsNotTriggeredOnUnitOfWorkRollbackIfEventsHandledAfterInitia
         trigger.initializationFinished();
         trigger.eventHandled(msg);
 
-        verify(mockSnapshotter, never()).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier);
+        verify(mockSnapshotter, never()).scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong());
         CurrentUnitOfWork.get().rollback();
-        verify(mockSnapshotter, never()).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier);
+        verify(mockSnapshotter, never()).scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong());
     }
 
     @Test
@@ -142,9 +144,9 @@ void testSnapshotterTriggeredOnUnitOfWorkRollbackWhenEventsHandledBeforeInitiali
         trigger.eventHandled(msg);
         trigger.initializationFinished();
 
-        verify(mockSnapshotter, never()).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier);
+        verify(mockSnapshotter, never()).scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong());
         CurrentUnitOfWork.get().rollback();
-        verify(mockSnapshotter).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier);
+        verify(mockSnapshotter).scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong());
     }
 
     @Test
@@ -157,9 +159,9 @@ void testSnapshotterNotTriggered() {
         );
         trigger.eventHandled(msg);
 
-        verify(mockSnapshotter, never()).scheduleSnapshot(aggregate.getClass(), aggregateIdentifier);
+        verify(mockSnapshotter, never()).scheduleSnapshot(eq(aggregate.getClass()), eq(aggregateIdentifier), anyLong());
         CurrentUnitOfWork.commit();
-        verify(mockSnapshotter, never()).scheduleSnapshot(aggregate.getClass(), aggregateIdentifier);
+        verify(mockSnapshotter, never()).scheduleSnapshot(eq(aggregate.getClass()), eq(aggregateIdentifier), anyLong());
     }
 
     @Test
@@ -180,9 +182,9 @@ void testThresholdDoesNotResetWhenSerialized() throws IOException, ClassNotFound
         // this triggers the snapshot
         trigger.eventHandled(msg);
 
-        verify(mockSnapshotter, never()).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier);
+        verify(mockSnapshotter, never()).scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong());
         CurrentUnitOfWork.commit();
-        verify(mockSnapshotter).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier);
+        verify(mockSnapshotter).scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong());
     }
 
     @Test
@@ -195,6 +197,6 @@ void testScheduleANewSnapshotAfterCommitTrigger() {
         );
         CurrentUnitOfWork.commit();
         trigger.eventHandled(msg);
-        verify(mockSnapshotter).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier);
+        verify(mockSnapshotter).scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong());
     }
 }
@@ -24,9 +24,16 @@
 import org.axonframework.eventsourcing.eventstore.DomainEventStream;
 import org.axonframework.eventsourcing.eventstore.EventStore;
 import org.axonframework.messaging.MetaData;
+import org.axonframework.messaging.unitofwork.CurrentUnitOfWork;
+import org.axonframework.messaging.unitofwork.DefaultUnitOfWork;
+import org.axonframework.modelling.command.inspection.AnnotatedAggregateMetaModelFactory;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.xml.XStreamSerializer;
 import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
 
 import java.util.UUID;
+import java.util.concurrent.Executor;
 
 import static java.util.Collections.singletonList;
 import static org.axonframework.modelling.command.AggregateLifecycle.apply;
@@ -111,6 +118,112 @@ void testCreateSnapshot_AggregateMarkedDeletedWillNotGenerateSnapshot() {
         assertNull(snapshot, "Snapshotter shouldn't have created snapshot of deleted aggregate");
     }
 
+    @Test
+    void testSnapshotOfCommittedAggregateIsCreatedWithoutReadingEvents() {
+        EventStore mockEventStore = mock(EventStore.class);
+        when(mockAggregateFactory.createAggregateRoot(any(), any()))
+                .thenAnswer(i -> ((DomainEventMessage<?>) i.getArgument(1)).getPayload());
+        testSubject = AggregateSnapshotter.builder()
+                                          .eventStore(mockEventStore)
+                                          .aggregateFactories(singletonList(mockAggregateFactory))
+                                          .build();
+        String aggregateIdentifier = UUID.randomUUID().toString();
+        StubAggregate aggregateRoot = new StubAggregate(aggregateIdentifier);
+        EventSourcedAggregate<StubAggregate> aggregate = EventSourcedAggregate.reconstruct(
+                aggregateRoot, AnnotatedAggregateMetaModelFactory.inspectAggregate(StubAggregate.class),
+                5L, false, null, NoSnapshotTriggerDefinition.TRIGGER
+        );
+
+        testSubject.scheduleSnapshot(StubAggregate.class, aggregate, 5);
+
+        ArgumentCaptor<DomainEventMessage<?>> snapshotCaptor = ArgumentCaptor.forClass(DomainEventMessage.class);
+        verify(mockEventStore).storeSnapshot(snapshotCaptor.capture());
+        verify(mockEventStore, never()).readEvents(any());
+        verify(mockAggregateFactory).createAggregateRoot(eq(aggregateIdentifier), any());
+        DomainEventMessage<?> snapshot = snapshotCaptor.getValue();
+        assertEquals(aggregateIdentifier, snapshot.getAggregateIdentifier());
+        assertEquals(5L, snapshot.getSequenceNumber());
+        assertNotSame(aggregateRoot, snapshot.getPayload());
+        assertEquals(aggregateIdentifier, ((StubAggregate) snapshot.getPayload()).getIdentifier());
+    }
+
+    @Test
+    void testStateOfCommittedAggregateIsCapturedOnceTheUnitOfWorkCommits() {
+        EventStore mockEventStore = mock(EventStore.class);
+        Serializer serializer = spy(XStreamSerializer.defaultSerializer());
+        testSubject = AggregateSnapshotter.builder()
+                                          .eventStore(mockEventStore)
+                                          .aggregateFactories(singletonList(mockAggregateFactory))
+                                          .serializer(serializer)
+                                          .build();
+        StubAggregate aggregateRoot = new StubAggregate(UUID.randomUUID().toString());
+        EventSourcedAggregate<StubAggregate> aggregate = EventSourcedAggregate.reconstruct(
+                aggregateRoot, AnnotatedAggregateMetaModelFactory.inspectAggregate(StubAggregate.class),
+                5L, false, null, NoSnapshotTriggerDefinition.TRIGGER
+        );
+        DefaultUnitOfWork<?> unitOfWork = DefaultUnitOfWork.startAndGet(null);
+
+        testSubject.scheduleSnapshot(StubAggregate.class, aggregate, 5);
+
+        verify(serializer, never()).serialize(any(), any());
+        unitOfWork.commit();
+        verify(serializer).serialize(aggregateRoot, byte[].class);
+        verify(mockEventStore).storeSnapshot(any());
+    }
+
+    @Test
+    void testStateOfCommittedAggregateIsNotCapturedWhenTheRequestIsDiscarded() {
+        Serializer serializer = spy(XStreamSerializer.defaultSerializer());
+        testSubject = AggregateSnapshotter.builder()
+                                          .eventStore(mock(EventStore.class))
+                                          .aggregateFactories(singletonList(mockAggregateFactory))
+                                          .serializer(serializer)
+                                          .executor(mock(Executor.class))
+                                          .queueCapacity(1)
+                                          .build();
+        StubAggregate queuedRoot = new StubAggregate(UUID.randomUUID().toString());
+        StubAggregate discardedRoot = new StubAggregate(UUID.randomUUID().toString());
+
+        testSubject.scheduleSnapshot(StubAggregate.class, committedAggregate(queuedRoot), 5);
+        testSubject.scheduleSnapshot(StubAggregate.class, committedAggregate(discardedRoot), 1);
+
+        verify(serializer).serialize(queuedRoot, byte[].class);
+        verify(serializer, never()).serialize(discardedRoot, byte[].class);
+    }
+
+    @Test
+    void testEventsAreReadWhenTheUnitOfWorkIsCommittedByAnotherThread() throws InterruptedException {
+        EventStore mockEventStore = mock(EventStore.class);
+        Serializer serializer = spy(XStreamSerializer.defaultSerializer());
+        testSubject = AggregateSnapshotter.builder()
+                                          .eventStore(mockEventStore)
+                                          .aggregateFactories(singletonList(mockAggregateFactory))
+                                          .serializer(serializer)
+                                          .build();
+        String aggregateIdentifier = UUID.randomUUID().toString();
+        DefaultUnitOfWork<?> unitOfWork = DefaultUnitOfWork.startAndGet(null);
+
+        testSubject.scheduleSnapshot(StubAggregate.class, committedAggregate(new StubAggregate(aggregateIdentifier)), 5);
+
+        CurrentUnitOfWork.clear(unitOfWork);
+        Thread committingThread = new Thread(() -> {
+            CurrentUnitOfWork.set(unitOfWork);
+            unitOfWork.commit();
+        });
+        committingThread.start();
+        committingThread.join();
+
+        verify(mockEventStore).readEvents(aggregateIdentifier);
+        verify(serializer, never()).serialize(any(), any());
+    }
+
+    private static EventSourcedAggregate<StubAggregate> committedAggregate(StubAggregate aggregateRoot) {
+        return EventSourcedAggregate.reconstruct(
+                aggregateRoot, AnnotatedAggregateMetaModelFactory.inspectAggregate(StubAggregate.class),
+                5L, false, null, NoSnapshotTriggerDefinition.TRIGGER
+        );
+    }
+
     public static class StubAggregate {
 
         @AggregateIdentifier
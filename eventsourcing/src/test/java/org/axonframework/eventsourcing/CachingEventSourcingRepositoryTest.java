@@ -40,6 +40,8 @@
 import java.util.ArrayList;
 import java.util.List;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
@@ -49,6 +51,8 @@
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyList;
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.isNull;
 import static org.mockito.Mockito.never;
@@ -71,6 +75,7 @@ void setUp() {
 
         final CacheManager cacheManager = CacheManager.getInstance();
         ehCache = cacheManager.getCache("testCache");
+        ehCache.removeAll();
         cache = spy(new EhCacheAdapter(ehCache));
 
         testSubject = CachingEventSourcingRepository.builder(StubAggregate.class)
@@ -169,6 +174,60 @@ void testCacheClearedAfterRollbackOfAddedAggregate() throws Exception {
         assertNull(cache.get("id1"));
     }
 
+    @Test
+    void testPreloadedAggregatesAreLoadedFromCache() throws Exception {
+        startAndGetUnitOfWork();
+        testSubject.newInstance(() -> new StubAggregate("id1")).execute(StubAggregate::doSomething);
+        Aggregate<StubAggregate> aggregate2 = testSubject.newInstance(() -> new StubAggregate("id2"));
+        aggregate2.execute(StubAggregate::doSomething);
+        aggregate2.execute(StubAggregate::doSomething);
+        CurrentUnitOfWork.commit();
+        ehCache.removeAll();
+
+        testSubject.preload(asList("id1", "id2", "unknownId"));
+
+        verify(mockEventStore).readEventStreams(asList("id1", "id2", "unknownId"));
+        assertNotNull(cache.get("id1"));
+        assertNotNull(cache.get("id2"));
+        assertNull(cache.get("unknownId"));
+
+        startAndGetUnitOfWork();
+        assertEquals(0L, testSubject.load("id1").version());
+        assertEquals(1L, testSubject.load("id2").version());
+        CurrentUnitOfWork.commit();
+        verify(mockEventStore, never()).readEvents(anyString());
+    }
+
+    @Test
+    void testPreloadSkipsCachedAggregates() throws Exception {
+        startAndGetUnitOfWork();
+        testSubject.newInstance(() -> new StubAggregate("id1")).execute(StubAggregate::doSomething);
+        CurrentUnitOfWork.commit();
+
+        testSubject.preload(asList("id1", "id2"));
+
+        verify(mockEventStore).readEventStreams(singletonList("id2"));
+    }
+
+    @Test
+    void testPreloadDoesNotCacheAggregatesChangedWhileReadingTheirEvents() throws Exception {
+        startAndGetUnitOfWork();
+        testSubject.newInstance(() -> new StubAggregate("id1")).execute(StubAggregate::doSomething);
+        CurrentUnitOfWork.commit();
+        ehCache.removeAll();
+        doAnswer(invocation -> {
+            startAndGetUnitOfWork();
+            testSubject.load("id1").execute(StubAggregate::doSomething);
+            CurrentUnitOfWork.commit();
+            ehCache.removeAll();
+            return invocation.callRealMethod();
+        }).when(mockEventStore).lastSequenceNumberFor("id1");
+
+        testSubject.preload(singletonList("id1"));
+
+        assertNull(cache.get("id1"));
+    }
+
     private UnitOfWork<?> startAndGetUnitOfWork() {
         return DefaultUnitOfWork.startAndGet(null);
     }
@@ -22,6 +22,7 @@
 import org.axonframework.messaging.MetaData;
 import org.axonframework.messaging.unitofwork.CurrentUnitOfWork;
 import org.axonframework.messaging.unitofwork.DefaultUnitOfWork;
+import org.axonframework.messaging.unitofwork.UnitOfWork;
 import org.axonframework.modelling.command.Aggregate;
 import org.axonframework.modelling.command.inspection.AnnotatedAggregate;
 import org.axonframework.modelling.command.inspection.AnnotatedAggregateMetaModelFactory;
@@ -81,12 +82,12 @@ void testSnapshotterTriggeredOnUnitOfWorkCleanup() {
         trigger.eventHandled(msg);
         trigger.eventHandled(msg);
 
-        verify(mockSnapshotter, never()).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier);
+        verify(mockSnapshotter, never()).scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong());
         CurrentUnitOfWork.get()
                          .onCommit(uow -> verify(mockSnapshotter, never())
-                                 .scheduleSnapshot(aggregate.rootType(), aggregateIdentifier));
+                                 .scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong()));
         CurrentUnitOfWork.commit();
-        verify(mockSnapshotter).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier);
+        verify(mockSnapshotter).scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong());
     }
 
     @Test
@@ -101,9 +102,71 @@ void testSnapshotterTriggeredOnUnitOfWorkCommit() {
         trigger.eventHandled(msg);
         trigger.eventHandled(msg);
 
+        verify(mockSnapshotter, never()).scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong());
+        CurrentUnitOfWork.commit();
+        verify(mockSnapshotter).scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong());
+    }
+
+    @Test
+    void testSnapshotterReceivesNumberOfEventsSinceLastSnapshot() {
+        CurrentUnitOfWork.get().rollback();
+        SnapshotTrigger trigger = testSubject.prepareTrigger(aggregate.rootType());
+        GenericDomainEventMessage<String> msg = new GenericDomainEventMessage<>(
+                "type", aggregateIdentifier, 0, "Mock contents", MetaData.emptyInstance()
+        );
+        trigger.initializationFinished();
+        for (int i = 0; i < 6; i++) {
+            trigger.eventHandled(msg);
+        }
+
+        verify(mockSnapshotter, times(2)).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier, 3L);
         verify(mockSnapshotter, never()).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier);
+    }
+
+    @Test
+    void testSnapshotterReceivesAttachedAggregateOnUnitOfWorkCommit() {
+        SnapshotTrigger trigger = testSubject.prepareTrigger(aggregate.rootType());
+        EventSourcedAggregate<?> attachedAggregate = mock(EventSourcedAggregate.class);
+        trigger.attachTo(attachedAggregate);
+        GenericDomainEventMessage<String> msg = new GenericDomainEventMessage<>(
+                "type", aggregateIdentifier, 0, "Mock contents", MetaData.emptyInstance()
+        );
+        trigger.initializationFinished();
+        trigger.eventHandled(msg);
+        trigger.eventHandled(msg);
+        trigger.eventHandled(msg);
+
+        verify(mockSnapshotter, never()).scheduleSnapshot(aggregate.rootType(), attachedAggregate, 3L);
         CurrentUnitOfWork.commit();
-        verify(mockSnapshotter).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier);
+        verify(mockSnapshotter).scheduleSnapshot(aggregate.rootType(), attachedAggregate, 3L);
+        verify(mockSnapshotter, never()).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier, 3L);
+    }
+
+    @Test
+    void testSnapshotterReceivesAggregateIdentifierWhenUnitOfWorkIsCommittedByAnotherThread()
+            throws InterruptedException {
+        SnapshotTrigger trigger = testSubject.prepareTrigger(aggregate.rootType());
+        EventSourcedAggregate<?> attachedAggregate = mock(EventSourcedAggregate.class);
+        trigger.attachTo(attachedAggregate);
+        GenericDomainEventMessage<String> msg = new GenericDomainEventMessage<>(
+                "type", aggregateIdentifier, 0, "Mock contents", MetaData.emptyInstance()
+        );
+        trigger.initializationFinished();
+        trigger.eventHandled(msg);
+        trigger.eventHandled(msg);
+        trigger.eventHandled(msg);
+
+        UnitOfWork<?> unitOfWork = CurrentUnitOfWork.get();
+        CurrentUnitOfWork.clear(unitOfWork);
+        Thread committingThread = new Thread(() -> {
+            CurrentUnitOfWork.set(unitOfWork);
+            unitOfWork.commit();
+        });
+        committingThread.start();
+        committingThread.join();
+
+        verify(mockSnapshotter).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier, 3L);
+        verify(mockSnapshotter, never()).scheduleSnapshot(aggregate.rootType(), attachedAggregate, 3L);
     }
 
     @Test
@@ -118,9 +181,9 @@ void testSnapshotterIsNotTriggeredOnUnitOfWorkRollbackIfEventsHandledAfterInitia
         trigger.eventHandled(msg);
         trigger.eventHandled(msg);
 
-        verify(mockSnapshotter, never()).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier);
+        verify(mockSnapshotter, never()).scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong());
         CurrentUnitOfWork.get().rollback();
-        verify(mockSnapshotter, never()).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier);
+        verify(mockSnapshotter, never()).scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong());
     }
 
     @Test
@@ -135,9 +198,9 @@ void testSnapshotterTriggeredOnUnitOfWorkRollbackWhenEventsHandledBeforeInitiali
         trigger.eventHandled(msg);
         trigger.initializationFinished();
 
-        verify(mockSnapshotter, never()).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier);
+        verify(mockSnapshotter, never()).scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong());
         CurrentUnitOfWork.get().rollback();
-        verify(mockSnapshotter).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier);
+        verify(mockSnapshotter).scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong());
     }
 
     @Test
@@ -150,9 +213,9 @@ void testSnapshotterNotTriggered() {
         trigger.eventHandled(msg);
         trigger.eventHandled(msg);
 
-        verify(mockSnapshotter, never()).scheduleSnapshot(aggregate.getClass(), aggregateIdentifier);
+        verify(mockSnapshotter, never()).scheduleSnapshot(eq(aggregate.getClass()), eq(aggregateIdentifier), anyLong());
         CurrentUnitOfWork.commit();
-        verify(mockSnapshotter, never()).scheduleSnapshot(aggregate.getClass(), aggregateIdentifier);
+        verify(mockSnapshotter, never()).scheduleSnapshot(eq(aggregate.getClass()), eq(aggregateIdentifier), anyLong());
     }
 
     @Test
@@ -173,8 +236,8 @@ void testCounterDoesNotResetWhenSerialized() throws IOException, ClassNotFoundEx
         // this triggers the snapshot
         trigger.eventHandled(msg);
 
-        verify(mockSnapshotter, never()).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier);
+        verify(mockSnapshotter, never()).scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong());
         CurrentUnitOfWork.commit();
-        verify(mockSnapshotter).scheduleSnapshot(aggregate.rootType(), aggregateIdentifier);
+        verify(mockSnapshotter).scheduleSnapshot(eq(aggregate.rootType()), eq(aggregateIdentifier), anyLong());
     }
 }
@@ -16,6 +16,8 @@
 
 package org.axonframework.eventsourcing;
 
+import org.axonframework.common.caching.BoundedCache;
+import org.axonframework.common.caching.Cache;
 import org.axonframework.eventhandling.DomainEventMessage;
 import org.axonframework.eventhandling.EventMessage;
 import org.axonframework.eventhandling.GenericDomainEventMessage;
@@ -31,10 +33,14 @@
 import org.axonframework.modelling.command.AggregateLifecycle;
 import org.axonframework.modelling.command.AggregateRoot;
 import org.axonframework.modelling.command.ConflictingAggregateVersionException;
+import org.axonframework.serialization.SerializedObject;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.SimpleSerializedObject;
 import org.junit.jupiter.api.*;
 import org.mockito.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -190,6 +196,190 @@ void testLoadEventsWithSnapshotter() {
         inOrder.verify(snapshotTrigger, times(2)).eventHandled(any());
     }
 
+    @Test
+    void testLoadFromSnapshotCacheOnlyReadsEventsAfterCachedVersion() {
+        String identifier = UUID.randomUUID().toString();
+        String cacheKey = SnapshotCacheEntry.cacheKey("type", identifier);
+        Cache snapshotCache = BoundedCache.builder().build();
+        Serializer serializer = mock(Serializer.class);
+        when(serializer.serialize(any(), eq(byte[].class)))
+                .thenReturn(new SimpleSerializedObject<>(new byte[0], byte[].class, "type", null));
+        doAnswer(i -> new TestAggregate(identifier)).when(serializer).deserialize(any(SerializedObject.class));
+        testSubject = EventSourcingRepository.builder(TestAggregate.class)
+                                             .aggregateFactory(stubAggregateFactory)
+                                             .eventStore(mockEventStore)
+                                             .snapshotCache(snapshotCache)
+                                             .snapshotCacheSerializer(serializer)
+                                             .build();
+        when(mockEventStore.readEvents(identifier)).thenReturn(DomainEventStream.of(
+                new GenericDomainEventMessage<>("type", identifier, (long) 1, "Mock contents", emptyInstance()),
+                new GenericDomainEventMessage<>("type", identifier, (long) 2, "Mock contents", emptyInstance())
+        ));
+        DomainEventMessage<?> event3 =
+                new GenericDomainEventMessage<>("type", identifier, (long) 3, "Mock contents", emptyInstance());
+        when(mockEventStore.readEvents(identifier, 3L)).thenReturn(DomainEventStream.of(event3));
+
+        assertEquals(2L, testSubject.load(identifier).version());
+        // the cache is only updated once the Unit of Work commits
+        assertFalse(snapshotCache.containsKey(cacheKey));
+
+        unitOfWork.commit();
+        SnapshotCacheEntry cachedState = snapshotCache.get(cacheKey);
+        assertEquals(2L, cachedState.getVersion());
+        assertEquals("type", cachedState.getType());
+
+        unitOfWork = DefaultUnitOfWork.startAndGet(new GenericMessage<>("test"));
+        Aggregate<TestAggregate> result = testSubject.load(identifier);
+
+        assertEquals(3L, result.version());
+        List<EventMessage<?>> handledEvents = result.invoke(TestAggregate::getHandledEvents);
+        assertSame(event3, handledEvents.get(handledEvents.size() - 1));
+        unitOfWork.commit();
+        assertEquals(3L, ((SnapshotCacheEntry) snapshotCache.get(cacheKey)).getVersion());
+        verify(mockEventStore).readEvents(identifier);
+        verify(mockEventStore).readEvents(identifier, 3L);
+    }
+
+    @Test
+    void testPreloadIntoSnapshotCacheDoesNotVerifyLastSequenceNumbers() {
+        String identifier = UUID.randomUUID().toString();
+        Cache snapshotCache = BoundedCache.builder().build();
+        Serializer serializer = mock(Serializer.class);
+        when(serializer.serialize(any(), eq(byte[].class)))
+                .thenReturn(new SimpleSerializedObject<>(new byte[0], byte[].class, "type", null));
+        testSubject = EventSourcingRepository.builder(TestAggregate.class)
+                                             .aggregateFactory(stubAggregateFactory)
+                                             .eventStore(mockEventStore)
+                                             .snapshotCache(snapshotCache)
+                                             .snapshotCacheSerializer(serializer)
+                                             .build();
+        when(mockEventStore.readEventStreams(Collections.singletonList(identifier))).thenReturn(
+                Collections.singletonMap(identifier, DomainEventStream.of(
+                        new GenericDomainEventMessage<>("type", identifier, (long) 1, "Mock contents", emptyInstance())
+                ))
+        );
+
+        testSubject.preload(Collections.singletonList(identifier));
+
+        SnapshotCacheEntry cachedState = snapshotCache.get(SnapshotCacheEntry.cacheKey("type", identifier));
+        assertEquals(1L, cachedState.getVersion());
+        verify(mockEventStore, never()).lastSequenceNumberFor(any());
+    }
+
+    @Test
+    void testSnapshotCacheIsNotUpdatedWhenNoEventsFollowCachedVersion() {
+        String identifier = UUID.randomUUID().toString();
+        Cache snapshotCache = mock(Cache.class);
+        Serializer serializer = mock(Serializer.class);
+        SnapshotCacheEntry cachedState = mock(SnapshotCacheEntry.class);
+        when(cachedState.getType()).thenReturn("type");
+        when(cachedState.getVersion()).thenReturn(5L);
+        doReturn(new GenericDomainEventMessage<>("type", identifier, 5L, new TestAggregate(identifier)))
+                .when(cachedState).toSnapshot(serializer);
+        when(snapshotCache.get(SnapshotCacheEntry.cacheKey("type", identifier))).thenReturn(cachedState);
+        when(mockEventStore.readEvents(identifier, 6L)).thenReturn(DomainEventStream.empty());
+        testSubject = EventSourcingRepository.builder(TestAggregate.class)
+                                             .aggregateFactory(stubAggregateFactory)
+                                             .eventStore(mockEventStore)
+                                             .snapshotCache(snapshotCache)
+                                             .snapshotCacheSerializer(serializer)
+                                             .build();
+
+        assertEquals(5L, testSubject.load(identifier).version());
+        unitOfWork.commit();
+
+        verify(snapshotCache, never()).put(any(), any());
+        verify(mockEventStore, never()).readEvents(identifier);
+    }
+
+    @Test
+    void testSnapshotCacheIsUpdatedOnceAfterChangingTheAggregate() {
+        String identifier = UUID.randomUUID().toString();
+        Cache snapshotCache = BoundedCache.builder().build();
+        Serializer serializer = mock(Serializer.class);
+        when(serializer.serialize(any(), eq(byte[].class)))
+                .thenReturn(new SimpleSerializedObject<>(new byte[0], byte[].class, "type", null));
+        testSubject = EventSourcingRepository.builder(TestAggregate.class)
+                                             .aggregateFactory(stubAggregateFactory)
+                                             .eventStore(mockEventStore)
+                                             .snapshotCache(snapshotCache)
+                                             .snapshotCacheSerializer(serializer)
+                                             .build();
+        when(mockEventStore.readEvents(identifier)).thenReturn(DomainEventStream.of(
+                new GenericDomainEventMessage<>("type", identifier, (long) 1, "Mock contents", emptyInstance())
+        ));
+
+        Aggregate<TestAggregate> aggregate = testSubject.load(identifier);
+        aggregate.execute(TestAggregate::changeState);
+        aggregate.execute(TestAggregate::changeState);
+        verify(serializer, never()).serialize(any(), any());
+
+        unitOfWork.commit();
+
+        verify(serializer, times(1)).serialize(any(), eq(byte[].class));
+        assertEquals(3L, ((SnapshotCacheEntry) snapshotCache.get(SnapshotCacheEntry.cacheKey("type", identifier)))
+                .getVersion());
+    }
+
+    @Test
+    void testSnapshotCacheEntriesOfOtherAggregateTypesAreIgnored() {
+        String identifier = UUID.randomUUID().toString();
+        Cache snapshotCache = mock(Cache.class);
+        SnapshotCacheEntry cachedState = mock(SnapshotCacheEntry.class);
+        when(cachedState.getType()).thenReturn("otherType");
+        when(snapshotCache.get(SnapshotCacheEntry.cacheKey("type", identifier))).thenReturn(cachedState);
+        testSubject = EventSourcingRepository.builder(TestAggregate.class)
+                                             .aggregateFactory(stubAggregateFactory)
+                                             .eventStore(mockEventStore)
+                                             .snapshotCache(snapshotCache)
+                                             .snapshotCacheSerializer(mock(Serializer.class))
+                                             .build();
+        when(mockEventStore.readEvents(identifier)).thenReturn(DomainEventStream.of(
+                new GenericDomainEventMessage<>("type", identifier, (long) 1, "Mock contents", emptyInstance())
+        ));
+
+        assertEquals(1L, testSubject.load(identifier).version());
+
+        verify(cachedState, never()).toSnapshot(any());
+        verify(mockEventStore, never()).readEvents(eq(identifier), anyLong());
+    }
+
+    @Test
+    void testAggregatesFoundInSnapshotCacheAreLoadedThroughReadEventsFromSequenceNumber() {
+        String identifier = UUID.randomUUID().toString();
+        Serializer serializer = mock(Serializer.class);
+        when(serializer.serialize(any(), eq(byte[].class)))
+                .thenReturn(new SimpleSerializedObject<>(new byte[0], byte[].class, "type", null));
+        doAnswer(i -> new TestAggregate(identifier)).when(serializer).deserialize(any(SerializedObject.class));
+        List<Long> readSequenceNumbers = new ArrayList<>();
+        testSubject = new EventSourcingRepository<TestAggregate>(
+                EventSourcingRepository.builder(TestAggregate.class)
+                                       .aggregateFactory(stubAggregateFactory)
+                                       .eventStore(mockEventStore)
+                                       .snapshotCache(BoundedCache.builder().build())
+                                       .snapshotCacheSerializer(serializer)
+        ) {
+            @Override
+            protected DomainEventStream readEvents(String aggregateIdentifier, long firstSequenceNumber) {
+                readSequenceNumbers.add(firstSequenceNumber);
+                return super.readEvents(aggregateIdentifier, firstSequenceNumber);
+            }
+        };
+        when(mockEventStore.readEvents(identifier)).thenReturn(DomainEventStream.of(
+                new GenericDomainEventMessage<>("type", identifier, (long) 1, "Mock contents", emptyInstance())
+        ));
+        when(mockEventStore.readEvents(identifier, 2L)).thenReturn(DomainEventStream.empty());
+
+        testSubject.load(identifier);
+        unitOfWork.commit();
+        unitOfWork = DefaultUnitOfWork.startAndGet(new GenericMessage<>("test"));
+        testSubject.load(identifier);
+        unitOfWork.commit();
+
+        assertEquals(Collections.singletonList(2L), readSequenceNumbers);
+        verify(mockEventStore).readEvents(identifier);
+    }
+
     private static class StubAggregateFactory extends AbstractAggregateFactory<TestAggregate> {
 
         public StubAggregateFactory() {
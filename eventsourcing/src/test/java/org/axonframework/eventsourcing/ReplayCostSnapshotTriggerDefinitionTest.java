@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventsourcing;
+
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.eventhandling.DomainEventMessage;
+import org.axonframework.eventhandling.GenericDomainEventMessage;
+import org.axonframework.eventsourcing.utils.StubAggregate;
+import org.axonframework.messaging.MetaData;
+import org.axonframework.monitoring.MessageMonitor;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.SimpleSerializedObject;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Clock;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link ReplayCostSnapshotTriggerDefinition}.
+ */
+class ReplayCostSnapshotTriggerDefinitionTest {
+
+    private static final String AGGREGATE_IDENTIFIER = "aggregateIdentifier";
+
+    private AbstractSnapshotter mockSnapshotter;
+    private Serializer mockSerializer;
+    private Clock mockClock;
+    private MessageMonitor<DomainEventMessage<?>> mockMonitor;
+    private MessageMonitor.MonitorCallback mockCallback;
+    private ReplayCostSnapshotTriggerDefinition testSubject;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        mockSnapshotter = mock(AbstractSnapshotter.class);
+        mockSerializer = mock(Serializer.class);
+        // the serialized size of a String payload equals its length, any other payload weighs 100 bytes
+        when(mockSerializer.serialize(any(), eq(byte[].class))).thenAnswer(invocation -> {
+            Object payload = invocation.getArgument(0);
+            int size = payload instanceof String ? ((String) payload).length() : 100;
+            return new SimpleSerializedObject<>(new byte[size], byte[].class, "type", null);
+        });
+        when(mockSerializer.serialize(any(MetaData.class), eq(byte[].class)))
+                .thenReturn(new SimpleSerializedObject<>(new byte[0], byte[].class, "metaData", null));
+        mockClock = mock(Clock.class);
+        mockMonitor = mock(MessageMonitor.class);
+        mockCallback = mock(MessageMonitor.MonitorCallback.class);
+        when(mockMonitor.onMessageIngested(any())).thenReturn(mockCallback);
+        testSubject = ReplayCostSnapshotTriggerDefinition.builder()
+                                                         .snapshotter(mockSnapshotter)
+                                                         .serializer(mockSerializer)
+                                                         .replayedBytesThreshold(30)
+                                                         .loadTimeMillisThreshold(1000)
+                                                         .messageMonitor(mockMonitor)
+                                                         .clock(mockClock)
+                                                         .build();
+    }
+
+    @Test
+    void testSnapshotTriggeredWhenBytesSinceLastSnapshotExceedThreshold() {
+        SnapshotTrigger trigger = testSubject.prepareTrigger(StubAggregate.class);
+        for (int i = 0; i < 5; i++) {
+            trigger.eventHandled(event(i, "12345"));
+        }
+        trigger.initializationFinished();
+
+        trigger.eventHandled(event(5, "12345"));
+        verify(mockSnapshotter, never()).scheduleSnapshot(eq(StubAggregate.class), anyString(), anyLong());
+
+        trigger.eventHandled(event(6, "12345"));
+        verify(mockSnapshotter).scheduleSnapshot(StubAggregate.class, AGGREGATE_IDENTIFIER, 7L);
+    }
+
+    @Test
+    void testLargePayloadsTriggerSnapshotAfterFewerEvents() {
+        SnapshotTrigger trigger = testSubject.prepareTrigger(StubAggregate.class);
+        trigger.initializationFinished();
+
+        trigger.eventHandled(event(0, "a payload larger than thirty bytes"));
+
+        verify(mockSnapshotter).scheduleSnapshot(StubAggregate.class, AGGREGATE_IDENTIFIER, 1L);
+    }
+
+    @Test
+    void testSnapshotEventIsNotCountedAsReplayedBytes() {
+        SnapshotTrigger trigger = testSubject.prepareTrigger(StubAggregate.class);
+        trigger.eventHandled(new GenericDomainEventMessage<>(
+                "type", AGGREGATE_IDENTIFIER, 10, new StubAggregate(AGGREGATE_IDENTIFIER)
+        ));
+        trigger.eventHandled(event(11, "12345"));
+        trigger.initializationFinished();
+
+        trigger.eventHandled(event(12, "12345"));
+
+        verify(mockSnapshotter, never()).scheduleSnapshot(eq(StubAggregate.class), anyString(), anyLong());
+    }
+
+    @Test
+    void testSnapshotTriggeredWhenLoadTimeExceedsThreshold() {
+        when(mockClock.millis()).thenReturn(0L);
+        SnapshotTrigger trigger = testSubject.prepareTrigger(StubAggregate.class);
+        trigger.eventHandled(event(0, "1"));
+        verify(mockSnapshotter, never()).scheduleSnapshot(eq(StubAggregate.class), anyString(), anyLong());
+
+        when(mockClock.millis()).thenReturn(1500L);
+        trigger.eventHandled(event(1, "1"));
+
+        verify(mockSnapshotter).scheduleSnapshot(StubAggregate.class, AGGREGATE_IDENTIFIER, 2L);
+    }
+
+    @Test
+    void testMeasuredLoadTimeTriggersSnapshotOnNextEvent() {
+        when(mockClock.millis()).thenReturn(0L);
+        SnapshotTrigger trigger = testSubject.prepareTrigger(StubAggregate.class);
+        trigger.eventHandled(event(0, "1"));
+        when(mockClock.millis()).thenReturn(1500L);
+        trigger.initializationFinished();
+        verify(mockSnapshotter, never()).scheduleSnapshot(eq(StubAggregate.class), anyString(), anyLong());
+
+        trigger.eventHandled(event(1, "1"));
+
+        verify(mockSnapshotter).scheduleSnapshot(StubAggregate.class, AGGREGATE_IDENTIFIER, 2L);
+    }
+
+    @Test
+    void testMessageMonitorIsNotifiedOfAggregateLoad() {
+        SnapshotTrigger trigger = testSubject.prepareTrigger(StubAggregate.class);
+        DomainEventMessage<String> firstEvent = event(0, "1");
+        trigger.eventHandled(firstEvent);
+        trigger.eventHandled(event(1, "1"));
+        verify(mockMonitor).onMessageIngested(firstEvent);
+        verifyNoInteractions(mockCallback);
+
+        trigger.initializationFinished();
+        trigger.eventHandled(event(2, "1"));
+
+        verify(mockCallback).reportSuccess();
+        verifyNoMoreInteractions(mockMonitor, mockCallback);
+    }
+
+    @Test
+    void testStatisticsAreKeptWhenTriggerIsSerialized() throws IOException, ClassNotFoundException {
+        SnapshotTrigger trigger = testSubject.prepareTrigger(StubAggregate.class);
+        for (int i = 0; i < 6; i++) {
+            trigger.eventHandled(event(i, "12345"));
+        }
+        trigger.initializationFinished();
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(baos);
+        oos.writeObject(trigger);
+        trigger = (SnapshotTrigger) new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray())).readObject();
+        trigger = testSubject.reconfigure(StubAggregate.class, trigger);
+        trigger.eventHandled(event(6, "12345"));
+
+        verify(mockSnapshotter).scheduleSnapshot(StubAggregate.class, AGGREGATE_IDENTIFIER, 7L);
+    }
+
+    @Test
+    void testBuildWithoutSnapshotterOrSerializerThrowsAxonConfigurationException() {
+        assertThrows(AxonConfigurationException.class,
+                     () -> ReplayCostSnapshotTriggerDefinition.builder().serializer(mockSerializer).build());
+        assertThrows(AxonConfigurationException.class,
+                     () -> ReplayCostSnapshotTriggerDefinition.builder().snapshotter(mockSnapshotter).build());
+    }
+
+    @Test
+    void testBuildWithNonPositiveThresholdsThrowsAxonConfigurationException() {
+        ReplayCostSnapshotTriggerDefinition.Builder builderTestSubject = ReplayCostSnapshotTriggerDefinition.builder();
+
+        assertThrows(AxonConfigurationException.class, () -> builderTestSubject.replayedBytesThreshold(0));
+        assertThrows(AxonConfigurationException.class, () -> builderTestSubject.loadTimeMillisThreshold(0));
+    }
+
+    private static DomainEventMessage<String> event(long sequenceNumber, String payload) {
+        return new GenericDomainEventMessage<>("type", AGGREGATE_IDENTIFIER, sequenceNumber, payload);
+    }
+}
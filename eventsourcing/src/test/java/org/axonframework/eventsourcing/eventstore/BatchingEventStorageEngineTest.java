@@ -20,9 +20,15 @@
 import org.junit.jupiter.api.*;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
 import static org.axonframework.eventsourcing.utils.EventStoreTestUtils.AGGREGATE;
+import static org.axonframework.eventsourcing.utils.EventStoreTestUtils.createEvent;
 import static org.axonframework.eventsourcing.utils.EventStoreTestUtils.createEvents;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -48,6 +54,40 @@ void testLoadLargeAmountOfEvents() {
         assertEquals(eventCount - 1, resultEventMessage.get().getSequenceNumber());
     }
 
+    @Test
+    void testReadEventStreamsOfSeveralAggregates() {
+        testSubject.appendEvents(createEvents(5));
+        testSubject.appendEvents(createEvent("otherAggregate", 0), createEvent("otherAggregate", 1));
+        Map<String, Long> firstSequenceNumbers = new LinkedHashMap<>();
+        firstSequenceNumbers.put(AGGREGATE, 2L);
+        firstSequenceNumbers.put("otherAggregate", 0L);
+        firstSequenceNumbers.put("unknownAggregate", 0L);
+
+        Map<String, DomainEventStream> result = testSubject.readEventStreams(firstSequenceNumbers);
+
+        assertEquals(asList(2L, 3L, 4L), sequenceNumbersOf(result.get(AGGREGATE)));
+        assertEquals(asList(0L, 1L), sequenceNumbersOf(result.get("otherAggregate")));
+        assertTrue(sequenceNumbersOf(result.get("unknownAggregate")).isEmpty());
+    }
+
+    @Test
+    void testReadSnapshotsOfSeveralAggregates() {
+        testSubject.storeSnapshot(createEvent(1));
+        testSubject.storeSnapshot(createEvent(3));
+        testSubject.storeSnapshot(createEvent("otherAggregate", 2));
+
+        Map<String, DomainEventMessage<?>> result =
+                testSubject.readSnapshots(asList(AGGREGATE, "otherAggregate", "unknownAggregate"));
+
+        assertEquals(3L, result.get(AGGREGATE).getSequenceNumber());
+        assertEquals(2L, result.get("otherAggregate").getSequenceNumber());
+        assertFalse(result.containsKey("unknownAggregate"));
+    }
+
+    private static List<Long> sequenceNumbersOf(DomainEventStream eventStream) {
+        return eventStream.asStream().map(DomainEventMessage::getSequenceNumber).collect(toList());
+    }
+
     protected void setTestSubject(BatchingEventStorageEngine testSubject) {
         super.setTestSubject(this.testSubject = testSubject);
     }
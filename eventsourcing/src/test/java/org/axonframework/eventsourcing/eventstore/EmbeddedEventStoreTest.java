@@ -16,6 +16,7 @@
 
 package org.axonframework.eventsourcing.eventstore;
 
+import org.axonframework.common.AxonConfigurationException;
 import org.axonframework.common.AxonThreadFactory;
 import org.axonframework.eventhandling.DomainEventMessage;
 import org.axonframework.eventhandling.EventMessage;
@@ -43,6 +44,7 @@
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -54,12 +56,15 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyBoolean;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -425,6 +430,148 @@ void testEventStreamKeepsReturningEventsIfEventConsumptionOptimizationIsSwitched
         assertFalse(eventStream.hasNextAvailable()); // Should have no events anymore
     }
 
+    @Test
+    @Timeout(5)
+    void testPrefetchingPrivateStreamReturnsAllEventsInOrder() throws InterruptedException {
+        testSubject.shutDown();
+        testSubject = EmbeddedEventStore.builder()
+                                        .storageEngine(storageEngine)
+                                        .threadFactory(threadFactory)
+                                        .optimizeEventConsumption(false)
+                                        .prefetchedEvents(5)
+                                        .build();
+        List<DomainEventMessage<?>> events = createEvents(20);
+        testSubject.publish(events);
+
+        TrackingEventStream eventStream = testSubject.openStream(null);
+        for (DomainEventMessage<?> expected : events) {
+            assertTrue(eventStream.hasNextAvailable());
+            assertEquals(expected.getIdentifier(), eventStream.nextAvailable().getIdentifier());
+        }
+        assertFalse(eventStream.hasNextAvailable());
+
+        DomainEventMessage<?> expected = createEvent(AGGREGATE, 20);
+        testSubject.publish(expected);
+        assertTrue(eventStream.hasNextAvailable(1, TimeUnit.SECONDS));
+        assertEquals(expected.getIdentifier(), eventStream.nextAvailable().getIdentifier());
+        eventStream.close();
+    }
+
+    @Test
+    void testBuildWithNegativePrefetchedEventsThrowsAxonConfigurationException() {
+        EmbeddedEventStore.Builder builderTestSubject = EmbeddedEventStore.builder();
+
+        assertThrows(AxonConfigurationException.class, () -> builderTestSubject.prefetchedEvents(-1));
+    }
+
+    @Test
+    @Timeout(value = 5)
+    void testConsumerStopsTailingWhenItFallsBehindTheCacheBoundedInBytes() throws Exception {
+        testSubject.shutDown();
+        testSubject = EmbeddedEventStore.builder()
+                                        .storageEngine(storageEngine)
+                                        .cachedEvents(1000)
+                                        .cachedBytes(CACHED_EVENTS * 100)
+                                        .eventSizeEstimator(event -> 100)
+                                        .cleanupDelay(20)
+                                        .threadFactory(threadFactory)
+                                        .build();
+        TrackingEventStream stream = testSubject.openStream(null);
+        assertFalse(stream.hasNextAvailable()); //now we should be tailing
+        testSubject.publish(createEvents(CACHED_EVENTS)); //triggers event producer to open a stream
+        Thread.sleep(100);
+        reset(storageEngine);
+        assertTrue(stream.hasNextAvailable());
+        TrackedEventMessage<?> firstEvent = stream.nextAvailable();
+        verifyZeroInteractions(storageEngine);
+        testSubject.publish(createEvent(CACHED_EVENTS), createEvent(CACHED_EVENTS + 1));
+        Thread.sleep(100); //allow the cleaner thread to evict the consumer
+        reset(storageEngine);
+        assertTrue(stream.hasNextAvailable());
+        verify(storageEngine).readEvents(firstEvent.trackingToken(), false);
+    }
+
+    @Test
+    @Timeout(value = 5)
+    void testStreamOpenedAtCachedTokenReadsRemainingCachedEvents() throws Exception {
+        TrackingEventStream stream = testSubject.openStream(null);
+        assertFalse(stream.hasNextAvailable()); //now we should be tailing
+        testSubject.publish(createEvents(5));
+        List<TrackedEventMessage<?>> events = stream.asStream().limit(5).collect(toList());
+        reset(storageEngine);
+
+        TrackingEventStream secondStream = testSubject.openStream(events.get(1).trackingToken());
+        for (TrackedEventMessage<?> expected : events.subList(2, 5)) {
+            assertSame(expected, secondStream.nextAvailable());
+        }
+        verifyZeroInteractions(storageEngine);
+    }
+
+    @Test
+    void testBuildWithNonPositiveCachedBytesThrowsAxonConfigurationException() {
+        EmbeddedEventStore.Builder builderTestSubject = EmbeddedEventStore.builder();
+
+        assertThrows(AxonConfigurationException.class, () -> builderTestSubject.cachedBytes(0));
+    }
+
+    @Test
+    void testBuildWithNullEventSizeEstimatorThrowsAxonConfigurationException() {
+        EmbeddedEventStore.Builder builderTestSubject = EmbeddedEventStore.builder();
+
+        assertThrows(AxonConfigurationException.class, () -> builderTestSubject.eventSizeEstimator(null));
+    }
+
+    @Test
+    @Timeout(value = 5)
+    void testCommittedEventsArePushedToTailingConsumersWithoutReadingFromStorage() throws Exception {
+        testSubject.shutDown();
+        testSubject = EmbeddedEventStore.builder()
+                                        .storageEngine(storageEngine)
+                                        .threadFactory(threadFactory)
+                                        .pushCommittedEvents(true)
+                                        .build();
+        TrackingEventStream stream = testSubject.openStream(null);
+        assertFalse(stream.hasNextAvailable()); //now we should be tailing
+        testSubject.publish(createEvent(0)); //the first event is read from storage, as the cache is empty
+        assertEquals(0, ((DomainEventMessage<?>) stream.nextAvailable()).getSequenceNumber());
+        Thread.sleep(100);
+        reset(storageEngine);
+
+        UnitOfWork<?> unitOfWork = DefaultUnitOfWork.startAndGet(null);
+        testSubject.publish(createEvent(1), createEvent(2));
+        unitOfWork.commit();
+        testSubject.publish(createEvent(3));
+
+        for (int i = 1; i <= 3; i++) {
+            assertEquals(i, ((DomainEventMessage<?>) stream.nextAvailable()).getSequenceNumber());
+        }
+        verify(storageEngine, never()).readEvents(any(TrackingToken.class), anyBoolean());
+    }
+
+    @Test
+    @Timeout(value = 5)
+    void testPushedEventsFallBackToReadingFromStorageWhenOtherWritersAppendedEvents() throws Exception {
+        testSubject.shutDown();
+        testSubject = EmbeddedEventStore.builder()
+                                        .storageEngine(storageEngine)
+                                        .threadFactory(threadFactory)
+                                        .pushCommittedEvents(true)
+                                        .build();
+        TrackingEventStream stream = testSubject.openStream(null);
+        assertFalse(stream.hasNextAvailable()); //now we should be tailing
+        testSubject.publish(createEvent(0));
+        TrackedEventMessage<?> first = stream.nextAvailable();
+        Thread.sleep(100);
+        reset(storageEngine);
+
+        storageEngine.appendEvents(createEvent(1)); //appended by another writer, without notifying the event store
+        testSubject.publish(createEvent(2));
+
+        assertEquals(1, ((DomainEventMessage<?>) stream.nextAvailable()).getSequenceNumber());
+        assertEquals(2, ((DomainEventMessage<?>) stream.nextAvailable()).getSequenceNumber());
+        verify(storageEngine).readEvents(first.trackingToken(), true);
+    }
+
     private static class SynchronizedBooleanAnswer implements Answer<Boolean> {
 
         private final boolean answer;
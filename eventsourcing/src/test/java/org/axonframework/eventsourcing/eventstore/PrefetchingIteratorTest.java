@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventsourcing.eventstore;
+
+import org.axonframework.common.AxonThreadFactory;
+import org.axonframework.eventsourcing.utils.MockException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class validating the {@link PrefetchingIterator}.
+ */
+class PrefetchingIteratorTest {
+
+    private final ThreadFactory threadFactory = new AxonThreadFactory(PrefetchingIteratorTest.class.getSimpleName());
+
+    @Test
+    @Timeout(5)
+    void testElementsAreReturnedInOrder() {
+        List<Integer> expected = IntStream.range(0, 100).boxed().collect(toList());
+        PrefetchingIterator<Integer> testSubject = new PrefetchingIterator<>(expected.stream(), 10, threadFactory);
+
+        List<Integer> actual = new ArrayList<>();
+        testSubject.forEachRemaining(actual::add);
+
+        assertEquals(expected, actual);
+        assertFalse(testSubject.hasNext());
+    }
+
+    @Test
+    @Timeout(5)
+    void testReadingAheadIsBoundedByCapacity() throws InterruptedException {
+        AtomicInteger elementsRead = new AtomicInteger();
+        Stream<Integer> source = IntStream.range(0, 100).boxed().peek(i -> elementsRead.incrementAndGet());
+        PrefetchingIterator<Integer> testSubject = new PrefetchingIterator<>(source, 5, threadFactory);
+
+        assertEquals(0, (int) testSubject.next());
+        // the consumed element, five buffered elements and one element waiting for space in the buffer
+        while (elementsRead.get() < 7) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        assertEquals(7, elementsRead.get());
+
+        testSubject.close();
+    }
+
+    @Test
+    @Timeout(5)
+    void testExceptionFromSourceIsRethrownAfterPrecedingElements() {
+        Stream<Integer> source = IntStream.range(0, 3).boxed().map(i -> {
+            if (i == 2) {
+                throw new MockException();
+            }
+            return i;
+        });
+        PrefetchingIterator<Integer> testSubject = new PrefetchingIterator<>(source, 10, threadFactory);
+
+        assertEquals(0, (int) testSubject.next());
+        assertEquals(1, (int) testSubject.next());
+        assertThrows(MockException.class, testSubject::hasNext);
+    }
+
+    @Test
+    @Timeout(5)
+    void testClosingTheStreamClosesTheSource() {
+        AtomicBoolean sourceClosed = new AtomicBoolean();
+        Stream<Integer> source = IntStream.range(0, 100).boxed().onClose(() -> sourceClosed.set(true));
+        Stream<Integer> testSubject = PrefetchingIterator.prefetch(source, 5, threadFactory);
+
+        assertEquals(0, (int) testSubject.iterator().next());
+        testSubject.close();
+
+        while (!sourceClosed.get()) {
+            Thread.yield();
+        }
+        assertTrue(sourceClosed.get());
+    }
+
+    @Test
+    @Timeout(5)
+    void testPrefetchingResumesOnTheSameThreadWhenMoreElementsBecomeAvailable() {
+        List<Integer> elements = new CopyOnWriteArrayList<>();
+        Iterator<Integer> growingIterator = new Iterator<Integer>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < elements.size();
+            }
+
+            @Override
+            public Integer next() {
+                return elements.get(index++);
+            }
+        };
+        Stream<Integer> source = StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(growingIterator, Spliterator.ORDERED), false
+        );
+        List<Thread> createdThreads = new CopyOnWriteArrayList<>();
+        PrefetchingIterator<Integer> testSubject = new PrefetchingIterator<>(source, 10, runnable -> {
+            Thread thread = threadFactory.newThread(runnable);
+            createdThreads.add(thread);
+            return thread;
+        });
+
+        for (int round = 0; round < 3; round++) {
+            elements.add(round);
+            assertTrue(testSubject.hasNext());
+            assertEquals(round, (int) testSubject.next());
+            assertFalse(testSubject.hasNext());
+        }
+
+        assertEquals(1, createdThreads.size());
+        testSubject.close();
+    }
+
+    @Test
+    @Timeout(5)
+    void testInterruptingThePrefetchingThreadFailsTheConsumer() {
+        AtomicBoolean sourceClosed = new AtomicBoolean();
+        Stream<Integer> source = IntStream.range(0, 100).boxed().onClose(() -> sourceClosed.set(true));
+        List<Thread> createdThreads = new CopyOnWriteArrayList<>();
+        PrefetchingIterator<Integer> testSubject = new PrefetchingIterator<>(source, 1, runnable -> {
+            Thread thread = threadFactory.newThread(runnable);
+            createdThreads.add(thread);
+            return thread;
+        });
+
+        assertEquals(0, (int) testSubject.next());
+        createdThreads.forEach(Thread::interrupt);
+
+        assertThrows(EventStoreException.class, () -> {
+            while (testSubject.hasNext()) {
+                testSubject.next();
+            }
+        });
+        assertFalse(testSubject.hasNext());
+        assertTrue(sourceClosed.get());
+    }
+}
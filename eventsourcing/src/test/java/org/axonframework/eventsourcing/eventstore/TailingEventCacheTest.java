@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventsourcing.eventstore;
+
+import org.axonframework.eventhandling.GenericEventMessage;
+import org.axonframework.eventhandling.GenericTrackedEventMessage;
+import org.axonframework.eventhandling.GlobalSequenceTrackingToken;
+import org.axonframework.eventhandling.TrackedEventMessage;
+import org.axonframework.eventhandling.TrackingToken;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class validating the {@link TailingEventCache}.
+ */
+class TailingEventCacheTest {
+
+    @Test
+    void testEmptyCache() {
+        TailingEventCache testSubject = new TailingEventCache(5, Long.MAX_VALUE, event -> 1);
+
+        assertTrue(testSubject.isEmpty());
+        assertNull(testSubject.oldest());
+        assertNull(testSubject.get(0));
+        assertEquals(-1, testSubject.newestIndex());
+        assertEquals(-1, testSubject.indexOf(token(0)));
+        assertEquals(-1, testSubject.indexAfter(null));
+    }
+
+    @Test
+    void testAppendedEventsAreFoundByIndexAndToken() {
+        TailingEventCache testSubject = new TailingEventCache(5, Long.MAX_VALUE, event -> 1);
+        TrackedEventMessage<?> first = event(0);
+        TrackedEventMessage<?> second = event(1);
+
+        testSubject.append(null, first);
+        testSubject.append(first.trackingToken(), second);
+
+        assertFalse(testSubject.isEmpty());
+        assertSame(first, testSubject.get(0).event);
+        assertSame(second, testSubject.get(1).event);
+        assertNull(testSubject.get(2));
+        assertEquals(1, testSubject.indexOf(token(1)));
+        assertEquals(0, testSubject.indexAfter(null));
+        assertEquals(1, testSubject.indexAfter(token(0)));
+        assertEquals(2, testSubject.indexAfter(token(1)));
+        assertEquals(-1, testSubject.indexAfter(token(5)));
+    }
+
+    @Test
+    void testOldestEventsAreEvictedOnceMaxEventsIsReached() {
+        TailingEventCache testSubject = new TailingEventCache(5, Long.MAX_VALUE, event -> 1);
+
+        appendEvents(testSubject, 12);
+
+        assertEquals(7, testSubject.oldestIndex());
+        assertEquals(11, testSubject.newestIndex());
+        assertSame(testSubject.get(7), testSubject.oldest());
+        assertNull(testSubject.get(6));
+        assertEquals(-1, testSubject.indexOf(token(6)));
+        assertEquals(8, testSubject.indexOf(token(8)));
+        // the oldest cached event can still be found through the token of the event preceding it
+        assertEquals(7, testSubject.indexAfter(token(6)));
+        assertEquals(-1, testSubject.indexAfter(token(5)));
+    }
+
+    @Test
+    void testOldestEventsAreEvictedOnceMaxBytesIsReached() {
+        TailingEventCache testSubject = new TailingEventCache(100, 10, event -> {
+            long index = ((GlobalSequenceTrackingToken) event.trackingToken()).getGlobalIndex();
+            return index == 5 ? 50 : 3;
+        });
+
+        appendEvents(testSubject, 5);
+        assertEquals(2, testSubject.oldestIndex());
+        assertEquals(4, testSubject.newestIndex());
+
+        // an event exceeding the maximum size by itself is still cached, as the newest event
+        appendEvents(testSubject, 5, 6);
+        assertEquals(5, testSubject.oldestIndex());
+        assertEquals(5, testSubject.newestIndex());
+
+        appendEvents(testSubject, 6, 8);
+        assertEquals(6, testSubject.oldestIndex());
+        assertEquals(7, testSubject.newestIndex());
+    }
+
+    @Test
+    void testCachedEventsRemainAvailableWhileTheCacheGrows() {
+        TailingEventCache testSubject = new TailingEventCache(100, Long.MAX_VALUE, event -> 1);
+
+        appendEvents(testSubject, 250);
+
+        assertEquals(150, testSubject.oldestIndex());
+        assertEquals(249, testSubject.newestIndex());
+        assertNull(testSubject.get(149));
+        for (int i = 150; i < 250; i++) {
+            assertSame(testSubject.get(i), testSubject.get(testSubject.indexOf(token(i))));
+            assertEquals(token(i), testSubject.get(i).event.trackingToken());
+        }
+    }
+
+    @Test
+    void testCacheWithoutCapacityRetainsNoEvents() {
+        TailingEventCache testSubject = new TailingEventCache(0, Long.MAX_VALUE, event -> 1);
+
+        appendEvents(testSubject, 3);
+
+        assertTrue(testSubject.isEmpty());
+        assertNull(testSubject.oldest());
+        assertNull(testSubject.get(2));
+        assertEquals(2, testSubject.newestIndex());
+        assertEquals(-1, testSubject.indexOf(token(2)));
+        assertEquals(-1, testSubject.indexAfter(token(2)));
+    }
+
+    private static void appendEvents(TailingEventCache cache, int count) {
+        appendEvents(cache, 0, count);
+    }
+
+    private static void appendEvents(TailingEventCache cache, int from, int to) {
+        for (int i = from; i < to; i++) {
+            cache.append(i == 0 ? null : token(i - 1), event(i));
+        }
+    }
+
+    private static TrackingToken token(long index) {
+        return new GlobalSequenceTrackingToken(index);
+    }
+
+    private static TrackedEventMessage<?> event(long index) {
+        return new GenericTrackedEventMessage<>(token(index), GenericEventMessage.asEventMessage("event-" + index));
+    }
+}
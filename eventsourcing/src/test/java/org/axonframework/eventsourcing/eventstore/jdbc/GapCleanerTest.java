@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventsourcing.eventstore.jdbc;
+
+import org.axonframework.eventhandling.GapAwareTrackingToken;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link GapCleaner}.
+ */
+class GapCleanerTest {
+
+    private List<SortedSet<Long>> verifiedGaps;
+    private SortedSet<Long> timedOutGaps;
+    private ScheduledExecutorService executorService;
+
+    private GapCleaner testSubject;
+
+    @BeforeEach
+    void setUp() {
+        verifiedGaps = new ArrayList<>();
+        timedOutGaps = new TreeSet<>();
+        executorService = mock(ScheduledExecutorService.class);
+
+        testSubject = new GapCleaner(gaps -> {
+            verifiedGaps.add(new TreeSet<>(gaps));
+            return timedOutGaps;
+        }, executorService, 100);
+    }
+
+    @Test
+    void testVerificationIsScheduledOnFirstRegistration() {
+        verifyNoInteractions(executorService);
+
+        testSubject.register(asList(1L, 2L));
+        testSubject.register(asList(3L));
+
+        verify(executorService).scheduleWithFixedDelay(any(), eq(100L), eq(100L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testIdenticalGapsRegisteredByMultipleStreamsAreVerifiedOnce() {
+        testSubject.register(asList(1L, 2L, 5L));
+        testSubject.register(asList(1L, 2L, 5L));
+
+        testSubject.verifyRegisteredGaps();
+        testSubject.verifyRegisteredGaps();
+
+        assertEquals(1, verifiedGaps.size());
+        assertEquals(new TreeSet<>(asList(1L, 2L, 5L)), verifiedGaps.get(0));
+    }
+
+    @Test
+    void testGapsRegisteredByDifferentStreamsAreVerifiedSeparately() {
+        testSubject = new GapCleaner(gaps -> {
+            verifiedGaps.add(new TreeSet<>(gaps));
+            // the gaps of the lagging stream have been filled, only those of the stream at the head timed out
+            return gaps.first() < 100L ? new TreeSet<>() : gaps.headSet(1002L);
+        }, executorService, 100);
+        testSubject.register(asList(1L, 2L));
+        testSubject.register(asList(1000L, 1001L, 1002L));
+
+        testSubject.verifyRegisteredGaps();
+
+        assertEquals(2, verifiedGaps.size());
+        assertTrue(verifiedGaps.contains(new TreeSet<>(asList(1L, 2L))));
+        assertTrue(verifiedGaps.contains(new TreeSet<>(asList(1000L, 1001L, 1002L))));
+        GapAwareTrackingToken laggingToken = GapAwareTrackingToken.newInstance(10, asList(1L, 2L));
+        assertEquals(laggingToken.getGaps(), testSubject.clean(laggingToken).getGaps());
+        GapAwareTrackingToken headToken = GapAwareTrackingToken.newInstance(2000, asList(1000L, 1001L, 1002L));
+        assertEquals(new TreeSet<>(asList(1002L)), testSubject.clean(headToken).getGaps());
+    }
+
+    @Test
+    void testCleanRemovesLowestTimedOutGaps() {
+        timedOutGaps.addAll(asList(1L, 2L, 5L));
+        testSubject.register(asList(1L, 2L, 3L, 5L));
+        testSubject.verifyRegisteredGaps();
+
+        GapAwareTrackingToken result = testSubject.clean(GapAwareTrackingToken.newInstance(10, asList(1L, 2L, 3L, 5L)));
+
+        assertEquals(new TreeSet<>(asList(3L, 5L)), result.getGaps());
+    }
+
+    @Test
+    void testCleanRemovesAllGapsIfAllTimedOut() {
+        timedOutGaps.addAll(asList(1L, 2L));
+        testSubject.register(asList(1L, 2L));
+        testSubject.verifyRegisteredGaps();
+
+        GapAwareTrackingToken result = testSubject.clean(GapAwareTrackingToken.newInstance(10, asList(1L, 2L)));
+
+        assertFalse(result.hasGaps());
+        assertEquals(10L, result.getIndex());
+    }
+
+    @Test
+    void testCleanReturnsGivenTokenBeforeVerification() {
+        GapAwareTrackingToken token = GapAwareTrackingToken.newInstance(10, asList(1L, 2L));
+
+        assertSame(token, testSubject.clean(token));
+        assertNull(testSubject.clean(null));
+    }
+
+    @Test
+    void testFailedVerificationIsRetried() {
+        testSubject = new GapCleaner(gaps -> {
+            verifiedGaps.add(new TreeSet<>(gaps));
+            if (verifiedGaps.size() == 1) {
+                throw new IllegalStateException("Connection failure");
+            }
+            return gaps.headSet(2L);
+        }, executorService, 100);
+        testSubject.register(asList(1L, 2L));
+
+        testSubject.verifyRegisteredGaps();
+        testSubject.verifyRegisteredGaps();
+
+        assertEquals(2, verifiedGaps.size());
+        assertEquals(verifiedGaps.get(0), verifiedGaps.get(1));
+        GapAwareTrackingToken result = testSubject.clean(GapAwareTrackingToken.newInstance(10, asList(1L, 2L)));
+        assertEquals(new TreeSet<>(asList(2L)), result.getGaps());
+    }
+}
@@ -16,6 +16,7 @@
 
 package org.axonframework.eventsourcing.eventstore.jdbc;
 
+import org.axonframework.common.AxonConfigurationException;
 import org.axonframework.common.jdbc.PersistenceExceptionResolver;
 import org.axonframework.common.transaction.NoTransactionManager;
 import org.axonframework.eventhandling.DomainEventMessage;
@@ -27,7 +28,9 @@
 import org.axonframework.eventhandling.TrackingToken;
 import org.axonframework.eventsourcing.eventstore.BatchingEventStorageEngineTest;
 import org.axonframework.eventsourcing.eventstore.EmbeddedEventStore;
+import org.axonframework.eventsourcing.eventstore.jdbc.statements.MultiRowAppendEventsStatementBuilder;
 import org.axonframework.eventsourcing.eventstore.jpa.SQLErrorCodesResolver;
+import org.axonframework.modelling.command.ConcurrencyException;
 import org.axonframework.serialization.UnknownSerializedType;
 import org.hsqldb.jdbc.JDBCDataSource;
 import org.junit.jupiter.api.*;
@@ -41,17 +44,27 @@
 import java.time.Clock;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.OptionalLong;
 import java.util.UUID;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
 import static org.axonframework.eventsourcing.utils.EventStoreTestUtils.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * Test class validating the {@link JdbcEventStorageEngine}.
@@ -175,6 +188,203 @@ void testOldGapsAreRemovedFromProvidedTrackingToken() throws SQLException {
         assertEquals(4L, (long) ((GapAwareTrackingToken) events.get(0).trackingToken()).getGaps().first());
     }
 
+    @DirtiesContext
+    @Test
+    @Timeout(5)
+    void testOldGapsAreRemovedByScheduledGapCleaning() throws SQLException, InterruptedException {
+        testSubject = createEngine(engineBuilder -> engineBuilder.gapTimeout(50001)
+                                                                 .gapCleaningThreshold(50)
+                                                                 .gapCleaningInterval(10));
+
+        Instant now = Clock.systemUTC().instant();
+        GenericEventMessage.clock = Clock.fixed(now.minus(1, ChronoUnit.HOURS), Clock.systemUTC().getZone());
+        testSubject.appendEvents(createEvent(-1), createEvent(0)); // index 0 and 1
+        GenericEventMessage.clock = Clock.fixed(now.minus(2, ChronoUnit.MINUTES), Clock.systemUTC().getZone());
+        testSubject.appendEvents(createEvent(-2), createEvent(1)); // index 2 and 3
+        GenericEventMessage.clock = Clock.fixed(now.minus(50, ChronoUnit.SECONDS), Clock.systemUTC().getZone());
+        testSubject.appendEvents(createEvent(-3), createEvent(2)); // index 4 and 5
+        GenericEventMessage.clock = Clock.fixed(now, Clock.systemUTC().getZone());
+        testSubject.appendEvents(createEvent(-4), createEvent(3)); // index 6 and 7
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.prepareStatement("DELETE FROM DomainEventEntry WHERE sequenceNumber < 0").executeUpdate();
+        }
+
+        List<Long> gaps = LongStream.range(-50, 6)
+                                    .filter(i -> i != 1L && i != 3L && i != 5)
+                                    .boxed()
+                                    .collect(Collectors.toList());
+        GapAwareTrackingToken token = GapAwareTrackingToken.newInstance(6, gaps);
+        try {
+            // the first fetch only registers the gaps, which are verified by the scheduled gap cleaning.
+            // Advancing the token drops the negative gaps regardless, as gaps are truncated at index 0 by default
+            List<? extends TrackedEventData<?>> events = testSubject.fetchTrackedEvents(token, 100);
+            assertEquals(1, events.size());
+            assertEquals(0L, (long) ((GapAwareTrackingToken) events.get(0).trackingToken()).getGaps().first());
+
+            long firstGap;
+            do {
+                Thread.sleep(10);
+                events = testSubject.fetchTrackedEvents(token, 100);
+                firstGap = ((GapAwareTrackingToken) events.get(0).trackingToken()).getGaps().first();
+            } while (firstGap != 4L);
+            assertEquals(1, events.size());
+        } finally {
+            testSubject.shutDown();
+        }
+    }
+
+    @Test
+    void testBuildWithNegativeGapCleaningIntervalThrowsAxonConfigurationException() {
+        JdbcEventStorageEngine.Builder builderTestSubject = JdbcEventStorageEngine.builder();
+
+        assertThrows(AxonConfigurationException.class, () -> builderTestSubject.gapCleaningInterval(-1));
+    }
+
+    @Test
+    void testStreamingCursorReadsAllEventsInOrder() {
+        testSubject = createEngine(engineBuilder -> engineBuilder.batchSize(10).streamingFetchSize(7));
+
+        GenericEventMessage.clock = Clock.fixed(Clock.systemUTC().instant().minus(1, ChronoUnit.HOURS),
+                                                Clock.systemUTC().getZone());
+        testSubject.appendEvents(createEvents(100));
+
+        List<Long> actualIndices;
+        try (Stream<? extends TrackedEventMessage<?>> actual = testSubject.readEvents(null, false)) {
+            actualIndices = actual.map(event -> ((GapAwareTrackingToken) event.trackingToken()).getIndex())
+                                  .collect(toList());
+        }
+        assertEquals(LongStream.range(0, 100).boxed().collect(toList()), actualIndices);
+    }
+
+    @Test
+    void testStreamingCursorContinuesFromGivenToken() {
+        testSubject = createEngine(engineBuilder -> engineBuilder.batchSize(10).streamingFetchSize(7));
+
+        GenericEventMessage.clock = Clock.fixed(Clock.systemUTC().instant().minus(1, ChronoUnit.HOURS),
+                                                Clock.systemUTC().getZone());
+        testSubject.appendEvents(createEvents(100));
+
+        GapAwareTrackingToken startToken = GapAwareTrackingToken.newInstance(49, Collections.emptySortedSet());
+        try (Stream<? extends TrackedEventMessage<?>> actual = testSubject.readEvents(startToken, false)) {
+            assertEquals(50, actual.count());
+        }
+    }
+
+    @Test
+    void testStreamingCursorFallsBackToBatchesNearTheHead() throws SQLException {
+        testSubject = createEngine(engineBuilder -> engineBuilder.batchSize(10).streamingFetchSize(7));
+
+        Instant now = Clock.systemUTC().instant();
+        GenericEventMessage.clock = Clock.fixed(now.minus(1, ChronoUnit.HOURS), Clock.systemUTC().getZone());
+        testSubject.appendEvents(createEvents(50)); // index 0 to 49
+        GenericEventMessage.clock = Clock.fixed(now, Clock.systemUTC().getZone());
+        testSubject.appendEvents(IntStream.range(50, 60)
+                                          .mapToObj(i -> createEvent(AGGREGATE, i))
+                                          .collect(toList())); // index 50 to 59
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.prepareStatement("DELETE FROM DomainEventEntry WHERE globalIndex = 55").executeUpdate();
+        }
+
+        List<? extends TrackedEventMessage<?>> actualEvents;
+        try (Stream<? extends TrackedEventMessage<?>> actual = testSubject.readEvents(null, false)) {
+            actualEvents = actual.collect(toList());
+        }
+        assertEquals(59, actualEvents.size());
+        GapAwareTrackingToken lastToken =
+                (GapAwareTrackingToken) actualEvents.get(actualEvents.size() - 1).trackingToken();
+        assertEquals(59L, lastToken.getIndex());
+        assertEquals(Collections.singleton(55L), lastToken.getGaps());
+    }
+
+    @Test
+    void testStreamingCursorIsResumedOnceTheTokenNoLongerContainsGaps() throws SQLException {
+        testSubject = spy(createEngine(engineBuilder -> engineBuilder.batchSize(10).streamingFetchSize(7)));
+
+        GenericEventMessage.clock = Clock.fixed(Clock.systemUTC().instant().minus(1, ChronoUnit.HOURS),
+                                                Clock.systemUTC().getZone());
+        testSubject.appendEvents(createEvents(100));
+        GenericEventMessage.clock = Clock.systemUTC();
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.prepareStatement("DELETE FROM DomainEventEntry WHERE globalIndex = 5").executeUpdate();
+        }
+
+        GapAwareTrackingToken startToken = GapAwareTrackingToken.newInstance(10, Collections.singleton(5L));
+        List<? extends TrackedEventMessage<?>> actualEvents;
+        try (Stream<? extends TrackedEventMessage<?>> actual = testSubject.readEvents(startToken, false)) {
+            actualEvents = actual.collect(toList());
+        }
+        assertEquals(89, actualEvents.size());
+        GapAwareTrackingToken lastToken =
+                (GapAwareTrackingToken) actualEvents.get(actualEvents.size() - 1).trackingToken();
+        assertEquals(99L, lastToken.getIndex());
+        assertFalse(lastToken.hasGaps());
+        // the cursor is opened once, reading without limit from the first event read in batches
+        verify(testSubject, times(1)).readEventDataWithoutGaps(any(), eq(11L), eq(Integer.MAX_VALUE));
+        verify(testSubject, times(1)).readEventDataWithoutGaps(any(), anyLong(), eq(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testBuildWithNegativeStreamingFetchSizeThrowsAxonConfigurationException() {
+        JdbcEventStorageEngine.Builder builderTestSubject = JdbcEventStorageEngine.builder();
+
+        assertThrows(AxonConfigurationException.class, () -> builderTestSubject.streamingFetchSize(-1));
+    }
+
+    @Test
+    void testBuildWithZeroStreamingCursorLifetimeThrowsAxonConfigurationException() {
+        JdbcEventStorageEngine.Builder builderTestSubject = JdbcEventStorageEngine.builder();
+
+        assertThrows(AxonConfigurationException.class, () -> builderTestSubject.streamingCursorLifetime(0));
+    }
+
+    @Test
+    void testMultiRowAppendStoresEventsExceedingMaxEventsPerStatement() {
+        testSubject = createEngine(engineBuilder -> engineBuilder.appendEvents(
+                new MultiRowAppendEventsStatementBuilder(MultiRowAppendEventsStatementBuilder.Syntax.MULTI_ROW_VALUES,
+                                                         10)
+        ));
+
+        testSubject.appendEvents(createEvents(25));
+
+        List<Long> actualSequenceNumbers = testSubject.readEvents(AGGREGATE)
+                                                      .asStream()
+                                                      .map(DomainEventMessage::getSequenceNumber)
+                                                      .collect(toList());
+        assertEquals(LongStream.range(0, 25).boxed().collect(toList()), actualSequenceNumbers);
+        try (Stream<? extends TrackedEventMessage<?>> actual = testSubject.readEvents(null, false)) {
+            assertEquals(25, actual.count());
+        }
+    }
+
+    @Test
+    void testAppendedEventsAreReportedWithTheirTrackingTokens() {
+        List<TrackedEventMessage<?>> appendedEvents = new ArrayList<>();
+        testSubject.appendEvents(createEvents(3), appendedEvents::addAll);
+
+        List<OptionalLong> expectedPositions;
+        try (Stream<? extends TrackedEventMessage<?>> actual = testSubject.readEvents(null, false)) {
+            expectedPositions = actual.map(event -> event.trackingToken().position()).collect(toList());
+        }
+        assertEquals(3, appendedEvents.size());
+        assertEquals(expectedPositions,
+                     appendedEvents.stream().map(event -> event.trackingToken().position()).collect(toList()));
+        assertTrue(appendedEvents.get(2).trackingToken().covers(appendedEvents.get(0).trackingToken()));
+    }
+
+    @Test
+    void testMultiRowAppendOfDuplicateEventThrowsConcurrencyException() {
+        testSubject = createEngine(engineBuilder -> engineBuilder.appendEvents(
+                MultiRowAppendEventsStatementBuilder.forHsqlDb()
+        ));
+        testSubject.appendEvents(createEvents(2));
+
+        assertThrows(ConcurrencyException.class, () -> testSubject.appendEvents(createEvent(1), createEvent(2)));
+        assertEquals(2, testSubject.readEvents(AGGREGATE).asStream().count());
+    }
+
     @Test
     void testEventsWithUnknownPayloadTypeDoNotResultInError() throws SQLException, InterruptedException {
         String expectedPayloadOne = "Payload3";
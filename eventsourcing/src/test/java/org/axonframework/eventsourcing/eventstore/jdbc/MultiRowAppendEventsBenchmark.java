@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventsourcing.eventstore.jdbc;
+
+import org.axonframework.common.jdbc.ConnectionWrapperFactory;
+import org.axonframework.common.transaction.NoTransactionManager;
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventsourcing.eventstore.jdbc.statements.AppendEventsStatementBuilder;
+import org.axonframework.eventsourcing.eventstore.jdbc.statements.JdbcEventStorageEngineStatements;
+import org.axonframework.eventsourcing.eventstore.jdbc.statements.MultiRowAppendEventsStatementBuilder;
+import org.axonframework.serialization.Serializer;
+import org.hsqldb.jdbc.JDBCDataSource;
+import org.hsqldb.server.Server;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.axonframework.eventsourcing.utils.EventStoreTestUtils.createEvent;
+
+/**
+ * Benchmark comparing the time the {@link JdbcEventStorageEngine} takes to append events on an HSQLDB database, using
+ * the default {@code addBatch} statement of {@link JdbcEventStorageEngineStatements#appendEvents} and the single
+ * statement of the {@link MultiRowAppendEventsStatementBuilder}.
+ * <p>
+ * Every round appends the same number of events to a fresh in-memory database, for several numbers of events per
+ * append. The database is accessed both in-process and through an HSQLDB server on the loopback interface, the latter
+ * adding a round trip per statement as a remote database would. All appends of a round share a single connection, as
+ * they would when taken from a pool. The order in which both statement builders run alternates between rounds, and
+ * the first rounds are discarded to warm up the JVM. The median duration of the remaining rounds is reported.
+ */
+public class MultiRowAppendEventsBenchmark {
+
+    private static final int[] EVENTS_PER_APPEND = {1, 5, 20, 100};
+    private static final int EVENTS_PER_ROUND = 10_000;
+    private static final int WARM_UP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 11;
+
+    private static int databaseCounter;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println(String.format("Appending %d events per round, median of %d rounds after %d warm-up rounds",
+                                         EVENTS_PER_ROUND, MEASURED_ROUNDS, WARM_UP_ROUNDS));
+        for (Mode mode : Mode.values()) {
+            System.out.println();
+            System.out.println(mode.description);
+            System.out.println(String.format("%15s %16s %16s %10s",
+                                             "events/append", "addBatch (ms)", "multi-row (ms)", "speed-up"));
+            for (int eventsPerAppend : EVENTS_PER_APPEND) {
+                benchmark(mode, eventsPerAppend);
+            }
+        }
+    }
+
+    private static void benchmark(Mode mode, int eventsPerAppend) throws Exception {
+        long[] addBatchTimes = new long[MEASURED_ROUNDS];
+        long[] multiRowTimes = new long[MEASURED_ROUNDS];
+        for (int round = 0; round < WARM_UP_ROUNDS + MEASURED_ROUNDS; round++) {
+            long addBatchTime;
+            long multiRowTime;
+            if (round % 2 == 0) {
+                addBatchTime = timeRound(mode, JdbcEventStorageEngineStatements::appendEvents, eventsPerAppend);
+                multiRowTime = timeRound(mode, MultiRowAppendEventsStatementBuilder.forHsqlDb(), eventsPerAppend);
+            } else {
+                multiRowTime = timeRound(mode, MultiRowAppendEventsStatementBuilder.forHsqlDb(), eventsPerAppend);
+                addBatchTime = timeRound(mode, JdbcEventStorageEngineStatements::appendEvents, eventsPerAppend);
+            }
+            if (round >= WARM_UP_ROUNDS) {
+                addBatchTimes[round - WARM_UP_ROUNDS] = addBatchTime;
+                multiRowTimes[round - WARM_UP_ROUNDS] = multiRowTime;
+            }
+        }
+        long addBatchMedian = median(addBatchTimes);
+        long multiRowMedian = median(multiRowTimes);
+        System.out.println(String.format("%15d %16.1f %16.1f %9.2fx",
+                                         eventsPerAppend,
+                                         addBatchMedian / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                                         multiRowMedian / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                                         addBatchMedian / (double) multiRowMedian));
+    }
+
+    private static long timeRound(Mode mode, AppendEventsStatementBuilder appendEvents, int eventsPerAppend)
+            throws Exception {
+        String databaseName = "benchmark" + databaseCounter++;
+        Server server = null;
+        JDBCDataSource dataSource = new JDBCDataSource();
+        dataSource.setUser("SA");
+        dataSource.setPassword("");
+        if (mode == Mode.SERVER) {
+            server = new Server();
+            server.setSilent(true);
+            server.setLogWriter(null);
+            server.setErrWriter(null);
+            server.setAddress("localhost");
+            server.setPort(freePort());
+            server.setDatabaseName(0, databaseName);
+            server.setDatabasePath(0, "mem:" + databaseName);
+            server.start();
+            dataSource.setUrl("jdbc:hsqldb:hsql://localhost:" + server.getPort() + "/" + databaseName);
+        } else {
+            dataSource.setUrl("jdbc:hsqldb:mem:" + databaseName);
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            Connection sharedConnection =
+                    ConnectionWrapperFactory.wrap(connection, new ConnectionWrapperFactory.NoOpCloseHandler());
+            JdbcEventStorageEngine storageEngine = JdbcEventStorageEngine.builder()
+                                                                         .connectionProvider(() -> sharedConnection)
+                                                                         .transactionManager(
+                                                                                 NoTransactionManager.INSTANCE
+                                                                         )
+                                                                         .appendEvents(appendEvents)
+                                                                         .build();
+            storageEngine.createSchema(HsqlEventTableFactory.INSTANCE);
+            List<List<EventMessage<?>>> appends = createAppends(eventsPerAppend, storageEngine.getEventSerializer());
+
+            long start = System.nanoTime();
+            appends.forEach(storageEngine::appendEvents);
+            long duration = System.nanoTime() - start;
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SHUTDOWN");
+            }
+            return duration;
+        } finally {
+            if (server != null) {
+                server.stop();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static List<List<EventMessage<?>>> createAppends(int eventsPerAppend, Serializer serializer) {
+        List<List<EventMessage<?>>> appends = new ArrayList<>();
+        for (int append = 0; append < EVENTS_PER_ROUND / eventsPerAppend; append++) {
+            String aggregateId = "aggregate-" + append;
+            List<EventMessage<?>> events = new ArrayList<>();
+            for (int sequenceNumber = 0; sequenceNumber < eventsPerAppend; sequenceNumber++) {
+                EventMessage<?> event = createEvent(aggregateId, sequenceNumber);
+                // serialize upfront, so the rounds only measure the statements
+                event.serializePayload(serializer, byte[].class);
+                event.serializeMetaData(serializer, byte[].class);
+                events.add(event);
+            }
+            appends.add(events);
+        }
+        return appends;
+    }
+
+    private static long median(long[] times) {
+        long[] sortedTimes = times.clone();
+        Arrays.sort(sortedTimes);
+        return sortedTimes[sortedTimes.length / 2];
+    }
+
+    private enum Mode {
+
+        IN_PROCESS("In-process HSQLDB database"),
+        SERVER("HSQLDB server on the loopback interface");
+
+        private final String description;
+
+        Mode(String description) {
+            this.description = description;
+        }
+    }
+}
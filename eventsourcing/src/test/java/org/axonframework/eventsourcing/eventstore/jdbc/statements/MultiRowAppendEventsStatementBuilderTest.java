@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventsourcing.eventstore.jdbc.statements;
+
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.eventhandling.DomainEventMessage;
+import org.axonframework.eventsourcing.eventstore.jdbc.EventSchema;
+import org.axonframework.messaging.MetaData;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.xml.XStreamSerializer;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.axonframework.eventsourcing.utils.EventStoreTestUtils.createEvents;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link MultiRowAppendEventsStatementBuilder}.
+ */
+class MultiRowAppendEventsStatementBuilderTest {
+
+    private static final String ROW = "(?,?,?,?,?,?,?,?,?)";
+
+    private final EventSchema schema = new EventSchema();
+    private final Serializer serializer = XStreamSerializer.defaultSerializer();
+
+    private Connection connection;
+    private PreparedStatement statement;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(connection.prepareStatement(anyString(), any(String[].class))).thenReturn(statement);
+    }
+
+    @Test
+    void testMultiRowValuesInsertsAllEventsWithSingleStatement() throws SQLException {
+        List<DomainEventMessage<?>> events = createEvents(3);
+
+        PreparedStatement result = MultiRowAppendEventsStatementBuilder.forPostgreSql().build(
+                connection, schema, byte[].class, events, serializer, PreparedStatement::setObject
+        );
+
+        assertSame(statement, result);
+        verify(connection).prepareStatement("INSERT INTO " + schema.domainEventTable()
+                                                    + " (" + schema.domainEventFields() + ") VALUES "
+                                                    + ROW + "," + ROW + "," + ROW,
+                                            new String[]{schema.globalIndexColumn()});
+        verify(statement).setString(1, events.get(0).getIdentifier());
+        verify(statement).setLong(12, events.get(1).getSequenceNumber());
+        verify(statement).setString(19, events.get(2).getIdentifier());
+        verify(statement).addBatch();
+    }
+
+    @Test
+    void testInsertAllInsertsAllEventsWithSingleStatement() throws SQLException {
+        List<DomainEventMessage<?>> events = createEvents(2);
+
+        MultiRowAppendEventsStatementBuilder.forOracle().build(
+                connection, schema, byte[].class, events, serializer, PreparedStatement::setObject
+        );
+
+        String into = " INTO " + schema.domainEventTable() + " (" + schema.domainEventFields() + ") VALUES " + ROW;
+        verify(connection).prepareStatement("INSERT ALL" + into + into + " SELECT 1 FROM DUAL");
+        verify(statement).setString(10, events.get(1).getIdentifier());
+        verify(statement).addBatch();
+    }
+
+    @Test
+    void testEqualMetaDataIsSerializedOncePerStatement() throws SQLException {
+        Serializer spiedSerializer = spy(serializer);
+
+        MultiRowAppendEventsStatementBuilder.forHsqlDb().build(
+                connection, schema, byte[].class, createEvents(3), spiedSerializer, PreparedStatement::setObject
+        );
+        verify(spiedSerializer, times(1)).serialize(eq(MetaData.emptyInstance()), eq(byte[].class));
+
+        reset(spiedSerializer);
+        JdbcEventStorageEngineStatements.appendEvents(
+                connection, schema, byte[].class, createEvents(3), spiedSerializer, PreparedStatement::setObject
+        );
+        verify(spiedSerializer, times(1)).serialize(eq(MetaData.emptyInstance()), eq(byte[].class));
+    }
+
+    @Test
+    void testMaxEventsPerStatementStaysWithinParameterLimits() {
+        assertEquals(1000, MultiRowAppendEventsStatementBuilder.forPostgreSql().maxEventsPerStatement());
+        assertEquals(1000, MultiRowAppendEventsStatementBuilder.forMySql().maxEventsPerStatement());
+        assertEquals(1000, MultiRowAppendEventsStatementBuilder.forHsqlDb().maxEventsPerStatement());
+        assertEquals(111, MultiRowAppendEventsStatementBuilder.forOracle().maxEventsPerStatement());
+    }
+
+    @Test
+    void testDefaultAppendEventsStatementBuilderHasNoEventLimit() {
+        AppendEventsStatementBuilder testSubject = JdbcEventStorageEngineStatements::appendEvents;
+
+        assertEquals(Integer.MAX_VALUE, testSubject.maxEventsPerStatement());
+    }
+
+    @Test
+    void testInstantiateWithNonPositiveMaxEventsPerStatementThrowsAxonConfigurationException() {
+        assertThrows(AxonConfigurationException.class, () -> new MultiRowAppendEventsStatementBuilder(
+                MultiRowAppendEventsStatementBuilder.Syntax.MULTI_ROW_VALUES, 0
+        ));
+    }
+}
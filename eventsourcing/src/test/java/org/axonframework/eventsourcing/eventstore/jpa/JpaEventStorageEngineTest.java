@@ -29,6 +29,7 @@
 import org.axonframework.eventhandling.GapAwareTrackingToken;
 import org.axonframework.eventhandling.GenericEventMessage;
 import org.axonframework.eventhandling.TrackedEventData;
+import org.axonframework.eventhandling.TrackedEventMessage;
 import org.axonframework.eventhandling.TrackingEventStream;
 import org.axonframework.eventsourcing.eventstore.BatchingEventStorageEngineTest;
 import org.axonframework.eventsourcing.eventstore.EmbeddedEventStore;
@@ -50,12 +51,15 @@
 import java.time.Clock;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
 import java.util.function.UnaryOperator;
 import java.util.stream.LongStream;
+import java.util.stream.Stream;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.sql.DataSource;
@@ -106,6 +110,22 @@ void testStoreAndLoadEventsFromDatastore() {
         assertEquals(2, testSubject.readEvents(AGGREGATE).asStream().count());
     }
 
+    @Test
+    void testAppendedEventsAreReportedWithTheirTrackingTokens() {
+        List<TrackedEventMessage<?>> appendedEvents = new ArrayList<>();
+        testSubject.appendEvents(createEvents(3), appendedEvents::addAll);
+        entityManager.clear();
+
+        List<OptionalLong> expectedPositions;
+        try (Stream<? extends TrackedEventMessage<?>> actual = testSubject.readEvents(null, false)) {
+            expectedPositions = actual.map(event -> event.trackingToken().position()).collect(toList());
+        }
+        assertEquals(3, appendedEvents.size());
+        assertEquals(expectedPositions,
+                     appendedEvents.stream().map(event -> event.trackingToken().position()).collect(toList()));
+        assertTrue(appendedEvents.get(2).trackingToken().covers(appendedEvents.get(0).trackingToken()));
+    }
+
     @Test
     void testLoadLastSequenceNumber() {
         testSubject.appendEvents(createEvents(2));
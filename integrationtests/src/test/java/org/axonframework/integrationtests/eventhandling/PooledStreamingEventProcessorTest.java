@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.integrationtests.eventhandling;
+
+import org.axonframework.common.transaction.NoTransactionManager;
+import org.axonframework.eventhandling.EventHandlerInvoker;
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventhandling.EventMessageHandler;
+import org.axonframework.eventhandling.EventTrackerStatus;
+import org.axonframework.eventhandling.PropagatingErrorHandler;
+import org.axonframework.eventhandling.ReplayToken;
+import org.axonframework.eventhandling.SimpleEventHandlerInvoker;
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.eventhandling.pooled.PooledStreamingEventProcessor;
+import org.axonframework.eventhandling.tokenstore.TokenStore;
+import org.axonframework.eventhandling.tokenstore.inmemory.InMemoryTokenStore;
+import org.axonframework.eventsourcing.eventstore.EmbeddedEventStore;
+import org.axonframework.eventsourcing.eventstore.inmemory.InMemoryEventStorageEngine;
+import org.axonframework.integrationtests.utils.MockException;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.axonframework.integrationtests.utils.AssertUtils.assertWithin;
+import static org.axonframework.integrationtests.utils.EventTestUtils.createUUIDEvents;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link PooledStreamingEventProcessor}. This test class is part of the {@code
+ * integrationtests} module as it relies on both the {@code messaging} (where the {@code PooledStreamingEventProcessor}
+ * resides) and {@code eventsourcing} modules.
+ */
+class PooledStreamingEventProcessorTest {
+
+    private static final String PROCESSOR_NAME = "test";
+    private static final int SEGMENT_COUNT = 8;
+
+    private PooledStreamingEventProcessor testSubject;
+    private EmbeddedEventStore eventStore;
+    private TokenStore tokenStore;
+    private EventMessageHandler mockHandler;
+    private EventHandlerInvoker eventHandlerInvoker;
+    private ScheduledExecutorService coordinatorExecutor;
+    private ScheduledExecutorService workerExecutor;
+    private List<EventMessage<?>> handledEvents;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        eventStore = spy(EmbeddedEventStore.builder().storageEngine(new InMemoryEventStorageEngine()).build());
+        tokenStore = spy(new InMemoryTokenStore());
+        handledEvents = new CopyOnWriteArrayList<>();
+        mockHandler = mock(EventMessageHandler.class);
+        when(mockHandler.canHandle(any())).thenReturn(true);
+        when(mockHandler.supportsReset()).thenReturn(true);
+        when(mockHandler.handle(any())).thenAnswer(i -> handledEvents.add(i.getArgument(0)));
+        eventHandlerInvoker =
+                SimpleEventHandlerInvoker.builder()
+                                         .eventHandlers(mockHandler)
+                                         .listenerInvocationErrorHandler(PropagatingErrorHandler.instance())
+                                         .build();
+        coordinatorExecutor = Executors.newSingleThreadScheduledExecutor();
+        workerExecutor = Executors.newScheduledThreadPool(2);
+
+        testSubject = PooledStreamingEventProcessor.builder()
+                                                   .name(PROCESSOR_NAME)
+                                                   .eventHandlerInvoker(eventHandlerInvoker)
+                                                   .messageSource(eventStore)
+                                                   .tokenStore(tokenStore)
+                                                   .transactionManager(NoTransactionManager.instance())
+                                                   .coordinatorExecutor(coordinatorExecutor)
+                                                   .workerExecutor(workerExecutor)
+                                                   .initialSegmentCount(SEGMENT_COUNT)
+                                                   .tokenClaimInterval(100)
+                                                   .batchSize(10)
+                                                   .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        testSubject.shutDown();
+        eventStore.shutDown();
+        coordinatorExecutor.shutdown();
+        workerExecutor.shutdown();
+    }
+
+    @Test
+    void testStartClaimsAllSegmentsAndOpensASingleStream() {
+        testSubject.start();
+
+        assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(SEGMENT_COUNT, testSubject.processingStatus().size()));
+        assertEquals(SEGMENT_COUNT, tokenStore.fetchSegments(PROCESSOR_NAME).length);
+
+        eventStore.publish(createUUIDEvents(100));
+
+        assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(100, handledEvents.size()));
+        verify(eventStore, times(1)).openStream(any());
+    }
+
+    @Test
+    void testEachEventIsHandledExactlyOnce() {
+        eventStore.publish(createUUIDEvents(250));
+        testSubject.start();
+
+        assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(250, handledEvents.size()));
+        Set<String> identifiers = new CopyOnWriteArraySet<>();
+        handledEvents.forEach(event -> identifiers.add(event.getIdentifier()));
+        assertEquals(250, identifiers.size());
+    }
+
+    @Test
+    void testProcessingStatusReportsCaughtUpSegments() {
+        eventStore.publish(createUUIDEvents(20));
+        testSubject.start();
+
+        assertWithin(2, TimeUnit.SECONDS, () -> {
+            assertEquals(SEGMENT_COUNT, testSubject.processingStatus().size());
+            testSubject.processingStatus().values().forEach(status -> {
+                assertTrue(status.isCaughtUp());
+                assertFalse(status.isReplaying());
+                assertFalse(status.isErrorState());
+            });
+        });
+    }
+
+    @Test
+    void testClaimsOfIdleSegmentsAreExtendedAtOnce() {
+        testSubject = PooledStreamingEventProcessor.builder()
+                                                   .name(PROCESSOR_NAME)
+                                                   .eventHandlerInvoker(eventHandlerInvoker)
+                                                   .messageSource(eventStore)
+                                                   .tokenStore(tokenStore)
+                                                   .transactionManager(NoTransactionManager.instance())
+                                                   .coordinatorExecutor(coordinatorExecutor)
+                                                   .workerExecutor(workerExecutor)
+                                                   .initialSegmentCount(SEGMENT_COUNT)
+                                                   .tokenClaimInterval(100)
+                                                   .claimExtensionThreshold(100)
+                                                   .build();
+        testSubject.start();
+        assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(SEGMENT_COUNT, testSubject.processingStatus().size()));
+
+        assertWithin(2, TimeUnit.SECONDS, () -> verify(tokenStore, atLeastOnce()).extendClaims(
+                eq(PROCESSOR_NAME), argThat(segmentIds -> segmentIds.length > 1)
+        ));
+    }
+
+    @Test
+    void testShutDownReleasesAllSegments() {
+        testSubject.start();
+        assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(SEGMENT_COUNT, testSubject.processingStatus().size()));
+
+        testSubject.shutDown();
+
+        assertFalse(testSubject.isRunning());
+        assertTrue(testSubject.processingStatus().isEmpty());
+        verify(tokenStore, times(SEGMENT_COUNT)).releaseClaim(eq(PROCESSOR_NAME), anyInt());
+    }
+
+    @Test
+    void testShutDownLeavesProvidedExecutorsRunning() {
+        testSubject.start();
+        assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(SEGMENT_COUNT, testSubject.processingStatus().size()));
+
+        testSubject.shutDown();
+
+        assertFalse(coordinatorExecutor.isShutdown());
+        assertFalse(workerExecutor.isShutdown());
+    }
+
+    @Test
+    void testShutDownStopsDefaultExecutorsWhichAreRecreatedOnRestart() {
+        String processorName = "default-executors";
+        PooledStreamingEventProcessor defaultExecutorsProcessor =
+                PooledStreamingEventProcessor.builder()
+                                             .name(processorName)
+                                             .eventHandlerInvoker(SimpleEventHandlerInvoker.builder()
+                                                                                           .eventHandlers(mockHandler)
+                                                                                           .build())
+                                             .messageSource(eventStore)
+                                             .tokenStore(tokenStore)
+                                             .transactionManager(NoTransactionManager.instance())
+                                             .initialSegmentCount(2)
+                                             .tokenClaimInterval(100)
+                                             .build();
+        try {
+            defaultExecutorsProcessor.start();
+            eventStore.publish(createUUIDEvents(10));
+            assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(10, handledEvents.size()));
+
+            defaultExecutorsProcessor.shutDown();
+            assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(0, countThreads(processorName)));
+
+            defaultExecutorsProcessor.start();
+            eventStore.publish(createUUIDEvents(10));
+            assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(20, handledEvents.size()));
+        } finally {
+            defaultExecutorsProcessor.shutDown();
+        }
+    }
+
+    private static long countThreads(String processorName) {
+        return Thread.getAllStackTraces()
+                     .keySet()
+                     .stream()
+                     .map(Thread::getThreadGroup)
+                     .filter(group -> group != null && group.getName().endsWith("[" + processorName + "]"))
+                     .count();
+    }
+
+    @Test
+    void testReleaseSegmentStopsProcessingThatSegment() {
+        testSubject.start();
+        assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(SEGMENT_COUNT, testSubject.processingStatus().size()));
+
+        testSubject.releaseSegment(0, 10, TimeUnit.SECONDS);
+
+        assertWithin(2, TimeUnit.SECONDS, () -> {
+            assertEquals(SEGMENT_COUNT - 1, testSubject.processingStatus().size());
+            assertNull(testSubject.processingStatus().get(0));
+        });
+        verify(tokenStore).releaseClaim(PROCESSOR_NAME, 0);
+    }
+
+    @Test
+    void testSplitSegmentAddsNewSegment() throws Exception {
+        testSubject.start();
+        assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(SEGMENT_COUNT, testSubject.processingStatus().size()));
+
+        assertTrue(testSubject.splitSegment(0).get(2, TimeUnit.SECONDS));
+
+        assertEquals(SEGMENT_COUNT + 1, tokenStore.fetchSegments(PROCESSOR_NAME).length);
+        assertWithin(2, TimeUnit.SECONDS,
+                     () -> assertEquals(SEGMENT_COUNT + 1, testSubject.processingStatus().size()));
+        eventStore.publish(createUUIDEvents(50));
+        assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(50, handledEvents.size()));
+    }
+
+    @Test
+    void testMergeSegmentRemovesSegment() throws Exception {
+        testSubject.start();
+        assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(SEGMENT_COUNT, testSubject.processingStatus().size()));
+
+        EventTrackerStatus status = testSubject.processingStatus().get(0);
+        int mergeableSegmentId = status.getSegment().mergeableSegmentId();
+        assertTrue(testSubject.mergeSegment(0).get(2, TimeUnit.SECONDS));
+
+        assertEquals(SEGMENT_COUNT - 1, tokenStore.fetchSegments(PROCESSOR_NAME).length);
+        assertWithin(2, TimeUnit.SECONDS, () -> {
+            assertEquals(SEGMENT_COUNT - 1, testSubject.processingStatus().size());
+            assertNull(testSubject.processingStatus().get(mergeableSegmentId));
+        });
+        eventStore.publish(createUUIDEvents(50));
+        assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(50, handledEvents.size()));
+    }
+
+    @Test
+    void testSegmentIsReportedInErrorWhenHandlingFails() throws Exception {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        when(mockHandler.handle(any())).thenAnswer(i -> {
+            if (failing.get()) {
+                throw new MockException("Simulating issues");
+            }
+            return handledEvents.add(i.getArgument(0));
+        });
+        testSubject.start();
+        eventStore.publish(createUUIDEvents(1));
+
+        assertWithin(2, TimeUnit.SECONDS, () -> assertTrue(
+                testSubject.processingStatus().values().stream().anyMatch(EventTrackerStatus::isErrorState)
+        ));
+
+        failing.set(false);
+
+        assertWithin(5, TimeUnit.SECONDS, () -> {
+            assertEquals(1, handledEvents.size());
+            assertTrue(testSubject.processingStatus().values().stream().noneMatch(EventTrackerStatus::isErrorState));
+        });
+    }
+
+    @Test
+    void testResetTokensReplaysEvents() {
+        eventStore.publish(createUUIDEvents(10));
+        testSubject.start();
+        assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(10, handledEvents.size()));
+        testSubject.shutDown();
+
+        testSubject.resetTokens();
+
+        for (int segmentId : tokenStore.fetchSegments(PROCESSOR_NAME)) {
+            TrackingToken token = tokenStore.fetchToken(PROCESSOR_NAME, segmentId);
+            assertTrue(token instanceof ReplayToken);
+        }
+        testSubject.start();
+        assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(20, handledEvents.size()));
+        verify(mockHandler).prepareReset(null);
+    }
+
+    @Test
+    void testResetTokensFailsWhenRunning() {
+        testSubject.start();
+
+        assertThrows(IllegalStateException.class, () -> testSubject.resetTokens());
+    }
+}
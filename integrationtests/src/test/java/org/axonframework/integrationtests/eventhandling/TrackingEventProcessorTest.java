@@ -45,7 +45,9 @@
 import org.axonframework.eventsourcing.eventstore.inmemory.InMemoryEventStorageEngine;
 import org.axonframework.integrationtests.utils.MockException;
 import org.axonframework.messaging.StreamableMessageSource;
+import org.axonframework.messaging.unitofwork.BatchingUnitOfWork;
 import org.axonframework.messaging.unitofwork.CurrentUnitOfWork;
+import org.axonframework.monitoring.MessageMonitor;
 import org.axonframework.serialization.SerializationException;
 import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.*;
@@ -65,8 +67,10 @@
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -1050,6 +1054,44 @@ void testReplayFlagAvailableWhenReplayInDifferentOrder() throws Exception {
         verify(eventHandlerInvoker).performReset(NO_RESET_PAYLOAD);
     }
 
+    @Test
+    void testPartitionedReplayHandlesEachEventOnceBeforeResumingTracking() throws Exception {
+        initProcessor(TrackingEventProcessorConfiguration.forSingleThreadedProcessing()
+                                                         .andEventAvailabilityTimeout(100, TimeUnit.MILLISECONDS)
+                                                         .andBatchSize(5)
+                                                         .andPartitionedReplay(4, 2));
+        final List<String> handled = new CopyOnWriteArrayList<>();
+        final List<String> handledInRedelivery = new CopyOnWriteArrayList<>();
+        //noinspection Duplicates
+        doAnswer(i -> {
+            EventMessage<?> message = i.getArgument(0);
+            if (ReplayToken.isReplay(message)) {
+                handledInRedelivery.add(message.getIdentifier());
+            } else {
+                handled.add(message.getIdentifier());
+            }
+            return null;
+        }).when(mockHandler).handle(any());
+
+        eventBus.publish(createEvents(40));
+        testSubject.start();
+        assertWithin(1, TimeUnit.SECONDS, () -> assertEquals(40, handled.size()));
+        testSubject.shutDown();
+        testSubject.resetTokens();
+        assertEquals(4, tokenStore.fetchSegments("test/replay").length);
+
+        testSubject.start();
+        assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(40, handledInRedelivery.size()));
+        assertEquals(new HashSet<>(handled), new HashSet<>(handledInRedelivery));
+        assertWithin(1, TimeUnit.SECONDS, () -> assertEquals(0, tokenStore.fetchSegments("test/replay").length));
+
+        eventBus.publish(createEvents(2));
+        assertWithin(1, TimeUnit.SECONDS, () -> assertEquals(42, handled.size()));
+        assertEquals(40, handledInRedelivery.size());
+        assertEquals(0, tokenStore.fetchSegments("test/replay").length);
+        assertFalse(testSubject.processingStatus().get(0).isReplaying());
+    }
+
     @Test
     void testResetRejectedWhileRunning() {
         testSubject.start();
@@ -1077,6 +1119,31 @@ void testResetRejectedIfNotAllTokensCanBeClaimed() {
 
         assertThrows(UnableToClaimTokenException.class, testSubject::resetTokens);
         verify(tokenStore, never()).storeToken(isNull(), anyString(), anyInt());
+        verify(tokenStore, never()).storeTokens(any(), anyString());
+    }
+
+    @Test
+    void testResetTokensStoresAllReplayTokensInSingleOperation() {
+        tokenStore.initializeTokenSegments("test", 4, new GlobalSequenceTrackingToken(10));
+
+        testSubject.resetTokens();
+
+        verify(tokenStore).claimTokens(eq("test"), aryEq(new int[]{0, 1, 2, 3}));
+        verify(tokenStore).storeTokens(argThat(tokens -> tokens.size() == 4), eq("test"));
+        for (int segment = 0; segment < 4; segment++) {
+            assertTrue(tokenStore.fetchToken("test", segment) instanceof ReplayToken);
+        }
+    }
+
+    @Test
+    void testWorkerLauncherClaimsAllSegmentsInSingleOperation() throws Exception {
+        initProcessor(TrackingEventProcessorConfiguration.forParallelProcessing(2));
+
+        testSubject.start();
+        waitForActiveThreads(2);
+
+        verify(tokenStore).claimTokens(eq("test"), aryEq(new int[]{0, 1}));
+        verify(tokenStore, never()).claimTokens(eq("test"), aryEq(new int[]{1}));
     }
 
     @Test
@@ -1718,6 +1785,100 @@ public boolean validatePositions() {
         assertEquals(0, removedStatusCounter.get());
     }
 
+    @Test
+    void testProcessingStatusReportsConfiguredBatchSize() throws Exception {
+        initProcessor(TrackingEventProcessorConfiguration.forSingleThreadedProcessing().andBatchSize(5));
+
+        testSubject.start();
+        publishEvents(20);
+
+        assertWithin(5, TimeUnit.SECONDS, () -> {
+            EventTrackerStatus status = testSubject.processingStatus().get(0);
+            assertNotNull(status);
+            assertTrue(status.isCaughtUp());
+            assertEquals(5, status.getBatchSize().orElse(-1));
+        });
+    }
+
+    @Test
+    void testAdaptiveBatchSizeGrowsAndIsReportedToChangeListener() throws Exception {
+        List<Integer> reportedBatchSizes = new CopyOnWriteArrayList<>();
+        EventTrackerStatusChangeListener statusChangeListener = updatedTrackerStatus -> updatedTrackerStatus
+                .values().forEach(status -> status.getBatchSize().ifPresent(reportedBatchSizes::add));
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        initProcessor(TrackingEventProcessorConfiguration.forSingleThreadedProcessing()
+                                                         .andBatchSize(1)
+                                                         .andAdaptiveBatchSize(1, 50, 10, TimeUnit.SECONDS)
+                                                         .andEventTrackerStatusChangeListener(statusChangeListener));
+        testSubject.registerHandlerInterceptor((unitOfWork, interceptorChain) -> {
+            if (unitOfWork instanceof BatchingUnitOfWork
+                    && ((BatchingUnitOfWork<?>) unitOfWork).isFirstMessage()) {
+                batchSizes.add(((BatchingUnitOfWork<?>) unitOfWork).getMessages().size());
+            }
+            return interceptorChain.proceed();
+        });
+
+        publishEvents(500);
+        testSubject.start();
+
+        assertWithin(5, TimeUnit.SECONDS, () -> {
+            EventTrackerStatus status = testSubject.processingStatus().get(0);
+            assertNotNull(status);
+            assertTrue(status.isCaughtUp());
+        });
+        assertEquals(500, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(1, (int) batchSizes.get(0));
+        int largestBatch = batchSizes.stream().mapToInt(Integer::intValue).max().orElse(0);
+        assertTrue(largestBatch > 1, "Expected the batch size to have grown");
+        assertTrue(largestBatch <= 50, "Expected the batch size to stay within its bounds");
+        assertTrue(reportedBatchSizes.stream().anyMatch(size -> size > 1));
+    }
+
+    @Test
+    void testParallelDeserializationCompletesBeforeEventsAreHandled() throws Exception {
+        Set<String> deserializedEvents = ConcurrentHashMap.newKeySet();
+        List<String> eventsHandledBeforeDeserialization = new CopyOnWriteArrayList<>();
+        AtomicInteger handledEvents = new AtomicInteger();
+        MessageMonitor<EventMessage<?>> deserializationMonitor = message -> new MessageMonitor.MonitorCallback() {
+            @Override
+            public void reportSuccess() {
+                deserializedEvents.add(message.getIdentifier());
+            }
+
+            @Override
+            public void reportFailure(Throwable cause) {
+            }
+
+            @Override
+            public void reportIgnored() {
+            }
+        };
+        ForkJoinPool deserializationPool = new ForkJoinPool(4);
+        try {
+            initProcessor(TrackingEventProcessorConfiguration.forSingleThreadedProcessing()
+                                                             .andBatchSize(10)
+                                                             .andParallelDeserialization(deserializationPool)
+                                                             .andDeserializationMonitor(deserializationMonitor));
+            testSubject.registerHandlerInterceptor((unitOfWork, interceptorChain) -> {
+                String eventIdentifier = unitOfWork.getMessage().getIdentifier();
+                if (!deserializedEvents.contains(eventIdentifier)) {
+                    eventsHandledBeforeDeserialization.add(eventIdentifier);
+                }
+                handledEvents.incrementAndGet();
+                return interceptorChain.proceed();
+            });
+
+            publishEvents(100);
+            testSubject.start();
+
+            assertWithin(5, TimeUnit.SECONDS, () -> assertEquals(100, handledEvents.get()));
+            assertEquals(100, deserializedEvents.size());
+            assertTrue(eventsHandledBeforeDeserialization.isEmpty());
+        } finally {
+            deserializationPool.shutdown();
+        }
+    }
+
     @Test
     @Timeout(value = 10)
     void testSplitAndMergeInfluenceOnChangeListenerInvocations() throws InterruptedException {
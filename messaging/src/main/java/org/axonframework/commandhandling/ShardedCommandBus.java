@@ -0,0 +1,442 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.commandhandling;
+
+import org.axonframework.commandhandling.distributed.AnnotationRoutingStrategy;
+import org.axonframework.commandhandling.distributed.RoutingStrategy;
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.common.AxonThreadFactory;
+import org.axonframework.common.transaction.NoTransactionManager;
+import org.axonframework.common.transaction.TransactionManager;
+import org.axonframework.messaging.MessageHandler;
+import org.axonframework.messaging.unitofwork.RollbackConfiguration;
+import org.axonframework.messaging.unitofwork.RollbackConfigurationType;
+import org.axonframework.monitoring.MessageMonitor;
+import org.axonframework.monitoring.NoOpMessageMonitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.axonframework.commandhandling.GenericCommandResultMessage.asCommandResultMessage;
+import static org.axonframework.common.BuilderUtils.assertNonNull;
+import static org.axonframework.common.BuilderUtils.assertStrictPositive;
+
+/**
+ * Specialization of the {@link SimpleCommandBus} which processes Commands asynchronously on a fixed number of shards.
+ * Each shard consists of a bounded queue (the mailbox) and a single thread processing the commands in that mailbox.
+ * <p>
+ * Commands are assigned to a shard based on the routing key resolved by the configured {@link RoutingStrategy}. By
+ * default, an {@link AnnotationRoutingStrategy} is used, which resolves the field or method (meta-)annotated with
+ * {@code RoutingKey}, such as the {@code TargetAggregateIdentifier}. As a result, all commands targeting the same
+ * aggregate are handled sequentially by the same thread. Repositories used by the handlers of this bus may therefore
+ * use a {@code NullLockFactory}, as there is only a single writer per aggregate. Note that this only holds as long as
+ * the aggregates aren't also modified through another Command Bus or application instance.
+ * <p>
+ * When the mailbox of a shard is full, the dispatching thread is blocked until space becomes available, applying
+ * backpressure on the dispatcher. Commands are rejected rather than blocking forever when the thread of their shard
+ * stopped. The current depth of each mailbox can be retrieved through {@link #queueDepth(int)}, and published as
+ * metrics through the {@code GlobalMetricRegistry} of the metrics modules.
+ * <p>
+ * Commands dispatched by a handler to the shard it is running on are handled directly on that thread instead of
+ * through the mailbox, so that handlers waiting for the result of such a command do not deadlock the shard. Note that
+ * handlers waiting for the result of a command assigned to another shard may still deadlock, if a handler on that
+ * shard in turn waits for a command assigned to the first.
+ * <p>
+ * The mailboxes use {@code java.util.concurrent} locks rather than {@code synchronized} blocks to hand off commands,
+ * which makes them suitable for virtual threads. To process the shards on virtual threads, provide a {@link
+ * ThreadFactory} creating virtual threads through {@link Builder#threadFactory(ThreadFactory)}.
+ * <p>
+ * Note that you should call {@link #shutdown()} to stop the threads processing the shards.
+ *
+ * @since 4.5
+ */
+public class ShardedCommandBus extends SimpleCommandBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedCommandBus.class);
+
+    private final RoutingStrategy routingStrategy;
+    private final Shard[] shards;
+    private volatile boolean shuttingDown;
+
+    /**
+     * Instantiate a {@link ShardedCommandBus} based on the fields contained in the {@link Builder}.
+     * <p>
+     * Will assert that the {@link TransactionManager}, {@link MessageMonitor}, {@link RollbackConfiguration}, {@link
+     * RoutingStrategy} and {@link ThreadFactory} are not {@code null}, and will throw an {@link
+     * AxonConfigurationException} if any of them is {@code null}. Upon instantiation, a thread is started for each of
+     * the shards.
+     *
+     * @param builder the {@link Builder} used to instantiate a {@link ShardedCommandBus} instance
+     */
+    protected ShardedCommandBus(Builder builder) {
+        super(builder);
+        this.routingStrategy = builder.routingStrategy;
+        this.shards = new Shard[builder.shardCount];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(builder.queueCapacity);
+            Thread thread = builder.threadFactory.newThread(shards[i]);
+            shards[i].thread = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * Instantiate a Builder to be able to create a {@link ShardedCommandBus}.
+     * <p>
+     * The {@link TransactionManager} is defaulted to a {@link NoTransactionManager}, the {@link MessageMonitor} is
+     * defaulted to a {@link NoOpMessageMonitor}, {@link RollbackConfiguration} defaults to a {@link
+     * RollbackConfigurationType#UNCHECKED_EXCEPTIONS}, the {@link DuplicateCommandHandlerResolver} defaults to {@link
+     * DuplicateCommandHandlerResolution#logAndOverride()}, the {@link RoutingStrategy} defaults to an {@link
+     * AnnotationRoutingStrategy}, the {@link ThreadFactory} defaults to an {@link AxonThreadFactory}, the {@code
+     * shardCount} defaults to the number of available processors and the {@code queueCapacity} defaults to {@code
+     * 1024}. The TransactionManager, MessageMonitor, RollbackConfiguration, RoutingStrategy and ThreadFactory are
+     * <b>hard requirements</b>. Thus setting them to {@code null} will result in an {@link
+     * AxonConfigurationException}.
+     *
+     * @return a Builder to be able to create a {@link ShardedCommandBus}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    protected <C, R> void handle(CommandMessage<C> command,
+                                 MessageHandler<? super CommandMessage<?>> handler,
+                                 CommandCallback<? super C, ? super R> callback) {
+        if (shuttingDown) {
+            callback.onResult(command, asCommandResultMessage(
+                    new IllegalStateException("ShardedCommandBus has been shut down")
+            ));
+            return;
+        }
+        Shard shard;
+        try {
+            shard = shards[shardIndex(routingStrategy.getRoutingKey(command))];
+        } catch (Exception e) {
+            callback.onResult(command, asCommandResultMessage(e));
+            return;
+        }
+        if (Thread.currentThread() == shard.thread) {
+            // the shard's thread would wait for a command it can only handle after the current one completes
+            super.handle(command, handler, callback);
+            return;
+        }
+        try {
+            shard.enqueue(new CommandTask(
+                    () -> super.handle(command, handler, callback),
+                    cause -> callback.onResult(command, asCommandResultMessage(cause))
+            ));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            callback.onResult(command, asCommandResultMessage(e));
+        }
+    }
+
+    private int shardIndex(String routingKey) {
+        return routingKey == null ? 0 : Math.floorMod(routingKey.hashCode(), shards.length);
+    }
+
+    /**
+     * Returns the number of shards commands are distributed over.
+     *
+     * @return the number of shards commands are distributed over
+     */
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Returns the number of commands waiting in the mailbox of the shard with given {@code shardIndex}. Commands that
+     * are being handled are not included.
+     *
+     * @param shardIndex the index of the shard to return the queue depth for, between {@code 0} (inclusive) and
+     *                   {@link #shardCount()} (exclusive)
+     * @return the number of commands waiting in the mailbox of the given shard
+     */
+    public int queueDepth(int shardIndex) {
+        return shards[shardIndex].mailbox.size();
+    }
+
+    /**
+     * Returns the number of commands waiting in the mailboxes of all shards combined.
+     *
+     * @return the number of commands waiting in the mailboxes of all shards combined
+     */
+    public int totalQueueDepth() {
+        int total = 0;
+        for (Shard shard : shards) {
+            total += shard.mailbox.size();
+        }
+        return total;
+    }
+
+    /**
+     * Shuts down the threads processing the shards. Commands already accepted in a mailbox are handled before the
+     * threads stop, waiting at most 5 seconds for them to complete. Threads still running after that are interrupted,
+     * and the commands left in their mailboxes are rejected. Commands dispatched after this method has been invoked
+     * are rejected with an {@link IllegalStateException}.
+     */
+    public void shutdown() {
+        shuttingDown = true;
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        try {
+            for (Shard shard : shards) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining > 0) {
+                    shard.thread.join(remaining);
+                }
+            }
+        } catch (InterruptedException e) {
+            // we've been interrupted. Reset the interruption flag and continue
+            Thread.currentThread().interrupt();
+        }
+        for (Shard shard : shards) {
+            if (shard.thread.isAlive()) {
+                logger.warn("Shard thread [{}] did not complete handling its commands in time. Interrupting it.",
+                            shard.thread.getName());
+                shard.abort();
+            }
+            shard.rejectRemaining();
+        }
+    }
+
+    private class Shard implements Runnable {
+
+        private final BlockingQueue<CommandTask> mailbox;
+        private Thread thread;
+        private volatile boolean aborted;
+
+        private Shard(int queueCapacity) {
+            this.mailbox = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        /**
+         * Adds the given {@code task} to the mailbox, blocking while it is full. The task is rejected if this bus is
+         * shut down or the thread of this shard stopped before the task could be handled.
+         */
+        private void enqueue(CommandTask task) throws InterruptedException {
+            while (!mailbox.offer(task, 100, TimeUnit.MILLISECONDS)) {
+                if (isStopped()) {
+                    task.reject(stoppedException());
+                    return;
+                }
+            }
+            // the thread may have stopped before it could take the task from the mailbox
+            if (isStopped() && mailbox.remove(task)) {
+                task.reject(stoppedException());
+            }
+        }
+
+        private boolean isStopped() {
+            return shuttingDown || !thread.isAlive();
+        }
+
+        private IllegalStateException stoppedException() {
+            return shuttingDown
+                    ? new IllegalStateException("ShardedCommandBus has been shut down")
+                    : new IllegalStateException("The thread [" + thread.getName() + "] handling the shard has stopped");
+        }
+
+        /**
+         * Interrupts the thread of this shard, which stops it from handling any remaining commands in the mailbox, even
+         * if the interrupted handler clears the interruption flag.
+         */
+        private void abort() {
+            aborted = true;
+            thread.interrupt();
+        }
+
+        private void rejectRemaining() {
+            CommandTask task;
+            while ((task = mailbox.poll()) != null) {
+                task.reject(stoppedException());
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!aborted && (!shuttingDown || !mailbox.isEmpty())) {
+                    CommandTask task = mailbox.poll(100, TimeUnit.MILLISECONDS);
+                    if (task != null) {
+                        process(task);
+                    }
+                }
+            } catch (InterruptedException e) {
+                logger.warn("Shard thread [{}] was interrupted. Shutting down.", Thread.currentThread().getName());
+                Thread.currentThread().interrupt();
+            } finally {
+                rejectRemaining();
+            }
+        }
+
+        private void process(CommandTask task) {
+            try {
+                task.handle();
+            } catch (Exception e) {
+                logger.warn("An unexpected exception occurred while handling a command", e);
+            }
+        }
+    }
+
+    /**
+     * A command waiting in the mailbox of a shard, which is either handled by the shard or rejected when the shard
+     * stops before it got to handle it.
+     */
+    private static class CommandTask {
+
+        private final Runnable handler;
+        private final Consumer<Throwable> rejectionHandler;
+
+        private CommandTask(Runnable handler, Consumer<Throwable> rejectionHandler) {
+            this.handler = handler;
+            this.rejectionHandler = rejectionHandler;
+        }
+
+        private void handle() {
+            handler.run();
+        }
+
+        private void reject(Throwable cause) {
+            try {
+                rejectionHandler.accept(cause);
+            } catch (Exception e) {
+                logger.warn("An unexpected exception occurred while rejecting a command", e);
+            }
+        }
+    }
+
+    /**
+     * Builder class to instantiate a {@link ShardedCommandBus}.
+     * <p>
+     * The {@link TransactionManager}, {@link MessageMonitor}, {@link RollbackConfiguration}, {@link
+     * DuplicateCommandHandlerResolver}, {@link RoutingStrategy} and {@link ThreadFactory} are respectively defaulted to
+     * a {@link NoTransactionManager}, a {@link NoOpMessageMonitor}, a {@link
+     * RollbackConfigurationType#UNCHECKED_EXCEPTIONS}, a {@link DuplicateCommandHandlerResolution#logAndOverride()},
+     * an {@link AnnotationRoutingStrategy} and an {@link AxonThreadFactory}. The {@code shardCount} defaults to the
+     * number of available processors and the {@code queueCapacity} to {@code 1024}. The TransactionManager,
+     * MessageMonitor, RollbackConfiguration, RoutingStrategy and ThreadFactory are <b>hard requirements</b>. Thus
+     * setting them to {@code null} will result in an {@link AxonConfigurationException}.
+     */
+    public static class Builder extends SimpleCommandBus.Builder {
+
+        private RoutingStrategy routingStrategy = AnnotationRoutingStrategy.defaultStrategy();
+        private ThreadFactory threadFactory = new AxonThreadFactory(ShardedCommandBus.class.getSimpleName());
+        private int shardCount = Runtime.getRuntime().availableProcessors();
+        private int queueCapacity = 1024;
+
+        @Override
+        public Builder transactionManager(TransactionManager transactionManager) {
+            super.transactionManager(transactionManager);
+            return this;
+        }
+
+        @Override
+        public Builder messageMonitor(MessageMonitor<? super CommandMessage<?>> messageMonitor) {
+            super.messageMonitor(messageMonitor);
+            return this;
+        }
+
+        @Override
+        public Builder rollbackConfiguration(RollbackConfiguration rollbackConfiguration) {
+            super.rollbackConfiguration(rollbackConfiguration);
+            return this;
+        }
+
+        @Override
+        public Builder defaultCommandCallback(CommandCallback<Object, Object> defaultCommandCallback) {
+            super.defaultCommandCallback(defaultCommandCallback);
+            return this;
+        }
+
+        @Override
+        public Builder duplicateCommandHandlerResolver(
+                DuplicateCommandHandlerResolver duplicateCommandHandlerResolver) {
+            super.duplicateCommandHandlerResolver(duplicateCommandHandlerResolver);
+            return this;
+        }
+
+        /**
+         * Sets the {@link RoutingStrategy} used to resolve the key on which commands are assigned to a shard. Commands
+         * with the same routing key are always handled by the same shard. Defaults to an {@link
+         * AnnotationRoutingStrategy}, which routes commands on their target aggregate identifier.
+         *
+         * @param routingStrategy a {@link RoutingStrategy} used to resolve the key on which commands are assigned to a
+         *                        shard
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder routingStrategy(RoutingStrategy routingStrategy) {
+            assertNonNull(routingStrategy, "RoutingStrategy may not be null");
+            this.routingStrategy = routingStrategy;
+            return this;
+        }
+
+        /**
+         * Sets the {@link ThreadFactory} used to create the threads processing the shards. Defaults to an {@link
+         * AxonThreadFactory}. A factory creating virtual threads may be provided on runtimes supporting them.
+         *
+         * @param threadFactory a {@link ThreadFactory} used to create the threads processing the shards
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder threadFactory(ThreadFactory threadFactory) {
+            assertNonNull(threadFactory, "ThreadFactory may not be null");
+            this.threadFactory = threadFactory;
+            return this;
+        }
+
+        /**
+         * Sets the number of shards commands are distributed over, each processed by a single thread. Defaults to the
+         * number of available processors. Commands dispatched by a handler to its own shard are handled directly, but
+         * handlers on different shards waiting for each other's commands deadlock both shards.
+         *
+         * @param shardCount the number of shards commands are distributed over
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder shardCount(int shardCount) {
+            assertStrictPositive(shardCount, "The shard count must be a positive number");
+            this.shardCount = shardCount;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of commands waiting in the mailbox of a single shard. When a mailbox is full, the
+         * dispatching thread is blocked until space becomes available. Defaults to {@code 1024}.
+         *
+         * @param queueCapacity the maximum number of commands waiting in the mailbox of a single shard
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder queueCapacity(int queueCapacity) {
+            assertStrictPositive(queueCapacity, "The queue capacity must be a positive number");
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Initializes a {@link ShardedCommandBus} as specified through this Builder.
+         *
+         * @return a {@link ShardedCommandBus} as specified through this Builder
+         */
+        public ShardedCommandBus build() {
+            return new ShardedCommandBus(this);
+        }
+    }
+}
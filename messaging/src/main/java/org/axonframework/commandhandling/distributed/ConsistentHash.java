@@ -22,6 +22,7 @@
 
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -32,10 +33,19 @@
  * <p>
  * A ConsistentHash is used to route commands targeting the same aggregate to the same member. In that case the
  * aggregate identifier is the routing key.
+ * <p>
+ * By default, positions on the ring are MD5 hashes of the routing key. A ConsistentHash created through {@link
+ * #numeric()} uses a fast, non-cryptographic 64 bit hash instead, which avoids creating a digest and a hex encoded
+ * String for every routed command. Both rings place members differently, so all members of a cluster should use the
+ * same kind of ring.
  */
 public class ConsistentHash {
 
+    // the cache is sized to the next power of two, which must still fit in an int
+    private static final int MAX_ROUTING_KEY_CACHE_SIZE = 1 << 30;
+
     private final SortedMap<String, ConsistentHashMember> hashToMember;
+    private final NumericRing numericRing;
     private final int modCount;
     private final Function<String, String> hashFunction;
     private final Map<String, ConsistentHashMember> members;
@@ -50,6 +60,61 @@ protected static String hash(String routingKey) {
         return Digester.md5Hex(routingKey);
     }
 
+    /**
+     * Returns the 64 bit hash of the given {@code routingKey}, as used by a ConsistentHash created through {@link
+     * #numeric()}. This is a FNV-1a hash of the characters of the key, followed by the finalization step of MurmurHash3
+     * to spread similar keys over the whole ring.
+     *
+     * @param routingKey the routing key to hash
+     * @return a 64 bit hash of the input key
+     */
+    protected static long numericHash(String routingKey) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < routingKey.length(); i++) {
+            hash ^= routingKey.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Initializes a new {@link ConsistentHash} which positions members and routing keys on the ring using {@link
+     * #numericHash(String)}. Routing a command requires a binary search over a sorted array of positions, instead of a
+     * lookup in a map of hex encoded MD5 hashes. To register members use {@link #with(Member, int,
+     * CommandMessageFilter)}.
+     *
+     * @return a new, empty {@link ConsistentHash} using numeric ring positions
+     */
+    public static ConsistentHash numeric() {
+        return numeric(0);
+    }
+
+    /**
+     * Initializes a new {@link ConsistentHash} which positions members and routing keys on the ring using {@link
+     * #numericHash(String)}, caching the ring position of up to (approximately) {@code routingKeyCacheSize} routing
+     * keys. The cache is discarded whenever the membership changes. A {@code routingKeyCacheSize} of {@code 0} disables
+     * caching. To register members use {@link #with(Member, int, CommandMessageFilter)}.
+     *
+     * @param routingKeyCacheSize the number of routing keys to cache the ring position for, at most {@code 2^30}
+     * @return a new, empty {@link ConsistentHash} using numeric ring positions
+     */
+    public static ConsistentHash numeric(int routingKeyCacheSize) {
+        Assert.isTrue(routingKeyCacheSize >= 0, () -> "The routing key cache size may not be negative");
+        Assert.isTrue(routingKeyCacheSize <= MAX_ROUTING_KEY_CACHE_SIZE,
+                      () -> "The routing key cache size may not exceed " + MAX_ROUTING_KEY_CACHE_SIZE);
+        return new ConsistentHash(Collections.emptyMap(),
+                                  ConsistentHash::hash,
+                                  new NumericRing(Collections.emptyList(),
+                                                  ConsistentHash::numericHash,
+                                                  routingKeyCacheSize),
+                                  0);
+    }
+
     /**
      * Initializes a new {@link ConsistentHash}. To register members use {@link #with(Member, int, CommandMessageFilter)}.
      */
@@ -65,18 +130,24 @@ public ConsistentHash() {
      */
     public ConsistentHash(Function<String, String> hashFunction) {
         hashToMember = Collections.emptySortedMap();
+        numericRing = null;
         members = Collections.emptyMap();
         modCount = 0;
         this.hashFunction = hashFunction;
     }
 
     private ConsistentHash(Map<String, ConsistentHashMember> members,
-                           Function<String, String> hashFunction, int modCount) {
+                           Function<String, String> hashFunction, NumericRing numericRing, int modCount) {
         this.hashFunction = hashFunction;
         this.modCount = modCount;
         this.hashToMember = new TreeMap<>();
         this.members = members;
-        members.values().forEach(m -> m.hashes().forEach(h -> hashToMember.put(h, m)));
+        if (numericRing == null) {
+            this.numericRing = null;
+            members.values().forEach(m -> m.hashes().forEach(h -> hashToMember.put(h, m)));
+        } else {
+            this.numericRing = numericRing.withMembers(members.values());
+        }
     }
 
     /**
@@ -88,6 +159,9 @@ private ConsistentHash(Map<String, ConsistentHashMember> members,
      * @return A collection containing each of the nodes, in the order they would be considered
      */
     public Collection<ConsistentHashMember> getEligibleMembers(String routingKey) {
+        if (numericRing != null) {
+            return numericRing.getEligibleMembers(routingKey);
+        }
         String hash = hash(routingKey);
         Collection<ConsistentHashMember> tail = hashToMember.tailMap(hash).values();
         Collection<ConsistentHashMember> head = hashToMember.headMap(hash).values();
@@ -105,6 +179,9 @@ public Collection<ConsistentHashMember> getEligibleMembers(String routingKey) {
      * @return the member that should handle the message or an empty Optional if no suitable member was found
      */
     public Optional<Member> getMember(String routingKey, CommandMessage<?> commandMessage) {
+        if (numericRing != null) {
+            return numericRing.getMember(routingKey, commandMessage);
+        }
         String hash = hash(routingKey);
         Optional<Member> foundMember = findSuitableMember(commandMessage, hashToMember.tailMap(hash).values());
         if (!foundMember.isPresent()) {
@@ -153,7 +230,7 @@ public ConsistentHash with(Member member, int loadFactor, CommandMessageFilter c
         Map<String, ConsistentHashMember> newMembers = new TreeMap<>(members);
         newMembers.put(member.name(), newMember);
 
-        return new ConsistentHash(newMembers, hashFunction, modCount + 1);
+        return new ConsistentHash(newMembers, hashFunction, numericRing, modCount + 1);
     }
 
     /**
@@ -170,7 +247,7 @@ public ConsistentHash without(Member member) {
 
         Map<String, ConsistentHashMember> newMembers = new TreeMap<>(members);
         newMembers.remove(member.name());
-        return new ConsistentHash(newMembers, hashFunction, modCount + 1);
+        return new ConsistentHash(newMembers, hashFunction, numericRing, modCount + 1);
     }
 
     @Override
@@ -182,12 +259,12 @@ public boolean equals(Object o) {
             return false;
         }
         ConsistentHash that = (ConsistentHash) o;
-        return Objects.equals(hashToMember, that.hashToMember);
+        return Objects.equals(hashToMember, that.hashToMember) && Objects.equals(numericRing, that.numericRing);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(hashToMember);
+        return Objects.hash(hashToMember, numericRing);
     }
 
     @Override
@@ -263,7 +340,9 @@ public CommandMessageFilter getCommandFilter() {
         /**
          * Returns the hashes covered by the member. If the hash of the routing key matches with one of the returned
          * hashes and the member is capable of handling the command then it will be selected as a target for the
-         * command.
+         * command. These are the positions of the member on the default, MD5 based ring. The positions on a ring
+         * created through {@link ConsistentHash#numeric()} are calculated using {@link
+         * ConsistentHash#numericHash(String)}.
          *
          * @return the hashes covered by this member
          */
@@ -302,7 +381,174 @@ public String toString() {
             return member.name() + "(" + segmentCount + ")";
         }
     }
-}
 
+    /**
+     * Ring using 64 bit positions, kept in a sorted array alongside the member owning each position.
+     */
+    private static final class NumericRing {
+
+        private final long[] positions;
+        private final ConsistentHashMember[] owners;
+        private final ToLongFunction<String> hashFunction;
+        private final int routingKeyCacheSize;
+        private final RoutingKeyCache routingKeyCache;
+
+        private NumericRing(Collection<ConsistentHashMember> members,
+                            ToLongFunction<String> hashFunction,
+                            int routingKeyCacheSize) {
+            this.hashFunction = hashFunction;
+            this.routingKeyCacheSize = routingKeyCacheSize;
+            this.routingKeyCache = routingKeyCacheSize > 0 ? new RoutingKeyCache(routingKeyCacheSize) : null;
+            List<RingPosition> ring = new ArrayList<>();
+            for (ConsistentHashMember member : members) {
+                for (int i = 0; i < member.segmentCount(); i++) {
+                    ring.add(new RingPosition(hashFunction.applyAsLong(member.name() + " #" + i), member));
+                }
+            }
+            // ties are broken by member name, to have all nodes agree on the owner of a position
+            ring.sort(Comparator.comparingLong((RingPosition p) -> p.position)
+                                .thenComparing(p -> p.member.name()));
+            this.positions = new long[ring.size()];
+            this.owners = new ConsistentHashMember[ring.size()];
+            for (int i = 0; i < ring.size(); i++) {
+                positions[i] = ring.get(i).position;
+                owners[i] = ring.get(i).member;
+            }
+        }
+
+        private NumericRing withMembers(Collection<ConsistentHashMember> members) {
+            return new NumericRing(members, hashFunction, routingKeyCacheSize);
+        }
+
+        private Optional<Member> getMember(String routingKey, CommandMessage<?> commandMessage) {
+            if (positions.length == 0) {
+                return Optional.empty();
+            }
+            int index = startIndex(routingKey);
+            ConsistentHashMember previous = null;
+            for (int i = 0; i < owners.length; i++) {
+                ConsistentHashMember candidate = owners[index];
+                // consecutive positions often belong to the same member, which only needs to be checked once
+                if (candidate != previous && candidate.commandFilter.matches(commandMessage)) {
+                    return Optional.of(candidate);
+                }
+                previous = candidate;
+                index = index + 1 == owners.length ? 0 : index + 1;
+            }
+            return Optional.empty();
+        }
+
+        private Collection<ConsistentHashMember> getEligibleMembers(String routingKey) {
+            LinkedHashSet<ConsistentHashMember> eligibleMembers = new LinkedHashSet<>();
+            if (positions.length == 0) {
+                return eligibleMembers;
+            }
+            int index = startIndex(routingKey);
+            for (int i = 0; i < owners.length; i++) {
+                eligibleMembers.add(owners[index]);
+                index = index + 1 == owners.length ? 0 : index + 1;
+            }
+            return eligibleMembers;
+        }
+
+        private int startIndex(String routingKey) {
+            if (routingKeyCache != null) {
+                int cachedIndex = routingKeyCache.get(routingKey);
+                if (cachedIndex >= 0) {
+                    return cachedIndex;
+                }
+            }
+            long hash = hashFunction.applyAsLong(routingKey);
+            int index = Arrays.binarySearch(positions, hash);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            while (index > 0 && positions[index - 1] == hash) {
+                index--;
+            }
+            if (index == positions.length) {
+                index = 0;
+            }
+            if (routingKeyCache != null) {
+                routingKeyCache.put(routingKey, index);
+            }
+            return index;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            NumericRing that = (NumericRing) o;
+            return Arrays.equals(positions, that.positions) && Arrays.equals(owners, that.owners);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(positions) + Arrays.hashCode(owners);
+        }
+    }
 
+    /**
+     * A position on the {@link NumericRing}, used while building it.
+     */
+    private static final class RingPosition {
+
+        private final long position;
+        private final ConsistentHashMember member;
 
+        private RingPosition(long position, ConsistentHashMember member) {
+            this.position = position;
+            this.member = member;
+        }
+    }
+
+    /**
+     * Direct mapped cache of the ring index of routing keys. An entry replaces any other entry mapped to the same slot.
+     * Slots are read and written without synchronization, which is safe as entries are immutable: a thread either sees
+     * a complete entry or none at all, in which case the index is calculated again.
+     */
+    private static final class RoutingKeyCache {
+
+        private final CachedIndex[] entries;
+        private final int mask;
+
+        private RoutingKeyCache(int size) {
+            int capacity = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+            this.entries = new CachedIndex[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private int get(String routingKey) {
+            CachedIndex entry = entries[slot(routingKey)];
+            return entry != null && entry.routingKey.equals(routingKey) ? entry.index : -1;
+        }
+
+        private void put(String routingKey, int index) {
+            entries[slot(routingKey)] = new CachedIndex(routingKey, index);
+        }
+
+        private int slot(String routingKey) {
+            int hash = routingKey.hashCode();
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+    }
+
+    /**
+     * Entry of the {@link RoutingKeyCache}.
+     */
+    private static final class CachedIndex {
+
+        private final String routingKey;
+        private final int index;
+
+        private CachedIndex(String routingKey, int index) {
+            this.routingKey = routingKey;
+            this.index = index;
+        }
+    }
+}
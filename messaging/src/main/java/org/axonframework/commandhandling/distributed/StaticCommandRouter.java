@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.commandhandling.distributed;
+
+import org.axonframework.commandhandling.CommandMessage;
+import org.axonframework.commandhandling.distributed.commandfilter.AcceptAll;
+import org.axonframework.commandhandling.distributed.commandfilter.DenyAll;
+import org.axonframework.common.AxonConfigurationException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.axonframework.common.BuilderUtils.assertNonNull;
+import static org.axonframework.common.BuilderUtils.assertPositive;
+import static org.axonframework.common.BuilderUtils.assertThat;
+
+/**
+ * A {@link CommandRouter} routing commands over a fixed set of members, using a {@link ConsistentHash}. It does not
+ * discover members, nor does it detect their failure, which makes it suited for clusters of which the members are known
+ * up front, such as a number of nodes running on a single machine during tests and benchmarks.
+ * <p>
+ * The capabilities of the local member are updated through {@link #updateMembership(int, CommandMessageFilter)} as
+ * command handlers are subscribed. Since the capabilities of remote members are not exchanged, those are provided when
+ * configuring this router, and default to accepting all commands.
+ *
+ * @since 4.5
+ */
+public class StaticCommandRouter implements CommandRouter {
+
+    private final RoutingStrategy routingStrategy;
+    private final Member localMember;
+    private final ConsistentHashChangeListener consistentHashChangeListener;
+    private final AtomicReference<ConsistentHash> consistentHash;
+
+    /**
+     * Instantiate a {@link StaticCommandRouter} based on the fields contained in the {@link Builder}.
+     * <p>
+     * Will assert that the {@code localMember} is not {@code null} and will throw an {@link AxonConfigurationException}
+     * if this is the case.
+     *
+     * @param builder the {@link Builder} used to instantiate a {@link StaticCommandRouter} instance
+     */
+    protected StaticCommandRouter(Builder builder) {
+        builder.validate();
+        this.routingStrategy = builder.routingStrategy;
+        this.localMember = builder.localMember;
+        this.consistentHashChangeListener = builder.consistentHashChangeListener;
+        ConsistentHash initialHash = builder.consistentHash.with(localMember, builder.loadFactor, DenyAll.INSTANCE);
+        for (Map.Entry<Member, CommandMessageFilter> remoteMember : builder.remoteMembers.entrySet()) {
+            initialHash = initialHash.with(remoteMember.getKey(), builder.loadFactor, remoteMember.getValue());
+        }
+        this.consistentHash = new AtomicReference<>(initialHash);
+    }
+
+    /**
+     * Instantiate a Builder to be able to create a {@link StaticCommandRouter}.
+     * <p>
+     * The {@link RoutingStrategy} defaults to an {@link AnnotationRoutingStrategy}, the load factor of all members to
+     * {@code 100}, the {@link ConsistentHash} to an empty, MD5 based ring and the {@link ConsistentHashChangeListener}
+     * to a no-op. The {@code localMember} is a <b>hard requirement</b> and as such should be provided.
+     *
+     * @return a Builder to be able to create a {@link StaticCommandRouter}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public Optional<Member> findDestination(CommandMessage<?> message) {
+        return consistentHash.get().getMember(routingStrategy.getRoutingKey(message), message);
+    }
+
+    @Override
+    public void updateMembership(int loadFactor, CommandMessageFilter commandFilter) {
+        ConsistentHash previous = consistentHash.get();
+        ConsistentHash updated = consistentHash.updateAndGet(
+                current -> current.with(localMember, loadFactor, commandFilter)
+        );
+        if (!updated.equals(previous)) {
+            consistentHashChangeListener.onConsistentHashChanged(updated);
+        }
+    }
+
+    /**
+     * Returns the {@link ConsistentHash} currently used to route commands.
+     *
+     * @return the {@link ConsistentHash} currently used to route commands
+     */
+    public ConsistentHash getConsistentHash() {
+        return consistentHash.get();
+    }
+
+    /**
+     * Builder class to instantiate a {@link StaticCommandRouter}.
+     * <p>
+     * The {@link RoutingStrategy} defaults to an {@link AnnotationRoutingStrategy}, the load factor of all members to
+     * {@code 100}, the {@link ConsistentHash} to an empty, MD5 based ring and the {@link ConsistentHashChangeListener}
+     * to a no-op. The {@code localMember} is a <b>hard requirement</b> and as such should be provided.
+     */
+    public static class Builder {
+
+        private RoutingStrategy routingStrategy = AnnotationRoutingStrategy.defaultStrategy();
+        private Member localMember;
+        private final Map<Member, CommandMessageFilter> remoteMembers = new LinkedHashMap<>();
+        private int loadFactor = 100;
+        private ConsistentHash consistentHash = new ConsistentHash();
+        private ConsistentHashChangeListener consistentHashChangeListener = ConsistentHashChangeListener.noOp();
+
+        /**
+         * Sets the {@link RoutingStrategy} used to resolve the routing key of commands. Defaults to an {@link
+         * AnnotationRoutingStrategy}.
+         *
+         * @param routingStrategy the {@link RoutingStrategy} used to resolve the routing key of commands
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder routingStrategy(RoutingStrategy routingStrategy) {
+            assertNonNull(routingStrategy, "RoutingStrategy may not be null");
+            this.routingStrategy = routingStrategy;
+            return this;
+        }
+
+        /**
+         * Sets the {@link Member} representing this node. Its capabilities are provided by the {@link
+         * DistributedCommandBus} through {@link CommandRouter#updateMembership(int, CommandMessageFilter)}.
+         *
+         * @param localMember the {@link Member} representing this node
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder localMember(Member localMember) {
+            assertNonNull(localMember, "Local member may not be null");
+            this.localMember = localMember;
+            return this;
+        }
+
+        /**
+         * Adds a remote {@link Member} which is assumed to be able to handle all commands.
+         *
+         * @param remoteMember a remote {@link Member} of the cluster
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder remoteMember(Member remoteMember) {
+            return remoteMember(remoteMember, AcceptAll.INSTANCE);
+        }
+
+        /**
+         * Adds a remote {@link Member} which is able to handle the commands matching the given {@code commandFilter}.
+         *
+         * @param remoteMember  a remote {@link Member} of the cluster
+         * @param commandFilter the filter describing the commands the given {@code remoteMember} is able to handle
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder remoteMember(Member remoteMember, CommandMessageFilter commandFilter) {
+            assertNonNull(remoteMember, "Remote member may not be null");
+            assertNonNull(commandFilter, "CommandMessageFilter may not be null");
+            this.remoteMembers.put(remoteMember, commandFilter);
+            return this;
+        }
+
+        /**
+         * Sets the load factor of the remote members, as well as the initial load factor of the local member. Defaults
+         * to {@code 100}.
+         *
+         * @param loadFactor the load factor of the members
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder loadFactor(int loadFactor) {
+            assertPositive(loadFactor, "The load factor should be a positive number");
+            this.loadFactor = loadFactor;
+            return this;
+        }
+
+        /**
+         * Sets the {@link ConsistentHash} the members are registered with, which defines how commands are distributed
+         * over the members. Defaults to an empty, MD5 based {@link ConsistentHash}. Use {@link
+         * ConsistentHash#numeric()} for faster routing, in which case all members of the cluster should be configured
+         * likewise.
+         *
+         * @param consistentHash the {@link ConsistentHash} to register the members with
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder consistentHash(ConsistentHash consistentHash) {
+            assertNonNull(consistentHash, "ConsistentHash may not be null");
+            this.consistentHash = consistentHash;
+            return this;
+        }
+
+        /**
+         * Sets the {@link ConsistentHashChangeListener} notified when the capabilities of the local member change.
+         * Defaults to a no-op.
+         *
+         * @param consistentHashChangeListener the {@link ConsistentHashChangeListener} to notify of changes
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder consistentHashChangeListener(ConsistentHashChangeListener consistentHashChangeListener) {
+            assertNonNull(consistentHashChangeListener, "ConsistentHashChangeListener may not be null");
+            this.consistentHashChangeListener = consistentHashChangeListener;
+            return this;
+        }
+
+        /**
+         * Initializes a {@link StaticCommandRouter} as specified through this Builder.
+         *
+         * @return a {@link StaticCommandRouter} as specified through this Builder
+         */
+        public StaticCommandRouter build() {
+            return new StaticCommandRouter(this);
+        }
+
+        /**
+         * Validates whether the fields contained in this Builder are set accordingly.
+         *
+         * @throws AxonConfigurationException if one field is asserted to be incorrect according to the Builder's
+         *                                    specifications
+         */
+        protected void validate() throws AxonConfigurationException {
+            assertNonNull(localMember, "The local member is a hard requirement and should be provided");
+            assertThat(remoteMembers.keySet(), members -> !members.contains(localMember),
+                       "The local member may not be registered as a remote member");
+        }
+    }
+}
@@ -0,0 +1,786 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.commandhandling.distributed.tcp;
+
+import org.axonframework.commandhandling.CommandBus;
+import org.axonframework.commandhandling.CommandCallback;
+import org.axonframework.commandhandling.CommandMessage;
+import org.axonframework.commandhandling.CommandResultMessage;
+import org.axonframework.commandhandling.distributed.CommandBusConnector;
+import org.axonframework.commandhandling.distributed.CommandBusConnectorCommunicationException;
+import org.axonframework.commandhandling.distributed.CommandCallbackRepository;
+import org.axonframework.commandhandling.distributed.CommandCallbackWrapper;
+import org.axonframework.commandhandling.distributed.CommandDispatchException;
+import org.axonframework.commandhandling.distributed.DistributedCommandBus;
+import org.axonframework.commandhandling.distributed.Member;
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.common.AxonThreadFactory;
+import org.axonframework.common.Registration;
+import org.axonframework.lifecycle.Phase;
+import org.axonframework.lifecycle.ShutdownLatch;
+import org.axonframework.lifecycle.StartHandler;
+import org.axonframework.messaging.MessageHandler;
+import org.axonframework.messaging.MessageHandlerInterceptor;
+import org.axonframework.serialization.Serializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.axonframework.commandhandling.GenericCommandResultMessage.asCommandResultMessage;
+import static org.axonframework.common.BuilderUtils.assertNonNull;
+import static org.axonframework.common.BuilderUtils.assertStrictPositive;
+
+/**
+ * A {@link CommandBusConnector} which connects the segments of a {@link DistributedCommandBus} through plain TCP
+ * connections, using non-blocking sockets.
+ * <p>
+ * A single IO thread multiplexes all connections of this connector. Every remote member is reached through one
+ * persistent connection, which is opened on the first command sent to it. Messages are written as length prefixed
+ * binary frames (see {@link TcpDispatchMessage} and {@link TcpReplyMessage}), and commands are pipelined: a command is
+ * written without waiting for the reply to a previously sent command. Replies are correlated to their callbacks through
+ * a {@link CommandCallbackRepository}, which also fails the outstanding callbacks of a connection once it is lost.
+ * <p>
+ * Members are expected to expose their address as an {@link InetSocketAddress} connection endpoint. Combined with a
+ * static member list, such as the one provided by the
+ * {@link org.axonframework.commandhandling.distributed.StaticCommandRouter}, this is sufficient to run a cluster of
+ * several nodes on a single machine for tests and benchmarks.
+ * <p>
+ * Incoming commands are handled by the given {@code localSegment} on the configured {@link Executor}. The connector
+ * starts accepting connections once {@link #start()} is invoked.
+ *
+ * @since 4.5
+ */
+public class TcpCommandBusConnector implements CommandBusConnector {
+
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final int INITIAL_READ_BUFFER_SIZE = 64 * 1024;
+    private static final long IO_THREAD_JOIN_TIMEOUT_MILLIS = 5000;
+
+    private final CommandBus localSegment;
+    private final Serializer serializer;
+    private final InetSocketAddress bindAddress;
+    private final Executor executor;
+    private final boolean ownsExecutor;
+    private final int maxFrameSize;
+
+    private final ConnectionCallbackRepository callbackRepository = new ConnectionCallbackRepository();
+    private final ConcurrentMap<InetSocketAddress, Connection> outboundConnections = new ConcurrentHashMap<>();
+    private final Queue<Runnable> selectorTasks = new ConcurrentLinkedQueue<>();
+    private final ShutdownLatch shutdownLatch = new ShutdownLatch();
+
+    private volatile boolean running;
+    private volatile Selector selector;
+    private volatile ServerSocketChannel serverChannel;
+    private volatile Thread ioThread;
+
+    /**
+     * Instantiate a {@link TcpCommandBusConnector} based on the fields contained in the {@link Builder}.
+     * <p>
+     * Will assert that the {@code localSegment}, {@link Serializer} and {@code bindAddress} are not {@code null}, and
+     * will throw an {@link AxonConfigurationException} if any of them is {@code null}.
+     *
+     * @param builder the {@link Builder} used to instantiate a {@link TcpCommandBusConnector} instance
+     */
+    protected TcpCommandBusConnector(Builder builder) {
+        builder.validate();
+        this.localSegment = builder.localSegment;
+        this.serializer = builder.serializer;
+        this.bindAddress = builder.bindAddress;
+        this.ownsExecutor = builder.executor == null;
+        this.executor = ownsExecutor
+                ? Executors.newCachedThreadPool(new AxonThreadFactory("TcpCommandBusConnector"))
+                : builder.executor;
+        this.maxFrameSize = builder.maxFrameSize;
+    }
+
+    /**
+     * Instantiate a Builder to be able to create a {@link TcpCommandBusConnector}.
+     * <p>
+     * The {@link Executor} defaults to a cached thread pool owned by the connector and the maximum frame size defaults
+     * to 16 megabytes. The {@code localSegment}, {@link Serializer} and {@code bindAddress} are <b>hard
+     * requirements</b> and as such should be provided.
+     *
+     * @return a Builder to be able to create a {@link TcpCommandBusConnector}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Binds this connector to the configured bind address and starts the IO thread handling all connections. Invoking
+     * this method on a started connector has no effect.
+     *
+     * @throws CommandBusConnectorCommunicationException if the server socket could not be bound
+     */
+    @StartHandler(phase = Phase.INBOUND_COMMAND_CONNECTOR)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        try {
+            selector = Selector.open();
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.configureBlocking(false);
+            serverChannel.bind(bindAddress);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            closeQuietly();
+            throw new CommandBusConnectorCommunicationException("Unable to bind to " + bindAddress, e);
+        }
+        shutdownLatch.initialize();
+        running = true;
+        ioThread = new AxonThreadFactory("TcpCommandBusConnector-IO").newThread(this::selectLoop);
+        ioThread.start();
+    }
+
+    /**
+     * Returns the address this connector accepts connections on. When the connector was configured to bind to port
+     * {@code 0}, the returned address contains the port that was actually assigned.
+     *
+     * @return the address this connector accepts connections on
+     * @throws IllegalStateException if the connector has not been started
+     */
+    public InetSocketAddress getLocalAddress() {
+        ServerSocketChannel channel = serverChannel;
+        if (channel == null) {
+            throw new IllegalStateException("The connector has not been started");
+        }
+        try {
+            return (InetSocketAddress) channel.getLocalAddress();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to resolve the local address", e);
+        }
+    }
+
+    @Override
+    public <C> void send(Member destination, CommandMessage<? extends C> command) throws Exception {
+        shutdownLatch.ifShuttingDown("Cannot send commands when the connector is shutting down");
+        if (destination.local()) {
+            localSegment.dispatch(command);
+            return;
+        }
+        connectionTo(destination).write(TcpFrames.frame(
+                TcpFrames.DISPATCH, new TcpDispatchMessage(command, serializer, false)::writeTo
+        ));
+    }
+
+    @Override
+    public <C, R> void send(Member destination, CommandMessage<C> command, CommandCallback<? super C, R> callback)
+            throws Exception {
+        ShutdownLatch.ActivityHandle activity = shutdownLatch.registerActivity();
+        CommandCallback<C, R> trackingCallback = (message, result) -> {
+            try {
+                callback.onResult(message, result);
+            } finally {
+                activity.end();
+            }
+        };
+        if (destination.local()) {
+            localSegment.dispatch(command, trackingCallback);
+            return;
+        }
+        String commandIdentifier = command.getIdentifier();
+        boolean callbackStored = false;
+        try {
+            Connection connection = connectionTo(destination);
+            callbackRepository.store(commandIdentifier,
+                                     new CommandCallbackWrapper<>(connection, command, trackingCallback));
+            callbackStored = true;
+            connection.write(TcpFrames.frame(
+                    TcpFrames.DISPATCH, new TcpDispatchMessage(command, serializer, true)::writeTo
+            ));
+        } catch (Exception e) {
+            // if the connection was lost in the meantime, the callback has already been notified of the failure
+            if (!callbackStored || callbackRepository.fetchAndRemove(commandIdentifier) != null) {
+                activity.end();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public Registration subscribe(String commandName, MessageHandler<? super CommandMessage<?>> handler) {
+        return localSegment.subscribe(commandName, handler);
+    }
+
+    @Override
+    public Registration registerHandlerInterceptor(
+            MessageHandlerInterceptor<? super CommandMessage<?>> handlerInterceptor
+    ) {
+        return localSegment.registerHandlerInterceptor(handlerInterceptor);
+    }
+
+    @Override
+    public Optional<CommandBus> localSegment() {
+        return Optional.of(localSegment);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Once all commands sent with a callback are completed, all connections are closed, the IO thread is stopped and
+     * the {@link Executor} is shut down, if it was created by this connector.
+     */
+    @Override
+    public CompletableFuture<Void> initiateShutdown() {
+        return shutdownLatch.initiateShutdown().thenRun(this::stop);
+    }
+
+    /**
+     * Returns the number of commands sent to remote members for which no reply has been received yet.
+     *
+     * @return the number of commands awaiting a reply
+     */
+    public int pendingReplies() {
+        return callbackRepository.size();
+    }
+
+    private synchronized void stop() {
+        if (running) {
+            running = false;
+            Selector currentSelector = selector;
+            if (currentSelector != null) {
+                currentSelector.wakeup();
+            }
+            try {
+                ioThread.join(IO_THREAD_JOIN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (ownsExecutor) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    private Connection connectionTo(Member destination) {
+        InetSocketAddress address = destination.getConnectionEndpoint(InetSocketAddress.class).orElseThrow(
+                () -> new CommandDispatchException("Member [" + destination.name() + "] has no TCP endpoint")
+        );
+        if (!running) {
+            throw new CommandBusConnectorCommunicationException("The connector has not been started");
+        }
+        return outboundConnections.computeIfAbsent(address, this::openConnection);
+    }
+
+    private Connection openConnection(InetSocketAddress address) {
+        try {
+            SocketChannel channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Connection connection = new Connection(channel, address);
+            boolean connected = channel.connect(address);
+            onSelector(() -> connection.register(connected ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT));
+            return connection;
+        } catch (IOException e) {
+            throw new CommandBusConnectorCommunicationException("Unable to connect to " + address, e);
+        }
+    }
+
+    private void onSelector(Runnable task) {
+        selectorTasks.add(task);
+        Selector currentSelector = selector;
+        if (currentSelector != null) {
+            currentSelector.wakeup();
+        }
+    }
+
+    private void selectLoop() {
+        try {
+            while (running) {
+                selector.select();
+                Runnable task;
+                while ((task = selectorTasks.poll()) != null) {
+                    task.run();
+                }
+                Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+                while (selectedKeys.hasNext()) {
+                    SelectionKey key = selectedKeys.next();
+                    selectedKeys.remove();
+                    handleSelectedKey(key);
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            logger.warn("The IO thread of the TcpCommandBusConnector stopped unexpectedly", e);
+        } finally {
+            running = false;
+            closeQuietly();
+        }
+    }
+
+    private void handleSelectedKey(SelectionKey key) {
+        Connection connection = (Connection) key.attachment();
+        try {
+            if (!key.isValid()) {
+                return;
+            }
+            if (key.isAcceptable()) {
+                accept();
+                return;
+            }
+            if (key.isConnectable()) {
+                connection.finishConnect();
+            }
+            if (key.isValid() && key.isReadable()) {
+                connection.read();
+            }
+            if (key.isValid() && key.isWritable()) {
+                connection.flush();
+            }
+        } catch (IOException | RuntimeException e) {
+            // failures of a single connection, such as a rejected frame, should not stop the IO thread
+            if (connection != null) {
+                connection.close(e);
+            } else {
+                logger.warn("Failed to accept an incoming connection", e);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            new Connection(channel, null).register(SelectionKey.OP_READ);
+        }
+    }
+
+    private void closeQuietly() {
+        Selector currentSelector = selector;
+        if (currentSelector != null && currentSelector.isOpen()) {
+            for (SelectionKey key : currentSelector.keys()) {
+                if (key.attachment() instanceof Connection) {
+                    ((Connection) key.attachment()).close(null);
+                }
+            }
+        }
+        // connections which were never registered with the selector
+        outboundConnections.values().forEach(connection -> connection.close(null));
+        try {
+            if (serverChannel != null) {
+                serverChannel.close();
+            }
+            if (currentSelector != null) {
+                currentSelector.close();
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to close the server socket of the TcpCommandBusConnector", e);
+        }
+    }
+
+    private void handleFrame(Connection connection, byte[] frame) {
+        try {
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(frame));
+            byte frameType = input.readByte();
+            if (frameType == TcpFrames.DISPATCH) {
+                TcpDispatchMessage message;
+                try {
+                    message = TcpDispatchMessage.readFrom(input);
+                } catch (IOException e) {
+                    rejectMalformedDispatch(connection, frame, e);
+                    return;
+                }
+                handleDispatch(connection, message);
+            } else if (frameType == TcpFrames.REPLY) {
+                handleReply(TcpReplyMessage.readFrom(input));
+            } else {
+                logger.warn("Received a frame of unknown type [{}]. Ignoring it.", frameType);
+            }
+        } catch (IOException e) {
+            logger.warn("Received a malformed frame. Ignoring it.", e);
+        }
+    }
+
+    private void rejectMalformedDispatch(Connection connection, byte[] frame, IOException cause) {
+        String commandIdentifier;
+        try {
+            commandIdentifier = TcpDispatchMessage.readCommandIdentifier(
+                    new DataInputStream(new ByteArrayInputStream(frame, 1, frame.length - 1))
+            );
+        } catch (IOException e) {
+            logger.warn("Received a malformed command frame. Ignoring it.", cause);
+            return;
+        }
+        // whether a reply is expected is unknown, but the sender ignores replies it is not waiting for
+        logger.warn("Received a malformed frame for command [{}]. Replying with an error.", commandIdentifier, cause);
+        sendReply(connection, commandIdentifier, asCommandResultMessage(new CommandBusConnectorCommunicationException(
+                "Received a malformed frame for command [" + commandIdentifier + "]", cause
+        )));
+    }
+
+    private void handleDispatch(Connection connection, TcpDispatchMessage message) {
+        CommandMessage<?> command;
+        try {
+            command = message.getCommandMessage(serializer);
+        } catch (Exception e) {
+            logger.warn("Unable to deserialize command [{}]", message.getCommandName(), e);
+            if (message.isExpectReply()) {
+                sendReply(connection, message.getCommandIdentifier(), asCommandResultMessage(e));
+            }
+            return;
+        }
+        if (message.isExpectReply()) {
+            localSegment.dispatch(command, (commandMessage, result) -> sendReply(
+                    connection, commandMessage.getIdentifier(), result
+            ));
+        } else {
+            localSegment.dispatch(command);
+        }
+    }
+
+    private void sendReply(Connection connection, String commandIdentifier, CommandResultMessage<?> result) {
+        try {
+            connection.write(TcpFrames.frame(
+                    TcpFrames.REPLY, new TcpReplyMessage(commandIdentifier, result, serializer)::writeTo
+            ));
+        } catch (Exception e) {
+            logger.warn("Unable to send the reply to command [{}]", commandIdentifier, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handleReply(TcpReplyMessage reply) {
+        CommandCallbackWrapper<Connection, Object, Object> callback =
+                callbackRepository.fetchAndRemove(reply.getCommandIdentifier());
+        if (callback == null) {
+            logger.debug("Received a reply to command [{}], which is not awaiting a reply. Ignoring it.",
+                         reply.getCommandIdentifier());
+            return;
+        }
+        CommandResultMessage<Object> result;
+        try {
+            result = (CommandResultMessage<Object>) reply.getCommandResultMessage(serializer);
+        } catch (Exception e) {
+            result = asCommandResultMessage(e);
+        }
+        callback.reportResult(result);
+    }
+
+    /**
+     * A single connection of this connector. Writes may be requested from any thread, but all operations on the
+     * channel itself are performed by the IO thread. Received frames are handled on the {@link Executor} one at a time,
+     * in the order in which they were received, so that commands sent over a single connection are dispatched in
+     * order.
+     */
+    private class Connection {
+
+        private final SocketChannel channel;
+        private final InetSocketAddress remoteAddress;
+        private final Queue<ByteBuffer> pendingWrites = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+        private final Queue<byte[]> receivedFrames = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean handlingScheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private ByteBuffer readBuffer = ByteBuffer.allocate(INITIAL_READ_BUFFER_SIZE);
+        private SelectionKey key;
+
+        private Connection(SocketChannel channel, InetSocketAddress remoteAddress) {
+            this.channel = channel;
+            this.remoteAddress = remoteAddress;
+        }
+
+        private void register(int interestOps) {
+            try {
+                key = channel.register(selector, interestOps, this);
+                if (interestOps == SelectionKey.OP_READ) {
+                    flush();
+                }
+            } catch (IOException | RuntimeException e) {
+                close(e);
+            }
+        }
+
+        private void finishConnect() throws IOException {
+            if (channel.finishConnect()) {
+                key.interestOps(SelectionKey.OP_READ);
+                flush();
+            }
+        }
+
+        private void write(ByteBuffer frame) {
+            if (closed.get()) {
+                throw new CommandBusConnectorCommunicationException("The connection has been closed");
+            }
+            pendingWrites.add(frame);
+            if (flushScheduled.compareAndSet(false, true)) {
+                onSelector(() -> {
+                    try {
+                        flush();
+                    } catch (IOException | RuntimeException e) {
+                        close(e);
+                    }
+                });
+            }
+        }
+
+        private void flush() throws IOException {
+            if (key == null || !channel.isConnected()) {
+                // flushed as soon as the connection is established
+                return;
+            }
+            flushScheduled.set(false);
+            ByteBuffer frame;
+            while ((frame = pendingWrites.peek()) != null) {
+                channel.write(frame);
+                if (frame.hasRemaining()) {
+                    key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                    return;
+                }
+                pendingWrites.poll();
+            }
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+        }
+
+        private void read() throws IOException {
+            if (channel.read(readBuffer) < 0) {
+                close(null);
+                return;
+            }
+            readBuffer.flip();
+            while (readBuffer.remaining() >= TcpFrames.LENGTH_PREFIX_SIZE) {
+                int frameSize = readBuffer.getInt(readBuffer.position());
+                if (frameSize <= 0 || frameSize > maxFrameSize) {
+                    throw new IOException("Received a frame of " + frameSize + " bytes, which exceeds the maximum of "
+                                                  + maxFrameSize + " bytes");
+                }
+                if (readBuffer.remaining() < TcpFrames.LENGTH_PREFIX_SIZE + frameSize) {
+                    break;
+                }
+                byte[] frame = new byte[frameSize];
+                readBuffer.position(readBuffer.position() + TcpFrames.LENGTH_PREFIX_SIZE);
+                readBuffer.get(frame);
+                receivedFrames.add(frame);
+            }
+            readBuffer.compact();
+            ensureCapacityForNextFrame();
+            scheduleFrameHandling();
+        }
+
+        private void scheduleFrameHandling() {
+            if (!receivedFrames.isEmpty() && handlingScheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::handleReceivedFrames);
+                } catch (RuntimeException e) {
+                    handlingScheduled.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        private void handleReceivedFrames() {
+            try {
+                byte[] frame;
+                while (!closed.get() && (frame = receivedFrames.poll()) != null) {
+                    handleFrame(this, frame);
+                }
+            } finally {
+                handlingScheduled.set(false);
+            }
+            // frames may have been received after the last poll, before the flag was cleared
+            if (!closed.get()) {
+                try {
+                    scheduleFrameHandling();
+                } catch (RuntimeException e) {
+                    close(e);
+                }
+            }
+        }
+
+        private void ensureCapacityForNextFrame() {
+            if (readBuffer.position() < TcpFrames.LENGTH_PREFIX_SIZE) {
+                return;
+            }
+            int requiredCapacity = TcpFrames.LENGTH_PREFIX_SIZE + readBuffer.getInt(0);
+            if (requiredCapacity > readBuffer.capacity()) {
+                ByteBuffer grown = ByteBuffer.allocate(
+                        Math.min(Math.max(readBuffer.capacity() * 2, requiredCapacity),
+                                 TcpFrames.LENGTH_PREFIX_SIZE + maxFrameSize)
+                );
+                readBuffer.flip();
+                grown.put(readBuffer);
+                readBuffer = grown;
+            }
+        }
+
+        private void close(Exception cause) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            if (cause != null) {
+                logger.warn("Closing connection to {} after an error", describe(), cause);
+            }
+            if (remoteAddress != null) {
+                outboundConnections.remove(remoteAddress, this);
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close connection to {}", describe(), e);
+            }
+            callbackRepository.cancelCallbacksForChannel(this);
+        }
+
+        private String describe() {
+            if (remoteAddress != null) {
+                return remoteAddress.toString();
+            }
+            try {
+                return String.valueOf(channel.getRemoteAddress());
+            } catch (IOException e) {
+                return "an unknown address";
+            }
+        }
+    }
+
+    /**
+     * {@link CommandCallbackRepository} keeping track of the callbacks per {@link Connection}.
+     */
+    private static class ConnectionCallbackRepository extends CommandCallbackRepository<Connection> {
+
+        private int size() {
+            return callbacks().size();
+        }
+    }
+
+    /**
+     * Builder class to instantiate a {@link TcpCommandBusConnector}.
+     * <p>
+     * The {@link Executor} defaults to a cached thread pool owned by the connector and the maximum frame size defaults
+     * to 16 megabytes. The {@code localSegment}, {@link Serializer} and {@code bindAddress} are <b>hard
+     * requirements</b> and as such should be provided.
+     */
+    public static class Builder {
+
+        private CommandBus localSegment;
+        private Serializer serializer;
+        private InetSocketAddress bindAddress;
+        private Executor executor;
+        private int maxFrameSize = 16 * 1024 * 1024;
+
+        /**
+         * Sets the {@link CommandBus} used to dispatch incoming commands on, and commands sent to the local member.
+         *
+         * @param localSegment the {@link CommandBus} used to dispatch incoming and local commands on
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder localSegment(CommandBus localSegment) {
+            assertNonNull(localSegment, "Local CommandBus may not be null");
+            this.localSegment = localSegment;
+            return this;
+        }
+
+        /**
+         * Sets the {@link Serializer} used to serialize the payload, meta data and results of commands sent over the
+         * connections.
+         *
+         * @param serializer the {@link Serializer} used to serialize commands and their results
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder serializer(Serializer serializer) {
+            assertNonNull(serializer, "Serializer may not be null");
+            this.serializer = serializer;
+            return this;
+        }
+
+        /**
+         * Sets the address this connector accepts connections on. Port {@code 0} may be used to bind to any free
+         * port, which can be retrieved through {@link TcpCommandBusConnector#getLocalAddress()} once started.
+         *
+         * @param bindAddress the address to accept connections on
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder bindAddress(InetSocketAddress bindAddress) {
+            assertNonNull(bindAddress, "Bind address may not be null");
+            this.bindAddress = bindAddress;
+            return this;
+        }
+
+        /**
+         * Sets the {@link Executor} used to handle incoming commands and replies. Defaults to a cached thread pool,
+         * which is shut down together with the connector. A given {@code executor} is never shut down by the
+         * connector. When the {@code executor} rejects an incoming frame, the connection it was received on is closed,
+         * failing the commands awaiting a reply on the other end of it.
+         *
+         * @param executor the {@link Executor} used to handle incoming commands and replies
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder executor(Executor executor) {
+            assertNonNull(executor, "Executor may not be null");
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets the maximum size in bytes of a single frame. Connections on which a larger frame is received are
+         * closed. Defaults to 16 megabytes.
+         *
+         * @param maxFrameSize the maximum size in bytes of a single frame
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder maxFrameSize(int maxFrameSize) {
+            assertStrictPositive(maxFrameSize, "The maximum frame size should be a strictly positive number");
+            this.maxFrameSize = maxFrameSize;
+            return this;
+        }
+
+        /**
+         * Initializes a {@link TcpCommandBusConnector} as specified through this Builder.
+         *
+         * @return a {@link TcpCommandBusConnector} as specified through this Builder
+         */
+        public TcpCommandBusConnector build() {
+            return new TcpCommandBusConnector(this);
+        }
+
+        /**
+         * Validates whether the fields contained in this Builder are set accordingly.
+         *
+         * @throws AxonConfigurationException if one field is asserted to be incorrect according to the Builder's
+         *                                    specifications
+         */
+        protected void validate() throws AxonConfigurationException {
+            assertNonNull(localSegment, "The local CommandBus is a hard requirement and should be provided");
+            assertNonNull(serializer, "The Serializer is a hard requirement and should be provided");
+            assertNonNull(bindAddress, "The bind address is a hard requirement and should be provided");
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.commandhandling.distributed.tcp;
+
+import org.axonframework.commandhandling.CommandMessage;
+import org.axonframework.commandhandling.distributed.DispatchMessage;
+import org.axonframework.serialization.Serializer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static org.axonframework.commandhandling.distributed.tcp.TcpFrames.readBytes;
+import static org.axonframework.commandhandling.distributed.tcp.TcpFrames.readString;
+import static org.axonframework.commandhandling.distributed.tcp.TcpFrames.writeBytes;
+import static org.axonframework.commandhandling.distributed.tcp.TcpFrames.writeString;
+
+/**
+ * {@link DispatchMessage} implementation used by the {@link TcpCommandBusConnector}, which writes itself to and reads
+ * itself from a compact binary representation.
+ *
+ * @since 4.5
+ */
+public class TcpDispatchMessage extends DispatchMessage {
+
+    private TcpDispatchMessage() {
+    }
+
+    /**
+     * Initializes a TcpDispatchMessage for the given {@code commandMessage}, using the given {@code serializer} to
+     * serialize its payload and meta data.
+     *
+     * @param commandMessage the message to send to the remote segment
+     * @param serializer     the serializer to serialize the message payload and meta data with
+     * @param expectReply    whether or not the sender is waiting for a reply
+     */
+    public TcpDispatchMessage(CommandMessage<?> commandMessage, Serializer serializer, boolean expectReply) {
+        super(commandMessage, serializer, expectReply);
+    }
+
+    /**
+     * Reads a TcpDispatchMessage from the given {@code input}, as written by {@link #writeTo(DataOutput)}.
+     *
+     * @param input the input to read the message from
+     * @return the TcpDispatchMessage read from the given {@code input}
+     * @throws IOException when reading from the given {@code input} fails
+     */
+    public static TcpDispatchMessage readFrom(DataInput input) throws IOException {
+        TcpDispatchMessage message = new TcpDispatchMessage();
+        message.commandIdentifier = readString(input);
+        message.commandName = readString(input);
+        message.payloadType = readString(input);
+        message.payloadRevision = readString(input);
+        message.serializedPayload = readBytes(input);
+        message.serializedMetaData = readBytes(input);
+        message.expectReply = input.readBoolean();
+        return message;
+    }
+
+    /**
+     * Reads only the identifier of the command of a TcpDispatchMessage from the given {@code input}, as written by
+     * {@link #writeTo(DataOutput)}. This allows a reply to be sent for messages of which the remainder cannot be read.
+     *
+     * @param input the input to read the command identifier from
+     * @return the identifier of the command of the message in the given {@code input}
+     * @throws IOException when reading from the given {@code input} fails
+     */
+    static String readCommandIdentifier(DataInput input) throws IOException {
+        return readString(input);
+    }
+
+    /**
+     * Writes this message to the given {@code output}.
+     *
+     * @param output the output to write this message to
+     * @throws IOException when writing to the given {@code output} fails
+     */
+    public void writeTo(DataOutput output) throws IOException {
+        writeString(output, commandIdentifier);
+        writeString(output, commandName);
+        writeString(output, payloadType);
+        writeString(output, payloadRevision);
+        writeBytes(output, serializedPayload);
+        writeBytes(output, serializedMetaData);
+        output.writeBoolean(expectReply);
+    }
+}
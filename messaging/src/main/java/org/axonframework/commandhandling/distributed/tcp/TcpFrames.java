@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.commandhandling.distributed.tcp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Utility class describing the binary framing used by the {@link TcpCommandBusConnector}. Each frame is prefixed with
+ * its length as a 4 byte integer, followed by a single byte describing the frame type and the frame body.
+ *
+ * @since 4.5
+ */
+final class TcpFrames {
+
+    /**
+     * The length of the prefix containing the frame length.
+     */
+    static final int LENGTH_PREFIX_SIZE = 4;
+    /**
+     * Frame type of a frame containing a {@link TcpDispatchMessage}.
+     */
+    static final byte DISPATCH = 1;
+    /**
+     * Frame type of a frame containing a {@link TcpReplyMessage}.
+     */
+    static final byte REPLY = 2;
+
+    private TcpFrames() {
+        // utility class
+    }
+
+    /**
+     * Creates a frame of the given {@code type}, containing the body written by the given {@code bodyWriter}. The
+     * returned buffer is ready to be written to a channel.
+     *
+     * @param type       the type of frame to create
+     * @param bodyWriter the writer of the frame body
+     * @return a buffer containing the length prefixed frame
+     * @throws IOException when writing the frame body fails
+     */
+    static ByteBuffer frame(byte type, BodyWriter bodyWriter) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(0);
+        output.writeByte(type);
+        bodyWriter.writeTo(output);
+        output.flush();
+        ByteBuffer frame = ByteBuffer.wrap(bytes.toByteArray());
+        frame.putInt(0, frame.remaining() - LENGTH_PREFIX_SIZE);
+        return frame;
+    }
+
+    /**
+     * Writes the given, possibly {@code null}, {@code value} to the given {@code output}.
+     *
+     * @param output the output to write to
+     * @param value  the value to write
+     * @throws IOException when writing to the given {@code output} fails
+     */
+    static void writeString(DataOutput output, String value) throws IOException {
+        writeBytes(output, value == null ? null : value.getBytes(UTF_8));
+    }
+
+    /**
+     * Reads a, possibly {@code null}, String written by {@link #writeString(DataOutput, String)}.
+     *
+     * @param input the input to read from
+     * @return the String read from the given {@code input}
+     * @throws IOException when reading from the given {@code input} fails
+     */
+    static String readString(DataInput input) throws IOException {
+        byte[] bytes = readBytes(input);
+        return bytes == null ? null : new String(bytes, UTF_8);
+    }
+
+    /**
+     * Writes the given, possibly {@code null}, {@code value} to the given {@code output}, prefixed with its length.
+     *
+     * @param output the output to write to
+     * @param value  the value to write
+     * @throws IOException when writing to the given {@code output} fails
+     */
+    static void writeBytes(DataOutput output, byte[] value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+        } else {
+            output.writeInt(value.length);
+            output.write(value);
+        }
+    }
+
+    /**
+     * Reads a, possibly {@code null}, byte array written by {@link #writeBytes(DataOutput, byte[])}.
+     *
+     * @param input the input to read from
+     * @return the byte array read from the given {@code input}
+     * @throws IOException when reading from the given {@code input} fails
+     */
+    static byte[] readBytes(DataInput input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Functional interface describing a component writing the body of a frame.
+     */
+    @FunctionalInterface
+    interface BodyWriter {
+
+        /**
+         * Writes the body of a frame to the given {@code output}.
+         *
+         * @param output the output to write the frame body to
+         * @throws IOException when writing to the given {@code output} fails
+         */
+        void writeTo(DataOutput output) throws IOException;
+    }
+}
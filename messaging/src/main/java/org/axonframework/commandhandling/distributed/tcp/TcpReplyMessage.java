@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.commandhandling.distributed.tcp;
+
+import org.axonframework.commandhandling.CommandResultMessage;
+import org.axonframework.commandhandling.distributed.ReplyMessage;
+import org.axonframework.serialization.Serializer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static org.axonframework.commandhandling.distributed.tcp.TcpFrames.readBytes;
+import static org.axonframework.commandhandling.distributed.tcp.TcpFrames.readString;
+import static org.axonframework.commandhandling.distributed.tcp.TcpFrames.writeBytes;
+import static org.axonframework.commandhandling.distributed.tcp.TcpFrames.writeString;
+
+/**
+ * {@link ReplyMessage} implementation used by the {@link TcpCommandBusConnector}, which writes itself to and reads
+ * itself from a compact binary representation.
+ *
+ * @since 4.5
+ */
+public class TcpReplyMessage extends ReplyMessage {
+
+    private static final long serialVersionUID = 2836577461521830582L;
+
+    private TcpReplyMessage() {
+    }
+
+    /**
+     * Initializes a TcpReplyMessage containing a reply to the command with given {@code commandIdentifier} and given
+     * {@code commandResultMessage}.
+     *
+     * @param commandIdentifier    the identifier of the command to which the message is a reply
+     * @param commandResultMessage the result message of command process
+     * @param serializer           the serializer to serialize the message contents with
+     */
+    public TcpReplyMessage(String commandIdentifier,
+                           CommandResultMessage<?> commandResultMessage,
+                           Serializer serializer) {
+        super(commandIdentifier, commandResultMessage, serializer);
+    }
+
+    /**
+     * Reads a TcpReplyMessage from the given {@code input}, as written by {@link #writeTo(DataOutput)}.
+     *
+     * @param input the input to read the message from
+     * @return the TcpReplyMessage read from the given {@code input}
+     * @throws IOException when reading from the given {@code input} fails
+     */
+    public static TcpReplyMessage readFrom(DataInput input) throws IOException {
+        TcpReplyMessage message = new TcpReplyMessage();
+        message.commandIdentifier = readString(input);
+        message.payloadType = readString(input);
+        message.payloadRevision = readString(input);
+        message.serializedPayload = readBytes(input);
+        message.exceptionType = readString(input);
+        message.exceptionRevision = readString(input);
+        message.serializedException = readBytes(input);
+        message.serializedMetaData = readBytes(input);
+        return message;
+    }
+
+    /**
+     * Writes this message to the given {@code output}.
+     *
+     * @param output the output to write this message to
+     * @throws IOException when writing to the given {@code output} fails
+     */
+    public void writeTo(DataOutput output) throws IOException {
+        writeString(output, commandIdentifier);
+        writeString(output, payloadType);
+        writeString(output, payloadRevision);
+        writeBytes(output, serializedPayload);
+        writeString(output, exceptionType);
+        writeString(output, exceptionRevision);
+        writeBytes(output, serializedException);
+        writeBytes(output, serializedMetaData);
+    }
+}
@@ -0,0 +1,581 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.common.caching;
+
+import org.axonframework.common.Assert;
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.common.Registration;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+import static org.axonframework.common.BuilderUtils.assertNonNull;
+import static org.axonframework.common.BuilderUtils.assertPositive;
+import static org.axonframework.common.BuilderUtils.assertStrictPositive;
+
+/**
+ * Cache implementation that keeps a bounded number of entries in memory, evicting entries once the cache exceeds its
+ * maximum number of entries or its maximum weight. The weight of each entry is determined by a configurable weigher,
+ * which by default weighs every entry as {@code 1}.
+ * <p>
+ * The cache is divided into segments, each guarded by its own lock and holding an equal share of the maximum number of
+ * entries and maximum weight. Within a segment, the least recently used entries are evicted first. When configured
+ * with the {@link EvictionPolicy#TINY_LFU} eviction policy, a new entry is only admitted to a full segment if its key
+ * has recently been accessed more often than the key of the entry it would evict, which protects frequently used
+ * entries from being flushed by entries that are used only once.
+ * <p>
+ * Optionally, entries expire once they have not been accessed for a configured time to idle. Expired entries are
+ * removed when they are accessed, or when the cache is written to.
+ * <p>
+ * Entries which are evicted or expire are reported to the registered {@link EntryListener}s through {@link
+ * EntryListener#onEntryExpired(Object)}. The number of hits, misses, evictions and expirations is counted, and can be
+ * exposed as metrics.
+ *
+ * @since 4.5
+ */
+public class BoundedCache implements Cache, CacheStatistics {
+
+    private final Segment[] segments;
+    private final ToLongFunction<Object> weigher;
+    private final long timeToIdleMillis;
+    private final Clock clock;
+    private final Set<EntryListener> adapters = new CopyOnWriteArraySet<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * Instantiate a {@link BoundedCache} based on the fields contained in the {@link Builder}.
+     *
+     * @param builder the {@link Builder} used to instantiate a {@link BoundedCache} instance
+     */
+    protected BoundedCache(Builder builder) {
+        builder.validate();
+        this.weigher = builder.weigher;
+        this.timeToIdleMillis = builder.timeToIdleMillis;
+        this.clock = builder.clock;
+        int segmentCount = Math.min(segmentCount(builder.concurrencyLevel), segmentCount(builder.maxEntries));
+        int maxEntriesPerSegment = (builder.maxEntries + segmentCount - 1) / segmentCount;
+        long maxWeightPerSegment = builder.maxWeight == Long.MAX_VALUE
+                ? Long.MAX_VALUE
+                : (builder.maxWeight + segmentCount - 1) / segmentCount;
+        boolean tinyLfu = builder.evictionPolicy == EvictionPolicy.TINY_LFU;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(maxEntriesPerSegment, maxWeightPerSegment, tinyLfu);
+        }
+    }
+
+    /**
+     * Instantiate a Builder to be able to create a {@link BoundedCache}.
+     * <p>
+     * The {@code maxEntries} defaults to {@code 10000}, the {@code maxWeight} to {@link Long#MAX_VALUE}, the {@code
+     * weigher} to a function weighing every entry as {@code 1}, the {@link EvictionPolicy} to {@link
+     * EvictionPolicy#LRU}, the {@code timeToIdle} to {@code 0} (meaning entries do not expire), the {@code
+     * concurrencyLevel} to {@code 16} and the {@link Clock} to {@link Clock#systemUTC()}.
+     *
+     * @return a Builder to be able to create a {@link BoundedCache}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static int segmentCount(int maxSegments) {
+        return Integer.highestOneBit(Math.max(1, maxSegments));
+    }
+
+    @Override
+    public Registration registerCacheEntryListener(EntryListener entryListener) {
+        adapters.add(entryListener);
+        return () -> adapters.remove(entryListener);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> V get(K key) {
+        Assert.nonNull(key, () -> "Key may not be null");
+        Segment segment = segmentFor(key);
+        long now = clock.millis();
+        Object value = null;
+        boolean expired = false;
+        segment.lock.lock();
+        try {
+            segment.recordAccess(key);
+            Entry entry = segment.entries.get(key);
+            if (entry != null && isExpired(entry, now)) {
+                segment.removeEntry(key);
+                expired = true;
+            } else if (entry != null) {
+                entry.lastAccessMillis = now;
+                value = entry.value;
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+        if (expired) {
+            expirations.increment();
+            notifyExpired(key);
+        }
+        if (value == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        for (EntryListener adapter : adapters) {
+            adapter.onEntryRead(key, value);
+        }
+        return (V) value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        doPut(key, value, false);
+    }
+
+    @Override
+    public boolean putIfAbsent(Object key, Object value) {
+        return doPut(key, value, true);
+    }
+
+    private boolean doPut(Object key, Object value, boolean onlyIfAbsent) {
+        Assert.nonNull(key, () -> "Key may not be null");
+        if (value == null) {
+            throw new IllegalArgumentException("Null values not supported");
+        }
+        Segment segment = segmentFor(key);
+        long weight = weigher.applyAsLong(value);
+        long now = clock.millis();
+        List<Object> expiredKeys = new ArrayList<>();
+        List<Object> evictedKeys = new ArrayList<>();
+        boolean updated;
+        boolean admitted = true;
+        boolean stored = false;
+        segment.lock.lock();
+        try {
+            segment.removeExpired(now, expiredKeys);
+            segment.recordAccess(key);
+            Entry previous = segment.entries.get(key);
+            updated = previous != null;
+            if (updated && onlyIfAbsent) {
+                previous.lastAccessMillis = now;
+            } else if (!updated) {
+                admitted = segment.admit(key, weight);
+            }
+            if (admitted && !(updated && onlyIfAbsent)) {
+                stored = true;
+                if (updated) {
+                    segment.removeEntry(key);
+                }
+                segment.entries.put(key, new Entry(value, weight, now));
+                segment.weight += weight;
+                segment.evictExcess(key, evictedKeys);
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+        expirations.add(expiredKeys.size());
+        expiredKeys.forEach(this::notifyExpired);
+        evictions.add(evictedKeys.size() + (admitted ? 0 : 1));
+        evictedKeys.forEach(this::notifyExpired);
+        if (stored) {
+            for (EntryListener adapter : adapters) {
+                if (updated) {
+                    adapter.onEntryUpdated(key, value);
+                } else {
+                    adapter.onEntryCreated(key, value);
+                }
+            }
+        }
+        // an entry which is not admitted is considered to be evicted immediately, so it was stored nonetheless
+        return !(updated && onlyIfAbsent);
+    }
+
+    @Override
+    public boolean remove(Object key) {
+        Segment segment = segmentFor(key);
+        boolean removed;
+        segment.lock.lock();
+        try {
+            removed = segment.removeEntry(key) != null;
+        } finally {
+            segment.lock.unlock();
+        }
+        if (removed) {
+            for (EntryListener adapter : adapters) {
+                adapter.onEntryRemoved(key);
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Assert.nonNull(key, () -> "Key may not be null");
+        Segment segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            Entry entry = segment.entries.get(key);
+            return entry != null && !isExpired(entry, clock.millis());
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of entries currently in the cache, including entries which have expired but have not been
+     * removed yet.
+     *
+     * @return the number of entries currently in the cache
+     */
+    @Override
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.entries.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the total weight of the entries currently in the cache, as determined by the configured weigher.
+     *
+     * @return the total weight of the entries currently in the cache
+     */
+    public long weight() {
+        long weight = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                weight += segment.weight;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * Returns the number of times {@link #get(Object)} returned a cached value.
+     *
+     * @return the number of cache hits
+     */
+    @Override
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of times {@link #get(Object)} did not find a cached value.
+     *
+     * @return the number of cache misses
+     */
+    @Override
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of entries which have been evicted to keep the cache within its bounds, including entries
+     * which were not admitted to the cache.
+     *
+     * @return the number of evicted entries
+     */
+    @Override
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the number of entries which have been removed because they were not accessed within the time to idle.
+     *
+     * @return the number of expired entries
+     */
+    @Override
+    public long expirationCount() {
+        return expirations.sum();
+    }
+
+    private Segment segmentFor(Object key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return segments[hash & (segments.length - 1)];
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return timeToIdleMillis > 0 && now - entry.lastAccessMillis >= timeToIdleMillis;
+    }
+
+    private void notifyExpired(Object key) {
+        for (EntryListener adapter : adapters) {
+            adapter.onEntryExpired(key);
+        }
+    }
+
+    /**
+     * The policy deciding which entries to keep once the cache reaches its bounds.
+     */
+    public enum EvictionPolicy {
+
+        /**
+         * Evicts the least recently used entries, always admitting new entries.
+         */
+        LRU,
+
+        /**
+         * Evicts the least recently used entries, but only admits a new entry if its key has recently been accessed
+         * more often than the key of the entry it would evict.
+         */
+        TINY_LFU
+    }
+
+    private final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        // entries in access order, meaning the least recently used entry comes first
+        private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private final int maxEntries;
+        private final long maxWeight;
+        private final FrequencySketch sketch;
+        private long weight;
+
+        private Segment(int maxEntries, long maxWeight, boolean tinyLfu) {
+            this.maxEntries = maxEntries;
+            this.maxWeight = maxWeight;
+            this.sketch = tinyLfu ? new FrequencySketch(maxEntries) : null;
+        }
+
+        private void recordAccess(Object key) {
+            if (sketch != null) {
+                sketch.increment(key);
+            }
+        }
+
+        private boolean admit(Object key, long entryWeight) {
+            if (entryWeight > maxWeight) {
+                return false;
+            }
+            if (sketch == null || (entries.size() < maxEntries && weight + entryWeight <= maxWeight)) {
+                return true;
+            }
+            Iterator<Object> keys = entries.keySet().iterator();
+            return !keys.hasNext() || sketch.frequency(key) > sketch.frequency(keys.next());
+        }
+
+        private void evictExcess(Object addedKey, List<Object> evictedKeys) {
+            Iterator<Map.Entry<Object, Entry>> iterator = entries.entrySet().iterator();
+            while ((entries.size() > maxEntries || weight > maxWeight) && iterator.hasNext()) {
+                Map.Entry<Object, Entry> eldest = iterator.next();
+                if (eldest.getKey().equals(addedKey)) {
+                    continue;
+                }
+                iterator.remove();
+                weight -= eldest.getValue().weight;
+                evictedKeys.add(eldest.getKey());
+            }
+        }
+
+        private void removeExpired(long now, List<Object> expiredKeys) {
+            if (timeToIdleMillis <= 0) {
+                return;
+            }
+            Iterator<Map.Entry<Object, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Object, Entry> eldest = iterator.next();
+                if (!isExpired(eldest.getValue(), now)) {
+                    // entries are in access order, so all following entries were accessed more recently
+                    return;
+                }
+                iterator.remove();
+                weight -= eldest.getValue().weight;
+                expiredKeys.add(eldest.getKey());
+            }
+        }
+
+        private Entry removeEntry(Object key) {
+            Entry removed = entries.remove(key);
+            if (removed != null) {
+                weight -= removed.weight;
+            }
+            return removed;
+        }
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+        private final long weight;
+        private long lastAccessMillis;
+
+        private Entry(Object value, long weight, long lastAccessMillis) {
+            this.value = value;
+            this.weight = weight;
+            this.lastAccessMillis = lastAccessMillis;
+        }
+    }
+
+    /**
+     * Builder class to instantiate a {@link BoundedCache}.
+     * <p>
+     * The {@code maxEntries} defaults to {@code 10000}, the {@code maxWeight} to {@link Long#MAX_VALUE}, the {@code
+     * weigher} to a function weighing every entry as {@code 1}, the {@link EvictionPolicy} to {@link
+     * EvictionPolicy#LRU}, the {@code timeToIdle} to {@code 0} (meaning entries do not expire), the {@code
+     * concurrencyLevel} to {@code 16} and the {@link Clock} to {@link Clock#systemUTC()}.
+     */
+    public static class Builder {
+
+        private int maxEntries = 10000;
+        private long maxWeight = Long.MAX_VALUE;
+        private ToLongFunction<Object> weigher = value -> 1;
+        private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+        private long timeToIdleMillis = 0;
+        private int concurrencyLevel = 16;
+        private Clock clock = Clock.systemUTC();
+
+        /**
+         * Sets the maximum number of entries in the cache. Defaults to {@code 10000}.
+         *
+         * @param maxEntries the maximum number of entries in the cache
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder maxEntries(int maxEntries) {
+            assertStrictPositive(maxEntries, "The maximum number of entries should be a positive number");
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Sets the maximum total weight of the entries in the cache, as determined by the {@link
+         * #weigher(ToLongFunction) weigher}. Defaults to {@link Long#MAX_VALUE}, bounding the cache by the number of
+         * entries only.
+         *
+         * @param maxWeight the maximum total weight of the entries in the cache
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder maxWeight(long maxWeight) {
+            assertStrictPositive(maxWeight, "The maximum weight should be a positive number");
+            this.maxWeight = maxWeight;
+            return this;
+        }
+
+        /**
+         * Sets the function determining the weight of a cached value, used to bound the cache to the {@link
+         * #maxWeight(long) maxWeight}. The weight of a value should not change while it is cached. Defaults to a
+         * function weighing every value as {@code 1}.
+         *
+         * @param weigher a {@link ToLongFunction} determining the weight of a cached value
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder weigher(ToLongFunction<Object> weigher) {
+            assertNonNull(weigher, "The weigher may not be null");
+            this.weigher = weigher;
+            return this;
+        }
+
+        /**
+         * Sets the {@link EvictionPolicy} deciding which entries to keep once the cache reaches its bounds. Defaults to
+         * {@link EvictionPolicy#LRU}.
+         *
+         * @param evictionPolicy the {@link EvictionPolicy} deciding which entries to keep
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder evictionPolicy(EvictionPolicy evictionPolicy) {
+            assertNonNull(evictionPolicy, "The eviction policy may not be null");
+            this.evictionPolicy = evictionPolicy;
+            return this;
+        }
+
+        /**
+         * Sets the time after which an entry expires if it has not been read or written. Defaults to {@code 0},
+         * meaning entries do not expire.
+         *
+         * @param timeToIdle the time after which an entry expires if it has not been accessed, or {@code 0} to keep
+         *                   entries until they are evicted
+         * @param timeUnit   the {@link TimeUnit} of the given {@code timeToIdle}
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder timeToIdle(long timeToIdle, TimeUnit timeUnit) {
+            assertPositive(timeToIdle, "The time to idle should be zero or a positive number");
+            assertNonNull(timeUnit, "TimeUnit may not be null");
+            this.timeToIdleMillis = timeUnit.toMillis(timeToIdle);
+            return this;
+        }
+
+        /**
+         * Sets the number of threads expected to access the cache concurrently, which determines the number of
+         * independently locked segments of the cache. Defaults to {@code 16}.
+         * <p>
+         * The bounds of the cache are divided equally over the segments, rounding up. Hence the cache may evict entries
+         * before reaching its bounds if keys are not evenly distributed over the segments.
+         *
+         * @param concurrencyLevel the number of threads expected to access the cache concurrently
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder concurrencyLevel(int concurrencyLevel) {
+            assertStrictPositive(concurrencyLevel, "The concurrency level should be a positive number");
+            this.concurrencyLevel = concurrencyLevel;
+            return this;
+        }
+
+        /**
+         * Sets the {@link Clock} used to determine whether entries have expired. Defaults to {@link
+         * Clock#systemUTC()}.
+         *
+         * @param clock the {@link Clock} used to determine whether entries have expired
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder clock(Clock clock) {
+            assertNonNull(clock, "Clock may not be null");
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Initializes a {@link BoundedCache} as specified through this Builder.
+         *
+         * @return a {@link BoundedCache} as specified through this Builder
+         */
+        public BoundedCache build() {
+            return new BoundedCache(this);
+        }
+
+        /**
+         * Validates whether the fields contained in this Builder are set accordingly.
+         *
+         * @throws AxonConfigurationException if one field is asserted to be incorrect according to the Builder's
+         *                                    specifications
+         */
+        protected void validate() throws AxonConfigurationException {
+            // Kept to be overridden
+        }
+    }
+}
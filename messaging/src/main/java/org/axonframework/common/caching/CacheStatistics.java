@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.common.caching;
+
+/**
+ * Provides the statistics of a cache, such as the number of hits, misses and evictions, allowing these to be reported
+ * as metrics.
+ *
+ * @since 4.5
+ */
+public interface CacheStatistics {
+
+    /**
+     * Returns the number of lookups which found a cached value.
+     *
+     * @return the number of cache hits
+     */
+    long hitCount();
+
+    /**
+     * Returns the number of lookups which did not find a cached value.
+     *
+     * @return the number of cache misses
+     */
+    long missCount();
+
+    /**
+     * Returns the number of entries which have been evicted to keep the cache within its bounds.
+     *
+     * @return the number of evicted entries
+     */
+    long evictionCount();
+
+    /**
+     * Returns the number of entries which have been removed from the cache because they expired. Caches of which the
+     * entries do not expire return {@code 0}.
+     *
+     * @return the number of expired entries
+     */
+    default long expirationCount() {
+        return 0L;
+    }
+
+    /**
+     * Returns the current number of entries in the cache.
+     *
+     * @return the current number of entries in the cache
+     */
+    long size();
+}
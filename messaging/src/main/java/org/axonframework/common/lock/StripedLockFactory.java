@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.common.lock;
+
+import org.axonframework.common.Assert;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.util.Collections.newSetFromMap;
+import static java.util.Collections.synchronizedSet;
+
+/**
+ * Implementation of a {@link LockFactory} that uses a pessimistic locking strategy, backed by a fixed number of lock
+ * stripes. Each identifier is hashed onto one of the stripes, meaning no lock instances are created or disposed of
+ * while obtaining and releasing locks. This makes this factory suitable for applications handling a very large number
+ * of distinct identifiers, at the expense of identifiers sharing a stripe blocking each other.
+ * <p/>
+ * Calls to {@link #obtainLock} will block until a lock could be obtained or back off limit is reached, based on the
+ * settings provided, by throwing an exception. Similar to the {@link PessimisticLockFactory}, imminent deadlocks
+ * between threads holding locks of any {@link StripedLockFactory} instance are detected and reported through a
+ * {@link DeadlockException}. As the deadlock detection works on stripes, a deadlock may also be reported for two
+ * threads waiting on different identifiers which share a stripe.
+ * <p/>
+ * By default, each thread can hold the same lock multiple times. The lock will only be released for other threads when
+ * the lock has been released as many times as it was obtained. If reentrancy is disabled, an attempt to obtain a lock
+ * for an identifier that is already locked by the current thread fails with a {@link LockAcquisitionFailedException}.
+ * <p/>
+ * This lock can be used to ensure thread safe access to a number of objects, such as Aggregates and Sagas.
+ *
+ * @since 4.5
+ */
+public class StripedLockFactory implements LockFactory {
+
+    private static final Set<StripedLockFactory> INSTANCES = synchronizedSet(newSetFromMap(new WeakHashMap<>()));
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final boolean reentrant;
+    private final int acquireAttempts;
+    private final int maximumQueued;
+    private final int lockAttemptTimeout;
+    private final ThreadLocal<Set<String>> heldIdentifiers = ThreadLocal.withInitial(HashSet::new);
+
+    private static Set<Thread> threadsWaitingForMyLocks(Thread owner) {
+        return threadsWaitingForMyLocks(owner, INSTANCES);
+    }
+
+    private static Set<Thread> threadsWaitingForMyLocks(Thread owner, Set<StripedLockFactory> locksInUse) {
+        try {
+            Set<Thread> waitingThreads = new HashSet<>();
+            for (StripedLockFactory lockFactory : locksInUse) {
+                for (Stripe stripe : lockFactory.stripes) {
+                    if (stripe.isHeldBy(owner)) {
+                        stripe.getQueuedThreads()
+                              .stream()
+                              .filter(waitingThreads::add)
+                              .forEach(thread -> waitingThreads.addAll(threadsWaitingForMyLocks(thread, locksInUse)));
+                    }
+                }
+            }
+            return waitingThreads;
+        } catch (ConcurrentModificationException e) {
+            // the GC may be cleaning up entries from the WeakHashMap. Let's assume there are no threads waiting.
+            // A new attempt will reveal issues.
+            return Collections.emptySet();
+        }
+    }
+
+    /**
+     * Creates a builder to construct an instance of this LockFactory.
+     *
+     * @return a builder allowing the definition of properties for this Lock Factory.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates an instance using default values, as defined in the properties of the {@link Builder}.
+     *
+     * @return a StripedLockFactory instance using sensible default values
+     */
+    public static StripedLockFactory usingDefaults() {
+        return builder().build();
+    }
+
+    /**
+     * Creates an instance of the lock factory using the given {@code builder} containing the configuration properties
+     * to use.
+     *
+     * @param builder The building containing the configuration properties to use
+     */
+    protected StripedLockFactory(Builder builder) {
+        int stripeCount = Integer.highestOneBit(builder.stripes - 1) << 1;
+        this.stripes = new Stripe[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.mask = stripes.length - 1;
+        this.reentrant = builder.reentrant;
+        this.acquireAttempts = builder.acquireAttempts;
+        this.maximumQueued = builder.maximumQueued;
+        this.lockAttemptTimeout = builder.lockAttemptTimeout;
+        INSTANCES.add(this);
+    }
+
+    /**
+     * Obtain a lock for a resource identified by the given {@code identifier}. This method will block until a lock
+     * was successfully obtained.
+     *
+     * @param identifier the identifier of the lock to obtain.
+     * @return a handle to release the lock. If the thread that releases the lock does not hold the lock
+     * {@link IllegalMonitorStateException} is thrown
+     * {@link IllegalArgumentException} is thrown when identifier is null
+     */
+    @Override
+    public Lock obtainLock(String identifier) {
+        Assert.nonNull(identifier, () -> "Aggregate identifier may not be null");
+        Stripe stripe = stripeFor(identifier);
+        if (reentrant) {
+            stripe.lock(identifier);
+            return stripe;
+        }
+        Set<String> held = heldIdentifiers.get();
+        if (held.contains(identifier)) {
+            throw new LockAcquisitionFailedException(
+                    "Failed to acquire lock for identifier(" + identifier + "): lock is already held by this thread"
+            );
+        }
+        stripe.lock(identifier);
+        held.add(identifier);
+        return new NonReentrantLock(identifier, stripe);
+    }
+
+    private Stripe stripeFor(String identifier) {
+        int hash = identifier.hashCode() * 0x9e3779b9;
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    /**
+     * Builder class for the {@link StripedLockFactory}.
+     */
+    public static class Builder {
+
+        private int stripes = 1024;
+        private boolean reentrant = true;
+        private int acquireAttempts = 6000;
+        private int maximumQueued = Integer.MAX_VALUE;
+        private int lockAttemptTimeout = 10;
+
+        /**
+         * Default constructor
+         */
+        protected Builder() {
+        }
+
+        /**
+         * Sets the number of lock stripes identifiers are distributed over. The number is rounded up to the next power
+         * of two. A higher number of stripes reduces the chance of unrelated identifiers blocking each other, at the
+         * expense of memory.
+         * <p>
+         * Defaults to 1024.
+         *
+         * @param stripes The number of lock stripes
+         * @return this Builder, for further configuration
+         */
+        public Builder stripes(int stripes) {
+            Assert.isTrue(
+                    stripes > 0 && stripes <= 1 << 30,
+                    () -> "stripes needs to be a positive integer no larger than 2^30, but was '" + stripes + "'"
+            );
+            this.stripes = stripes;
+            return this;
+        }
+
+        /**
+         * Indicates whether a thread may obtain the lock for an identifier it already holds. If {@code false}, such an
+         * attempt results in a {@link LockAcquisitionFailedException}. Identifiers sharing a stripe never block the
+         * thread holding that stripe, regardless of this setting.
+         * <p>
+         * Defaults to {@code true}.
+         *
+         * @param reentrant Whether locks may be obtained multiple times by the same thread
+         * @return this Builder, for further configuration
+         */
+        public Builder reentrant(boolean reentrant) {
+            this.reentrant = reentrant;
+            return this;
+        }
+
+        /**
+         * Indicates how many attempts should be done to acquire a lock. In combination with the
+         * {@link #lockAttemptTimeout(int)}, this defines the total timeout of a lock acquisition. A value of {@code -1}
+         * indicates attempts should continue until the lock is acquired or a deadlock is detected.
+         * <p>
+         * Defaults to 6000.
+         *
+         * @param acquireAttempts The number of attempts to acquire the lock
+         * @return this Builder, for further configuration
+         */
+        public Builder acquireAttempts(int acquireAttempts) {
+            Assert.isTrue(
+                    acquireAttempts > 0 || acquireAttempts == -1,
+                    () -> "acquireAttempts needs to be a positive integer or -1, but was '" + acquireAttempts + "'"
+            );
+            this.acquireAttempts = acquireAttempts;
+            return this;
+        }
+
+        /**
+         * Defines the maximum number of queued threads to allow for a single lock stripe. If the given number of
+         * threads are waiting to acquire a lock, and another thread joins, that thread will immediately fail any
+         * attempt to acquire the lock, as if it had timed out.
+         * <p>
+         * Defaults to unbounded.
+         *
+         * @param maximumQueued The maximum number of threads to allow in the queue for a lock stripe
+         * @return this Builder, for further configuration
+         */
+        public Builder queueLengthThreshold(int maximumQueued) {
+            Assert.isTrue(
+                    maximumQueued > 0,
+                    () -> "queueLengthThreshold needs to be a positive integer, but was '" + maximumQueued + "'"
+            );
+            this.maximumQueued = maximumQueued;
+            return this;
+        }
+
+        /**
+         * The duration of a single attempt to acquire the internal lock. In combination with the
+         * {@link #acquireAttempts(int)}, this defines the total timeout of an acquisition attempt.
+         * <p>
+         * Defaults to 10ms.
+         *
+         * @param lockAttemptTimeout The duration of a single acquisition attempt of the internal lock, in milliseconds
+         * @return this Builder, for further configuration
+         */
+        public Builder lockAttemptTimeout(int lockAttemptTimeout) {
+            Assert.isTrue(
+                    lockAttemptTimeout >= 0,
+                    () -> "lockAttemptTimeout needs to be a non negative integer, but was '" + lockAttemptTimeout + "'"
+            );
+            this.lockAttemptTimeout = lockAttemptTimeout;
+            return this;
+        }
+
+        /**
+         * Builds the StripedLockFactory instance using the properties defined in this builder
+         *
+         * @return a fully configured StripedLockFactory instance
+         */
+        public StripedLockFactory build() {
+            return new StripedLockFactory(this);
+        }
+    }
+
+    private final class Stripe extends ReentrantLock implements Lock {
+
+        private static final long serialVersionUID = 5826145532717411652L;
+
+        @Override
+        public void release() {
+            unlock();
+        }
+
+        @Override
+        public boolean isHeld() {
+            return isHeldByCurrentThread();
+        }
+
+        @Override
+        public Collection<Thread> getQueuedThreads() { // NOSONAR
+            return super.getQueuedThreads();
+        }
+
+        private boolean isHeldBy(Thread thread) {
+            return thread.equals(getOwner());
+        }
+
+        private void lock(String identifier) {
+            if (getQueueLength() >= maximumQueued) {
+                throw new LockAcquisitionFailedException(
+                        "Failed to acquire lock for identifier " + identifier + ": too many queued threads."
+                );
+            }
+            try {
+                if (!tryLock(0, TimeUnit.NANOSECONDS)) {
+                    int attempts = acquireAttempts - 1;
+                    do {
+                        attempts--;
+                        checkForDeadlock();
+                        if (acquireAttempts != -1 && attempts < 1) {
+                            throw new LockAcquisitionFailedException(
+                                    "Failed to acquire lock for identifier(" + identifier
+                                            + "), maximum attempts exceeded (" + acquireAttempts + ")"
+                            );
+                        }
+                    } while (!tryLock(lockAttemptTimeout, TimeUnit.MILLISECONDS));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new LockAcquisitionFailedException("Thread was interrupted", e);
+            }
+        }
+
+        private void checkForDeadlock() {
+            if (!isHeldByCurrentThread() && isLocked()) {
+                for (Thread thread : threadsWaitingForMyLocks(Thread.currentThread())) {
+                    if (isHeldBy(thread)) {
+                        throw new DeadlockException(
+                                "An imminent deadlock was detected while attempting to acquire a lock"
+                        );
+                    }
+                }
+            }
+        }
+    }
+
+    private final class NonReentrantLock implements Lock {
+
+        private final String identifier;
+        private final Stripe stripe;
+
+        private NonReentrantLock(String identifier, Stripe stripe) {
+            this.identifier = identifier;
+            this.stripe = stripe;
+        }
+
+        @Override
+        public void release() {
+            stripe.unlock();
+            heldIdentifiers.get().remove(identifier);
+        }
+
+        @Override
+        public boolean isHeld() {
+            return stripe.isHeldByCurrentThread() && heldIdentifiers.get().contains(identifier);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling;
+
+/**
+ * Controls the number of events a {@link TrackingEventProcessor} thread processes in a single batch. A fixed controller
+ * always returns the configured batch size. An adaptive controller adjusts the batch size, within its bounds, based on
+ * the measured duration of each completed batch:
+ * <ul>
+ *     <li>when a batch takes longer than the target duration, the batch size is halved;</li>
+ *     <li>when a full batch completes within the target duration with a throughput at least as high as the previous
+ *     full batch, the batch size grows by half;</li>
+ *     <li>when a full batch completes within the target duration, but with a lower throughput than the previous full
+ *     batch, the batch size shrinks by a quarter.</li>
+ * </ul>
+ * Batches that contain fewer events than the current batch size (typically because the processor has caught up with
+ * the head of the stream) do not influence the batch size.
+ * <p>
+ * Instances are not thread safe and are meant to be used by a single processing thread.
+ *
+ * @since 4.5
+ */
+final class BatchSizeController {
+
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long targetBatchDurationNanos;
+
+    private int batchSize;
+    private double lastThroughput;
+
+    /**
+     * Create a {@link BatchSizeController} which always uses the given {@code batchSize}.
+     *
+     * @param batchSize the fixed number of events to process in a single batch
+     * @return a {@link BatchSizeController} which always uses the given {@code batchSize}
+     */
+    static BatchSizeController fixed(int batchSize) {
+        return new BatchSizeController(batchSize, batchSize, batchSize, -1);
+    }
+
+    /**
+     * Create a {@link BatchSizeController} which adapts the batch size between {@code minBatchSize} and {@code
+     * maxBatchSize} based on the measured batch durations, starting at the given {@code initialBatchSize}.
+     *
+     * @param initialBatchSize          the batch size to start with, limited to the given bounds
+     * @param minBatchSize              the smallest batch size to use
+     * @param maxBatchSize              the largest batch size to use
+     * @param targetBatchDurationNanos the maximum duration in nanoseconds a single batch should take
+     * @return a {@link BatchSizeController} adapting the batch size to the measured batch durations
+     */
+    static BatchSizeController adaptive(int initialBatchSize,
+                                        int minBatchSize,
+                                        int maxBatchSize,
+                                        long targetBatchDurationNanos) {
+        return new BatchSizeController(initialBatchSize, minBatchSize, maxBatchSize, targetBatchDurationNanos);
+    }
+
+    private BatchSizeController(int initialBatchSize,
+                                int minBatchSize,
+                                int maxBatchSize,
+                                long targetBatchDurationNanos) {
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.targetBatchDurationNanos = targetBatchDurationNanos;
+        this.batchSize = bounded(initialBatchSize);
+    }
+
+    /**
+     * Returns the number of events to include in the next batch.
+     *
+     * @return the number of events to include in the next batch
+     */
+    int batchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Registers the completion of a batch containing the given number of {@code processedEvents}, which took {@code
+     * durationNanos} to handle and commit.
+     *
+     * @param processedEvents the number of events in the completed batch
+     * @param durationNanos   the duration in nanoseconds it took to handle and commit the batch
+     * @return {@code true} if the batch size has changed as a result of this batch, {@code false} otherwise
+     */
+    boolean onBatchCompleted(int processedEvents, long durationNanos) {
+        if (targetBatchDurationNanos <= 0) {
+            return false;
+        }
+        int previousBatchSize = batchSize;
+        if (durationNanos > targetBatchDurationNanos) {
+            batchSize = bounded(batchSize / 2);
+            lastThroughput = 0;
+        } else if (processedEvents >= batchSize) {
+            double throughput = (double) processedEvents / Math.max(durationNanos, 1);
+            if (throughput >= lastThroughput) {
+                batchSize = bounded(batchSize + Math.max(batchSize / 2, 1));
+            } else {
+                batchSize = bounded(batchSize - Math.max(batchSize / 4, 1));
+            }
+            lastThroughput = throughput;
+        }
+        return batchSize != previousBatchSize;
+    }
+
+    private int bounded(int size) {
+        return Math.max(minBatchSize, Math.min(maxBatchSize, size));
+    }
+}
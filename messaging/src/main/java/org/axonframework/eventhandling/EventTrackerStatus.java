@@ -19,6 +19,7 @@
 import org.axonframework.eventhandling.tokenstore.TokenStore;
 
 import java.util.Objects;
+import java.util.OptionalInt;
 import java.util.OptionalLong;
 
 /**
@@ -118,6 +119,18 @@ public interface EventTrackerStatus {
      */
     OptionalLong getResetPosition();
 
+    /**
+     * Return the number of events this Segment currently processes in a single batch. When adaptive batch sizing is
+     * enabled, this value changes over time based on the measured processing times. In case the batch size is not
+     * known, an {@code OptionalInt.empty()} will be returned.
+     *
+     * @return the number of events this Segment currently processes in a single batch
+     * @see TrackingEventProcessorConfiguration#andAdaptiveBatchSize(int, int, long, java.util.concurrent.TimeUnit)
+     */
+    default OptionalInt getBatchSize() {
+        return OptionalInt.empty();
+    }
+
     /**
      * Returns a {@code boolean} describing whether this {@link EventTrackerStatus} is starting it's progress for the
      * first time. Particularly useful if the {@link EventTrackerStatusChangeListener} should react to added status'.
@@ -17,19 +17,19 @@
 package org.axonframework.eventhandling;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.axonframework.common.Assert;
-import org.axonframework.common.CollectionUtils;
 
 import java.beans.ConstructorProperties;
 import java.io.Serializable;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.OptionalLong;
 import java.util.SortedSet;
 import java.util.concurrent.ConcurrentSkipListSet;
-import java.util.stream.LongStream;
 
 /**
  * Implementation of a {@link TrackingToken} that uses the global insertion sequence number of the event to determine
@@ -40,6 +40,14 @@
  * been committed to the store, consumers are able to track the event store uninterruptedly even when there are gaps
  * in the sequence numbers of events. If a gap is detected the event store can check if meanwhile this gap has been
  * filled each time a new batch of events is fetched.
+ * <p>
+ * Gaps are stored as ranges of consecutive sequence numbers in a primitive array. Advancing the token without
+ * introducing, filling or truncating gaps reuses the gaps of the previous token. This representation is internal:
+ * Java and XStream serialization write the gaps as a regular {@link SortedSet} and Jackson writes them as a list of
+ * every gap, as they always have been, allowing nodes running a previous version to read the token. Jackson
+ * additionally reads gaps given as a compact list of {@link #getGapRanges() ranges}, so that this format can be
+ * written once every node is able to read it. Tokens in any of these formats are converted to the internal
+ * representation transparently.
  *
  * @author Rene de Waele
  */
@@ -48,6 +56,7 @@ public class GapAwareTrackingToken implements TrackingToken, Serializable {
     private static final long serialVersionUID = -3190388158060110593L;
 
     private final long index;
+    // declared as a SortedSet to remain compatible with tokens serialized before gaps were kept in a LongRangeSet
     private final SortedSet<Long> gaps;
     private final transient long gapTruncationIndex;
 
@@ -74,10 +83,31 @@ public static GapAwareTrackingToken newInstance(long index, Collection<Long> gap
      *              smaller than the current index. These missing sequence numbers may be filled in later when those
      *              events get committed to the store or may never be filled in if those events never get committed.
      */
+    public GapAwareTrackingToken(long index, Collection<Long> gaps) {
+        this(index, createGapSet(gaps, index), 0);
+    }
+
+    /**
+     * This constructor is meant to be used for deserialization, accepting the gaps either as individual sequence
+     * numbers or as ranges of sequence numbers. <br> Please use {@link #newInstance(long, Collection)} to create new
+     * instances.
+     *
+     * @param index     the highest global sequence number of events up until (and including) this tracking token
+     * @param gaps      global sequence numbers of events that have not been seen yet even though these sequence
+     *                  numbers are smaller than the current index. May be {@code null}
+     * @param gapRanges ranges of gaps, each an array holding the inclusive lower and upper bound of the range, as
+     *                  returned by {@link #getGapRanges()}. May be {@code null}
+     */
     @JsonCreator
-    @ConstructorProperties({"index", "gaps"})
-    public GapAwareTrackingToken(@JsonProperty("index") long index, @JsonProperty("gaps") Collection<Long> gaps) {
-        this(index, createSortedSetOf(gaps, index), 0);
+    @ConstructorProperties({"index", "gaps", "gapRanges"})
+    public GapAwareTrackingToken(@JsonProperty("index") long index,
+                                 @JsonProperty("gaps") Collection<Long> gaps,
+                                 @JsonProperty("gapRanges") List<long[]> gapRanges) {
+        this(index, createGapSet(LongRangeSet.of(gaps).union(LongRangeSet.ofRanges(gapRanges)), index), 0);
+    }
+
+    private GapAwareTrackingToken(long index, LongRangeSet gaps, long gapTruncationIndex) {
+        this(index, (SortedSet<Long>) gaps, gapTruncationIndex);
     }
 
     private GapAwareTrackingToken(long index, SortedSet<Long> gaps, long gapTruncationIndex) {
@@ -96,11 +126,12 @@ private GapAwareTrackingToken(long index, SortedSet<Long> gaps, long gapTruncati
      * @return a {@link SortedSet} constructed out of the given {@code gaps}
      */
     protected static SortedSet<Long> createSortedSetOf(Collection<Long> gaps, long index) {
-        if (gaps == null || gaps.isEmpty()) {
-            return Collections.emptySortedSet();
-        }
-        SortedSet<Long> gapSet = new ConcurrentSkipListSet<>(gaps);
-        Assert.isTrue(gapSet.last() < index,
+        return createGapSet(gaps, index);
+    }
+
+    private static LongRangeSet createGapSet(Collection<Long> gaps, long index) {
+        LongRangeSet gapSet = LongRangeSet.of(gaps);
+        Assert.isTrue(gapSet.isEmpty() || gapSet.last() < index,
                       () -> String.format("Gap indices [%s] should all be smaller than head index [%d]", gaps, index));
         return gapSet;
     }
@@ -122,20 +153,20 @@ protected static SortedSet<Long> createSortedSetOf(Collection<Long> gaps, long i
      */
     public GapAwareTrackingToken advanceTo(long index, int maxGapOffset) {
         long newIndex;
-        SortedSet<Long> gaps = new ConcurrentSkipListSet<>(this.gaps);
-        if (gaps.remove(index)) {
+        LongRangeSet gaps = gapSet();
+        if (gaps.contains(index)) {
             newIndex = this.index;
+            gaps = gaps.without(index);
         } else if (index > this.index) {
             newIndex = index;
-            LongStream.range(this.index + 1L, index).forEach(gaps::add);
+            gaps = gaps.withRange(this.index + 1L, index - 1L);
         } else {
             throw new IllegalArgumentException(String.format(
                     "The given index [%d] should be larger than the token index [%d] or be one of the token's gaps [%s]",
                     index, this.index, gaps));
         }
         long smalledAllowedGap = Math.max(gapTruncationIndex, newIndex - maxGapOffset);
-        gaps.removeAll(gaps.headSet(smalledAllowedGap));
-        return new GapAwareTrackingToken(newIndex, gaps, smalledAllowedGap);
+        return new GapAwareTrackingToken(newIndex, gaps.tailSet(smalledAllowedGap), smalledAllowedGap);
     }
 
     /**
@@ -149,11 +180,11 @@ public GapAwareTrackingToken advanceTo(long index, int maxGapOffset) {
      * @return a Token without any gaps strictly smaller than given {@code truncationPoint}
      */
     public GapAwareTrackingToken withGapsTruncatedAt(long truncationPoint) {
+        LongRangeSet gaps = gapSet();
         if (gaps.isEmpty() || gaps.first() > truncationPoint) {
             return this;
         }
-        SortedSet<Long> truncatedGaps = new ConcurrentSkipListSet<>(this.gaps.tailSet(truncationPoint));
-        return new GapAwareTrackingToken(this.index, truncatedGaps, truncationPoint);
+        return new GapAwareTrackingToken(this.index, gaps.tailSet(truncationPoint), truncationPoint);
     }
 
     /**
@@ -161,17 +192,32 @@ public GapAwareTrackingToken withGapsTruncatedAt(long truncationPoint) {
      *
      * @return the highest global event sequence number seen so far
      */
+    @JsonGetter("index")
     public long getIndex() {
         return index;
     }
 
     /**
-     * Get a {@link SortedSet} of this token's gaps.
+     * Get a {@link SortedSet} of this token's gaps. The returned set is immutable.
      *
      * @return the gaps of this token
      */
+    @JsonGetter("gaps")
     public SortedSet<Long> getGaps() {
-        return Collections.unmodifiableSortedSet(gaps);
+        return gapSet();
+    }
+
+    /**
+     * Get the gaps of this token as ranges of consecutive sequence numbers, in ascending order. Each range is an array
+     * holding the inclusive lower and upper bound of the range. Jackson accepts the gaps in this form on
+     * deserialization, as it is considerably more compact than listing every gap, but does not write it yet, as
+     * nodes running a previous version would not be able to read it.
+     *
+     * @return the gaps of this token as ranges of consecutive sequence numbers
+     */
+    @JsonIgnore
+    public List<long[]> getGapRanges() {
+        return gapSet().ranges();
     }
 
     @Override
@@ -179,51 +225,49 @@ public GapAwareTrackingToken lowerBound(TrackingToken other) {
         Assert.isTrue(other instanceof GapAwareTrackingToken, () -> "Incompatible token type provided.");
         GapAwareTrackingToken otherToken = (GapAwareTrackingToken) other;
 
-        SortedSet<Long> mergedGaps = new ConcurrentSkipListSet<>(this.gaps);
-        mergedGaps.addAll(otherToken.gaps);
+        LongRangeSet mergedGaps = this.gapSet().union(otherToken.gapSet());
         long mergedIndex = calculateIndex(otherToken, mergedGaps);
-        mergedGaps.removeIf(i -> i >= mergedIndex);
-        return new GapAwareTrackingToken(mergedIndex, mergedGaps, Math.min(gapTruncationIndex,
-                                                                           otherToken.gapTruncationIndex));
+        return new GapAwareTrackingToken(mergedIndex, mergedGaps.headSet(mergedIndex),
+                                         Math.min(gapTruncationIndex, otherToken.gapTruncationIndex));
     }
 
     @Override
     public TrackingToken upperBound(TrackingToken otherToken) {
         Assert.isTrue(otherToken instanceof GapAwareTrackingToken, () -> "Incompatible token type provided.");
         GapAwareTrackingToken other = (GapAwareTrackingToken) otherToken;
-        SortedSet<Long> newGaps = CollectionUtils.intersect(this.gaps, other.gaps, ConcurrentSkipListSet::new);
+        LongRangeSet thisGaps = this.gapSet();
+        LongRangeSet otherGaps = other.gapSet();
         long min = Math.min(this.index, other.index) + 1;
-        SortedSet<Long> mergedGaps =
-                CollectionUtils.merge(this.gaps.tailSet(min), other.gaps.tailSet(min), ConcurrentSkipListSet::new);
-        newGaps.addAll(mergedGaps);
+        LongRangeSet newGaps = thisGaps.intersection(otherGaps)
+                                       .union(thisGaps.tailSet(min))
+                                       .union(otherGaps.tailSet(min));
 
         return new GapAwareTrackingToken(Math.max(this.index, other.index), newGaps,
                                          Math.min(gapTruncationIndex, other.gapTruncationIndex));
     }
 
-    private long calculateIndex(GapAwareTrackingToken otherToken, SortedSet<Long> mergedGaps) {
+    private long calculateIndex(GapAwareTrackingToken otherToken, LongRangeSet mergedGaps) {
         long mergedIndex = Math.min(this.index, otherToken.index);
-        while (mergedGaps.contains(mergedIndex)) {
-            mergedIndex--;
-        }
-        return mergedIndex;
+        // the merged index may not be a gap, hence it moves to just before the range of gaps containing it
+        return mergedGaps.contains(mergedIndex) ? mergedGaps.rangeStart(mergedIndex) - 1 : mergedIndex;
     }
 
     @Override
     public boolean covers(TrackingToken other) {
         Assert.isTrue(other instanceof GapAwareTrackingToken, () -> "Incompatible token type provided.");
         GapAwareTrackingToken otherToken = (GapAwareTrackingToken) other;
+        LongRangeSet gaps = gapSet();
 
         // if the token we compare to has a higher gap truncation index, we need to truncate this instance to compare
-        if (!this.gaps.isEmpty()
-                && !this.gaps.headSet(otherToken.gapTruncationIndex).isEmpty()
+        if (!gaps.isEmpty()
+                && gaps.first() < otherToken.gapTruncationIndex
                 && this.gapTruncationIndex < otherToken.gapTruncationIndex) {
             return this.withGapsTruncatedAt(otherToken.gapTruncationIndex).covers(other);
         }
 
         return otherToken.index <= this.index
-                && !this.gaps.contains(otherToken.index)
-                && otherToken.gaps.containsAll(this.gaps.headSet(otherToken.index));
+                && !gaps.contains(otherToken.index)
+                && otherToken.gapSet().containsAll(gaps.headSet(otherToken.index));
     }
 
     /**
@@ -235,6 +279,37 @@ public boolean hasGaps() {
         return !gaps.isEmpty();
     }
 
+    /**
+     * Returns the gaps of this token as a {@link LongRangeSet}. Tokens deserialized from the {@link SortedSet} based
+     * format are converted through {@link #readResolve()}, the conversion in this method only being a safeguard.
+     */
+    private LongRangeSet gapSet() {
+        return gaps instanceof LongRangeSet ? (LongRangeSet) gaps : LongRangeSet.of(gaps);
+    }
+
+    /**
+     * Replaces tokens deserialized from the format in which the gaps were stored as a regular {@link SortedSet} by a
+     * token storing its gaps in a {@link LongRangeSet}.
+     *
+     * @return a {@link GapAwareTrackingToken} storing its gaps in a {@link LongRangeSet}
+     */
+    private Object readResolve() {
+        return gaps instanceof LongRangeSet ? this : new GapAwareTrackingToken(index, gaps);
+    }
+
+    /**
+     * Replaces this token by one storing its gaps in a {@link ConcurrentSkipListSet} when it is serialized through
+     * Java or XStream serialization, which is the format these serializers have always written. This keeps the
+     * package private {@link LongRangeSet} out of the serialized form, allowing nodes unaware of it to read the token.
+     *
+     * @return a {@link GapAwareTrackingToken} storing its gaps in a {@link ConcurrentSkipListSet}
+     */
+    private Object writeReplace() {
+        return gaps instanceof LongRangeSet
+                ? new GapAwareTrackingToken(index, new ConcurrentSkipListSet<>(gaps), gapTruncationIndex)
+                : this;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -245,7 +320,8 @@ public boolean equals(Object o) {
         }
         GapAwareTrackingToken that = (GapAwareTrackingToken) o;
         long truncationIndex = Math.max(this.gapTruncationIndex, that.gapTruncationIndex) + 1;
-        return index == that.index && Objects.equals(gaps.tailSet(truncationIndex), that.gaps.tailSet(truncationIndex));
+        return index == that.index
+                && Objects.equals(this.gapSet().tailSet(truncationIndex), that.gapSet().tailSet(truncationIndex));
     }
 
     @Override
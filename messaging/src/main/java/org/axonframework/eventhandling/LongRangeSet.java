@@ -0,0 +1,486 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+
+/**
+ * Immutable {@link SortedSet} of {@code long} values, which stores its elements as an ordered array of primitive,
+ * inclusive ranges. Consecutive values thus take up a single range, independent of the number of values in it.
+ * <p>
+ * Used by the {@link GapAwareTrackingToken} to store its gaps. Operations deriving a new set copy a single primitive
+ * array instead of a tree of boxed values, while operations which do not change the contents of the set return the
+ * same instance. Any of the mutating operations of the {@link SortedSet} interface throw an {@link
+ * UnsupportedOperationException}.
+ *
+ * @since 4.5
+ */
+final class LongRangeSet extends AbstractSet<Long> implements SortedSet<Long>, Serializable {
+
+    private static final long serialVersionUID = 5390728731298735263L;
+
+    private static final LongRangeSet EMPTY = new LongRangeSet(new long[0]);
+
+    /**
+     * Pairs of inclusive lower and upper bounds, in ascending order. Ranges never overlap, nor are they adjacent.
+     */
+    private final long[] ranges;
+
+    private LongRangeSet(long[] ranges) {
+        this.ranges = ranges;
+    }
+
+    /**
+     * Returns an empty {@link LongRangeSet}.
+     *
+     * @return an empty {@link LongRangeSet}
+     */
+    static LongRangeSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a {@link LongRangeSet} containing the given {@code values}. If the given {@code values} already are a
+     * {@link LongRangeSet}, that instance is returned.
+     *
+     * @param values the values to construct the {@link LongRangeSet} of. May be {@code null}
+     * @return a {@link LongRangeSet} containing the given {@code values}
+     */
+    static LongRangeSet of(Collection<Long> values) {
+        if (values instanceof LongRangeSet) {
+            return (LongRangeSet) values;
+        }
+        if (values == null || values.isEmpty()) {
+            return EMPTY;
+        }
+        long[] sortedValues = values.stream().mapToLong(Long::longValue).sorted().toArray();
+        long[] ranges = new long[sortedValues.length * 2];
+        int length = 0;
+        for (long value : sortedValues) {
+            if (length > 0 && isConnected(ranges[length - 1], value)) {
+                ranges[length - 1] = Math.max(ranges[length - 1], value);
+            } else {
+                ranges[length++] = value;
+                ranges[length++] = value;
+            }
+        }
+        return ofRanges(ranges, length);
+    }
+
+    /**
+     * Returns a {@link LongRangeSet} containing all values of the given {@code ranges}, each of which is an array
+     * holding an inclusive lower and upper bound, as returned by {@link #ranges()}. The given ranges may overlap and
+     * may be given in any order.
+     *
+     * @param ranges the ranges to construct the {@link LongRangeSet} of. May be {@code null}
+     * @return a {@link LongRangeSet} containing all values of the given {@code ranges}
+     */
+    static LongRangeSet ofRanges(Collection<long[]> ranges) {
+        LongRangeSet result = EMPTY;
+        if (ranges != null) {
+            for (long[] range : ranges) {
+                if (range == null || range.length != 2) {
+                    throw new IllegalArgumentException("A range should consist of a lower and an upper bound");
+                }
+                result = result.withRange(range[0], range[1]);
+            }
+        }
+        return result;
+    }
+
+    private static LongRangeSet ofRanges(long[] ranges, int length) {
+        if (length == 0) {
+            return EMPTY;
+        }
+        return new LongRangeSet(length == ranges.length ? ranges : Arrays.copyOf(ranges, length));
+    }
+
+    private static boolean isConnected(long upperBound, long lowerBound) {
+        return lowerBound <= upperBound || lowerBound == upperBound + 1;
+    }
+
+    /**
+     * Returns a {@link LongRangeSet} additionally containing all values between {@code from} and {@code to}, both
+     * inclusive. Appending values higher than the current {@link #last()} element is the cheapest form of this
+     * operation. If {@code from} is larger than {@code to}, this instance is returned.
+     *
+     * @param from the lowest value to add, inclusive
+     * @param to   the highest value to add, inclusive
+     * @return a {@link LongRangeSet} additionally containing the given range of values
+     */
+    LongRangeSet withRange(long from, long to) {
+        if (from > to) {
+            return this;
+        }
+        int length = ranges.length;
+        if (length == 0) {
+            return new LongRangeSet(new long[]{from, to});
+        }
+        long last = ranges[length - 1];
+        if (from > last) {
+            long[] result;
+            if (from == last + 1) {
+                result = ranges.clone();
+            } else {
+                result = Arrays.copyOf(ranges, length + 2);
+                result[length] = from;
+            }
+            result[result.length - 1] = to;
+            return new LongRangeSet(result);
+        }
+        return union(new LongRangeSet(new long[]{from, to}));
+    }
+
+    /**
+     * Returns a {@link LongRangeSet} which does not contain the given {@code value}. If this set does not contain the
+     * {@code value}, this instance is returned.
+     *
+     * @param value the value to remove
+     * @return a {@link LongRangeSet} without the given {@code value}
+     */
+    LongRangeSet without(long value) {
+        int index = rangeIndex(value);
+        if (index == rangeCount() || ranges[2 * index] > value) {
+            return this;
+        }
+        int lowerPosition = 2 * index;
+        long lower = ranges[lowerPosition];
+        long upper = ranges[lowerPosition + 1];
+        long[] result;
+        if (lower == upper) {
+            result = new long[ranges.length - 2];
+            System.arraycopy(ranges, 0, result, 0, lowerPosition);
+            System.arraycopy(ranges, lowerPosition + 2, result, lowerPosition, ranges.length - lowerPosition - 2);
+            return ofRanges(result, result.length);
+        } else if (value == lower) {
+            result = ranges.clone();
+            result[lowerPosition] = value + 1;
+        } else if (value == upper) {
+            result = ranges.clone();
+            result[lowerPosition + 1] = value - 1;
+        } else {
+            result = new long[ranges.length + 2];
+            System.arraycopy(ranges, 0, result, 0, lowerPosition + 1);
+            result[lowerPosition + 1] = value - 1;
+            result[lowerPosition + 2] = value + 1;
+            System.arraycopy(ranges, lowerPosition + 1, result, lowerPosition + 3, ranges.length - lowerPosition - 1);
+        }
+        return new LongRangeSet(result);
+    }
+
+    /**
+     * Returns a {@link LongRangeSet} containing the values contained in this set, the {@code other} set or both.
+     *
+     * @param other the {@link LongRangeSet} to combine with this set
+     * @return the union of this and the {@code other} set
+     */
+    LongRangeSet union(LongRangeSet other) {
+        if (other.isEmpty() || this.equals(other)) {
+            return this;
+        }
+        if (this.isEmpty()) {
+            return other;
+        }
+        long[] result = new long[ranges.length + other.ranges.length];
+        int length = 0;
+        int thisPosition = 0;
+        int otherPosition = 0;
+        while (thisPosition < ranges.length || otherPosition < other.ranges.length) {
+            long lower;
+            long upper;
+            if (otherPosition >= other.ranges.length
+                    || (thisPosition < ranges.length && ranges[thisPosition] <= other.ranges[otherPosition])) {
+                lower = ranges[thisPosition];
+                upper = ranges[thisPosition + 1];
+                thisPosition += 2;
+            } else {
+                lower = other.ranges[otherPosition];
+                upper = other.ranges[otherPosition + 1];
+                otherPosition += 2;
+            }
+            if (length > 0 && isConnected(result[length - 1], lower)) {
+                result[length - 1] = Math.max(result[length - 1], upper);
+            } else {
+                result[length++] = lower;
+                result[length++] = upper;
+            }
+        }
+        return ofRanges(result, length);
+    }
+
+    /**
+     * Returns a {@link LongRangeSet} containing the values contained in both this and the {@code other} set.
+     *
+     * @param other the {@link LongRangeSet} to intersect with this set
+     * @return the intersection of this and the {@code other} set
+     */
+    LongRangeSet intersection(LongRangeSet other) {
+        if (this.isEmpty() || this.equals(other)) {
+            return this;
+        }
+        if (other.isEmpty()) {
+            return other;
+        }
+        long[] result = new long[ranges.length + other.ranges.length];
+        int length = 0;
+        int thisPosition = 0;
+        int otherPosition = 0;
+        while (thisPosition < ranges.length && otherPosition < other.ranges.length) {
+            long lower = Math.max(ranges[thisPosition], other.ranges[otherPosition]);
+            long thisUpper = ranges[thisPosition + 1];
+            long otherUpper = other.ranges[otherPosition + 1];
+            long upper = Math.min(thisUpper, otherUpper);
+            if (lower <= upper) {
+                result[length++] = lower;
+                result[length++] = upper;
+            }
+            if (thisUpper <= otherUpper) {
+                thisPosition += 2;
+            }
+            if (otherUpper <= thisUpper) {
+                otherPosition += 2;
+            }
+        }
+        return ofRanges(result, length);
+    }
+
+    /**
+     * Returns whether this set contains the given {@code value}.
+     *
+     * @param value the value to verify
+     * @return {@code true} if this set contains the given {@code value}, {@code false} otherwise
+     */
+    boolean contains(long value) {
+        int index = rangeIndex(value);
+        return index < rangeCount() && ranges[2 * index] <= value;
+    }
+
+    /**
+     * Returns the lowest value of the consecutive range of values in this set that contains the given {@code value}.
+     * If this set does not contain the given {@code value}, the {@code value} itself is returned.
+     *
+     * @param value the value to find the start of the enclosing range for
+     * @return the lowest value of the range of values containing the given {@code value}
+     */
+    long rangeStart(long value) {
+        int index = rangeIndex(value);
+        return index < rangeCount() && ranges[2 * index] <= value ? ranges[2 * index] : value;
+    }
+
+    /**
+     * Returns the index of the first range with an upper bound equal to or larger than the given {@code value}, or the
+     * number of ranges if all ranges are below the {@code value}.
+     */
+    private int rangeIndex(long value) {
+        int low = 0;
+        int high = rangeCount();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ranges[2 * mid + 1] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int rangeCount() {
+        return ranges.length / 2;
+    }
+
+    /**
+     * Returns the ranges of this set in ascending order, each as a new array holding the inclusive lower and upper
+     * bound of the range.
+     *
+     * @return the ranges of this set in ascending order
+     */
+    List<long[]> ranges() {
+        List<long[]> result = new ArrayList<>(rangeCount());
+        for (int position = 0; position < ranges.length; position += 2) {
+            result.add(new long[]{ranges[position], ranges[position + 1]});
+        }
+        return result;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Long && contains(((Long) o).longValue());
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if (!(c instanceof LongRangeSet)) {
+            return super.containsAll(c);
+        }
+        long[] otherRanges = ((LongRangeSet) c).ranges;
+        for (int position = 0; position < otherRanges.length; position += 2) {
+            int index = rangeIndex(otherRanges[position]);
+            if (index == rangeCount()
+                    || ranges[2 * index] > otherRanges[position]
+                    || ranges[2 * index + 1] < otherRanges[position + 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Iterator<Long> iterator() {
+        return new Iterator<Long>() {
+            private int position = 0;
+            private long next = ranges.length == 0 ? 0 : ranges[0];
+
+            @Override
+            public boolean hasNext() {
+                return position < ranges.length;
+            }
+
+            @Override
+            public Long next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                long current = next;
+                if (current == ranges[position + 1]) {
+                    position += 2;
+                    if (position < ranges.length) {
+                        next = ranges[position];
+                    }
+                } else {
+                    next = current + 1;
+                }
+                return current;
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        long size = 0;
+        for (int position = 0; position < ranges.length; position += 2) {
+            size += ranges[position + 1] - ranges[position] + 1;
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return ranges.length == 0;
+    }
+
+    @Override
+    public Comparator<? super Long> comparator() {
+        return null;
+    }
+
+    @Override
+    public LongRangeSet subSet(Long fromElement, Long toElement) {
+        if (fromElement > toElement) {
+            throw new IllegalArgumentException("fromElement [" + fromElement + "] > toElement [" + toElement + "]");
+        }
+        return tailSet(fromElement.longValue()).headSet(toElement.longValue());
+    }
+
+    @Override
+    public LongRangeSet headSet(Long toElement) {
+        return headSet(toElement.longValue());
+    }
+
+    /**
+     * Returns a {@link LongRangeSet} containing the values of this set which are strictly smaller than the given
+     * {@code toElement}. If all values are smaller, this instance is returned.
+     *
+     * @param toElement the upper bound of the returned set, exclusive
+     * @return a {@link LongRangeSet} containing the values smaller than {@code toElement}
+     */
+    LongRangeSet headSet(long toElement) {
+        if (ranges.length == 0 || ranges[ranges.length - 1] < toElement) {
+            return this;
+        }
+        int index = rangeIndex(toElement);
+        if (ranges[2 * index] < toElement) {
+            long[] result = Arrays.copyOf(ranges, 2 * index + 2);
+            result[2 * index + 1] = toElement - 1;
+            return new LongRangeSet(result);
+        }
+        return ofRanges(ranges, 2 * index);
+    }
+
+    @Override
+    public LongRangeSet tailSet(Long fromElement) {
+        return tailSet(fromElement.longValue());
+    }
+
+    /**
+     * Returns a {@link LongRangeSet} containing the values of this set which are equal to or larger than the given
+     * {@code fromElement}. If all values are equal or larger, this instance is returned.
+     *
+     * @param fromElement the lower bound of the returned set, inclusive
+     * @return a {@link LongRangeSet} containing the values equal to or larger than {@code fromElement}
+     */
+    LongRangeSet tailSet(long fromElement) {
+        if (ranges.length == 0 || ranges[0] >= fromElement) {
+            return this;
+        }
+        int index = rangeIndex(fromElement);
+        if (index == rangeCount()) {
+            return EMPTY;
+        }
+        long[] result = Arrays.copyOfRange(ranges, 2 * index, ranges.length);
+        result[0] = Math.max(result[0], fromElement);
+        return new LongRangeSet(result);
+    }
+
+    @Override
+    public Long first() {
+        if (ranges.length == 0) {
+            throw new NoSuchElementException();
+        }
+        return ranges[0];
+    }
+
+    @Override
+    public Long last() {
+        if (ranges.length == 0) {
+            throw new NoSuchElementException();
+        }
+        return ranges[ranges.length - 1];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof LongRangeSet) {
+            return Arrays.equals(ranges, ((LongRangeSet) o).ranges);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+}
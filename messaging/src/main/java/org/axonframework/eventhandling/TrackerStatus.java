@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling;
+
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+/**
+ * Implementation of the {@link EventTrackerStatus}, providing simple setters to adjust the status. Instances are
+ * immutable; every adjustment results in a new {@link TrackerStatus}.
+ * <p>
+ * Used by the {@link TrackingEventProcessor} and the {@link org.axonframework.eventhandling.pooled.PooledStreamingEventProcessor}
+ * to describe the state of each of the {@link Segment}s they process.
+ *
+ * @since 4.5
+ */
+public final class TrackerStatus implements EventTrackerStatus {
+
+    private final Segment segment;
+    private final boolean caughtUp;
+    private final TrackingToken trackingToken;
+    private final Throwable errorState;
+    private final int batchSize;
+
+    /**
+     * Construct a {@link EventTrackerStatus} to portray the status of the given {@code segment} and {@code
+     * trackingToken}. {@code caughtUp} will be defaulted to {@code false} and the {@code errorState} to {@code null}.
+     *
+     * @param segment       the {@link Segment} this {@link EventTrackerStatus} shares the status of
+     * @param trackingToken the {@link TrackingToken} this {@link EventTrackerStatus} shares the status of
+     */
+    public TrackerStatus(Segment segment, TrackingToken trackingToken) {
+        this(segment, false, trackingToken, null);
+    }
+
+    /**
+     * Construct a {@link EventTrackerStatus} to portray the status of the given {@code segment} and {@code
+     * trackingToken}.
+     *
+     * @param segment       the {@link Segment} this {@link EventTrackerStatus} shares the status of
+     * @param caughtUp      a {@code boolean} specifying whether the {@code segment} has caught up with the head of the
+     *                      stream
+     * @param trackingToken the {@link TrackingToken} this {@link EventTrackerStatus} shares the status of
+     * @param errorState    a {@link Throwable} defining the error status of this {@link EventTrackerStatus}, if any
+     */
+    public TrackerStatus(Segment segment, boolean caughtUp, TrackingToken trackingToken, Throwable errorState) {
+        this(segment, caughtUp, trackingToken, errorState, 0);
+    }
+
+    private TrackerStatus(Segment segment,
+                          boolean caughtUp,
+                          TrackingToken trackingToken,
+                          Throwable errorState,
+                          int batchSize) {
+        this.segment = segment;
+        this.caughtUp = caughtUp;
+        this.trackingToken = trackingToken;
+        this.errorState = errorState;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Return a new {@link TrackerStatus} based on this status, setting the {@link #isCaughtUp()} to {@code true}.
+     *
+     * @return a new {@link TrackerStatus} based on this status, setting the {@link #isCaughtUp()} to {@code true}
+     */
+    public TrackerStatus caughtUp() {
+        if (caughtUp) {
+            return this;
+        }
+        return new TrackerStatus(segment, true, trackingToken, null, batchSize);
+    }
+
+    /**
+     * Advance this {@link TrackerStatus}' {@link TrackingToken} towards the given {@code trackingToken}.
+     *
+     * @param trackingToken the {@link TrackingToken} to advance this {@link TrackerStatus}' token towards
+     * @return a new {@link TrackerStatus} based on this status, with the {@link TrackingToken} advanced towards the
+     * given {@code trackingToken}
+     */
+    public TrackerStatus advancedTo(TrackingToken trackingToken) {
+        if (Objects.equals(this.trackingToken, trackingToken)) {
+            return this;
+        }
+        return new TrackerStatus(segment, caughtUp, trackingToken, null, batchSize);
+    }
+
+    /**
+     * Return a new {@link TrackerStatus} based on this status, marking it as being in error with the given {@code
+     * error}.
+     *
+     * @param error the {@link Throwable} describing the error this {@link TrackerStatus} is in
+     * @return a new {@link TrackerStatus} based on this status, marked as being in error
+     */
+    public TrackerStatus markError(Throwable error) {
+        return new TrackerStatus(segment, caughtUp, trackingToken, error, batchSize);
+    }
+
+    /**
+     * Return a new {@link TrackerStatus} based on this status, removing the error state.
+     *
+     * @return a new {@link TrackerStatus} based on this status, removing the error state
+     */
+    public TrackerStatus unmarkError() {
+        return new TrackerStatus(segment, caughtUp, trackingToken, null, batchSize);
+    }
+
+    /**
+     * Return a new {@link TrackerStatus} based on this status, reporting the given {@code batchSize} as the number of
+     * events currently processed in a single batch.
+     *
+     * @param batchSize the number of events currently processed in a single batch
+     * @return a new {@link TrackerStatus} based on this status, reporting the given {@code batchSize}
+     */
+    public TrackerStatus withBatchSize(int batchSize) {
+        if (this.batchSize == batchSize) {
+            return this;
+        }
+        return new TrackerStatus(segment, caughtUp, trackingToken, errorState, batchSize);
+    }
+
+    @Override
+    public Segment getSegment() {
+        return segment;
+    }
+
+    @Override
+    public boolean isCaughtUp() {
+        return caughtUp;
+    }
+
+    @Override
+    public boolean isReplaying() {
+        return ReplayToken.isReplay(trackingToken);
+    }
+
+    @Override
+    public boolean isMerging() {
+        return MergedTrackingToken.isMergeInProgress(trackingToken);
+    }
+
+    @Override
+    public OptionalLong mergeCompletedPosition() {
+        return MergedTrackingToken.mergePosition(trackingToken);
+    }
+
+    @Override
+    public TrackingToken getTrackingToken() {
+        return WrappedToken.unwrapLowerBound(trackingToken);
+    }
+
+    @Override
+    public boolean isErrorState() {
+        return errorState != null;
+    }
+
+    @Override
+    public Throwable getError() {
+        return errorState;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OptionalLong getCurrentPosition() {
+        if (isReplaying()) {
+            return WrappedToken.unwrap(trackingToken, ReplayToken.class)
+                               .map(ReplayToken::position)
+                               .orElse(OptionalLong.empty());
+        }
+
+        if (isMerging()) {
+            return WrappedToken.unwrap(trackingToken, MergedTrackingToken.class)
+                               .map(MergedTrackingToken::position)
+                               .orElse(OptionalLong.empty());
+        }
+
+        return (trackingToken == null) ? OptionalLong.empty() : trackingToken.position();
+    }
+
+    @Override
+    public OptionalLong getResetPosition() {
+        return ReplayToken.getTokenAtReset(trackingToken);
+    }
+
+    @Override
+    public OptionalInt getBatchSize() {
+        return batchSize > 0 ? OptionalInt.of(batchSize) : OptionalInt.empty();
+    }
+
+    /**
+     * Return the {@link TrackingToken} this {@link TrackerStatus} portrays the status for, without unwrapping it.
+     *
+     * @return the {@link TrackingToken} this {@link TrackerStatus} portrays the status for
+     */
+    public TrackingToken getInternalTrackingToken() {
+        return trackingToken;
+    }
+
+    /**
+     * Splits the current status object to reflect the status of their underlying segments being split.
+     *
+     * @return an array with two status object, representing the status of the split segments.
+     */
+    public TrackerStatus[] split() {
+        Segment[] newSegments = segment.split();
+        TrackingToken tokenAtReset = null;
+        TrackingToken workingToken = trackingToken;
+        TrackingToken[] splitTokens = new TrackingToken[2];
+        if (workingToken instanceof ReplayToken) {
+            tokenAtReset = ((ReplayToken) workingToken).getTokenAtReset();
+            workingToken = ((ReplayToken) workingToken).lowerBound();
+        }
+        if (workingToken instanceof MergedTrackingToken) {
+            splitTokens[0] = ((MergedTrackingToken) workingToken).lowerSegmentToken();
+            splitTokens[1] = ((MergedTrackingToken) workingToken).upperSegmentToken();
+        } else {
+            splitTokens[0] = workingToken;
+            splitTokens[1] = workingToken;
+        }
+
+        if (tokenAtReset != null) {
+            // we were in a replay. Need to re-initialize the replay wrapper
+            splitTokens[0] = ReplayToken.createReplayToken(tokenAtReset, splitTokens[0]);
+            splitTokens[1] = ReplayToken.createReplayToken(tokenAtReset, splitTokens[1]);
+        }
+        TrackerStatus[] newStatus = new TrackerStatus[2];
+        newStatus[0] = new TrackerStatus(newSegments[0], false, splitTokens[0], null, batchSize);
+        newStatus[1] = new TrackerStatus(newSegments[1], false, splitTokens[1], null, batchSize);
+        return newStatus;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TrackerStatus that = (TrackerStatus) o;
+        return caughtUp == that.caughtUp &&
+                batchSize == that.batchSize &&
+                Objects.equals(segment, that.segment) &&
+                Objects.equals(trackingToken, that.trackingToken) &&
+                Objects.equals(errorState, that.errorState);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(segment, caughtUp, trackingToken, errorState, batchSize);
+    }
+
+    @Override
+    public String toString() {
+        return "TrackerStatus{" +
+                "segment=" + getSegment() +
+                ", caughtUp=" + isCaughtUp() +
+                ", replaying=" + isReplaying() +
+                ", merging=" + isMerging() +
+                ", errorState=" + isErrorState() +
+                ", error=" + getError() +
+                ", trackingToken=" + getTrackingToken() +
+                ", currentPosition=" + getCurrentPosition() +
+                ", resetPosition=" + getResetPosition() +
+                ", mergeCompletedPosition=" + mergeCompletedPosition() +
+                ", batchSize=" + getBatchSize()
+                + "}";
+    }
+}
@@ -40,6 +40,7 @@
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -48,12 +49,16 @@
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -98,6 +103,9 @@ public class TrackingEventProcessor extends AbstractEventProcessor {
     private final Function<StreamableMessageSource<TrackedEventMessage<?>>, TrackingToken> initialTrackingTokenBuilder;
     private final TransactionManager transactionManager;
     private final int batchSize;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long targetBatchDurationNanos;
     private final int segmentsSize;
 
     private final ThreadFactory threadFactory;
@@ -106,6 +114,11 @@ public class TrackingEventProcessor extends AbstractEventProcessor {
     private final ConcurrentMap<Integer, Long> segmentReleaseDeadlines = new ConcurrentSkipListMap<>();
     private final String segmentIdResourceKey;
     private final String lastTokenResourceKey;
+    private final String tokenOwnerResourceKey;
+    private final String replayPartitionsName;
+    private final int replayPartitionCount;
+    private final int replayThreadCount;
+    private final Set<Integer> activeReplayPartitions = new ConcurrentSkipListSet<>();
     private final AtomicInteger availableThreads;
     private final long tokenClaimInterval;
     private final AtomicReference<String> tokenStoreIdentifier = new AtomicReference<>();
@@ -114,6 +127,8 @@ public class TrackingEventProcessor extends AbstractEventProcessor {
     private final boolean storeTokenBeforeProcessing;
     private final int eventAvailabilityTimeout;
     private final EventTrackerStatusChangeListener trackerStatusChangeListener;
+    private final ForkJoinPool deserializationPool;
+    private final MessageMonitor<? super EventMessage<?>> deserializationMonitor;
 
     /**
      * Instantiate a Builder to be able to create a {@link TrackingEventProcessor}.
@@ -146,7 +161,10 @@ protected TrackingEventProcessor(Builder builder) {
         this.tokenClaimInterval = config.getTokenClaimInterval();
         this.eventAvailabilityTimeout = config.getEventAvailabilityTimeout();
         this.storeTokenBeforeProcessing = builder.storeTokenBeforeProcessing;
-        this.batchSize = config.getBatchSize();
+        this.minBatchSize = config.getMinBatchSize();
+        this.maxBatchSize = config.getMaxBatchSize();
+        this.targetBatchDurationNanos = config.getTargetBatchDuration();
+        this.batchSize = Math.max(minBatchSize, Math.min(maxBatchSize, config.getBatchSize()));
 
         this.messageSource = builder.messageSource;
         this.tokenStore = builder.tokenStore;
@@ -158,27 +176,35 @@ protected TrackingEventProcessor(Builder builder) {
         this.threadFactory = config.getThreadFactory(builder.name);
         this.segmentIdResourceKey = "Processor[" + builder.name + "]/SegmentId";
         this.lastTokenResourceKey = "Processor[" + builder.name + "]/Token";
+        this.tokenOwnerResourceKey = "Processor[" + builder.name + "]/TokenOwner";
+        this.replayPartitionsName = builder.name + "/replay";
+        this.replayPartitionCount = config.getReplayPartitionCount();
+        this.replayThreadCount = config.getReplayThreadCount();
         this.initialTrackingTokenBuilder = config.getInitialTrackingToken();
         this.trackerStatusChangeListener = config.getEventTrackerStatusChangeListener();
+        this.deserializationPool = config.getDeserializationPool();
+        this.deserializationMonitor = config.getDeserializationMonitor();
 
         registerHandlerInterceptor((unitOfWork, interceptorChain) -> {
             if (!(unitOfWork instanceof BatchingUnitOfWork) || ((BatchingUnitOfWork<?>) unitOfWork).isFirstMessage()) {
                 Instant startTime = now();
                 TrackingToken lastToken = unitOfWork.getResource(lastTokenResourceKey);
+                // replay partitions keep their tokens apart from the tokens of the segments
+                String tokenOwner = unitOfWork.getOrDefaultResource(tokenOwnerResourceKey, builder.name);
                 if (storeTokenBeforeProcessing) {
                     tokenStore.storeToken(lastToken,
-                                          builder.name,
+                                          tokenOwner,
                                           unitOfWork.getResource(segmentIdResourceKey));
                 } else {
-                    tokenStore.extendClaim(getName(), unitOfWork.getResource(segmentIdResourceKey));
+                    tokenStore.extendClaim(tokenOwner, unitOfWork.getResource(segmentIdResourceKey));
                 }
                 unitOfWork.onPrepareCommit(uow -> {
                     if (!storeTokenBeforeProcessing) {
                         tokenStore.storeToken(lastToken,
-                                              builder.name,
+                                              tokenOwner,
                                               unitOfWork.getResource(segmentIdResourceKey));
                     } else if (now().isAfter(startTime.plusMillis(eventAvailabilityTimeout))) {
-                        tokenStore.extendClaim(getName(), unitOfWork.getResource(segmentIdResourceKey));
+                        tokenStore.extendClaim(tokenOwner, unitOfWork.getResource(segmentIdResourceKey));
                     }
                 });
             }
@@ -227,7 +253,7 @@ public CompletableFuture<Boolean> splitSegment(int segmentId) {
             return result;
         }
 
-        if (!this.activeSegments.containsKey(segmentId)) {
+        if (!this.activeSegments.containsKey(segmentId) || activeReplayPartitions.contains(segmentId)) {
             return CompletableFuture.completedFuture(false);
         }
 
@@ -285,7 +311,7 @@ public CompletableFuture<Boolean> mergeSegment(int segmentId) {
         }
 
         TrackerStatus segmentStatus = this.activeSegments.get(segmentId);
-        if (segmentStatus == null) {
+        if (segmentStatus == null || activeReplayPartitions.contains(segmentId)) {
             return CompletableFuture.completedFuture(false);
         }
 
@@ -306,11 +332,15 @@ public CompletableFuture<Boolean> mergeSegment(int segmentId) {
      * <p>
      * Events with the same tracking token (which is possible as result of upcasting) should always be processed in the
      * same batch. In those cases the batch size may be larger than the one configured.
+     * <p>
+     * When adaptive batch sizing is enabled, the size of the batches is adjusted after each batch, based on the time
+     * it took to handle and commit it.
      *
      * @param segment The {@link Segment} of the Stream that should be processed.
      */
     protected void processingLoop(Segment segment) {
         BlockingStream<TrackedEventMessage<?>> eventStream = null;
+        BatchSizeController batchSizeController = newBatchSizeController();
         long errorWaitTime = 1;
         try {
             // only execute the loop when in running state, no processing instructions have been executed, and the
@@ -319,7 +349,7 @@ protected void processingLoop(Segment segment) {
                     && canClaimSegment(segment.getSegmentId())) {
                 try {
                     eventStream = ensureEventStreamOpened(eventStream, segment);
-                    processBatch(segment, eventStream);
+                    processBatch(segment, eventStream, batchSizeController);
                     errorWaitTime = 1;
                     TrackerStatus trackerStatus = activeSegments.get(segment.getSegmentId());
                     if (trackerStatus.isErrorState()) {
@@ -372,8 +402,12 @@ private boolean processInstructions(int segmentId) {
     }
 
     private void releaseToken(Segment segment) {
+        releaseToken(getName(), segment.getSegmentId());
+    }
+
+    private void releaseToken(String tokenOwner, int segmentId) {
         try {
-            transactionManager.executeInTransaction(() -> tokenStore.releaseClaim(getName(), segment.getSegmentId()));
+            transactionManager.executeInTransaction(() -> tokenStore.releaseClaim(tokenOwner, segmentId));
             logger.info("Released claim");
         } catch (Exception e) {
             logger.info("Release claim failed", e);
@@ -407,8 +441,48 @@ protected Set<Segment> processingSegments(TrackingToken token, Segment segment)
         return singleton(segment);
     }
 
-    private void processBatch(Segment segment, BlockingStream<TrackedEventMessage<?>> eventStream) throws Exception {
+    private BatchSizeController newBatchSizeController() {
+        return targetBatchDurationNanos > 0
+                ? BatchSizeController.adaptive(batchSize, minBatchSize, maxBatchSize, targetBatchDurationNanos)
+                : BatchSizeController.fixed(batchSize);
+    }
+
+    /**
+     * Deserializes the payload and {@link org.axonframework.messaging.MetaData} of all events in the given {@code
+     * batch} in parallel, if a deserialization pool has been configured. Deserialization failures are only reported to
+     * the deserialization {@link MessageMonitor}, as they will surface again when the event is handled.
+     *
+     * @param batch the events to deserialize
+     * @throws InterruptedException when the processing thread is interrupted while awaiting deserialization
+     */
+    private void deserializeBatch(List<TrackedEventMessage<?>> batch) throws InterruptedException {
+        if (deserializationPool == null) {
+            return;
+        }
+        try {
+            deserializationPool.submit(() -> batch.parallelStream().forEach(this::deserialize)).get();
+        } catch (ExecutionException e) {
+            logger.debug("Event processor [{}] failed to deserialize a batch upfront. "
+                                 + "Deserialization will be retried when handling the events.", getName(), e);
+        }
+    }
+
+    private void deserialize(EventMessage<?> event) {
+        MessageMonitor.MonitorCallback monitorCallback = deserializationMonitor.onMessageIngested(event);
+        try {
+            event.getPayload();
+            event.getMetaData();
+            monitorCallback.reportSuccess();
+        } catch (Exception e) {
+            monitorCallback.reportFailure(e);
+        }
+    }
+
+    private void processBatch(Segment segment,
+                              BlockingStream<TrackedEventMessage<?>> eventStream,
+                              BatchSizeController batchSizeController) throws Exception {
         List<TrackedEventMessage<?>> batch = new ArrayList<>();
+        int currentBatchSize = batchSizeController.batchSize();
         try {
             TrackingToken lastToken;
             Collection<Segment> processingSegments;
@@ -425,7 +499,7 @@ private void processBatch(Segment segment, BlockingStream<TrackedEventMessage<?>
                 // besides checking batch sizes, we must also ensure that both the current message in the batch
                 // and the next (if present) allow for processing with a batch
                 for (int i = 0; isRegularProcessing(segment, processingSegments)
-                        && i < batchSize * 10 && batch.size() < batchSize
+                        && i < currentBatchSize * 10 && batch.size() < currentBatchSize
                         && eventStream.peek().map(m -> isRegularProcessing(segment, m)).orElse(false); i++) {
                     final TrackedEventMessage<?> trackedEventMessage = eventStream.nextAvailable();
                     lastToken = trackedEventMessage.trackingToken();
@@ -479,12 +553,19 @@ private void processBatch(Segment segment, BlockingStream<TrackedEventMessage<?>
             unitOfWork.attachTransaction(transactionManager);
             unitOfWork.resources().put(segmentIdResourceKey, segment.getSegmentId());
             unitOfWork.resources().put(lastTokenResourceKey, finalLastToken);
+            long batchStartTime = System.nanoTime();
+            deserializeBatch(batch);
             processInUnitOfWork(batch, unitOfWork, processingSegments);
+            boolean batchSizeChanged =
+                    batchSizeController.onBatchCompleted(batch.size(), System.nanoTime() - batchStartTime);
 
+            int nextBatchSize = batchSizeController.batchSize();
             TrackerStatus previousStatus = activeSegments.get(segment.getSegmentId());
-            TrackerStatus updatedStatus =
-                    activeSegments.computeIfPresent(segment.getSegmentId(), (k, v) -> v.advancedTo(finalLastToken));
-            if (previousStatus.isDifferent(updatedStatus, trackerStatusChangeListener.validatePositions())) {
+            TrackerStatus updatedStatus = activeSegments.computeIfPresent(
+                    segment.getSegmentId(), (k, v) -> v.advancedTo(finalLastToken).withBatchSize(nextBatchSize)
+            );
+            if (batchSizeChanged
+                    || previousStatus.isDifferent(updatedStatus, trackerStatusChangeListener.validatePositions())) {
                 trackerStatusChangeListener.onEventTrackerStatusChange(
                         singletonMap(segment.getSegmentId(), updatedStatus)
                 );
@@ -497,6 +578,162 @@ private void processBatch(Segment segment, BlockingStream<TrackedEventMessage<?>
         }
     }
 
+    /**
+     * Replays the events of the replay partition with given {@code partitionId}, for as long as the processor is
+     * running. Once all events up to the end of the partition have been handled, the token of the partition is removed
+     * from the {@link TokenStore}.
+     *
+     * @param partitionId the identifier of the replay partition to process
+     */
+    private void replayPartition(int partitionId) {
+        BlockingStream<TrackedEventMessage<?>> eventStream = null;
+        TrackingToken partitionEnd = null;
+        long errorWaitTime = 1;
+        try {
+            while (state.get().isRunning()) {
+                try {
+                    if (eventStream == null) {
+                        TrackingToken token = transactionManager.fetchInTransaction(
+                                () -> tokenStore.fetchToken(replayPartitionsName, partitionId)
+                        );
+                        Optional<ReplayToken> replayToken = WrappedToken.unwrap(token, ReplayToken.class);
+                        if (!replayToken.isPresent()
+                                || reachedEndOfReplayPartition(token, replayToken.get().getTokenAtReset())) {
+                            completeReplayPartition(partitionId);
+                            return;
+                        }
+                        partitionEnd = replayToken.get().getTokenAtReset();
+                        eventStream = transactionManager.fetchInTransaction(() -> doOpenStream(token));
+                    }
+                    if (!processReplayBatch(partitionId, partitionEnd, eventStream)) {
+                        completeReplayPartition(partitionId);
+                        return;
+                    }
+                    errorWaitTime = 1;
+                    TrackerStatus trackerStatus = activeSegments.get(partitionId);
+                    if (trackerStatus.isErrorState()) {
+                        TrackerStatus validStatus =
+                                activeSegments.computeIfPresent(partitionId, (k, v) -> v.unmarkError());
+                        trackerStatusChangeListener.onEventTrackerStatusChange(singletonMap(partitionId, validStatus));
+                    }
+                } catch (UnableToClaimTokenException e) {
+                    logger.info("Replay partition is owned by another node. Releasing thread...");
+                    return;
+                } catch (InterruptedException e) {
+                    logger.error(String.format("Event processor [%s] was interrupted. Shutting down.", getName()), e);
+                    setShutdownState();
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    if (errorWaitTime == 1) {
+                        logger.warn("Error occurred while replaying partition {}. Starting retry mode.",
+                                    partitionId, e);
+                    }
+                    logger.warn("Releasing claim on replay partition and preparing for retry in {}s", errorWaitTime);
+                    TrackerStatus trackerStatus = activeSegments.get(partitionId);
+                    if (!trackerStatus.isErrorState()) {
+                        TrackerStatus errorStatus =
+                                activeSegments.computeIfPresent(partitionId, (k, v) -> v.markError(e));
+                        trackerStatusChangeListener.onEventTrackerStatusChange(singletonMap(partitionId, errorStatus));
+                    }
+                    releaseToken(replayPartitionsName, partitionId);
+                    closeQuietly(eventStream);
+                    eventStream = null;
+                    doSleepFor(SECONDS.toMillis(errorWaitTime));
+                    errorWaitTime = Math.min(errorWaitTime * 2, 60);
+                }
+            }
+        } finally {
+            closeQuietly(eventStream);
+            releaseToken(replayPartitionsName, partitionId);
+        }
+    }
+
+    /**
+     * Handles the next batch of events of a replay partition, ending with the given {@code partitionEnd}. Returns
+     * {@code false} if the partition has been replayed entirely, or {@code true} if more events may follow. The
+     * partition has been replayed entirely once an event up to its end has been handled, or once an event beyond its
+     * end is available. The absence of events is no indication, as events may still be underway.
+     */
+    private boolean processReplayBatch(int partitionId,
+                                       TrackingToken partitionEnd,
+                                       BlockingStream<TrackedEventMessage<?>> eventStream) throws Exception {
+        if (!eventStream.hasNextAvailable(eventAvailabilityTimeout, MILLISECONDS)) {
+            return true;
+        }
+        if (!isPartOfReplayPartition(eventStream.peek(), partitionEnd)) {
+            return false;
+        }
+
+        Collection<Segment> processingSegments = singleton(Segment.ROOT_SEGMENT);
+        List<TrackedEventMessage<?>> batch = new ArrayList<>();
+        TrackingToken lastToken = null;
+        for (int i = 0; i < batchSize * 10 && batch.size() < batchSize
+                && isPartOfReplayPartition(eventStream.peek(), partitionEnd); i++) {
+            TrackedEventMessage<?> trackedEventMessage = eventStream.nextAvailable();
+            lastToken = trackedEventMessage.trackingToken();
+            if (canHandle(trackedEventMessage, processingSegments)) {
+                batch.add(trackedEventMessage);
+            } else {
+                canBlacklist(eventStream, trackedEventMessage);
+                reportIgnored(trackedEventMessage);
+            }
+        }
+
+        TrackingToken finalLastToken = lastToken;
+        // Events sharing the token of the last event are the result of upcasting, and belong in the same batch.
+        // The stream exposes these with their original token, whereas handled events carry a replay token.
+        TrackingToken lastStreamToken = WrappedToken.unwrapUpperBound(finalLastToken);
+        while (eventStream.peek().filter(event -> lastStreamToken.equals(event.trackingToken())).isPresent()) {
+            TrackedEventMessage<?> trackedEventMessage = eventStream.nextAvailable();
+            if (canHandle(trackedEventMessage, processingSegments)) {
+                batch.add(trackedEventMessage);
+            } else {
+                canBlacklist(eventStream, trackedEventMessage);
+                reportIgnored(trackedEventMessage);
+            }
+        }
+
+        if (batch.isEmpty()) {
+            transactionManager.executeInTransaction(
+                    () -> tokenStore.storeToken(finalLastToken, replayPartitionsName, partitionId)
+            );
+        } else {
+            UnitOfWork<? extends EventMessage<?>> unitOfWork = new BatchingUnitOfWork<>(batch);
+            unitOfWork.attachTransaction(transactionManager);
+            unitOfWork.resources().put(segmentIdResourceKey, partitionId);
+            unitOfWork.resources().put(lastTokenResourceKey, finalLastToken);
+            unitOfWork.resources().put(tokenOwnerResourceKey, replayPartitionsName);
+            deserializeBatch(batch);
+            processInUnitOfWork(batch, unitOfWork, processingSegments);
+        }
+
+        TrackerStatus previousStatus = activeSegments.get(partitionId);
+        TrackerStatus updatedStatus = activeSegments.computeIfPresent(
+                partitionId, (k, v) -> v.advancedTo(finalLastToken)
+        );
+        if (previousStatus.isDifferent(updatedStatus, trackerStatusChangeListener.validatePositions())) {
+            trackerStatusChangeListener.onEventTrackerStatusChange(singletonMap(partitionId, updatedStatus));
+        }
+        return !reachedEndOfReplayPartition(finalLastToken, partitionEnd);
+    }
+
+    private static boolean reachedEndOfReplayPartition(TrackingToken position, TrackingToken partitionEnd) {
+        TrackingToken currentPosition = WrappedToken.unwrapUpperBound(position);
+        return currentPosition != null && currentPosition.covers(partitionEnd);
+    }
+
+    private static boolean isPartOfReplayPartition(Optional<TrackedEventMessage<?>> nextMessage,
+                                                   TrackingToken partitionEnd) {
+        return nextMessage.map(m -> partitionEnd.covers(WrappedToken.unwrapUpperBound(m.trackingToken())))
+                          .orElse(false);
+    }
+
+    private void completeReplayPartition(int partitionId) {
+        transactionManager.executeInTransaction(() -> tokenStore.deleteToken(replayPartitionsName, partitionId));
+        logger.info("Replay partition {} of processor [{}] completed.", partitionId, getName());
+    }
+
     private void canBlacklist(BlockingStream<TrackedEventMessage<?>> eventStream,
                               TrackedEventMessage<?> trackedEventMessage) {
         if (!canHandleType(trackedEventMessage.getPayloadType())) {
@@ -695,6 +932,10 @@ public void resetTokens(TrackingToken startPosition) {
      * <p>
      * Note that the new token must represent a position that is <em>before</em> the current position of the processor.
      * <p>
+     * When partitioned replays are enabled through {@link TrackingEventProcessorConfiguration#andPartitionedReplay(int,
+     * int)}, the range between the given {@code startPosition} and the lowest position of the segments is replayed in
+     * partitions first. The segments then replay the remainder of the stream, starting at the end of that range.
+     * <p>
      * Before attempting to reset the tokens, the caller must stop this processor, as well as any instances of the same
      * logical processor that may be running in the cluster. Failure to do so will cause the reset to fail, as a
      * processor can only reset the tokens if it is able to claim them all.
@@ -709,19 +950,112 @@ public <R> void resetTokens(TrackingToken startPosition, R resetContext) {
                      () -> "TrackingProcessor must be shut down before triggering a reset");
         transactionManager.executeInTransaction(() -> {
             int[] segments = tokenStore.fetchSegments(getName());
-            TrackingToken[] tokens = new TrackingToken[segments.length];
-            for (int i = 0; i < segments.length; i++) {
-                tokens[i] = tokenStore.fetchToken(getName(), segments[i]);
+            Map<Integer, TrackingToken> tokens = tokenStore.claimTokens(getName(), segments);
+            if (tokens.size() < segments.length) {
+                throw new UnableToClaimTokenException(
+                        "Unable to claim all tokens for processor '" + getName() + "'. Unable to reset tokens."
+                );
             }
             // we now have all tokens, hurray
             eventHandlerInvoker().performReset(resetContext);
 
-            for (int i = 0; i < tokens.length; i++) {
-                tokenStore.storeToken(ReplayToken.createReplayToken(tokens[i], startPosition), getName(), segments[i]);
-            }
+            TrackingToken segmentStartPosition = initializeReplayPartitions(tokens.values(), startPosition);
+            Map<Integer, TrackingToken> replayTokens = new TreeMap<>();
+            tokens.forEach((segment, token) -> replayTokens.put(
+                    segment, ReplayToken.createReplayToken(token, segmentStartPosition)
+            ));
+            tokenStore.storeTokens(replayTokens, getName());
         });
     }
 
+    /**
+     * Splits the range of the event stream between the given {@code startPosition} and the lowest of the given {@code
+     * tokensAtReset} into replay partitions, if partitioned replays are enabled. Partitions left behind by a previous
+     * reset are removed. Returns the position from which the segments should replay the remainder of the stream, which
+     * is the given {@code startPosition} if the range has not been partitioned.
+     */
+    private TrackingToken initializeReplayPartitions(Collection<TrackingToken> tokensAtReset,
+                                                     TrackingToken startPosition) {
+        if (!tokenStore.requiresExplicitSegmentInitialization()) {
+            if (replayPartitionCount > 1) {
+                logger.warn("Processor '{}' performs a regular replay, as its TokenStore "
+                                    + "does not support explicit segment initialization.", getName());
+            }
+            return startPosition;
+        }
+        removeReplayPartitions();
+        if (replayPartitionCount < 2) {
+            return startPosition;
+        }
+
+        TrackingToken lowestTokenAtReset = null;
+        long end = Long.MAX_VALUE;
+        for (TrackingToken token : tokensAtReset) {
+            TrackingToken tokenAtReset = WrappedToken.unwrapLowerBound(
+                    token instanceof ReplayToken ? ((ReplayToken) token).getTokenAtReset() : token
+            );
+            OptionalLong position = tokenAtReset == null ? OptionalLong.empty() : tokenAtReset.position();
+            if (!position.isPresent()) {
+                lowestTokenAtReset = null;
+                break;
+            }
+            if (position.getAsLong() < end) {
+                end = position.getAsLong();
+                lowestTokenAtReset = tokenAtReset;
+            }
+        }
+        OptionalLong startIndex = startPosition == null ? OptionalLong.of(-1) : startPosition.position();
+        if (indexToken(lowestTokenAtReset, end) == null || !startIndex.isPresent()
+                || end - startIndex.getAsLong() < replayPartitionCount) {
+            logger.info("Processor '{}' performs a regular replay, as the range to replay can't be partitioned.",
+                        getName());
+            return startPosition;
+        }
+
+        long start = startIndex.getAsLong();
+        TrackingToken partitionStart = startPosition;
+        for (int partition = 0; partition < replayPartitionCount; partition++) {
+            TrackingToken partitionEnd =
+                    indexToken(lowestTokenAtReset, start + (end - start) * (partition + 1) / replayPartitionCount);
+            tokenStore.initializeSegment(
+                    new ReplayToken(partitionEnd, partitionStart), replayPartitionsName, partition
+            );
+            partitionStart = partitionEnd;
+        }
+        logger.info("Processor '{}' replays the events up to position {} in {} partitions.",
+                    getName(), end, replayPartitionCount);
+        return indexToken(lowestTokenAtReset, end);
+    }
+
+    private void removeReplayPartitions() {
+        int[] partitions = tokenStore.fetchSegments(replayPartitionsName);
+        if (partitions.length == 0) {
+            return;
+        }
+        if (tokenStore.claimTokens(replayPartitionsName, partitions).size() < partitions.length) {
+            throw new UnableToClaimTokenException(
+                    "Unable to claim all replay partitions for processor '" + getName() + "'. Unable to reset tokens."
+            );
+        }
+        for (int partition : partitions) {
+            tokenStore.deleteToken(replayPartitionsName, partition);
+        }
+    }
+
+    /**
+     * Creates a token of the same type as the given {@code tokenType}, positioned at the given {@code index}. Returns
+     * {@code null} if the given {@code tokenType} is not positioned at a global index.
+     */
+    private static TrackingToken indexToken(TrackingToken tokenType, long index) {
+        if (tokenType instanceof GapAwareTrackingToken) {
+            return GapAwareTrackingToken.newInstance(index, Collections.emptySet());
+        }
+        if (tokenType instanceof GlobalSequenceTrackingToken) {
+            return new GlobalSequenceTrackingToken(index);
+        }
+        return null;
+    }
+
     /**
      * Indicates whether this tracking processor supports a "reset". Generally, a reset is supported if at least one of
      * the event handlers assigned to this processor supports it, and no handlers explicitly prevent the resets.
@@ -828,6 +1162,10 @@ public int activeProcessorThreads() {
      * <p>
      * Note that the returned Map is unmodifiable, but does reflect any changes made to the status as the processor is
      * processing Events.
+     * <p>
+     * While a partitioned replay is in progress, the keys of the map represent the identifiers of the replay partitions
+     * processed by this instance instead, each reporting the {@link Segment#ROOT_SEGMENT} and the progress within its
+     * partition. See {@link TrackingEventProcessorConfiguration#andPartitionedReplay(int, int)}.
      *
      * @return the status for each of the Segments processed by the current processor
      */
@@ -921,186 +1259,6 @@ boolean isRunning() {
         }
     }
 
-    private static final class TrackerStatus implements EventTrackerStatus {
-
-        private final Segment segment;
-        private final boolean caughtUp;
-        private final TrackingToken trackingToken;
-        private final Throwable errorState;
-
-        private TrackerStatus(Segment segment, TrackingToken trackingToken) {
-            this(segment, false, trackingToken, null);
-        }
-
-        private TrackerStatus(Segment segment, boolean caughtUp, TrackingToken trackingToken, Throwable errorState) {
-            this.segment = segment;
-            this.caughtUp = caughtUp;
-            this.trackingToken = trackingToken;
-            this.errorState = errorState;
-        }
-
-        private TrackerStatus caughtUp() {
-            if (caughtUp) {
-                return this;
-            }
-            return new TrackerStatus(segment, true, trackingToken, null);
-        }
-
-        private TrackerStatus advancedTo(TrackingToken trackingToken) {
-            if (Objects.equals(this.trackingToken, trackingToken)) {
-                return this;
-            }
-            return new TrackerStatus(segment, caughtUp, trackingToken, null);
-        }
-
-        private TrackerStatus markError(Throwable error) {
-            return new TrackerStatus(segment, caughtUp, trackingToken, error);
-        }
-
-        public TrackerStatus unmarkError() {
-            return new TrackerStatus(segment, caughtUp, trackingToken, null);
-        }
-
-        @Override
-        public Segment getSegment() {
-            return segment;
-        }
-
-        @Override
-        public boolean isCaughtUp() {
-            return caughtUp;
-        }
-
-        @Override
-        public boolean isReplaying() {
-            return ReplayToken.isReplay(trackingToken);
-        }
-
-        @Override
-        public boolean isMerging() {
-            return MergedTrackingToken.isMergeInProgress(trackingToken);
-        }
-
-        @Override
-        public OptionalLong mergeCompletedPosition() {
-            return MergedTrackingToken.mergePosition(trackingToken);
-        }
-
-        @Override
-        public TrackingToken getTrackingToken() {
-            return WrappedToken.unwrapLowerBound(trackingToken);
-        }
-
-        @Override
-        public boolean isErrorState() {
-            return errorState != null;
-        }
-
-        @Override
-        public Throwable getError() {
-            return errorState;
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public OptionalLong getCurrentPosition() {
-            if (isReplaying()) {
-                return WrappedToken.unwrap(trackingToken, ReplayToken.class)
-                                   .map(ReplayToken::position)
-                                   .orElse(OptionalLong.empty());
-            }
-
-            if (isMerging()) {
-                return WrappedToken.unwrap(trackingToken, MergedTrackingToken.class)
-                                   .map(MergedTrackingToken::position)
-                                   .orElse(OptionalLong.empty());
-            }
-
-            return (trackingToken == null) ? OptionalLong.empty() : trackingToken.position();
-        }
-
-        @Override
-        public OptionalLong getResetPosition() {
-            return ReplayToken.getTokenAtReset(trackingToken);
-        }
-
-        private TrackingToken getInternalTrackingToken() {
-            return trackingToken;
-        }
-
-        /**
-         * Splits the current status object to reflect the status of their underlying segments being split.
-         *
-         * @return an array with two status object, representing the status of the split segments.
-         */
-        public TrackerStatus[] split() {
-            Segment[] newSegments = segment.split();
-            TrackingToken tokenAtReset = null;
-            TrackingToken workingToken = trackingToken;
-            TrackingToken[] splitTokens = new TrackingToken[2];
-            if (workingToken instanceof ReplayToken) {
-                tokenAtReset = ((ReplayToken) workingToken).getTokenAtReset();
-                workingToken = ((ReplayToken) workingToken).lowerBound();
-            }
-            if (workingToken instanceof MergedTrackingToken) {
-                splitTokens[0] = ((MergedTrackingToken) workingToken).lowerSegmentToken();
-                splitTokens[1] = ((MergedTrackingToken) workingToken).upperSegmentToken();
-            } else {
-                splitTokens[0] = workingToken;
-                splitTokens[1] = workingToken;
-            }
-
-            if (tokenAtReset != null) {
-                // we were in a replay. Need to re-initialize the replay wrapper
-                splitTokens[0] = ReplayToken.createReplayToken(tokenAtReset, splitTokens[0]);
-                splitTokens[1] = ReplayToken.createReplayToken(tokenAtReset, splitTokens[1]);
-            }
-            TrackerStatus[] newStatus = new TrackerStatus[2];
-            newStatus[0] = new TrackerStatus(newSegments[0], splitTokens[0]);
-            newStatus[1] = new TrackerStatus(newSegments[1], splitTokens[1]);
-            return newStatus;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
-            }
-            TrackerStatus that = (TrackerStatus) o;
-            return caughtUp == that.caughtUp &&
-                    Objects.equals(segment, that.segment) &&
-                    Objects.equals(trackingToken, that.trackingToken) &&
-                    Objects.equals(errorState, that.errorState);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(segment, caughtUp, trackingToken, errorState);
-        }
-
-        @Override
-        public String toString() {
-            return "TrackerStatus{" +
-                    "segment=" + getSegment() +
-                    ", caughtUp=" + isCaughtUp() +
-                    ", replaying=" + isReplaying() +
-                    ", merging=" + isMerging() +
-                    ", errorState=" + isErrorState() +
-                    ", error=" + getError() +
-                    ", trackingToken=" + getTrackingToken() +
-                    ", currentPosition=" + getCurrentPosition() +
-                    ", resetPosition=" + getResetPosition() +
-                    ", mergeCompletedPosition=" + mergeCompletedPosition()
-                    + "}";
-        }
-
-    }
-
     /**
      * Builder class to instantiate a {@link TrackingEventProcessor}.
      * <p>
@@ -1338,12 +1496,53 @@ public String toString() {
         }
     }
 
+    private class ReplayPartitionWorker implements Runnable {
+
+        private final int partitionId;
+
+        public ReplayPartitionWorker(int partitionId) {
+            this.partitionId = partitionId;
+        }
+
+        @Override
+        public void run() {
+            try {
+                replayPartition(partitionId);
+            } catch (Throwable e) {
+                logger.error("Replay of partition ended due to uncaught exception. "
+                                     + "Pausing processor in Error State.", e);
+                state.set(State.PAUSED_ERROR);
+                throw e;
+            } finally {
+                TrackerStatus removedStatus = activeSegments.remove(partitionId);
+                if (removedStatus != null) {
+                    trackerStatusChangeListener.onEventTrackerStatusChange(
+                            singletonMap(partitionId, new RemovedTrackerStatus(removedStatus))
+                    );
+                }
+                activeReplayPartitions.remove(partitionId);
+                logger.info("Worker for replay partition {} stopped.", partitionId);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "ReplayPartitionWorker{" +
+                    "processor=" + getName() +
+                    ", partition=" + partitionId +
+                    '}';
+        }
+    }
+
     private class WorkerLauncher implements Runnable {
 
         @Override
         public void run() {
             int waitTime = 1;
             String processorName = TrackingEventProcessor.this.getName();
+            if (tokenStore.requiresExplicitSegmentInitialization()) {
+                replayPartitions();
+            }
             while (getState().isRunning()) {
                 int[] tokenStoreCurrentSegments;
 
@@ -1371,77 +1570,31 @@ public void run() {
                 }
 
                 // Submit segmentation workers matching the size of our thread pool (-1 for the current dispatcher).
-                // Keep track of the last processed segments...
+                // The tokens for all unclaimed segments we have threads for are claimed in a single operation.
+                int[] segmentsToClaim = Arrays.stream(tokenStoreCurrentSegments)
+                                              .filter(segmentId -> !activeSegments.containsKey(segmentId)
+                                                      && canClaimSegment(segmentId))
+                                              .limit(Math.max(availableThreads.get(), 0))
+                                              .toArray();
                 TrackingSegmentWorker workingInCurrentThread = null;
-                for (int i = 0; i < tokenStoreCurrentSegments.length && availableThreads.get() > 0; i++) {
-                    int segmentId = tokenStoreCurrentSegments[i];
-
-                    if (!activeSegments.containsKey(segmentId)
-                            && canClaimSegment(segmentId)) {
-                        try {
-                            transactionManager.executeInTransaction(() -> {
-                                TrackingToken token = tokenStore.fetchToken(processorName, segmentId);
-                                int[] segmentIds = tokenStore.fetchSegments(processorName);
-                                Segment segment = Segment.computeSegment(segmentId, segmentIds);
-                                logger.info("Worker assigned to segment {} for processing", segment);
-                                TrackerStatus newStatus = new TrackerStatus(segment, token);
-                                TrackerStatus previousStatus = activeSegments.putIfAbsent(segmentId, newStatus);
-
-                                if (previousStatus == null) {
-                                    trackerStatusChangeListener.onEventTrackerStatusChange(
-                                            singletonMap(segmentId, new AddedTrackerStatus(newStatus))
-                                    );
-                                }
-                            });
-                        } catch (UnableToClaimTokenException ucte) {
-                            // When not able to claim a token for a given segment, we skip the
-                            logger.debug("Unable to claim the token for segment: {}. It is owned by another process",
-                                         segmentId);
-
-                            TrackerStatus removedStatus = activeSegments.remove(segmentId);
-                            if (removedStatus != null) {
-                                trackerStatusChangeListener.onEventTrackerStatusChange(
-                                        singletonMap(segmentId, new RemovedTrackerStatus(removedStatus))
-                                );
-                            }
-
-                            continue;
-                        } catch (Exception e) {
-                            TrackerStatus removedStatus = activeSegments.remove(segmentId);
-                            if (removedStatus != null) {
-                                trackerStatusChangeListener.onEventTrackerStatusChange(
-                                        singletonMap(segmentId, new RemovedTrackerStatus(removedStatus))
-                                );
-                            }
-                            if (AxonNonTransientException.isCauseOf(e)) {
-                                logger.error(
-                                        "An unrecoverable error has occurred wile attempting to claim a token "
-                                                + "for segment: {}. Shutting down processor [{}].",
-                                        segmentId,
-                                        getName(),
-                                        e
-                                );
-                                state.set(State.PAUSED_ERROR);
-                                break;
-                            }
-                            logger.info(
-                                    "An error occurred while attempting to claim a token for segment: {}. "
-                                            + "Will retry later...",
-                                    segmentId,
-                                    e
-                            );
-                            break;
-                        }
+                for (TrackerStatus claimedStatus : claimSegments(processorName, segmentsToClaim)) {
+                    int segmentId = claimedStatus.getSegment().getSegmentId();
+                    logger.info("Worker assigned to segment {} for processing", claimedStatus.getSegment());
+                    TrackerStatus previousStatus = activeSegments.putIfAbsent(segmentId, claimedStatus);
+                    if (previousStatus == null) {
+                        trackerStatusChangeListener.onEventTrackerStatusChange(
+                                singletonMap(segmentId, new AddedTrackerStatus(claimedStatus))
+                        );
+                    }
 
-                        TrackingSegmentWorker trackingSegmentWorker =
-                                new TrackingSegmentWorker(activeSegments.get(segmentId).getSegment());
-                        if (availableThreads.decrementAndGet() > 0) {
-                            logger.info("Dispatching new tracking segment worker: {}", trackingSegmentWorker);
-                            threadFactory.newThread(trackingSegmentWorker).start();
-                        } else {
-                            workingInCurrentThread = trackingSegmentWorker;
-                            break;
-                        }
+                    TrackingSegmentWorker trackingSegmentWorker =
+                            new TrackingSegmentWorker(activeSegments.get(segmentId).getSegment());
+                    if (availableThreads.decrementAndGet() > 0) {
+                        logger.info("Dispatching new tracking segment worker: {}", trackingSegmentWorker);
+                        threadFactory.newThread(trackingSegmentWorker).start();
+                    } else {
+                        workingInCurrentThread = trackingSegmentWorker;
+                        break;
                     }
                 }
 
@@ -1454,6 +1607,115 @@ && canClaimSegment(segmentId)) {
                 doSleepFor(tokenClaimInterval);
             }
         }
+
+        /**
+         * Dispatches workers for the replay partitions created by a reset, using up to the configured number of replay
+         * threads. Returns once all partitions have been replayed, by any instance of this processor, or when the
+         * processor stops running.
+         */
+        private void replayPartitions() {
+            int waitTime = 1;
+            while (getState().isRunning()) {
+                int[] replayPartitions;
+                try {
+                    replayPartitions = tokenStore.fetchSegments(replayPartitionsName);
+                    waitTime = 1;
+                } catch (Exception e) {
+                    logger.warn("Fetch replay partitions for Processor '{}' failed: {}. Preparing for retry in {}s",
+                                getName(), e.getMessage(), waitTime);
+                    logger.debug("Fetch replay partitions failed because:", e);
+                    doSleepFor(SECONDS.toMillis(waitTime));
+                    waitTime = Math.min(waitTime * 2, 60);
+                    continue;
+                }
+                if (replayPartitions.length == 0 && activeReplayPartitions.isEmpty()) {
+                    return;
+                }
+
+                int[] partitionsToClaim = Arrays.stream(replayPartitions)
+                                                .filter(partitionId -> !activeReplayPartitions.contains(partitionId))
+                                                .limit(Math.max(replayThreadCount - activeReplayPartitions.size(), 0))
+                                                .toArray();
+                claimReplayPartitions(partitionsToClaim).forEach((partitionId, token) -> {
+                    logger.info("Worker assigned to replay partition {} of processor [{}]", partitionId, getName());
+                    TrackerStatus claimedStatus =
+                            new TrackerStatus(Segment.ROOT_SEGMENT, token).withBatchSize(batchSize);
+                    activeReplayPartitions.add(partitionId);
+                    activeSegments.put(partitionId, claimedStatus);
+                    trackerStatusChangeListener.onEventTrackerStatusChange(
+                            singletonMap(partitionId, new AddedTrackerStatus(claimedStatus))
+                    );
+                    threadFactory.newThread(new ReplayPartitionWorker(partitionId)).start();
+                });
+                doSleepFor(tokenClaimInterval);
+            }
+        }
+
+        /**
+         * Claims the tokens of the given replay {@code partitionIds} in a single transaction, returning the token of
+         * every partition that has been claimed successfully.
+         */
+        private Map<Integer, TrackingToken> claimReplayPartitions(int[] partitionIds) {
+            if (partitionIds.length == 0) {
+                return Collections.emptyMap();
+            }
+            try {
+                return transactionManager.fetchInTransaction(
+                        () -> tokenStore.claimTokens(replayPartitionsName, partitionIds)
+                );
+            } catch (Exception e) {
+                logger.info("An error occurred while attempting to claim replay partitions: {}. Will retry later...",
+                            Arrays.toString(partitionIds), e);
+                return Collections.emptyMap();
+            }
+        }
+
+        /**
+         * Claims the tokens of the given {@code segmentIds} in a single transaction, returning a {@link TrackerStatus}
+         * for every segment that has been claimed successfully. Segments which are claimed by another process are left
+         * out. Any other exception while claiming results in an empty list, after the processor has been put in an
+         * error state when the exception is non-transient.
+         */
+        private List<TrackerStatus> claimSegments(String processorName, int[] segmentIds) {
+            if (segmentIds.length == 0) {
+                return Collections.emptyList();
+            }
+            try {
+                return transactionManager.fetchInTransaction(() -> {
+                    Map<Integer, TrackingToken> claimedTokens = tokenStore.claimTokens(processorName, segmentIds);
+                    if (claimedTokens.size() < segmentIds.length) {
+                        logger.debug("Unable to claim the tokens for all segments: {}. "
+                                             + "Some are owned by another process", Arrays.toString(segmentIds));
+                    }
+                    int[] allSegmentIds = claimedTokens.isEmpty() ? null : tokenStore.fetchSegments(processorName);
+                    List<TrackerStatus> claimedStatuses = new ArrayList<>();
+                    claimedTokens.forEach((segmentId, token) -> claimedStatuses.add(
+                            new TrackerStatus(Segment.computeSegment(segmentId, allSegmentIds), token)
+                                    .withBatchSize(batchSize)
+                    ));
+                    return claimedStatuses;
+                });
+            } catch (Exception e) {
+                if (AxonNonTransientException.isCauseOf(e)) {
+                    logger.error(
+                            "An unrecoverable error has occurred wile attempting to claim tokens "
+                                    + "for segments: {}. Shutting down processor [{}].",
+                            Arrays.toString(segmentIds),
+                            getName(),
+                            e
+                    );
+                    state.set(State.PAUSED_ERROR);
+                } else {
+                    logger.info(
+                            "An error occurred while attempting to claim tokens for segments: {}. "
+                                    + "Will retry later...",
+                            Arrays.toString(segmentIds),
+                            e
+                    );
+                }
+                return Collections.emptyList();
+            }
+        }
     }
 
     private static class WrappedMessageStream implements BlockingStream<TrackedEventMessage<?>> {
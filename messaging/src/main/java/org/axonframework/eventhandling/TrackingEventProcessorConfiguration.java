@@ -19,7 +19,10 @@
 import org.axonframework.common.Assert;
 import org.axonframework.common.AxonThreadFactory;
 import org.axonframework.messaging.StreamableMessageSource;
+import org.axonframework.monitoring.MessageMonitor;
+import org.axonframework.monitoring.NoOpMessageMonitor;
 
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -51,6 +54,13 @@ public class TrackingEventProcessorConfiguration {
     private long tokenClaimInterval;
     private int eventAvailabilityTimeout = 1000;
     private EventTrackerStatusChangeListener eventTrackerStatusChangeListener = EventTrackerStatusChangeListener.noOp();
+    private int minBatchSize;
+    private int maxBatchSize;
+    private long targetBatchDurationNanos = -1;
+    private ForkJoinPool deserializationPool;
+    private MessageMonitor<? super EventMessage<?>> deserializationMonitor = NoOpMessageMonitor.instance();
+    private int replayPartitionCount;
+    private int replayThreadCount;
 
     /**
      * Initialize a configuration with single threaded processing.
@@ -91,6 +101,36 @@ public TrackingEventProcessorConfiguration andBatchSize(int batchSize) {
         return this;
     }
 
+    /**
+     * Enables adaptive batch sizing. Instead of using a fixed batch size, each thread of the processor measures the
+     * time it takes to handle and commit a batch of events. The batch size grows, within the given bounds, for as long
+     * as the throughput improves and the batch completes within the given {@code targetBatchDuration}. Whenever a
+     * batch exceeds the target duration, the batch size shrinks.
+     * <p>
+     * The batch size configured through {@link #andBatchSize(int)} is used as the initial batch size, limited to the
+     * given bounds. The current batch size of each segment is exposed through {@link EventTrackerStatus#getBatchSize()}.
+     *
+     * @param minBatchSize        the smallest number of events to process in a single batch
+     * @param maxBatchSize        the largest number of events to process in a single batch
+     * @param targetBatchDuration the maximum duration handling and committing a single batch should take
+     * @param unit                the unit in which the {@code targetBatchDuration} is expressed
+     * @return {@code this} for method chaining
+     */
+    public TrackingEventProcessorConfiguration andAdaptiveBatchSize(int minBatchSize,
+                                                                    int maxBatchSize,
+                                                                    long targetBatchDuration,
+                                                                    TimeUnit unit) {
+        assertThat(minBatchSize, it -> it > 0, "Minimum batch size must be greater or equal to 1");
+        assertThat(maxBatchSize, it -> it >= minBatchSize,
+                   "Maximum batch size must be greater or equal to the minimum batch size");
+        long duration = unit.toNanos(targetBatchDuration);
+        assertThat(duration, it -> it > 0, "Target batch duration must be strictly positive");
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.targetBatchDurationNanos = duration;
+        return this;
+    }
+
     /**
      * @param segmentsSize The number of segments requested for handling asynchronous processing of events.
      * @return {@code this} for method chaining
@@ -181,6 +221,71 @@ public TrackingEventProcessorConfiguration andEventTrackerStatusChangeListener(
         return this;
     }
 
+    /**
+     * Enables parallel deserialization of the events in a batch. Before a batch is handled, the payload and {@link
+     * org.axonframework.messaging.MetaData} of all its events are deserialized in parallel on the given {@code
+     * deserializationPool}, instead of lazily on the processing thread while the batch is being handled. The order in
+     * which the events are handled is not affected.
+     * <p>
+     * Particularly useful when replaying, where deserialization may otherwise become the bottleneck of a segment.
+     * Failures to deserialize an event are not reported at this stage, but surface once the event is handled.
+     *
+     * @param deserializationPool the {@link ForkJoinPool} used to deserialize the events of a batch in parallel
+     * @return {@code this} for method chaining
+     * @see #andDeserializationMonitor(MessageMonitor)
+     */
+    public TrackingEventProcessorConfiguration andParallelDeserialization(ForkJoinPool deserializationPool) {
+        assertNonNull(deserializationPool, "Deserialization pool may not be null");
+        this.deserializationPool = deserializationPool;
+        return this;
+    }
+
+    /**
+     * Sets the {@link MessageMonitor} which is notified of the deserialization of each event when parallel
+     * deserialization is enabled through {@link #andParallelDeserialization(ForkJoinPool)}. An event is ingested once
+     * the deserialization of its batch starts, and reported successful or failed once its payload and {@link
+     * org.axonframework.messaging.MetaData} have been deserialized. Defaults to a {@link NoOpMessageMonitor}.
+     *
+     * @param deserializationMonitor the {@link MessageMonitor} notified of the deserialization of events
+     * @return {@code this} for method chaining
+     */
+    public TrackingEventProcessorConfiguration andDeserializationMonitor(
+            MessageMonitor<? super EventMessage<?>> deserializationMonitor
+    ) {
+        assertNonNull(deserializationMonitor, "Deserialization MessageMonitor may not be null");
+        this.deserializationMonitor = deserializationMonitor;
+        return this;
+    }
+
+    /**
+     * Enables partitioned replays. When the tokens of the processor are reset, the range of the event stream that the
+     * segments had already processed is split into {@code partitionCount} partitions of consecutive global indices.
+     * These partitions are replayed in parallel, by up to {@code threadCount} threads per processor instance, each
+     * partition handling its events with {@link ReplayToken} semantics. Segments only resume processing once all
+     * partitions have been replayed, continuing from the end of the replayed range. The progress of each partition is
+     * exposed through {@link TrackingEventProcessor#processingStatus()}.
+     * <p>
+     * Note that events of different partitions are handled concurrently and thus not in the order in which they were
+     * published. Partitioned replays should only be used for event handlers that do not depend on that order during
+     * a replay.
+     * <p>
+     * Partitioned replays require a {@link org.axonframework.eventhandling.tokenstore.TokenStore} that supports
+     * explicit segment initialization and a message source producing {@link GlobalSequenceTrackingToken}s or {@link
+     * GapAwareTrackingToken}s. When either requirement is not met, or the range to replay is too small to partition,
+     * a regular replay is performed. Disabled by default.
+     *
+     * @param partitionCount the number of partitions to split the replayed range in
+     * @param threadCount    the maximum number of threads replaying partitions in parallel
+     * @return {@code this} for method chaining
+     */
+    public TrackingEventProcessorConfiguration andPartitionedReplay(int partitionCount, int threadCount) {
+        assertThat(partitionCount, it -> it > 1, "Partition count must be greater than 1");
+        assertThat(threadCount, it -> it > 0, "Thread count must be strictly positive");
+        this.replayPartitionCount = partitionCount;
+        this.replayThreadCount = threadCount;
+        return this;
+    }
+
     /**
      * @return the maximum number of events to process in a single batch.
      */
@@ -188,6 +293,38 @@ public int getBatchSize() {
         return batchSize;
     }
 
+    /**
+     * Indicates whether the batch size is adapted to the measured duration of processing a batch. See {@link
+     * #andAdaptiveBatchSize(int, int, long, TimeUnit)}.
+     *
+     * @return {@code true} if adaptive batch sizing is enabled, {@code false} if the batch size is fixed
+     */
+    public boolean isAdaptiveBatchSizeEnabled() {
+        return targetBatchDurationNanos > 0;
+    }
+
+    /**
+     * @return the smallest number of events to process in a single batch, when adaptive batch sizing is enabled
+     */
+    public int getMinBatchSize() {
+        return isAdaptiveBatchSizeEnabled() ? minBatchSize : batchSize;
+    }
+
+    /**
+     * @return the largest number of events to process in a single batch, when adaptive batch sizing is enabled
+     */
+    public int getMaxBatchSize() {
+        return isAdaptiveBatchSizeEnabled() ? maxBatchSize : batchSize;
+    }
+
+    /**
+     * @return the target duration, in nanoseconds, for handling and committing a single batch when adaptive batch
+     * sizing is enabled, or {@code -1} when it is disabled
+     */
+    public long getTargetBatchDuration() {
+        return targetBatchDurationNanos;
+    }
+
     /**
      * @return the number of segments requested for handling asynchronous processing of events.
      */
@@ -247,4 +384,51 @@ public long getTokenClaimInterval() {
     public EventTrackerStatusChangeListener getEventTrackerStatusChangeListener() {
         return eventTrackerStatusChangeListener;
     }
+
+    /**
+     * Returns the {@link ForkJoinPool} used to deserialize the events of a batch in parallel, or {@code null} if
+     * events are deserialized lazily on the processing thread.
+     *
+     * @return the {@link ForkJoinPool} used to deserialize the events of a batch in parallel, or {@code null} if
+     * parallel deserialization is disabled
+     * @see #andParallelDeserialization(ForkJoinPool)
+     */
+    public ForkJoinPool getDeserializationPool() {
+        return deserializationPool;
+    }
+
+    /**
+     * Returns the {@link MessageMonitor} notified of the deserialization of events when parallel deserialization is
+     * enabled.
+     *
+     * @return the {@link MessageMonitor} notified of the deserialization of events
+     */
+    public MessageMonitor<? super EventMessage<?>> getDeserializationMonitor() {
+        return deserializationMonitor;
+    }
+
+    /**
+     * Indicates whether resetting the tokens of the processor replays the event stream in partitions. See {@link
+     * #andPartitionedReplay(int, int)}.
+     *
+     * @return {@code true} if partitioned replays are enabled, {@code false} otherwise
+     */
+    public boolean isPartitionedReplayEnabled() {
+        return replayPartitionCount > 1;
+    }
+
+    /**
+     * @return the number of partitions a replay is split in, or {@code 0} if partitioned replays are disabled
+     */
+    public int getReplayPartitionCount() {
+        return replayPartitionCount;
+    }
+
+    /**
+     * @return the maximum number of threads replaying partitions in parallel, or {@code 0} if partitioned replays are
+     * disabled
+     */
+    public int getReplayThreadCount() {
+        return replayThreadCount;
+    }
 }
@@ -0,0 +1,894 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling.pooled;
+
+import org.axonframework.common.AxonNonTransientException;
+import org.axonframework.common.stream.BlockingStream;
+import org.axonframework.common.transaction.TransactionManager;
+import org.axonframework.eventhandling.MergedTrackingToken;
+import org.axonframework.eventhandling.Segment;
+import org.axonframework.eventhandling.TrackedEventMessage;
+import org.axonframework.eventhandling.TrackerStatus;
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.eventhandling.WrappedToken;
+import org.axonframework.eventhandling.tokenstore.TokenStore;
+import org.axonframework.eventhandling.tokenstore.UnableToClaimTokenException;
+import org.axonframework.eventhandling.tokenstore.UnableToExtendClaimsException;
+import org.axonframework.messaging.StreamableMessageSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.axonframework.common.BuilderUtils.assertNonNull;
+import static org.axonframework.common.io.IOUtils.closeQuietly;
+
+/**
+ * Coordinator for the {@link PooledStreamingEventProcessor}. Uses coordination tasks (separate threads) to open a
+ * single event stream for all claimed segments and to dispatch the events read from that stream to the {@link
+ * WorkPackage}s of those segments.
+ * <p>
+ * Besides reading the stream, the coordinator is in charge of claiming unclaimed segments in the {@link TokenStore},
+ * releasing segments which are blacklisted, and executing split and merge instructions. All of these operations are
+ * performed on the coordinator's own {@link ScheduledExecutorService}, guaranteeing only a single thread ever reads the
+ * event stream or alters the set of claimed segments.
+ *
+ * @since 4.5
+ */
+class Coordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(Coordinator.class);
+
+    private static final int MAX_EVENTS_PER_RUN = 1024;
+    private static final int EVENT_AVAILABILITY_TIMEOUT = 1000;
+    private static final long BACKOFF_DELAY = 10;
+
+    private final String name;
+    private final StreamableMessageSource<TrackedEventMessage<?>> messageSource;
+    private final TokenStore tokenStore;
+    private final TransactionManager transactionManager;
+    private final ScheduledExecutorService executorService;
+    private final WorkPackageFactory workPackageFactory;
+    private final Predicate<Class<?>> eventTypeFilter;
+    private final Map<Integer, TrackerStatus> processingStatus;
+    private final Function<StreamableMessageSource<TrackedEventMessage<?>>, TrackingToken> initialToken;
+    private final int initialSegmentCount;
+    private final int maxClaimedSegments;
+    private final long tokenClaimInterval;
+
+    private final Map<Integer, WorkPackage> workPackages = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Long> releasesDeadlines = new ConcurrentSkipListMap<>();
+    private final Queue<CoordinatorTask> coordinatorTasks = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<RunState> runState = new AtomicReference<>(RunState.initial());
+    private final AtomicBoolean processingGate = new AtomicBoolean();
+    private final CoordinationTask coordinationTask = new CoordinationTask();
+
+    private ScheduledFuture<?> scheduledCoordination;
+    private volatile boolean inErrorState;
+
+    /**
+     * Instantiate a Builder to be able to create a {@link Coordinator}. The {@code initialSegmentCount} defaults to
+     * {@code 16}, the {@code maxClaimedSegments} to {@link Short#MAX_VALUE} and the {@code tokenClaimInterval} to
+     * {@code 5000} milliseconds. All other fields are <b>hard requirements</b> and as such should be provided.
+     *
+     * @return a Builder to be able to create a {@link Coordinator}
+     */
+    static Builder builder() {
+        return new Builder();
+    }
+
+    private Coordinator(Builder builder) {
+        builder.validate();
+        this.name = builder.name;
+        this.messageSource = builder.messageSource;
+        this.tokenStore = builder.tokenStore;
+        this.transactionManager = builder.transactionManager;
+        this.executorService = builder.executorService;
+        this.workPackageFactory = builder.workPackageFactory;
+        this.eventTypeFilter = builder.eventTypeFilter;
+        this.processingStatus = builder.processingStatus;
+        this.initialToken = builder.initialToken;
+        this.initialSegmentCount = builder.initialSegmentCount;
+        this.maxClaimedSegments = builder.maxClaimedSegments;
+        this.tokenClaimInterval = builder.tokenClaimInterval;
+    }
+
+    /**
+     * Start the event coordination task of this coordinator. Has no effect if the coordinator is already running or
+     * if a previous shutdown is still in progress.
+     */
+    void start() {
+        RunState newState = runState.updateAndGet(RunState::attemptStart);
+        if (newState.wasStarted()) {
+            logger.debug("Starting coordinator for processor [{}].", name);
+            inErrorState = false;
+            try {
+                scheduleCoordinationTask(0);
+            } catch (RejectedExecutionException e) {
+                logger.warn("The coordinator for processor [{}] could not be started.", name, e);
+                runState.set(RunState.initial());
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Initiates a shutdown, providing a {@link CompletableFuture} that completes when the shutdown process is
+     * finished. All work packages are aborted and the claims on their segments released.
+     *
+     * @return a {@link CompletableFuture} that completes when the shutdown process is finished
+     */
+    CompletableFuture<Void> stop() {
+        logger.debug("Stopping coordinator for processor [{}].", name);
+        CompletableFuture<Void> handle = runState.updateAndGet(RunState::attemptStop).shutdownHandle();
+        wakeUp();
+        return handle;
+    }
+
+    /**
+     * Returns {@code true} if this coordinator is running.
+     *
+     * @return {@code true} if this coordinator is running, {@code false} otherwise
+     */
+    boolean isRunning() {
+        return runState.get().isRunning();
+    }
+
+    /**
+     * Returns {@code true} if this coordinator is in an error state.
+     *
+     * @return {@code true} if this coordinator is in an error state, {@code false} otherwise
+     */
+    boolean isError() {
+        return inErrorState;
+    }
+
+    /**
+     * Instructs this coordinator to release the segment with the given {@code segmentId}. Furthermore, it will be
+     * ignored for claiming until the given {@code releaseDeadline} has passed.
+     *
+     * @param segmentId       the id of the segment to release
+     * @param releaseDeadline the time in milliseconds since epoch until which the segment will not be claimed
+     */
+    void releaseUntil(int segmentId, long releaseDeadline) {
+        releasesDeadlines.put(segmentId, releaseDeadline);
+        wakeUp();
+    }
+
+    /**
+     * Instructs this coordinator to split the segment with the given {@code segmentId}. Only segments which are
+     * currently claimed by this coordinator can be split.
+     *
+     * @param segmentId the id of the segment to split
+     * @return a {@link CompletableFuture} providing the result of the split operation
+     */
+    CompletableFuture<Boolean> splitSegment(int segmentId) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        coordinatorTasks.add(new CoordinatorTask(result, () -> doSplitSegment(segmentId)));
+        wakeUp();
+        return result;
+    }
+
+    /**
+     * Instructs this coordinator to merge the segment with the given {@code segmentId} with the segment it was
+     * originally split from. The segment with the given {@code segmentId} should be claimed by this coordinator, and
+     * the other segment should be either claimed by this coordinator or unclaimed.
+     *
+     * @param segmentId the id of the segment to merge
+     * @return a {@link CompletableFuture} providing the result of the merge operation
+     */
+    CompletableFuture<Boolean> mergeSegment(int segmentId) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        coordinatorTasks.add(new CoordinatorTask(result, () -> doMergeSegment(segmentId)));
+        wakeUp();
+        return result;
+    }
+
+    private synchronized void scheduleCoordinationTask(long delayMillis) {
+        if (scheduledCoordination != null && !scheduledCoordination.isDone()) {
+            if (scheduledCoordination.getDelay(MILLISECONDS) <= delayMillis
+                    || !scheduledCoordination.cancel(false)) {
+                // an earlier run is scheduled already
+                return;
+            }
+        }
+        scheduledCoordination = executorService.schedule(coordinationTask, delayMillis, MILLISECONDS);
+    }
+
+    private synchronized void clearScheduledCoordination() {
+        scheduledCoordination = null;
+    }
+
+    private void wakeUp() {
+        try {
+            scheduleCoordinationTask(0);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Unable to wake up the coordinator of processor [{}].", name, e);
+        }
+    }
+
+    private boolean doSplitSegment(int segmentId) {
+        WorkPackage workPackage = workPackages.get(segmentId);
+        if (workPackage == null) {
+            logger.info("Processor [{}] cannot split segment [{}], as it is not claimed by this instance.",
+                        name, segmentId);
+            return false;
+        }
+        workPackage.abort(null).join();
+        workPackages.remove(segmentId);
+        processingStatus.remove(segmentId);
+
+        TrackerStatus[] splitStatus = transactionManager.fetchInTransaction(() -> {
+            TrackingToken currentToken = tokenStore.fetchToken(name, segmentId);
+            TrackerStatus[] newStatus = new TrackerStatus(workPackage.segment(), currentToken).split();
+            int newSegmentId = newStatus[1].getSegment().getSegmentId();
+            tokenStore.initializeSegment(newStatus[1].getInternalTrackingToken(), name, newSegmentId);
+            tokenStore.storeToken(newStatus[0].getInternalTrackingToken(), name, segmentId);
+            return newStatus;
+        });
+        logger.info("Processor [{}] split segment [{}] into segments [{}] and [{}].", name, segmentId,
+                    splitStatus[0].getSegment().getSegmentId(), splitStatus[1].getSegment().getSegmentId());
+        addWorkPackage(splitStatus[0].getSegment(), splitStatus[0].getInternalTrackingToken());
+        return true;
+    }
+
+    private boolean doMergeSegment(int segmentId) {
+        WorkPackage workPackage = workPackages.get(segmentId);
+        if (workPackage == null) {
+            logger.info("Processor [{}] cannot merge segment [{}], as it is not claimed by this instance.",
+                        name, segmentId);
+            return false;
+        }
+        Segment segment = workPackage.segment();
+        int otherSegmentId = segment.mergeableSegmentId();
+        if (otherSegmentId == segmentId) {
+            logger.info("A merge request can only be fulfilled if there is more than one segment");
+            return false;
+        }
+
+        List<CompletableFuture<Exception>> aborts = new ArrayList<>();
+        aborts.add(workPackage.abort(null));
+        WorkPackage otherWorkPackage = workPackages.get(otherSegmentId);
+        if (otherWorkPackage != null) {
+            aborts.add(otherWorkPackage.abort(null));
+        }
+        CompletableFuture.allOf(aborts.toArray(new CompletableFuture[0])).join();
+        removeWorkPackage(segmentId);
+        removeWorkPackage(otherSegmentId);
+
+        Segment mergedSegment = transactionManager.fetchInTransaction(() -> {
+            TrackingToken ownToken = tokenStore.fetchToken(name, segmentId);
+            TrackingToken otherToken = tokenStore.fetchToken(name, otherSegmentId);
+            Segment otherSegment = Segment.computeSegment(otherSegmentId, tokenStore.fetchSegments(name));
+            if (!segment.isMergeableWith(otherSegment)) {
+                tokenStore.releaseClaim(name, otherSegmentId);
+                return null;
+            }
+            Segment newSegment = segment.mergedWith(otherSegment);
+            // keep the token of the segment id resulting from the merge, and delete the other
+            int tokenToDelete = newSegment.getSegmentId() == segmentId ? otherSegmentId : segmentId;
+            tokenStore.deleteToken(name, tokenToDelete);
+
+            TrackingToken mergedToken = otherSegmentId < segmentId
+                    ? new MergedTrackingToken(otherToken, ownToken)
+                    : new MergedTrackingToken(ownToken, otherToken);
+            tokenStore.storeToken(mergedToken, name, newSegment.getSegmentId());
+            return newSegment;
+        });
+        if (mergedSegment == null) {
+            logger.info("Processor [{}] could not merge segment [{}] with segment [{}].",
+                        name, segmentId, otherSegmentId);
+            return false;
+        }
+        TrackingToken mergedToken = transactionManager.fetchInTransaction(
+                () -> tokenStore.fetchToken(name, mergedSegment.getSegmentId())
+        );
+        logger.info("Processor [{}] merged segments [{}] and [{}] into segment [{}].",
+                    name, segmentId, otherSegmentId, mergedSegment.getSegmentId());
+        addWorkPackage(mergedSegment, mergedToken);
+        return true;
+    }
+
+    private void addWorkPackage(Segment segment, TrackingToken token) {
+        int segmentId = segment.getSegmentId();
+        processingStatus.put(segmentId, new TrackerStatus(segment, token));
+        Consumer<UnaryOperator<TrackerStatus>> statusUpdater =
+                updater -> processingStatus.computeIfPresent(segmentId, (id, status) -> updater.apply(status));
+        workPackages.put(segmentId, workPackageFactory.create(segment, token, statusUpdater));
+        coordinationTask.resetStream();
+    }
+
+    private void removeWorkPackage(int segmentId) {
+        workPackages.remove(segmentId);
+        processingStatus.remove(segmentId);
+    }
+
+    private void releaseClaim(int segmentId) {
+        try {
+            transactionManager.executeInTransaction(() -> tokenStore.releaseClaim(name, segmentId));
+            logger.info("Processor [{}] released claim on segment [{}].", name, segmentId);
+        } catch (Exception e) {
+            logger.info("Processor [{}] failed to release claim on segment [{}].", name, segmentId, e);
+            // Ignore exception
+        }
+    }
+
+    private boolean canClaimSegment(int segmentId) {
+        return releasesDeadlines.getOrDefault(segmentId, Long.MIN_VALUE) < System.currentTimeMillis();
+    }
+
+    /**
+     * Factory constructing a {@link WorkPackage} for a claimed {@link Segment}.
+     */
+    @FunctionalInterface
+    interface WorkPackageFactory {
+
+        /**
+         * Construct a {@link WorkPackage} processing events for the given {@code segment}, starting from the given
+         * {@code initialToken}.
+         *
+         * @param segment              the {@link Segment} to process events for
+         * @param initialToken         the {@link TrackingToken} to start processing from
+         * @param segmentStatusUpdater lambda updating the {@link TrackerStatus} of the given {@code segment}
+         * @return a {@link WorkPackage} processing events for the given {@code segment}
+         */
+        WorkPackage create(Segment segment,
+                           TrackingToken initialToken,
+                           Consumer<UnaryOperator<TrackerStatus>> segmentStatusUpdater);
+    }
+
+    /**
+     * Package private builder class to construct a {@link Coordinator}.
+     */
+    static class Builder {
+
+        private String name;
+        private StreamableMessageSource<TrackedEventMessage<?>> messageSource;
+        private TokenStore tokenStore;
+        private TransactionManager transactionManager;
+        private ScheduledExecutorService executorService;
+        private WorkPackageFactory workPackageFactory;
+        private Predicate<Class<?>> eventTypeFilter;
+        private Map<Integer, TrackerStatus> processingStatus;
+        private Function<StreamableMessageSource<TrackedEventMessage<?>>, TrackingToken> initialToken;
+        private int initialSegmentCount = 16;
+        private int maxClaimedSegments = Short.MAX_VALUE;
+        private long tokenClaimInterval = 5000;
+
+        /**
+         * The name of the processor this coordinator coordinates for.
+         *
+         * @param name the name of the processor
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * The source of events this coordinator opens its single stream on.
+         *
+         * @param messageSource the source of events
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder messageSource(StreamableMessageSource<TrackedEventMessage<?>> messageSource) {
+            this.messageSource = messageSource;
+            return this;
+        }
+
+        /**
+         * The storage solution of {@link TrackingToken}s, used to claim and release segments.
+         *
+         * @param tokenStore the storage solution of {@link TrackingToken}s
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder tokenStore(TokenStore tokenStore) {
+            this.tokenStore = tokenStore;
+            return this;
+        }
+
+        /**
+         * The {@link TransactionManager} used to interact with the {@link TokenStore} in a transaction.
+         *
+         * @param transactionManager the {@link TransactionManager} used by this coordinator
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder transactionManager(TransactionManager transactionManager) {
+            this.transactionManager = transactionManager;
+            return this;
+        }
+
+        /**
+         * The {@link ScheduledExecutorService} running the coordination tasks. Should be single threaded.
+         *
+         * @param executorService the {@link ScheduledExecutorService} running the coordination tasks
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder executorService(ScheduledExecutorService executorService) {
+            this.executorService = executorService;
+            return this;
+        }
+
+        /**
+         * The factory constructing {@link WorkPackage}s for claimed segments.
+         *
+         * @param workPackageFactory the factory constructing {@link WorkPackage}s
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder workPackageFactory(WorkPackageFactory workPackageFactory) {
+            this.workPackageFactory = workPackageFactory;
+            return this;
+        }
+
+        /**
+         * A filter deciding whether a payload type can be handled at all, used to blacklist events on the stream.
+         *
+         * @param eventTypeFilter a filter deciding whether a payload type can be handled
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder eventTypeFilter(Predicate<Class<?>> eventTypeFilter) {
+            this.eventTypeFilter = eventTypeFilter;
+            return this;
+        }
+
+        /**
+         * The map in which the status of each claimed segment is maintained.
+         *
+         * @param processingStatus the map in which the status of each claimed segment is maintained
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder processingStatus(Map<Integer, TrackerStatus> processingStatus) {
+            this.processingStatus = processingStatus;
+            return this;
+        }
+
+        /**
+         * Function building the {@link TrackingToken} used to initialize the segments, if none exist yet.
+         *
+         * @param initialToken function building the initial {@link TrackingToken}
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder initialToken(Function<StreamableMessageSource<TrackedEventMessage<?>>, TrackingToken> initialToken) {
+            this.initialToken = initialToken;
+            return this;
+        }
+
+        /**
+         * The number of segments to initialize the token store with, if no segments exist yet. Defaults to {@code
+         * 16}.
+         *
+         * @param initialSegmentCount the number of segments to initialize
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder initialSegmentCount(int initialSegmentCount) {
+            this.initialSegmentCount = initialSegmentCount;
+            return this;
+        }
+
+        /**
+         * The maximum number of segments this coordinator may claim. Defaults to {@link Short#MAX_VALUE}.
+         *
+         * @param maxClaimedSegments the maximum number of segments this coordinator may claim
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder maxClaimedSegments(int maxClaimedSegments) {
+            this.maxClaimedSegments = maxClaimedSegments;
+            return this;
+        }
+
+        /**
+         * The time in milliseconds between attempts to claim unclaimed segments. Defaults to {@code 5000}.
+         *
+         * @param tokenClaimInterval the time in milliseconds between attempts to claim segments
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder tokenClaimInterval(long tokenClaimInterval) {
+            this.tokenClaimInterval = tokenClaimInterval;
+            return this;
+        }
+
+        /**
+         * Initializes a {@link Coordinator} as specified through this Builder.
+         *
+         * @return a {@link Coordinator} as specified through this Builder
+         */
+        Coordinator build() {
+            return new Coordinator(this);
+        }
+
+        private void validate() {
+            assertNonNull(name, "The name is a hard requirement and should be provided");
+            assertNonNull(messageSource, "The StreamableMessageSource is a hard requirement and should be provided");
+            assertNonNull(tokenStore, "The TokenStore is a hard requirement and should be provided");
+            assertNonNull(transactionManager, "The TransactionManager is a hard requirement and should be provided");
+            assertNonNull(executorService, "The ScheduledExecutorService is a hard requirement and should be provided");
+            assertNonNull(workPackageFactory, "The WorkPackageFactory is a hard requirement and should be provided");
+            assertNonNull(eventTypeFilter, "The event type filter is a hard requirement and should be provided");
+            assertNonNull(processingStatus, "The processing status map is a hard requirement and should be provided");
+            assertNonNull(initialToken, "The initial token builder is a hard requirement and should be provided");
+        }
+    }
+
+    /**
+     * Describes the run state of the coordinator, including the handle to complete once shutdown has finished.
+     */
+    private static class RunState {
+
+        private final boolean isRunning;
+        private final boolean wasStarted;
+        private final CompletableFuture<Void> shutdownHandle;
+
+        private RunState(boolean isRunning, boolean wasStarted, CompletableFuture<Void> shutdownHandle) {
+            this.isRunning = isRunning;
+            this.wasStarted = wasStarted;
+            this.shutdownHandle = shutdownHandle;
+        }
+
+        private static RunState initial() {
+            return new RunState(false, false, CompletableFuture.completedFuture(null));
+        }
+
+        private RunState attemptStart() {
+            if (isRunning) {
+                // It was already started
+                return new RunState(true, false, null);
+            } else if (shutdownHandle.isDone()) {
+                // Shutdown has been completed
+                return new RunState(true, true, null);
+            } else {
+                // Shutdown is in progress; cannot start yet
+                return this;
+            }
+        }
+
+        private RunState attemptStop() {
+            if (!isRunning) {
+                // Already stopped or stopping
+                return this;
+            }
+            return new RunState(false, false, new CompletableFuture<>());
+        }
+
+        private boolean isRunning() {
+            return isRunning;
+        }
+
+        private boolean wasStarted() {
+            return wasStarted;
+        }
+
+        private CompletableFuture<Void> shutdownHandle() {
+            return shutdownHandle;
+        }
+    }
+
+    /**
+     * An instruction to be executed by the coordination task, completing the given result with the outcome.
+     */
+    private static class CoordinatorTask {
+
+        private final CompletableFuture<Boolean> result;
+        private final Supplier<Boolean> task;
+
+        private CoordinatorTask(CompletableFuture<Boolean> result, Supplier<Boolean> task) {
+            this.result = result;
+            this.task = task;
+        }
+
+        private void run() {
+            try {
+                result.complete(task.get());
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        private void cancel() {
+            result.complete(false);
+        }
+    }
+
+    /**
+     * The task reading the event stream and dispatching its events to the work packages. Reschedules itself on the
+     * coordinator's {@link ScheduledExecutorService} for as long as the coordinator is running.
+     */
+    private class CoordinationTask implements Runnable {
+
+        private BlockingStream<TrackedEventMessage<?>> eventStream;
+        private long nextClaimAttempt;
+        private long errorWaitTime = 1;
+        private volatile boolean streamResetRequired;
+
+        @Override
+        public void run() {
+            clearScheduledCoordination();
+            if (!processingGate.compareAndSet(false, true)) {
+                // another run is in progress, which will reschedule itself
+                return;
+            }
+            try {
+                if (!isRunning()) {
+                    shutdown();
+                    return;
+                }
+                coordinate();
+            } finally {
+                processingGate.set(false);
+            }
+        }
+
+        private void coordinate() {
+            long delay;
+            try {
+                runCoordinatorTasks();
+                boolean workPackagesAborted = cleanUpAbortedWorkPackages();
+                releaseBlacklistedSegments();
+                if (System.currentTimeMillis() >= nextClaimAttempt) {
+                    claimNewSegments();
+                    nextClaimAttempt = System.currentTimeMillis() + tokenClaimInterval;
+                }
+                if (workPackages.isEmpty()) {
+                    closeStream();
+                    delay = Math.max(0, nextClaimAttempt - System.currentTimeMillis());
+                } else {
+                    delay = dispatchEvents();
+                    if (!workPackagesAborted) {
+                        // only a segment processing successfully proves the error condition has been resolved
+                        errorWaitTime = 1;
+                        inErrorState = false;
+                    }
+                }
+            } catch (Exception e) {
+                logger.warn("Coordinator of processor [{}] encountered an error. Releasing all claims and "
+                                    + "retrying in {}s.", name, errorWaitTime, e);
+                inErrorState = true;
+                closeStream();
+                abortAndReleaseAll(e);
+                delay = SECONDS.toMillis(errorWaitTime);
+                errorWaitTime = Math.min(errorWaitTime * 2, 60);
+                nextClaimAttempt = System.currentTimeMillis() + delay;
+                if (AxonNonTransientException.isCauseOf(e)) {
+                    logger.error("An unrecoverable error occurred in processor [{}]. Shutting down.", name, e);
+                    runState.updateAndGet(RunState::attemptStop);
+                    delay = 0;
+                }
+            }
+            scheduleCoordinationTask(delay);
+        }
+
+        private void runCoordinatorTasks() {
+            CoordinatorTask task;
+            while ((task = coordinatorTasks.poll()) != null) {
+                task.run();
+            }
+        }
+
+        private boolean cleanUpAbortedWorkPackages() {
+            List<WorkPackage> abortedWorkPackages = workPackages.values().stream()
+                                                                .filter(WorkPackage::isAbortTriggered)
+                                                                .collect(Collectors.toList());
+            abortedWorkPackages.forEach(workPackage -> {
+                int segmentId = workPackage.segment().getSegmentId();
+                workPackages.remove(segmentId);
+                Exception reason = workPackage.abort(null).join();
+                if (reason instanceof UnableToClaimTokenException) {
+                    logger.info("Segment [{}] of processor [{}] is owned by another node. "
+                                        + "Releasing it.", segmentId, name);
+                    releasesDeadlines.put(segmentId, System.currentTimeMillis() + tokenClaimInterval * 2);
+                    processingStatus.remove(segmentId);
+                } else {
+                    // keep the error status visible until the segment is reclaimed
+                    releasesDeadlines.put(segmentId, System.currentTimeMillis()
+                            + SECONDS.toMillis(errorWaitTime));
+                    errorWaitTime = Math.min(errorWaitTime * 2, 60);
+                    processingStatus.computeIfPresent(
+                            segmentId, (id, status) -> reason != null ? status.markError(reason) : status
+                    );
+                }
+                releaseClaim(segmentId);
+            });
+            return !abortedWorkPackages.isEmpty();
+        }
+
+        private void releaseBlacklistedSegments() {
+            workPackages.values().stream()
+                        .filter(workPackage -> !canClaimSegment(workPackage.segment().getSegmentId()))
+                        .forEach(workPackage -> {
+                            int segmentId = workPackage.segment().getSegmentId();
+                            workPackage.abort(null).join();
+                            removeWorkPackage(segmentId);
+                            releaseClaim(segmentId);
+                        });
+        }
+
+        private void claimNewSegments() {
+            int[] segmentIds = transactionManager.fetchInTransaction(() -> tokenStore.fetchSegments(name));
+            if (segmentIds.length == 0 && initialSegmentCount > 0) {
+                segmentIds = transactionManager.fetchInTransaction(() -> {
+                    TrackingToken token = initialToken.apply(messageSource);
+                    tokenStore.initializeTokenSegments(name, initialSegmentCount, token);
+                    return tokenStore.fetchSegments(name);
+                });
+            }
+            int[] allSegments = segmentIds;
+            int[] segmentsToClaim = Arrays.stream(segmentIds)
+                                          .filter(segmentId -> !workPackages.containsKey(segmentId)
+                                                  && canClaimSegment(segmentId))
+                                          .limit(Math.max(maxClaimedSegments - workPackages.size(), 0))
+                                          .toArray();
+            if (segmentsToClaim.length == 0) {
+                return;
+            }
+            Map<Integer, TrackingToken> claimedTokens =
+                    transactionManager.fetchInTransaction(() -> tokenStore.claimTokens(name, segmentsToClaim));
+            if (claimedTokens.size() < segmentsToClaim.length) {
+                logger.debug("Unable to claim the tokens for all segments {}. Some are owned by another process.",
+                             Arrays.toString(segmentsToClaim));
+            }
+            claimedTokens.forEach((segmentId, token) -> {
+                Segment segment = Segment.computeSegment(segmentId, allSegments);
+                logger.info("Processor [{}] claimed segment [{}] for processing.", name, segment);
+                addWorkPackage(segment, token);
+            });
+        }
+
+        private long dispatchEvents() throws InterruptedException {
+            if (streamResetRequired || eventStream == null) {
+                openStream();
+            }
+            int dispatched = 0;
+            while (dispatched < MAX_EVENTS_PER_RUN && coordinatorTasks.isEmpty() && isRunning()
+                    && workPackages.values().stream().allMatch(WorkPackage::hasRemainingCapacity)
+                    && eventStream.hasNextAvailable()) {
+                TrackedEventMessage<?> event = eventStream.nextAvailable();
+                for (WorkPackage workPackage : workPackages.values()) {
+                    workPackage.scheduleEvent(event);
+                }
+                if (!eventTypeFilter.test(event.getPayloadType())) {
+                    eventStream.blacklist(event);
+                }
+                dispatched++;
+            }
+            if (dispatched > 0) {
+                return workPackages.values().stream().allMatch(WorkPackage::hasRemainingCapacity) ? 0 : BACKOFF_DELAY;
+            }
+            if (!coordinatorTasks.isEmpty() || !isRunning()) {
+                return 0;
+            }
+            extendClaims();
+            workPackages.values().forEach(WorkPackage::caughtUp);
+            long timeout = Math.min(EVENT_AVAILABILITY_TIMEOUT, nextClaimAttempt - System.currentTimeMillis());
+            if (timeout > 0) {
+                // wait for events to become available, while remaining responsive to instructions
+                eventStream.hasNextAvailable((int) timeout, MILLISECONDS);
+            }
+            return 0;
+        }
+
+        /**
+         * Extends the claims of all work packages which are due for a claim extension in a single invocation of
+         * {@link TokenStore#extendClaims(String, int[])}. If that fails with an {@link UnableToExtendClaimsException},
+         * only the work packages of the segments it lists are aborted, after which their claims are released. On any
+         * other failure, the work packages extend their claims one by one.
+         */
+        private void extendClaims() {
+            List<WorkPackage> idleWorkPackages = workPackages.values().stream()
+                                                             .filter(WorkPackage::requiresClaimExtension)
+                                                             .collect(Collectors.toList());
+            if (idleWorkPackages.isEmpty()) {
+                return;
+            }
+            int[] segmentIds = idleWorkPackages.stream()
+                                               .mapToInt(workPackage -> workPackage.segment().getSegmentId())
+                                               .toArray();
+            try {
+                transactionManager.executeInTransaction(() -> tokenStore.extendClaims(name, segmentIds));
+                idleWorkPackages.forEach(WorkPackage::claimExtended);
+            } catch (UnableToExtendClaimsException e) {
+                // the claims of the other segments are extended on the next attempt, without the lost segments
+                Set<Integer> lostSegments = Arrays.stream(e.getSegments()).boxed().collect(Collectors.toSet());
+                logger.info("Processor [{}] lost the claims on segments {}. Releasing them.", name, lostSegments);
+                idleWorkPackages.stream()
+                                .filter(workPackage -> lostSegments.contains(workPackage.segment().getSegmentId()))
+                                .forEach(workPackage -> workPackage.abort(e));
+            } catch (UnableToClaimTokenException e) {
+                logger.debug("Unable to extend the claims of segments {} of processor [{}] at once. "
+                                     + "Extending them one by one.", Arrays.toString(segmentIds), name, e);
+            }
+        }
+
+        private void openStream() {
+            closeStream();
+            streamResetRequired = false;
+            TrackingToken lowerBound = null;
+            boolean first = true;
+            for (WorkPackage workPackage : workPackages.values()) {
+                TrackingToken packageToken = WrappedToken.unwrapLowerBound(workPackage.lastDeliveredToken());
+                if (first) {
+                    lowerBound = packageToken;
+                    first = false;
+                } else if (lowerBound != null) {
+                    lowerBound = packageToken == null ? null : lowerBound.lowerBound(packageToken);
+                }
+            }
+            TrackingToken startToken = lowerBound;
+            logger.info("Processor [{}] opening event stream at position [{}].", name, startToken);
+            eventStream = transactionManager.fetchInTransaction(() -> messageSource.openStream(startToken));
+        }
+
+        private void resetStream() {
+            streamResetRequired = true;
+        }
+
+        private void closeStream() {
+            closeQuietly(eventStream);
+            eventStream = null;
+        }
+
+        private void abortAndReleaseAll(Exception cause) {
+            List<CompletableFuture<Exception>> aborts = new ArrayList<>();
+            workPackages.values().forEach(workPackage -> aborts.add(workPackage.abort(cause)));
+            CompletableFuture.allOf(aborts.toArray(new CompletableFuture[0])).join();
+            for (Integer segmentId : new ArrayList<>(workPackages.keySet())) {
+                workPackages.remove(segmentId);
+                if (cause != null) {
+                    processingStatus.computeIfPresent(segmentId, (id, status) -> status.markError(cause));
+                } else {
+                    processingStatus.remove(segmentId);
+                }
+                releaseClaim(segmentId);
+            }
+        }
+
+        private void shutdown() {
+            logger.info("Processor [{}] is shutting down its coordinator.", name);
+            CoordinatorTask task;
+            while ((task = coordinatorTasks.poll()) != null) {
+                task.cancel();
+            }
+            closeStream();
+            abortAndReleaseAll(null);
+            processingStatus.clear();
+            nextClaimAttempt = 0;
+            runState.get().shutdownHandle().complete(null);
+        }
+    }
+}
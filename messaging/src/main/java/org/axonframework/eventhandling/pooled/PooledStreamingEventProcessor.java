@@ -0,0 +1,789 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling.pooled;
+
+import org.axonframework.common.Assert;
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.common.AxonThreadFactory;
+import org.axonframework.common.transaction.TransactionManager;
+import org.axonframework.eventhandling.AbstractEventProcessor;
+import org.axonframework.eventhandling.ErrorHandler;
+import org.axonframework.eventhandling.EventHandlerInvoker;
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventhandling.EventTrackerStatus;
+import org.axonframework.eventhandling.PropagatingErrorHandler;
+import org.axonframework.eventhandling.ReplayToken;
+import org.axonframework.eventhandling.Segment;
+import org.axonframework.eventhandling.TrackedEventMessage;
+import org.axonframework.eventhandling.TrackerStatus;
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.eventhandling.tokenstore.TokenStore;
+import org.axonframework.eventhandling.tokenstore.UnableToClaimTokenException;
+import org.axonframework.lifecycle.Phase;
+import org.axonframework.lifecycle.ShutdownHandler;
+import org.axonframework.lifecycle.StartHandler;
+import org.axonframework.messaging.StreamableMessageSource;
+import org.axonframework.messaging.unitofwork.RollbackConfiguration;
+import org.axonframework.messaging.unitofwork.RollbackConfigurationType;
+import org.axonframework.monitoring.MessageMonitor;
+import org.axonframework.monitoring.NoOpMessageMonitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import static org.axonframework.common.BuilderUtils.assertNonNull;
+import static org.axonframework.common.BuilderUtils.assertStrictPositive;
+
+/**
+ * A {@link org.axonframework.eventhandling.EventProcessor} implementation which pools its resources to
+ * enhance processing speed. It utilizes a {@link Coordinator} as the means to stream events from a {@link
+ * StreamableMessageSource} and to create so called work packages. Every work package is in charge of a single {@link
+ * Segment}, for which it processes its events through a shared worker {@link ScheduledExecutorService}.
+ * <p>
+ * Where the {@link org.axonframework.eventhandling.TrackingEventProcessor} opens a stream per segment and dedicates a
+ * thread to it, this processor opens a <em>single</em> stream for all segments it has claimed. The events read from
+ * that stream are handed to every work package, each validating whether the event belongs to its segment. As such,
+ * the number of segments a single instance can process is not bound by the number of threads.
+ * <p>
+ * Claims on {@link TrackingToken}s are maintained through the configured {@link TokenStore}. Segments can be split,
+ * merged and released, and the status of every claimed segment is exposed through {@link #processingStatus()} as
+ * {@link EventTrackerStatus} instances, similar to the {@code TrackingEventProcessor}.
+ * <p>
+ * Note that the {@link #getName() name} of the processor is used to obtain the tracking tokens from the {@code
+ * TokenStore}, so take care when renaming a PooledStreamingEventProcessor.
+ *
+ * @since 4.5
+ */
+public class PooledStreamingEventProcessor extends AbstractEventProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PooledStreamingEventProcessor.class);
+
+    private final StreamableMessageSource<TrackedEventMessage<?>> messageSource;
+    private final TokenStore tokenStore;
+    private final TransactionManager transactionManager;
+    private final Function<String, ScheduledExecutorService> coordinatorExecutorBuilder;
+    private final Function<String, ScheduledExecutorService> workerExecutorBuilder;
+    private final boolean shutdownCoordinatorExecutor;
+    private final boolean shutdownWorkerExecutor;
+    private final Function<StreamableMessageSource<TrackedEventMessage<?>>, TrackingToken> initialToken;
+    private final int initialSegmentCount;
+    private final long tokenClaimInterval;
+    private final int maxClaimedSegments;
+    private final long claimExtensionThreshold;
+    private final int batchSize;
+
+    private final Map<Integer, TrackerStatus> processingStatus = new ConcurrentSkipListMap<>();
+    private final AtomicReference<String> tokenStoreIdentifier = new AtomicReference<>();
+    private final Object lifecycleLock = new Object();
+    private volatile Coordinator coordinator;
+    private ScheduledExecutorService coordinatorExecutor;
+    private ScheduledExecutorService workerExecutor;
+    private boolean executorsReleased;
+
+    /**
+     * Instantiate a Builder to be able to create a {@link PooledStreamingEventProcessor}.
+     * <p>
+     * The {@link RollbackConfigurationType} defaults to a {@link RollbackConfigurationType#ANY_THROWABLE}, the {@link
+     * ErrorHandler} is defaulted to a {@link PropagatingErrorHandler} and the {@link MessageMonitor} defaults to a
+     * {@link NoOpMessageMonitor}. The {@code initialToken} defaults to the {@link
+     * StreamableMessageSource#createTailToken() tail} of the stream, the {@code initialSegmentCount} to {@code 16}, the
+     * {@code tokenClaimInterval} to {@code 5000} milliseconds, the {@code maxClaimedSegments} to {@link
+     * Short#MAX_VALUE}, the {@code claimExtensionThreshold} to {@code 5000} milliseconds and the {@code batchSize} to
+     * {@code 1}. The coordinator {@link ScheduledExecutorService} defaults to a single threaded executor and the worker
+     * {@code ScheduledExecutorService} to an executor with four threads.
+     * <p>
+     * The Event Processor {@code name}, {@link EventHandlerInvoker}, {@link StreamableMessageSource}, {@link
+     * TokenStore} and {@link TransactionManager} are <b>hard requirements</b> and as such should be provided.
+     *
+     * @return a Builder to be able to create a {@link PooledStreamingEventProcessor}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Instantiate a {@link PooledStreamingEventProcessor} based on the fields contained in the {@link Builder}.
+     * <p>
+     * Will assert that the Event Processor {@code name}, {@link EventHandlerInvoker}, {@link StreamableMessageSource},
+     * {@link TokenStore} and {@link TransactionManager} are not {@code null}, and will throw an {@link
+     * AxonConfigurationException} if any of them is {@code null}.
+     *
+     * @param builder the {@link Builder} used to instantiate a {@link PooledStreamingEventProcessor} instance
+     */
+    protected PooledStreamingEventProcessor(Builder builder) {
+        super(builder);
+        this.messageSource = builder.messageSource;
+        this.tokenStore = builder.tokenStore;
+        this.transactionManager = builder.transactionManager;
+        this.coordinatorExecutorBuilder = builder.coordinatorExecutorBuilder;
+        this.workerExecutorBuilder = builder.workerExecutorBuilder;
+        this.shutdownCoordinatorExecutor = builder.shutdownCoordinatorExecutor;
+        this.shutdownWorkerExecutor = builder.shutdownWorkerExecutor;
+        this.initialToken = builder.initialToken;
+        this.initialSegmentCount = builder.initialSegmentCount;
+        this.tokenClaimInterval = builder.tokenClaimInterval;
+        this.maxClaimedSegments = builder.maxClaimedSegments;
+        this.claimExtensionThreshold = builder.claimExtensionThreshold;
+        this.batchSize = builder.batchSize;
+        this.coordinator = buildCoordinator();
+    }
+
+    private Coordinator buildCoordinator() {
+        ScheduledExecutorService workers = workerExecutorBuilder.apply(getName());
+        this.workerExecutor = workers;
+        this.coordinatorExecutor = coordinatorExecutorBuilder.apply(getName());
+        return Coordinator.builder()
+                          .name(getName())
+                          .messageSource(messageSource)
+                          .tokenStore(tokenStore)
+                          .transactionManager(transactionManager)
+                          .executorService(coordinatorExecutor)
+                          .workPackageFactory((segment, token, statusUpdater) -> spawnWorker(
+                                  workers, segment, token, statusUpdater
+                          ))
+                          .eventTypeFilter(this::canHandleType)
+                          .processingStatus(processingStatus)
+                          .initialToken(initialToken)
+                          .initialSegmentCount(initialSegmentCount)
+                          .maxClaimedSegments(maxClaimedSegments)
+                          .tokenClaimInterval(tokenClaimInterval)
+                          .build();
+    }
+
+    /**
+     * Start this processor. The processor will open a single event stream on its message source using {@link
+     * StreamableMessageSource#openStream(TrackingToken)}, starting at the lowest {@link TrackingToken} of the segments
+     * it was able to claim from the {@link TokenStore}.
+     * <p>
+     * Upon start up of an application, this method will be invoked in the {@link Phase#INBOUND_EVENT_CONNECTORS}
+     * phase.
+     * <p>
+     * When the executors created by this processor have been shut down by an earlier {@link #shutdownAsync()}, new
+     * executors are created, allowing a stopped processor to be started again.
+     */
+    @Override
+    @StartHandler(phase = Phase.INBOUND_EVENT_CONNECTORS)
+    public void start() {
+        logger.info("Starting PooledStreamingEventProcessor [{}].", getName());
+        synchronized (lifecycleLock) {
+            if (executorsReleased) {
+                coordinator = buildCoordinator();
+                executorsReleased = false;
+            }
+            coordinator.start();
+        }
+    }
+
+    /**
+     * Shuts down the processor. Blocks until shutdown is complete.
+     */
+    @Override
+    public void shutDown() {
+        shutdownAsync().join();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Will be shutdown on the {@link Phase#INBOUND_EVENT_CONNECTORS} phase. Once the coordinator has stopped, the
+     * coordinator and worker executors created by this processor are shut down as well. Executors provided through
+     * the {@link Builder} are left untouched, as their lifecycle is managed by whoever provided them.
+     */
+    @Override
+    @ShutdownHandler(phase = Phase.INBOUND_EVENT_CONNECTORS)
+    public CompletableFuture<Void> shutdownAsync() {
+        logger.info("Stopping PooledStreamingEventProcessor [{}].", getName());
+        Coordinator stoppingCoordinator = coordinator;
+        return stoppingCoordinator.stop()
+                                  .whenComplete((result, exception) -> releaseExecutors(stoppingCoordinator));
+    }
+
+    private void releaseExecutors(Coordinator stoppedCoordinator) {
+        synchronized (lifecycleLock) {
+            if (executorsReleased || coordinator != stoppedCoordinator || stoppedCoordinator.isRunning()) {
+                // the processor has been restarted in the meantime, so the executors are still in use
+                return;
+            }
+            if (shutdownCoordinatorExecutor) {
+                coordinatorExecutor.shutdown();
+            }
+            if (shutdownWorkerExecutor) {
+                workerExecutor.shutdown();
+            }
+            executorsReleased = true;
+        }
+    }
+
+    /**
+     * Indicates whether this processor is currently running (i.e. consuming events from a stream).
+     *
+     * @return {@code true} when running, otherwise {@code false}
+     */
+    public boolean isRunning() {
+        return coordinator.isRunning();
+    }
+
+    /**
+     * Indicates whether the processor has encountered an error it is currently recovering from. While in this state,
+     * the processor releases its claims and backs off before claiming segments again.
+     *
+     * @return {@code true} when recovering from an error, otherwise {@code false}
+     */
+    public boolean isError() {
+        return coordinator.isError();
+    }
+
+    /**
+     * Returns the unique identifier of the TokenStore used by this EventProcessor.
+     *
+     * @return the unique identifier of the TokenStore used by this EventProcessor
+     * @throws org.axonframework.eventhandling.tokenstore.UnableToRetrieveIdentifierException if the tokenStore was
+     *                                                                                        unable to retrieve it
+     */
+    public String getTokenStoreIdentifier() {
+        return tokenStoreIdentifier.updateAndGet(i -> i != null ? i : calculateIdentifier());
+    }
+
+    private String calculateIdentifier() {
+        return transactionManager.fetchInTransaction(
+                () -> tokenStore.retrieveStorageIdentifier().orElse("--unknown--")
+        );
+    }
+
+    /**
+     * Instructs the processor to release the segment with given {@code segmentId}. This will also blacklist this
+     * segment for twice the {@code tokenClaimInterval}, to ensure it is not immediately reclaimed.
+     *
+     * @param segmentId the id of the segment to be blacklisted
+     */
+    public void releaseSegment(int segmentId) {
+        releaseSegment(segmentId, tokenClaimInterval * 2, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Instructs the processor to release the segment with given {@code segmentId}. This will also blacklist this
+     * segment for the given {@code releaseDuration}, to ensure it is not immediately reclaimed. Note that this will
+     * override any previous blacklist duration that existed for this segment. Providing a negative value will allow
+     * the segment to be immediately claimed.
+     * <p>
+     * If the processor is not actively processing the segment with given {@code segmentId}, it will be blacklisted
+     * nonetheless.
+     *
+     * @param segmentId       the id of the segment to be blacklisted
+     * @param releaseDuration the amount of time to blacklist this segment for processing by this processor instance
+     * @param unit            the unit of time used to express the {@code releaseDuration}
+     */
+    public void releaseSegment(int segmentId, long releaseDuration, TimeUnit unit) {
+        coordinator.releaseUntil(segmentId, System.currentTimeMillis() + unit.toMillis(releaseDuration));
+    }
+
+    /**
+     * Instruct the processor to split the segment with given {@code segmentId} into two segments.
+     * <p>
+     * To be able to split segments, the {@link TokenStore} configured with this processor must use explicitly
+     * initialized tokens. See {@link TokenStore#requiresExplicitSegmentInitialization()}. Also, the given {@code
+     * segmentId} must be currently claimed by this processor instance.
+     *
+     * @param segmentId the identifier of the segment to split
+     * @return a CompletableFuture providing the result of the split operation
+     */
+    public CompletableFuture<Boolean> splitSegment(int segmentId) {
+        if (!tokenStore.requiresExplicitSegmentInitialization()) {
+            CompletableFuture<Boolean> result = new CompletableFuture<>();
+            result.completeExceptionally(new UnsupportedOperationException(
+                    "TokenStore must require explicit initialization to safely split tokens"
+            ));
+            return result;
+        }
+        return coordinator.splitSegment(segmentId);
+    }
+
+    /**
+     * Instruct the processor to merge the segment with given {@code segmentId} back with the segment that it was
+     * originally split from. The processor must be able to claim the other segment, in order to merge it. Therefore,
+     * this other segment must not have any active claims in the TokenStore of other processor instances.
+     * <p>
+     * The processor must currently be actively processing the segment with given {@code segmentId}.
+     *
+     * @param segmentId the identifier of the segment to merge into this one
+     * @return a CompletableFuture indicating whether the merge was executed successfully
+     */
+    public CompletableFuture<Boolean> mergeSegment(int segmentId) {
+        if (!tokenStore.requiresExplicitSegmentInitialization()) {
+            CompletableFuture<Boolean> result = new CompletableFuture<>();
+            result.completeExceptionally(new UnsupportedOperationException(
+                    "TokenStore must require explicit initialization to safely merge tokens"
+            ));
+            return result;
+        }
+        return coordinator.mergeSegment(segmentId);
+    }
+
+    /**
+     * Indicates whether this processor supports a "reset". Generally, a reset is supported if at least one of the
+     * event handlers assigned to this processor supports it, and no handlers explicitly prevent the resets.
+     *
+     * @return {@code true} if resets are supported, {@code false} otherwise
+     */
+    public boolean supportsReset() {
+        return eventHandlerInvoker().supportsReset();
+    }
+
+    /**
+     * Resets tokens to their initial state. This effectively causes a replay.
+     * <p>
+     * Before attempting to reset the tokens, the caller must stop this processor, as well as any instances of the same
+     * logical processor that may be running in the cluster. Failure to do so will cause the reset to fail, as a
+     * processor can only reset the tokens if it is able to claim them all.
+     */
+    public void resetTokens() {
+        resetTokens(initialToken);
+    }
+
+    /**
+     * Resets tokens to their initial state. This effectively causes a replay. The given {@code resetContext} will be
+     * used to support the (optional) reset operation in an Event Handling Component.
+     *
+     * @param resetContext a {@code R} used to support the reset operation
+     * @param <R>          the type of the provided {@code resetContext}
+     * @see #resetTokens()
+     */
+    public <R> void resetTokens(R resetContext) {
+        resetTokens(initialToken, resetContext);
+    }
+
+    /**
+     * Reset tokens to the position as return by the given {@code initialTrackingTokenSupplier}. This effectively causes
+     * a replay since that position.
+     *
+     * @param initialTrackingTokenSupplier a function returning the token representing the position to reset to
+     * @see #resetTokens(TrackingToken)
+     */
+    public void resetTokens(
+            Function<StreamableMessageSource<TrackedEventMessage<?>>, TrackingToken> initialTrackingTokenSupplier
+    ) {
+        resetTokens(initialTrackingTokenSupplier.apply(messageSource));
+    }
+
+    /**
+     * Reset tokens to the position as return by the given {@code initialTrackingTokenSupplier}. This effectively causes
+     * a replay since that position. The given {@code resetContext} will be used to support the (optional) reset
+     * operation in an Event Handling Component.
+     *
+     * @param initialTrackingTokenSupplier a function returning the token representing the position to reset to
+     * @param resetContext                 a {@code R} used to support the reset operation
+     * @param <R>                          the type of the provided {@code resetContext}
+     * @see #resetTokens(TrackingToken, Object)
+     */
+    public <R> void resetTokens(
+            Function<StreamableMessageSource<TrackedEventMessage<?>>, TrackingToken> initialTrackingTokenSupplier,
+            R resetContext
+    ) {
+        resetTokens(initialTrackingTokenSupplier.apply(messageSource), resetContext);
+    }
+
+    /**
+     * Resets tokens to the given {@code startPosition}. This effectively causes a replay of events since that
+     * position.
+     *
+     * @param startPosition the token representing the position to reset the processor to
+     * @see #resetTokens(TrackingToken, Object)
+     */
+    public void resetTokens(TrackingToken startPosition) {
+        resetTokens(startPosition, null);
+    }
+
+    /**
+     * Resets tokens to the given {@code startPosition}. This effectively causes a replay of events since that position.
+     * The given {@code resetContext} will be used to support the (optional) reset operation in an Event Handling
+     * Component.
+     * <p>
+     * Note that the new token must represent a position that is <em>before</em> the current position of the processor.
+     * <p>
+     * Before attempting to reset the tokens, the caller must stop this processor, as well as any instances of the same
+     * logical processor that may be running in the cluster. Failure to do so will cause the reset to fail, as a
+     * processor can only reset the tokens if it is able to claim them all.
+     *
+     * @param startPosition the token representing the position to reset the processor to
+     * @param resetContext  a {@code R} used to support the reset operation
+     * @param <R>           the type of the provided {@code resetContext}
+     */
+    public <R> void resetTokens(TrackingToken startPosition, R resetContext) {
+        Assert.state(supportsReset(), () -> "The handlers assigned to this Processor do not support a reset");
+        Assert.state(!isRunning(), () -> "The Processor must be shut down before triggering a reset");
+        transactionManager.executeInTransaction(() -> {
+            int[] segments = tokenStore.fetchSegments(getName());
+            Map<Integer, TrackingToken> tokens = tokenStore.claimTokens(getName(), segments);
+            if (tokens.size() < segments.length) {
+                throw new UnableToClaimTokenException(
+                        "Unable to claim all tokens for processor '" + getName() + "'. Unable to reset tokens."
+                );
+            }
+            // we now have all tokens, hurray
+            eventHandlerInvoker().performReset(resetContext);
+
+            Map<Integer, TrackingToken> replayTokens = new TreeMap<>();
+            tokens.forEach((segment, token) -> replayTokens.put(
+                    segment, ReplayToken.createReplayToken(token, startPosition)
+            ));
+            tokenStore.storeTokens(replayTokens, getName());
+        });
+    }
+
+    /**
+     * Returns the status for each of the segments processed by this processor as {@link EventTrackerStatus} instances.
+     * The key of the map represents the segment id processed by this instance. The values of the returned map represent
+     * the last known status of that segment.
+     * <p>
+     * Note that the returned map is unmodifiable, but does reflect any changes made to the status as the processor is
+     * processing events.
+     *
+     * @return the status for each of the segments processed by this processor
+     */
+    public Map<Integer, EventTrackerStatus> processingStatus() {
+        return Collections.unmodifiableMap(processingStatus);
+    }
+
+    /**
+     * Returns the {@link StreamableMessageSource} this processor is using.
+     *
+     * @return the {@link StreamableMessageSource} this processor is using
+     */
+    public StreamableMessageSource<? extends TrackedEventMessage<?>> getMessageSource() {
+        return messageSource;
+    }
+
+    /**
+     * Returns the maximum number of segments this processor instance will claim.
+     *
+     * @return the maximum number of segments this processor instance will claim
+     */
+    public int maxCapacity() {
+        return maxClaimedSegments;
+    }
+
+    private WorkPackage spawnWorker(ScheduledExecutorService workerExecutor,
+                                    Segment segment,
+                                    TrackingToken initialToken,
+                                    Consumer<UnaryOperator<TrackerStatus>> statusUpdater) {
+        return WorkPackage.builder()
+                          .name(getName())
+                          .tokenStore(tokenStore)
+                          .transactionManager(transactionManager)
+                          .executorService(workerExecutor)
+                          .eventValidator(new WorkPackage.EventValidator() {
+                              @Override
+                              public boolean canHandle(EventMessage<?> eventMessage, Collection<Segment> segments)
+                                      throws Exception {
+                                  return PooledStreamingEventProcessor.this.canHandle(eventMessage, segments);
+                              }
+
+                              @Override
+                              public void reportIgnored(EventMessage<?> eventMessage) {
+                                  PooledStreamingEventProcessor.this.reportIgnored(eventMessage);
+                              }
+                          })
+                          .batchProcessor(this::processInUnitOfWork)
+                          .segment(segment)
+                          .initialToken(initialToken)
+                          .batchSize(batchSize)
+                          .claimExtensionThreshold(claimExtensionThreshold)
+                          .segmentStatusUpdater(statusUpdater)
+                          .build();
+    }
+
+    private boolean canHandle(EventMessage<?> eventMessage, Collection<Segment> segments) throws Exception {
+        for (Segment segment : segments) {
+            if (canHandle(eventMessage, segment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builder class to instantiate a {@link PooledStreamingEventProcessor}.
+     * <p>
+     * The {@link RollbackConfigurationType} defaults to a {@link RollbackConfigurationType#ANY_THROWABLE}, the {@link
+     * ErrorHandler} is defaulted to a {@link PropagatingErrorHandler} and the {@link MessageMonitor} defaults to a
+     * {@link NoOpMessageMonitor}. The {@code initialToken} defaults to the {@link
+     * StreamableMessageSource#createTailToken() tail} of the stream, the {@code initialSegmentCount} to {@code 16}, the
+     * {@code tokenClaimInterval} to {@code 5000} milliseconds, the {@code maxClaimedSegments} to {@link
+     * Short#MAX_VALUE}, the {@code claimExtensionThreshold} to {@code 5000} milliseconds and the {@code batchSize} to
+     * {@code 1}. The coordinator {@link ScheduledExecutorService} defaults to a single threaded executor and the worker
+     * {@code ScheduledExecutorService} to an executor with four threads.
+     * <p>
+     * The Event Processor {@code name}, {@link EventHandlerInvoker}, {@link StreamableMessageSource}, {@link
+     * TokenStore} and {@link TransactionManager} are <b>hard requirements</b> and as such should be provided.
+     */
+    public static class Builder extends AbstractEventProcessor.Builder {
+
+        private static final long DEFAULT_KEEP_ALIVE_SECONDS = 5;
+
+        private StreamableMessageSource<TrackedEventMessage<?>> messageSource;
+        private TokenStore tokenStore;
+        private TransactionManager transactionManager;
+        private Function<String, ScheduledExecutorService> coordinatorExecutorBuilder =
+                processorName -> defaultExecutor(1, "Coordinator[" + processorName + "]");
+        private Function<String, ScheduledExecutorService> workerExecutorBuilder =
+                processorName -> defaultExecutor(4, "WorkPackage[" + processorName + "]");
+        private boolean shutdownCoordinatorExecutor = true;
+        private boolean shutdownWorkerExecutor = true;
+        private Function<StreamableMessageSource<TrackedEventMessage<?>>, TrackingToken> initialToken =
+                StreamableMessageSource::createTailToken;
+        private int initialSegmentCount = 16;
+        private long tokenClaimInterval = 5000;
+        private int maxClaimedSegments = Short.MAX_VALUE;
+        private long claimExtensionThreshold = 5000;
+        private int batchSize = 1;
+
+        public Builder() {
+            rollbackConfiguration(RollbackConfigurationType.ANY_THROWABLE);
+        }
+
+        private static ScheduledExecutorService defaultExecutor(int poolSize, String threadGroupName) {
+            ScheduledThreadPoolExecutor executor =
+                    new ScheduledThreadPoolExecutor(poolSize, new AxonThreadFactory(threadGroupName));
+            // allow idle threads to terminate, so a shut down processor does not keep the JVM alive
+            executor.setKeepAliveTime(DEFAULT_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+
+        @Override
+        public Builder name(String name) {
+            super.name(name);
+            return this;
+        }
+
+        @Override
+        public Builder eventHandlerInvoker(EventHandlerInvoker eventHandlerInvoker) {
+            super.eventHandlerInvoker(eventHandlerInvoker);
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}. Defaults to a {@link RollbackConfigurationType#ANY_THROWABLE})
+         */
+        @Override
+        public Builder rollbackConfiguration(RollbackConfiguration rollbackConfiguration) {
+            super.rollbackConfiguration(rollbackConfiguration);
+            return this;
+        }
+
+        @Override
+        public Builder errorHandler(ErrorHandler errorHandler) {
+            super.errorHandler(errorHandler);
+            return this;
+        }
+
+        @Override
+        public Builder messageMonitor(MessageMonitor<? super EventMessage<?>> messageMonitor) {
+            super.messageMonitor(messageMonitor);
+            return this;
+        }
+
+        /**
+         * Sets the {@link StreamableMessageSource} (e.g. the {@code EventStore}) which this processor will track.
+         *
+         * @param messageSource the {@link StreamableMessageSource} which this processor will track
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder messageSource(StreamableMessageSource<TrackedEventMessage<?>> messageSource) {
+            assertNonNull(messageSource, "StreamableMessageSource may not be null");
+            this.messageSource = messageSource;
+            return this;
+        }
+
+        /**
+         * Sets the {@link TokenStore} used to store and fetch event tokens that enable this processor to track its
+         * progress.
+         *
+         * @param tokenStore the {@link TokenStore} used to store and fetch event tokens that enable this processor to
+         *                   track its progress
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder tokenStore(TokenStore tokenStore) {
+            assertNonNull(tokenStore, "TokenStore may not be null");
+            this.tokenStore = tokenStore;
+            return this;
+        }
+
+        /**
+         * Sets the {@link TransactionManager} used when processing {@link EventMessage}s and when interacting with the
+         * {@link TokenStore}.
+         *
+         * @param transactionManager the {@link TransactionManager} used when processing {@link EventMessage}s
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder transactionManager(TransactionManager transactionManager) {
+            assertNonNull(transactionManager, "TransactionManager may not be null");
+            this.transactionManager = transactionManager;
+            return this;
+        }
+
+        /**
+         * Specifies the {@link ScheduledExecutorService} used by the coordinator of this processor, which reads the
+         * event stream and claims segments. The given executor should be single threaded. Defaults to a single
+         * threaded executor using an {@link AxonThreadFactory}, which is shut down when this processor is. A given
+         * executor is not shut down by this processor.
+         *
+         * @param coordinatorExecutor the {@link ScheduledExecutorService} used by the coordinator of this processor
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder coordinatorExecutor(ScheduledExecutorService coordinatorExecutor) {
+            assertNonNull(coordinatorExecutor, "The coordinator ScheduledExecutorService may not be null");
+            this.coordinatorExecutorBuilder = processorName -> coordinatorExecutor;
+            this.shutdownCoordinatorExecutor = false;
+            return this;
+        }
+
+        /**
+         * Specifies the {@link ScheduledExecutorService} shared by all work packages of this processor to process
+         * events. The number of threads of this executor defines the number of segments which are processed
+         * concurrently, which may be smaller than the number of claimed segments. Defaults to an executor with four
+         * threads using an {@link AxonThreadFactory}, which is shut down when this processor is. A given executor is
+         * not shut down by this processor.
+         *
+         * @param workerExecutor the {@link ScheduledExecutorService} used to process events of the claimed segments
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder workerExecutor(ScheduledExecutorService workerExecutor) {
+            assertNonNull(workerExecutor, "The worker ScheduledExecutorService may not be null");
+            this.workerExecutorBuilder = processorName -> workerExecutor;
+            this.shutdownWorkerExecutor = false;
+            return this;
+        }
+
+        /**
+         * Specifies the {@link Function} used to generate the initial {@link TrackingToken}s when no tokens exist yet
+         * for this processor. Defaults to the {@link StreamableMessageSource#createTailToken() tail} of the stream.
+         *
+         * @param initialToken a {@link Function} generating the initial {@link TrackingToken} based on a given {@link
+         *                     StreamableMessageSource}
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder initialToken(
+                Function<StreamableMessageSource<TrackedEventMessage<?>>, TrackingToken> initialToken
+        ) {
+            assertNonNull(initialToken, "The initial token builder Function may not be null");
+            this.initialToken = initialToken;
+            return this;
+        }
+
+        /**
+         * Sets the number of segments this processor initializes the {@link TokenStore} with when no tokens exist yet.
+         * Defaults to {@code 16}.
+         *
+         * @param initialSegmentCount an {@code int} specifying the initial segment count
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder initialSegmentCount(int initialSegmentCount) {
+            assertStrictPositive(initialSegmentCount, "The initial segment count should be a higher valued positive integer");
+            this.initialSegmentCount = initialSegmentCount;
+            return this;
+        }
+
+        /**
+         * Specifies the time in milliseconds the coordinator waits between attempts to claim unclaimed segments.
+         * Defaults to {@code 5000} milliseconds.
+         *
+         * @param tokenClaimInterval the time in milliseconds between attempts to claim unclaimed segments
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder tokenClaimInterval(long tokenClaimInterval) {
+            assertStrictPositive(tokenClaimInterval, "Token claim interval should be a higher valued positive long");
+            this.tokenClaimInterval = tokenClaimInterval;
+            return this;
+        }
+
+        /**
+         * Defines the maximum number of segments this processor instance may claim. Defaults to {@link
+         * Short#MAX_VALUE}.
+         *
+         * @param maxClaimedSegments the maximum number of segments this processor instance may claim
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder maxClaimedSegments(int maxClaimedSegments) {
+            assertStrictPositive(maxClaimedSegments, "Max claimed segments should be a higher valued positive integer");
+            this.maxClaimedSegments = maxClaimedSegments;
+            return this;
+        }
+
+        /**
+         * Specifies the time in milliseconds a work package waits before extending the claim on its token when it has
+         * not processed any events. Defaults to {@code 5000} milliseconds.
+         *
+         * @param claimExtensionThreshold the time in milliseconds after which a claim is extended
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder claimExtensionThreshold(long claimExtensionThreshold) {
+            assertStrictPositive(claimExtensionThreshold,
+                                 "Claim extension threshold should be a higher valued positive long");
+            this.claimExtensionThreshold = claimExtensionThreshold;
+            return this;
+        }
+
+        /**
+         * Specifies the maximum number of events a work package processes in a single batch. Defaults to {@code 1}.
+         *
+         * @param batchSize the maximum number of events processed in a single batch
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder batchSize(int batchSize) {
+            assertStrictPositive(batchSize, "The batch size should be a higher valued positive integer");
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Initializes a {@link PooledStreamingEventProcessor} as specified through this Builder.
+         *
+         * @return a {@link PooledStreamingEventProcessor} as specified through this Builder
+         */
+        public PooledStreamingEventProcessor build() {
+            return new PooledStreamingEventProcessor(this);
+        }
+
+        /**
+         * Validates whether the fields contained in this Builder are set accordingly.
+         *
+         * @throws AxonConfigurationException if one field is asserted to be incorrect according to the Builder's
+         *                                    specifications
+         */
+        @Override
+        protected void validate() throws AxonConfigurationException {
+            super.validate();
+            assertNonNull(messageSource, "The StreamableMessageSource is a hard requirement and should be provided");
+            assertNonNull(tokenStore, "The TokenStore is a hard requirement and should be provided");
+            assertNonNull(transactionManager, "The TransactionManager is a hard requirement and should be provided");
+        }
+    }
+}
@@ -0,0 +1,629 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling.pooled;
+
+import org.axonframework.common.transaction.TransactionManager;
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventhandling.MergedTrackingToken;
+import org.axonframework.eventhandling.Segment;
+import org.axonframework.eventhandling.TrackedEventMessage;
+import org.axonframework.eventhandling.TrackerStatus;
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.eventhandling.WrappedToken;
+import org.axonframework.eventhandling.tokenstore.TokenStore;
+import org.axonframework.messaging.unitofwork.BatchingUnitOfWork;
+import org.axonframework.messaging.unitofwork.UnitOfWork;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+import static org.axonframework.common.BuilderUtils.assertNonNull;
+import static org.axonframework.common.BuilderUtils.assertStrictPositive;
+
+/**
+ * Defines the process of handling {@link EventMessage}s for a specific {@link Segment}. This includes validating if
+ * the event can be handled by the segment, handling the events in batches and maintaining the claim on the segment's
+ * {@link TrackingToken}.
+ * <p>
+ * Events are scheduled by the {@link Coordinator} through {@link #scheduleEvent(TrackedEventMessage)}, and are
+ * handled on a thread of the shared worker {@link ExecutorService}. At most one thread will process the events of a
+ * single work package at any point in time.
+ *
+ * @since 4.5
+ */
+class WorkPackage {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkPackage.class);
+
+    private static final int BUFFER_SIZE = 1024;
+
+    private final String name;
+    private final TokenStore tokenStore;
+    private final TransactionManager transactionManager;
+    private final ExecutorService executorService;
+    private final EventValidator eventValidator;
+    private final BatchProcessor batchProcessor;
+    private final Segment segment;
+    private final int batchSize;
+    private final long claimExtensionThreshold;
+    private final Consumer<UnaryOperator<TrackerStatus>> segmentStatusUpdater;
+
+    private final Queue<ProcessingEntry> processingQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicBoolean processingScheduled = new AtomicBoolean();
+    private final AtomicReference<CompletableFuture<Exception>> abortFlag = new AtomicReference<>();
+    private final AtomicReference<Exception> abortException = new AtomicReference<>();
+
+    private TrackingToken lastDeliveredToken; // For use only by the Coordinator thread
+    private volatile TrackingToken lastConsumedToken;
+    private volatile TrackingToken lastStoredToken;
+    private volatile long lastClaimExtension;
+    private volatile boolean atHead;
+
+    /**
+     * Instantiate a Builder to be able to create a {@link WorkPackage}.
+     * <p>
+     * The {@code batchSize} is defaulted to {@code 1} and the {@code claimExtensionThreshold} to {@code 5000}
+     * milliseconds. The {@code name}, {@link TokenStore}, {@link TransactionManager}, {@link ExecutorService}, {@link
+     * EventValidator}, {@link BatchProcessor}, {@link Segment}, {@code initialToken} and {@code segmentStatusUpdater}
+     * are <b>hard requirements</b> and as such should be provided.
+     *
+     * @return a Builder to be able to create a {@link WorkPackage}
+     */
+    static Builder builder() {
+        return new Builder();
+    }
+
+    private WorkPackage(Builder builder) {
+        builder.validate();
+        this.name = builder.name;
+        this.tokenStore = builder.tokenStore;
+        this.transactionManager = builder.transactionManager;
+        this.executorService = builder.executorService;
+        this.eventValidator = builder.eventValidator;
+        this.batchProcessor = builder.batchProcessor;
+        this.segment = builder.segment;
+        this.batchSize = builder.batchSize;
+        this.claimExtensionThreshold = builder.claimExtensionThreshold;
+        this.segmentStatusUpdater = builder.segmentStatusUpdater;
+
+        this.lastDeliveredToken = builder.initialToken;
+        this.lastConsumedToken = builder.initialToken;
+        this.lastStoredToken = builder.initialToken;
+        this.lastClaimExtension = System.currentTimeMillis();
+    }
+
+    /**
+     * Schedule a {@link TrackedEventMessage} for processing by this work package. Events already covered by the
+     * position of this work package are ignored. Should only be invoked by the {@link Coordinator} thread.
+     *
+     * @param event the event to schedule for processing by this work package
+     */
+    void scheduleEvent(TrackedEventMessage<?> event) {
+        if (isAbortTriggered()) {
+            return;
+        }
+        TrackingToken eventToken = event.trackingToken();
+        if (lastDeliveredToken != null && lastDeliveredToken.covers(eventToken)) {
+            return;
+        }
+        TrackedEventMessage<?> message = event;
+        TrackingToken advancedToken;
+        if (lastDeliveredToken instanceof WrappedToken) {
+            advancedToken = ((WrappedToken) lastDeliveredToken).advancedTo(eventToken);
+            message = event.withTrackingToken(advancedToken);
+        } else if (lastDeliveredToken != null) {
+            // the stream may have been opened at a lower position on behalf of another work package
+            advancedToken = lastDeliveredToken.upperBound(eventToken);
+        } else {
+            advancedToken = eventToken;
+        }
+        lastDeliveredToken = advancedToken;
+        // new events arrived, so this segment is no longer at the head of the stream until told otherwise
+        atHead = false;
+        processingQueue.add(new ProcessingEntry(message, advancedToken, processingSegments(advancedToken, segment)));
+        queueSize.incrementAndGet();
+        scheduleWorker();
+    }
+
+    /**
+     * Indicates whether this work package is able to receive more events. A work package which has a full buffer
+     * requires the {@link Coordinator} to back off until the buffer has been drained.
+     *
+     * @return {@code true} if more events can be scheduled with this work package, {@code false} otherwise
+     */
+    boolean hasRemainingCapacity() {
+        return queueSize.get() < Math.max(BUFFER_SIZE, batchSize * 2);
+    }
+
+    /**
+     * Notify this work package that the event stream has no further events available at this time. Once all scheduled
+     * events have been handled, the segment will be marked as {@link TrackerStatus#isCaughtUp() caught up}. Will also
+     * trigger the claim extension of this work package, if required.
+     */
+    void caughtUp() {
+        atHead = true;
+        scheduleWorker();
+    }
+
+    /**
+     * Schedule this work package to process any outstanding events. If no events are outstanding, this will make sure
+     * the claim on the segment is extended when the {@code claimExtensionThreshold} has passed.
+     */
+    void scheduleWorker() {
+        if (processingScheduled.compareAndSet(false, true)) {
+            try {
+                executorService.submit(this::processEvents);
+            } catch (RejectedExecutionException e) {
+                processingScheduled.set(false);
+                logger.warn("Work package for segment [{}] of processor [{}] could not be scheduled.",
+                            segment.getSegmentId(), name, e);
+                abort(e);
+            }
+        }
+    }
+
+    private void processEvents() {
+        try {
+            if (isAbortTriggered()) {
+                completeAbort();
+                return;
+            }
+            List<ProcessingEntry> eventsToProcess = new ArrayList<>();
+            List<TrackedEventMessage<?>> batch = new ArrayList<>();
+            Collection<Segment> batchSegments = null;
+            // take entries until the batch is full or the segments to process the events in change
+            ProcessingEntry entry;
+            while (batch.size() < batchSize && (entry = peekMatching(batchSegments)) != null) {
+                processingQueue.poll();
+                queueSize.decrementAndGet();
+                eventsToProcess.add(entry);
+                if (eventValidator.canHandle(entry.eventMessage, entry.processingSegments)) {
+                    batch.add(entry.eventMessage);
+                    batchSegments = entry.processingSegments;
+                } else {
+                    eventValidator.reportIgnored(entry.eventMessage);
+                }
+            }
+            if (!eventsToProcess.isEmpty()) {
+                TrackingToken lastToken = eventsToProcess.get(eventsToProcess.size() - 1).trackingToken;
+                if (batch.isEmpty()) {
+                    lastConsumedToken = lastToken;
+                    if (claimExtensionRequired()) {
+                        storeToken(lastToken);
+                    }
+                } else {
+                    processBatch(batch, lastToken, batchSegments);
+                }
+                segmentStatusUpdater.accept(status -> status.advancedTo(lastToken));
+            } else if (claimExtensionRequired()) {
+                extendClaim();
+            }
+            if (atHead && processingQueue.isEmpty()) {
+                segmentStatusUpdater.accept(TrackerStatus::caughtUp);
+            }
+        } catch (Exception e) {
+            logger.warn("Error occurred while processing events in segment [{}] of processor [{}]. "
+                                + "Aborting work package.", segment.getSegmentId(), name, e);
+            segmentStatusUpdater.accept(status -> status.markError(e));
+            abort(e);
+        } finally {
+            processingScheduled.set(false);
+            if (!processingQueue.isEmpty() || isAbortTriggered()) {
+                scheduleWorker();
+            }
+        }
+    }
+
+    private ProcessingEntry peekMatching(Collection<Segment> batchSegments) {
+        ProcessingEntry next = processingQueue.peek();
+        if (next == null || batchSegments == null || next.processingSegments.equals(batchSegments)) {
+            return next;
+        }
+        return null;
+    }
+
+    private void processBatch(List<TrackedEventMessage<?>> batch,
+                              TrackingToken lastToken,
+                              Collection<Segment> processingSegments) throws Exception {
+        UnitOfWork<TrackedEventMessage<?>> unitOfWork = new BatchingUnitOfWork<>(batch);
+        unitOfWork.attachTransaction(transactionManager);
+        unitOfWork.onPrepareCommit(uow -> {
+            tokenStore.storeToken(lastToken, name, segment.getSegmentId());
+            lastStoredToken = lastToken;
+            lastClaimExtension = System.currentTimeMillis();
+        });
+        batchProcessor.processBatch(batch, unitOfWork, processingSegments);
+        lastConsumedToken = lastToken;
+    }
+
+    private boolean claimExtensionRequired() {
+        return System.currentTimeMillis() > lastClaimExtension + claimExtensionThreshold;
+    }
+
+    /**
+     * Indicates whether the claim on the segment of this work package should be extended without storing a token,
+     * as the {@code claimExtensionThreshold} has passed while no events are awaiting processing. This allows the
+     * {@link Coordinator} to extend the claims of all idle work packages at once, after which it should invoke {@link
+     * #claimExtended()}. Claims which are not extended by the Coordinator are extended by the work package itself.
+     *
+     * @return {@code true} if the claim of this work package is due to be extended, {@code false} otherwise
+     */
+    boolean requiresClaimExtension() {
+        return !isAbortTriggered()
+                && processingQueue.isEmpty()
+                && Objects.equals(lastConsumedToken, lastStoredToken)
+                && claimExtensionRequired();
+    }
+
+    /**
+     * Notify this work package that the claim on its segment has been extended on its behalf.
+     */
+    void claimExtended() {
+        lastClaimExtension = System.currentTimeMillis();
+    }
+
+    private void extendClaim() {
+        TrackingToken consumedToken = lastConsumedToken;
+        if (!Objects.equals(consumedToken, lastStoredToken)) {
+            storeToken(consumedToken);
+        } else {
+            transactionManager.executeInTransaction(
+                    () -> tokenStore.extendClaim(name, segment.getSegmentId())
+            );
+            lastClaimExtension = System.currentTimeMillis();
+        }
+    }
+
+    private void storeToken(TrackingToken token) {
+        transactionManager.executeInTransaction(
+                () -> tokenStore.storeToken(token, name, segment.getSegmentId())
+        );
+        lastStoredToken = token;
+        lastClaimExtension = System.currentTimeMillis();
+    }
+
+    private void completeAbort() {
+        processingQueue.clear();
+        queueSize.set(0);
+        if (abortFlag.get().isDone()) {
+            return;
+        }
+        Exception reason = abortException.get();
+        if (reason == null && !Objects.equals(lastConsumedToken, lastStoredToken)) {
+            try {
+                storeToken(lastConsumedToken);
+            } catch (Exception e) {
+                logger.info("Failed to store the last consumed token of segment [{}] of processor [{}] on abort.",
+                            segment.getSegmentId(), name, e);
+            }
+        }
+        abortFlag.get().complete(reason);
+    }
+
+    /**
+     * Indicates whether an abort has been triggered for this work package. When {@code true}, any events scheduled
+     * with this work package will be ignored.
+     *
+     * @return {@code true} if an abort was scheduled, otherwise {@code false}
+     */
+    boolean isAbortTriggered() {
+        return abortFlag.get() != null;
+    }
+
+    /**
+     * Marks this work package as aborted. The returned {@link CompletableFuture} completes with the given {@code
+     * abortReason} once the work package has stopped processing. Any events that have not been handled yet are
+     * discarded. If no {@code abortReason} is given, the last consumed token is stored before completing.
+     * <p>
+     * Subsequent invocations return the same future, completed with the reason of the first abort.
+     *
+     * @param abortReason the reason to abort the work package, or {@code null} for a regular abort
+     * @return a {@link CompletableFuture} completing once this work package has stopped processing
+     */
+    CompletableFuture<Exception> abort(Exception abortReason) {
+        if (abortReason != null) {
+            abortException.compareAndSet(null, abortReason);
+        }
+        CompletableFuture<Exception> abortTask = new CompletableFuture<>();
+        if (!abortFlag.compareAndSet(null, abortTask)) {
+            return abortFlag.get();
+        }
+        if (processingScheduled.compareAndSet(false, true)) {
+            try {
+                completeAbort();
+            } finally {
+                processingScheduled.set(false);
+            }
+        }
+        // a running worker will detect the abort flag once it finishes its current batch
+        return abortTask;
+    }
+
+    /**
+     * Returns the {@link Segment} this work package is processing events for.
+     *
+     * @return the {@link Segment} this work package is processing events for
+     */
+    Segment segment() {
+        return segment;
+    }
+
+    /**
+     * Returns the {@link TrackingToken} of the last event that has been scheduled with this work package.
+     *
+     * @return the {@link TrackingToken} of the last event that has been scheduled with this work package
+     */
+    TrackingToken lastDeliveredToken() {
+        return lastDeliveredToken;
+    }
+
+    private static Collection<Segment> processingSegments(TrackingToken token, Segment segment) {
+        Optional<MergedTrackingToken> mergedToken = WrappedToken.unwrap(token, MergedTrackingToken.class);
+        if (mergedToken.isPresent()) {
+            Segment[] splitSegments = segment.split();
+            Set<Segment> segments = new TreeSet<>();
+            if (mergedToken.get().isLowerSegmentAdvanced()) {
+                segments.addAll(processingSegments(mergedToken.get().lowerSegmentToken(), splitSegments[0]));
+            }
+            if (mergedToken.get().isUpperSegmentAdvanced()) {
+                segments.addAll(processingSegments(mergedToken.get().upperSegmentToken(), splitSegments[1]));
+            }
+            return segments;
+        }
+        return Collections.singleton(segment);
+    }
+
+    /**
+     * Functional interface defining a validation if a given {@link EventMessage} can be handled within the given
+     * {@link Segment}s.
+     */
+    interface EventValidator {
+
+        /**
+         * Indicates whether the given {@code eventMessage} can be handled in any of the given {@code segments}.
+         *
+         * @param eventMessage the message to validate
+         * @param segments     the segments to validate the message against
+         * @return {@code true} if the message can be handled, {@code false} otherwise
+         * @throws Exception when validating the message fails
+         */
+        boolean canHandle(EventMessage<?> eventMessage, Collection<Segment> segments) throws Exception;
+
+        /**
+         * Report the given {@code eventMessage} as ignored by this work package.
+         *
+         * @param eventMessage the message that has been ignored
+         */
+        void reportIgnored(EventMessage<?> eventMessage);
+    }
+
+    /**
+     * Functional interface defining the processing of a batch of {@link EventMessage}s within a {@link UnitOfWork}.
+     */
+    @FunctionalInterface
+    interface BatchProcessor {
+
+        /**
+         * Processes the given {@code eventMessages} within the given {@code unitOfWork} for the given {@code
+         * processingSegments}.
+         *
+         * @param eventMessages      the batch of messages to process
+         * @param unitOfWork         the Unit of Work prepared to process the messages
+         * @param processingSegments the segments for which the messages should be processed
+         * @throws Exception when an exception occurred during processing of the batch
+         */
+        void processBatch(List<? extends EventMessage<?>> eventMessages,
+                          UnitOfWork<? extends EventMessage<?>> unitOfWork,
+                          Collection<Segment> processingSegments) throws Exception;
+    }
+
+    private static class ProcessingEntry {
+
+        private final TrackedEventMessage<?> eventMessage;
+        private final TrackingToken trackingToken;
+        private final Collection<Segment> processingSegments;
+
+        private ProcessingEntry(TrackedEventMessage<?> eventMessage,
+                                TrackingToken trackingToken,
+                                Collection<Segment> processingSegments) {
+            this.eventMessage = eventMessage;
+            this.trackingToken = trackingToken;
+            this.processingSegments = processingSegments;
+        }
+    }
+
+    /**
+     * Package private builder class to construct a {@link WorkPackage}.
+     */
+    static class Builder {
+
+        private String name;
+        private TokenStore tokenStore;
+        private TransactionManager transactionManager;
+        private ExecutorService executorService;
+        private EventValidator eventValidator;
+        private BatchProcessor batchProcessor;
+        private Segment segment;
+        private TrackingToken initialToken;
+        private int batchSize = 1;
+        private long claimExtensionThreshold = 5000;
+        private Consumer<UnaryOperator<TrackerStatus>> segmentStatusUpdater;
+
+        /**
+         * The name of the processor this work package processes events for.
+         *
+         * @param name the name of the processor this work package processes events for
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * The storage solution of {@link TrackingToken}s.
+         *
+         * @param tokenStore the storage solution of {@link TrackingToken}s
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder tokenStore(TokenStore tokenStore) {
+            this.tokenStore = tokenStore;
+            return this;
+        }
+
+        /**
+         * The {@link TransactionManager} used to process events and store tokens in a transaction.
+         *
+         * @param transactionManager the {@link TransactionManager} used by this work package
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder transactionManager(TransactionManager transactionManager) {
+            this.transactionManager = transactionManager;
+            return this;
+        }
+
+        /**
+         * The {@link ExecutorService} used to process the events scheduled with this work package.
+         *
+         * @param executorService the {@link ExecutorService} used to process events
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder executorService(ExecutorService executorService) {
+            this.executorService = executorService;
+            return this;
+        }
+
+        /**
+         * The {@link EventValidator} deciding whether an event should be handled by this work package.
+         *
+         * @param eventValidator the {@link EventValidator} used by this work package
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder eventValidator(EventValidator eventValidator) {
+            this.eventValidator = eventValidator;
+            return this;
+        }
+
+        /**
+         * The {@link BatchProcessor} handling a batch of events within a {@link UnitOfWork}.
+         *
+         * @param batchProcessor the {@link BatchProcessor} used by this work package
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder batchProcessor(BatchProcessor batchProcessor) {
+            this.batchProcessor = batchProcessor;
+            return this;
+        }
+
+        /**
+         * The {@link Segment} this work package processes events for.
+         *
+         * @param segment the {@link Segment} this work package processes events for
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder segment(Segment segment) {
+            this.segment = segment;
+            return this;
+        }
+
+        /**
+         * The {@link TrackingToken} this work package starts processing from. May be {@code null} to start at the tail
+         * of the stream.
+         *
+         * @param initialToken the {@link TrackingToken} to start processing from
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder initialToken(TrackingToken initialToken) {
+            this.initialToken = initialToken;
+            return this;
+        }
+
+        /**
+         * The maximum number of events to process in a single batch. Defaults to {@code 1}.
+         *
+         * @param batchSize the maximum number of events to process in a single batch
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder batchSize(int batchSize) {
+            assertStrictPositive(batchSize, "The batch size should be a higher valued positive integer");
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * The time in milliseconds after which the claim on the token should be extended when no events have been
+         * processed. Defaults to {@code 5000}.
+         *
+         * @param claimExtensionThreshold the time in milliseconds after which the claim should be extended
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder claimExtensionThreshold(long claimExtensionThreshold) {
+            this.claimExtensionThreshold = claimExtensionThreshold;
+            return this;
+        }
+
+        /**
+         * Lambda used to update the {@link TrackerStatus} of the segment this work package processes.
+         *
+         * @param segmentStatusUpdater lambda used to update the {@link TrackerStatus} of the segment
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder segmentStatusUpdater(Consumer<UnaryOperator<TrackerStatus>> segmentStatusUpdater) {
+            this.segmentStatusUpdater = segmentStatusUpdater;
+            return this;
+        }
+
+        /**
+         * Initializes a {@link WorkPackage} as specified through this Builder.
+         *
+         * @return a {@link WorkPackage} as specified through this Builder
+         */
+        WorkPackage build() {
+            return new WorkPackage(this);
+        }
+
+        private void validate() {
+            assertNonNull(name, "The name is a hard requirement and should be provided");
+            assertNonNull(tokenStore, "The TokenStore is a hard requirement and should be provided");
+            assertNonNull(transactionManager, "The TransactionManager is a hard requirement and should be provided");
+            assertNonNull(executorService, "The ExecutorService is a hard requirement and should be provided");
+            assertNonNull(eventValidator, "The EventValidator is a hard requirement and should be provided");
+            assertNonNull(batchProcessor, "The BatchProcessor is a hard requirement and should be provided");
+            assertNonNull(segment, "The Segment is a hard requirement and should be provided");
+            assertNonNull(segmentStatusUpdater, "The segment status updater is a hard requirement and should be provided");
+        }
+    }
+}
@@ -19,7 +19,11 @@
 import org.axonframework.eventhandling.EventProcessor;
 import org.axonframework.eventhandling.TrackingToken;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 /**
  * Describes a component capable of storing and retrieving event tracking tokens. An {@link EventProcessor} that is
@@ -132,6 +136,88 @@ default void extendClaim(String processorName, int segment) throws UnableToClaim
         fetchToken(processorName, segment);
     }
 
+    /**
+     * Claims the tokens for the given {@code segments} of the processor with given {@code processorName}, returning
+     * the last stored {@link TrackingToken token} of every segment that could be claimed.
+     * <p>
+     * Contrary to {@link #fetchToken(String, int)}, segments that have not been initialized or that are claimed by
+     * another process do not fail this operation. They are simply left out of the returned {@link Map}. Segments that
+     * have been claimed but hold a {@code null} token are contained in the result with a {@code null} value.
+     * <p>
+     * The tokens will be claimed by the current process (JVM instance), preventing access by other instances. To
+     * release the claims, use {@link #releaseClaim(String, int)}.
+     *
+     * @param processorName The process name for which to claim the tokens
+     * @param segments      The segment indices for which to claim the tokens
+     * @return a {@link Map} of segment index to last stored TrackingToken, for every segment that has been claimed
+     * @implSpec By default, this method invokes {@link #fetchToken(String, int)} for each of the given {@code
+     * segments}, skipping those failing with an {@link UnableToClaimTokenException}. TokenStore implementations may
+     * choose to implement this method if they can claim several segments in fewer round trips to the underlying
+     * storage.
+     */
+    default Map<Integer, TrackingToken> claimTokens(String processorName, int[] segments) {
+        Map<Integer, TrackingToken> claimedTokens = new TreeMap<>();
+        for (int segment : segments) {
+            try {
+                claimedTokens.put(segment, fetchToken(processorName, segment));
+            } catch (UnableToClaimTokenException e) {
+                // the segment is either claimed by another process or not initialized, so we skip it
+            }
+        }
+        return claimedTokens;
+    }
+
+    /**
+     * Stores the given {@code tokens} in the store, where the keys of the {@link Map} refer to the segments of the
+     * processor with given {@code processorName} to store the token for. Token values may be {@code null}.
+     * <p>
+     * Any claims made by the current process have their timestamp updated. This operation fails as a whole if any of
+     * the segments cannot be claimed by the current process, similar to {@link #storeToken(TrackingToken, String,
+     * int)}.
+     *
+     * @param tokens        The tokens to store, mapped by the index of the segment they belong to
+     * @param processorName The name of the process for which to store the tokens
+     * @throws UnableToClaimTokenException when any of the tokens being updated has been claimed by another process
+     * @implSpec By default, this method invokes {@link #storeToken(TrackingToken, String, int)} for each of the given
+     * {@code tokens}. TokenStore implementations may choose to implement this method if they can store several tokens
+     * in fewer round trips to the underlying storage.
+     */
+    default void storeTokens(Map<Integer, TrackingToken> tokens, String processorName)
+            throws UnableToClaimTokenException {
+        tokens.forEach((segment, token) -> storeToken(token, processorName, segment));
+    }
+
+    /**
+     * Extends the claims on the current tokens held by this node for the given {@code processorName} and {@code
+     * segments}.
+     *
+     * @param processorName The process name for which to extend the claims
+     * @param segments      The segment indices for which to extend the claims
+     * @throws UnableToExtendClaimsException if there is no token for any of the given {@code segments}, or if any of
+     *                                       them has been claimed by another process. The exception lists the
+     *                                       segments of which the claim could not be extended
+     * @implSpec By default, this method invokes {@link #extendClaim(String, int)} for each of the given {@code
+     * segments}. TokenStore implementations may choose to implement this method if they can extend several claims in
+     * fewer round trips to the underlying storage.
+     */
+    default void extendClaims(String processorName, int[] segments) throws UnableToClaimTokenException {
+        List<Integer> unclaimedSegments = new ArrayList<>();
+        for (int segment : segments) {
+            try {
+                extendClaim(processorName, segment);
+            } catch (UnableToClaimTokenException e) {
+                unclaimedSegments.add(segment);
+            }
+        }
+        if (!unclaimedSegments.isEmpty()) {
+            throw new UnableToExtendClaimsException(
+                    "Unable to extend the claims on the tokens for processor '" + processorName + unclaimedSegments
+                            + "'. They are either claimed by another process, or there is no such token.",
+                    unclaimedSegments.stream().mapToInt(Integer::intValue).toArray()
+            );
+        }
+    }
+
     /**
      * Release a claim of the token for given {@code processorName} and {@code segment}. If no such claim existed,
      * nothing happens.
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling.tokenstore;
+
+/**
+ * Exception indicating that the claims on the tokens of one or more segments could not be extended through {@link
+ * TokenStore#extendClaims(String, int[])}, as these tokens have been claimed by another process, or do not exist. The
+ * segments of which the claim could not be extended are available through {@link #getSegments()}, allowing processors
+ * to release just those segments.
+ *
+ * @since 4.5
+ */
+public class UnableToExtendClaimsException extends UnableToClaimTokenException {
+
+    private static final long serialVersionUID = -5366364392437546154L;
+
+    private final int[] segments;
+
+    /**
+     * Initialize the exception with given {@code message} and the {@code segments} of which the claim could not be
+     * extended.
+     *
+     * @param message  The message describing the exception
+     * @param segments The segments of which the claim could not be extended
+     */
+    public UnableToExtendClaimsException(String message, int[] segments) {
+        super(message);
+        this.segments = segments.clone();
+    }
+
+    /**
+     * Returns the segments of which the claim could not be extended.
+     *
+     * @return the segments of which the claim could not be extended
+     */
+    public int[] getSegments() {
+        return segments.clone();
+    }
+}
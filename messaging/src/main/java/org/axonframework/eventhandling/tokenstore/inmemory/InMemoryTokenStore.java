@@ -20,9 +20,11 @@
 import org.axonframework.eventhandling.TrackingToken;
 import org.axonframework.eventhandling.tokenstore.TokenStore;
 import org.axonframework.eventhandling.tokenstore.UnableToClaimTokenException;
+import org.axonframework.eventhandling.tokenstore.UnableToExtendClaimsException;
 import org.axonframework.eventhandling.tokenstore.UnableToInitializeTokenException;
 import org.axonframework.messaging.unitofwork.CurrentUnitOfWork;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -68,6 +70,20 @@ public void storeToken(TrackingToken token, String processorName, int segment) {
         }
     }
 
+    @Override
+    public void storeTokens(Map<Integer, TrackingToken> tokens, String processorName) {
+        if (CurrentUnitOfWork.isStarted()) {
+            CurrentUnitOfWork.get().afterCommit(uow -> doStoreTokens(tokens, processorName));
+        } else {
+            doStoreTokens(tokens, processorName);
+        }
+    }
+
+    private void doStoreTokens(Map<Integer, TrackingToken> tokens, String processorName) {
+        tokens.forEach((segment, token) -> this.tokens.put(new ProcessAndSegment(processorName, segment),
+                                                           getOrDefault(token, NULL_TOKEN)));
+    }
+
     @Override
     public TrackingToken fetchToken(String processorName, int segment) {
         TrackingToken trackingToken = tokens.get(new ProcessAndSegment(processorName, segment));
@@ -79,6 +95,21 @@ public TrackingToken fetchToken(String processorName, int segment) {
         return trackingToken;
     }
 
+    @Override
+    public void extendClaims(String processorName, int[] segments) throws UnableToClaimTokenException {
+        int[] missingSegments = Arrays.stream(segments)
+                                      .filter(segment -> !tokens.containsKey(
+                                              new ProcessAndSegment(processorName, segment)
+                                      ))
+                                      .toArray();
+        if (missingSegments.length > 0) {
+            throw new UnableToExtendClaimsException(
+                    "No token was initialized for segments " + Arrays.toString(missingSegments)
+                            + " for processor " + processorName, missingSegments
+            );
+        }
+    }
+
     @Override
     public void releaseClaim(String processorName, int segment) {
         // no-op, the in-memory implementation isn't accessible by multiple processes
@@ -25,6 +25,7 @@
 import org.axonframework.eventhandling.tokenstore.GenericTokenEntry;
 import org.axonframework.eventhandling.tokenstore.TokenStore;
 import org.axonframework.eventhandling.tokenstore.UnableToClaimTokenException;
+import org.axonframework.eventhandling.tokenstore.UnableToExtendClaimsException;
 import org.axonframework.eventhandling.tokenstore.UnableToInitializeTokenException;
 import org.axonframework.eventhandling.tokenstore.UnableToRetrieveIdentifierException;
 import org.axonframework.serialization.SerializedObject;
@@ -40,10 +41,14 @@
 import java.sql.SQLException;
 import java.time.Duration;
 import java.time.temporal.TemporalAmount;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
 
 import static java.lang.String.format;
@@ -229,27 +234,61 @@ public void storeToken(TrackingToken token, String processorName, int segment) t
             );
 
             if (updatedToken == 0) {
-                logger.debug("Could not update token [{}] for processor [{}] and segment [{}]. "
-                                     + "Trying load-then-save approach instead.",
-                             token, processorName, segment);
-                executeQuery(
-                        connection,
-                        c -> selectForUpdate(c, processorName, segment),
-                        resultSet -> {
-                            updateToken(connection, resultSet, token, processorName, segment);
-                            return null;
-                        },
-                        e -> new JdbcException(format(
-                                "Could not store token [%s] for processor [%s] and segment [%d]",
-                                token, processorName, segment
-                        ), e)
+                loadAndStoreToken(connection, token, processorName, segment);
+            }
+        } finally {
+            closeQuietly(connection);
+        }
+    }
+
+    @Override
+    public void storeTokens(Map<Integer, TrackingToken> tokens, String processorName)
+            throws UnableToClaimTokenException {
+        if (tokens.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Integer, TrackingToken>> entries = new ArrayList<>(tokens.entrySet());
+        Connection connection = getConnection();
+        try {
+            int[] updatedTokens;
+            try (PreparedStatement preparedStatement = storeUpdates(connection, entries, processorName)) {
+                updatedTokens = preparedStatement.executeBatch();
+            } catch (SQLException e) {
+                throw new JdbcException(
+                        format("Could not store tokens for processor [%s] and segments %s",
+                               processorName, tokens.keySet()), e
                 );
             }
+            for (int i = 0; i < entries.size(); i++) {
+                if (updatedTokens[i] == 0) {
+                    Map.Entry<Integer, TrackingToken> entry = entries.get(i);
+                    loadAndStoreToken(connection, entry.getValue(), processorName, entry.getKey());
+                }
+            }
         } finally {
             closeQuietly(connection);
         }
     }
 
+    private void loadAndStoreToken(Connection connection, TrackingToken token, String processorName, int segment) {
+        logger.debug("Could not update token [{}] for processor [{}] and segment [{}]. "
+                             + "Trying load-then-save approach instead.",
+                     token, processorName, segment);
+        executeQuery(
+                connection,
+                c -> selectForUpdate(c, processorName, segment),
+                resultSet -> {
+                    updateToken(connection, resultSet, token, processorName, segment);
+                    return null;
+                },
+                e -> new JdbcException(format(
+                        "Could not store token [%s] for processor [%s] and segment [%d]",
+                        token, processorName, segment
+                ), e),
+                false
+        );
+    }
+
     @Override
     public TrackingToken fetchToken(String processorName, int segment) throws UnableToClaimTokenException {
         Connection connection = getConnection();
@@ -264,6 +303,62 @@ public TrackingToken fetchToken(String processorName, int segment) throws Unable
         }
     }
 
+    @Override
+    public Map<Integer, TrackingToken> claimTokens(String processorName, int[] segments) {
+        if (segments.length == 0) {
+            return Collections.emptyMap();
+        }
+        Connection connection = getConnection();
+        try {
+            return executeQuery(connection, c -> selectForUpdate(c, processorName, segments),
+                                resultSet -> claimTokens(connection, resultSet, processorName),
+                                e -> new JdbcException(
+                                        format("Could not load tokens for processor [%s] and segments %s",
+                                               processorName, Arrays.toString(segments)), e));
+        } finally {
+            closeQuietly(connection);
+        }
+    }
+
+    @Override
+    public void extendClaims(String processorName, int[] segments) throws UnableToClaimTokenException {
+        if (segments.length == 0) {
+            return;
+        }
+        Connection connection = getConnection();
+        try {
+            int updatedClaims = executeUpdate(
+                    connection,
+                    c -> extendClaims(c, processorName, segments),
+                    e -> new JdbcException(format(
+                            "Could not extend claims for processor [%s] and segments %s",
+                            processorName, Arrays.toString(segments)
+                    ), e)
+            );
+            if (updatedClaims < segments.length) {
+                List<Integer> claimedSegments = executeQuery(
+                        connection,
+                        c -> selectClaimedSegments(c, processorName, segments),
+                        listResults(rs -> rs.getInt(schema.segmentColumn())),
+                        e -> new JdbcException(format(
+                                "Could not load the claimed segments of processor [%s] and segments %s",
+                                processorName, Arrays.toString(segments)
+                        ), e)
+                );
+                int[] unclaimedSegments = Arrays.stream(segments)
+                                                .filter(segment -> !claimedSegments.contains(segment))
+                                                .toArray();
+                throw new UnableToExtendClaimsException(format(
+                        "Unable to extend the claims on the tokens for processor '%s%s'. They are either claimed by "
+                                + "another process, or there is no such token.",
+                        processorName, Arrays.toString(unclaimedSegments)
+                ), unclaimedSegments);
+            }
+        } finally {
+            closeQuietly(connection);
+        }
+    }
+
     @Override
     public void releaseClaim(String processorName, int segment) {
         Connection connection = getConnection();
@@ -372,6 +467,127 @@ protected PreparedStatement storeUpdate(Connection connection,
         return preparedStatement;
     }
 
+    /**
+     * Returns a batched {@link PreparedStatement} which updates each of the given {@code tokens} for the given {@code
+     * processorName}. Every entry in the batch updates the token of a single segment. The update count of each entry
+     * is expected to match the order of the given {@code tokens}.
+     *
+     * @param connection    the connection to the underlying database
+     * @param tokens        the segments and their new tokens to store
+     * @param processorName the name of the processor executing the update
+     * @return a batched {@link PreparedStatement} that will update the token entries when executed
+     * @throws SQLException when an exception occurs while creating the prepared statement
+     */
+    protected PreparedStatement storeUpdates(Connection connection,
+                                             List<Map.Entry<Integer, TrackingToken>> tokens,
+                                             String processorName) throws SQLException {
+        final String sql = "UPDATE " + schema.tokenTable() + " SET "
+                + schema.tokenColumn() + " = ?, "
+                + schema.tokenTypeColumn() + " = ?, "
+                + schema.timestampColumn() + " = ? "
+                + "WHERE " + schema.ownerColumn() + " = ? "
+                + "AND " + schema.processorNameColumn() + " = ? "
+                + "AND " + schema.segmentColumn() + " = ? ";
+        PreparedStatement preparedStatement = connection.prepareStatement(sql);
+        for (Map.Entry<Integer, TrackingToken> token : tokens) {
+            AbstractTokenEntry<?> tokenToStore = new GenericTokenEntry<>(
+                    token.getValue(), serializer, contentType, processorName, token.getKey()
+            );
+            preparedStatement.setObject(
+                    1, getOrDefault(tokenToStore.getSerializedToken(), SerializedObject::getData, null)
+            );
+            preparedStatement.setString(2, getOrDefault(tokenToStore.getTokenType(), SerializedType::getName, null));
+            preparedStatement.setString(3, tokenToStore.timestampAsString());
+            preparedStatement.setString(4, nodeId);
+            preparedStatement.setString(5, processorName);
+            preparedStatement.setInt(6, token.getKey());
+            preparedStatement.addBatch();
+        }
+        return preparedStatement;
+    }
+
+    /**
+     * Returns a {@link PreparedStatement} which updates the claim timestamp of all token entries of the given {@code
+     * processorName} and {@code segments} which are owned by this node.
+     *
+     * @param connection    the connection to the underlying database
+     * @param processorName the name of the processor to extend the claims for
+     * @param segments      the segments of the processor to extend the claims for
+     * @return a {@link PreparedStatement} that will extend the claims on the token entries when executed
+     * @throws SQLException when an exception occurs while creating the prepared statement
+     */
+    protected PreparedStatement extendClaims(Connection connection,
+                                             String processorName,
+                                             int[] segments) throws SQLException {
+        final String sql = "UPDATE " + schema.tokenTable() + " SET " + schema.timestampColumn() + " = ? "
+                + "WHERE " + schema.ownerColumn() + " = ? "
+                + "AND " + schema.processorNameColumn() + " = ? "
+                + "AND " + schema.segmentColumn() + " IN (" + parameterList(segments.length) + ")";
+        PreparedStatement preparedStatement = connection.prepareStatement(sql);
+        preparedStatement.setString(1, formatInstant(AbstractTokenEntry.clock.instant()));
+        preparedStatement.setString(2, nodeId);
+        preparedStatement.setString(3, processorName);
+        for (int i = 0; i < segments.length; i++) {
+            preparedStatement.setInt(4 + i, segments[i]);
+        }
+        return preparedStatement;
+    }
+
+    /**
+     * Returns a {@link PreparedStatement} to select those of the given {@code segments} of which the token entry is
+     * owned by this node.
+     *
+     * @param connection    the connection to the underlying database
+     * @param processorName the name of the processor to fetch the segments for
+     * @param segments      the segments of the processor to fetch the claimed segments from
+     * @return a {@link PreparedStatement} that will fetch the segments claimed by this node when executed
+     * @throws SQLException when an exception occurs while creating the prepared statement
+     */
+    protected PreparedStatement selectClaimedSegments(Connection connection,
+                                                      String processorName,
+                                                      int[] segments) throws SQLException {
+        final String sql = "SELECT " + schema.segmentColumn() + " FROM " + schema.tokenTable()
+                + " WHERE " + schema.ownerColumn() + " = ? "
+                + "AND " + schema.processorNameColumn() + " = ? "
+                + "AND " + schema.segmentColumn() + " IN (" + parameterList(segments.length) + ")";
+        PreparedStatement preparedStatement = connection.prepareStatement(sql);
+        preparedStatement.setString(1, nodeId);
+        preparedStatement.setString(2, processorName);
+        for (int i = 0; i < segments.length; i++) {
+            preparedStatement.setInt(3 + i, segments[i]);
+        }
+        return preparedStatement;
+    }
+
+    /**
+     * Returns a {@link PreparedStatement} to select the token entries of the given {@code segments} from the
+     * underlying storage, locking the selected rows for update.
+     *
+     * @param connection    the connection to the underlying database
+     * @param processorName the name of the processor to fetch the entries for
+     * @param segments      the segments of the processor to fetch the entries for
+     * @return a {@link PreparedStatement} that will fetch the token entries for update when executed
+     * @throws SQLException when an exception occurs while creating the prepared statement
+     */
+    protected PreparedStatement selectForUpdate(Connection connection, String processorName,
+                                                int[] segments) throws SQLException {
+        final String sql = "SELECT " +
+                String.join(", ", schema.processorNameColumn(), schema.segmentColumn(), schema.tokenColumn(),
+                            schema.tokenTypeColumn(), schema.timestampColumn(), schema.ownerColumn()) + " FROM " +
+                schema.tokenTable() + " WHERE " + schema.processorNameColumn() + " = ? AND " + schema.segmentColumn() +
+                " IN (" + parameterList(segments.length) + ") FOR UPDATE";
+        PreparedStatement preparedStatement = connection.prepareStatement(sql);
+        preparedStatement.setString(1, processorName);
+        for (int i = 0; i < segments.length; i++) {
+            preparedStatement.setInt(2 + i, segments[i]);
+        }
+        return preparedStatement;
+    }
+
+    private static String parameterList(int size) {
+        return String.join(",", Collections.nCopies(size, "?"));
+    }
+
     /**
      * Returns a {@link PreparedStatement} to select a token entry from the underlying storage. The {@link ResultSet}
      * that is returned when this statement is executed should be updatable.
@@ -403,7 +619,7 @@ protected PreparedStatement select(Connection connection, String processorName,
                                        int segment, boolean forUpdate) throws SQLException {
         final String sql = "SELECT " +
                 String.join(", ", schema.processorNameColumn(), schema.segmentColumn(), schema.tokenColumn(),
-                            schema.tokenTypeColumn(), schema.timestampColumn(), schema.ownerColum()) + " FROM " +
+                            schema.tokenTypeColumn(), schema.timestampColumn(), schema.ownerColumn()) + " FROM " +
                 schema.tokenTable() + " WHERE " + schema.processorNameColumn() + " = ? AND " + schema.segmentColumn() +
                 " = ? " + (forUpdate ? "FOR UPDATE" : "");
         PreparedStatement preparedStatement = connection.prepareStatement(sql);
@@ -426,7 +642,7 @@ protected PreparedStatement select(Connection connection, String processorName,
      */
     protected void updateToken(Connection connection, ResultSet resultSet, TrackingToken token, String processorName,
                                int segment) throws SQLException {
-        final String sql = "UPDATE " + schema.tokenTable() + " SET " + schema.ownerColum() + " = ?, " +
+        final String sql = "UPDATE " + schema.tokenTable() + " SET " + schema.ownerColumn() + " = ?, " +
                 schema.tokenColumn() + " = ?, " + schema.tokenTypeColumn() + " = ?, " + schema.timestampColumn() +
                 " = ? WHERE " + schema.processorNameColumn() + " = ? AND " + schema.segmentColumn() + " = ?";
         if (resultSet.next()) {
@@ -469,7 +685,7 @@ protected void updateToken(Connection connection, ResultSet resultSet, TrackingT
      * @throws SQLException                when an exception occurs while claiming the token entry
      */
     protected TrackingToken claimToken(Connection connection, AbstractTokenEntry<?> entry) throws SQLException {
-        final String sql = "UPDATE " + schema.tokenTable() + " SET " + schema.ownerColum() + " = ?, " +
+        final String sql = "UPDATE " + schema.tokenTable() + " SET " + schema.ownerColumn() + " = ?, " +
                 schema.timestampColumn() + " = ? WHERE " + schema.processorNameColumn() + " = ? AND " +
                 schema.segmentColumn() + " = ?";
         if (!entry.claim(nodeId, claimTimeout)) {
@@ -493,6 +709,52 @@ protected TrackingToken claimToken(Connection connection, AbstractTokenEntry<?>
         return entry.getToken(serializer);
     }
 
+    /**
+     * Tries to claim all token entries contained in the given {@code resultSet}. Entries that are owned by another node
+     * are skipped. The claims on all other entries are registered with a single update statement.
+     *
+     * @param connection    the connection to the underlying database
+     * @param resultSet     the result set of a prior select for update query, containing the entries to claim
+     * @param processorName the name of the processor owning the tokens
+     * @return the tracking tokens of the claimed entries, mapped by their segment
+     * @throws SQLException when an exception occurs while claiming the token entries
+     */
+    protected Map<Integer, TrackingToken> claimTokens(Connection connection, ResultSet resultSet,
+                                                      String processorName) throws SQLException {
+        Map<Integer, TrackingToken> claimedTokens = new TreeMap<>();
+        List<AbstractTokenEntry<?>> claimedEntries = new ArrayList<>();
+        while (resultSet.next()) {
+            AbstractTokenEntry<?> entry = readTokenEntry(resultSet);
+            if (entry.claim(nodeId, claimTimeout)) {
+                claimedEntries.add(entry);
+            } else {
+                logger.debug("Unable to claim token '{}[{}]'. It is owned by '{}'",
+                             processorName, entry.getSegment(), entry.getOwner());
+            }
+        }
+        if (claimedEntries.isEmpty()) {
+            return claimedTokens;
+        }
+
+        final String sql = "UPDATE " + schema.tokenTable() + " SET " + schema.ownerColumn() + " = ?, " +
+                schema.timestampColumn() + " = ? WHERE " + schema.processorNameColumn() + " = ? AND " +
+                schema.segmentColumn() + " IN (" + parameterList(claimedEntries.size()) + ")";
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setString(1, nodeId);
+            preparedStatement.setString(2, formatInstant(AbstractTokenEntry.clock.instant()));
+            preparedStatement.setString(3, processorName);
+            for (int i = 0; i < claimedEntries.size(); i++) {
+                preparedStatement.setInt(4 + i, claimedEntries.get(i).getSegment());
+            }
+            preparedStatement.executeUpdate();
+        }
+
+        for (AbstractTokenEntry<?> entry : claimedEntries) {
+            claimedTokens.put(entry.getSegment(), entry.getToken(serializer));
+        }
+        return claimedTokens;
+    }
+
     /**
      * Tries loading an existing token owned by a processor with given {@code processorName} and {@code segment}. If
      * such a token entry exists an attempt will be made to claim the token. If that succeeds the token will be
@@ -533,7 +795,7 @@ protected TrackingToken insertTokenEntry(Connection connection, TrackingToken to
                                              int segment) throws SQLException {
         final String sql = "INSERT INTO " + schema.tokenTable() + " (" + schema.processorNameColumn() + "," +
                 schema.segmentColumn() + "," + schema.timestampColumn() + "," + schema.tokenColumn() + "," +
-                schema.tokenTypeColumn() + "," + schema.ownerColum() + ") VALUES (?,?,?,?,?,?)";
+                schema.tokenTypeColumn() + "," + schema.ownerColumn() + ") VALUES (?,?,?,?,?,?)";
         AbstractTokenEntry<?> entry = new GenericTokenEntry<>(token, serializer, contentType, processorName, segment);
 
         try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
@@ -560,7 +822,7 @@ protected AbstractTokenEntry<?> readTokenEntry(ResultSet resultSet) throws SQLEx
         return new GenericTokenEntry<>(readSerializedData(resultSet, schema.tokenColumn()),
                                        resultSet.getString(schema.tokenTypeColumn()),
                                        resultSet.getString(schema.timestampColumn()),
-                                       resultSet.getString(schema.ownerColum()),
+                                       resultSet.getString(schema.ownerColumn()),
                                        resultSet.getString(schema.processorNameColumn()),
                                        resultSet.getInt(schema.segmentColumn()), contentType);
     }
@@ -578,9 +840,9 @@ protected AbstractTokenEntry<?> readTokenEntry(ResultSet resultSet) throws SQLEx
     protected PreparedStatement releaseClaim(Connection connection, String processorName,
                                              int segment) throws SQLException {
         final String sql =
-                "UPDATE " + schema.tokenTable() + " SET " + schema.ownerColum() + " = ?, " + schema.timestampColumn() +
+                "UPDATE " + schema.tokenTable() + " SET " + schema.ownerColumn() + " = ?, " + schema.timestampColumn() +
                         " = ? WHERE " + schema.processorNameColumn() + " = ? AND " + schema.segmentColumn() +
-                        " = ? AND " + schema.ownerColum() + " = ?";
+                        " = ? AND " + schema.ownerColumn() + " = ?";
         PreparedStatement preparedStatement = connection.prepareStatement(sql);
         preparedStatement.setString(1, null);
         preparedStatement.setString(2, formatInstant(AbstractTokenEntry.clock.instant()));
@@ -605,7 +867,7 @@ protected PreparedStatement deleteToken(Connection connection, String processorN
         final String sql =
                 "DELETE FROM " + schema.tokenTable() +
                         " WHERE " + schema.processorNameColumn() + " = ? AND " + schema.segmentColumn() +
-                        " = ? AND " + schema.ownerColum() + " = ?";
+                        " = ? AND " + schema.ownerColumn() + " = ?";
         PreparedStatement preparedStatement = connection.prepareStatement(sql);
         preparedStatement.setString(1, processorName);
         preparedStatement.setInt(2, segment);
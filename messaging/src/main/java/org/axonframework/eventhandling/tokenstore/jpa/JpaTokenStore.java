@@ -22,6 +22,7 @@
 import org.axonframework.eventhandling.tokenstore.ConfigToken;
 import org.axonframework.eventhandling.tokenstore.TokenStore;
 import org.axonframework.eventhandling.tokenstore.UnableToClaimTokenException;
+import org.axonframework.eventhandling.tokenstore.UnableToExtendClaimsException;
 import org.axonframework.eventhandling.tokenstore.UnableToInitializeTokenException;
 import org.axonframework.eventhandling.tokenstore.UnableToRetrieveIdentifierException;
 import org.axonframework.serialization.SerializedObject;
@@ -35,11 +36,16 @@
 import java.lang.management.ManagementFactory;
 import java.time.Duration;
 import java.time.temporal.TemporalAmount;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 import static org.axonframework.common.BuilderUtils.assertNonNull;
@@ -217,6 +223,86 @@ public void extendClaim(String processorName, int segment) throws UnableToClaimT
         }
     }
 
+    @Override
+    public Map<Integer, TrackingToken> claimTokens(String processorName, int[] segments) {
+        if (segments.length == 0) {
+            return Collections.emptyMap();
+        }
+        EntityManager entityManager = entityManagerProvider.getEntityManager();
+        Map<Integer, TrackingToken> claimedTokens = new TreeMap<>();
+        for (TokenEntry token : loadTokens(processorName, segments, entityManager)) {
+            if (token.claim(nodeId, claimTimeout)) {
+                claimedTokens.put(token.getSegment(), token.getToken(serializer));
+            } else {
+                logger.debug("Unable to claim token '{}[{}]'. It is owned by '{}'",
+                             processorName, token.getSegment(), token.getOwner());
+            }
+        }
+        return claimedTokens;
+    }
+
+    @Override
+    public void storeTokens(Map<Integer, TrackingToken> tokens, String processorName)
+            throws UnableToClaimTokenException {
+        if (tokens.isEmpty()) {
+            return;
+        }
+        EntityManager entityManager = entityManagerProvider.getEntityManager();
+        int[] segments = tokens.keySet().stream().mapToInt(Integer::intValue).toArray();
+        Map<Integer, TokenEntry> tokenEntries = new HashMap<>();
+        loadTokens(processorName, segments, entityManager).forEach(entry -> tokenEntries.put(entry.getSegment(), entry));
+        tokens.forEach((segment, token) -> {
+            TokenEntry tokenEntry = tokenEntries.get(segment);
+            if (tokenEntry == null) {
+                throw new UnableToClaimTokenException(
+                        format("Unable to claim token '%s[%s]'. It has not been initialized yet", processorName,
+                               segment));
+            } else if (!tokenEntry.claim(nodeId, claimTimeout)) {
+                throw new UnableToClaimTokenException(
+                        format("Unable to claim token '%s[%s]'. It is owned by '%s'", processorName,
+                               segment, tokenEntry.getOwner()));
+            }
+            tokenEntry.updateToken(token, serializer);
+        });
+    }
+
+    @Override
+    public void extendClaims(String processorName, int[] segments) throws UnableToClaimTokenException {
+        if (segments.length == 0) {
+            return;
+        }
+        EntityManager entityManager = entityManagerProvider.getEntityManager();
+        int updates = entityManager.createQuery("UPDATE TokenEntry te SET te.timestamp = :timestamp " +
+                                                        "WHERE te.processorName = :processorName " +
+                                                        "AND te.segment IN :segments " +
+                                                        "AND te.owner = :owner")
+                                   .setParameter("processorName", processorName)
+                                   .setParameter("segments", asList(segments))
+                                   .setParameter("owner", nodeId)
+                                   .setParameter("timestamp", formatInstant(TokenEntry.clock.instant()))
+                                   .executeUpdate();
+
+        if (updates < segments.length) {
+            List<Integer> claimedSegments = entityManager.createQuery(
+                    "SELECT te.segment FROM TokenEntry te "
+                            + "WHERE te.processorName = :processorName "
+                            + "AND te.segment IN :segments "
+                            + "AND te.owner = :owner",
+                    Integer.class
+            ).setParameter("processorName", processorName)
+             .setParameter("segments", asList(segments))
+             .setParameter("owner", nodeId)
+             .getResultList();
+            int[] unclaimedSegments = Arrays.stream(segments)
+                                            .filter(segment -> !claimedSegments.contains(segment))
+                                            .toArray();
+            throw new UnableToExtendClaimsException("Unable to extend the claims on the tokens for processor '" +
+                                                            processorName + Arrays.toString(unclaimedSegments) +
+                                                            "'. They are either claimed by another process, or " +
+                                                            "there is no such token.", unclaimedSegments);
+        }
+    }
+
     @Override
     public int[] fetchSegments(String processorName) {
         EntityManager entityManager = entityManagerProvider.getEntityManager();
@@ -257,6 +343,31 @@ protected TokenEntry loadToken(String processorName, int segment, EntityManager
         return token;
     }
 
+    /**
+     * Loads the existing {@link TokenEntry TokenEntries} of the given {@code processorName} and {@code segments} in a
+     * single query, using the configured loading {@link LockModeType}. Segments without a token entry are not part of
+     * the result. Contrary to {@link #loadToken(String, int, EntityManager)}, the returned entries are not claimed.
+     *
+     * @param processorName the name of the event processor
+     * @param segments      the segments of the event processor
+     * @param entityManager the entity manager instance to use for the query
+     * @return the token entries for the given processor name and segments
+     */
+    protected List<TokenEntry> loadTokens(String processorName, int[] segments, EntityManager entityManager) {
+        return entityManager.createQuery("SELECT te FROM TokenEntry te "
+                                                 + "WHERE te.processorName = :processorName "
+                                                 + "AND te.segment IN :segments",
+                                         TokenEntry.class)
+                            .setParameter("processorName", processorName)
+                            .setParameter("segments", asList(segments))
+                            .setLockMode(loadingLockMode)
+                            .getResultList();
+    }
+
+    private static List<Integer> asList(int[] segments) {
+        return Arrays.stream(segments).boxed().collect(Collectors.toList());
+    }
+
     @Override
     public Optional<String> retrieveStorageIdentifier() {
         try {
@@ -16,11 +16,13 @@
 
 package org.axonframework.serialization.json;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.axonframework.serialization.CannotConvertBetweenTypesException;
 import org.axonframework.serialization.ContentTypeConverter;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 
 /**
@@ -32,9 +34,11 @@
 public class ByteArrayToJsonNodeConverter implements ContentTypeConverter<byte[],JsonNode> {
 
     private final ObjectMapper objectMapper;
+    private final JsonFactory jsonFactory = new JsonFactory();
 
     /**
-     * Initialize the Converter, using given {@code objectMapper} to parse the binary contents
+     * Initialize the Converter, using given {@code objectMapper} to parse the binary contents. If the {@code
+     * objectMapper} reads a binary format, contents in JSON format are detected and parsed as well.
      *
      * @param objectMapper the Jackson ObjectMapper to parse the byte array with
      */
@@ -55,7 +59,11 @@ public Class<JsonNode> targetType() {
     @Override
     public JsonNode convert(byte[] original) {
         try {
-            return objectMapper.readTree(original);
+            if (!objectMapper.getFactory().canHandleBinaryNatively()) {
+                return objectMapper.readTree(original);
+            }
+            return JacksonSerializer.withJsonDetection(objectMapper.reader(), jsonFactory)
+                                    .readTree(new ByteArrayInputStream(original));
         } catch (IOException e) {
             throw new CannotConvertBetweenTypesException("An error occurred while converting a JsonNode to byte[]", e);
         }
@@ -16,6 +16,7 @@
 
 package org.axonframework.serialization.json;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -48,6 +49,11 @@
  * Serializer implementation that uses Jackson to serialize objects into a JSON format. Although the Jackson serializer
  * requires classes to be compatible with this specific serializer, it providers much more compact serialization, while
  * still being human readable.
+ * <p>
+ * When configured with an {@link ObjectMapper} for a binary format, like Smile through {@code new ObjectMapper(new
+ * SmileFactory())}, objects are serialized into that format instead, producing smaller and faster to parse data. Data
+ * serialized as JSON before switching to the binary format remains readable, as the format of {@code byte[]} based
+ * data is detected upon deserialization.
  *
  * @author Allard Buijze
  * @since 2.2
@@ -57,6 +63,7 @@ public class JacksonSerializer implements Serializer {
     private final RevisionResolver revisionResolver;
     private final Converter converter;
     private final ObjectMapper objectMapper;
+    private final JsonFactory jsonFactory = new JsonFactory();
 
     /**
      * Instantiate a Builder to be able to create a {@link JacksonSerializer}.
@@ -199,12 +206,28 @@ public <S, T> T deserialize(SerializedObject<S> serializedObject) {
                         .readValue((JsonNode) serializedObject.getData());
             }
             SerializedObject<byte[]> byteSerialized = converter.convert(serializedObject, byte[].class);
-            return getReader(type).readValue(byteSerialized.getData());
+            return withJsonDetection(getReader(type), jsonFactory).readValue(byteSerialized.getData());
         } catch (IOException e) {
             throw new SerializationException("Error while deserializing object", e);
         }
     }
 
+    /**
+     * Returns a reader detecting whether data is in the format of the given {@code reader} or in JSON, if the given
+     * {@code reader} reads a binary format. Otherwise, the given {@code reader} is returned as is.
+     *
+     * @param reader      the reader to detect the format for
+     * @param jsonFactory the factory to parse data detected to be JSON with
+     * @return a reader reading both the format of the given {@code reader} and JSON
+     */
+    static ObjectReader withJsonDetection(ObjectReader reader, JsonFactory jsonFactory) {
+        if (!reader.getFactory().canHandleBinaryNatively()) {
+            return reader;
+        }
+        // the binary format takes precedence when both formats match equally well
+        return reader.withFormatDetection(reader, reader.with(jsonFactory));
+    }
+
     @Override
     public Class classForType(SerializedType type) {
         if (SimpleSerializedType.emptyType().equals(type)) {
@@ -303,6 +326,11 @@ public Builder converter(Converter converter) {
         /**
          * Sets the {@link ObjectMapper} used to serialize and parse the objects to JSON. This ObjectMapper allows for
          * customization of the serialized form. Defaults to the output of {@link ObjectMapper#ObjectMapper()}.
+         * <p>
+         * An ObjectMapper for a binary format, like {@code new ObjectMapper(new SmileFactory())}, may be provided to
+         * serialize objects into that format instead of JSON. Data previously serialized as JSON is still read, as
+         * long as the binary format can be told apart from JSON. For Smile this requires the (default enabled)
+         * header, for CBOR the self-describe tag written when enabling {@code CBORGenerator.Feature.WRITE_TYPE_HEADER}.
          *
          * @param objectMapper an {@link ObjectMapper} used to serialize and parse the objects to JSON
          * @return the current Builder instance, for fluent interfacing
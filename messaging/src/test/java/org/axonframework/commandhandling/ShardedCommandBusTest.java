@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.commandhandling;
+
+import org.axonframework.commandhandling.distributed.RoutingStrategy;
+import org.axonframework.common.AxonConfigurationException;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.axonframework.commandhandling.GenericCommandMessage.asCommandMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class validating the {@link ShardedCommandBus}.
+ */
+class ShardedCommandBusTest {
+
+    private static final RoutingStrategy PAYLOAD_ROUTING = command -> command.getPayload().toString();
+
+    private ShardedCommandBus testSubject;
+
+    @AfterEach
+    void tearDown() {
+        if (testSubject != null) {
+            testSubject.shutdown();
+        }
+    }
+
+    @Test
+    @Timeout(value = 10)
+    void testCommandsWithSameRoutingKeyAreHandledSequentiallyBySameThread() throws InterruptedException {
+        testSubject = ShardedCommandBus.builder().routingStrategy(PAYLOAD_ROUTING).shardCount(4).build();
+        Map<Object, Thread> handlingThreads = new ConcurrentHashMap<>();
+        List<String> failures = new CopyOnWriteArrayList<>();
+        CountDownLatch handled = new CountDownLatch(100);
+        testSubject.subscribe(String.class.getName(), command -> {
+            Thread previous = handlingThreads.putIfAbsent(command.getPayload(), Thread.currentThread());
+            if (previous != null && previous != Thread.currentThread()) {
+                failures.add("Command " + command.getPayload() + " handled by multiple threads");
+            }
+            return null;
+        });
+
+        for (int i = 0; i < 100; i++) {
+            testSubject.dispatch(asCommandMessage("aggregate-" + (i % 10)), (command, result) -> handled.countDown());
+        }
+
+        assertTrue(handled.await(5, TimeUnit.SECONDS));
+        assertTrue(failures.isEmpty(), () -> String.join(", ", failures));
+        assertNotEquals(Thread.currentThread(), handlingThreads.get("aggregate-0"));
+    }
+
+    @Test
+    @Timeout(value = 10)
+    void testCommandDispatchedToOwnShardIsHandledDirectly() throws InterruptedException {
+        testSubject = ShardedCommandBus.builder().routingStrategy(PAYLOAD_ROUTING).shardCount(1).build();
+        Map<Object, Thread> handlingThreads = new ConcurrentHashMap<>();
+        CountDownLatch handled = new CountDownLatch(1);
+        testSubject.subscribe(String.class.getName(), command -> {
+            handlingThreads.put(command.getPayload(), Thread.currentThread());
+            if ("outer".equals(command.getPayload())) {
+                CountDownLatch innerHandled = new CountDownLatch(1);
+                testSubject.dispatch(asCommandMessage("inner"), (c, result) -> innerHandled.countDown());
+                return innerHandled.await(1, TimeUnit.SECONDS);
+            }
+            return null;
+        });
+
+        List<Object> results = new CopyOnWriteArrayList<>();
+        testSubject.dispatch(asCommandMessage("outer"), (command, result) -> {
+            results.add(result.getPayload());
+            handled.countDown();
+        });
+
+        assertTrue(handled.await(5, TimeUnit.SECONDS));
+        assertEquals(Boolean.TRUE, results.get(0));
+        assertEquals(handlingThreads.get("outer"), handlingThreads.get("inner"));
+    }
+
+    @Test
+    @Timeout(value = 10)
+    void testQueueDepthReflectsWaitingCommands() throws InterruptedException {
+        testSubject = ShardedCommandBus.builder().routingStrategy(PAYLOAD_ROUTING).shardCount(1).build();
+        CountDownLatch handlerStarted = new CountDownLatch(1);
+        CountDownLatch releaseHandler = new CountDownLatch(1);
+        CountDownLatch handled = new CountDownLatch(3);
+        testSubject.subscribe(String.class.getName(), command -> {
+            handlerStarted.countDown();
+            releaseHandler.await();
+            return null;
+        });
+
+        for (int i = 0; i < 3; i++) {
+            testSubject.dispatch(asCommandMessage("aggregate"), (command, result) -> handled.countDown());
+        }
+        assertTrue(handlerStarted.await(5, TimeUnit.SECONDS));
+
+        assertEquals(2, testSubject.queueDepth(0));
+        assertEquals(2, testSubject.totalQueueDepth());
+        releaseHandler.countDown();
+        assertTrue(handled.await(5, TimeUnit.SECONDS));
+        assertEquals(0, testSubject.totalQueueDepth());
+    }
+
+    @Test
+    @Timeout(value = 10)
+    void testDispatchBlocksWhenMailboxIsFull() throws InterruptedException {
+        testSubject = ShardedCommandBus.builder()
+                                       .routingStrategy(PAYLOAD_ROUTING)
+                                       .shardCount(1)
+                                       .queueCapacity(1)
+                                       .build();
+        CountDownLatch handlerStarted = new CountDownLatch(1);
+        CountDownLatch releaseHandler = new CountDownLatch(1);
+        testSubject.subscribe(String.class.getName(), command -> {
+            handlerStarted.countDown();
+            releaseHandler.await();
+            return null;
+        });
+        testSubject.dispatch(asCommandMessage("aggregate"));
+        assertTrue(handlerStarted.await(5, TimeUnit.SECONDS));
+        testSubject.dispatch(asCommandMessage("aggregate"));
+
+        CountDownLatch dispatched = new CountDownLatch(1);
+        Thread dispatcher = new Thread(() -> {
+            testSubject.dispatch(asCommandMessage("aggregate"));
+            dispatched.countDown();
+        });
+        dispatcher.start();
+
+        assertFalse(dispatched.await(200, TimeUnit.MILLISECONDS));
+        releaseHandler.countDown();
+        assertTrue(dispatched.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @Timeout(value = 10)
+    void testFailureToResolveRoutingKeyIsReportedToCallback() throws InterruptedException {
+        IllegalArgumentException failure = new IllegalArgumentException("No routing key");
+        testSubject = ShardedCommandBus.builder().routingStrategy(command -> {
+            throw failure;
+        }).build();
+        testSubject.subscribe(String.class.getName(), command -> "ok");
+        CountDownLatch handled = new CountDownLatch(1);
+        List<CommandResultMessage<?>> results = new CopyOnWriteArrayList<>();
+
+        testSubject.dispatch(asCommandMessage("aggregate"), (command, result) -> {
+            results.add(result);
+            handled.countDown();
+        });
+
+        assertTrue(handled.await(5, TimeUnit.SECONDS));
+        assertTrue(results.get(0).isExceptional());
+        assertSame(failure, results.get(0).exceptionResult());
+    }
+
+    @Test
+    @Timeout(value = 10)
+    void testCommandsAreRejectedAfterShutdown() throws InterruptedException {
+        testSubject = ShardedCommandBus.builder().routingStrategy(PAYLOAD_ROUTING).build();
+        testSubject.subscribe(String.class.getName(), command -> "ok");
+        testSubject.shutdown();
+        CountDownLatch handled = new CountDownLatch(1);
+        List<CommandResultMessage<?>> results = new CopyOnWriteArrayList<>();
+
+        testSubject.dispatch(asCommandMessage("aggregate"), (command, result) -> {
+            results.add(result);
+            handled.countDown();
+        });
+
+        assertTrue(handled.await(5, TimeUnit.SECONDS));
+        assertTrue(results.get(0).exceptionResult() instanceof IllegalStateException);
+    }
+
+    @Test
+    @Timeout(value = 10)
+    void testCommandsAreRejectedWhenShardThreadHasStopped() throws InterruptedException {
+        List<Thread> shardThreads = new CopyOnWriteArrayList<>();
+        testSubject = ShardedCommandBus.builder()
+                                       .routingStrategy(PAYLOAD_ROUTING)
+                                       .shardCount(1)
+                                       .queueCapacity(1)
+                                       .threadFactory(runnable -> {
+                                           Thread thread = new Thread(runnable);
+                                           shardThreads.add(thread);
+                                           return thread;
+                                       })
+                                       .build();
+        testSubject.subscribe(String.class.getName(), command -> "ok");
+        shardThreads.get(0).interrupt();
+        shardThreads.get(0).join(5000);
+        CountDownLatch handled = new CountDownLatch(2);
+        List<CommandResultMessage<?>> results = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < 2; i++) {
+            testSubject.dispatch(asCommandMessage("aggregate"), (command, result) -> {
+                results.add(result);
+                handled.countDown();
+            });
+        }
+
+        assertTrue(handled.await(5, TimeUnit.SECONDS));
+        assertTrue(results.get(0).exceptionResult() instanceof IllegalStateException);
+        assertTrue(results.get(1).exceptionResult() instanceof IllegalStateException);
+        assertEquals(0, testSubject.totalQueueDepth());
+    }
+
+    @Test
+    @Timeout(value = 15)
+    void testShutdownInterruptsShardThreadsThatDoNotCompleteAndRejectsRemainingCommands()
+            throws InterruptedException {
+        testSubject = ShardedCommandBus.builder().routingStrategy(PAYLOAD_ROUTING).shardCount(1).build();
+        CountDownLatch handlerStarted = new CountDownLatch(1);
+        CountDownLatch neverReleased = new CountDownLatch(1);
+        testSubject.subscribe(String.class.getName(), command -> {
+            handlerStarted.countDown();
+            neverReleased.await();
+            return null;
+        });
+        CountDownLatch handled = new CountDownLatch(2);
+        List<CommandResultMessage<?>> results = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            testSubject.dispatch(asCommandMessage("aggregate"), (command, result) -> {
+                results.add(result);
+                handled.countDown();
+            });
+        }
+        assertTrue(handlerStarted.await(5, TimeUnit.SECONDS));
+
+        testSubject.shutdown();
+
+        assertTrue(handled.await(5, TimeUnit.SECONDS));
+        assertTrue(results.stream().anyMatch(r -> r.exceptionResult() instanceof InterruptedException));
+        assertTrue(results.stream().anyMatch(r -> r.exceptionResult() instanceof IllegalStateException));
+        assertEquals(0, testSubject.totalQueueDepth());
+    }
+
+    @Test
+    void testBuilderRejectsIllegalValues() {
+        ShardedCommandBus.Builder builderTestSubject = ShardedCommandBus.builder();
+
+        assertThrows(AxonConfigurationException.class, () -> builderTestSubject.shardCount(0));
+        assertThrows(AxonConfigurationException.class, () -> builderTestSubject.queueCapacity(0));
+        assertThrows(AxonConfigurationException.class, () -> builderTestSubject.routingStrategy(null));
+        assertThrows(AxonConfigurationException.class, () -> builderTestSubject.threadFactory(null));
+    }
+}
@@ -24,6 +24,8 @@
 import org.junit.jupiter.api.Test;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -35,6 +37,7 @@ class ConsistentHashTest {
     private ConsistentHash testSubject;
     private Member member1;
     private Member member2;
+    private Member member3;
 
     @BeforeEach
     void setUp() {
@@ -49,7 +52,7 @@ void setUp() {
 
         member1 = new SimpleMember<>("member1", "", false, null);
         member2 = new SimpleMember<>("member2", "", false, null);
-        Member member3 = new SimpleMember<>("member3", "", false, null);
+        member3 = new SimpleMember<>("member3", "", false, null);
         testSubject = new ConsistentHash().with(member1, 2, new CommandNameFilter("name1"))
                                           .with(member2, 2, new CommandNameFilter("name1"))
                                           .with(member3, 2, new CommandNameFilter("name3"));
@@ -109,4 +112,104 @@ void testConflictingHashesDoNotImpactMembership() {
         assertEquals(member1.name(), consistentHash.getMembers().iterator().next().name());
         assertEquals(consistentHash.getMembers(), consistentHashModified.getMembers());
     }
+
+    @Test
+    void testNumericRingRoutesToFirstEligibleMember() {
+        ConsistentHash numericHash = ConsistentHash.numeric()
+                                                   .with(member1, 10, new CommandNameFilter("name1"))
+                                                   .with(member2, 10, new CommandNameFilter("name1"))
+                                                   .with(member3, 10, new CommandNameFilter("name3"));
+
+        for (int i = 0; i < 100; i++) {
+            String routingKey = "routingKey" + i;
+            Optional<String> expected = numericHash.getEligibleMembers(routingKey)
+                                                   .stream()
+                                                   .filter(member -> !member.name().equals("member3"))
+                                                   .map(Member::name)
+                                                   .findFirst();
+            Optional<Member> actual = numericHash.getMember(
+                    routingKey, new GenericCommandMessage<>(new GenericMessage<>("test"), "name1")
+            );
+            assertEquals(expected, actual.map(Member::name));
+        }
+    }
+
+    @Test
+    void testNumericRingRoutesToNextEligibleMemberIfFirstChoiceIsRemoved() {
+        ConsistentHash numericHash = ConsistentHash.numeric()
+                                                   .with(member1, 10, AcceptAll.INSTANCE)
+                                                   .with(member2, 10, AcceptAll.INSTANCE)
+                                                   .with(member3, 10, AcceptAll.INSTANCE);
+        GenericCommandMessage<Object> command = new GenericCommandMessage<>(new GenericMessage<>("test"), "name1");
+
+        for (int i = 0; i < 100; i++) {
+            String routingKey = "routingKey" + i;
+            Member firstChoice = numericHash.getMember(routingKey, command).orElseThrow(IllegalStateException::new);
+            String secondChoice = numericHash.getEligibleMembers(routingKey)
+                                             .stream()
+                                             .skip(1)
+                                             .findFirst()
+                                             .map(Member::name)
+                                             .orElse(null);
+
+            Optional<Member> actual = numericHash.without(firstChoice).getMember(routingKey, command);
+            assertEquals(secondChoice, actual.map(Member::name).orElse(null));
+        }
+    }
+
+    @Test
+    void testNumericRingRoutesIndependentlyOfRoutingKeyCache() {
+        ConsistentHash uncached = ConsistentHash.numeric()
+                                                .with(member1, 10, AcceptAll.INSTANCE)
+                                                .with(member2, 10, AcceptAll.INSTANCE)
+                                                .with(member3, 10, AcceptAll.INSTANCE);
+        ConsistentHash cached = ConsistentHash.numeric(16)
+                                              .with(member1, 10, AcceptAll.INSTANCE)
+                                              .with(member2, 10, AcceptAll.INSTANCE)
+                                              .with(member3, 10, AcceptAll.INSTANCE);
+        GenericCommandMessage<Object> command = new GenericCommandMessage<>(new GenericMessage<>("test"), "name1");
+
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 100; i++) {
+                String routingKey = "routingKey" + i;
+                assertEquals(uncached.getMember(routingKey, command).map(Member::name),
+                             cached.getMember(routingKey, command).map(Member::name));
+            }
+        }
+        assertEquals(uncached, cached);
+    }
+
+    @Test
+    void testNumericRingSpreadsRoutingKeysOverMembers() {
+        ConsistentHash numericHash = ConsistentHash.numeric()
+                                                   .with(member1, 100, AcceptAll.INSTANCE)
+                                                   .with(member2, 100, AcceptAll.INSTANCE)
+                                                   .with(member3, 100, AcceptAll.INSTANCE);
+        GenericCommandMessage<Object> command = new GenericCommandMessage<>(new GenericMessage<>("test"), "name1");
+        Map<String, Integer> routedKeys = new HashMap<>();
+
+        for (int i = 0; i < 3000; i++) {
+            numericHash.getMember("aggregate-" + i, command)
+                       .ifPresent(member -> routedKeys.merge(member.name(), 1, Integer::sum));
+        }
+
+        assertEquals(3, routedKeys.size());
+        routedKeys.values().forEach(count -> assertTrue(count > 600, () -> "Unbalanced ring: " + routedKeys));
+    }
+
+    @Test
+    void testNumericRingIsNotEqualToDefaultRingWithSameMembers() {
+        ConsistentHash numericHash = ConsistentHash.numeric().with(member1, 2, AcceptAll.INSTANCE);
+        ConsistentHash defaultHash = new ConsistentHash().with(member1, 2, AcceptAll.INSTANCE);
+
+        assertNotEquals(defaultHash, numericHash);
+        assertEquals(1, numericHash.version());
+        assertEquals(defaultHash.getMembers(), numericHash.getMembers());
+    }
+
+    @Test
+    void testNumericRingRejectsIllegalRoutingKeyCacheSizes() {
+        assertThrows(IllegalArgumentException.class, () -> ConsistentHash.numeric(-1));
+        assertThrows(IllegalArgumentException.class, () -> ConsistentHash.numeric(Integer.MAX_VALUE));
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.commandhandling.distributed;
+
+import org.axonframework.commandhandling.CommandMessage;
+import org.axonframework.commandhandling.distributed.commandfilter.AcceptAll;
+import org.axonframework.commandhandling.distributed.commandfilter.CommandNameFilter;
+import org.axonframework.common.AxonConfigurationException;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.axonframework.commandhandling.GenericCommandMessage.asCommandMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class validating the {@link StaticCommandRouter}.
+ */
+class StaticCommandRouterTest {
+
+    private static final RoutingStrategy PAYLOAD_ROUTING = command -> command.getPayload().toString();
+
+    private final Member node1 = new SimpleMember<>("node1", "endpoint1", SimpleMember.REMOTE_MEMBER, null);
+    private final Member node2 = new SimpleMember<>("node2", "endpoint2", SimpleMember.REMOTE_MEMBER, null);
+
+    @Test
+    void testLocalMemberDoesNotReceiveCommandsBeforeItsMembershipIsUpdated() {
+        StaticCommandRouter testSubject = StaticCommandRouter.builder()
+                                                             .routingStrategy(PAYLOAD_ROUTING)
+                                                             .localMember(node1)
+                                                             .build();
+        CommandMessage<Object> command = asCommandMessage("command");
+
+        assertFalse(testSubject.findDestination(command).isPresent());
+
+        testSubject.updateMembership(100, new CommandNameFilter(String.class.getName()));
+
+        assertEquals("node1", testSubject.findDestination(command).map(Member::name).orElse(null));
+    }
+
+    @Test
+    void testRoutersWithTheSameMembersAgreeOnDestination() {
+        StaticCommandRouter router1 = StaticCommandRouter.builder()
+                                                         .routingStrategy(PAYLOAD_ROUTING)
+                                                         .localMember(node1)
+                                                         .remoteMember(node2)
+                                                         .build();
+        StaticCommandRouter router2 = StaticCommandRouter.builder()
+                                                         .routingStrategy(PAYLOAD_ROUTING)
+                                                         .localMember(node2)
+                                                         .remoteMember(node1)
+                                                         .build();
+        router1.updateMembership(100, AcceptAll.INSTANCE);
+        router2.updateMembership(100, AcceptAll.INSTANCE);
+
+        for (int i = 0; i < 100; i++) {
+            CommandMessage<Object> command = asCommandMessage("aggregate-" + i);
+            assertEquals(router1.findDestination(command).map(Member::name),
+                         router2.findDestination(command).map(Member::name));
+        }
+    }
+
+    @Test
+    void testConsistentHashChangeListenerIsNotifiedOfMembershipUpdates() {
+        AtomicReference<ConsistentHash> notifiedHash = new AtomicReference<>();
+        StaticCommandRouter testSubject = StaticCommandRouter.builder()
+                                                             .localMember(node1)
+                                                             .remoteMember(node2)
+                                                             .consistentHashChangeListener(notifiedHash::set)
+                                                             .build();
+
+        testSubject.updateMembership(100, AcceptAll.INSTANCE);
+
+        assertSame(testSubject.getConsistentHash(), notifiedHash.get());
+        assertEquals(2, notifiedHash.get().getMembers().size());
+    }
+
+    @Test
+    void testBuildWithLocalMemberRegisteredAsRemoteMemberThrowsAxonConfigurationException() {
+        StaticCommandRouter.Builder builderTestSubject = StaticCommandRouter.builder()
+                                                                            .localMember(node1)
+                                                                            .remoteMember(node1);
+
+        assertThrows(AxonConfigurationException.class, builderTestSubject::build);
+    }
+
+    @Test
+    void testBuildWithoutLocalMemberThrowsAxonConfigurationException() {
+        assertThrows(AxonConfigurationException.class, () -> StaticCommandRouter.builder().build());
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.commandhandling.distributed.tcp;
+
+import org.axonframework.commandhandling.CommandExecutionException;
+import org.axonframework.commandhandling.CommandMessage;
+import org.axonframework.commandhandling.CommandResultMessage;
+import org.axonframework.commandhandling.SimpleCommandBus;
+import org.axonframework.commandhandling.distributed.CommandBusConnectorCommunicationException;
+import org.axonframework.commandhandling.distributed.Member;
+import org.axonframework.commandhandling.distributed.SimpleMember;
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.json.JacksonSerializer;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.axonframework.commandhandling.GenericCommandMessage.asCommandMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class validating the {@link TcpCommandBusConnector}.
+ */
+class TcpCommandBusConnectorTest {
+
+    private static final InetSocketAddress ANY_LOCAL_PORT = new InetSocketAddress("localhost", 0);
+
+    private Serializer serializer;
+    private SimpleCommandBus localSegment;
+    private SimpleCommandBus remoteSegment;
+    private TcpCommandBusConnector testSubject;
+    private TcpCommandBusConnector remoteConnector;
+    private Member remoteMember;
+
+    @BeforeEach
+    void setUp() {
+        serializer = JacksonSerializer.defaultSerializer();
+        localSegment = SimpleCommandBus.builder().build();
+        remoteSegment = SimpleCommandBus.builder().build();
+        testSubject = TcpCommandBusConnector.builder()
+                                            .localSegment(localSegment)
+                                            .serializer(serializer)
+                                            .bindAddress(ANY_LOCAL_PORT)
+                                            .build();
+        remoteConnector = TcpCommandBusConnector.builder()
+                                                .localSegment(remoteSegment)
+                                                .serializer(serializer)
+                                                .bindAddress(ANY_LOCAL_PORT)
+                                                .build();
+        testSubject.start();
+        remoteConnector.start();
+        remoteMember = new SimpleMember<>(
+                "remote", remoteConnector.getLocalAddress(), SimpleMember.REMOTE_MEMBER, null
+        );
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        testSubject.initiateShutdown().get(5, TimeUnit.SECONDS);
+        remoteConnector.initiateShutdown().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @Timeout(value = 10)
+    void testCommandIsHandledByRemoteSegmentAndReplyIsReturned() throws Exception {
+        remoteSegment.subscribe(String.class.getName(), command -> "Hello " + command.getPayload());
+        CompletableFuture<CommandResultMessage<?>> result = new CompletableFuture<>();
+
+        testSubject.send(remoteMember, asCommandMessage("world"), (command, reply) -> result.complete(reply));
+
+        assertEquals("Hello world", result.get().getPayload());
+        assertEquals(0, testSubject.pendingReplies());
+    }
+
+    @Test
+    @Timeout(value = 10)
+    void testPipelinedCommandsAreAllCorrelatedToTheirReply() throws Exception {
+        remoteSegment.subscribe(String.class.getName(), CommandMessage::getPayload);
+        int numberOfCommands = 1000;
+        CountDownLatch replies = new CountDownLatch(numberOfCommands);
+        List<String> failures = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < numberOfCommands; i++) {
+            String payload = "command-" + i;
+            testSubject.send(remoteMember, asCommandMessage(payload), (command, reply) -> {
+                if (reply.isExceptional() || !payload.equals(reply.getPayload())) {
+                    failures.add(payload);
+                }
+                replies.countDown();
+            });
+        }
+
+        assertTrue(replies.await(5, TimeUnit.SECONDS));
+        assertTrue(failures.isEmpty(), () -> "Unexpected replies for " + failures);
+    }
+
+    @Test
+    @Timeout(value = 10)
+    void testPipelinedCommandsAreHandledInTheOrderTheyWereSent() throws Exception {
+        List<String> handledPayloads = new CopyOnWriteArrayList<>();
+        remoteSegment.subscribe(String.class.getName(), command -> {
+            handledPayloads.add((String) command.getPayload());
+            return null;
+        });
+        int numberOfCommands = 1000;
+        CountDownLatch replies = new CountDownLatch(numberOfCommands);
+        List<String> sentPayloads = new ArrayList<>();
+
+        for (int i = 0; i < numberOfCommands; i++) {
+            String payload = "command-" + i;
+            sentPayloads.add(payload);
+            testSubject.send(remoteMember, asCommandMessage(payload), (command, reply) -> replies.countDown());
+        }
+
+        assertTrue(replies.await(5, TimeUnit.SECONDS));
+        assertEquals(sentPayloads, handledPayloads);
+    }
+
+    @Test
+    @Timeout(value = 10)
+    void testMalformedDispatchFrameIsAnsweredWithAnErrorReply() throws Exception {
+        try (Socket socket = new Socket()) {
+            socket.setSoTimeout(5000);
+            socket.connect(remoteConnector.getLocalAddress());
+            ByteBuffer malformedFrame = TcpFrames.frame(TcpFrames.DISPATCH, output -> {
+                TcpFrames.writeString(output, "malformed-command");
+                TcpFrames.writeString(output, String.class.getName());
+            });
+            socket.getOutputStream().write(malformedFrame.array(), 0, malformedFrame.remaining());
+
+            DataInputStream input = new DataInputStream(socket.getInputStream());
+            input.readInt();
+            assertEquals(TcpFrames.REPLY, input.readByte());
+            TcpReplyMessage reply = TcpReplyMessage.readFrom(input);
+            assertEquals("malformed-command", reply.getCommandIdentifier());
+            assertTrue(reply.getCommandResultMessage(serializer).isExceptional());
+        }
+    }
+
+    @Test
+    @Timeout(value = 10)
+    void testExceptionOfRemoteHandlerIsReportedAsExceptionalResult() throws Exception {
+        remoteSegment.subscribe(String.class.getName(), command -> {
+            throw new IllegalStateException("Remote failure");
+        });
+        CompletableFuture<CommandResultMessage<?>> result = new CompletableFuture<>();
+
+        testSubject.send(remoteMember, asCommandMessage("fail"), (command, reply) -> result.complete(reply));
+
+        assertTrue(result.get().isExceptional());
+        assertTrue(result.get().exceptionResult() instanceof CommandExecutionException);
+    }
+
+    @Test
+    @Timeout(value = 10)
+    void testCommandWithoutCallbackIsHandledByRemoteSegment() throws Exception {
+        CountDownLatch handled = new CountDownLatch(1);
+        remoteSegment.subscribe(String.class.getName(), command -> {
+            handled.countDown();
+            return null;
+        });
+
+        testSubject.send(remoteMember, asCommandMessage("fire-and-forget"));
+
+        assertTrue(handled.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @Timeout(value = 10)
+    void testCommandForLocalMemberIsDispatchedOnLocalSegment() throws Exception {
+        localSegment.subscribe(String.class.getName(), command -> "local");
+        Member localMember =
+                new SimpleMember<>("local", testSubject.getLocalAddress(), SimpleMember.LOCAL_MEMBER, null);
+        CompletableFuture<CommandResultMessage<?>> result = new CompletableFuture<>();
+
+        testSubject.send(localMember, asCommandMessage("command"), (command, reply) -> result.complete(reply));
+
+        assertEquals("local", result.get().getPayload());
+    }
+
+    @Test
+    @Timeout(value = 10)
+    void testPendingCallbacksAreFailedWhenConnectionIsLost() throws Exception {
+        CountDownLatch handlerStarted = new CountDownLatch(1);
+        CountDownLatch releaseHandler = new CountDownLatch(1);
+        remoteSegment.subscribe(String.class.getName(), command -> {
+            handlerStarted.countDown();
+            releaseHandler.await();
+            return null;
+        });
+        CompletableFuture<CommandResultMessage<?>> result = new CompletableFuture<>();
+
+        testSubject.send(remoteMember, asCommandMessage("slow"), (command, reply) -> result.complete(reply));
+        assertTrue(handlerStarted.await(5, TimeUnit.SECONDS));
+        remoteConnector.initiateShutdown().get(5, TimeUnit.SECONDS);
+
+        assertTrue(result.get().exceptionResult() instanceof CommandBusConnectorCommunicationException);
+        assertEquals(0, testSubject.pendingReplies());
+        releaseHandler.countDown();
+    }
+
+    @Test
+    @Timeout(value = 10)
+    void testConnectionIsClosedWhenExecutorRejectsFrameAndConnectorKeepsRunning() throws Exception {
+        remoteConnector.initiateShutdown().get(5, TimeUnit.SECONDS);
+        AtomicBoolean rejectNextFrame = new AtomicBoolean(true);
+        remoteConnector = TcpCommandBusConnector.builder()
+                                                .localSegment(remoteSegment)
+                                                .serializer(serializer)
+                                                .bindAddress(ANY_LOCAL_PORT)
+                                                .executor(task -> {
+                                                    if (rejectNextFrame.getAndSet(false)) {
+                                                        throw new RejectedExecutionException("Rejected for test");
+                                                    }
+                                                    task.run();
+                                                })
+                                                .build();
+        remoteConnector.start();
+        remoteMember = new SimpleMember<>(
+                "remote", remoteConnector.getLocalAddress(), SimpleMember.REMOTE_MEMBER, null
+        );
+        remoteSegment.subscribe(String.class.getName(), command -> "Hello " + command.getPayload());
+        CompletableFuture<CommandResultMessage<?>> rejected = new CompletableFuture<>();
+        CompletableFuture<CommandResultMessage<?>> handled = new CompletableFuture<>();
+
+        testSubject.send(remoteMember, asCommandMessage("rejected"), (command, reply) -> rejected.complete(reply));
+        assertTrue(rejected.get().exceptionResult() instanceof CommandBusConnectorCommunicationException);
+        testSubject.send(remoteMember, asCommandMessage("world"), (command, reply) -> handled.complete(reply));
+
+        assertEquals("Hello world", handled.get().getPayload());
+    }
+
+    @Test
+    void testDispatchMessageIsReadFromItsFrame() throws Exception {
+        CommandMessage<Object> command = asCommandMessage("payload");
+        TcpDispatchMessage message = new TcpDispatchMessage(command, serializer, true);
+
+        ByteBuffer frame = TcpFrames.frame(TcpFrames.DISPATCH, message::writeTo);
+
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(frame.array()));
+        assertEquals(frame.remaining() - TcpFrames.LENGTH_PREFIX_SIZE, input.readInt());
+        assertEquals(TcpFrames.DISPATCH, input.readByte());
+        TcpDispatchMessage result = TcpDispatchMessage.readFrom(input);
+        assertEquals(message, result);
+        assertEquals("payload", result.getCommandMessage(serializer).getPayload());
+    }
+
+    @Test
+    void testBuildWithoutRequiredFieldsThrowsAxonConfigurationException() {
+        TcpCommandBusConnector.Builder builderTestSubject = TcpCommandBusConnector.builder()
+                                                                                  .localSegment(localSegment)
+                                                                                  .serializer(serializer);
+
+        assertThrows(AxonConfigurationException.class, builderTestSubject::build);
+        assertThrows(AxonConfigurationException.class, () -> builderTestSubject.maxFrameSize(0));
+    }
+}
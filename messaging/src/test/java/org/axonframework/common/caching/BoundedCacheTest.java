@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.common.caching;
+
+import org.axonframework.common.AxonConfigurationException;
+import org.junit.jupiter.api.*;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link BoundedCache}.
+ */
+class BoundedCacheTest {
+
+    private Cache.EntryListener mockListener;
+
+    @BeforeEach
+    void setUp() {
+        mockListener = mock(Cache.EntryListener.class);
+    }
+
+    @Test
+    void testEntryListenerNotifiedOfCreationUpdateAndDeletion() {
+        BoundedCache testSubject = BoundedCache.builder().build();
+        testSubject.registerCacheEntryListener(mockListener);
+
+        Object value = new Object();
+        Object value2 = new Object();
+        testSubject.put("test1", value);
+        verify(mockListener).onEntryCreated("test1", value);
+
+        testSubject.put("test1", value2);
+        verify(mockListener).onEntryUpdated("test1", value2);
+
+        testSubject.get("test1");
+        verify(mockListener).onEntryRead("test1", value2);
+
+        testSubject.remove("test1");
+        verify(mockListener).onEntryRemoved("test1");
+
+        assertNull(testSubject.get("test1"));
+        verifyNoMoreInteractions(mockListener);
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        BoundedCache testSubject = BoundedCache.builder().maxEntries(3).concurrencyLevel(1).build();
+        testSubject.registerCacheEntryListener(mockListener);
+
+        testSubject.put("a", 1);
+        testSubject.put("b", 2);
+        testSubject.put("c", 3);
+        testSubject.get("a");
+        testSubject.put("d", 4);
+
+        assertTrue(testSubject.containsKey("a"));
+        assertFalse(testSubject.containsKey("b"));
+        assertTrue(testSubject.containsKey("c"));
+        assertTrue(testSubject.containsKey("d"));
+        assertEquals(3, testSubject.size());
+        assertEquals(1, testSubject.evictionCount());
+        verify(mockListener).onEntryExpired("b");
+    }
+
+    @Test
+    void testEntriesAreEvictedToStayWithinMaxWeight() {
+        BoundedCache testSubject = BoundedCache.builder()
+                                               .maxWeight(10)
+                                               .weigher(value -> (Integer) value)
+                                               .concurrencyLevel(1)
+                                               .build();
+
+        testSubject.put("a", 6);
+        testSubject.put("b", 5);
+
+        assertFalse(testSubject.containsKey("a"));
+        assertTrue(testSubject.containsKey("b"));
+        assertEquals(5, testSubject.weight());
+
+        testSubject.put("c", 11);
+
+        assertFalse(testSubject.containsKey("c"));
+        assertTrue(testSubject.containsKey("b"));
+        assertEquals(2, testSubject.evictionCount());
+    }
+
+    @Test
+    void testEntriesExpireWhenNotAccessedWithinTimeToIdle() {
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        BoundedCache testSubject = BoundedCache.builder()
+                                               .timeToIdle(100, TimeUnit.MILLISECONDS)
+                                               .clock(clock)
+                                               .build();
+        testSubject.registerCacheEntryListener(mockListener);
+        testSubject.put("a", 1);
+        testSubject.put("b", 2);
+
+        when(clock.millis()).thenReturn(50L);
+        assertEquals(1, (int) testSubject.get("a"));
+        when(clock.millis()).thenReturn(120L);
+
+        assertEquals(1, (int) testSubject.get("a"));
+        assertNull(testSubject.get("b"));
+        assertEquals(1, testSubject.expirationCount());
+        verify(mockListener).onEntryExpired("b");
+    }
+
+    @Test
+    void testExpiredEntriesAreRemovedOnWrite() {
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        BoundedCache testSubject = BoundedCache.builder()
+                                               .timeToIdle(100, TimeUnit.MILLISECONDS)
+                                               .clock(clock)
+                                               .concurrencyLevel(1)
+                                               .build();
+        testSubject.put("a", 1);
+        testSubject.put("b", 2);
+
+        when(clock.millis()).thenReturn(200L);
+        testSubject.put("c", 3);
+
+        assertEquals(1, testSubject.size());
+        assertEquals(2, testSubject.expirationCount());
+    }
+
+    @Test
+    void testTinyLfuKeepsFrequentlyUsedEntries() {
+        BoundedCache testSubject = BoundedCache.builder()
+                                               .maxEntries(2)
+                                               .concurrencyLevel(1)
+                                               .evictionPolicy(BoundedCache.EvictionPolicy.TINY_LFU)
+                                               .build();
+        testSubject.put("hot", 1);
+        testSubject.put("warm", 2);
+        for (int i = 0; i < 5; i++) {
+            testSubject.get("hot");
+            testSubject.get("warm");
+        }
+
+        for (int i = 0; i < 100; i++) {
+            testSubject.put("once" + i, i);
+        }
+
+        assertTrue(testSubject.containsKey("hot"));
+        assertTrue(testSubject.containsKey("warm"));
+        assertEquals(100, testSubject.evictionCount());
+    }
+
+    @Test
+    void testPutIfAbsentOnlyStoresAbsentEntries() {
+        BoundedCache testSubject = BoundedCache.builder().build();
+
+        assertTrue(testSubject.putIfAbsent("a", 1));
+        assertFalse(testSubject.putIfAbsent("a", 2));
+        assertEquals(1, (int) testSubject.get("a"));
+    }
+
+    @Test
+    void testHitsAndMissesAreCounted() {
+        BoundedCache testSubject = BoundedCache.builder().build();
+        testSubject.put("a", 1);
+
+        testSubject.get("a");
+        testSubject.get("a");
+        testSubject.get("b");
+
+        assertEquals(2, testSubject.hitCount());
+        assertEquals(1, testSubject.missCount());
+    }
+
+    @Test
+    void testCacheStaysWithinBoundsWhenAccessedConcurrently() throws Exception {
+        BoundedCache testSubject = BoundedCache.builder().maxEntries(1024).concurrencyLevel(16).build();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                int offset = thread;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        int key = (i * 31 + offset) % 5000;
+                        if (testSubject.get(key) == null) {
+                            testSubject.put(key, key);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(testSubject.size() <= 1024);
+        assertEquals(80000, testSubject.hitCount() + testSubject.missCount());
+    }
+
+    @Test
+    void testShouldThrowIllegalArgumentExceptionWhenKeyIsNullOnGet() {
+        BoundedCache testSubject = BoundedCache.builder().build();
+
+        assertThrows(IllegalArgumentException.class, () -> testSubject.get(null));
+    }
+
+    @Test
+    void testShouldThrowIllegalArgumentExceptionWhenValueIsNullOnPut() {
+        BoundedCache testSubject = BoundedCache.builder().build();
+
+        assertThrows(IllegalArgumentException.class, () -> testSubject.put("a", null));
+    }
+
+    @Test
+    void testBuildWithInvalidBoundsThrowsAxonConfigurationException() {
+        BoundedCache.Builder builderTestSubject = BoundedCache.builder();
+
+        assertThrows(AxonConfigurationException.class, () -> builderTestSubject.maxEntries(0));
+        assertThrows(AxonConfigurationException.class, () -> builderTestSubject.maxWeight(0));
+        assertThrows(AxonConfigurationException.class, () -> builderTestSubject.weigher(null));
+        assertThrows(AxonConfigurationException.class, () -> builderTestSubject.timeToIdle(-1, TimeUnit.SECONDS));
+        assertThrows(AxonConfigurationException.class, () -> builderTestSubject.concurrencyLevel(0));
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.common.caching;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class validating the {@link FrequencySketch}.
+ */
+class FrequencySketchTest {
+
+    @Test
+    void testFrequencyIsCountedPerKey() {
+        FrequencySketch testSubject = new FrequencySketch(100);
+
+        for (int i = 0; i < 5; i++) {
+            testSubject.increment("hot");
+        }
+        testSubject.increment("cold");
+
+        assertEquals(5, testSubject.frequency("hot"));
+        assertEquals(1, testSubject.frequency("cold"));
+        assertEquals(0, testSubject.frequency("unknown"));
+    }
+
+    @Test
+    void testFrequencyIsCappedAtFifteen() {
+        FrequencySketch testSubject = new FrequencySketch(100);
+
+        for (int i = 0; i < 100; i++) {
+            testSubject.increment("hot");
+        }
+
+        assertEquals(15, testSubject.frequency("hot"));
+    }
+
+    @Test
+    void testFrequenciesDecayOverTime() {
+        FrequencySketch testSubject = new FrequencySketch(1024);
+        for (int i = 0; i < 15; i++) {
+            testSubject.increment("old");
+        }
+        assertEquals(15, testSubject.frequency("old"));
+
+        // recording ten times the width of the sketch halves all frequencies
+        for (int i = 0; i < 10300; i++) {
+            testSubject.increment(i);
+        }
+
+        assertTrue(testSubject.frequency("old") < 15);
+    }
+}
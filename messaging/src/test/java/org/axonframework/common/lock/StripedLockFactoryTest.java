@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.common.lock;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class validating the {@link StripedLockFactory}.
+ */
+class StripedLockFactoryTest {
+
+    @Test
+    void testLockIsReentrantByDefault() {
+        StripedLockFactory testSubject = StripedLockFactory.builder().build();
+
+        Lock lock1 = testSubject.obtainLock("id1");
+        Lock lock2 = testSubject.obtainLock("id1");
+        lock1.release();
+        assertTrue(lock2.isHeld());
+
+        lock2.release();
+        assertFalse(lock2.isHeld());
+    }
+
+    @Test
+    void testObtainingHeldLockFailsWhenReentrancyIsDisabled() {
+        StripedLockFactory testSubject = StripedLockFactory.builder().reentrant(false).build();
+
+        Lock lock = testSubject.obtainLock("id1");
+        assertThrows(LockAcquisitionFailedException.class, () -> testSubject.obtainLock("id1"));
+        assertTrue(lock.isHeld());
+
+        lock.release();
+        assertFalse(lock.isHeld());
+        testSubject.obtainLock("id1").release();
+    }
+
+    @Test
+    void testIdentifiersSharingAStripeDoNotBlockTheOwningThread() {
+        StripedLockFactory testSubject = StripedLockFactory.builder().stripes(1).reentrant(false).build();
+
+        Lock lock1 = testSubject.obtainLock("id1");
+        Lock lock2 = testSubject.obtainLock("id2");
+
+        assertTrue(lock1.isHeld());
+        assertTrue(lock2.isHeld());
+        lock2.release();
+        lock1.release();
+        assertFalse(lock1.isHeld());
+    }
+
+    @Test
+    void testReleasingLockFromOtherThreadIsRejected() throws InterruptedException {
+        StripedLockFactory testSubject = StripedLockFactory.builder().build();
+        Lock lock = testSubject.obtainLock("id1");
+        AtomicReference<Exception> exceptionInThread = new AtomicReference<>();
+
+        Thread thread = new Thread(() -> {
+            try {
+                lock.release();
+            } catch (Exception e) {
+                exceptionInThread.set(e);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertTrue(exceptionInThread.get() instanceof IllegalMonitorStateException);
+        lock.release();
+    }
+
+    @Test
+    @Timeout(value = 10)
+    void testDeadlockDetected_TwoThreadsInVector() throws InterruptedException {
+        StripedLockFactory testSubject = StripedLockFactory.builder().build();
+        CountDownLatch starter = new CountDownLatch(1);
+        CountDownLatch cdl = new CountDownLatch(1);
+        AtomicBoolean deadlockInThread = new AtomicBoolean(false);
+        Thread t1 = createThread(starter, cdl, deadlockInThread, testSubject, "id1", testSubject, "id2");
+        t1.start();
+        Lock lock = testSubject.obtainLock("id2");
+        starter.await();
+        cdl.countDown();
+        try {
+            testSubject.obtainLock("id1");
+            assertTrue(deadlockInThread.get());
+        } catch (DeadlockException e) {
+            // this is ok!
+        } finally {
+            lock.release();
+        }
+    }
+
+    @Test
+    @Timeout(value = 10)
+    void testDeadlockDetected_TwoDifferentLockInstances() throws InterruptedException {
+        StripedLockFactory testSubject1 = StripedLockFactory.builder().build();
+        StripedLockFactory testSubject2 = StripedLockFactory.builder().build();
+        CountDownLatch starter = new CountDownLatch(1);
+        CountDownLatch cdl = new CountDownLatch(1);
+        AtomicBoolean deadlockInThread = new AtomicBoolean(false);
+        Thread t1 = createThread(starter, cdl, deadlockInThread, testSubject1, "id1", testSubject2, "id1");
+        t1.start();
+        Lock lock = testSubject2.obtainLock("id1");
+        starter.await();
+        cdl.countDown();
+        try {
+            testSubject1.obtainLock("id1");
+            assertTrue(deadlockInThread.get());
+        } catch (DeadlockException e) {
+            // this is ok!
+        } finally {
+            lock.release();
+        }
+    }
+
+    @Test
+    @Timeout(value = 5)
+    void testAcquireBackoff() {
+        StripedLockFactory testSubject = StripedLockFactory.builder()
+                                                           .acquireAttempts(10)
+                                                           .lockAttemptTimeout(0)
+                                                           .build();
+        CountDownLatch rendezvous = new CountDownLatch(1);
+        try {
+            AtomicReference<Exception> exceptionInThread = new AtomicReference<>();
+            createThreadObtainLockAndWaitForState(testSubject, Thread.State.WAITING, rendezvous, exceptionInThread);
+
+            assertThrows(LockAcquisitionFailedException.class, () -> testSubject.obtainLock("aggregateId"));
+        } finally {
+            rendezvous.countDown();
+        }
+    }
+
+    @Test
+    @Timeout(value = 5)
+    void testQueueBackoff() {
+        StripedLockFactory testSubject = StripedLockFactory.builder()
+                                                           .acquireAttempts(Integer.MAX_VALUE)
+                                                           .queueLengthThreshold(2)
+                                                           .lockAttemptTimeout(10000)
+                                                           .build();
+        CountDownLatch rendezvous = new CountDownLatch(1);
+        try {
+            AtomicReference<Exception> exceptionInThread = new AtomicReference<>();
+            createThreadObtainLockAndWaitForState(testSubject, Thread.State.WAITING, rendezvous, exceptionInThread);
+            createThreadObtainLockAndWaitForState(
+                    testSubject, Thread.State.TIMED_WAITING, rendezvous, exceptionInThread
+            );
+            createThreadObtainLockAndWaitForState(
+                    testSubject, Thread.State.TIMED_WAITING, rendezvous, exceptionInThread
+            );
+
+            assertThrows(LockAcquisitionFailedException.class, () -> testSubject.obtainLock("aggregateId"));
+        } finally {
+            rendezvous.countDown();
+        }
+    }
+
+    @Test
+    void testBuilderRejectsIllegalValues() {
+        StripedLockFactory.Builder builderTestSubject = StripedLockFactory.builder();
+
+        assertThrows(IllegalArgumentException.class, () -> builderTestSubject.stripes(0));
+        assertThrows(IllegalArgumentException.class, () -> builderTestSubject.acquireAttempts(0));
+        assertThrows(IllegalArgumentException.class, () -> builderTestSubject.queueLengthThreshold(0));
+        assertThrows(IllegalArgumentException.class, () -> builderTestSubject.lockAttemptTimeout(-1));
+    }
+
+    @Test
+    void testShouldThrowIllegalArgumentExceptionWhenIdentifierIsNull() {
+        StripedLockFactory testSubject = StripedLockFactory.builder().build();
+
+        assertThrows(IllegalArgumentException.class, () -> testSubject.obtainLock(null));
+    }
+
+    private Thread createThread(CountDownLatch starter, CountDownLatch cdl, AtomicBoolean deadlockInThread,
+                                StripedLockFactory lockFactory1, String firstId,
+                                StripedLockFactory lockFactory2, String secondId) {
+        return new Thread(() -> {
+            Lock lock1 = lockFactory1.obtainLock(firstId);
+            starter.countDown();
+            try {
+                cdl.await();
+                Lock lock2 = lockFactory2.obtainLock(secondId);
+                lock2.release();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (DeadlockException e) {
+                deadlockInThread.set(true);
+            } finally {
+                lock1.release();
+            }
+        });
+    }
+
+    private void createThreadObtainLockAndWaitForState(StripedLockFactory lockFactory, Thread.State state,
+                                                       CountDownLatch rendezvous,
+                                                       AtomicReference<Exception> exceptionInThread) {
+        Thread thread = new Thread(() -> {
+            try (Lock ignored = lockFactory.obtainLock("aggregateId")) {
+                rendezvous.await();
+            } catch (Exception e) {
+                exceptionInThread.set(e);
+            }
+        });
+        thread.start();
+        while (thread.isAlive() && rendezvous.getCount() > 0 && thread.getState() != state) {
+            Thread.yield();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class validating the {@link BatchSizeController}.
+ */
+class BatchSizeControllerTest {
+
+    private static final long TARGET = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(150);
+
+    @Test
+    void testFixedControllerNeverChangesBatchSize() {
+        BatchSizeController testSubject = BatchSizeController.fixed(10);
+
+        assertFalse(testSubject.onBatchCompleted(10, FAST));
+        assertFalse(testSubject.onBatchCompleted(10, SLOW));
+        assertEquals(10, testSubject.batchSize());
+    }
+
+    @Test
+    void testInitialBatchSizeIsLimitedToBounds() {
+        assertEquals(5, BatchSizeController.adaptive(1, 5, 50, TARGET).batchSize());
+        assertEquals(50, BatchSizeController.adaptive(100, 5, 50, TARGET).batchSize());
+        assertEquals(20, BatchSizeController.adaptive(20, 5, 50, TARGET).batchSize());
+    }
+
+    @Test
+    void testBatchSizeGrowsWhileFullBatchesCompleteWithinTarget() {
+        BatchSizeController testSubject = BatchSizeController.adaptive(10, 1, 1000, TARGET);
+
+        assertTrue(testSubject.onBatchCompleted(10, FAST));
+        assertEquals(15, testSubject.batchSize());
+        assertTrue(testSubject.onBatchCompleted(15, FAST));
+        assertEquals(22, testSubject.batchSize());
+    }
+
+    @Test
+    void testBatchSizeDoesNotExceedMaximum() {
+        BatchSizeController testSubject = BatchSizeController.adaptive(40, 1, 50, TARGET);
+
+        assertTrue(testSubject.onBatchCompleted(40, FAST));
+        assertEquals(50, testSubject.batchSize());
+        assertFalse(testSubject.onBatchCompleted(50, FAST));
+        assertEquals(50, testSubject.batchSize());
+    }
+
+    @Test
+    void testBatchSizeHalvesWhenBatchExceedsTarget() {
+        BatchSizeController testSubject = BatchSizeController.adaptive(100, 30, 1000, TARGET);
+
+        assertTrue(testSubject.onBatchCompleted(100, SLOW));
+        assertEquals(50, testSubject.batchSize());
+        assertTrue(testSubject.onBatchCompleted(10, SLOW));
+        assertEquals(30, testSubject.batchSize());
+        assertFalse(testSubject.onBatchCompleted(30, SLOW));
+        assertEquals(30, testSubject.batchSize());
+    }
+
+    @Test
+    void testBatchSizeShrinksWhenThroughputDrops() {
+        BatchSizeController testSubject = BatchSizeController.adaptive(100, 1, 1000, TARGET);
+
+        assertTrue(testSubject.onBatchCompleted(100, FAST));
+        assertEquals(150, testSubject.batchSize());
+        // 150 events in 90ms is a lower throughput than 100 events in 10ms
+        assertTrue(testSubject.onBatchCompleted(150, TimeUnit.MILLISECONDS.toNanos(90)));
+        assertEquals(113, testSubject.batchSize());
+    }
+
+    @Test
+    void testPartialBatchesDoNotChangeBatchSize() {
+        BatchSizeController testSubject = BatchSizeController.adaptive(100, 1, 1000, TARGET);
+
+        assertFalse(testSubject.onBatchCompleted(3, FAST));
+        assertEquals(100, testSubject.batchSize());
+    }
+}
@@ -1,6 +1,9 @@
 package org.axonframework.eventhandling;
 
+import org.axonframework.serialization.SerializedObject;
+import org.axonframework.serialization.SimpleSerializedObject;
 import org.axonframework.serialization.TestSerializer;
+import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -8,7 +11,10 @@
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Tests serialization capabilities of {@link GapAwareTrackingToken}.
@@ -34,4 +40,65 @@ void testTokenWithoutGapsShouldBeSerializable(TestSerializer serializer) {
         GapAwareTrackingToken subject = GapAwareTrackingToken.newInstance(0, emptyList());
         assertEquals(subject, serializer.serializeDeserialize(subject));
     }
-}
\ No newline at end of file
+
+    @MethodSource("serializers")
+    @ParameterizedTest
+    void testTokenWithRangesOfGapsShouldBeSerializable(TestSerializer serializer) {
+        GapAwareTrackingToken subject = GapAwareTrackingToken.newInstance(100, asList(1L, 5L, 6L, 7L, 50L, 51L));
+        GapAwareTrackingToken result = serializer.serializeDeserialize(subject);
+        assertEquals(subject, result);
+        assertEquals(subject.getGaps(), result.getGaps());
+    }
+
+    @Test
+    void testJavaSerializedFormDoesNotExposeInternalGapRepresentation() {
+        GapAwareTrackingToken subject = GapAwareTrackingToken.newInstance(10, asList(1L, 5L, 6L));
+
+        byte[] serialized = TestSerializer.JAVA.getSerializer().serialize(subject, byte[].class).getData();
+
+        String serializedContent = new String(serialized, ISO_8859_1);
+        assertFalse(serializedContent.contains("LongRangeSet"));
+        assertTrue(serializedContent.contains("java.util.concurrent.ConcurrentSkipListSet"));
+    }
+
+    @Test
+    void testXStreamSerializedFormDoesNotExposeInternalGapRepresentation() {
+        GapAwareTrackingToken subject = GapAwareTrackingToken.newInstance(10, asList(1L, 5L, 6L));
+
+        String serialized = TestSerializer.XSTREAM.getSerializer().serialize(subject, String.class).getData();
+
+        assertFalse(serialized.contains("LongRangeSet"));
+        assertTrue(serialized.contains("<gaps class=\"java.util.concurrent.ConcurrentSkipListSet\">"));
+    }
+
+    @Test
+    void testJacksonSerializesEveryGapInThePreviousFormat() {
+        GapAwareTrackingToken subject = GapAwareTrackingToken.newInstance(10, asList(1L, 5L, 6L));
+
+        String serialized = TestSerializer.JACKSON.getSerializer().serialize(subject, String.class).getData();
+
+        assertEquals("{\"index\":10,\"gaps\":[1,5,6]}", serialized);
+    }
+
+    @Test
+    void testJacksonDeserializesTokensListingRangesOfGaps() {
+        SerializedObject<String> serialized = new SimpleSerializedObject<>(
+                "{\"index\":10,\"gapRanges\":[[1,1],[5,6]]}", String.class, GapAwareTrackingToken.class.getName(), null
+        );
+
+        GapAwareTrackingToken result = TestSerializer.JACKSON.getSerializer().deserialize(serialized);
+
+        assertEquals(GapAwareTrackingToken.newInstance(10, asList(1L, 5L, 6L)), result);
+    }
+
+    @Test
+    void testJacksonDeserializesTokensListingEveryGap() {
+        SerializedObject<String> serialized = new SimpleSerializedObject<>(
+                "{\"index\":10,\"gaps\":[1,5,6]}", String.class, GapAwareTrackingToken.class.getName(), null
+        );
+
+        GapAwareTrackingToken result = TestSerializer.JACKSON.getSerializer().deserialize(serialized);
+
+        assertEquals(GapAwareTrackingToken.newInstance(10, asList(1L, 5L, 6L)), result);
+    }
+}
@@ -16,8 +16,12 @@
 
 package org.axonframework.eventhandling;
 
+import org.axonframework.serialization.SerializedObject;
+import org.axonframework.serialization.SimpleSerializedObject;
+import org.axonframework.serialization.TestSerializer;
 import org.junit.jupiter.api.Test;
 
+import java.util.Base64;
 import java.util.Collections;
 import java.util.TreeSet;
 import java.util.concurrent.ExecutorService;
@@ -233,6 +237,57 @@ void testPosition() {
         assertEquals(15L, token.position().getAsLong());
     }
 
+    @Test
+    void testAdvanceToWithoutChangingGapsReusesGaps() {
+        GapAwareTrackingToken token = GapAwareTrackingToken.newInstance(15, asList(14L, 9L, 8L));
+
+        GapAwareTrackingToken result = token.advanceTo(16L, 100);
+
+        assertEquals(16L, result.getIndex());
+        assertSame(token.getGaps(), result.getGaps());
+    }
+
+    @Test
+    void testAdvanceToStoresConsecutiveGapsAsRange() {
+        GapAwareTrackingToken token = GapAwareTrackingToken.newInstance(0, emptyList());
+
+        GapAwareTrackingToken result = token.advanceTo(1_000_001L, Integer.MAX_VALUE);
+
+        assertEquals(1_000_000, result.getGaps().size());
+        assertEquals(1L, (long) result.getGaps().first());
+        assertEquals(1_000_000L, (long) result.getGaps().last());
+        assertTrue(result.advanceTo(500_000L, Integer.MAX_VALUE).getGaps().containsAll(asList(499_999L, 500_001L)));
+        assertFalse(result.advanceTo(500_000L, Integer.MAX_VALUE).getGaps().contains(500_000L));
+    }
+
+    @Test
+    void testGapsAreImmutable() {
+        GapAwareTrackingToken token = GapAwareTrackingToken.newInstance(15, asList(14L, 9L, 8L));
+
+        assertThrows(UnsupportedOperationException.class, () -> token.getGaps().add(10L));
+        assertThrows(UnsupportedOperationException.class, () -> token.getGaps().remove(9L));
+    }
+
+    @Test
+    void testTokenSerializedWithSortedSetOfGapsIsDeserializedTransparently() {
+        // a GapAwareTrackingToken with index 10 and gaps [1, 5, 6], Java serialized while gaps were kept in a SortedSet
+        String serializedToken = "rO0ABXNyADVvcmcuYXhvbmZyYW1ld29yay5ldmVudGhhbmRsaW5nLkdhcEF3YXJlVHJhY2tpbmdUb2tlbtO5dt+nNtz/AgACSgAF"
+            + "aW5kZXhMAARnYXBzdAAVTGphdmEvdXRpbC9Tb3J0ZWRTZXQ7eHAAAAAAAAAACnNyACpqYXZhLnV0aWwuY29uY3VycmVudC5Db25j"
+            + "dXJyZW50U2tpcExpc3RTZXTdmFB5vc/xWwIAAUwAAW10AC1MamF2YS91dGlsL2NvbmN1cnJlbnQvQ29uY3VycmVudE5hdmlnYWJs"
+            + "ZU1hcDt4cHNyACpqYXZhLnV0aWwuY29uY3VycmVudC5Db25jdXJyZW50U2tpcExpc3RNYXCIRnWuBhFGpwMAAUwACmNvbXBhcmF0"
+            + "b3J0ABZMamF2YS91dGlsL0NvbXBhcmF0b3I7eHBwc3IADmphdmEubGFuZy5Mb25nO4vkkMyPI98CAAFKAAV2YWx1ZXhyABBqYXZh"
+            + "LmxhbmcuTnVtYmVyhqyVHQuU4IsCAAB4cAAAAAAAAAABc3IAEWphdmEubGFuZy5Cb29sZWFuzSBygNWc+u4CAAFaAAV2YWx1ZXhw"
+            + "AXNxAH4ACQAAAAAAAAAFcQB+AA1zcQB+AAkAAAAAAAAABnEAfgANcHg=";
+        SerializedObject<byte[]> serializedObject = new SimpleSerializedObject<>(
+                Base64.getDecoder().decode(serializedToken), byte[].class, GapAwareTrackingToken.class.getName(), null
+        );
+
+        GapAwareTrackingToken result = TestSerializer.JAVA.getSerializer().deserialize(serializedObject);
+
+        assertEquals(GapAwareTrackingToken.newInstance(10, asList(1L, 5L, 6L)), result);
+        assertEquals(asTreeSet(1L, 6L), result.advanceTo(5L, 10).getGaps());
+    }
+
     private TreeSet<Long> asTreeSet(Long... elements) {
         return new TreeSet<>(asList(elements));
     }
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class validating the {@link LongRangeSet}.
+ */
+class LongRangeSetTest {
+
+    @Test
+    void testSetContainsGivenValuesInOrder() {
+        LongRangeSet testSubject = LongRangeSet.of(asList(9L, 1L, 2L, 3L, 7L, 3L));
+
+        assertEquals(asList(1L, 2L, 3L, 7L, 9L), new ArrayList<>(testSubject));
+        assertEquals(5, testSubject.size());
+        assertEquals(1L, (long) testSubject.first());
+        assertEquals(9L, (long) testSubject.last());
+        assertTrue(testSubject.contains(2L));
+        assertFalse(testSubject.contains(4L));
+        assertFalse(testSubject.contains("2"));
+    }
+
+    @Test
+    void testSetEqualsOtherSetsWithSameValues() {
+        LongRangeSet testSubject = LongRangeSet.of(asList(1L, 2L, 5L));
+        TreeSet<Long> expected = new TreeSet<>(asList(1L, 2L, 5L));
+
+        assertEquals(expected, testSubject);
+        assertEquals(testSubject, expected);
+        assertEquals(expected.hashCode(), testSubject.hashCode());
+        assertEquals(LongRangeSet.of(expected), testSubject);
+    }
+
+    @Test
+    void testEmptySet() {
+        LongRangeSet testSubject = LongRangeSet.of(null);
+
+        assertSame(LongRangeSet.empty(), testSubject);
+        assertTrue(testSubject.isEmpty());
+        assertEquals(0, testSubject.size());
+        assertFalse(testSubject.iterator().hasNext());
+        assertThrows(NoSuchElementException.class, testSubject::first);
+        assertThrows(NoSuchElementException.class, testSubject::last);
+    }
+
+    @Test
+    void testWithRangeAppendsValues() {
+        LongRangeSet testSubject = LongRangeSet.of(asList(1L, 2L));
+
+        assertEquals(new TreeSet<>(asList(1L, 2L, 3L, 4L)), testSubject.withRange(3, 4));
+        assertEquals(new TreeSet<>(asList(1L, 2L, 6L, 7L)), testSubject.withRange(6, 7));
+        assertEquals(new TreeSet<>(asList(0L, 1L, 2L)), testSubject.withRange(0, 1));
+        assertSame(testSubject, testSubject.withRange(5, 4));
+    }
+
+    @Test
+    void testWithoutRemovesValue() {
+        LongRangeSet testSubject = LongRangeSet.of(asList(1L, 2L, 3L, 4L, 8L));
+
+        assertEquals(new TreeSet<>(asList(2L, 3L, 4L, 8L)), testSubject.without(1));
+        assertEquals(new TreeSet<>(asList(1L, 2L, 4L, 8L)), testSubject.without(3));
+        assertEquals(new TreeSet<>(asList(1L, 2L, 3L, 8L)), testSubject.without(4));
+        assertEquals(new TreeSet<>(asList(1L, 2L, 3L, 4L)), testSubject.without(8));
+        assertSame(testSubject, testSubject.without(6));
+        assertTrue(LongRangeSet.of(asList(5L)).without(5).isEmpty());
+    }
+
+    @Test
+    void testUnionAndIntersection() {
+        LongRangeSet first = LongRangeSet.of(asList(1L, 2L, 3L, 7L, 10L));
+        LongRangeSet second = LongRangeSet.of(asList(3L, 4L, 8L, 10L, 11L));
+
+        assertEquals(new TreeSet<>(asList(1L, 2L, 3L, 4L, 7L, 8L, 10L, 11L)), first.union(second));
+        assertEquals(new TreeSet<>(asList(3L, 10L)), first.intersection(second));
+        assertSame(first, first.union(LongRangeSet.empty()));
+        assertTrue(first.intersection(LongRangeSet.empty()).isEmpty());
+    }
+
+    @Test
+    void testHeadAndTailSets() {
+        LongRangeSet testSubject = LongRangeSet.of(asList(1L, 2L, 3L, 7L, 8L));
+
+        assertEquals(new TreeSet<>(asList(1L, 2L)), testSubject.headSet(3L));
+        assertEquals(new TreeSet<>(asList(1L, 2L, 3L)), testSubject.headSet(7L));
+        assertEquals(new TreeSet<>(asList(3L, 7L, 8L)), testSubject.tailSet(3L));
+        assertEquals(new TreeSet<>(asList(8L)), testSubject.tailSet(8L));
+        assertEquals(new TreeSet<>(asList(2L, 3L, 7L)), testSubject.subSet(2L, 8L));
+        assertSame(testSubject, testSubject.headSet(9L));
+        assertSame(testSubject, testSubject.tailSet(1L));
+        assertTrue(testSubject.tailSet(9L).isEmpty());
+        assertTrue(testSubject.headSet(1L).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> testSubject.subSet(8L, 2L));
+    }
+
+    @Test
+    void testContainsAll() {
+        LongRangeSet testSubject = LongRangeSet.of(asList(1L, 2L, 3L, 7L, 8L));
+
+        assertTrue(testSubject.containsAll(LongRangeSet.of(asList(2L, 3L, 8L))));
+        assertTrue(testSubject.containsAll(asList(2L, 3L, 8L)));
+        assertTrue(testSubject.containsAll(LongRangeSet.empty()));
+        assertFalse(testSubject.containsAll(LongRangeSet.of(asList(3L, 4L))));
+        assertFalse(testSubject.containsAll(asList(3L, 4L)));
+    }
+
+    @Test
+    void testRangeStart() {
+        LongRangeSet testSubject = LongRangeSet.of(asList(1L, 2L, 3L, 7L, 8L));
+
+        assertEquals(1L, testSubject.rangeStart(3L));
+        assertEquals(7L, testSubject.rangeStart(8L));
+        assertEquals(5L, testSubject.rangeStart(5L));
+    }
+
+    @Test
+    void testSetIsImmutable() {
+        LongRangeSet testSubject = LongRangeSet.of(asList(1L, 2L));
+
+        assertThrows(UnsupportedOperationException.class, () -> testSubject.add(3L));
+        assertThrows(UnsupportedOperationException.class, () -> testSubject.remove(1L));
+        assertThrows(UnsupportedOperationException.class, testSubject::clear);
+    }
+
+    @Test
+    void testRangesRoundTrip() {
+        LongRangeSet testSubject = LongRangeSet.of(asList(1L, 2L, 3L, 7L, 9L, 10L));
+
+        List<long[]> ranges = testSubject.ranges();
+
+        assertEquals(3, ranges.size());
+        assertArrayEquals(new long[]{1L, 3L}, ranges.get(0));
+        assertArrayEquals(new long[]{7L, 7L}, ranges.get(1));
+        assertArrayEquals(new long[]{9L, 10L}, ranges.get(2));
+        assertEquals(testSubject, LongRangeSet.ofRanges(ranges));
+    }
+
+    @Test
+    void testOfRangesMergesOverlappingAndUnorderedRanges() {
+        LongRangeSet testSubject = LongRangeSet.ofRanges(asList(new long[]{7L, 9L}, new long[]{1L, 3L},
+                                                                new long[]{2L, 5L}, new long[]{6L, 6L}));
+
+        assertEquals(1, testSubject.ranges().size());
+        assertEquals(LongRangeSet.empty().withRange(1L, 9L), testSubject);
+        assertTrue(LongRangeSet.ofRanges(null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> LongRangeSet.ofRanges(singletonList(new long[]{1L})));
+    }
+}
@@ -18,6 +18,7 @@
 
 import org.junit.jupiter.api.*;
 
+import java.util.OptionalInt;
 import java.util.OptionalLong;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -137,6 +138,19 @@ void testGetResetPosition() {
         assertEquals(expectedResetPosition, result.getAsLong());
     }
 
+    @Test
+    void testGetBatchSize() {
+        int expectedBatchSize = 42;
+        EventTrackerStatus delegate = mock(EventTrackerStatus.class);
+        when(delegate.getBatchSize()).thenReturn(OptionalInt.of(expectedBatchSize));
+
+        RemovedTrackerStatus testSubject = new RemovedTrackerStatus(delegate);
+
+        OptionalInt result = testSubject.getBatchSize();
+        assertTrue(result.isPresent());
+        assertEquals(expectedBatchSize, result.getAsInt());
+    }
+
     @Test
     void testMergeCompletedPosition() {
         long expectedMergeCompletedPosition = 0L;
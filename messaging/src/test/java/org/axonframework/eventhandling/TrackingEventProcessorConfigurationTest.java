@@ -16,10 +16,16 @@
 
 package org.axonframework.eventhandling;
 
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.monitoring.MessageMonitor;
+import org.axonframework.monitoring.NoOpMessageMonitor;
+import org.axonframework.monitoring.NoOpMessageMonitorCallback;
 import org.junit.jupiter.api.*;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -44,4 +50,87 @@ void testConfiguredEventTrackerStatusChangeListener() {
         assertEquals(expectedChangeListener, resultChangeListener);
         resultChangeListener.onEventTrackerStatusChange(expectedTrackerStatus);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAdaptiveBatchSizeIsDisabledByDefault() {
+        TrackingEventProcessorConfiguration testSubject =
+                TrackingEventProcessorConfiguration.forSingleThreadedProcessing().andBatchSize(42);
+
+        assertFalse(testSubject.isAdaptiveBatchSizeEnabled());
+        assertEquals(42, testSubject.getMinBatchSize());
+        assertEquals(42, testSubject.getMaxBatchSize());
+        assertEquals(-1, testSubject.getTargetBatchDuration());
+    }
+
+    @Test
+    void testConfiguredAdaptiveBatchSize() {
+        TrackingEventProcessorConfiguration testSubject =
+                TrackingEventProcessorConfiguration.forSingleThreadedProcessing()
+                                                   .andBatchSize(42)
+                                                   .andAdaptiveBatchSize(10, 500, 2, TimeUnit.SECONDS);
+
+        assertTrue(testSubject.isAdaptiveBatchSizeEnabled());
+        assertEquals(42, testSubject.getBatchSize());
+        assertEquals(10, testSubject.getMinBatchSize());
+        assertEquals(500, testSubject.getMaxBatchSize());
+        assertEquals(TimeUnit.SECONDS.toNanos(2), testSubject.getTargetBatchDuration());
+    }
+
+    @Test
+    void testAdaptiveBatchSizeAcceptsSubMillisecondTargetDuration() {
+        TrackingEventProcessorConfiguration testSubject =
+                TrackingEventProcessorConfiguration.forSingleThreadedProcessing()
+                                                   .andAdaptiveBatchSize(1, 100, 500, TimeUnit.MICROSECONDS);
+
+        assertTrue(testSubject.isAdaptiveBatchSizeEnabled());
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(500), testSubject.getTargetBatchDuration());
+    }
+
+    @Test
+    void testAdaptiveBatchSizeRejectsInvalidBounds() {
+        TrackingEventProcessorConfiguration testSubject =
+                TrackingEventProcessorConfiguration.forSingleThreadedProcessing();
+
+        assertThrows(AxonConfigurationException.class,
+                     () -> testSubject.andAdaptiveBatchSize(0, 10, 1, TimeUnit.SECONDS));
+        assertThrows(AxonConfigurationException.class,
+                     () -> testSubject.andAdaptiveBatchSize(10, 5, 1, TimeUnit.SECONDS));
+        assertThrows(AxonConfigurationException.class,
+                     () -> testSubject.andAdaptiveBatchSize(1, 10, 0, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testParallelDeserializationIsDisabledByDefault() {
+        TrackingEventProcessorConfiguration testSubject =
+                TrackingEventProcessorConfiguration.forSingleThreadedProcessing();
+
+        assertNull(testSubject.getDeserializationPool());
+        assertSame(NoOpMessageMonitor.instance(), testSubject.getDeserializationMonitor());
+    }
+
+    @Test
+    void testConfiguredParallelDeserialization() {
+        ForkJoinPool expectedPool = new ForkJoinPool(2);
+        MessageMonitor<EventMessage<?>> expectedMonitor = message -> NoOpMessageMonitorCallback.INSTANCE;
+        try {
+            TrackingEventProcessorConfiguration testSubject =
+                    TrackingEventProcessorConfiguration.forSingleThreadedProcessing()
+                                                       .andParallelDeserialization(expectedPool)
+                                                       .andDeserializationMonitor(expectedMonitor);
+
+            assertSame(expectedPool, testSubject.getDeserializationPool());
+            assertSame(expectedMonitor, testSubject.getDeserializationMonitor());
+        } finally {
+            expectedPool.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelDeserializationRejectsNullArguments() {
+        TrackingEventProcessorConfiguration testSubject =
+                TrackingEventProcessorConfiguration.forSingleThreadedProcessing();
+
+        assertThrows(AxonConfigurationException.class, () -> testSubject.andParallelDeserialization(null));
+        assertThrows(AxonConfigurationException.class, () -> testSubject.andDeserializationMonitor(null));
+    }
+}
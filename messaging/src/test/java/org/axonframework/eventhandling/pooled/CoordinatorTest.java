@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling.pooled;
+
+import org.axonframework.common.transaction.NoTransactionManager;
+import org.axonframework.eventhandling.Segment;
+import org.axonframework.eventhandling.TrackerStatus;
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.eventhandling.tokenstore.TokenStore;
+import org.axonframework.eventhandling.tokenstore.UnableToClaimTokenException;
+import org.axonframework.eventhandling.tokenstore.UnableToExtendClaimsException;
+import org.axonframework.eventhandling.tokenstore.inmemory.InMemoryTokenStore;
+import org.axonframework.utils.MockException;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.axonframework.utils.AssertUtils.assertWithin;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link Coordinator}. The {@link WorkPackage}s created by the coordinator under test are
+ * mocks, allowing the test cases to drive the outcome of the work done for every segment.
+ */
+class CoordinatorTest {
+
+    private static final String PROCESSOR_NAME = "test";
+    private static final long TOKEN_CLAIM_INTERVAL = 100;
+
+    private TokenStore tokenStore;
+    private ScheduledExecutorService executorService;
+    private Map<Integer, TrackerStatus> processingStatus;
+    private Map<Integer, List<CreatedWorkPackage>> createdWorkPackages;
+    private Coordinator.WorkPackageFactory workPackageFactory;
+
+    private Coordinator testSubject;
+
+    @BeforeEach
+    void setUp() {
+        tokenStore = spy(new InMemoryTokenStore());
+        executorService = Executors.newSingleThreadScheduledExecutor();
+        processingStatus = new ConcurrentHashMap<>();
+        createdWorkPackages = new ConcurrentHashMap<>();
+        workPackageFactory = (segment, initialToken, statusUpdater) -> idleWorkPackage(segment, initialToken);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (testSubject != null) {
+            testSubject.stop().get(5, TimeUnit.SECONDS);
+        }
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void testCoordinatorInitializesAndClaimsAllSegments() {
+        testSubject = buildCoordinator(2);
+
+        testSubject.start();
+
+        assertWithin(1, TimeUnit.SECONDS, () -> assertEquals(2, createdWorkPackages.size()));
+        assertArrayEquals(new int[]{0, 1}, tokenStore.fetchSegments(PROCESSOR_NAME));
+        assertEquals(1, createdWorkPackages.get(0).size());
+        assertEquals(1, createdWorkPackages.get(1).size());
+        assertEquals(Segment.computeSegment(1, 0, 1), processingStatus.get(1).getSegment());
+        assertTrue(testSubject.isRunning());
+        assertFalse(testSubject.isError());
+    }
+
+    @Test
+    void testStopAbortsAndReleasesAllWorkPackages() throws Exception {
+        testSubject = buildCoordinator(2);
+        testSubject.start();
+        assertWithin(1, TimeUnit.SECONDS, () -> assertEquals(2, createdWorkPackages.size()));
+
+        testSubject.stop().get(1, TimeUnit.SECONDS);
+
+        assertFalse(testSubject.isRunning());
+        assertTrue(processingStatus.isEmpty());
+        verify(workPackage(0)).abort(null);
+        verify(workPackage(1)).abort(null);
+        verify(tokenStore).releaseClaim(PROCESSOR_NAME, 0);
+        verify(tokenStore).releaseClaim(PROCESSOR_NAME, 1);
+    }
+
+    @Test
+    void testReleasedSegmentIsNotReclaimedBeforeItsReleaseDeadline() {
+        testSubject = buildCoordinator(2);
+        testSubject.start();
+        assertWithin(1, TimeUnit.SECONDS, () -> assertEquals(2, createdWorkPackages.size()));
+        long releaseDeadline = System.currentTimeMillis() + 500;
+
+        testSubject.releaseUntil(0, releaseDeadline);
+
+        assertWithin(1, TimeUnit.SECONDS, () -> verify(tokenStore).releaseClaim(PROCESSOR_NAME, 0));
+        verify(workPackage(0)).abort(null);
+        verify(workPackage(1), never()).abort(any());
+        assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(2, createdWorkPackages.get(0).size()));
+        assertTrue(createdWorkPackages.get(0).get(1).creationTime >= releaseDeadline);
+        assertEquals(1, createdWorkPackages.get(1).size());
+    }
+
+    @Test
+    void testSplitSegmentReplacesTheWorkPackageOfTheSplitSegment() throws Exception {
+        testSubject = buildCoordinator(1);
+        testSubject.start();
+        assertWithin(1, TimeUnit.SECONDS, () -> assertEquals(1, createdWorkPackages.size()));
+        WorkPackage originalWorkPackage = workPackage(0);
+
+        assertTrue(testSubject.splitSegment(0).get(1, TimeUnit.SECONDS));
+
+        verify(originalWorkPackage).abort(null);
+        assertArrayEquals(new int[]{0, 1}, tokenStore.fetchSegments(PROCESSOR_NAME));
+        assertEquals(Segment.computeSegment(0, 0, 1), workPackage(0).segment());
+        // the new segment is claimed as any other unclaimed segment
+        assertWithin(1, TimeUnit.SECONDS, () -> assertEquals(2, createdWorkPackages.size()));
+        assertEquals(Segment.computeSegment(1, 0, 1), workPackage(1).segment());
+    }
+
+    @Test
+    void testMergeSegmentReplacesTheWorkPackagesOfBothSegments() throws Exception {
+        testSubject = buildCoordinator(2);
+        testSubject.start();
+        assertWithin(1, TimeUnit.SECONDS, () -> assertEquals(2, createdWorkPackages.size()));
+        WorkPackage lowerWorkPackage = workPackage(0);
+        WorkPackage upperWorkPackage = workPackage(1);
+
+        assertTrue(testSubject.mergeSegment(1).get(1, TimeUnit.SECONDS));
+
+        verify(lowerWorkPackage).abort(null);
+        verify(upperWorkPackage).abort(null);
+        assertArrayEquals(new int[]{0}, tokenStore.fetchSegments(PROCESSOR_NAME));
+        assertEquals(Segment.ROOT_SEGMENT, workPackage(0).segment());
+        assertEquals(1, processingStatus.size());
+        assertTrue(processingStatus.containsKey(0));
+    }
+
+    @Test
+    void testSplitOrMergeOfUnclaimedSegmentIsRejected() throws Exception {
+        testSubject = buildCoordinator(1);
+        testSubject.start();
+        assertWithin(1, TimeUnit.SECONDS, () -> assertEquals(1, processingStatus.size()));
+
+        assertFalse(testSubject.splitSegment(1).get(1, TimeUnit.SECONDS));
+        assertFalse(testSubject.mergeSegment(1).get(1, TimeUnit.SECONDS));
+        // a single segment cannot be merged with itself
+        assertFalse(testSubject.mergeSegment(0).get(1, TimeUnit.SECONDS));
+        assertArrayEquals(new int[]{0}, tokenStore.fetchSegments(PROCESSOR_NAME));
+    }
+
+    @Test
+    void testFailingWorkPackageIsReleasedAndReclaimedAfterBackingOff() {
+        MockException handlerError = new MockException();
+        workPackageFactory = (segment, initialToken, statusUpdater) -> {
+            WorkPackage workPackage = idleWorkPackage(segment, initialToken);
+            if (segment.getSegmentId() == 0 && createdWorkPackages.get(0).size() == 1) {
+                when(workPackage.isAbortTriggered()).thenReturn(true);
+                when(workPackage.abort(any())).thenReturn(CompletableFuture.completedFuture(handlerError));
+            }
+            return workPackage;
+        };
+        testSubject = buildCoordinator(2);
+
+        testSubject.start();
+
+        assertWithin(1, TimeUnit.SECONDS, () -> verify(tokenStore).releaseClaim(PROCESSOR_NAME, 0));
+        long releaseTime = System.currentTimeMillis();
+        assertTrue(processingStatus.get(0).isErrorState());
+        assertSame(handlerError, processingStatus.get(0).getError());
+        assertFalse(processingStatus.get(1).isErrorState());
+        assertFalse(testSubject.isError());
+        verify(workPackage(1), never()).abort(any());
+
+        assertWithin(3, TimeUnit.SECONDS, () -> assertEquals(2, createdWorkPackages.get(0).size()));
+        // the failing segment is only reclaimed once the error wait time of one second has passed
+        assertTrue(createdWorkPackages.get(0).get(1).creationTime - releaseTime >= 900);
+        assertFalse(processingStatus.get(0).isErrorState());
+        assertEquals(1, createdWorkPackages.get(1).size());
+    }
+
+    @Test
+    void testCoordinatorBacksOffAndRecoversWhenTheTokenStoreFails() {
+        doThrow(new MockException()).doCallRealMethod().when(tokenStore).fetchSegments(PROCESSOR_NAME);
+        testSubject = buildCoordinator(2);
+        long startTime = System.currentTimeMillis();
+
+        testSubject.start();
+
+        assertWithin(1, TimeUnit.SECONDS, () -> assertTrue(testSubject.isError()));
+        assertTrue(processingStatus.isEmpty());
+        assertTrue(testSubject.isRunning());
+
+        assertWithin(3, TimeUnit.SECONDS, () -> assertEquals(2, processingStatus.size()));
+        assertWithin(1, TimeUnit.SECONDS, () -> assertFalse(testSubject.isError()));
+        assertTrue(createdWorkPackages.get(0).get(0).creationTime - startTime >= 900);
+    }
+
+    @Test
+    void testIdleWorkPackagesHaveTheirClaimsExtendedAtOnce() {
+        workPackageFactory = (segment, initialToken, statusUpdater) -> {
+            WorkPackage workPackage = idleWorkPackage(segment, initialToken);
+            when(workPackage.requiresClaimExtension()).thenReturn(true);
+            return workPackage;
+        };
+        testSubject = buildCoordinator(2);
+
+        testSubject.start();
+
+        assertWithin(1, TimeUnit.SECONDS, () -> {
+            verify(workPackage(0), atLeastOnce()).claimExtended();
+            verify(workPackage(1), atLeastOnce()).claimExtended();
+        });
+        verify(tokenStore, atLeastOnce()).extendClaims(PROCESSOR_NAME, new int[]{0, 1});
+    }
+
+    @Test
+    void testOnlyTheLostSegmentsAreAbortedWhenExtendingTheClaimsFails() {
+        UnableToExtendClaimsException lostClaims = new UnableToExtendClaimsException("lost", new int[]{1});
+        doThrow(lostClaims).when(tokenStore).extendClaims(eq(PROCESSOR_NAME), any());
+        workPackageFactory = (segment, initialToken, statusUpdater) -> {
+            WorkPackage workPackage = idleWorkPackage(segment, initialToken);
+            when(workPackage.requiresClaimExtension()).thenReturn(true);
+            return workPackage;
+        };
+        testSubject = buildCoordinator(2);
+
+        testSubject.start();
+
+        assertWithin(1, TimeUnit.SECONDS, () -> verify(workPackage(1), atLeastOnce()).abort(lostClaims));
+        verify(workPackage(0), never()).abort(any());
+        verify(workPackage(0), never()).claimExtended();
+        verify(workPackage(1), never()).claimExtended();
+    }
+
+    @Test
+    void testWorkPackagesExtendTheirOwnClaimsWhenExtendingTheClaimsAtOnceFails() {
+        doThrow(new UnableToClaimTokenException("failed")).when(tokenStore).extendClaims(eq(PROCESSOR_NAME), any());
+        workPackageFactory = (segment, initialToken, statusUpdater) -> {
+            WorkPackage workPackage = idleWorkPackage(segment, initialToken);
+            when(workPackage.requiresClaimExtension()).thenReturn(true);
+            return workPackage;
+        };
+        testSubject = buildCoordinator(2);
+
+        testSubject.start();
+
+        assertWithin(1, TimeUnit.SECONDS, () -> verify(tokenStore, atLeastOnce()).extendClaims(any(), any()));
+        assertWithin(1, TimeUnit.SECONDS, () -> verify(workPackage(0), atLeastOnce()).caughtUp());
+        verify(workPackage(0), never()).abort(any());
+        verify(workPackage(1), never()).abort(any());
+        verify(workPackage(0), never()).claimExtended();
+        verify(workPackage(1), never()).claimExtended();
+    }
+
+    private Coordinator buildCoordinator(int initialSegmentCount) {
+        return Coordinator.builder()
+                          .name(PROCESSOR_NAME)
+                          .messageSource(new InMemoryMessageSource())
+                          .tokenStore(tokenStore)
+                          .transactionManager(NoTransactionManager.INSTANCE)
+                          .executorService(executorService)
+                          .workPackageFactory((segment, initialToken, statusUpdater) -> workPackageFactory
+                                  .create(segment, initialToken, statusUpdater))
+                          .eventTypeFilter(payloadType -> true)
+                          .processingStatus(processingStatus)
+                          .initialToken(messageSource -> null)
+                          .initialSegmentCount(initialSegmentCount)
+                          .tokenClaimInterval(TOKEN_CLAIM_INTERVAL)
+                          .build();
+    }
+
+    private WorkPackage idleWorkPackage(Segment segment, TrackingToken initialToken) {
+        WorkPackage workPackage = mock(WorkPackage.class);
+        when(workPackage.segment()).thenReturn(segment);
+        when(workPackage.lastDeliveredToken()).thenReturn(initialToken);
+        when(workPackage.hasRemainingCapacity()).thenReturn(true);
+        when(workPackage.abort(any())).thenReturn(CompletableFuture.completedFuture(null));
+        createdWorkPackages.computeIfAbsent(segment.getSegmentId(), id -> new CopyOnWriteArrayList<>())
+                           .add(new CreatedWorkPackage(workPackage));
+        return workPackage;
+    }
+
+    private WorkPackage workPackage(int segmentId) {
+        List<CreatedWorkPackage> workPackages = createdWorkPackages.get(segmentId);
+        assertNotNull(workPackages, () -> "No work package was created for segment " + segmentId);
+        return workPackages.get(workPackages.size() - 1).workPackage;
+    }
+
+    private static class CreatedWorkPackage {
+
+        private final WorkPackage workPackage;
+        private final long creationTime = System.currentTimeMillis();
+
+        private CreatedWorkPackage(WorkPackage workPackage) {
+            this.workPackage = workPackage;
+        }
+    }
+}
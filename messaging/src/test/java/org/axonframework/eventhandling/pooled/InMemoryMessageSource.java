@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling.pooled;
+
+import org.axonframework.common.stream.BlockingStream;
+import org.axonframework.eventhandling.DomainEventMessage;
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventhandling.GenericTrackedDomainEventMessage;
+import org.axonframework.eventhandling.GenericTrackedEventMessage;
+import org.axonframework.eventhandling.GlobalSequenceTrackingToken;
+import org.axonframework.eventhandling.TrackedEventMessage;
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.messaging.StreamableMessageSource;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link StreamableMessageSource} keeping its events in memory, for testing purposes. Every published event is given a
+ * {@link GlobalSequenceTrackingToken} matching its position in the source, starting at {@code 0}. Domain events
+ * remain domain events, so they are routed to the segment of their aggregate.
+ */
+class InMemoryMessageSource implements StreamableMessageSource<TrackedEventMessage<?>> {
+
+    private final List<TrackedEventMessage<?>> events = new CopyOnWriteArrayList<>();
+
+    /**
+     * Publish the given {@code eventMessages} to this source, making them available to all opened streams.
+     *
+     * @param eventMessages the events to publish
+     */
+    synchronized void publish(List<? extends EventMessage<?>> eventMessages) {
+        for (EventMessage<?> eventMessage : eventMessages) {
+            GlobalSequenceTrackingToken token = new GlobalSequenceTrackingToken(events.size());
+            events.add(eventMessage instanceof DomainEventMessage
+                               ? new GenericTrackedDomainEventMessage<>(token, (DomainEventMessage<?>) eventMessage)
+                               : new GenericTrackedEventMessage<>(token, eventMessage));
+        }
+        notifyAll();
+    }
+
+    @Override
+    public BlockingStream<TrackedEventMessage<?>> openStream(TrackingToken trackingToken) {
+        int startPosition = trackingToken == null
+                ? 0
+                : (int) ((GlobalSequenceTrackingToken) trackingToken).getGlobalIndex() + 1;
+        return new InMemoryStream(startPosition);
+    }
+
+    private class InMemoryStream implements BlockingStream<TrackedEventMessage<?>> {
+
+        private int position;
+
+        private InMemoryStream(int position) {
+            this.position = position;
+        }
+
+        @Override
+        public Optional<TrackedEventMessage<?>> peek() {
+            return position < events.size() ? Optional.of(events.get(position)) : Optional.empty();
+        }
+
+        @Override
+        public boolean hasNextAvailable(int timeout, TimeUnit unit) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + unit.toMillis(timeout);
+            synchronized (InMemoryMessageSource.this) {
+                long remaining;
+                while (position >= events.size() && (remaining = deadline - System.currentTimeMillis()) > 0) {
+                    InMemoryMessageSource.this.wait(remaining);
+                }
+            }
+            return position < events.size();
+        }
+
+        @Override
+        public TrackedEventMessage<?> nextAvailable() {
+            return events.get(position++);
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+    }
+}
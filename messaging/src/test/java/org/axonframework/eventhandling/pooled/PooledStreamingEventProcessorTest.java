@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling.pooled;
+
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.common.transaction.NoTransactionManager;
+import org.axonframework.eventhandling.DomainEventMessage;
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventhandling.EventMessageHandler;
+import org.axonframework.eventhandling.EventTrackerStatus;
+import org.axonframework.eventhandling.GlobalSequenceTrackingToken;
+import org.axonframework.eventhandling.PropagatingErrorHandler;
+import org.axonframework.eventhandling.Segment;
+import org.axonframework.eventhandling.SimpleEventHandlerInvoker;
+import org.axonframework.eventhandling.tokenstore.TokenStore;
+import org.axonframework.eventhandling.tokenstore.inmemory.InMemoryTokenStore;
+import org.axonframework.utils.MockException;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.axonframework.utils.AssertUtils.assertWithin;
+import static org.axonframework.utils.EventTestUtils.createEvent;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link PooledStreamingEventProcessor}.
+ */
+class PooledStreamingEventProcessorTest {
+
+    private static final String PROCESSOR_NAME = "test";
+
+    private InMemoryMessageSource messageSource;
+    private TokenStore tokenStore;
+    private Map<String, AtomicInteger> handledEvents;
+    private Predicate<EventMessage<?>> failingEvents;
+
+    private PooledStreamingEventProcessor testSubject;
+
+    @BeforeEach
+    void setUp() {
+        messageSource = new InMemoryMessageSource();
+        tokenStore = spy(new InMemoryTokenStore());
+        handledEvents = new ConcurrentHashMap<>();
+        failingEvents = eventMessage -> false;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (testSubject != null) {
+            testSubject.shutDown();
+        }
+    }
+
+    @Test
+    void testEventsAreHandledOnceInTheirOwnSegment() {
+        testSubject = buildProcessor(2);
+        List<DomainEventMessage<?>> events = aggregateEvents(4, 2);
+        messageSource.publish(events);
+
+        testSubject.start();
+
+        assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(events.size(), handledEvents.size()));
+        events.forEach(event -> assertEquals(1, handledEvents.get(event.getIdentifier()).get()));
+        GlobalSequenceTrackingToken lastToken = new GlobalSequenceTrackingToken(events.size() - 1);
+        assertWithin(2, TimeUnit.SECONDS, () -> {
+            Map<Integer, EventTrackerStatus> status = testSubject.processingStatus();
+            assertEquals(2, status.size());
+            assertTrue(status.values().stream().allMatch(EventTrackerStatus::isCaughtUp));
+            assertTrue(status.values().stream().allMatch(s -> lastToken.equals(s.getTrackingToken())));
+        });
+        assertFalse(testSubject.isError());
+    }
+
+    @Test
+    void testHandlerErrorOnlyAffectsTheSegmentOfTheFailingEvent() {
+        AtomicInteger failures = new AtomicInteger();
+        List<DomainEventMessage<?>> events = aggregateEvents(4, 2);
+        DomainEventMessage<?> failingEvent = events.get(0);
+        int failingSegment = segmentOf(failingEvent.getAggregateIdentifier());
+        failingEvents = event -> event.getIdentifier().equals(failingEvent.getIdentifier())
+                && failures.getAndIncrement() == 0;
+        testSubject = buildProcessor(2);
+        messageSource.publish(events);
+
+        testSubject.start();
+
+        assertWithin(1, TimeUnit.SECONDS, () -> {
+            EventTrackerStatus failingSegmentStatus = testSubject.processingStatus().get(failingSegment);
+            assertNotNull(failingSegmentStatus);
+            assertTrue(failingSegmentStatus.isErrorState());
+        });
+        assertFalse(testSubject.processingStatus().get(1 - failingSegment).isErrorState());
+        assertFalse(testSubject.isError());
+        // the failing segment is reclaimed after backing off, retrying the failed event
+        assertWithin(5, TimeUnit.SECONDS, () -> assertEquals(events.size(), handledEvents.size()));
+        assertEquals(2, handledEvents.get(failingEvent.getIdentifier()).get());
+        events.stream()
+              .filter(event -> event != failingEvent)
+              .forEach(event -> assertEquals(1, handledEvents.get(event.getIdentifier()).get()));
+        assertWithin(1, TimeUnit.SECONDS, () -> assertFalse(
+                testSubject.processingStatus().get(failingSegment).isErrorState()
+        ));
+    }
+
+    @Test
+    void testReleasedSegmentIsReclaimedOnceItsReleaseDurationHasPassed() {
+        testSubject = buildProcessor(2);
+        testSubject.start();
+        assertWithin(1, TimeUnit.SECONDS, () -> assertEquals(2, testSubject.processingStatus().size()));
+
+        testSubject.releaseSegment(0, 500, TimeUnit.MILLISECONDS);
+
+        assertWithin(1, TimeUnit.SECONDS, () -> assertFalse(testSubject.processingStatus().containsKey(0)));
+        verify(tokenStore).releaseClaim(PROCESSOR_NAME, 0);
+        assertWithin(2, TimeUnit.SECONDS, () -> assertTrue(testSubject.processingStatus().containsKey(0)));
+    }
+
+    @Test
+    void testSplitAndMergeSegment() throws Exception {
+        testSubject = buildProcessor(1);
+        testSubject.start();
+        assertWithin(1, TimeUnit.SECONDS, () -> assertEquals(1, testSubject.processingStatus().size()));
+
+        assertTrue(testSubject.splitSegment(0).get(5, TimeUnit.SECONDS));
+
+        assertArrayEquals(new int[]{0, 1}, tokenStore.fetchSegments(PROCESSOR_NAME));
+        assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(2, testSubject.processingStatus().size()));
+        assertEquals(Segment.computeSegment(1, 0, 1), testSubject.processingStatus().get(1).getSegment());
+        List<DomainEventMessage<?>> eventsAfterSplit = aggregateEvents(4, 1);
+        messageSource.publish(eventsAfterSplit);
+        assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(4, handledEvents.size()));
+
+        assertTrue(testSubject.mergeSegment(0).get(5, TimeUnit.SECONDS));
+
+        assertArrayEquals(new int[]{0}, tokenStore.fetchSegments(PROCESSOR_NAME));
+        assertEquals(1, testSubject.processingStatus().size());
+        assertEquals(Segment.ROOT_SEGMENT, testSubject.processingStatus().get(0).getSegment());
+        List<DomainEventMessage<?>> eventsAfterMerge = aggregateEvents(4, 1);
+        messageSource.publish(eventsAfterMerge);
+        assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(8, handledEvents.size()));
+        handledEvents.values().forEach(count -> assertEquals(1, count.get()));
+    }
+
+    @Test
+    void testSplitAndMergeRequireExplicitSegmentInitialization() {
+        when(tokenStore.requiresExplicitSegmentInitialization()).thenReturn(false);
+        testSubject = buildProcessor(1);
+
+        CompletableFuture<Boolean> splitResult = testSubject.splitSegment(0);
+        CompletableFuture<Boolean> mergeResult = testSubject.mergeSegment(0);
+
+        ExecutionException splitException = assertThrows(ExecutionException.class, splitResult::get);
+        assertTrue(splitException.getCause() instanceof UnsupportedOperationException);
+        ExecutionException mergeException = assertThrows(ExecutionException.class, mergeResult::get);
+        assertTrue(mergeException.getCause() instanceof UnsupportedOperationException);
+    }
+
+    @Test
+    void testShutdownReleasesAllSegmentsAndProcessorCanBeRestarted() {
+        testSubject = buildProcessor(2);
+        testSubject.start();
+        assertWithin(1, TimeUnit.SECONDS, () -> assertEquals(2, testSubject.processingStatus().size()));
+
+        testSubject.shutDown();
+
+        assertFalse(testSubject.isRunning());
+        assertTrue(testSubject.processingStatus().isEmpty());
+        verify(tokenStore).releaseClaim(PROCESSOR_NAME, 0);
+        verify(tokenStore).releaseClaim(PROCESSOR_NAME, 1);
+
+        testSubject.start();
+        List<DomainEventMessage<?>> events = aggregateEvents(2, 1);
+        messageSource.publish(events);
+
+        assertTrue(testSubject.isRunning());
+        assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(events.size(), handledEvents.size()));
+    }
+
+    @Test
+    void testResetTokensReplaysAllEvents() {
+        testSubject = buildProcessor(2);
+        List<DomainEventMessage<?>> events = aggregateEvents(2, 2);
+        messageSource.publish(events);
+        testSubject.start();
+        assertWithin(2, TimeUnit.SECONDS, () -> assertEquals(events.size(), handledEvents.size()));
+
+        assertThrows(IllegalStateException.class, testSubject::resetTokens);
+        testSubject.shutDown();
+        testSubject.resetTokens();
+        testSubject.start();
+
+        assertWithin(2, TimeUnit.SECONDS, () -> events.forEach(
+                event -> assertEquals(2, handledEvents.get(event.getIdentifier()).get())
+        ));
+    }
+
+    @Test
+    void testBuildWithoutRequiredFieldsThrowsAxonConfigurationException() {
+        PooledStreamingEventProcessor.Builder builderTestSubject =
+                PooledStreamingEventProcessor.builder()
+                                             .name(PROCESSOR_NAME)
+                                             .eventHandlerInvoker(mock(SimpleEventHandlerInvoker.class))
+                                             .messageSource(messageSource)
+                                             .tokenStore(tokenStore);
+
+        assertThrows(AxonConfigurationException.class, builderTestSubject::build);
+        assertThrows(AxonConfigurationException.class, () -> builderTestSubject.initialSegmentCount(0));
+        assertThrows(AxonConfigurationException.class, () -> builderTestSubject.batchSize(0));
+    }
+
+    private PooledStreamingEventProcessor buildProcessor(int initialSegmentCount) {
+        EventMessageHandler eventHandler = event -> {
+            handledEvents.computeIfAbsent(event.getIdentifier(), id -> new AtomicInteger()).incrementAndGet();
+            if (failingEvents.test(event)) {
+                throw new MockException();
+            }
+            return null;
+        };
+        SimpleEventHandlerInvoker eventHandlerInvoker =
+                SimpleEventHandlerInvoker.builder()
+                                         .eventHandlers(eventHandler)
+                                         .listenerInvocationErrorHandler(PropagatingErrorHandler.instance())
+                                         .build();
+        return PooledStreamingEventProcessor.builder()
+                                            .name(PROCESSOR_NAME)
+                                            .eventHandlerInvoker(eventHandlerInvoker)
+                                            .messageSource(messageSource)
+                                            .tokenStore(tokenStore)
+                                            .transactionManager(NoTransactionManager.INSTANCE)
+                                            .initialSegmentCount(initialSegmentCount)
+                                            .tokenClaimInterval(100)
+                                            .build();
+    }
+
+    private static List<DomainEventMessage<?>> aggregateEvents(int numberOfAggregates, int eventsPerAggregate) {
+        List<DomainEventMessage<?>> events = new ArrayList<>();
+        for (int sequenceNumber = 0; sequenceNumber < eventsPerAggregate; sequenceNumber++) {
+            for (int aggregate = 0; aggregate < numberOfAggregates; aggregate++) {
+                events.add(createEvent("aggregate-" + aggregate, sequenceNumber));
+            }
+        }
+        return events;
+    }
+
+    private static int segmentOf(String aggregateIdentifier) {
+        return Segment.computeSegment(0, 0, 1).matches(aggregateIdentifier) ? 0 : 1;
+    }
+}
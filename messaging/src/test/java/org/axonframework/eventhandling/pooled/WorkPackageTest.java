@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling.pooled;
+
+import org.axonframework.common.transaction.NoTransactionManager;
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventhandling.GenericTrackedEventMessage;
+import org.axonframework.eventhandling.GlobalSequenceTrackingToken;
+import org.axonframework.eventhandling.Segment;
+import org.axonframework.eventhandling.TrackedEventMessage;
+import org.axonframework.eventhandling.TrackerStatus;
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.eventhandling.tokenstore.TokenStore;
+import org.axonframework.utils.MockException;
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+import static org.axonframework.utils.AssertUtils.assertWithin;
+import static org.axonframework.utils.EventTestUtils.createEvent;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link WorkPackage}.
+ */
+class WorkPackageTest {
+
+    private static final String PROCESSOR_NAME = "test";
+    private static final Segment SEGMENT = Segment.ROOT_SEGMENT;
+
+    private TokenStore tokenStore;
+    private ScheduledExecutorService executorService;
+    private List<EventMessage<?>> processedEvents;
+    private List<EventMessage<?>> ignoredEvents;
+    private AtomicReference<TrackerStatus> segmentStatus;
+    private Predicate<EventMessage<?>> eventFilter;
+    private WorkPackage.BatchProcessor batchProcessor;
+
+    @BeforeEach
+    void setUp() {
+        tokenStore = mock(TokenStore.class);
+        executorService = Executors.newSingleThreadScheduledExecutor();
+        processedEvents = new CopyOnWriteArrayList<>();
+        ignoredEvents = new CopyOnWriteArrayList<>();
+        segmentStatus = new AtomicReference<>(new TrackerStatus(SEGMENT, null));
+        eventFilter = eventMessage -> true;
+        // the task is executed once for every message in the batch
+        batchProcessor = (eventMessages, unitOfWork, processingSegments) ->
+                unitOfWork.execute(() -> processedEvents.add(unitOfWork.getMessage()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void testScheduledEventsAreProcessedAndTheirTokenIsStored() {
+        WorkPackage testSubject = buildWorkPackage(null, 5000);
+        TrackedEventMessage<?> firstEvent = trackedEvent(0);
+        TrackedEventMessage<?> secondEvent = trackedEvent(1);
+
+        testSubject.scheduleEvent(firstEvent);
+        testSubject.scheduleEvent(secondEvent);
+
+        assertWithin(1, TimeUnit.SECONDS, () -> assertEquals(2, processedEvents.size()));
+        assertEquals(firstEvent.getIdentifier(), processedEvents.get(0).getIdentifier());
+        assertEquals(secondEvent.getIdentifier(), processedEvents.get(1).getIdentifier());
+        verify(tokenStore).storeToken(firstEvent.trackingToken(), PROCESSOR_NAME, SEGMENT.getSegmentId());
+        verify(tokenStore).storeToken(secondEvent.trackingToken(), PROCESSOR_NAME, SEGMENT.getSegmentId());
+        assertEquals(secondEvent.trackingToken(), testSubject.lastDeliveredToken());
+        assertEquals(secondEvent.trackingToken(), segmentStatus.get().getTrackingToken());
+    }
+
+    @Test
+    void testEventsCoveredByTheInitialTokenAreNotScheduled() {
+        WorkPackage testSubject = buildWorkPackage(new GlobalSequenceTrackingToken(1), 5000);
+
+        testSubject.scheduleEvent(trackedEvent(0));
+        testSubject.scheduleEvent(trackedEvent(1));
+        TrackedEventMessage<?> expectedEvent = trackedEvent(2);
+        testSubject.scheduleEvent(expectedEvent);
+
+        assertWithin(1, TimeUnit.SECONDS, () -> assertEquals(1, processedEvents.size()));
+        assertEquals(expectedEvent.getIdentifier(), processedEvents.get(0).getIdentifier());
+    }
+
+    @Test
+    void testEventsWhichCannotBeHandledInTheSegmentAreReportedAsIgnored() {
+        TrackedEventMessage<?> ignoredEvent = trackedEvent(0);
+        eventFilter = eventMessage -> !eventMessage.getIdentifier().equals(ignoredEvent.getIdentifier());
+        WorkPackage testSubject = buildWorkPackage(null, 5000);
+        TrackedEventMessage<?> handledEvent = trackedEvent(1);
+
+        testSubject.scheduleEvent(ignoredEvent);
+        testSubject.scheduleEvent(handledEvent);
+
+        assertWithin(1, TimeUnit.SECONDS, () -> assertEquals(1, processedEvents.size()));
+        assertEquals(handledEvent.getIdentifier(), processedEvents.get(0).getIdentifier());
+        assertEquals(1, ignoredEvents.size());
+        assertEquals(ignoredEvent.getIdentifier(), ignoredEvents.get(0).getIdentifier());
+        // the token of an ignored event is only stored once a claim extension is required
+        verify(tokenStore, never()).storeToken(ignoredEvent.trackingToken(), PROCESSOR_NAME, 0);
+    }
+
+    @Test
+    void testHandlerErrorAbortsTheWorkPackageWithTheCause() throws Exception {
+        MockException handlerError = new MockException();
+        batchProcessor = (eventMessages, unitOfWork, processingSegments) -> {
+            throw handlerError;
+        };
+        WorkPackage testSubject = buildWorkPackage(null, 5000);
+        TrackedEventMessage<?> failingEvent = trackedEvent(0);
+
+        testSubject.scheduleEvent(failingEvent);
+
+        assertWithin(1, TimeUnit.SECONDS, () -> assertTrue(testSubject.isAbortTriggered()));
+        assertSame(handlerError, testSubject.abort(null).get(1, TimeUnit.SECONDS));
+        assertTrue(segmentStatus.get().isErrorState());
+        assertSame(handlerError, segmentStatus.get().getError());
+        verify(tokenStore, never()).storeToken(any(), anyString(), anyInt());
+
+        testSubject.scheduleEvent(trackedEvent(1));
+        assertTrue(processedEvents.isEmpty());
+    }
+
+    @Test
+    void testAbortWithoutReasonStoresTheLastConsumedToken() throws Exception {
+        eventFilter = eventMessage -> false;
+        WorkPackage testSubject = buildWorkPackage(null, 5000);
+        TrackedEventMessage<?> ignoredEvent = trackedEvent(0);
+        testSubject.scheduleEvent(ignoredEvent);
+        assertWithin(1, TimeUnit.SECONDS, () -> assertEquals(1, ignoredEvents.size()));
+
+        assertNull(testSubject.abort(null).get(1, TimeUnit.SECONDS));
+
+        verify(tokenStore).storeToken(ignoredEvent.trackingToken(), PROCESSOR_NAME, SEGMENT.getSegmentId());
+    }
+
+    @Test
+    void testAbortReasonOfFirstAbortIsKept() throws Exception {
+        WorkPackage testSubject = buildWorkPackage(null, 5000);
+        MockException firstReason = new MockException("first");
+
+        testSubject.abort(firstReason);
+
+        assertSame(firstReason, testSubject.abort(new MockException("second")).get(1, TimeUnit.SECONDS));
+        assertSame(firstReason, testSubject.abort(null).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testIdleWorkPackageRequiresClaimExtensionOnceTheThresholdHasPassed() throws InterruptedException {
+        WorkPackage testSubject = buildWorkPackage(null, 50);
+        assertFalse(testSubject.requiresClaimExtension());
+
+        Thread.sleep(100);
+        assertTrue(testSubject.requiresClaimExtension());
+
+        testSubject.claimExtended();
+        assertFalse(testSubject.requiresClaimExtension());
+        testSubject.abort(null);
+        Thread.sleep(100);
+        assertFalse(testSubject.requiresClaimExtension());
+    }
+
+    @Test
+    void testWorkPackageExtendsItsOwnClaimWhenNotExtendedOnItsBehalf() throws InterruptedException {
+        WorkPackage testSubject = buildWorkPackage(null, 50);
+        Thread.sleep(100);
+
+        testSubject.scheduleWorker();
+
+        assertWithin(1, TimeUnit.SECONDS,
+                     () -> verify(tokenStore).extendClaim(PROCESSOR_NAME, SEGMENT.getSegmentId()));
+    }
+
+    @Test
+    void testCaughtUpIsReportedOnceAllScheduledEventsAreProcessed() {
+        WorkPackage testSubject = buildWorkPackage(null, 5000);
+
+        testSubject.scheduleEvent(trackedEvent(0));
+        testSubject.caughtUp();
+
+        assertWithin(1, TimeUnit.SECONDS, () -> assertTrue(segmentStatus.get().isCaughtUp()));
+        assertEquals(1, processedEvents.size());
+    }
+
+    @Test
+    void testBatchesAreLimitedToTheConfiguredBatchSize() throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        WorkPackage.BatchProcessor delegate = batchProcessor;
+        batchProcessor = (eventMessages, unitOfWork, processingSegments) -> {
+            batchSizes.add(eventMessages.size());
+            delegate.processBatch(eventMessages, unitOfWork, processingSegments);
+        };
+        // block the worker thread, so all events are queued before processing starts
+        CountDownLatch workerBlocked = new CountDownLatch(1);
+        executorService.submit(() -> {
+            workerBlocked.await();
+            return null;
+        });
+        WorkPackage testSubject = WorkPackage.builder()
+                                             .name(PROCESSOR_NAME)
+                                             .tokenStore(tokenStore)
+                                             .transactionManager(NoTransactionManager.INSTANCE)
+                                             .executorService(executorService)
+                                             .eventValidator(new TestEventValidator())
+                                             .batchProcessor(batchProcessor)
+                                             .segment(SEGMENT)
+                                             .initialToken(null)
+                                             .batchSize(2)
+                                             .segmentStatusUpdater(segmentStatus::updateAndGet)
+                                             .build();
+
+        for (int i = 0; i < 5; i++) {
+            testSubject.scheduleEvent(trackedEvent(i));
+        }
+        workerBlocked.countDown();
+
+        assertWithin(1, TimeUnit.SECONDS, () -> assertEquals(5, processedEvents.size()));
+        assertEquals(Arrays.asList(2, 2, 1), batchSizes);
+        assertNull(testSubject.abort(null).get(1, TimeUnit.SECONDS));
+    }
+
+    private WorkPackage buildWorkPackage(TrackingToken initialToken, long claimExtensionThreshold) {
+        return WorkPackage.builder()
+                          .name(PROCESSOR_NAME)
+                          .tokenStore(tokenStore)
+                          .transactionManager(NoTransactionManager.INSTANCE)
+                          .executorService(executorService)
+                          .eventValidator(new TestEventValidator())
+                          .batchProcessor((eventMessages, unitOfWork, processingSegments) -> batchProcessor
+                                  .processBatch(eventMessages, unitOfWork, processingSegments))
+                          .segment(SEGMENT)
+                          .initialToken(initialToken)
+                          .claimExtensionThreshold(claimExtensionThreshold)
+                          .segmentStatusUpdater(segmentStatus::updateAndGet)
+                          .build();
+    }
+
+    private static TrackedEventMessage<?> trackedEvent(long position) {
+        return new GenericTrackedEventMessage<>(new GlobalSequenceTrackingToken(position), createEvent(position));
+    }
+
+    private class TestEventValidator implements WorkPackage.EventValidator {
+
+        @Override
+        public boolean canHandle(EventMessage<?> eventMessage, Collection<Segment> segments) {
+            return eventFilter.test(eventMessage);
+        }
+
+        @Override
+        public void reportIgnored(EventMessage<?> eventMessage) {
+            ignoredEvents.add(eventMessage);
+        }
+    }
+}
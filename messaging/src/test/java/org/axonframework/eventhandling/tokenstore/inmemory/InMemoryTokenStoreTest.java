@@ -17,11 +17,15 @@
 package org.axonframework.eventhandling.tokenstore.inmemory;
 
 import org.axonframework.eventhandling.GlobalSequenceTrackingToken;
+import org.axonframework.eventhandling.TrackingToken;
 import org.axonframework.eventhandling.tokenstore.UnableToClaimTokenException;
+import org.axonframework.eventhandling.tokenstore.UnableToExtendClaimsException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -109,5 +113,39 @@ void testQuerySegments() {
         }
     }
 
+    @Test
+    void testClaimTokensSkipsUninitializedSegments() {
+        testSubject.initializeTokenSegments("test1", 2, new GlobalSequenceTrackingToken(1));
+
+        Map<Integer, TrackingToken> actual = testSubject.claimTokens("test1", new int[]{0, 1, 2});
+
+        assertEquals(2, actual.size());
+        assertEquals(new GlobalSequenceTrackingToken(1), actual.get(0));
+        assertEquals(new GlobalSequenceTrackingToken(1), actual.get(1));
+        assertFalse(actual.containsKey(2));
+    }
+
+    @Test
+    void testStoreTokens() {
+        testSubject.initializeTokenSegments("test1", 2);
+        Map<Integer, TrackingToken> tokens = new HashMap<>();
+        tokens.put(0, new GlobalSequenceTrackingToken(1));
+        tokens.put(1, null);
 
+        testSubject.storeTokens(tokens, "test1");
+
+        assertEquals(new GlobalSequenceTrackingToken(1), testSubject.fetchToken("test1", 0));
+        assertNull(testSubject.fetchToken("test1", 1));
+    }
+
+    @Test
+    void testExtendClaimsFailsForUninitializedSegment() {
+        testSubject.initializeTokenSegments("test1", 2);
+
+        testSubject.extendClaims("test1", new int[]{0, 1});
+        UnableToExtendClaimsException exception = assertThrows(
+                UnableToExtendClaimsException.class, () -> testSubject.extendClaims("test1", new int[]{0, 2})
+        );
+        assertArrayEquals(new int[]{2}, exception.getSegments());
+    }
 }
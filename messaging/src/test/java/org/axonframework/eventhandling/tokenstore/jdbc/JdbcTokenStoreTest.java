@@ -23,6 +23,7 @@
 import org.axonframework.eventhandling.tokenstore.AbstractTokenEntry;
 import org.axonframework.eventhandling.tokenstore.ConfigToken;
 import org.axonframework.eventhandling.tokenstore.UnableToClaimTokenException;
+import org.axonframework.eventhandling.tokenstore.UnableToExtendClaimsException;
 import org.axonframework.serialization.TestSerializer;
 import org.axonframework.serialization.xml.XStreamSerializer;
 import org.hsqldb.jdbc.JDBCDataSource;
@@ -51,12 +52,15 @@
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -326,6 +330,100 @@ void testIdentifierReadIfAvailable() throws SQLException {
         assertEquals("test123", id1.get());
     }
 
+    @Test
+    void testClaimTokensInSingleOperation() {
+        transactionManager.executeInTransaction(
+                () -> tokenStore.initializeTokenSegments("multi", 3, new GlobalSequenceTrackingToken(1))
+        );
+
+        Map<Integer, TrackingToken> actual = transactionManager.fetchInTransaction(
+                () -> tokenStore.claimTokens("multi", new int[]{0, 1, 2, 3})
+        );
+
+        assertEquals(3, actual.size());
+        assertEquals(new GlobalSequenceTrackingToken(1), actual.get(0));
+        assertEquals(new GlobalSequenceTrackingToken(1), actual.get(1));
+        assertEquals(new GlobalSequenceTrackingToken(1), actual.get(2));
+        assertFalse(actual.containsKey(3));
+    }
+
+    @Test
+    void testClaimTokensSkipsSegmentsClaimedByOtherNode() {
+        transactionManager.executeInTransaction(() -> tokenStore.initializeTokenSegments("concurrent", 3));
+        transactionManager.executeInTransaction(() -> tokenStore.fetchToken("concurrent", 1));
+
+        Map<Integer, TrackingToken> actual = transactionManager.fetchInTransaction(
+                () -> concurrentTokenStore.claimTokens("concurrent", new int[]{0, 1, 2})
+        );
+
+        assertEquals(2, actual.size());
+        assertTrue(actual.containsKey(0));
+        assertFalse(actual.containsKey(1));
+        assertTrue(actual.containsKey(2));
+        assertThrows(UnableToClaimTokenException.class,
+                     () -> transactionManager.executeInTransaction(() -> tokenStore.fetchToken("concurrent", 0)));
+    }
+
+    @Test
+    void testStoreTokensInSingleOperation() {
+        transactionManager.executeInTransaction(() -> tokenStore.initializeTokenSegments("multi", 3));
+        transactionManager.executeInTransaction(() -> tokenStore.claimTokens("multi", new int[]{0, 1}));
+
+        Map<Integer, TrackingToken> tokens = new HashMap<>();
+        tokens.put(0, new GlobalSequenceTrackingToken(1));
+        tokens.put(1, new GlobalSequenceTrackingToken(2));
+        // segment 2 was not claimed yet, and should be claimed through the load-then-save approach
+        tokens.put(2, new GlobalSequenceTrackingToken(3));
+        transactionManager.executeInTransaction(() -> tokenStore.storeTokens(tokens, "multi"));
+
+        Map<Integer, TrackingToken> actual = transactionManager.fetchInTransaction(
+                () -> tokenStore.claimTokens("multi", new int[]{0, 1, 2})
+        );
+        assertEquals(tokens, actual);
+    }
+
+    @Test
+    void testStoreTokensFailsWhenTokenIsOwnedByOtherNode() {
+        transactionManager.executeInTransaction(() -> tokenStore.initializeTokenSegments("stealing", 2));
+        transactionManager.executeInTransaction(() -> tokenStore.claimTokens("stealing", new int[]{0, 1}));
+        transactionManager.executeInTransaction(() -> stealingTokenStore.fetchToken("stealing", 1));
+
+        Map<Integer, TrackingToken> tokens = new HashMap<>();
+        tokens.put(0, new GlobalSequenceTrackingToken(1));
+        tokens.put(1, new GlobalSequenceTrackingToken(1));
+        assertThrows(UnableToClaimTokenException.class,
+                     () -> transactionManager.executeInTransaction(() -> tokenStore.storeTokens(tokens, "stealing")));
+    }
+
+    @Test
+    void testExtendClaims() {
+        transactionManager.executeInTransaction(() -> tokenStore.initializeTokenSegments("concurrent", 2));
+        transactionManager.executeInTransaction(() -> tokenStore.claimTokens("concurrent", new int[]{0, 1}));
+
+        transactionManager.executeInTransaction(() -> tokenStore.extendClaims("concurrent", new int[]{0, 1}));
+        assertThrows(
+                UnableToClaimTokenException.class,
+                () -> transactionManager.executeInTransaction(
+                        () -> concurrentTokenStore.extendClaims("concurrent", new int[]{0, 1})
+                )
+        );
+    }
+
+    @Test
+    void testExtendClaimsReportsSegmentsOfLostClaims() {
+        transactionManager.executeInTransaction(() -> tokenStore.initializeTokenSegments("stealing", 3));
+        transactionManager.executeInTransaction(() -> tokenStore.claimTokens("stealing", new int[]{0, 1, 2}));
+        transactionManager.executeInTransaction(() -> stealingTokenStore.fetchToken("stealing", 1));
+
+        UnableToExtendClaimsException exception = assertThrows(
+                UnableToExtendClaimsException.class,
+                () -> transactionManager.executeInTransaction(
+                        () -> tokenStore.extendClaims("stealing", new int[]{0, 1, 2})
+                )
+        );
+        assertArrayEquals(new int[]{1}, exception.getSegments());
+    }
+
     @Configuration
     public static class Context {
 
@@ -24,6 +24,7 @@
 import org.axonframework.eventhandling.TrackingToken;
 import org.axonframework.eventhandling.tokenstore.ConfigToken;
 import org.axonframework.eventhandling.tokenstore.UnableToClaimTokenException;
+import org.axonframework.eventhandling.tokenstore.UnableToExtendClaimsException;
 import org.axonframework.serialization.TestSerializer;
 import org.axonframework.serialization.xml.XStreamSerializer;
 import org.hibernate.dialect.HSQLDialect;
@@ -56,7 +57,9 @@
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -390,6 +393,93 @@ public void testStealingFromOtherThreadFailsWithRowLock() throws Exception {
         }
     }
 
+    @Transactional
+    @Test
+    public void testClaimTokensInSingleOperation() {
+        jpaTokenStore.initializeTokenSegments("claimMultiple", 3, new GlobalSequenceTrackingToken(1));
+
+        Map<Integer, TrackingToken> actual = jpaTokenStore.claimTokens("claimMultiple", new int[]{0, 1, 2, 3});
+
+        assertEquals(3, actual.size());
+        assertEquals(new GlobalSequenceTrackingToken(1), actual.get(0));
+        assertEquals(new GlobalSequenceTrackingToken(1), actual.get(1));
+        assertEquals(new GlobalSequenceTrackingToken(1), actual.get(2));
+        assertFalse(actual.containsKey(3));
+        entityManager.flush();
+        assertEquals("local", entityManager.find(TokenEntry.class, new TokenEntry.PK("claimMultiple", 2)).getOwner());
+    }
+
+    @Transactional
+    @Test
+    public void testClaimTokensSkipsSegmentsClaimedByOtherNode() {
+        jpaTokenStore.initializeTokenSegments("concurrent", 3);
+        jpaTokenStore.fetchToken("concurrent", 1);
+
+        Map<Integer, TrackingToken> actual = concurrentJpaTokenStore.claimTokens("concurrent", new int[]{0, 1, 2});
+
+        assertEquals(2, actual.size());
+        assertTrue(actual.containsKey(0));
+        assertFalse(actual.containsKey(1));
+        assertTrue(actual.containsKey(2));
+    }
+
+    @Transactional
+    @Test
+    public void testStoreTokensInSingleOperation() {
+        jpaTokenStore.initializeTokenSegments("storeMultiple", 2);
+        jpaTokenStore.claimTokens("storeMultiple", new int[]{0, 1});
+
+        Map<Integer, TrackingToken> tokens = new HashMap<>();
+        tokens.put(0, new GlobalSequenceTrackingToken(1));
+        tokens.put(1, new GlobalSequenceTrackingToken(2));
+        jpaTokenStore.storeTokens(tokens, "storeMultiple");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(tokens, jpaTokenStore.claimTokens("storeMultiple", new int[]{0, 1}));
+    }
+
+    @Transactional
+    @Test
+    public void testStoreTokensFailsWhenTokenIsOwnedByOtherNode() {
+        jpaTokenStore.initializeTokenSegments("stealing", 2);
+        jpaTokenStore.claimTokens("stealing", new int[]{0, 1});
+        stealingJpaTokenStore.fetchToken("stealing", 1);
+
+        Map<Integer, TrackingToken> tokens = new HashMap<>();
+        tokens.put(0, new GlobalSequenceTrackingToken(1));
+        tokens.put(1, new GlobalSequenceTrackingToken(1));
+        assertThrows(UnableToClaimTokenException.class, () -> jpaTokenStore.storeTokens(tokens, "stealing"));
+    }
+
+    @Transactional
+    @Test
+    public void testExtendingLostClaimsFails() {
+        jpaTokenStore.initializeTokenSegments("processor", 2);
+        jpaTokenStore.claimTokens("processor", new int[]{0, 1});
+        entityManager.flush();
+
+        jpaTokenStore.extendClaims("processor", new int[]{0, 1});
+        assertThrows(UnableToClaimTokenException.class,
+                     () -> stealingJpaTokenStore.extendClaims("processor", new int[]{0, 1}));
+    }
+
+    @Transactional
+    @Test
+    public void testExtendClaimsReportsSegmentsOfLostClaims() {
+        jpaTokenStore.initializeTokenSegments("processor", 3);
+        jpaTokenStore.claimTokens("processor", new int[]{0, 1, 2});
+        entityManager.flush();
+        stealingJpaTokenStore.fetchToken("processor", 1);
+        entityManager.flush();
+
+        UnableToExtendClaimsException exception = assertThrows(
+                UnableToExtendClaimsException.class,
+                () -> jpaTokenStore.extendClaims("processor", new int[]{0, 1, 2})
+        );
+        assertArrayEquals(new int[]{1}, exception.getSegments());
+    }
+
     @Test
     public void testStoreAndLoadAcrossTransactions() {
         txTemplate.execute(status -> {
@@ -23,6 +23,7 @@
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.axonframework.messaging.MetaData;
 import org.axonframework.serialization.AnnotationRevisionResolver;
 import org.axonframework.serialization.ChainingConverter;
@@ -37,6 +38,7 @@
 import java.io.InputStream;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -154,6 +156,49 @@ void testSerializeAndDeserializeObject_JsonNodeFormat() {
         assertEquals(toSerialize.getNested().getValue(), actual.getNested().getValue());
     }
 
+    @Test
+    void testSerializeAndDeserializeObject_SmileFormat() {
+        testSubject = JacksonSerializer.builder().objectMapper(new ObjectMapper(new SmileFactory())).build();
+        SimpleSerializableType toSerialize = new SimpleSerializableType("first", time,
+                                                                        new SimpleSerializableType("nested"));
+
+        SerializedObject<byte[]> serialized = testSubject.serialize(toSerialize, byte[].class);
+        SimpleSerializableType actual = testSubject.deserialize(serialized);
+
+        assertArrayEquals(":)\n".getBytes(), Arrays.copyOf(serialized.getData(), 3));
+        assertEquals(toSerialize.getValue(), actual.getValue());
+        assertEquals(toSerialize.getNested().getValue(), actual.getNested().getValue());
+    }
+
+    @Test
+    void testSmileFormatSerializerDeserializesJsonFormat() {
+        JacksonSerializer smileSerializer =
+                JacksonSerializer.builder().objectMapper(new ObjectMapper(new SmileFactory())).build();
+        SimpleSerializableType toSerialize = new SimpleSerializableType("first", time,
+                                                                        new SimpleSerializableType("nested"));
+
+        SerializedObject<byte[]> serialized = testSubject.serialize(toSerialize, byte[].class);
+        SimpleSerializableType actual = smileSerializer.deserialize(serialized);
+
+        assertEquals(toSerialize.getValue(), actual.getValue());
+        assertEquals(toSerialize.getNested().getValue(), actual.getNested().getValue());
+        MetaData metaData = MetaData.with("key", "value");
+        assertEquals(metaData, smileSerializer.deserialize(testSubject.serialize(metaData, byte[].class)));
+    }
+
+    @Test
+    void testSmileFormatSerializerConvertsBothFormatsToJsonNode() {
+        JacksonSerializer smileSerializer =
+                JacksonSerializer.builder().objectMapper(new ObjectMapper(new SmileFactory())).build();
+        SimpleSerializableType toSerialize = new SimpleSerializableType("first");
+
+        byte[] json = testSubject.serialize(toSerialize, byte[].class).getData();
+        byte[] smile = smileSerializer.serialize(toSerialize, byte[].class).getData();
+
+        assertEquals("first", smileSerializer.getConverter().convert(json, JsonNode.class).get("value").asText());
+        assertEquals("first", smileSerializer.getConverter().convert(smile, JsonNode.class).get("value").asText());
+    }
+
     @Test
     void testCustomObjectMapperRevisionResolverAndConverter() {
         RevisionResolver revisionResolver = spy(new AnnotationRevisionResolver());
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.micrometer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.axonframework.common.caching.CacheStatistics;
+
+/**
+ * Reports the {@link CacheStatistics} of a cache, such as a {@code BoundedCache} or the first level caches of the
+ * {@code DisruptorCommandBus}. The number of hits, misses, evictions and expirations are reported as {@link
+ * FunctionCounter}s, while the current number of entries in the cache is reported as a {@link Gauge}.
+ *
+ * @since 4.5
+ */
+public class CacheMonitor {
+
+    private static final String HITS_COUNTER = ".hits";
+    private static final String MISSES_COUNTER = ".misses";
+    private static final String EVICTIONS_COUNTER = ".evictions";
+    private static final String EXPIRATIONS_COUNTER = ".expirations";
+    private static final String SIZE_GAUGE = ".size";
+
+    private CacheMonitor(String meterNamePrefix,
+                         MeterRegistry meterRegistry,
+                         CacheStatistics statistics,
+                         Iterable<Tag> tags) {
+        FunctionCounter.builder(meterNamePrefix + HITS_COUNTER, statistics, CacheStatistics::hitCount)
+                       .tags(tags)
+                       .register(meterRegistry);
+        FunctionCounter.builder(meterNamePrefix + MISSES_COUNTER, statistics, CacheStatistics::missCount)
+                       .tags(tags)
+                       .register(meterRegistry);
+        FunctionCounter.builder(meterNamePrefix + EVICTIONS_COUNTER, statistics, CacheStatistics::evictionCount)
+                       .tags(tags)
+                       .register(meterRegistry);
+        FunctionCounter.builder(meterNamePrefix + EXPIRATIONS_COUNTER, statistics, CacheStatistics::expirationCount)
+                       .tags(tags)
+                       .register(meterRegistry);
+        Gauge.builder(meterNamePrefix + SIZE_GAUGE, statistics, CacheStatistics::size)
+             .tags(tags)
+             .register(meterRegistry);
+    }
+
+    /**
+     * Creates a monitor for the given cache {@code statistics}.
+     *
+     * @param meterNamePrefix The prefix for the meter names that will be created in the given meterRegistry
+     * @param meterRegistry   The meter registry used to create and register the meters
+     * @param statistics      The {@link CacheStatistics} of the cache to report
+     * @return The cache monitor
+     */
+    public static CacheMonitor buildMonitor(String meterNamePrefix,
+                                            MeterRegistry meterRegistry,
+                                            CacheStatistics statistics) {
+        return new CacheMonitor(meterNamePrefix, meterRegistry, statistics, Tags.empty());
+    }
+
+    /**
+     * Creates a monitor for the given cache {@code statistics}.
+     *
+     * @param meterNamePrefix The prefix for the meter names that will be created in the given meterRegistry
+     * @param meterRegistry   The meter registry used to create and register the meters
+     * @param statistics      The {@link CacheStatistics} of the cache to report
+     * @param tags            The micrometer {@link Tag}s to attach to the created meters
+     * @return The cache monitor
+     */
+    public static CacheMonitor buildMonitor(String meterNamePrefix,
+                                            MeterRegistry meterRegistry,
+                                            CacheStatistics statistics,
+                                            Iterable<Tag> tags) {
+        return new CacheMonitor(meterNamePrefix, meterRegistry, statistics, tags);
+    }
+}
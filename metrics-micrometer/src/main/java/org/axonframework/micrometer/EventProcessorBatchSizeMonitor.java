@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.micrometer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.axonframework.eventhandling.EventTrackerStatus;
+import org.axonframework.eventhandling.EventTrackerStatusChangeListener;
+
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures the number of events an event processor currently processes in a single batch, as reported through {@link
+ * EventTrackerStatus#getBatchSize()}. The {@link Gauge} reports the average batch size over all segments the processor
+ * currently processes, or {@code 0} if no batch size is known.
+ * <p>
+ * This monitor is an {@link EventTrackerStatusChangeListener} and should be registered with the event processor, for
+ * example through {@link org.axonframework.eventhandling.TrackingEventProcessorConfiguration#andEventTrackerStatusChangeListener(EventTrackerStatusChangeListener)}.
+ * As a processor accepts a single listener, a listener which was already configured can be given to this monitor,
+ * which notifies it of every change after updating the gauge.
+ *
+ * @since 4.5
+ */
+public class EventProcessorBatchSizeMonitor implements EventTrackerStatusChangeListener {
+
+    private static final String BATCH_SIZE_GAUGE = ".batchSize";
+
+    private final Map<Integer, Integer> batchSizes = new ConcurrentHashMap<>();
+    private final EventTrackerStatusChangeListener delegate;
+
+    private EventProcessorBatchSizeMonitor(String meterNamePrefix,
+                                           MeterRegistry meterRegistry,
+                                           Iterable<Tag> tags,
+                                           EventTrackerStatusChangeListener delegate) {
+        this.delegate = delegate;
+        Gauge.builder(meterNamePrefix + BATCH_SIZE_GAUGE, this, EventProcessorBatchSizeMonitor::averageBatchSize)
+             .tags(tags)
+             .register(meterRegistry);
+    }
+
+    /**
+     * Creates a monitor for the batch size of an event processor.
+     *
+     * @param meterNamePrefix The prefix for the meter name that will be created in the given meterRegistry
+     * @param meterRegistry   The meter registry used to create and register the meters
+     * @return The event processor batch size monitor
+     */
+    public static EventProcessorBatchSizeMonitor buildMonitor(String meterNamePrefix, MeterRegistry meterRegistry) {
+        return new EventProcessorBatchSizeMonitor(meterNamePrefix,
+                                                  meterRegistry,
+                                                  Tags.empty(),
+                                                  EventTrackerStatusChangeListener.noOp());
+    }
+
+    /**
+     * Creates a monitor for the batch size of an event processor.
+     *
+     * @param meterNamePrefix The prefix for the meter name that will be created in the given meterRegistry
+     * @param meterRegistry   The meter registry used to create and register the meters
+     * @param tags            The micrometer {@link Tag}s to attach to the created meter
+     * @return The event processor batch size monitor
+     */
+    public static EventProcessorBatchSizeMonitor buildMonitor(String meterNamePrefix,
+                                                              MeterRegistry meterRegistry,
+                                                              Iterable<Tag> tags) {
+        return buildMonitor(meterNamePrefix, meterRegistry, tags, EventTrackerStatusChangeListener.noOp());
+    }
+
+    /**
+     * Creates a monitor for the batch size of an event processor, which notifies the given {@code delegate} of every
+     * change after updating its gauge. Whether positions are validated is decided by the {@code delegate}.
+     *
+     * @param meterNamePrefix The prefix for the meter name that will be created in the given meterRegistry
+     * @param meterRegistry   The meter registry used to create and register the meters
+     * @param tags            The micrometer {@link Tag}s to attach to the created meter
+     * @param delegate        The {@link EventTrackerStatusChangeListener} to notify of every change
+     * @return The event processor batch size monitor
+     */
+    public static EventProcessorBatchSizeMonitor buildMonitor(String meterNamePrefix,
+                                                              MeterRegistry meterRegistry,
+                                                              Iterable<Tag> tags,
+                                                              EventTrackerStatusChangeListener delegate) {
+        return new EventProcessorBatchSizeMonitor(meterNamePrefix, meterRegistry, tags, delegate);
+    }
+
+    @Override
+    public void onEventTrackerStatusChange(Map<Integer, EventTrackerStatus> updatedTrackerStatus) {
+        updatedTrackerStatus.forEach((segmentId, status) -> {
+            OptionalInt batchSize = status.getBatchSize();
+            if (status.trackerRemoved() || !batchSize.isPresent()) {
+                batchSizes.remove(segmentId);
+            } else {
+                batchSizes.put(segmentId, batchSize.getAsInt());
+            }
+        });
+        delegate.onEventTrackerStatusChange(updatedTrackerStatus);
+    }
+
+    @Override
+    public boolean validatePositions() {
+        return delegate.validatePositions();
+    }
+
+    private double averageBatchSize() {
+        return batchSizes.values().stream().mapToInt(Integer::intValue).average().orElse(0);
+    }
+}
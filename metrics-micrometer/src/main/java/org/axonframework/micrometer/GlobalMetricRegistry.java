@@ -22,10 +22,14 @@
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.axonframework.commandhandling.CommandBus;
 import org.axonframework.commandhandling.CommandMessage;
+import org.axonframework.commandhandling.ShardedCommandBus;
+import org.axonframework.common.caching.CacheStatistics;
 import org.axonframework.config.Configurer;
 import org.axonframework.eventhandling.EventBus;
 import org.axonframework.eventhandling.EventMessage;
 import org.axonframework.eventhandling.EventProcessor;
+import org.axonframework.eventhandling.EventTrackerStatusChangeListener;
+import org.axonframework.eventsourcing.AbstractSnapshotter;
 import org.axonframework.messaging.Message;
 import org.axonframework.monitoring.MessageMonitor;
 import org.axonframework.monitoring.MultiMessageMonitor;
@@ -158,6 +162,95 @@ public MessageMonitor<? super EventMessage<?>> registerEventProcessor(String eve
         return new MultiMessageMonitor<>(monitors);
     }
 
+    /**
+     * Registers a {@link io.micrometer.core.instrument.Gauge} to the registry reporting the batch size of an {@link
+     * EventProcessor}. The gauge will be registered with the registry under the given {@code eventProcessorName},
+     * tagged with the {@link TagsUtil#PROCESSOR_NAME_TAG}. The returned {@link EventTrackerStatusChangeListener} should
+     * be registered with the {@code EventProcessor} to initiate the monitoring, for example through {@link
+     * org.axonframework.eventhandling.TrackingEventProcessorConfiguration#andEventTrackerStatusChangeListener(EventTrackerStatusChangeListener)}.
+     *
+     * @param eventProcessorName the name under which the {@link EventProcessor} should be registered to the registry
+     * @return an {@link EventTrackerStatusChangeListener} to monitor the batch size of an {@link EventProcessor}
+     */
+    public EventTrackerStatusChangeListener registerEventProcessorBatchSize(String eventProcessorName) {
+        return registerEventProcessorBatchSize(eventProcessorName, EventTrackerStatusChangeListener.noOp());
+    }
+
+    /**
+     * Registers a {@link io.micrometer.core.instrument.Gauge} to the registry reporting the batch size of an {@link
+     * EventProcessor}, like {@link #registerEventProcessorBatchSize(String)}. As an {@code EventProcessor} accepts a
+     * single {@link EventTrackerStatusChangeListener}, the returned listener notifies the given {@code
+     * existingListener} of every change, so it can replace the listener configured on the processor.
+     *
+     * @param eventProcessorName the name under which the {@link EventProcessor} should be registered to the registry
+     * @param existingListener   the {@link EventTrackerStatusChangeListener} already configured for the processor
+     * @return an {@link EventTrackerStatusChangeListener} to monitor the batch size of an {@link EventProcessor}
+     */
+    public EventTrackerStatusChangeListener registerEventProcessorBatchSize(
+            String eventProcessorName,
+            EventTrackerStatusChangeListener existingListener
+    ) {
+        return EventProcessorBatchSizeMonitor.buildMonitor(eventProcessorName,
+                                                           registry,
+                                                           Tags.of(PROCESSOR_NAME_TAG, eventProcessorName),
+                                                           existingListener);
+    }
+
+    /**
+     * Registers meters to the registry reporting the given {@link CacheStatistics}, such as those of a {@code
+     * BoundedCache} or {@code DisruptorCommandBus#firstLevelCacheStatistics()}: the number of hits, misses, evictions
+     * and expirations, and the current number of entries. The meters will be registered with the registry under the
+     * given {@code cacheName}.
+     *
+     * @param cacheName  the name under which the {@link CacheStatistics} should be registered to the registry
+     * @param statistics the {@link CacheStatistics} of the cache to report
+     */
+    public void registerCache(String cacheName, CacheStatistics statistics) {
+        CacheMonitor.buildMonitor(cacheName, registry, statistics);
+    }
+
+    /**
+     * Registers meters to the registry reporting the statistics of the given {@link AbstractSnapshotter}: the number of
+     * queued snapshot requests and the time it takes to create each snapshot. The meters will be registered with the
+     * registry under the given {@code snapshotterName}.
+     *
+     * @param snapshotterName the name under which the {@link AbstractSnapshotter} should be registered to the registry
+     * @param snapshotter     the {@link AbstractSnapshotter} to report the statistics of
+     */
+    public void registerSnapshotter(String snapshotterName, AbstractSnapshotter snapshotter) {
+        SnapshotterMonitor.buildMonitor(snapshotterName, registry, snapshotter);
+    }
+
+    /**
+     * Registers meters to the registry reporting the number of commands waiting in the mailboxes of the given {@link
+     * ShardedCommandBus}, per shard and in total. The meters will be registered with the registry under the given
+     * {@code commandBusName}.
+     *
+     * @param commandBusName the name under which the {@link ShardedCommandBus} should be registered to the registry
+     * @param commandBus     the {@link ShardedCommandBus} to report the queue depths of
+     */
+    public void registerShardedCommandBus(String commandBusName, ShardedCommandBus commandBus) {
+        ShardedCommandBusMonitor.buildMonitor(commandBusName, registry, commandBus);
+    }
+
+    /**
+     * Registers a {@link MessageTimerMonitor} to the registry measuring the time it takes an {@link EventProcessor} to
+     * deserialize events. The timers will be registered with the registry under the given {@code eventProcessorName}
+     * suffixed with {@code ".deserialization"}, tagged with the {@link TagsUtil#PROCESSOR_NAME_TAG}. The returned
+     * {@link MessageMonitor} should be registered with the {@code EventProcessor} to initiate the monitoring, for
+     * example through {@link org.axonframework.eventhandling.TrackingEventProcessorConfiguration#andDeserializationMonitor(MessageMonitor)}.
+     *
+     * @param eventProcessorName the name under which the {@link EventProcessor} should be registered to the registry
+     * @return a {@link MessageMonitor} to monitor the deserialization of events by an {@link EventProcessor}
+     */
+    public MessageMonitor<? super EventMessage<?>> registerEventProcessorDeserialization(String eventProcessorName) {
+        return MessageTimerMonitor.builder()
+                                  .meterNamePrefix(eventProcessorName + ".deserialization")
+                                  .meterRegistry(registry)
+                                  .tagsBuilder(message -> Tags.of(PROCESSOR_NAME_TAG, eventProcessorName))
+                                  .build();
+    }
+
     /**
      * Registers new metrics to the registry to monitor a {@link CommandBus}. The monitor will be registered with the
      * registry under the given {@code commandBusName}. The returned {@link MessageMonitor} can be installed on the
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.axonframework.micrometer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.axonframework.commandhandling.ShardedCommandBus;
+
+/**
+ * Reports the number of commands waiting in the mailboxes of a {@link ShardedCommandBus} as {@link Gauge}s: one per
+ * shard, tagged with the index of the shard, and one for all shards combined.
+ *
+ * @since 4.5
+ */
+public class ShardedCommandBusMonitor {
+
+    private static final String QUEUE_DEPTH_GAUGE = ".queueDepth";
+    private static final String TOTAL_QUEUE_DEPTH_GAUGE = ".totalQueueDepth";
+    private static final String SHARD_TAG = "shard";
+
+    private ShardedCommandBusMonitor(String meterNamePrefix,
+                                     MeterRegistry meterRegistry,
+                                     ShardedCommandBus commandBus,
+                                     Iterable<Tag> tags) {
+        Gauge.builder(meterNamePrefix + TOTAL_QUEUE_DEPTH_GAUGE, commandBus, ShardedCommandBus::totalQueueDepth)
+             .tags(tags)
+             .register(meterRegistry);
+        for (int i = 0; i < commandBus.shardCount(); i++) {
+            int shardIndex = i;
+            Gauge.builder(meterNamePrefix + QUEUE_DEPTH_GAUGE, commandBus, bus -> bus.queueDepth(shardIndex))
+                 .tags(Tags.of(tags).and(SHARD_TAG, Integer.toString(shardIndex)))
+                 .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Creates a monitor for the queue depths of the given {@code commandBus}.
+     *
+     * @param meterNamePrefix The prefix for the meter names that will be created in the given meterRegistry
+     * @param meterRegistry   The meter registry used to create and register the meters
+     * @param commandBus      The {@link ShardedCommandBus} to report the queue depths of
+     * @return The sharded command bus monitor
+     */
+    public static ShardedCommandBusMonitor buildMonitor(String meterNamePrefix,
+                                                        MeterRegistry meterRegistry,
+                                                        ShardedCommandBus commandBus) {
+        return new ShardedCommandBusMonitor(meterNamePrefix, meterRegistry, commandBus, Tags.empty());
+    }
+
+    /**
+     * Creates a monitor for the queue depths of the given {@code commandBus}.
+     *
+     * @param meterNamePrefix The prefix for the meter names that will be created in the given meterRegistry
+     * @param meterRegistry   The meter registry used to create and register the meters
+     * @param commandBus      The {@link ShardedCommandBus} to report the queue depths of
+     * @param tags            The micrometer {@link Tag}s to attach to the created meters
+     * @return The sharded command bus monitor
+     */
+    public static ShardedCommandBusMonitor buildMonitor(String meterNamePrefix,
+                                                        MeterRegistry meterRegistry,
+                                                        ShardedCommandBus commandBus,
+                                                        Iterable<Tag> tags) {
+        return new ShardedCommandBusMonitor(meterNamePrefix, meterRegistry, commandBus, tags);
+    }
+}
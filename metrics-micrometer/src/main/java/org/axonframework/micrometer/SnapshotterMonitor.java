@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.micrometer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.axonframework.eventsourcing.AbstractSnapshotter;
+
+/**
+ * Reports the number of snapshot requests waiting in the queue of an {@link AbstractSnapshotter} as a {@link Gauge},
+ * and the time it takes to create and store each snapshot as a {@link Timer}.
+ *
+ * @since 4.5
+ */
+public class SnapshotterMonitor {
+
+    private static final String QUEUE_DEPTH_GAUGE = ".queueDepth";
+    private static final String SNAPSHOT_TIMER = ".snapshotTimer";
+
+    private SnapshotterMonitor(String meterNamePrefix,
+                               MeterRegistry meterRegistry,
+                               AbstractSnapshotter snapshotter,
+                               Iterable<Tag> tags) {
+        Gauge.builder(meterNamePrefix + QUEUE_DEPTH_GAUGE, snapshotter, AbstractSnapshotter::getQueueDepth)
+             .tags(tags)
+             .register(meterRegistry);
+        Timer snapshotTimer = Timer.builder(meterNamePrefix + SNAPSHOT_TIMER)
+                                   .tags(tags)
+                                   .register(meterRegistry);
+        snapshotter.registerSnapshotListener(
+                (aggregateType, aggregateIdentifier, duration) -> snapshotTimer.record(duration)
+        );
+    }
+
+    /**
+     * Creates a monitor for the statistics of the given {@code snapshotter}.
+     *
+     * @param meterNamePrefix The prefix for the meter names that will be created in the given meterRegistry
+     * @param meterRegistry   The meter registry used to create and register the meters
+     * @param snapshotter     The {@link AbstractSnapshotter} to report the statistics of
+     * @return The snapshotter monitor
+     */
+    public static SnapshotterMonitor buildMonitor(String meterNamePrefix,
+                                                  MeterRegistry meterRegistry,
+                                                  AbstractSnapshotter snapshotter) {
+        return new SnapshotterMonitor(meterNamePrefix, meterRegistry, snapshotter, Tags.empty());
+    }
+
+    /**
+     * Creates a monitor for the statistics of the given {@code snapshotter}.
+     *
+     * @param meterNamePrefix The prefix for the meter names that will be created in the given meterRegistry
+     * @param meterRegistry   The meter registry used to create and register the meters
+     * @param snapshotter     The {@link AbstractSnapshotter} to report the statistics of
+     * @param tags            The micrometer {@link Tag}s to attach to the created meters
+     * @return The snapshotter monitor
+     */
+    public static SnapshotterMonitor buildMonitor(String meterNamePrefix,
+                                                  MeterRegistry meterRegistry,
+                                                  AbstractSnapshotter snapshotter,
+                                                  Iterable<Tag> tags) {
+        return new SnapshotterMonitor(meterNamePrefix, meterRegistry, snapshotter, tags);
+    }
+}
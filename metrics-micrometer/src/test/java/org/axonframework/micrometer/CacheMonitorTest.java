@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.micrometer;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.axonframework.common.caching.BoundedCache;
+import org.axonframework.common.caching.CacheStatistics;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link CacheMonitor}.
+ */
+class CacheMonitorTest {
+
+    @Test
+    void testCacheStatisticsWithoutTags() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BoundedCache cache = BoundedCache.builder().maxEntries(1).concurrencyLevel(1).build();
+        CacheMonitor.buildMonitor("cache", meterRegistry, cache);
+
+        cache.put("a", 1);
+        cache.get("a");
+        cache.get("b");
+        cache.put("b", 2);
+
+        assertEquals(1, meterRegistry.get("cache.hits").functionCounter().count(), 0);
+        assertEquals(1, meterRegistry.get("cache.misses").functionCounter().count(), 0);
+        assertEquals(1, meterRegistry.get("cache.evictions").functionCounter().count(), 0);
+        assertEquals(0, meterRegistry.get("cache.expirations").functionCounter().count(), 0);
+        assertEquals(1, meterRegistry.get("cache.size").gauge().value(), 0);
+    }
+
+    @Test
+    void testCacheStatisticsWithTags() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BoundedCache cache = BoundedCache.builder().build();
+        CacheMonitor.buildMonitor("cache", meterRegistry, cache, Tags.of("cacheName", "aggregates"));
+
+        cache.put("a", 1);
+        cache.get("a");
+
+        assertEquals(1, meterRegistry.get("cache.hits").tags("cacheName", "aggregates").functionCounter().count(), 0);
+        assertEquals(1, meterRegistry.get("cache.size").tags("cacheName", "aggregates").gauge().value(), 0);
+    }
+
+    @Test
+    void testStatisticsOfOtherCachesAreReported() {
+        CacheStatistics statistics = mock(CacheStatistics.class);
+        when(statistics.hitCount()).thenReturn(3L);
+        when(statistics.missCount()).thenReturn(2L);
+        when(statistics.evictionCount()).thenReturn(1L);
+        when(statistics.size()).thenReturn(4L);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CacheMonitor.buildMonitor("firstLevelCache", meterRegistry, statistics, Tags.of("bus", "disruptor"));
+
+        assertEquals(3, meterRegistry.get("firstLevelCache.hits")
+                                     .tags("bus", "disruptor")
+                                     .functionCounter()
+                                     .count(), 0);
+        assertEquals(2, meterRegistry.get("firstLevelCache.misses").functionCounter().count(), 0);
+        assertEquals(1, meterRegistry.get("firstLevelCache.evictions").functionCounter().count(), 0);
+        assertEquals(0, meterRegistry.get("firstLevelCache.expirations").functionCounter().count(), 0);
+        assertEquals(4, meterRegistry.get("firstLevelCache.size").gauge().value(), 0);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.micrometer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.axonframework.eventhandling.EventTrackerStatus;
+import org.axonframework.eventhandling.GlobalSequenceTrackingToken;
+import org.axonframework.eventhandling.RemovedTrackerStatus;
+import org.axonframework.eventhandling.Segment;
+import org.axonframework.eventhandling.TrackerStatus;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventProcessorBatchSizeMonitorTest {
+
+    private static final Segment[] SEGMENTS = Segment.ROOT_SEGMENT.split();
+
+    @Test
+    void testBatchSizeWithoutTags() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EventProcessorBatchSizeMonitor testSubject = EventProcessorBatchSizeMonitor.buildMonitor("test",
+                                                                                                  meterRegistry);
+        Gauge batchSizeGauge = meterRegistry.get("test.batchSize").gauge();
+        assertEquals(0, batchSizeGauge.value(), 0);
+
+        testSubject.onEventTrackerStatusChange(singletonMap(0, statusWithBatchSize(SEGMENTS[0], 10)));
+        testSubject.onEventTrackerStatusChange(singletonMap(1, statusWithBatchSize(SEGMENTS[1], 30)));
+
+        assertEquals(20, batchSizeGauge.value(), 0);
+    }
+
+    @Test
+    void testBatchSizeWithProcessorNameTag() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EventProcessorBatchSizeMonitor testSubject =
+                EventProcessorBatchSizeMonitor.buildMonitor("test",
+                                                            meterRegistry,
+                                                            Tags.of(TagsUtil.PROCESSOR_NAME_TAG, "test"));
+
+        testSubject.onEventTrackerStatusChange(singletonMap(0, statusWithBatchSize(SEGMENTS[0], 10)));
+
+        Gauge batchSizeGauge = meterRegistry.get("test.batchSize")
+                                            .tags(TagsUtil.PROCESSOR_NAME_TAG, "test")
+                                            .gauge();
+        assertEquals(10, batchSizeGauge.value(), 0);
+    }
+
+    @Test
+    void testRemovedSegmentsNoLongerContributeToBatchSize() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EventProcessorBatchSizeMonitor testSubject = EventProcessorBatchSizeMonitor.buildMonitor("test",
+                                                                                                  meterRegistry);
+        testSubject.onEventTrackerStatusChange(singletonMap(0, statusWithBatchSize(SEGMENTS[0], 10)));
+        testSubject.onEventTrackerStatusChange(singletonMap(1, statusWithBatchSize(SEGMENTS[1], 30)));
+
+        testSubject.onEventTrackerStatusChange(
+                singletonMap(1, new RemovedTrackerStatus(statusWithBatchSize(SEGMENTS[1], 30)))
+        );
+
+        assertEquals(10, meterRegistry.get("test.batchSize").gauge().value(), 0);
+    }
+
+    @Test
+    void testChangesArePassedOnToDelegateListener() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        List<Map<Integer, EventTrackerStatus>> delegatedChanges = new ArrayList<>();
+        EventProcessorBatchSizeMonitor testSubject =
+                EventProcessorBatchSizeMonitor.buildMonitor("test", meterRegistry, Tags.empty(), delegatedChanges::add);
+        Map<Integer, EventTrackerStatus> change = singletonMap(0, statusWithBatchSize(SEGMENTS[0], 10));
+
+        testSubject.onEventTrackerStatusChange(change);
+
+        assertEquals(10, meterRegistry.get("test.batchSize").gauge().value(), 0);
+        assertEquals(singletonList(change), delegatedChanges);
+    }
+
+    private static TrackerStatus statusWithBatchSize(Segment segment, int batchSize) {
+        return new TrackerStatus(segment, new GlobalSequenceTrackingToken(1)).withBatchSize(batchSize);
+    }
+}
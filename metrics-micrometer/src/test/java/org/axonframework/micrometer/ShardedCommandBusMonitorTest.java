@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.axonframework.micrometer;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.axonframework.commandhandling.ShardedCommandBus;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link ShardedCommandBusMonitor}.
+ */
+class ShardedCommandBusMonitorTest {
+
+    private ShardedCommandBus commandBus;
+
+    @BeforeEach
+    void setUp() {
+        commandBus = mock(ShardedCommandBus.class);
+        when(commandBus.shardCount()).thenReturn(2);
+        when(commandBus.queueDepth(0)).thenReturn(1);
+        when(commandBus.queueDepth(1)).thenReturn(4);
+        when(commandBus.totalQueueDepth()).thenReturn(5);
+    }
+
+    @Test
+    void testQueueDepthsWithoutTags() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ShardedCommandBusMonitor.buildMonitor("commandBus", meterRegistry, commandBus);
+
+        assertEquals(5, meterRegistry.get("commandBus.totalQueueDepth").gauge().value(), 0);
+        assertEquals(1, meterRegistry.get("commandBus.queueDepth").tags("shard", "0").gauge().value(), 0);
+        assertEquals(4, meterRegistry.get("commandBus.queueDepth").tags("shard", "1").gauge().value(), 0);
+    }
+
+    @Test
+    void testQueueDepthsWithTags() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ShardedCommandBusMonitor.buildMonitor("commandBus", meterRegistry, commandBus, Tags.of("context", "orders"));
+
+        assertEquals(5, meterRegistry.get("commandBus.totalQueueDepth").tags("context", "orders").gauge().value(), 0);
+        assertEquals(4,
+                     meterRegistry.get("commandBus.queueDepth").tags("context", "orders", "shard", "1").gauge().value(),
+                     0);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.axonframework.micrometer;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.axonframework.eventsourcing.AbstractSnapshotter;
+import org.junit.jupiter.api.*;
+import org.mockito.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link SnapshotterMonitor}.
+ */
+class SnapshotterMonitorTest {
+
+    private AbstractSnapshotter snapshotter;
+    private ArgumentCaptor<AbstractSnapshotter.SnapshotListener> listenerCaptor;
+
+    @BeforeEach
+    void setUp() {
+        snapshotter = mock(AbstractSnapshotter.class);
+        when(snapshotter.getQueueDepth()).thenReturn(3);
+        listenerCaptor = ArgumentCaptor.forClass(AbstractSnapshotter.SnapshotListener.class);
+    }
+
+    @Test
+    void testSnapshotterStatisticsWithoutTags() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SnapshotterMonitor.buildMonitor("snapshotter", meterRegistry, snapshotter);
+        verify(snapshotter).registerSnapshotListener(listenerCaptor.capture());
+
+        listenerCaptor.getValue().onSnapshotCreated(Object.class, "id1", Duration.ofMillis(20));
+        listenerCaptor.getValue().onSnapshotCreated(Object.class, "id2", Duration.ofMillis(40));
+
+        assertEquals(3, meterRegistry.get("snapshotter.queueDepth").gauge().value(), 0);
+        Timer snapshotTimer = meterRegistry.get("snapshotter.snapshotTimer").timer();
+        assertEquals(2, snapshotTimer.count());
+        assertEquals(60, snapshotTimer.totalTime(TimeUnit.MILLISECONDS), 0);
+    }
+
+    @Test
+    void testSnapshotterStatisticsWithTags() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SnapshotterMonitor.buildMonitor("snapshotter", meterRegistry, snapshotter, Tags.of("aggregate", "order"));
+        verify(snapshotter).registerSnapshotListener(listenerCaptor.capture());
+
+        listenerCaptor.getValue().onSnapshotCreated(Object.class, "id1", Duration.ofMillis(20));
+
+        assertEquals(3, meterRegistry.get("snapshotter.queueDepth").tags("aggregate", "order").gauge().value(), 0);
+        assertEquals(1, meterRegistry.get("snapshotter.snapshotTimer").tags("aggregate", "order").timer().count());
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import org.axonframework.common.caching.CacheStatistics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reports the {@link CacheStatistics} of a cache, such as a {@code BoundedCache} or the first level caches of the
+ * {@code DisruptorCommandBus}: the number of hits, misses, evictions and expirations, as well as the current number of
+ * entries in the cache.
+ *
+ * @since 4.5
+ */
+public class CacheMonitor implements MetricSet {
+
+    private final CacheStatistics statistics;
+
+    /**
+     * Creates a monitor reporting the given cache {@code statistics}.
+     *
+     * @param statistics the {@link CacheStatistics} of the cache to report
+     */
+    public CacheMonitor(CacheStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Map<String, Metric> getMetrics() {
+        Map<String, Metric> metrics = new HashMap<>();
+        metrics.put("hits", (Gauge<Long>) statistics::hitCount);
+        metrics.put("misses", (Gauge<Long>) statistics::missCount);
+        metrics.put("evictions", (Gauge<Long>) statistics::evictionCount);
+        metrics.put("expirations", (Gauge<Long>) statistics::expirationCount);
+        metrics.put("size", (Gauge<Long>) statistics::size);
+        return metrics;
+    }
+}
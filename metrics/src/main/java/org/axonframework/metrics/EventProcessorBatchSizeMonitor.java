@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import org.axonframework.eventhandling.EventTrackerStatus;
+import org.axonframework.eventhandling.EventTrackerStatusChangeListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures the number of events an event processor currently processes in a single batch, as reported through {@link
+ * EventTrackerStatus#getBatchSize()}. The reported value is the average batch size over all segments the processor
+ * currently processes, or {@code 0} if no batch size is known.
+ * <p>
+ * This monitor is an {@link EventTrackerStatusChangeListener} and should be registered with the event processor, for
+ * example through {@link org.axonframework.eventhandling.TrackingEventProcessorConfiguration#andEventTrackerStatusChangeListener(EventTrackerStatusChangeListener)}.
+ * As a processor accepts a single listener, a listener which was already configured can be given to this monitor,
+ * which notifies it of every change after updating the metric.
+ *
+ * @since 4.5
+ */
+public class EventProcessorBatchSizeMonitor implements EventTrackerStatusChangeListener, MetricSet {
+
+    private final Map<Integer, Integer> batchSizes = new ConcurrentHashMap<>();
+    private final EventTrackerStatusChangeListener delegate;
+
+    /**
+     * Creates a monitor for the batch size of an event processor.
+     */
+    public EventProcessorBatchSizeMonitor() {
+        this(EventTrackerStatusChangeListener.noOp());
+    }
+
+    /**
+     * Creates a monitor for the batch size of an event processor, which notifies the given {@code delegate} of every
+     * change after updating its metric. Whether positions are validated is decided by the {@code delegate}.
+     *
+     * @param delegate the {@link EventTrackerStatusChangeListener} to notify of every change
+     */
+    public EventProcessorBatchSizeMonitor(EventTrackerStatusChangeListener delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void onEventTrackerStatusChange(Map<Integer, EventTrackerStatus> updatedTrackerStatus) {
+        updatedTrackerStatus.forEach((segmentId, status) -> {
+            OptionalInt batchSize = status.getBatchSize();
+            if (status.trackerRemoved() || !batchSize.isPresent()) {
+                batchSizes.remove(segmentId);
+            } else {
+                batchSizes.put(segmentId, batchSize.getAsInt());
+            }
+        });
+        delegate.onEventTrackerStatusChange(updatedTrackerStatus);
+    }
+
+    @Override
+    public boolean validatePositions() {
+        return delegate.validatePositions();
+    }
+
+    @Override
+    public Map<String, Metric> getMetrics() {
+        Map<String, Metric> metrics = new HashMap<>();
+        metrics.put("batchSize", (Gauge<Double>) this::averageBatchSize);
+        return metrics;
+    }
+
+    private double averageBatchSize() {
+        return batchSizes.values().stream().mapToInt(Integer::intValue).average().orElse(0);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.axonframework.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import org.axonframework.commandhandling.ShardedCommandBus;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reports the number of commands waiting in the mailboxes of a {@link ShardedCommandBus}, both per shard and in total.
+ *
+ * @since 4.5
+ */
+public class ShardedCommandBusMonitor implements MetricSet {
+
+    private final ShardedCommandBus commandBus;
+
+    /**
+     * Creates a monitor reporting the queue depths of the given {@code commandBus}.
+     *
+     * @param commandBus the {@link ShardedCommandBus} to report the queue depths of
+     */
+    public ShardedCommandBusMonitor(ShardedCommandBus commandBus) {
+        this.commandBus = commandBus;
+    }
+
+    @Override
+    public Map<String, Metric> getMetrics() {
+        Map<String, Metric> metrics = new HashMap<>();
+        metrics.put("totalQueueDepth", (Gauge<Integer>) commandBus::totalQueueDepth);
+        for (int i = 0; i < commandBus.shardCount(); i++) {
+            int shardIndex = i;
+            metrics.put("shard-" + shardIndex + ".queueDepth", (Gauge<Integer>) () -> commandBus.queueDepth(shardIndex));
+        }
+        return metrics;
+    }
+}
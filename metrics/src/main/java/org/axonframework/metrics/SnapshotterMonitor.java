@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.Timer;
+import org.axonframework.eventsourcing.AbstractSnapshotter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports the number of snapshot requests waiting in the queue of an {@link AbstractSnapshotter}, as well as a timer
+ * measuring how long it takes to create and store each snapshot.
+ *
+ * @since 4.5
+ */
+public class SnapshotterMonitor implements MetricSet {
+
+    private final AbstractSnapshotter snapshotter;
+    private final Timer snapshotTimer = new Timer();
+
+    /**
+     * Creates a monitor reporting the statistics of the given {@code snapshotter}.
+     *
+     * @param snapshotter the {@link AbstractSnapshotter} to report the statistics of
+     */
+    public SnapshotterMonitor(AbstractSnapshotter snapshotter) {
+        this.snapshotter = snapshotter;
+        snapshotter.registerSnapshotListener(
+                (aggregateType, aggregateIdentifier, duration) ->
+                        snapshotTimer.update(duration.toNanos(), TimeUnit.NANOSECONDS)
+        );
+    }
+
+    @Override
+    public Map<String, Metric> getMetrics() {
+        Map<String, Metric> metrics = new HashMap<>();
+        metrics.put("queueDepth", (Gauge<Integer>) snapshotter::getQueueDepth);
+        metrics.put("snapshotTimer", snapshotTimer);
+        return metrics;
+    }
+}
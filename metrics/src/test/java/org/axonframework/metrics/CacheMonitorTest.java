@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import org.axonframework.common.caching.BoundedCache;
+import org.axonframework.common.caching.CacheStatistics;
+import org.junit.jupiter.api.*;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link CacheMonitor}.
+ */
+class CacheMonitorTest {
+
+    @Test
+    void testCacheStatisticsAreReported() {
+        BoundedCache cache = BoundedCache.builder().maxEntries(1).concurrencyLevel(1).build();
+        Map<String, Metric> metrics = new CacheMonitor(cache).getMetrics();
+
+        cache.put("a", 1);
+        cache.get("a");
+        cache.get("b");
+        cache.put("b", 2);
+
+        assertEquals(1L, ((Gauge<?>) metrics.get("hits")).getValue());
+        assertEquals(1L, ((Gauge<?>) metrics.get("misses")).getValue());
+        assertEquals(1L, ((Gauge<?>) metrics.get("evictions")).getValue());
+        assertEquals(0L, ((Gauge<?>) metrics.get("expirations")).getValue());
+        assertEquals(1L, ((Gauge<?>) metrics.get("size")).getValue());
+    }
+
+    @Test
+    void testStatisticsOfOtherCachesAreReported() {
+        CacheStatistics statistics = mock(CacheStatistics.class);
+        when(statistics.hitCount()).thenReturn(3L);
+        when(statistics.missCount()).thenReturn(2L);
+        when(statistics.evictionCount()).thenReturn(1L);
+        when(statistics.size()).thenReturn(4L);
+
+        Map<String, Metric> metrics = new CacheMonitor(statistics).getMetrics();
+
+        assertEquals(3L, ((Gauge<?>) metrics.get("hits")).getValue());
+        assertEquals(2L, ((Gauge<?>) metrics.get("misses")).getValue());
+        assertEquals(1L, ((Gauge<?>) metrics.get("evictions")).getValue());
+        assertEquals(0L, ((Gauge<?>) metrics.get("expirations")).getValue());
+        assertEquals(4L, ((Gauge<?>) metrics.get("size")).getValue());
+    }
+}
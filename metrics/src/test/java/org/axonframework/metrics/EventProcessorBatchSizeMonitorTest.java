@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.metrics;
+
+import com.codahale.metrics.Gauge;
+import org.axonframework.eventhandling.EventTrackerStatus;
+import org.axonframework.eventhandling.EventTrackerStatusChangeListener;
+import org.axonframework.eventhandling.GlobalSequenceTrackingToken;
+import org.axonframework.eventhandling.RemovedTrackerStatus;
+import org.axonframework.eventhandling.Segment;
+import org.axonframework.eventhandling.TrackerStatus;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventProcessorBatchSizeMonitorTest {
+
+    private static final Segment[] SEGMENTS = Segment.ROOT_SEGMENT.split();
+
+    private EventProcessorBatchSizeMonitor testSubject;
+    private Gauge<?> batchSizeGauge;
+
+    @BeforeEach
+    void setUp() {
+        testSubject = new EventProcessorBatchSizeMonitor();
+        batchSizeGauge = (Gauge<?>) testSubject.getMetrics().get("batchSize");
+    }
+
+    @Test
+    void testBatchSizeIsZeroWithoutReportedStatus() {
+        assertEquals(0d, batchSizeGauge.getValue());
+    }
+
+    @Test
+    void testBatchSizeIsAveragedOverSegments() {
+        testSubject.onEventTrackerStatusChange(singletonMap(0, statusWithBatchSize(SEGMENTS[0], 10)));
+        testSubject.onEventTrackerStatusChange(singletonMap(1, statusWithBatchSize(SEGMENTS[1], 30)));
+
+        assertEquals(20d, batchSizeGauge.getValue());
+
+        testSubject.onEventTrackerStatusChange(singletonMap(1, statusWithBatchSize(SEGMENTS[1], 50)));
+
+        assertEquals(30d, batchSizeGauge.getValue());
+    }
+
+    @Test
+    void testRemovedSegmentsNoLongerContributeToBatchSize() {
+        testSubject.onEventTrackerStatusChange(singletonMap(0, statusWithBatchSize(SEGMENTS[0], 10)));
+        testSubject.onEventTrackerStatusChange(singletonMap(1, statusWithBatchSize(SEGMENTS[1], 30)));
+
+        testSubject.onEventTrackerStatusChange(
+                singletonMap(1, new RemovedTrackerStatus(statusWithBatchSize(SEGMENTS[1], 30)))
+        );
+
+        assertEquals(10d, batchSizeGauge.getValue());
+    }
+
+    @Test
+    void testChangesArePassedOnToDelegateListener() {
+        List<Map<Integer, EventTrackerStatus>> delegatedChanges = new ArrayList<>();
+        EventTrackerStatusChangeListener delegate = new EventTrackerStatusChangeListener() {
+            @Override
+            public void onEventTrackerStatusChange(Map<Integer, EventTrackerStatus> updatedTrackerStatus) {
+                delegatedChanges.add(updatedTrackerStatus);
+            }
+
+            @Override
+            public boolean validatePositions() {
+                return true;
+            }
+        };
+        EventProcessorBatchSizeMonitor chainingSubject = new EventProcessorBatchSizeMonitor(delegate);
+        Map<Integer, EventTrackerStatus> change = singletonMap(0, statusWithBatchSize(SEGMENTS[0], 10));
+
+        chainingSubject.onEventTrackerStatusChange(change);
+
+        assertEquals(10d, ((Gauge<?>) chainingSubject.getMetrics().get("batchSize")).getValue());
+        assertEquals(singletonList(change), delegatedChanges);
+        assertTrue(chainingSubject.validatePositions());
+        assertFalse(testSubject.validatePositions());
+    }
+
+    private static TrackerStatus statusWithBatchSize(Segment segment, int batchSize) {
+        return new TrackerStatus(segment, new GlobalSequenceTrackingToken(1)).withBatchSize(batchSize);
+    }
+}
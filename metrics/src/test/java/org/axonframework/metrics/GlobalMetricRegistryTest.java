@@ -3,7 +3,9 @@
 import com.codahale.metrics.ConsoleReporter;
 import org.axonframework.commandhandling.CommandMessage;
 import org.axonframework.commandhandling.GenericCommandMessage;
+import org.axonframework.common.caching.BoundedCache;
 import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventsourcing.AbstractSnapshotter;
 import org.axonframework.messaging.Message;
 import org.axonframework.monitoring.MessageMonitor;
 import org.axonframework.monitoring.NoOpMessageMonitor;
@@ -14,6 +16,7 @@
 
 import static org.axonframework.eventhandling.GenericEventMessage.asEventMessage;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 class GlobalMetricRegistryTest {
 
@@ -40,6 +43,45 @@ void createEventProcessorMonitor() {
         assertTrue(output.contains("test2"));
     }
 
+    @Test
+    void createEventProcessorDeserializationMonitor() {
+        MessageMonitor<? super EventMessage<?>> monitor = subject.registerEventProcessorDeserialization("test1");
+
+        monitor.onMessageIngested(asEventMessage("test")).reportSuccess();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ConsoleReporter.forRegistry(subject.getRegistry()).outputTo(new PrintStream(out)).build().report();
+        String output = new String(out.toByteArray());
+
+        assertTrue(output.contains("test1.deserializationTimer"));
+    }
+
+    @Test
+    void createCacheMonitor() {
+        BoundedCache cache = BoundedCache.builder().build();
+        subject.registerCache("aggregateCache", cache);
+
+        cache.put("a", 1);
+        cache.get("a");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ConsoleReporter.forRegistry(subject.getRegistry()).outputTo(new PrintStream(out)).build().report();
+        String output = new String(out.toByteArray());
+
+        assertTrue(output.contains("aggregateCache"));
+    }
+
+    @Test
+    void createSnapshotterMonitor() {
+        subject.registerSnapshotter("aggregateSnapshotter", mock(AbstractSnapshotter.class));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ConsoleReporter.forRegistry(subject.getRegistry()).outputTo(new PrintStream(out)).build().report();
+        String output = new String(out.toByteArray());
+
+        assertTrue(output.contains("aggregateSnapshotter"));
+    }
+
     @Test
     void createEventBusMonitor() {
         MessageMonitor<? super EventMessage<?>> monitor = subject.registerEventBus("eventBus");
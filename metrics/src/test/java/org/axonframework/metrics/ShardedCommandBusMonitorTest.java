@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.axonframework.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import org.axonframework.commandhandling.ShardedCommandBus;
+import org.junit.jupiter.api.*;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link ShardedCommandBusMonitor}.
+ */
+class ShardedCommandBusMonitorTest {
+
+    @Test
+    void testQueueDepthsAreReported() {
+        ShardedCommandBus commandBus = mock(ShardedCommandBus.class);
+        when(commandBus.shardCount()).thenReturn(2);
+        when(commandBus.queueDepth(0)).thenReturn(1);
+        when(commandBus.queueDepth(1)).thenReturn(4);
+        when(commandBus.totalQueueDepth()).thenReturn(5);
+
+        Map<String, Metric> metrics = new ShardedCommandBusMonitor(commandBus).getMetrics();
+
+        assertEquals(3, metrics.size());
+        assertEquals(5, ((Gauge<?>) metrics.get("totalQueueDepth")).getValue());
+        assertEquals(1, ((Gauge<?>) metrics.get("shard-0.queueDepth")).getValue());
+        assertEquals(4, ((Gauge<?>) metrics.get("shard-1.queueDepth")).getValue());
+    }
+}
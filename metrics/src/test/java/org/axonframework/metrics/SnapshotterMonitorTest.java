@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2010-2020. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.axonframework.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.Timer;
+import org.axonframework.eventsourcing.AbstractSnapshotter;
+import org.junit.jupiter.api.*;
+import org.mockito.*;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link SnapshotterMonitor}.
+ */
+class SnapshotterMonitorTest {
+
+    @Test
+    void testSnapshotterStatisticsAreReported() {
+        AbstractSnapshotter snapshotter = mock(AbstractSnapshotter.class);
+        when(snapshotter.getQueueDepth()).thenReturn(3);
+        ArgumentCaptor<AbstractSnapshotter.SnapshotListener> listenerCaptor =
+                ArgumentCaptor.forClass(AbstractSnapshotter.SnapshotListener.class);
+        Map<String, Metric> metrics = new SnapshotterMonitor(snapshotter).getMetrics();
+        verify(snapshotter).registerSnapshotListener(listenerCaptor.capture());
+
+        listenerCaptor.getValue().onSnapshotCreated(Object.class, "id1", Duration.ofMillis(20));
+        listenerCaptor.getValue().onSnapshotCreated(Object.class, "id2", Duration.ofMillis(40));
+
+        assertEquals(3, ((Gauge<?>) metrics.get("queueDepth")).getValue());
+        Timer snapshotTimer = (Timer) metrics.get("snapshotTimer");
+        assertEquals(2, snapshotTimer.getCount());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(40), snapshotTimer.getSnapshot().getMax());
+    }
+}
@@ -186,6 +186,15 @@ protected final void doDelete(LockAwareAggregate<T, A> aggregate) {
         doDeleteWithLock(aggregate.getWrappedAggregate());
     }
 
+    /**
+     * Returns the {@link LockFactory} used to lock the aggregates of this repository.
+     *
+     * @return the {@link LockFactory} used to lock the aggregates of this repository
+     */
+    protected LockFactory lockFactory() {
+        return lockFactory;
+    }
+
     /**
      * Perform the actual saving of the aggregate. All necessary locks have been verified.
      *
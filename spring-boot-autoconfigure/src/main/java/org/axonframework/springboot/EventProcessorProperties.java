@@ -57,7 +57,11 @@ public enum Mode {
         /**
          * Indicates a Subscribing Processor should be used.
          */
-        SUBSCRIBING
+        SUBSCRIBING,
+        /**
+         * Indicates a Pooled Streaming Processor should be used.
+         */
+        POOLED
     }
 
     public static class ProcessorSettings {
@@ -66,8 +70,8 @@ public static class ProcessorSettings {
          * Sets the source for this processor.
          * <p>
          * Defaults to streaming from the {@link org.axonframework.eventsourcing.eventstore.EventStore} when the {@link
-         * #mode} is set to {@link Mode#TRACKING} and to subscribing to the {@link org.axonframework.eventhandling.EventBus}
-         * when the {@link #mode} is set to {@link Mode#SUBSCRIBING}.
+         * #mode} is set to {@link Mode#TRACKING} or {@link Mode#POOLED} and to subscribing to the {@link
+         * org.axonframework.eventhandling.EventBus} when the {@link #mode} is set to {@link Mode#SUBSCRIBING}.
          */
         private String source;
 
@@ -222,13 +222,15 @@ public SpringAggregateSnapshotter aggregateSnapshotter(Configuration configurati
                                                            HandlerDefinition handlerDefinition,
                                                            ParameterResolverFactory parameterResolverFactory,
                                                            EventStore eventStore,
-                                                           TransactionManager transactionManager) {
+                                                           TransactionManager transactionManager,
+                                                           @Qualifier("eventSerializer") Serializer eventSerializer) {
         return SpringAggregateSnapshotter.builder()
                                          .repositoryProvider(configuration::repository)
                                          .transactionManager(transactionManager)
                                          .eventStore(eventStore)
                                          .parameterResolverFactory(parameterResolverFactory)
                                          .handlerDefinition(handlerDefinition)
+                                         .serializer(eventSerializer)
                                          .build();
     }
 
@@ -251,6 +253,15 @@ public void configureEventHandling(EventProcessingConfigurer eventProcessingConf
                 Function<Configuration, StreamableMessageSource<TrackedEventMessage<?>>> messageSource =
                         resolveMessageSource(applicationContext, v);
                 eventProcessingConfigurer.registerTrackingEventProcessor(k, messageSource, c -> config);
+            } else if (v.getMode() == EventProcessorProperties.Mode.POOLED) {
+                eventProcessingConfigurer.registerPooledStreamingEventProcessor(
+                        k,
+                        resolveMessageSource(applicationContext, v),
+                        (c, builder) -> builder.batchSize(v.getBatchSize())
+                                               .initialSegmentCount(v.getInitialSegmentCount())
+                                               .tokenClaimInterval(v.getTokenClaimIntervalTimeUnit()
+                                                                    .toMillis(v.getTokenClaimInterval()))
+                );
             } else {
                 if (v.getSource() == null) {
                     eventProcessingConfigurer.registerSubscribingEventProcessor(k);
@@ -92,7 +92,7 @@ void testSnapshotterAndSnapshotTriggerDefinitionAreInvoked() {
         commandGateway.send(new TestContext.UpdateCommand(AGGREGATE_ID));
 
         verify(snapshotTriggerDefinition, atLeastOnce()).prepareTrigger(TestContext.TestAggregate.class);
-        verify(snapshotter, atLeastOnce()).scheduleSnapshot(TestContext.TestAggregate.class, AGGREGATE_ID);
+        verify(snapshotter, atLeastOnce()).scheduleSnapshot(eq(TestContext.TestAggregate.class), eq(AGGREGATE_ID), anyLong());
     }
 
     @Test
@@ -25,6 +25,7 @@
 import org.axonframework.eventsourcing.eventstore.EventStore;
 import org.axonframework.messaging.annotation.HandlerDefinition;
 import org.axonframework.messaging.annotation.ParameterResolverFactory;
+import org.axonframework.serialization.Serializer;
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -160,6 +161,24 @@ public Builder transactionManager(TransactionManager transactionManager) {
             return this;
         }
 
+        @Override
+        public Builder queueCapacity(int queueCapacity) {
+            super.queueCapacity(queueCapacity);
+            return this;
+        }
+
+        @Override
+        public Builder maxConcurrentSnapshots(int maxConcurrentSnapshots) {
+            super.maxConcurrentSnapshots(maxConcurrentSnapshots);
+            return this;
+        }
+
+        @Override
+        public Builder batchSize(int batchSize) {
+            super.batchSize(batchSize);
+            return this;
+        }
+
         @Override
         public Builder repositoryProvider(RepositoryProvider repositoryProvider) {
             super.repositoryProvider(repositoryProvider);
@@ -178,6 +197,12 @@ public Builder handlerDefinition(HandlerDefinition handlerDefinition) {
             return this;
         }
 
+        @Override
+        public Builder serializer(Serializer serializer) {
+            super.serializer(serializer);
+            return this;
+        }
+
         /**
          * Initializes a {@link SpringAggregateSnapshotter} as specified through this Builder.
          *